@@ -3,6 +3,8 @@
 package org.odpi.openmetadata.accessservices.assetcatalog.admin;
 
 import org.odpi.openmetadata.accessservices.assetcatalog.auditlog.AssetCatalogAuditCode;
+import org.odpi.openmetadata.accessservices.assetcatalog.searchindex.AssetCatalogSearchIndex;
+import org.odpi.openmetadata.accessservices.assetcatalog.searchindex.AssetCatalogSearchIndexListener;
 import org.odpi.openmetadata.adminservices.configuration.properties.AccessServiceConfig;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceAdmin;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
@@ -10,10 +12,19 @@ import org.odpi.openmetadata.adminservices.ffdc.exception.OMAGConfigurationError
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.ASSET;
+import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.ASSET_GUID;
+import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.GLOSSARY_TERM;
+import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.GLOSSARY_TERM_TYPE_GUID;
+import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.SCHEMA_ELEMENT;
+import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.SCHEMA_ELEMENT_GUID;
+
 /**
  * AssetCatalogAdmin is the class that is called by the OMAG Server to initialize and terminate
  * the Asset Catalog OMAS.  The initialization call provides this OMAS with resources from the
@@ -22,9 +33,11 @@ import java.util.List;
 public class AssetCatalogAdmin extends AccessServiceAdmin {
 
     public static final String SUPPORTED_TYPES_FOR_SEARCH = "SupportedTypesForSearch";
+    public static final String SEARCH_INDEX_DIRECTORY = "SearchIndexDirectory";
     private AuditLog auditLog;
     private String serverName;
     private AssetCatalogServicesInstance instance;
+    private AssetCatalogSearchIndex searchIndex;
 
 
     /**
@@ -54,11 +67,28 @@ public class AssetCatalogAdmin extends AccessServiceAdmin {
 
             List<String> supportedTypesForSearch = getSupportedTypesForSearchOption(accessServiceConfigurationProperties);
 
+            String searchIndexDirectory = getSearchIndexDirectoryOption(accessServiceConfigurationProperties);
+            if (searchIndexDirectory != null) {
+                searchIndex = new AssetCatalogSearchIndex(searchIndexDirectory, repositoryConnector.getServerName(),
+                        accessServiceConfigurationProperties.getAccessServiceName(),
+                        Arrays.asList(GLOSSARY_TERM, ASSET, SCHEMA_ELEMENT),
+                        Arrays.asList(GLOSSARY_TERM_TYPE_GUID, ASSET_GUID, SCHEMA_ELEMENT_GUID),
+                        repositoryConnector.getRepositoryHelper(), auditLog);
+            }
+
             instance = new AssetCatalogServicesInstance(repositoryConnector, supportedZones, auditLog, serverUserName,
-                    accessServiceConfigurationProperties.getAccessServiceName(), supportedTypesForSearch);
+                    accessServiceConfigurationProperties.getAccessServiceName(), supportedTypesForSearch, searchIndex);
 
             this.serverName = instance.getServerName();
 
+            if (searchIndex != null) {
+                /* The listener is registered first so that no change is missed while the index is built */
+                super.registerWithEnterpriseTopic(AccessServiceDescription.ASSET_CATALOG_OMAS.getAccessServiceFullName(),
+                        serverName, enterpriseOMRSTopicConnector, new AssetCatalogSearchIndexListener(searchIndex), auditLog);
+
+                buildSearchIndex(repositoryConnector, serverUserName);
+            }
+
             auditLog.logMessage(actionDescription, AssetCatalogAuditCode.SERVICE_INITIALIZED.getMessageDefinition(serverName));
         } catch (Exception error) {
             auditLog.logException(actionDescription, AssetCatalogAuditCode.SERVICE_INSTANCE_FAILURE.getMessageDefinition(error.getMessage(), serverName), error);
@@ -75,6 +105,10 @@ public class AssetCatalogAdmin extends AccessServiceAdmin {
             instance.shutdown();
         }
 
+        if (searchIndex != null) {
+            searchIndex.close();
+        }
+
         if (auditLog != null) {
             final String actionDescription = "shutdown";
 
@@ -82,6 +116,31 @@ public class AssetCatalogAdmin extends AccessServiceAdmin {
         }
     }
 
+    private void buildSearchIndex(OMRSRepositoryConnector repositoryConnector, String serverUserName) {
+        Thread searchIndexBuilder = new Thread(() -> {
+            try {
+                searchIndex.build(repositoryConnector.getMetadataCollection(), serverUserName, repositoryConnector.getMaxPageSize());
+            } catch (RepositoryErrorException error) {
+                auditLog.logException("build search index",
+                        AssetCatalogAuditCode.SEARCH_INDEX_FAILURE.getMessageDefinition(serverName, error.getMessage()), error);
+            }
+        }, "Asset Catalog search index builder for " + serverName);
+
+        searchIndexBuilder.setDaemon(true);
+        searchIndexBuilder.start();
+    }
+
+    private String getSearchIndexDirectoryOption(AccessServiceConfig accessServiceConfigurationProperties) {
+        if (accessServiceConfigurationProperties.getAccessServiceOptions() != null) {
+            Object searchIndexDirectoryProperty = accessServiceConfigurationProperties.getAccessServiceOptions().get(SEARCH_INDEX_DIRECTORY);
+            if (searchIndexDirectoryProperty instanceof String) {
+                return (String) searchIndexDirectoryProperty;
+            }
+        }
+
+        return null;
+    }
+
     private List<String> getSupportedTypesForSearchOption(AccessServiceConfig accessServiceConfigurationProperties) {
         if (accessServiceConfigurationProperties.getAccessServiceOptions() != null) {
             Object supportedTypesProperty = accessServiceConfigurationProperties.getAccessServiceOptions().get(SUPPORTED_TYPES_FOR_SEARCH);
@@ -5,6 +5,7 @@ package org.odpi.openmetadata.accessservices.assetcatalog.admin;
 import org.odpi.openmetadata.accessservices.assetcatalog.exception.AssetCatalogErrorCode;
 import org.odpi.openmetadata.accessservices.assetcatalog.handlers.AssetCatalogHandler;
 import org.odpi.openmetadata.accessservices.assetcatalog.handlers.RelationshipHandler;
+import org.odpi.openmetadata.accessservices.assetcatalog.searchindex.AssetCatalogSearchIndex;
 import org.odpi.openmetadata.adminservices.configuration.registration.AccessServiceDescription;
 import org.odpi.openmetadata.commonservices.multitenant.OMASServiceInstance;
 import org.odpi.openmetadata.commonservices.multitenant.ffdc.exceptions.NewInstanceException;
@@ -30,11 +31,12 @@ class AssetCatalogServicesInstance extends OMASServiceInstance {
      * @param auditLog                logging destination
      * @param serverUserName          userId used for server initiated actions
      * @param supportedTypesForSearch default list of supported types for search method
+     * @param searchIndex             full-text index used for search (null if not configured)
      * @throws NewInstanceException a problem occurred during initialization
      */
     AssetCatalogServicesInstance(OMRSRepositoryConnector repositoryConnector, List<String> supportedZones,
                                  AuditLog auditLog, String serverUserName, String sourceName,
-                                 List<String> supportedTypesForSearch) throws NewInstanceException {
+                                 List<String> supportedTypesForSearch, AssetCatalogSearchIndex searchIndex) throws NewInstanceException {
 
         super(description.getAccessServiceName() + " OMAS", repositoryConnector, auditLog, serverUserName, repositoryConnector.getMaxPageSize());
         super.supportedZones = supportedZones;
@@ -42,7 +44,7 @@ class AssetCatalogServicesInstance extends OMASServiceInstance {
         if (repositoryHandler != null) {
 
             assetCatalogHandler = new AssetCatalogHandler(serverName, sourceName, invalidParameterHandler, repositoryHandler, repositoryHelper,
-                    errorHandler, supportedZones, supportedTypesForSearch);
+                    errorHandler, supportedZones, supportedTypesForSearch, searchIndex);
             relationshipHandler = new RelationshipHandler(sourceName, invalidParameterHandler, repositoryHandler, repositoryHelper, errorHandler);
         } else {
             final String methodName = "new ServiceInstance";
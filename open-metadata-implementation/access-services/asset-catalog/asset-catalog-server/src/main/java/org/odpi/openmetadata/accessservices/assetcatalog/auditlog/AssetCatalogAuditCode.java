@@ -43,7 +43,19 @@ public enum AssetCatalogAuditCode implements AuditLogMessageSet {
             OMRSAuditLogRecordSeverity.SHUTDOWN,
             "The Asset Catalog Open Metadata Access Service (OMAS) is shutting down its instance for server {0}",
             "The local server has requested shut down of an Asset Catalog OMAS instance.",
-            "No action is required.  This is part of the normal operation of the service.");
+            "No action is required.  This is part of the normal operation of the service."),
+
+    SEARCH_INDEX_BUILT("OMAS-ASSET-CATALOG-0005",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The Asset Catalog Open Metadata Access Service (OMAS) has built the search index for server {0} with {1} elements",
+            "The search requests are answered from the search index.  The index is kept up to date from the OMRS instance events.",
+            "No action is required.  This is part of the normal operation of the service."),
+
+    SEARCH_INDEX_FAILURE("OMAS-ASSET-CATALOG-0006",
+            OMRSAuditLogRecordSeverity.EXCEPTION,
+            "The Asset Catalog Open Metadata Access Service (OMAS) is unable to maintain the search index for server {0}; error message is {1}",
+            "The search index is no longer used.  The search requests are answered by searching the repositories.",
+            "Review the error message to determine the cause of the problem.  Once this is resolved, restart the server to rebuild the search index.");
 
 
     private AuditLogMessageDefinition messageDefinition;
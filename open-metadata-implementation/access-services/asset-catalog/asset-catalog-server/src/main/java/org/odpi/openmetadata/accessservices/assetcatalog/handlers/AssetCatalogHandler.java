@@ -13,6 +13,7 @@ import org.odpi.openmetadata.accessservices.assetcatalog.model.Connection;
 import org.odpi.openmetadata.accessservices.assetcatalog.model.Element;
 import org.odpi.openmetadata.accessservices.assetcatalog.model.Type;
 import org.odpi.openmetadata.accessservices.assetcatalog.model.rest.body.SearchParameters;
+import org.odpi.openmetadata.accessservices.assetcatalog.searchindex.AssetCatalogSearchIndex;
 import org.odpi.openmetadata.commonservices.ffdc.InvalidParameterHandler;
 import org.odpi.openmetadata.commonservices.repositoryhandler.RepositoryErrorHandler;
 import org.odpi.openmetadata.commonservices.repositoryhandler.RepositoryHandler;
@@ -42,10 +43,13 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorExceptio
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -72,6 +76,7 @@ public class AssetCatalogHandler {
     private List<String> supportedTypesForSearch = new ArrayList<>(Arrays.asList(GLOSSARY_TERM, ASSET, SCHEMA_ELEMENT));
 
     private List<String> supportedZones;
+    private AssetCatalogSearchIndex searchIndex;
 
     /**
      * Construct the handler information needed to interact with the repository services
@@ -103,6 +108,28 @@ public class AssetCatalogHandler {
         this.assetConverter = new AssetConverter(sourceName, repositoryHelper);
     }
 
+    /**
+     * Construct the handler information needed to interact with the repository services and the search index
+     *
+     * @param serverUserName          name of the local server
+     * @param sourceName              name of the component
+     * @param invalidParameterHandler handler for managing parameter errors
+     * @param repositoryHandler       manages calls to the repository services
+     * @param repositoryHelper        provides utilities for manipulating the repository services objects
+     * @param errorHandler            provides common validation routines for the other handler classes
+     * @param supportedZones          configurable list of zones that Asset Catalog is allowed to serve Assets from
+     * @param supportedTypesForSearch configurable list of supported types used for search
+     * @param searchIndex             full-text index used for search once it is built (null if not configured)
+     */
+    public AssetCatalogHandler(String serverUserName, String sourceName, InvalidParameterHandler invalidParameterHandler,
+                               RepositoryHandler repositoryHandler, OMRSRepositoryHelper repositoryHelper,
+                               RepositoryErrorHandler errorHandler, List<String> supportedZones, List<String> supportedTypesForSearch,
+                               AssetCatalogSearchIndex searchIndex) {
+        this(serverUserName, sourceName, invalidParameterHandler, repositoryHandler, repositoryHelper, errorHandler,
+                supportedZones, supportedTypesForSearch);
+        this.searchIndex = searchIndex;
+    }
+
     /**
      * Return the requested entity and converting to Asset Catalog OMAS model
      *
@@ -391,12 +418,17 @@ public class AssetCatalogHandler {
         invalidParameterHandler.validateObject(searchParameters, SEARCH_PARAMETER, methodName);
         invalidParameterHandler.validatePaging(searchParameters.getFrom(), searchParameters.getPageSize(), methodName);
 
-        List<EntityDetail> result;
-        if (CollectionUtils.isNotEmpty(searchParameters.getEntityTypes())) {
-            List<String> typesFilter = commonHandler.getTypesGUID(userId, searchParameters.getEntityTypes());
-            result = collectSearchedEntitiesByType(userId, searchCriteria, searchParameters, typesFilter);
-        } else {
-            result = collectSearchedEntitiesByType(userId, searchCriteria, searchParameters, defaultSearchTypes);
+        List<EntityDetail> result = null;
+        if (searchIndex != null && searchIndex.isReady()) {
+            result = collectSearchedEntitiesFromIndex(userId, searchCriteria, searchParameters);
+        }
+        if (result == null) {
+            if (CollectionUtils.isNotEmpty(searchParameters.getEntityTypes())) {
+                List<String> typesFilter = commonHandler.getTypesGUID(userId, searchParameters.getEntityTypes());
+                result = collectSearchedEntitiesByType(userId, searchCriteria, searchParameters, typesFilter);
+            } else {
+                result = collectSearchedEntitiesByType(userId, searchCriteria, searchParameters, defaultSearchTypes);
+            }
         }
 
         List<AssetElements> list = new ArrayList<>();
@@ -564,6 +596,61 @@ public class AssetCatalogHandler {
         return result;
     }
 
+    /**
+     * Search the full-text index and retrieve the matching entities in the order of the results.
+     *
+     * @return the entities or null if the search can not be answered by the index
+     */
+    private List<EntityDetail> collectSearchedEntitiesFromIndex(String userId,
+                                                                String searchCriteria,
+                                                                SearchParameters searchParameters)
+            throws org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException,
+            org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException, RepositoryErrorException {
+        List<String> typesFilter = defaultSearchTypes;
+        if (CollectionUtils.isNotEmpty(searchParameters.getEntityTypes())) {
+            if (!searchIndex.isIndexed(searchParameters.getEntityTypes())) {
+                return null;
+            }
+            typesFilter = commonHandler.getTypesGUID(userId, searchParameters.getEntityTypes());
+        }
+
+        List<String> guids;
+        try {
+            guids = searchIndex.search(searchCriteria,
+                    searchParameters.isCaseInsensitive(),
+                    typesFilter,
+                    supportedZones,
+                    searchParameters.getLimitResultsByClassification(),
+                    searchParameters.getSequencingProperty(),
+                    searchParameters.getSequencingOrder(),
+                    searchParameters.getFrom(),
+                    searchParameters.getPageSize());
+        } catch (IOException e) {
+            log.debug("Unable to search the index, searching the repositories instead", e);
+            return null;
+        }
+
+        List<EntityDetail> result = new ArrayList<>();
+        if (guids.isEmpty()) {
+            return result;
+        }
+
+        List<EntityDetail> entities = commonHandler.getOMRSMetadataCollection().getEntityDetails(userId, guids);
+        if (entities != null) {
+            Map<String, EntityDetail> entitiesByGUID = new HashMap<>();
+            for (EntityDetail entity : entities) {
+                entitiesByGUID.put(entity.getGUID(), entity);
+            }
+            for (String guid : guids) {
+                EntityDetail entity = entitiesByGUID.get(guid);
+                if (entity != null && entity.getStatus() == InstanceStatus.ACTIVE) {
+                    result.add(entity);
+                }
+            }
+        }
+        return result;
+    }
+
     private void getContextForSchemaElement(String userId,
                                             EntityDetail entityDetail,
                                             AssetElement assetElement)
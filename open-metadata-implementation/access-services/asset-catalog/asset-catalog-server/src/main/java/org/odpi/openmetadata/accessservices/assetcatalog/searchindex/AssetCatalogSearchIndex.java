@@ -0,0 +1,503 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetcatalog.searchindex;
+
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.WildcardQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.odpi.openmetadata.accessservices.assetcatalog.auditlog.AssetCatalogAuditCode;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.ASSET_ZONE_MEMBERSHIP;
+import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.DISPLAY_NAME;
+import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.NAME;
+import static org.odpi.openmetadata.accessservices.assetcatalog.util.Constants.TYPE_SEQUENCING;
+
+/**
+ * AssetCatalogSearchIndex is an embedded full-text index of the entities that are returned by the Asset Catalog search.
+ * It is stored in a local directory and holds the name, the string properties, the types, the zones and the
+ * classifications of each active entity so that a search is answered with a single ranked and paged index query
+ * rather than a regular expression scan of the repositories for each of the searched types.
+ * <p>
+ * The index is rebuilt from the repositories when the access service starts and is then kept current from the
+ * OMRS instance events.  It is only used for searches once the build is complete.  The repositories remain the
+ * source of truth: the search returns the unique identifiers of the matching entities and they are retrieved
+ * from the repositories.
+ */
+public class AssetCatalogSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetCatalogSearchIndex.class);
+
+    private static final String GUID_FIELD = "guid";
+    private static final String TYPE_GUID_FIELD = "typeGUID";
+    private static final String ZONE_FIELD = "zone";
+    private static final String CLASSIFICATION_FIELD = "classification";
+    private static final String NAME_KEYWORD_FIELD = "nameKeyword";
+    private static final String LOWERCASE_NAME_KEYWORD_FIELD = "lowercaseNameKeyword";
+    private static final String NAME_FIELD = "name";
+    private static final String TEXT_FIELD = "text";
+    private static final String SORT_NAME_FIELD = "sortName";
+    private static final String SORT_TYPE_FIELD = "sortType";
+
+    /* Zone value for entities that are not in any zone - these are visible from all zones */
+    private static final String NO_ZONE = "";
+    private static final String ZONE_MEMBERSHIP = "zoneMembership";
+    private static final float NAME_BOOST = 2.0f;
+    private static final int DEFAULT_LOAD_PAGE_SIZE = 500;
+
+    private final String serverName;
+    private final String sourceName;
+    private final List<String> indexedTypeNames;
+    private final List<String> indexedTypeGUIDs;
+    private final OMRSRepositoryHelper repositoryHelper;
+    private final AuditLog auditLog;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+
+    /* Latest version indexed for each entity so that a late update from the build does not replace an event */
+    private final Map<String, Long> indexedVersions = new HashMap<>();
+
+    private volatile boolean ready = false;
+    private volatile boolean failed = false;
+
+    /**
+     * Create a new, empty index in the supplied directory.  Any existing content is replaced since the
+     * index is rebuilt from the repositories each time the access service starts.
+     *
+     * @param indexDirectory   local directory for the index
+     * @param serverName       name of the local server
+     * @param sourceName       name of the component
+     * @param indexedTypeNames names of the types that are indexed (with their subtypes)
+     * @param indexedTypeGUIDs unique identifiers of the types that are indexed
+     * @param repositoryHelper provides utilities for manipulating the repository services objects
+     * @param auditLog         logging destination
+     * @throws IOException the index directory can not be used
+     */
+    public AssetCatalogSearchIndex(String indexDirectory, String serverName, String sourceName,
+                                   List<String> indexedTypeNames, List<String> indexedTypeGUIDs,
+                                   OMRSRepositoryHelper repositoryHelper, AuditLog auditLog) throws IOException {
+        this.serverName = serverName;
+        this.sourceName = sourceName;
+        this.indexedTypeNames = indexedTypeNames;
+        this.indexedTypeGUIDs = indexedTypeGUIDs;
+        this.repositoryHelper = repositoryHelper;
+        this.auditLog = auditLog;
+
+        IndexWriterConfig indexWriterConfig = new IndexWriterConfig(analyzer);
+        indexWriterConfig.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+
+        this.directory = FSDirectory.open(Paths.get(indexDirectory));
+        this.indexWriter = new IndexWriter(directory, indexWriterConfig);
+        this.searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    /**
+     * Return the names of the types that are indexed.
+     *
+     * @return list of type names
+     */
+    public List<String> getIndexedTypeNames() {
+        return indexedTypeNames;
+    }
+
+    /**
+     * Return whether the index has been built and is being kept current, and so can be used for searches.
+     *
+     * @return true if the index can be used
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Return whether all of the entities of the requested types are indexed.
+     *
+     * @param typeNames names of the requested types
+     * @return true if each type is one of the indexed types or one of their subtypes
+     */
+    public boolean isIndexed(List<String> typeNames) {
+        for (String typeName : typeNames) {
+            if (!isIndexedType(typeName)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Build the index by retrieving all of the active entities of the indexed types from the repositories.
+     * The index is not used for searches until the build completes.
+     *
+     * @param metadataCollection metadata collection used to retrieve the entities
+     * @param userId             user identifier used to retrieve the entities
+     * @param pageSize           maximum number of entities to retrieve on each call
+     */
+    public void build(OMRSMetadataCollection metadataCollection, String userId, int pageSize) {
+        final String actionDescription = "build search index";
+
+        int loadPageSize = pageSize > 0 ? pageSize : DEFAULT_LOAD_PAGE_SIZE;
+        int entityCount = 0;
+
+        try {
+            for (String typeGUID : indexedTypeGUIDs) {
+                int from = 0;
+                List<EntityDetail> entities;
+                do {
+                    entities = metadataCollection.findEntitiesByProperty(userId,
+                            typeGUID,
+                            null,
+                            null,
+                            from,
+                            Collections.singletonList(InstanceStatus.ACTIVE),
+                            null,
+                            null,
+                            null,
+                            null,
+                            loadPageSize);
+
+                    if (entities != null) {
+                        for (EntityDetail entity : entities) {
+                            updateIndex(entity);
+                        }
+                        entityCount += entities.size();
+                        from += entities.size();
+                    }
+                } while (entities != null && entities.size() == loadPageSize);
+            }
+
+            indexWriter.commit();
+            searcherManager.maybeRefresh();
+        } catch (Exception error) {
+            disable(actionDescription, error);
+        }
+
+        if (!failed) {
+            ready = true;
+            auditLog.logMessage(actionDescription,
+                    AssetCatalogAuditCode.SEARCH_INDEX_BUILT.getMessageDefinition(serverName, Integer.toString(entityCount)));
+        }
+    }
+
+    /**
+     * Add, replace or remove the entry for an entity.  Active entities of the indexed types are indexed,
+     * any other entity is removed from the index.  Versions that are older than the one already processed
+     * for the entity are ignored.
+     *
+     * @param entity entity from the repositories or an instance event
+     */
+    public void indexEntity(EntityDetail entity) {
+        try {
+            updateIndex(entity);
+        } catch (IOException | RuntimeException error) {
+            disable("index entity", error);
+        }
+    }
+
+    /**
+     * Remove an entity from the index.
+     *
+     * @param entityGUID unique identifier of the entity
+     */
+    public void removeEntity(String entityGUID) {
+        if (entityGUID == null) {
+            return;
+        }
+
+        try {
+            synchronized (indexedVersions) {
+                indexedVersions.remove(entityGUID);
+                indexWriter.deleteDocuments(new Term(GUID_FIELD, entityGUID));
+            }
+        } catch (IOException | RuntimeException error) {
+            disable("remove entity", error);
+        }
+    }
+
+    /**
+     * Return the unique identifiers of the active entities whose display name (or name if the entity has no
+     * display name) contains the search criteria.  Matches on the words of the name and of the other string
+     * properties increase the ranking of an entity.
+     *
+     * @param searchCriteria                the text to look for
+     * @param caseInsensitive               whether the search ignores the case of the name
+     * @param typeGUIDs                     unique identifiers of the requested types (with their subtypes)
+     * @param supportedZones                zones that the entities may be returned from (null or empty for all)
+     * @param limitResultsByClassification  classifications that must be present on all returned entities
+     * @param sequencingProperty            property used to order the results (null for ranking)
+     * @param sequencingOrder               order of the results
+     * @param from                          starting element
+     * @param pageSize                      maximum number of elements to return (0 for no limit)
+     * @return unique identifiers of the entities in the order of the results
+     * @throws IOException the index can not be read
+     */
+    public List<String> search(String searchCriteria, boolean caseInsensitive, List<String> typeGUIDs,
+                               List<String> supportedZones, List<String> limitResultsByClassification,
+                               String sequencingProperty, SequencingOrder sequencingOrder,
+                               int from, int pageSize) throws IOException {
+        Query query = buildQuery(searchCriteria, caseInsensitive, typeGUIDs, supportedZones, limitResultsByClassification);
+
+        searcherManager.maybeRefresh();
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            int maxResults = pageSize > 0 ? from + pageSize : Math.max(1, searcher.getIndexReader().maxDoc());
+            Sort sort = getSort(sequencingProperty, sequencingOrder);
+
+            TopDocs topDocs = sort == null ? searcher.search(query, maxResults) : searcher.search(query, maxResults, sort);
+
+            List<String> guids = new ArrayList<>();
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            for (int i = from; i < scoreDocs.length; i++) {
+                guids.add(searcher.doc(scoreDocs[i].doc).get(GUID_FIELD));
+            }
+            return guids;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Close the index.
+     */
+    public void close() {
+        ready = false;
+        try {
+            searcherManager.close();
+            indexWriter.close();
+            directory.close();
+        } catch (IOException error) {
+            log.debug("Unable to close the search index for server {}", serverName, error);
+        }
+    }
+
+    private boolean isIndexedType(String typeName) {
+        for (String indexedTypeName : indexedTypeNames) {
+            if (repositoryHelper.isTypeOf(sourceName, typeName, indexedTypeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void updateIndex(EntityDetail entity) throws IOException {
+        if (entity == null || entity.getGUID() == null) {
+            return;
+        }
+
+        synchronized (indexedVersions) {
+            Long indexedVersion = indexedVersions.get(entity.getGUID());
+            if (indexedVersion != null && entity.getVersion() < indexedVersion) {
+                return;
+            }
+            indexedVersions.put(entity.getGUID(), entity.getVersion());
+
+            Term guidTerm = new Term(GUID_FIELD, entity.getGUID());
+            if (entity.getStatus() == InstanceStatus.ACTIVE && entity.getType() != null
+                    && isIndexedType(entity.getType().getTypeDefName())) {
+                indexWriter.updateDocument(guidTerm, buildDocument(entity));
+            } else {
+                indexWriter.deleteDocuments(guidTerm);
+            }
+        }
+    }
+
+    /* A failed update means the index is no longer complete so searches return to the repositories */
+    private void disable(String actionDescription, Exception error) {
+        ready = false;
+        if (!failed) {
+            failed = true;
+            auditLog.logException(actionDescription,
+                    AssetCatalogAuditCode.SEARCH_INDEX_FAILURE.getMessageDefinition(serverName, error.getMessage()), error);
+        }
+    }
+
+    private Document buildDocument(EntityDetail entity) {
+        final String methodName = "buildDocument";
+
+        Document document = new Document();
+        document.add(new StringField(GUID_FIELD, entity.getGUID(), Field.Store.YES));
+
+        document.add(new StringField(TYPE_GUID_FIELD, entity.getType().getTypeDefGUID(), Field.Store.NO));
+        if (entity.getType().getTypeDefSuperTypes() != null) {
+            for (TypeDefLink superType : entity.getType().getTypeDefSuperTypes()) {
+                document.add(new StringField(TYPE_GUID_FIELD, superType.getGUID(), Field.Store.NO));
+            }
+        }
+        document.add(new SortedDocValuesField(SORT_TYPE_FIELD,
+                new BytesRef(entity.getType().getTypeDefName().toLowerCase(Locale.ROOT))));
+
+        List<String> zones = null;
+        if (entity.getClassifications() != null) {
+            for (Classification classification : entity.getClassifications()) {
+                document.add(new StringField(CLASSIFICATION_FIELD, classification.getName(), Field.Store.NO));
+                if (ASSET_ZONE_MEMBERSHIP.equals(classification.getName())) {
+                    zones = repositoryHelper.getStringArrayProperty(sourceName, ZONE_MEMBERSHIP,
+                            classification.getProperties(), methodName);
+                }
+            }
+        }
+        if (CollectionUtils.isEmpty(zones)) {
+            document.add(new StringField(ZONE_FIELD, NO_ZONE, Field.Store.NO));
+        } else {
+            for (String zone : zones) {
+                document.add(new StringField(ZONE_FIELD, zone, Field.Store.NO));
+            }
+        }
+
+        String name = repositoryHelper.getStringProperty(sourceName, DISPLAY_NAME, entity.getProperties(), methodName);
+        if (name == null) {
+            name = repositoryHelper.getStringProperty(sourceName, NAME, entity.getProperties(), methodName);
+        }
+        if (name != null) {
+            document.add(new StringField(NAME_KEYWORD_FIELD, name, Field.Store.NO));
+            document.add(new StringField(LOWERCASE_NAME_KEYWORD_FIELD, name.toLowerCase(Locale.ROOT), Field.Store.NO));
+            document.add(new TextField(NAME_FIELD, name, Field.Store.NO));
+            document.add(new SortedDocValuesField(SORT_NAME_FIELD, new BytesRef(name.toLowerCase(Locale.ROOT))));
+        }
+
+        if (entity.getProperties() != null && entity.getProperties().getInstanceProperties() != null) {
+            for (InstancePropertyValue propertyValue : entity.getProperties().getInstanceProperties().values()) {
+                if (propertyValue instanceof PrimitivePropertyValue
+                        && ((PrimitivePropertyValue) propertyValue).getPrimitiveValue() instanceof String) {
+                    document.add(new TextField(TEXT_FIELD, (String) ((PrimitivePropertyValue) propertyValue).getPrimitiveValue(),
+                            Field.Store.NO));
+                }
+            }
+        }
+
+        return document;
+    }
+
+    private Query buildQuery(String searchCriteria, boolean caseInsensitive, List<String> typeGUIDs,
+                             List<String> supportedZones, List<String> limitResultsByClassification) throws IOException {
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+
+        if (caseInsensitive) {
+            builder.add(new WildcardQuery(new Term(LOWERCASE_NAME_KEYWORD_FIELD,
+                    getContainsPattern(searchCriteria.toLowerCase(Locale.ROOT)))), BooleanClause.Occur.MUST);
+        } else {
+            builder.add(new WildcardQuery(new Term(NAME_KEYWORD_FIELD, getContainsPattern(searchCriteria))), BooleanClause.Occur.MUST);
+        }
+
+        for (String word : getWords(searchCriteria)) {
+            builder.add(new BoostQuery(new TermQuery(new Term(NAME_FIELD, word)), NAME_BOOST), BooleanClause.Occur.SHOULD);
+            builder.add(new TermQuery(new Term(TEXT_FIELD, word)), BooleanClause.Occur.SHOULD);
+        }
+
+        builder.add(new TermInSetQuery(TYPE_GUID_FIELD, toBytesRefs(typeGUIDs)), BooleanClause.Occur.FILTER);
+
+        if (CollectionUtils.isNotEmpty(supportedZones)) {
+            List<String> visibleZones = new ArrayList<>(supportedZones);
+            visibleZones.add(NO_ZONE);
+            builder.add(new TermInSetQuery(ZONE_FIELD, toBytesRefs(visibleZones)), BooleanClause.Occur.FILTER);
+        }
+
+        if (limitResultsByClassification != null) {
+            for (String classificationName : limitResultsByClassification) {
+                builder.add(new TermQuery(new Term(CLASSIFICATION_FIELD, classificationName)), BooleanClause.Occur.FILTER);
+            }
+        }
+
+        return builder.build();
+    }
+
+    private Sort getSort(String sequencingProperty, SequencingOrder sequencingOrder) {
+        if (sequencingOrder != SequencingOrder.PROPERTY_ASCENDING && sequencingOrder != SequencingOrder.PROPERTY_DESCENDING) {
+            return null;
+        }
+        boolean reverse = sequencingOrder == SequencingOrder.PROPERTY_DESCENDING;
+
+        if (TYPE_SEQUENCING.equals(sequencingProperty)) {
+            return new Sort(new SortField(SORT_TYPE_FIELD, SortField.Type.STRING, reverse), SortField.FIELD_SCORE);
+        }
+        /* Names that are missing are placed last in both orders */
+        if (DISPLAY_NAME.equals(sequencingProperty) || NAME.equals(sequencingProperty)) {
+            SortField sortField = new SortField(SORT_NAME_FIELD, SortField.Type.STRING, reverse);
+            sortField.setMissingValue(reverse ? SortField.STRING_FIRST : SortField.STRING_LAST);
+            return new Sort(sortField, SortField.FIELD_SCORE);
+        }
+        return null;
+    }
+
+    private String getContainsPattern(String searchCriteria) {
+        StringBuilder pattern = new StringBuilder("*");
+        for (char character : searchCriteria.toCharArray()) {
+            if (character == WildcardQuery.WILDCARD_STRING || character == WildcardQuery.WILDCARD_CHAR
+                    || character == WildcardQuery.WILDCARD_ESCAPE) {
+                pattern.append(WildcardQuery.WILDCARD_ESCAPE);
+            }
+            pattern.append(character);
+        }
+        return pattern.append('*').toString();
+    }
+
+    private List<String> getWords(String text) throws IOException {
+        List<String> words = new ArrayList<>();
+        try (TokenStream tokenStream = analyzer.tokenStream(TEXT_FIELD, text)) {
+            CharTermAttribute term = tokenStream.addAttribute(CharTermAttribute.class);
+            tokenStream.reset();
+            while (tokenStream.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokenStream.end();
+        }
+        return words;
+    }
+
+    private Collection<BytesRef> toBytesRefs(List<String> values) {
+        List<BytesRef> bytesRefs = new ArrayList<>();
+        for (String value : values) {
+            bytesRefs.add(new BytesRef(value));
+        }
+        return bytesRefs;
+    }
+}
@@ -0,0 +1,117 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetcatalog.searchindex;
+
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSInstanceEventInterest;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListener;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * AssetCatalogSearchIndexListener receives the OMRS instance events for the entities in the Asset Catalog
+ * search index and applies the changes to the index.
+ */
+public class AssetCatalogSearchIndexListener implements OMRSTopicListener, OMRSInstanceEventInterest {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetCatalogSearchIndexListener.class);
+
+    private final AssetCatalogSearchIndex searchIndex;
+
+    /**
+     * @param searchIndex index that is kept up to date by the listener
+     */
+    public AssetCatalogSearchIndexListener(AssetCatalogSearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Returns the names of the indexed types so that the topic connector only passes the events for these types
+     * and their subtypes to the listener.
+     *
+     * @return list of type names
+     */
+    public List<String> getInstanceTypeNamesOfInterest() {
+        return searchIndex.getIndexedTypeNames();
+    }
+
+    /**
+     * Returns the entity event types that change the content of the index.
+     *
+     * @return list of instance event types
+     */
+    public List<OMRSInstanceEventType> getInstanceEventTypesOfInterest() {
+        return Arrays.asList(OMRSInstanceEventType.NEW_ENTITY_EVENT,
+                OMRSInstanceEventType.UPDATED_ENTITY_EVENT,
+                OMRSInstanceEventType.UNDONE_ENTITY_EVENT,
+                OMRSInstanceEventType.CLASSIFIED_ENTITY_EVENT,
+                OMRSInstanceEventType.DECLASSIFIED_ENTITY_EVENT,
+                OMRSInstanceEventType.RECLASSIFIED_ENTITY_EVENT,
+                OMRSInstanceEventType.DELETED_ENTITY_EVENT,
+                OMRSInstanceEventType.PURGED_ENTITY_EVENT,
+                OMRSInstanceEventType.DELETE_PURGED_ENTITY_EVENT,
+                OMRSInstanceEventType.RESTORED_ENTITY_EVENT,
+                OMRSInstanceEventType.RE_IDENTIFIED_ENTITY_EVENT,
+                OMRSInstanceEventType.RETYPED_ENTITY_EVENT,
+                OMRSInstanceEventType.RE_HOMED_ENTITY_EVENT,
+                OMRSInstanceEventType.REFRESHED_ENTITY_EVENT);
+    }
+
+    /**
+     * Method to pass a Registry event received on topic.
+     *
+     * @param event inbound event
+     */
+    public void processRegistryEvent(OMRSRegistryEvent event) {
+        log.trace("Ignoring registry event: " + event.toString());
+    }
+
+    /**
+     * Method to pass a TypeDef event received on topic.
+     *
+     * @param event inbound event
+     */
+    public void processTypeDefEvent(OMRSTypeDefEvent event) {
+        log.trace("Ignoring type event: " + event.toString());
+    }
+
+    /**
+     * Apply an entity event to the search index.
+     *
+     * @param instanceEvent inbound event
+     */
+    public void processInstanceEvent(OMRSInstanceEvent instanceEvent) {
+        if (instanceEvent == null || instanceEvent.getInstanceEventType() == null) {
+            return;
+        }
+
+        log.debug("Asset Catalog search index is processing a {} event concerning entity {}",
+                instanceEvent.getInstanceEventType(), instanceEvent.getInstanceGUID());
+
+        switch (instanceEvent.getInstanceEventType()) {
+            case PURGED_ENTITY_EVENT:
+                searchIndex.removeEntity(instanceEvent.getInstanceGUID());
+                break;
+            case DELETE_PURGED_ENTITY_EVENT:
+                if (instanceEvent.getEntity() != null) {
+                    searchIndex.removeEntity(instanceEvent.getEntity().getGUID());
+                }
+                break;
+            case RE_IDENTIFIED_ENTITY_EVENT:
+                searchIndex.removeEntity(instanceEvent.getOriginalInstanceGUID());
+                searchIndex.indexEntity(instanceEvent.getEntity());
+                break;
+            case UNKNOWN_INSTANCE_EVENT:
+            case INSTANCE_ERROR_EVENT:
+                break;
+            default:
+                searchIndex.indexEntity(instanceEvent.getEntity());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.assetcatalog.searchindex;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AssetCatalogSearchIndexTest {
+
+    private static final String USER = "test-user";
+    private static final String ASSET = "Asset";
+    private static final String ASSET_GUID = "asset-type-guid";
+    private static final String DATA_FILE = "DataFile";
+    private static final String DATA_FILE_GUID = "data-file-type-guid";
+    private static final String PROCESS = "Process";
+    private static final String ZONE_MEMBERSHIP = "zoneMembership";
+
+    @Rule
+    public TemporaryFolder indexFolder = new TemporaryFolder();
+
+    @Mock
+    private OMRSRepositoryHelper repositoryHelper;
+
+    @Mock
+    private AuditLog auditLog;
+
+    private AssetCatalogSearchIndex searchIndex;
+
+    @Before
+    public void before() throws IOException {
+        MockitoAnnotations.initMocks(this);
+
+        when(repositoryHelper.isTypeOf(anyString(), anyString(), anyString())).thenAnswer(invocation ->
+                invocation.getArgument(1).equals(invocation.getArgument(2))
+                        || (DATA_FILE.equals(invocation.getArgument(1)) && ASSET.equals(invocation.getArgument(2))));
+        when(repositoryHelper.getStringProperty(anyString(), anyString(), any(), anyString())).thenAnswer(invocation ->
+                getStringProperty(invocation.getArgument(2), invocation.getArgument(1)));
+        when(repositoryHelper.getStringArrayProperty(anyString(), eq(ZONE_MEMBERSHIP), any(), anyString())).thenAnswer(invocation ->
+                getZones(invocation.getArgument(2)));
+
+        searchIndex = new AssetCatalogSearchIndex(indexFolder.getRoot().getAbsolutePath(), "server", "source",
+                Collections.singletonList(ASSET), Collections.singletonList(ASSET_GUID), repositoryHelper, auditLog);
+    }
+
+    @After
+    public void after() {
+        searchIndex.close();
+    }
+
+    @Test
+    public void buildIndexAndSearchByName() throws Exception {
+        OMRSMetadataCollection metadataCollection = mock(OMRSMetadataCollection.class);
+        when(metadataCollection.findEntitiesByProperty(eq(USER), eq(ASSET_GUID), isNull(), isNull(), eq(0), any(),
+                isNull(), isNull(), isNull(), isNull(), eq(2)))
+                .thenReturn(Arrays.asList(mockEntity("1", DATA_FILE, "Customer accounts", null),
+                        mockEntity("2", DATA_FILE, "Orders", null)));
+        when(metadataCollection.findEntitiesByProperty(eq(USER), eq(ASSET_GUID), isNull(), isNull(), eq(2), any(),
+                isNull(), isNull(), isNull(), isNull(), eq(2)))
+                .thenReturn(Collections.singletonList(mockEntity("3", ASSET, "Customer contacts", null)));
+
+        assertFalse(searchIndex.isReady());
+        searchIndex.build(metadataCollection, USER, 2);
+        assertTrue(searchIndex.isReady());
+
+        assertEquals(Arrays.asList("1", "3"), search("customer", true, null, ASSET_GUID));
+        assertEquals(Collections.emptyList(), search("customer", false, null, ASSET_GUID));
+        assertEquals(Collections.singletonList("1"), search("customer", true, null, DATA_FILE_GUID));
+        assertEquals(Collections.singletonList("3"),
+                searchIndex.search("Customer", false, Collections.singletonList(ASSET_GUID), null, null,
+                        "displayName", SequencingOrder.PROPERTY_DESCENDING, 0, 1));
+    }
+
+    @Test
+    public void searchOnlyReturnsEntitiesFromSupportedZones() throws IOException {
+        searchIndex.indexEntity(mockEntity("1", DATA_FILE, "Sales", Collections.singletonList("finance")));
+        searchIndex.indexEntity(mockEntity("2", DATA_FILE, "Sales figures", Collections.singletonList("quarantine")));
+        searchIndex.indexEntity(mockEntity("3", DATA_FILE, "Sales history", null));
+
+        assertEquals(3, search("sales", true, null, ASSET_GUID).size());
+        assertEquals(Arrays.asList("1", "3"), search("sales", true, Collections.singletonList("finance"), ASSET_GUID));
+    }
+
+    @Test
+    public void eventsUpdateTheIndex() throws IOException {
+        EntityDetail entity = mockEntity("1", DATA_FILE, "Sales", null);
+        searchIndex.indexEntity(entity);
+        searchIndex.indexEntity(mockEntity("2", PROCESS, "Sales process", null));
+        assertEquals(Collections.singletonList("1"), search("sales", true, null, ASSET_GUID));
+
+        EntityDetail renamedEntity = mockEntity("1", DATA_FILE, "Revenue", null);
+        renamedEntity.setVersion(2);
+        searchIndex.indexEntity(renamedEntity);
+        searchIndex.indexEntity(entity);
+        assertEquals(Collections.emptyList(), search("sales", true, null, ASSET_GUID));
+        assertEquals(Collections.singletonList("1"), search("revenue", true, null, ASSET_GUID));
+
+        EntityDetail deletedEntity = mockEntity("1", DATA_FILE, "Revenue", null);
+        deletedEntity.setVersion(3);
+        deletedEntity.setStatus(InstanceStatus.DELETED);
+        searchIndex.indexEntity(deletedEntity);
+        assertEquals(Collections.emptyList(), search("revenue", true, null, ASSET_GUID));
+    }
+
+    private List<String> search(String searchCriteria, boolean caseInsensitive, List<String> zones, String typeGUID)
+            throws IOException {
+        return searchIndex.search(searchCriteria, caseInsensitive, Collections.singletonList(typeGUID), zones, null,
+                "displayName", SequencingOrder.PROPERTY_ASCENDING, 0, 0);
+    }
+
+    private EntityDetail mockEntity(String guid, String typeName, String displayName, List<String> zones) {
+        InstanceType instanceType = new InstanceType();
+        instanceType.setTypeDefName(typeName);
+        if (DATA_FILE.equals(typeName)) {
+            TypeDefLink assetType = new TypeDefLink();
+            assetType.setGUID(ASSET_GUID);
+            assetType.setName(ASSET);
+            instanceType.setTypeDefGUID(DATA_FILE_GUID);
+            instanceType.setTypeDefSuperTypes(Collections.singletonList(assetType));
+        } else if (ASSET.equals(typeName)) {
+            instanceType.setTypeDefGUID(ASSET_GUID);
+        } else {
+            instanceType.setTypeDefGUID(typeName);
+        }
+
+        InstanceProperties properties = new InstanceProperties();
+        properties.setProperty("displayName", getPrimitivePropertyValue(displayName));
+
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setType(instanceType);
+        entity.setStatus(InstanceStatus.ACTIVE);
+        entity.setVersion(1);
+        entity.setProperties(properties);
+
+        if (zones != null) {
+            InstanceProperties zoneProperties = new InstanceProperties();
+            ArrayPropertyValue zoneMembership = new ArrayPropertyValue();
+            zoneMembership.setArrayCount(zones.size());
+            for (int i = 0; i < zones.size(); i++) {
+                zoneMembership.setArrayValue(i, getPrimitivePropertyValue(zones.get(i)));
+            }
+            zoneProperties.setProperty(ZONE_MEMBERSHIP, zoneMembership);
+
+            Classification classification = new Classification();
+            classification.setName("AssetZoneMembership");
+            classification.setProperties(zoneProperties);
+            entity.setClassifications(Collections.singletonList(classification));
+        }
+
+        return entity;
+    }
+
+    private PrimitivePropertyValue getPrimitivePropertyValue(String value) {
+        PrimitivePropertyValue primitivePropertyValue = new PrimitivePropertyValue();
+        primitivePropertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        primitivePropertyValue.setPrimitiveValue(value);
+        return primitivePropertyValue;
+    }
+
+    private String getStringProperty(InstanceProperties properties, String propertyName) {
+        if (properties == null || !(properties.getPropertyValue(propertyName) instanceof PrimitivePropertyValue)) {
+            return null;
+        }
+        return (String) ((PrimitivePropertyValue) properties.getPropertyValue(propertyName)).getPrimitiveValue();
+    }
+
+    private List<String> getZones(InstanceProperties properties) {
+        ArrayPropertyValue zoneMembership = (ArrayPropertyValue) properties.getPropertyValue(ZONE_MEMBERSHIP);
+        List<String> zones = new ArrayList<>();
+        for (InstancePropertyValue zone : zoneMembership.getArrayValues().getInstanceProperties().values()) {
+            zones.add((String) ((PrimitivePropertyValue) zone).getPrimitiveValue());
+        }
+        return zones;
+    }
+}
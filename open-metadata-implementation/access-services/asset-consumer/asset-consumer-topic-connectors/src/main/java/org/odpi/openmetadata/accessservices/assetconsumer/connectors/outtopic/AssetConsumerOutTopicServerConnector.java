@@ -3,13 +3,13 @@
 
 package org.odpi.openmetadata.accessservices.assetconsumer.connectors.outtopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.assetconsumer.ffdc.AssetConsumerAuditCode;
 import org.odpi.openmetadata.accessservices.assetconsumer.events.AssetConsumerEvent;
 import org.odpi.openmetadata.accessservices.assetconsumer.ffdc.AssetConsumerErrorCode;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicSenderConnectorBase;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONSerializer;
 
 
 /**
@@ -28,11 +28,9 @@ public class AssetConsumerOutTopicServerConnector extends OpenMetadataTopicSende
     public void sendEvent(AssetConsumerEvent event) throws InvalidParameterException, ConnectorCheckedException
     {
         final String methodName = "sendEvent";
-        ObjectMapper objectMapper = new ObjectMapper();
-
         try
         {
-            String eventString = objectMapper.writeValueAsString(event);
+            String eventString = OMRSJSONSerializer.writeValueAsString(event);
             super.sendEvent(eventString);
 
             if (super.auditLog != null)
@@ -13,6 +13,7 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.frameworks.connectors.ffdc.OCFCheckedExceptionBase;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSInstanceEventInterest;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListener;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
@@ -26,6 +27,8 @@ import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -44,7 +47,7 @@ import static org.odpi.openmetadata.accessservices.assetlineage.util.AssetLineag
  * AssetLineageOMRSTopicListener received details of each OMRS event from the cohorts that the local server
  * is connected to.  It passes Lineage Entity events to the publisher.
  */
-public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
+public class AssetLineageOMRSTopicListener implements OMRSTopicListener, OMRSInstanceEventInterest {
 
     private static final Logger log = LoggerFactory.getLogger(AssetLineageOMRSTopicListener.class);
     private static final String PROCESSING_RELATIONSHIP_DEBUG_MESSAGE = "Asset Lineage OMAS is processing a {} event concerning relationship {} ";
@@ -87,6 +90,34 @@ public class AssetLineageOMRSTopicListener implements OMRSTopicListener {
         return publisher;
     }
 
+    /**
+     * Returns the names of the lineage entity and relationship types so that the topic connector only passes
+     * the events for these types to the listener.
+     *
+     * @return list of type names
+     */
+    public List<String> getInstanceTypeNamesOfInterest() {
+        List<String> typeNames = new ArrayList<>(immutableValidLineageEntityEvents);
+        typeNames.addAll(immutableValidLineageRelationshipTypes);
+        return typeNames;
+    }
+
+    /**
+     * Returns the instance event types that are processed by this listener.
+     *
+     * @return list of instance event types
+     */
+    public List<OMRSInstanceEventType> getInstanceEventTypesOfInterest() {
+        return Arrays.asList(OMRSInstanceEventType.UPDATED_ENTITY_EVENT,
+                OMRSInstanceEventType.DELETED_ENTITY_EVENT,
+                OMRSInstanceEventType.CLASSIFIED_ENTITY_EVENT,
+                OMRSInstanceEventType.RECLASSIFIED_ENTITY_EVENT,
+                OMRSInstanceEventType.DECLASSIFIED_ENTITY_EVENT,
+                OMRSInstanceEventType.NEW_RELATIONSHIP_EVENT,
+                OMRSInstanceEventType.UPDATED_RELATIONSHIP_EVENT,
+                OMRSInstanceEventType.DELETED_RELATIONSHIP_EVENT);
+    }
+
     /**
      * Method to pass a Registry event received on topic.
      *
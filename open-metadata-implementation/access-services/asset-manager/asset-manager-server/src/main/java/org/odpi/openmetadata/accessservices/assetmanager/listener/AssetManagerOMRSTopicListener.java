@@ -4,12 +4,15 @@ package org.odpi.openmetadata.accessservices.assetmanager.listener;
 
 import org.odpi.openmetadata.accessservices.assetmanager.outtopic.AssetManagerOutTopicPublisher;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSInstanceEventInterest;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListenerBase;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -17,7 +20,7 @@ import java.util.List;
  * AssetManagerOMRSTopicListener received details of each OMRS event from the cohorts that the local server
  * is connected to.  It passes NEW_ENTITY_EVENTs to the publisher.
  */
-public class AssetManagerOMRSTopicListener extends OMRSTopicListenerBase
+public class AssetManagerOMRSTopicListener extends OMRSTopicListenerBase implements OMRSInstanceEventInterest
 {
     private static final Logger log = LoggerFactory.getLogger(AssetManagerOMRSTopicListener.class);
 
@@ -50,7 +53,27 @@ public class AssetManagerOMRSTopicListener extends OMRSTopicListenerBase
     }
 
 
+    /**
+     * Return the names of the types that this listener wants instance events for.
+     *
+     * @return null for all types
+     */
+    public List<String> getInstanceTypeNamesOfInterest()
+    {
+        return null;
+    }
+
 
+    /**
+     * Return the types of instance event that this listener wants to receive.  The listener does not publish
+     * any instance events yet, so it asks for none.
+     *
+     * @return empty list
+     */
+    public List<OMRSInstanceEventType> getInstanceEventTypesOfInterest()
+    {
+        return new ArrayList<>();
+    }
 
 
     /**
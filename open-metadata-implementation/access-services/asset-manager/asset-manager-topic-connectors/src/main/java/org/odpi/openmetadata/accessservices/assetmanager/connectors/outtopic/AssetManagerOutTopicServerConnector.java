@@ -3,13 +3,13 @@
 
 package org.odpi.openmetadata.accessservices.assetmanager.connectors.outtopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.assetmanager.ffdc.AssetManagerAuditCode;
 import org.odpi.openmetadata.accessservices.assetmanager.events.AssetManagerOutTopicEvent;
 import org.odpi.openmetadata.accessservices.assetmanager.ffdc.AssetManagerErrorCode;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicSenderConnectorBase;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONSerializer;
 
 
 /**
@@ -28,11 +28,9 @@ public class AssetManagerOutTopicServerConnector extends OpenMetadataTopicSender
     public void sendEvent(AssetManagerOutTopicEvent event) throws InvalidParameterException, ConnectorCheckedException
     {
         final String methodName = "sendEvent";
-        ObjectMapper objectMapper = new ObjectMapper();
-
         try
         {
-            String eventString = objectMapper.writeValueAsString(event);
+            String eventString = OMRSJSONSerializer.writeValueAsString(event);
             super.sendEvent(eventString);
 
             if (super.auditLog != null)
@@ -4,12 +4,15 @@ package org.odpi.openmetadata.accessservices.datamanager.listener;
 
 import org.odpi.openmetadata.accessservices.datamanager.outtopic.DataManagerOutTopicPublisher;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSInstanceEventInterest;
 import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListenerBase;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -17,7 +20,7 @@ import java.util.List;
  * DataManagerOMRSTopicListener received details of each OMRS event from the cohorts that the local server
  * is connected to.  It passes NEW_ENTITY_EVENTs to the publisher.
  */
-public class DataManagerOMRSTopicListener extends OMRSTopicListenerBase
+public class DataManagerOMRSTopicListener extends OMRSTopicListenerBase implements OMRSInstanceEventInterest
 {
     private static final Logger log = LoggerFactory.getLogger(DataManagerOMRSTopicListener.class);
 
@@ -50,6 +53,28 @@ public class DataManagerOMRSTopicListener extends OMRSTopicListenerBase
     }
 
 
+    /**
+     * Return the names of the types that this listener wants instance events for.
+     *
+     * @return null for all types
+     */
+    public List<String> getInstanceTypeNamesOfInterest()
+    {
+        return null;
+    }
+
+
+    /**
+     * Return the types of instance event that this listener wants to receive.  The listener does not publish
+     * any instance events yet, so it asks for none.
+     *
+     * @return empty list
+     */
+    public List<OMRSInstanceEventType> getInstanceEventTypesOfInterest()
+    {
+        return new ArrayList<>();
+    }
+
 
     /**
      * Determines whether an Asset is in the supported zones.
@@ -3,13 +3,13 @@
 
 package org.odpi.openmetadata.accessservices.datamanager.connectors.outtopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.accessservices.datamanager.ffdc.DataManagerAuditCode;
 import org.odpi.openmetadata.accessservices.datamanager.events.DataManagerOutTopicEvent;
 import org.odpi.openmetadata.accessservices.datamanager.ffdc.DataManagerErrorCode;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicSenderConnectorBase;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONSerializer;
 
 
 /**
@@ -28,11 +28,9 @@ public class DataManagerOutTopicServerConnector extends OpenMetadataTopicSenderC
     public void sendEvent(DataManagerOutTopicEvent event) throws InvalidParameterException, ConnectorCheckedException
     {
         final String methodName = "sendEvent";
-        ObjectMapper objectMapper = new ObjectMapper();
-
         try
         {
-            String eventString = objectMapper.writeValueAsString(event);
+            String eventString = OMRSJSONSerializer.writeValueAsString(event);
             super.sendEvent(eventString);
 
             if (super.auditLog != null)
@@ -2,13 +2,14 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.accessservices.subjectarea.handlers;
 
-import org.apache.commons.collections4.CollectionUtils;
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.SubjectAreaErrorCode;
 import org.odpi.openmetadata.accessservices.subjectarea.ffdc.exceptions.SubjectAreaCheckedException;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.category.Category;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.common.FindRequest;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.Glossary;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.graph.Line;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.graph.NodeType;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.nodesummary.CategorySummary;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.nodesummary.GlossarySummary;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.term.Term;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.relationships.CategoryAnchor;
@@ -19,7 +20,6 @@ import org.odpi.openmetadata.accessservices.subjectarea.server.mappers.entities.
 import org.odpi.openmetadata.accessservices.subjectarea.server.mappers.relationships.CategoryAnchorMapper;
 import org.odpi.openmetadata.accessservices.subjectarea.server.mappers.relationships.CategoryHierarchyLinkMapper;
 import org.odpi.openmetadata.accessservices.subjectarea.utilities.OMRSAPIHelper;
-import org.odpi.openmetadata.accessservices.subjectarea.utilities.SubjectAreaUtils;
 import org.odpi.openmetadata.accessservices.subjectarea.validators.InputValidator;
 import org.odpi.openmetadata.frameworks.auditlog.messagesets.ExceptionMessageDefinition;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
@@ -29,9 +29,14 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 
 /**
@@ -154,8 +159,7 @@ public class SubjectAreaCategoryHandler extends SubjectAreaHandler {
             if (entityDetail.isPresent()) {
                 CategoryMapper categoryMapper = mappersFactory.get(CategoryMapper.class);
                 Category category = categoryMapper.map(entityDetail.get());
-                setGlossary(userId, category, methodName);
-                setParentCategory(userId, category, methodName);
+                setSummaryObjects(userId, Collections.singletonList(category), methodName);
                 response.addResult(category);
             }
         } catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException | SubjectAreaCheckedException e) {
@@ -184,11 +188,8 @@ public class SubjectAreaCategoryHandler extends SubjectAreaHandler {
             List<Category> foundCategories = findEntities(userId, CATEGORY_TYPE_NAME, findRequest, CategoryMapper.class, methodName);
 
             if (foundCategories != null) {
-                for (Category category : foundCategories) {
-                    setGlossary(userId, category, methodName);
-                    setParentCategory(userId, category, methodName);
-                    response.addResult(category);
-                }
+                setSummaryObjects(userId, foundCategories, methodName);
+                response.addAllResults(foundCategories);
             }
         } catch (UserNotAuthorizedException | SubjectAreaCheckedException | InvalidParameterException | PropertyServerException e) {
             response.setExceptionInfo(e, className);
@@ -197,47 +198,63 @@ public class SubjectAreaCategoryHandler extends SubjectAreaHandler {
         return response;
     }
 
-    private void setGlossary(String userId, Category category, String methodName) throws SubjectAreaCheckedException,
-                                                                                         PropertyServerException,
-                                                                                         UserNotAuthorizedException,
-                                                                                         InvalidParameterException {
-        final String guid = category.getSystemAttributes().getGUID();
-        List<Relationship> relationships = oMRSAPIHelper.getRelationshipsByType(userId, guid, CATEGORY_TYPE_NAME, CATEGORY_ANCHOR_RELATIONSHIP_NAME, methodName);
-        if (CollectionUtils.isNotEmpty(relationships)) {
-            for (Relationship relationship : relationships) {
-                CategoryAnchorMapper categotyAnchorMapper = mappersFactory.get(CategoryAnchorMapper.class);
-                CategoryAnchor termAnchor = categotyAnchorMapper.map(relationship);
-                GlossarySummary glossarySummary = getGlossarySummary(methodName, userId, termAnchor);
-                if (glossarySummary != null) {
-                    category.setGlossary(glossarySummary);
-                    break;
+    /**
+     * Set the summary objects into a page of Categories. This means if we find a relationship to a Glossary (CategoryAnchor)
+     * or to a parent Category (CategoryHierarchyLink) then represent those relationships as summary objects.
+     * The relationships for all of the categories are retrieved together, then the glossaries and parent categories
+     * they refer to are retrieved together, so the number of calls to the repositories does not depend on the number of categories.
+     *
+     * @param userId             unique identifier for requesting user, under which the request is performed
+     * @param categories         Categories on which to set the summary objects
+     * @param methodName         rest API
+     * @throws SubjectAreaCheckedException
+     * @throws PropertyServerException
+     * @throws UserNotAuthorizedException
+     * @throws InvalidParameterException
+     */
+    private void setSummaryObjects(String userId, List<Category> categories, String methodName) throws SubjectAreaCheckedException,
+                                                                                                       PropertyServerException,
+                                                                                                       UserNotAuthorizedException,
+                                                                                                       InvalidParameterException {
+        final List<String> guids = getNodeGuids(categories);
+        Map<String, List<Relationship>> anchorRelationships = oMRSAPIHelper.getRelationshipsByTypeForEntities(userId, guids, CATEGORY_TYPE_NAME, CATEGORY_ANCHOR_RELATIONSHIP_NAME, methodName);
+        Map<String, List<Relationship>> hierarchyRelationships = oMRSAPIHelper.getRelationshipsByTypeForEntities(userId, guids, CATEGORY_TYPE_NAME, CATEGORY_HIERARCHY_LINK_RELATIONSHIP_NAME, methodName);
+
+        // only the links where the category is the child (end 2) lead to its parent
+        Map<String, List<Relationship>> parentRelationships = new HashMap<>();
+        for (Map.Entry<String, List<Relationship>> entry : hierarchyRelationships.entrySet()) {
+            List<Relationship> links = new ArrayList<>();
+            for (Relationship relationship : entry.getValue()) {
+                if (entry.getKey().equals(relationship.getEntityTwoProxy().getGUID())) {
+                    links.add(relationship);
                 }
             }
+            parentRelationships.put(entry.getKey(), links);
         }
-        // return the Term without a Glossary summary as we have not got one.
-    }
 
-
-    private void setParentCategory(String userId, Category category, String methodName) throws SubjectAreaCheckedException,
-                                                                                               PropertyServerException,
-                                                                                               UserNotAuthorizedException {
-        final String currentCategoryGuid = category.getSystemAttributes().getGUID();
-        List<EntityDetail> foundEntities = oMRSAPIHelper.callGetEntitiesForRelationshipEnd2(
-                methodName, userId, currentCategoryGuid, CATEGORY_TYPE_NAME, CATEGORY_HIERARCHY_LINK_RELATIONSHIP_NAME);
-        if (CollectionUtils.isNotEmpty(foundEntities)) {
-            for (EntityDetail entity : foundEntities) {
-                String entityGUID = entity.getGUID();
-                List<Relationship> relationships = oMRSAPIHelper.getRelationshipsByType(
-                        userId, entityGUID, CATEGORY_TYPE_NAME, CATEGORY_HIERARCHY_LINK_RELATIONSHIP_NAME, methodName);
-                for (Relationship relationship : relationships) {
-                    String parentGuid = relationship.getEntityOneProxy().getGUID();
-                    String childGuid = relationship.getEntityTwoProxy().getGUID();
-                    if (entityGUID.equals(parentGuid) && currentCategoryGuid.equals(childGuid)) {
-                        CategoryHierarchyLinkMapper hierarchyMapper = mappersFactory.get(CategoryHierarchyLinkMapper.class);
-                        CategoryMapper categoryMapper = mappersFactory.get(CategoryMapper.class);
-                        CategoryHierarchyLink link = hierarchyMapper.map(relationship);
-                        Category parentCategory = categoryMapper.map(entity);
-                        category.setParentCategory(SubjectAreaUtils.extractCategorySummaryFromCategory(parentCategory, link));
+        // the ends of lines of the same type are shared, so each line is mapped just before its summary is built
+        Map<String, Glossary> glossaries = getGlossariesByGuid(methodName, userId, getEnd1Guids(anchorRelationships));
+        Map<String, Category> parentCategories = getCategoriesByGuid(methodName, userId, getEnd1Guids(parentRelationships));
+
+        CategoryAnchorMapper categoryAnchorMapper = mappersFactory.get(CategoryAnchorMapper.class);
+        CategoryHierarchyLinkMapper hierarchyMapper = mappersFactory.get(CategoryHierarchyLinkMapper.class);
+        for (Category category : categories) {
+            final String guid = category.getSystemAttributes().getGUID();
+            if (anchorRelationships.containsKey(guid)) {
+                for (Relationship relationship : anchorRelationships.get(guid)) {
+                    GlossarySummary glossarySummary = getGlossarySummary(categoryAnchorMapper.map(relationship), glossaries);
+                    if (glossarySummary != null) {
+                        category.setGlossary(glossarySummary);
+                        break;
+                    }
+                }
+            }
+            // return the Category without a Glossary or parent Category summary if we have not got one.
+            if (parentRelationships.containsKey(guid)) {
+                for (Relationship relationship : parentRelationships.get(guid)) {
+                    CategorySummary parentCategorySummary = getCategorySummary(hierarchyMapper.map(relationship), parentCategories);
+                    if (parentCategorySummary != null) {
+                        category.setParentCategory(parentCategorySummary);
                     }
                 }
             }
@@ -137,6 +137,122 @@ public abstract class SubjectAreaHandler {
         return null;
     }
 
+    /**
+     * Get the glossaries with the supplied guids in a single call. This is used to build the glossary summaries
+     * for a page of nodes without retrieving the glossary of each node separately.
+     * @param restAPIName rest API Name
+     * @param userId userid under which to issue the get of the glossaries
+     * @param guids guids of the glossaries
+     * @return map of glossary guid to glossary; glossaries that could not be retrieved are not included
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws UserNotAuthorizedException user not authorized to issue this request.
+     * @throws PropertyServerException problem retrieving the Glossaries.
+     */
+    Map<String, Glossary> getGlossariesByGuid(String restAPIName,
+                                              String userId,
+                                              Collection<String> guids) throws UserNotAuthorizedException,
+                                                                               PropertyServerException,
+                                                                               InvalidParameterException,
+                                                                               SubjectAreaCheckedException
+    {
+        Map<String, Glossary> glossaries = new HashMap<>();
+        if (!guids.isEmpty()) {
+            GlossaryMapper glossaryMapper = mappersFactory.get(GlossaryMapper.class);
+            for (EntityDetail entityDetail : oMRSAPIHelper.callOMRSGetEntitiesByGuids(userId, new ArrayList<>(guids), GLOSSARY_TYPE_NAME, restAPIName)) {
+                glossaries.put(entityDetail.getGUID(), glossaryMapper.map(entityDetail));
+            }
+        }
+        return glossaries;
+    }
+
+    /**
+     * Get the categories with the supplied guids in a single call. This is used to build the category summaries
+     * for a page of nodes without retrieving each category separately.
+     * @param restAPIName rest API Name
+     * @param userId userid under which to issue the get of the categories
+     * @param guids guids of the categories
+     * @return map of category guid to category; categories that could not be retrieved are not included
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws UserNotAuthorizedException user not authorized to issue this request.
+     * @throws PropertyServerException problem retrieving the Categories.
+     */
+    Map<String, Category> getCategoriesByGuid(String restAPIName,
+                                              String userId,
+                                              Collection<String> guids) throws UserNotAuthorizedException,
+                                                                               PropertyServerException,
+                                                                               InvalidParameterException,
+                                                                               SubjectAreaCheckedException
+    {
+        Map<String, Category> categories = new HashMap<>();
+        if (!guids.isEmpty()) {
+            CategoryMapper categoryMapper = mappersFactory.get(CategoryMapper.class);
+            for (EntityDetail entityDetail : oMRSAPIHelper.callOMRSGetEntitiesByGuids(userId, new ArrayList<>(guids), CATEGORY_TYPE_NAME, restAPIName)) {
+                categories.put(entityDetail.getGUID(), categoryMapper.map(entityDetail));
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Get glossary summary from glossaries that have already been retrieved
+     * @param line glossary relationship {@link TermAnchor} or {@link CategoryAnchor}
+     * @param glossaries map of glossary guid to glossary
+     * @return Glossary summary or null if the glossary was not retrieved
+     */
+    GlossarySummary getGlossarySummary(Line line, Map<String, Glossary> glossaries) {
+        Glossary glossary = glossaries.get(SubjectAreaUtils.getGlossaryGuidFromAnchor(line));
+        if (glossary != null) {
+            // TODO sort out icons
+            return SubjectAreaUtils.extractGlossarySummaryFromGlossary(glossary, line);
+        }
+        return null;
+    }
+
+    /**
+     * Get category summary from categories that have already been retrieved
+     * @param line category relationship
+     * @param categories map of category guid to category
+     * @return category summary or null if the category was not retrieved
+     */
+    CategorySummary getCategorySummary(Line line, Map<String, Category> categories) {
+        Category category = categories.get(line.getEnd1().getNodeGuid());
+        if (category != null) {
+            // TODO sort out icons
+            return SubjectAreaUtils.extractCategorySummaryFromCategory(category, line);
+        }
+        return null;
+    }
+
+    /**
+     * Get the guids of a list of nodes
+     * @param nodes nodes
+     * @return list of guids
+     */
+    protected List<String> getNodeGuids(List<? extends Node> nodes) {
+        List<String> guids = new ArrayList<>();
+        for (Node node : nodes) {
+            guids.add(node.getSystemAttributes().getGUID());
+        }
+        return guids;
+    }
+
+    /**
+     * Get the guids of the entities at end 1 of relationships
+     * @param relationships map of node guid to the relationships of the node
+     * @return set of guids
+     */
+    protected Set<String> getEnd1Guids(Map<String, List<Relationship>> relationships) {
+        Set<String> guids = new HashSet<>();
+        for (List<Relationship> nodeRelationships : relationships.values()) {
+            for (Relationship relationship : nodeRelationships) {
+                guids.add(relationship.getEntityOneProxy().getGUID());
+            }
+        }
+        return guids;
+    }
+
     protected <T extends Node>List<T> findEntities(String userId,
                                                    String typeEntityName,
                                                    FindRequest findRequest,
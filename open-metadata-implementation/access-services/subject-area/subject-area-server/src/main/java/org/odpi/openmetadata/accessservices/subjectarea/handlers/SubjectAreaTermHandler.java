@@ -8,6 +8,7 @@ import org.odpi.openmetadata.accessservices.subjectarea.ffdc.exceptions.SubjectA
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.category.Category;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.common.FindRequest;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.common.GovernanceActions;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.glossary.Glossary;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.graph.Line;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.graph.LineType;
 import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.graph.NodeType;
@@ -243,10 +244,8 @@ public class SubjectAreaTermHandler extends SubjectAreaHandler {
         try {
             List<Term> foundTerms = findEntities(userId, TERM_TYPE_NAME, findRequest, TermMapper.class, methodName);
             if (foundTerms != null) {
-                for (Term term : foundTerms) {
-                    setSummaryObjects(userId, term, methodName);
-                    response.addResult(term);
-                }
+                setSummaryObjects(userId, foundTerms, methodName);
+                response.addAllResults(foundTerms);
             } else {
                 return response;
             }
@@ -273,31 +272,63 @@ public class SubjectAreaTermHandler extends SubjectAreaHandler {
                                                                                        UserNotAuthorizedException,
                                                                                        InvalidParameterException
     {
-        final String guid = term.getSystemAttributes().getGUID();
-        List<Relationship> termAnchorRelationships = oMRSAPIHelper.getRelationshipsByType(userId, guid, TERM_TYPE_NAME, TERM_ANCHOR_RELATIONSHIP_NAME, methodName);
-        if (CollectionUtils.isNotEmpty(termAnchorRelationships)) {
-            for (Relationship relationship : termAnchorRelationships) {
-                TermAnchor termAnchor = termAnchorMapper.map(relationship);
-                GlossarySummary glossarySummary = getGlossarySummary(methodName, userId, termAnchor);
-                if (glossarySummary != null) {
-                    term.setGlossary(glossarySummary);
+        setSummaryObjects(userId, Collections.singletonList(term), methodName);
+    }
+
+    /**
+     * Set the summary objects into a page of Terms. The TermAnchor and TermCategorization relationships for all of the terms
+     * are retrieved together, then the glossaries and categories they refer to are retrieved together, so the number
+     * of calls to the repositories does not depend on the number of terms.
+     *
+     * @param userId             unique identifier for requesting user, under which the request is performed
+     * @param terms              Terms on which to set the summary objects
+     * @param methodName         rest API
+     * @throws SubjectAreaCheckedException
+     * @throws PropertyServerException
+     * @throws UserNotAuthorizedException
+     * @throws InvalidParameterException
+     */
+    private void setSummaryObjects(String userId, List<Term> terms, String methodName) throws SubjectAreaCheckedException,
+                                                                                              PropertyServerException,
+                                                                                              UserNotAuthorizedException,
+                                                                                              InvalidParameterException
+    {
+        final List<String> guids = getNodeGuids(terms);
+        Map<String, List<Relationship>> termAnchorRelationships = oMRSAPIHelper.getRelationshipsByTypeForEntities(userId, guids, TERM_TYPE_NAME, TERM_ANCHOR_RELATIONSHIP_NAME, methodName);
+        Map<String, List<Relationship>> termCategorizationRelationships = oMRSAPIHelper.getRelationshipsByTypeForEntities(userId, guids, TERM_TYPE_NAME, TERM_CATEGORIZATION_RELATIONSHIP_NAME, methodName);
+
+        // the ends of lines of the same type are shared, so each line is mapped just before its summary is built
+        Set<String> glossaryGuids = getEnd1Guids(termAnchorRelationships);
+        Set<String> categoryGuids = getEnd1Guids(termCategorizationRelationships);
+
+        Map<String, Glossary> glossaries = getGlossariesByGuid(methodName, userId, glossaryGuids);
+        Map<String, Category> categories = getCategoriesByGuid(methodName, userId, categoryGuids);
+
+        for (Term term : terms) {
+            final String guid = term.getSystemAttributes().getGUID();
+            if (termAnchorRelationships.containsKey(guid)) {
+                for (Relationship relationship : termAnchorRelationships.get(guid)) {
+                    TermAnchor termAnchor = termAnchorMapper.map(relationship);
+                    GlossarySummary glossarySummary = getGlossarySummary(termAnchor, glossaries);
+                    if (glossarySummary != null) {
+                        term.setGlossary(glossarySummary);
+                    }
                 }
             }
-        }
-        List<Relationship> termCategorizationRelationships = oMRSAPIHelper.getRelationshipsByType(userId, guid, TERM_TYPE_NAME, TERM_CATEGORIZATION_RELATIONSHIP_NAME, methodName);
-        if (CollectionUtils.isNotEmpty(termCategorizationRelationships)) {
-            List<CategorySummary> categorySummaryList = new ArrayList<>();
-            for (Relationship relationship : termCategorizationRelationships) {
-                Categorization categorization = termCategorizationMapper.map(relationship);
-                if (categorization !=null) {
-                    CategorySummary categorySummary = getCategorySummary(methodName, userId, categorization);
-                    if (categorySummary !=null) {
-                        categorySummaryList.add(categorySummary);
+            if (termCategorizationRelationships.containsKey(guid)) {
+                List<CategorySummary> categorySummaryList = new ArrayList<>();
+                for (Relationship relationship : termCategorizationRelationships.get(guid)) {
+                    Categorization categorization = termCategorizationMapper.map(relationship);
+                    if (categorization != null) {
+                        CategorySummary categorySummary = getCategorySummary(categorization, categories);
+                        if (categorySummary != null) {
+                            categorySummaryList.add(categorySummary);
+                        }
                     }
                 }
-            }
-            if (categorySummaryList.size() > 0) {
-                term.setCategories(categorySummaryList);
+                if (categorySummaryList.size() > 0) {
+                    term.setCategories(categorySummaryList);
+                }
             }
         }
     }
@@ -117,6 +117,26 @@ public class OMRSAPIHelper {
         return Optional.empty();
     }
 
+    public List<EntityDetail> callOMRSGetEntitiesByGuids(String userId,
+                                                         List<String> entityGUIDs,
+                                                         String entityTypeName,
+                                                         String restAPIName) throws SubjectAreaCheckedException,
+                                                                                    PropertyServerException,
+                                                                                    UserNotAuthorizedException,
+                                                                                    InvalidParameterException
+    {
+        String methodName = "callOMRSGetEntitiesByGuids";
+        try {
+            return getRepositoryHandler().getEntitiesByGUIDs(userId, entityGUIDs, entityTypeName, restAPIName);
+        } catch (PropertyServerException | UserNotAuthorizedException | InvalidParameterException e) {
+            throw e;
+        } catch (Throwable error) {
+            prepareUnexpectedError(error, methodName);
+        }
+
+        return new ArrayList<>();
+    }
+
     public List<EntityDetail> callFindEntitiesByPropertyValue(String userId,
                                                               String entityTypeGUID,
                                                               String searchCriteria,
@@ -557,6 +577,33 @@ public class OMRSAPIHelper {
         return null;
     }
 
+    public Map<String, List<Relationship>> getRelationshipsByTypeForEntities(String userId,
+                                                                             List<String> entityGuids,
+                                                                             String entityTypeName,
+                                                                             String relationshipTypeName,
+                                                                             String methodName) throws UserNotAuthorizedException,
+                                                                                                       PropertyServerException,
+                                                                                                       SubjectAreaCheckedException
+    {
+        try {
+            String relationshipTypeGuid = this.getTypeDefGUID(methodName, relationshipTypeName);
+            return getRepositoryHandler()
+                    .getRelationshipsByTypeForEntities(
+                            userId,
+                            entityGuids,
+                            entityTypeName,
+                            relationshipTypeGuid,
+                            relationshipTypeName,
+                            methodName
+                    );
+        } catch (UserNotAuthorizedException | PropertyServerException e) {
+            throw e;
+        }  catch (Throwable error) {
+            prepareUnexpectedError(error, methodName);
+        }
+        return new HashMap<>();
+    }
+
     public List<Relationship> callGetRelationshipsForEntity(String restAPIName,
                                                             String userId,
                                                             String entityGUID,
@@ -0,0 +1,241 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.accessservices.subjectarea.handlers;
+
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.category.Category;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.common.FindRequest;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.nodesummary.CategorySummary;
+import org.odpi.openmetadata.accessservices.subjectarea.properties.objects.term.Term;
+import org.odpi.openmetadata.accessservices.subjectarea.responses.SubjectAreaOMASAPIResponse;
+import org.odpi.openmetadata.accessservices.subjectarea.utilities.OMRSAPIHelper;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+
+/**
+ * Test that the glossary and category summaries of a page of terms or categories are built from relationships
+ * and entities that are retrieved for the whole page, and that they match the relationships of each node.
+ */
+public class TestSubjectAreaHandlerSummaries
+{
+    private static final String USER_ID = "testUser";
+
+
+    private InstanceType getType(String typeName)
+    {
+        InstanceType type = new InstanceType();
+        type.setTypeDefName(typeName);
+        return type;
+    }
+
+
+    private EntityDetail getEntity(String guid, String typeName)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setType(getType(typeName));
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid, String typeName, String end1GUID, String end2GUID)
+    {
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setType(getType(typeName));
+
+        EntityProxy end1 = new EntityProxy();
+        end1.setGUID(end1GUID);
+        relationship.setEntityOneProxy(end1);
+
+        EntityProxy end2 = new EntityProxy();
+        end2.setGUID(end2GUID);
+        relationship.setEntityTwoProxy(end2);
+
+        return relationship;
+    }
+
+
+    private Set<String> getCategoryGUIDs(Term term)
+    {
+        Set<String> guids = new HashSet<>();
+
+        if (term.getCategories() != null)
+        {
+            for (CategorySummary categorySummary : term.getCategories())
+            {
+                guids.add(categorySummary.getGuid());
+            }
+        }
+
+        return guids;
+    }
+
+
+    @Test
+    void testFindTermExpandsThePageTogether() throws Exception
+    {
+        final String methodName = "findTerm";
+
+        List<String> termGUIDs = Arrays.asList("t1", "t2", "t3");
+
+        /*
+         * Terms t1 and t2 are in glossary g1 and term t3 is in glossary g2.  Term t1 is in categories c1 and c2,
+         * term t2 is in category c2 and term t3 is not categorized.
+         */
+        Map<String, List<Relationship>> termAnchors = new HashMap<>();
+        termAnchors.put("t1", Collections.singletonList(getRelationship("a1", "TermAnchor", "g1", "t1")));
+        termAnchors.put("t2", Collections.singletonList(getRelationship("a2", "TermAnchor", "g1", "t2")));
+        termAnchors.put("t3", Collections.singletonList(getRelationship("a3", "TermAnchor", "g2", "t3")));
+
+        Map<String, List<Relationship>> termCategorizations = new HashMap<>();
+        termCategorizations.put("t1", Arrays.asList(getRelationship("c1t1", "TermCategorization", "c1", "t1"), getRelationship("c2t1", "TermCategorization", "c2", "t1")));
+        termCategorizations.put("t2", Collections.singletonList(getRelationship("c2t2", "TermCategorization", "c2", "t2")));
+
+        OMRSAPIHelper oMRSAPIHelper = mock(OMRSAPIHelper.class);
+
+        when(oMRSAPIHelper.getEntitiesByType(eq(methodName), eq(USER_ID), eq("GlossaryTerm"), any(FindRequest.class)))
+                .thenReturn(Arrays.asList(getEntity("t1", "GlossaryTerm"),
+                                           getEntity("t2", "GlossaryTerm"),
+                                           getEntity("t3", "GlossaryTerm")));
+        when(oMRSAPIHelper.getRelationshipsByTypeForEntities(USER_ID, termGUIDs, "GlossaryTerm", "TermAnchor", methodName))
+                .thenReturn(termAnchors);
+        when(oMRSAPIHelper.getRelationshipsByTypeForEntities(USER_ID, termGUIDs, "GlossaryTerm", "TermCategorization", methodName))
+                .thenReturn(termCategorizations);
+        when(oMRSAPIHelper.callOMRSGetEntitiesByGuids(eq(USER_ID), any(), eq("Glossary"), eq(methodName)))
+                .thenAnswer(invocation -> getEntities(invocation.getArgument(1), "Glossary"));
+        when(oMRSAPIHelper.callOMRSGetEntitiesByGuids(eq(USER_ID), any(), eq("GlossaryCategory"), eq(methodName)))
+                .thenAnswer(invocation -> getEntities(invocation.getArgument(1), "GlossaryCategory"));
+
+        SubjectAreaTermHandler termHandler = new SubjectAreaTermHandler(oMRSAPIHelper, 100);
+
+        SubjectAreaOMASAPIResponse<Term> response = termHandler.findTerm(USER_ID, new FindRequest());
+
+        assertNull(response.getExceptionClassName());
+
+        List<Term> terms = response.results();
+        assertEquals(terms.size(), 3);
+
+        assertEquals(terms.get(0).getGlossary().getGuid(), "g1");
+        assertEquals(terms.get(0).getGlossary().getRelationshipguid(), "a1");
+        assertEquals(getCategoryGUIDs(terms.get(0)), new HashSet<>(Arrays.asList("c1", "c2")));
+
+        assertEquals(terms.get(1).getGlossary().getGuid(), "g1");
+        assertEquals(getCategoryGUIDs(terms.get(1)), Collections.singleton("c2"));
+
+        assertEquals(terms.get(2).getGlossary().getGuid(), "g2");
+        assertNull(terms.get(2).getCategories());
+
+        /*
+         * The relationships are retrieved once for the page and each glossary and category is retrieved once.
+         */
+        verify(oMRSAPIHelper, times(2)).getRelationshipsByTypeForEntities(eq(USER_ID), eq(termGUIDs), anyString(), anyString(), eq(methodName));
+        verify(oMRSAPIHelper, times(1)).callOMRSGetEntitiesByGuids(eq(USER_ID), any(), eq("Glossary"), eq(methodName));
+        verify(oMRSAPIHelper, times(1)).callOMRSGetEntitiesByGuids(eq(USER_ID), any(), eq("GlossaryCategory"), eq(methodName));
+        verify(oMRSAPIHelper, never()).getRelationshipsByType(anyString(), anyString(), anyString(), anyString(), anyString());
+        verify(oMRSAPIHelper, never()).callOMRSGetEntityByGuid(anyString(), anyString(), anyString(), anyString());
+    }
+
+
+    @Test
+    void testFindCategoryExpandsThePageTogether() throws Exception
+    {
+        final String methodName = "findCategory";
+
+        List<String> categoryGUIDs = Arrays.asList("c1", "c2", "c3");
+
+        /*
+         * Categories c1 and c3 are in glossary g1 and category c2 is in glossary g2.  Category c1 is the parent of
+         * category c2, and category c9 is the parent of category c3.
+         */
+        Map<String, List<Relationship>> categoryAnchors = new HashMap<>();
+        categoryAnchors.put("c1", Collections.singletonList(getRelationship("a1", "CategoryAnchor", "g1", "c1")));
+        categoryAnchors.put("c2", Collections.singletonList(getRelationship("a2", "CategoryAnchor", "g2", "c2")));
+        categoryAnchors.put("c3", Collections.singletonList(getRelationship("a3", "CategoryAnchor", "g1", "c3")));
+
+        Relationship c1c2 = getRelationship("h1", "CategoryHierarchyLink", "c1", "c2");
+
+        Map<String, List<Relationship>> categoryHierarchyLinks = new HashMap<>();
+        categoryHierarchyLinks.put("c1", Collections.singletonList(c1c2));
+        categoryHierarchyLinks.put("c2", Collections.singletonList(c1c2));
+        categoryHierarchyLinks.put("c3", Collections.singletonList(getRelationship("h2", "CategoryHierarchyLink", "c9", "c3")));
+
+        OMRSAPIHelper oMRSAPIHelper = mock(OMRSAPIHelper.class);
+
+        when(oMRSAPIHelper.getEntitiesByType(eq(methodName), eq(USER_ID), eq("GlossaryCategory"), any(FindRequest.class)))
+                .thenReturn(Arrays.asList(getEntity("c1", "GlossaryCategory"),
+                                           getEntity("c2", "GlossaryCategory"),
+                                           getEntity("c3", "GlossaryCategory")));
+        when(oMRSAPIHelper.getRelationshipsByTypeForEntities(USER_ID, categoryGUIDs, "GlossaryCategory", "CategoryAnchor", methodName))
+                .thenReturn(categoryAnchors);
+        when(oMRSAPIHelper.getRelationshipsByTypeForEntities(USER_ID, categoryGUIDs, "GlossaryCategory", "CategoryHierarchyLink", methodName))
+                .thenReturn(categoryHierarchyLinks);
+        when(oMRSAPIHelper.callOMRSGetEntitiesByGuids(eq(USER_ID), any(), eq("Glossary"), eq(methodName)))
+                .thenAnswer(invocation -> getEntities(invocation.getArgument(1), "Glossary"));
+        when(oMRSAPIHelper.callOMRSGetEntitiesByGuids(eq(USER_ID), any(), eq("GlossaryCategory"), eq(methodName)))
+                .thenAnswer(invocation -> getEntities(invocation.getArgument(1), "GlossaryCategory"));
+
+        SubjectAreaCategoryHandler categoryHandler = new SubjectAreaCategoryHandler(oMRSAPIHelper, 100);
+
+        SubjectAreaOMASAPIResponse<Category> response = categoryHandler.findCategory(USER_ID, new FindRequest());
+
+        assertNull(response.getExceptionClassName());
+
+        List<Category> categories = response.results();
+        assertEquals(categories.size(), 3);
+
+        assertEquals(categories.get(0).getGlossary().getGuid(), "g1");
+        assertNull(categories.get(0).getParentCategory());
+
+        assertEquals(categories.get(1).getGlossary().getGuid(), "g2");
+        assertEquals(categories.get(1).getParentCategory().getGuid(), "c1");
+        assertEquals(categories.get(1).getParentCategory().getRelationshipguid(), "h1");
+
+        assertEquals(categories.get(2).getGlossary().getGuid(), "g1");
+        assertEquals(categories.get(2).getParentCategory().getGuid(), "c9");
+
+        verify(oMRSAPIHelper, times(2)).getRelationshipsByTypeForEntities(eq(USER_ID), eq(categoryGUIDs), anyString(), anyString(), eq(methodName));
+        verify(oMRSAPIHelper, times(1)).callOMRSGetEntitiesByGuids(eq(USER_ID), any(), eq("Glossary"), eq(methodName));
+        verify(oMRSAPIHelper, times(1)).callOMRSGetEntitiesByGuids(eq(USER_ID), any(), eq("GlossaryCategory"), eq(methodName));
+        verify(oMRSAPIHelper, never()).getRelationshipsByType(anyString(), anyString(), anyString(), anyString(), anyString());
+        verify(oMRSAPIHelper, never()).callOMRSGetEntityByGuid(anyString(), anyString(), anyString(), anyString());
+    }
+
+
+    private List<EntityDetail> getEntities(List<String> guids, String typeName)
+    {
+        assertEquals(guids.size(), new HashSet<>(guids).size());
+
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            entities.add(getEntity(guid, typeName));
+        }
+
+        return entities;
+    }
+}
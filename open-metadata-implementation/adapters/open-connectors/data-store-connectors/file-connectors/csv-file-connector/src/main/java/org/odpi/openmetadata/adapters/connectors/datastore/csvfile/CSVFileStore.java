@@ -42,8 +42,7 @@ public interface CSVFileStore extends BasicFileStore
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The first call scans the file to build an index of its records.
      *
      * @return count
      * @throws FileException there is a problem accessing the file
@@ -74,4 +73,19 @@ public interface CSVFileStore extends BasicFileStore
      * @throws FileReadException unable to find, open or read the file, or the file does not include the requested record.
      */
     List<String>      readRecord(int  rowNumber) throws FileException, FileReadException;
+
+
+    /**
+     * Return a batch of data records, starting with the requested record.  This is the efficient way to
+     * work through all of the records in a large file.
+     *
+     * @param startingRecordNumber first record to return - the first record is record 0
+     * @param maximumRecords maximum number of records to return
+     * @return list of records, each record is a list of column values.  The list is empty if the starting record
+     * is beyond the end of the file.
+     * @throws FileException there is a problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    List<List<String>> readRecords(int  startingRecordNumber,
+                                   int  maximumRecords) throws FileException, FileReadException;
 }
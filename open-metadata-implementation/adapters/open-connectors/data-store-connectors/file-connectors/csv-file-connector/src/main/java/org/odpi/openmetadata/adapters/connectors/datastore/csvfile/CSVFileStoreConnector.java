@@ -14,11 +14,17 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
 
 
 /**
  * CSVFileStoreConnector works with structured files to retrieve simple tables of data.
+ * The first request to read the file builds an index of the position of each line in the file.
+ * The index is used to read any record directly and is rebuilt if the file changes.
  */
 public class CSVFileStoreConnector extends BasicFileStoreConnector implements CSVFileStore
 {
@@ -29,6 +35,18 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private char           delimiterChar     = ',';
     private char           quoteChar         = '"';
 
+    /*
+     * Variables used to index the file.
+     */
+    private static final int   indexBufferSize   = 64 * 1024;
+
+    private FileChannel    fileChannel       = null;
+    private long[]         lineOffsets       = null;
+    private int            lineOffsetCount   = 0;
+    private int            lineCount         = 0;
+    private long           indexedFileSize   = -1;
+    private long           indexedLastUpdate = -1;
+
     /*
      * Variables used for logging and debug.
      */
@@ -127,8 +145,7 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
 
 
     /**
-     * Return the number of records in the file.  This is achieved by scanning the file and counting the records -
-     * not recommended for very large files.
+     * Return the number of records in the file.  The first call scans the file to build the index of its lines.
      *
      * @return count
      * @throws FileException problem accessing the file
@@ -138,33 +155,11 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     {
         final String  methodName = "getRecordCount";
 
-        long    rowCount = 0;
-
-        File fileStore = getFile(methodName);
-
-        try
-        {
-            Scanner scanner  = new Scanner(fileStore);
-            while (scanner.hasNext())
-            {
-                scanner.nextLine();
-                rowCount ++;
-            }
-            scanner.close();
+        long rowCount = this.getLineCount(methodName);
 
-            if ((rowCount > 0) && (columnNames == null))
-            {
-                rowCount = rowCount - 1;
-            }
-        }
-        catch (IOException  error)
+        if ((rowCount > 0) && (columnNames == null))
         {
-            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
-                                                                                                               error.getMessage()),
-                                        this.getClass().getName(),
-                                        methodName,
-                                        error,
-                                        fileStoreName);
+            rowCount = rowCount - 1;
         }
 
         return rowCount;
@@ -222,6 +217,33 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     }
 
 
+    /**
+     * Return a batch of data records, starting with the requested record.  The records are read with a single
+     * request to the file, so this is the efficient way to work through a large file.
+     *
+     * @param startingRecordNumber first record to return - the first record is record 0
+     * @param maximumRecords maximum number of records to return
+     * @return list of records, each record is a list of column values.  The list is empty if the starting record
+     * is beyond the end of the file.
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    public List<List<String>> readRecords(int  startingRecordNumber,
+                                          int  maximumRecords) throws FileException, FileReadException
+    {
+        final String  methodName = "readRecords";
+
+        if (columnNames == null)
+        {
+            return readRows(startingRecordNumber + 1, maximumRecords, methodName);
+        }
+        else
+        {
+            return readRows(startingRecordNumber, maximumRecords, methodName);
+        }
+    }
+
+
     /**
      * Return the requested row in the file.  The first record is record 0.
      *
@@ -234,37 +256,142 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
     private List<String>      readRow(int     recordLocation,
                                       String  methodName) throws FileException, FileReadException
     {
+        List<List<String>> rows = readRows(recordLocation, 1, methodName);
 
-        File fileStore = super.getFile(methodName);
+        if (rows.isEmpty())
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
+                                                                                                      Integer.toString(recordLocation)),
+                                        this.getClass().getName(),
+                                        methodName,
+                                        fileStoreName);
+        }
+
+        return rows.get(0);
+    }
+
+
+    /**
+     * Return the requested rows in the file.  The first row is row 0.
+     *
+     * @param firstRowLocation first row to return
+     * @param maximumRows maximum number of rows to return
+     * @param methodName name of calling method
+     * @return list of rows, each row is a list of column values.  Empty if the file does not include the first row.
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    private synchronized List<List<String>> readRows(int     firstRowLocation,
+                                                     int     maximumRows,
+                                                     String  methodName) throws FileException, FileReadException
+    {
+        List<List<String>> rows = new ArrayList<>();
+
+        int rowCount = this.getLineCount(methodName);
+
+        if ((firstRowLocation < 0) || (firstRowLocation >= rowCount) || (maximumRows <= 0))
+        {
+            return rows;
+        }
+
+        int  endRowLocation = (int)Math.min((long)firstRowLocation + maximumRows, rowCount);
+        long startPosition  = lineOffsets[firstRowLocation];
+        long endPosition    = this.getLineEnd(endRowLocation - 1);
 
         try
         {
-            Scanner scanner        = new Scanner(fileStore);
+            byte[]     fileBytes  = new byte[Math.toIntExact(endPosition - startPosition)];
+            ByteBuffer fileBuffer = ByteBuffer.wrap(fileBytes);
 
-            int rowCounter = 0;
-            while (scanner.hasNext())
+            while (fileBuffer.hasRemaining())
             {
-                if (rowCounter == recordLocation)
+                if (fileChannel.read(fileBuffer, startPosition + fileBuffer.position()) < 0)
                 {
-                    return parseRecord(scanner.nextLine());
+                    /*
+                     * The file has been truncated since it was indexed.
+                     */
+                    break;
                 }
-                else
+            }
+
+            Charset charset = Charset.defaultCharset();
+
+            for (int rowLocation = firstRowLocation; rowLocation < endRowLocation; rowLocation++)
+            {
+                int lineStart = (int)(lineOffsets[rowLocation] - startPosition);
+                int lineEnd   = Math.min((int)(this.getLineEnd(rowLocation) - startPosition), fileBuffer.position());
+
+                while ((lineEnd > lineStart) && ((fileBytes[lineEnd - 1] == '\n') || (fileBytes[lineEnd - 1] == '\r')))
                 {
-                    scanner.nextLine();
+                    lineEnd --;
                 }
-                rowCounter ++;
-            }
-            scanner.close();
 
-            throw new FileReadException(CSVFileConnectorErrorCode.FILE_TOO_SHORT.getMessageDefinition(fileStoreName,
-                                                                                                      Integer.toString(recordLocation)),
+                rows.add(parseRecord(new String(fileBytes, lineStart, Math.max(lineEnd - lineStart, 0), charset)));
+            }
+        }
+        catch (IOException | ArithmeticException error)
+        {
+            throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
+                                                                                                               error.getMessage()),
                                         this.getClass().getName(),
                                         methodName,
+                                        error,
                                         fileStoreName);
+        }
 
+        return rows;
+    }
+
+
+    /**
+     * Return the position in the file after the end of the requested line (including its line terminator).
+     *
+     * @param lineLocation line number
+     * @return file position
+     */
+    private long getLineEnd(int lineLocation)
+    {
+        if (lineLocation + 1 < lineOffsetCount)
+        {
+            return lineOffsets[lineLocation + 1];
+        }
+
+        return indexedFileSize;
+    }
+
+
+    /**
+     * Return the number of lines in the file, building the index of the lines first if the file
+     * has not been indexed or it has changed since it was indexed.
+     *
+     * @param methodName name of calling method
+     * @return count of lines
+     * @throws FileException problem accessing the file
+     * @throws FileReadException unable to find, open or read the file.
+     */
+    private synchronized int getLineCount(String methodName) throws FileException, FileReadException
+    {
+        File fileStore = super.getFile(methodName);
+
+        if ((fileChannel != null) && (fileStore.length() == indexedFileSize) && (fileStore.lastModified() == indexedLastUpdate))
+        {
+            return lineCount;
+        }
+
+        this.closeFile();
+
+        try
+        {
+            indexedFileSize   = fileStore.length();
+            indexedLastUpdate = fileStore.lastModified();
+            fileChannel       = FileChannel.open(fileStore.toPath(), StandardOpenOption.READ);
+
+            this.buildLineIndex();
         }
         catch (IOException  error)
         {
+            this.closeFile();
+
             throw new FileReadException(CSVFileConnectorErrorCode.UNEXPECTED_IO_EXCEPTION.getMessageDefinition(fileStoreName,
                                                                                                                error.getMessage()),
                                         this.getClass().getName(),
@@ -272,6 +399,131 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
                                         error,
                                         fileStoreName);
         }
+
+        return lineCount;
+    }
+
+
+    /**
+     * Scan the file once, recording the position of the start of each line.  A line ends with a
+     * line feed, a carriage return or both.  Lines after the last non-whitespace character in the file
+     * are not counted.
+     *
+     * @throws IOException problem reading the file
+     */
+    private void buildLineIndex() throws IOException
+    {
+        ByteBuffer buffer              = ByteBuffer.allocate(indexBufferSize);
+        long       bufferPosition      = 0;
+        long       lastContentPosition = -1;
+        boolean    afterCarriageReturn = false;
+
+        lineOffsets     = new long[1024];
+        lineOffsetCount = 0;
+
+        if (indexedFileSize > 0)
+        {
+            this.addLineOffset(0);
+        }
+
+        while (fileChannel.read(buffer, bufferPosition) > 0)
+        {
+            buffer.flip();
+
+            while (buffer.hasRemaining())
+            {
+                long position  = bufferPosition + buffer.position();
+                byte character = buffer.get();
+
+                if (afterCarriageReturn)
+                {
+                    afterCarriageReturn = false;
+
+                    if (character != '\n')
+                    {
+                        this.addLineOffset(position);
+                    }
+                }
+
+                if (character == '\n')
+                {
+                    this.addLineOffset(position + 1);
+                }
+                else if (character == '\r')
+                {
+                    afterCarriageReturn = true;
+                }
+                else if (! isWhitespace(character))
+                {
+                    lastContentPosition = position;
+                }
+            }
+
+            bufferPosition = bufferPosition + buffer.limit();
+            buffer.clear();
+        }
+
+        lineCount = 0;
+        while ((lineCount < lineOffsetCount) && (lineOffsets[lineCount] <= lastContentPosition))
+        {
+            lineCount ++;
+        }
+    }
+
+
+    /**
+     * Add the start position of a line to the index.
+     *
+     * @param lineOffset position in the file
+     */
+    private void addLineOffset(long lineOffset)
+    {
+        if (lineOffsetCount == lineOffsets.length)
+        {
+            lineOffsets = Arrays.copyOf(lineOffsets, lineOffsetCount * 2);
+        }
+
+        lineOffsets[lineOffsetCount] = lineOffset;
+        lineOffsetCount ++;
+    }
+
+
+    /**
+     * Return whether a byte from the file is a whitespace character.
+     *
+     * @param character byte from the file
+     * @return boolean
+     */
+    private static boolean isWhitespace(byte character)
+    {
+        return (character == ' ') || (character == '\t') || (character == '\f') || (character == 0x0B) ||
+               ((character >= 0x1C) && (character <= 0x1F));
+    }
+
+
+    /**
+     * Close the file and discard its index.
+     */
+    private synchronized void closeFile()
+    {
+        if (fileChannel != null)
+        {
+            try
+            {
+                fileChannel.close();
+            }
+            catch (IOException  error)
+            {
+                log.debug("Ignoring unexpected exception " + error.getClass().getSimpleName() + " with message " + error.getMessage());
+            }
+        }
+
+        fileChannel       = null;
+        lineOffsets       = null;
+        lineOffsetCount   = 0;
+        lineCount         = 0;
+        indexedFileSize   = -1;
+        indexedLastUpdate = -1;
     }
 
 
@@ -373,6 +625,8 @@ public class CSVFileStoreConnector extends BasicFileStoreConnector implements CS
      */
     public void disconnect()
     {
+        this.closeFile();
+
         try
         {
             super.disconnect();
@@ -206,6 +206,44 @@ public class CSVFileStoreConnectorTest
         }
     }
 
+    @Test public void testReadRecords()
+    {
+        CSVFileStoreConnector connector = new CSVFileStoreConnector();
+
+        try
+        {
+            connector.initialize(UUID.randomUUID().toString(), getConnectionProperties(resourcesDirectory + complexColumnsWithColumnNamesFile));
+            connector.start();
+
+            int                recordCount = (int)connector.getRecordCount();
+            List<List<String>> records     = new ArrayList<>();
+
+            for (int batchStart=0; batchStart < recordCount; batchStart = batchStart + 3)
+            {
+                List<List<String>> batch = connector.readRecords(batchStart, 3);
+
+                assertTrue(batch.size() <= 3);
+                records.addAll(batch);
+            }
+
+            assertTrue(records.size() == recordCount);
+
+            for (int i=0; i<recordCount; i++)
+            {
+                assertTrue(records.get(i).equals(connector.readRecord(i)));
+            }
+
+            assertTrue(connector.readRecords(recordCount, 3).isEmpty());
+
+            connector.disconnect();
+            assertFalse(connector.isActive());
+        }
+        catch (Throwable  error)
+        {
+            assertTrue(false);
+        }
+    }
+
     @Test public void testNullFileName()
     {
         CSVFileStoreConnector connector = new CSVFileStoreConnector();
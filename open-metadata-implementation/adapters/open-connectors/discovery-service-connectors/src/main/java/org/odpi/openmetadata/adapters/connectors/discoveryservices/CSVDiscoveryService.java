@@ -11,6 +11,7 @@ import org.odpi.openmetadata.frameworks.discovery.properties.*;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -32,6 +33,8 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
     private final static String BOOLEAN_UC_FALSE  = "FALSE";
     private final static String BOOLEAN_LC_FALSE  = "false";
 
+    private final static int    RECORD_BATCH_SIZE = 1000;
+
 
 
     /**
@@ -73,7 +76,8 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
 
     /**
-     * Return the updated value count for this column.
+     * Return the updated value count for this column.  The values are kept in the order they are first found
+     * so that the value list for the column can be taken from the value count once all of the records are processed.
      *
      * @param existingValueCount current value count
      * @param newFieldValue next field value to process
@@ -83,7 +87,7 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
     {
         if (existingValueCount == null)
         {
-            Map<String, Integer> newValueCount = new HashMap<>();
+            Map<String, Integer> newValueCount = new LinkedHashMap<>();
 
             newValueCount.put(newFieldValue, 1);
 
@@ -105,33 +109,6 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
     }
 
 
-    /**
-     * Return the updated value list.
-     *
-     * @param existingValueList existing value list
-     * @param newFieldValue next field value to process
-     * @return updated value list
-     */
-    private List<String> getValueList(List<String> existingValueList, String newFieldValue)
-    {
-        if (existingValueList == null)
-        {
-            List<String> newValueList = new ArrayList<>();
-
-            newValueList.add(newFieldValue);
-
-            return newValueList;
-        }
-
-        if (! existingValueList.contains(newFieldValue))
-        {
-            existingValueList.add(newFieldValue);
-        }
-
-        return existingValueList;
-    }
-
-
     /**
      * Indicates that the discovery service is completely configured and can begin processing.
      *
@@ -163,6 +140,7 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
             List<String>                        columnNames = assetConnector.getColumnNames();
             Map<Integer, DataField>             dataFields  = new HashMap<>();
             Map<Integer, DataProfileAnnotation> dataProfiles  = new HashMap<>();
+            Map<Integer, Map<String, Integer>>  valueCounts   = new HashMap<>();
 
             if (columnNames != null)
             {
@@ -194,39 +172,57 @@ public class CSVDiscoveryService extends AuditableDiscoveryService
 
                 size = size + delimiterCount;
 
-                for (int recordNumber=0; recordNumber < recordCount ; recordNumber++)
+                /*
+                 * The records are read in batches so the file is processed in a single pass.
+                 */
+                for (int batchStart=0; batchStart < recordCount; batchStart = batchStart + RECORD_BATCH_SIZE)
                 {
-                    List<String>  recordValues = assetConnector.readRecord(recordNumber);
+                    List<List<String>> recordBatch = assetConnector.readRecords(batchStart, RECORD_BATCH_SIZE);
 
-                    if ((recordValues != null) && (! recordValues.isEmpty()))
+                    if (recordBatch.isEmpty())
                     {
-                        int columnPosition = 0;
-                        int recordLength = 0;
+                        break;
+                    }
 
-                        for (String fieldValue : recordValues)
+                    for (List<String> recordValues : recordBatch)
+                    {
+                        if ((recordValues != null) && (! recordValues.isEmpty()))
                         {
-                            DataField             dataField   = dataFields.get(columnPosition);
-                            DataProfileAnnotation dataProfile = dataProfiles.get(columnPosition);
+                            int columnPosition = 0;
+                            int recordLength = 0;
 
-                            dataField.setDataFieldType(this.getDataFieldType(dataField.getDataFieldType(), fieldValue));
+                            for (String fieldValue : recordValues)
+                            {
+                                DataField  dataField = dataFields.get(columnPosition);
 
-                            dataProfile.setValueCount(this.getValueCount(dataProfile.getValueCount(), fieldValue));
-                            dataProfile.setValueList(this.getValueList(dataProfile.getValueList(), fieldValue));
+                                dataField.setDataFieldType(this.getDataFieldType(dataField.getDataFieldType(), fieldValue));
 
-                            recordLength = recordLength + fieldValue.length();
+                                valueCounts.put(columnPosition, this.getValueCount(valueCounts.get(columnPosition), fieldValue));
 
-                            columnPosition++;
-                        }
+                                recordLength = recordLength + fieldValue.length();
 
-                        size = size + recordLength + delimiterCount;
+                                columnPosition++;
+                            }
+
+                            size = size + recordLength + delimiterCount;
+                        }
                     }
                 }
 
                 for (int columnNumber=0 ; columnNumber < columnNames.size(); columnNumber++)
                 {
+                    DataProfileAnnotation dataProfile = dataProfiles.get(columnNumber);
+                    Map<String, Integer>  valueCount  = valueCounts.get(columnNumber);
+
+                    if (valueCount != null)
+                    {
+                        dataProfile.setValueCount(valueCount);
+                        dataProfile.setValueList(new ArrayList<>(valueCount.keySet()));
+                    }
+
                     String  dataFieldGUID = annotationStore.addDataFieldToDiscoveryReport(schemaAnnotationGUID, dataFields.get(columnNumber));
 
-                    annotationStore.addAnnotationToDataField(dataFieldGUID, dataProfiles.get(columnNumber));
+                    annotationStore.addAnnotationToDataField(dataFieldGUID, dataProfile);
                 }
             }
 
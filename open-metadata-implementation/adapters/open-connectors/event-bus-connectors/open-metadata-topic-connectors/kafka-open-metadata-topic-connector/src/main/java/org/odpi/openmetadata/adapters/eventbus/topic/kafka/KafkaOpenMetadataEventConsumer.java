@@ -31,6 +31,11 @@ import org.slf4j.LoggerFactory;
 /**
  * KafkaOpenMetadataEventConsumer is used to process events from kafka topic and is part of native
  * Apache Kafka event/messaging infrastructure.
+ *
+ * Received events are either queued for the connector's listener thread or, when more than one consumer worker
+ * is configured, passed to a KafkaOpenMetadataEventDispatcher that distributes them in parallel.  Either way,
+ * the offset of an event is only committed once it, and all of the events before it on its partition, have been
+ * processed (unless auto commit is enabled).
  */
 public class KafkaOpenMetadataEventConsumer implements Runnable
 {
@@ -65,6 +70,8 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
     private final Map<TopicPartition, BlockingDeque<KafkaIncomingEvent>> unprocessedEventQueues = new ConcurrentHashMap<>();
 
     private final AtomicBoolean running = new AtomicBoolean(true);
+
+    private final KafkaOpenMetadataEventDispatcher dispatcher;
     
     private final boolean isAutoCommitEnabled;
 
@@ -108,6 +115,20 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
         this.messageProcessingStatusCheckIntervalMs = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.COMMIT_CHECK_INTERVAL_MS);
         long messageTimeoutMins = config.getLongProperty(KafkaOpenMetadataEventConsumerProperty.CONSUMER_EVENT_PROCESSING_TIMEOUT_MINS);
         this.messageProcessingTimeoutMs = messageTimeoutMins < 0 ? messageTimeoutMins : TimeUnit.MILLISECONDS.convert(messageTimeoutMins, TimeUnit.MINUTES);
+
+        int workerCount = config.getIntProperty(KafkaOpenMetadataEventConsumerProperty.CONSUMER_WORKER_COUNT);
+        if (workerCount > 1)
+        {
+            this.dispatcher = new KafkaOpenMetadataEventDispatcher(topicName,
+                                                                   workerCount,
+                                                                   config.getIntProperty(KafkaOpenMetadataEventConsumerProperty.MAX_IN_FLIGHT_EVENTS),
+                                                                   connector,
+                                                                   auditLog);
+        }
+        else
+        {
+            this.dispatcher = null;
+        }
     }
 
 
@@ -135,6 +156,8 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
        
         while (isRunning())
         {
+            boolean recordsFound = false;
+
             try
             {
                 
@@ -148,6 +171,14 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
             
             
                 	
+            	if (! pollRequired && dispatcher != null && dispatcher.isFull())
+            	{
+            		//The workers have the maximum number of events in flight.  Wait for them
+            		//to catch up before polling again.
+            		log.warn("Skipping Kafka polling since {} events are in flight", dispatcher.getNumberOfInFlightEvents());
+            		continue;
+            	}
+
             	int nUnprocessedEvents = connector.getNumberOfUnprocessedEvents();
             	if (! pollRequired && nUnprocessedEvents > maxQueueSize)
             	{
@@ -166,6 +197,7 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                 final ConsumerRecords<String, String> records = consumer.poll(pollDuration);
                 
                 log.debug("Found records: " + records.count());
+                recordsFound = ! records.isEmpty();
                 for (ConsumerRecord<String, String> record : records)
                 {
                     String json = record.value();
@@ -176,7 +208,15 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
                         try
                         {
                             addUnprocessedEvent(record.partition(), record.topic(), event);
-                            connector.distributeToListeners(event);
+
+                            if (dispatcher != null)
+                            {
+                                dispatcher.dispatchEvent(event);
+                            }
+                            else
+                            {
+                                connector.distributeToListeners(event);
+                            }
                         }
                         catch (Exception error)
                         {
@@ -232,17 +272,27 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
             }
             finally
             {
-                awaitNextPollingTime();
+                //When events are being received, poll again straight away so that
+                //a backlog of events is consumed as fast as the listeners allow
+                if (! recordsFound)
+                {
+                    awaitNextPollingTime();
+                }
             }
         }
 
+        if (dispatcher != null)
+        {
+            dispatcher.shutdown();
+        }
+
         if (consumer != null)
         {
             try
             {
                 //Check for fully processed messages one last time before
                 //shutting down the consumer
-                final boolean changesCommitted = checkForFullyProcessedMessages();
+                final boolean changesCommitted = checkForFullyProcessedMessages(true);
                 if (! changesCommitted) {
                     //Figure out why no changes were committed.  There are 3 possibilities:
                     // 1) Auto commit is enabled
@@ -318,7 +368,7 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
             return false;
         }
         if (System.currentTimeMillis() >= nextMessageProcessingStatusCheckTime) {
-            boolean changesFound =  checkForFullyProcessedMessages();
+            boolean changesFound =  checkForFullyProcessedMessages(false);
             nextMessageProcessingStatusCheckTime = System.currentTimeMillis() + messageProcessingStatusCheckIntervalMs;
             return changesFound;
         }
@@ -330,10 +380,16 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
      * any messages whose processing has completed.  This method
      * is a no-op if auto commit is enabled.
      * 
+     * The offsets are committed asynchronously while the consumer is running
+     * so that the commit does not delay the next poll.  A later commit
+     * supersedes an earlier one that failed.  The final commit before
+     * shutdown is synchronous.
+     * 
+     * @param synchronous whether to wait for the commit to complete
      * @return whether the current kafka committed message offsets
      *  changed
      */ 
-    private boolean checkForFullyProcessedMessages() {
+    private boolean checkForFullyProcessedMessages(boolean synchronous) {
         if (isAutoCommitEnabled) {
             return false;
         }
@@ -356,7 +412,21 @@ public class KafkaOpenMetadataEventConsumer implements Runnable
             currentOffsets.putAll(commitData);
             log.info("Committing: " + commitData);
             try {
-                consumer.commitSync(commitData);
+                if (synchronous) {
+                    consumer.commitSync(commitData);
+                }
+                else {
+                    consumer.commitAsync(commitData, (offsets, error) -> {
+                        if (error != null && auditLog != null)
+                        {
+                            auditLog.logException("checkForFullyProcessedMessages.commitAsync",
+                                    KafkaOpenMetadataTopicConnectorAuditCode.EXCEPTION_COMMITTING_OFFSETS.getMessageDefinition(error.getClass().getName(),
+                                                                                                                               topicToSubscribe,
+                                                                                                                               error.getMessage()),
+                                    error);
+                        }
+                    });
+                }
                 return true;
             }
             catch( WakeupException error )
@@ -54,7 +54,22 @@ public enum KafkaOpenMetadataEventConsumerProperty
      * used if auto commit is disabled in the Kafka consumer. 
      * 
      */
-    COMMIT_CHECK_INTERVAL_MS("commit_check_interval_ms", "5000");
+    COMMIT_CHECK_INTERVAL_MS("commit_check_interval_ms", "5000"),
+
+    /**
+     * The number of threads that distribute received events to the topic listeners.  With one
+     * thread, events are distributed by the connector's listener thread in the order they are
+     * received.  With more threads, events for different instances are distributed in parallel
+     * while the events for each instance are distributed in order.
+     */
+    CONSUMER_WORKER_COUNT("consumer_worker_count", "1"),
+
+    /**
+     * The maximum number of received events that are waiting for, or undergoing, distribution by
+     * the consumer worker threads.  When this is reached, the consumer stops polling Kafka until
+     * events have been processed.  This is only used if there is more than one consumer worker.
+     */
+    MAX_IN_FLIGHT_EVENTS("max_in_flight_events", "1000");
 
 	private final String propertyName;
 	private final String defaultValue;
@@ -0,0 +1,400 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KafkaOpenMetadataEventDispatcher distributes the events received by the KafkaOpenMetadataEventConsumer to the
+ * topic listeners using a pool of worker threads.  Each worker processes its events in the order they were received.
+ * OMRS instance events are assigned to a worker using the unique identifier (guid) of the instance they describe, so
+ * the events for an instance are processed in order while the events for different instances are processed in parallel.
+ * The guid is found without parsing the event.
+ *
+ * All other events (such as type definition and registry events) are processed on their own,
+ * after all of the events received before them and before any of the events received after them.  This means that,
+ * for example, a new type is known before the instances of that type are processed.
+ *
+ * The number of events that have been dispatched but not processed is limited.  When the limit is reached, the
+ * consumer waits for events to complete before dispatching more.
+ */
+public class KafkaOpenMetadataEventDispatcher
+{
+    private static final Logger log = LoggerFactory.getLogger(KafkaOpenMetadataEventDispatcher.class);
+
+    private static final String instanceEventSectionPropertyName = "instanceEventSection";
+    private static final String instanceGUIDPropertyName         = "instanceGUID";
+    private static final String entityPropertyName               = "entity";
+    private static final String relationshipPropertyName         = "relationship";
+    private static final String guidPropertyName                 = "guid";
+    private static final String threadHeader                     = "Kafka-Consumer-Worker-";
+    private static final long   shutdownWaitSec                  = 30L;
+
+    private final KafkaOpenMetadataTopicConnector connector;
+    private final List<ExecutorService>           workers = new ArrayList<>();
+    private final Semaphore                       inFlightEvents;
+    private final int                             maxInFlightEvents;
+    private final String                          topicName;
+    private final AuditLog                        auditLog;
+
+
+    /**
+     * Constructor for the dispatcher.
+     *
+     * @param topicName name of the topic that the events are received from.
+     * @param workerCount number of worker threads.
+     * @param maxInFlightEvents maximum number of events that are dispatched but not processed.
+     * @param connector connector holding the inbound listeners.
+     * @param auditLog audit log for this component.
+     */
+    KafkaOpenMetadataEventDispatcher(String                          topicName,
+                                     int                             workerCount,
+                                     int                             maxInFlightEvents,
+                                     KafkaOpenMetadataTopicConnector connector,
+                                     AuditLog                        auditLog)
+    {
+        this.topicName = topicName;
+        this.connector = connector;
+        this.auditLog = auditLog;
+        this.maxInFlightEvents = Math.max(1, maxInFlightEvents);
+        this.inFlightEvents = new Semaphore(this.maxInFlightEvents);
+
+        for (int workerNumber = 0; workerNumber < Math.max(1, workerCount); workerNumber++)
+        {
+            final String threadName = threadHeader + workerNumber + "-" + topicName;
+
+            workers.add(Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, threadName)));
+        }
+    }
+
+
+    /**
+     * Pass an event to the worker for its instance.  This method waits if the maximum number of in-flight
+     * events has been reached.
+     *
+     * @param event event received from Kafka
+     * @throws InterruptedException the thread was interrupted while waiting for an event to complete
+     */
+    void dispatchEvent(KafkaIncomingEvent event) throws InterruptedException
+    {
+        String instanceGUID = getInstanceGUID(event.getJson());
+
+        /*
+         * An event that is not an instance event waits for all in-flight events to complete, and blocks later
+         * events until it completes, by taking all of the permits.
+         */
+        final int permits = instanceGUID == null ? maxInFlightEvents : 1;
+
+        inFlightEvents.acquire(permits);
+
+        ExecutorService worker = workers.get(instanceGUID == null ? 0 : Math.floorMod(instanceGUID.hashCode(), workers.size()));
+
+        try
+        {
+            worker.execute(() -> processEvent(event, permits));
+        }
+        catch (Exception error)
+        {
+            inFlightEvents.release(permits);
+            throw error;
+        }
+    }
+
+
+    /**
+     * Distribute an event to the topic listeners on a worker thread.
+     *
+     * @param event event to distribute
+     * @param permits in-flight permits held by the event
+     */
+    private void processEvent(KafkaIncomingEvent event,
+                              int                permits)
+    {
+        final String actionDescription = "processEvent";
+
+        try
+        {
+            connector.distributeToListenersNow(event);
+        }
+        catch (Throwable error)
+        {
+            log.error(String.format("Error distributing inbound event: %s", error.getMessage()), error);
+
+            if (auditLog != null)
+            {
+                auditLog.logException(actionDescription,
+                                      KafkaOpenMetadataTopicConnectorAuditCode.EXCEPTION_DISTRIBUTING_EVENT.getMessageDefinition(topicName,
+                                                                                                                                 error.getClass().getName(),
+                                                                                                                                 event.getJson(),
+                                                                                                                                 error.getMessage()),
+                                      error);
+            }
+        }
+        finally
+        {
+            inFlightEvents.release(permits);
+        }
+    }
+
+
+    /**
+     * Return the number of events that have been dispatched but not processed.
+     *
+     * @return count
+     */
+    int getNumberOfInFlightEvents()
+    {
+        return maxInFlightEvents - inFlightEvents.availablePermits();
+    }
+
+
+    /**
+     * Return whether the maximum number of in-flight events has been reached.
+     *
+     * @return boolean
+     */
+    boolean isFull()
+    {
+        return inFlightEvents.availablePermits() == 0;
+    }
+
+
+    /**
+     * Stop accepting events and wait for the events that have been dispatched to complete.
+     */
+    void shutdown()
+    {
+        for (ExecutorService worker : workers)
+        {
+            worker.shutdown();
+        }
+
+        try
+        {
+            for (ExecutorService worker : workers)
+            {
+                if (! worker.awaitTermination(shutdownWaitSec, TimeUnit.SECONDS))
+                {
+                    log.warn("Consumer worker for topic {} did not complete its events before shutdown", topicName);
+                    worker.shutdownNow();
+                }
+            }
+        }
+        catch (InterruptedException error)
+        {
+            log.debug("Interrupted while waiting for consumer workers", error);
+        }
+    }
+
+
+    /**
+     * Extract the unique identifier of the instance that an OMRS instance event describes.  The JSON is not
+     * parsed into objects.  Instead, the properties of the instance event section are scanned for the instanceGUID,
+     * or the guid of the entity or relationship in the event.  Only the properties that belong directly to these
+     * objects are considered so the guids of nested objects, such as the super types of the instance's type, are
+     * not picked up by mistake.
+     *
+     * @param json event content
+     * @return guid or null if the event is not an instance event or does not include a guid
+     */
+    static String getInstanceGUID(String json)
+    {
+        if (json == null)
+        {
+            return null;
+        }
+
+        int eventStart = json.indexOf('{');
+
+        if (eventStart < 0)
+        {
+            return null;
+        }
+
+        int instanceSectionStart = getPropertyValueStart(json, eventStart, instanceEventSectionPropertyName);
+
+        if ((instanceSectionStart < 0) || (json.charAt(instanceSectionStart) != '{'))
+        {
+            return null;
+        }
+
+        String instanceGUID = getStringValue(json, getPropertyValueStart(json, instanceSectionStart, instanceGUIDPropertyName));
+
+        if (instanceGUID == null)
+        {
+            instanceGUID = getInstanceGUID(json, getPropertyValueStart(json, instanceSectionStart, entityPropertyName));
+        }
+
+        if (instanceGUID == null)
+        {
+            instanceGUID = getInstanceGUID(json, getPropertyValueStart(json, instanceSectionStart, relationshipPropertyName));
+        }
+
+        return instanceGUID;
+    }
+
+
+    /**
+     * Return the guid property of the instance that starts at the supplied position in the JSON.
+     *
+     * @param json event content
+     * @param instanceStart position of the opening brace of the instance or -1 if the instance is not present
+     * @return guid or null if it is not present
+     */
+    private static String getInstanceGUID(String json,
+                                          int    instanceStart)
+    {
+        if ((instanceStart < 0) || (json.charAt(instanceStart) != '{'))
+        {
+            return null;
+        }
+
+        return getStringValue(json, getPropertyValueStart(json, instanceStart, guidPropertyName));
+    }
+
+
+    /**
+     * Return the position of the value of a property that belongs directly to the object that starts at the
+     * supplied position.  Properties of nested objects and arrays are skipped.
+     *
+     * @param json event content
+     * @param objectStart position of the opening brace of the object
+     * @param propertyName name of the property
+     * @return position of the first character of the value or -1 if the property is not present
+     */
+    private static int getPropertyValueStart(String json,
+                                             int    objectStart,
+                                             String propertyName)
+    {
+        int     depth         = 0;
+        boolean expectingName = true;
+        int     index         = objectStart + 1;
+
+        while (index < json.length())
+        {
+            char character = json.charAt(index);
+
+            if (character == '"')
+            {
+                int stringEnd = getStringEnd(json, index);
+
+                if (stringEnd < 0)
+                {
+                    return -1;
+                }
+
+                if ((depth == 0) && expectingName)
+                {
+                    if ((stringEnd - index - 1 == propertyName.length()) && json.startsWith(propertyName, index + 1))
+                    {
+                        int valueStart = stringEnd + 1;
+
+                        while ((valueStart < json.length()) && ((json.charAt(valueStart) == ':') || Character.isWhitespace(json.charAt(valueStart))))
+                        {
+                            valueStart++;
+                        }
+
+                        return valueStart < json.length() ? valueStart : -1;
+                    }
+
+                    expectingName = false;
+                }
+
+                index = stringEnd + 1;
+            }
+            else
+            {
+                if ((character == '{') || (character == '['))
+                {
+                    depth++;
+                }
+                else if ((character == '}') || (character == ']'))
+                {
+                    if (depth == 0)
+                    {
+                        return -1;
+                    }
+
+                    depth--;
+                }
+                else if ((character == ',') && (depth == 0))
+                {
+                    expectingName = true;
+                }
+
+                index++;
+            }
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * Return the position of the quote that closes the string starting at the supplied position.
+     *
+     * @param json event content
+     * @param stringStart position of the opening quote
+     * @return position of the closing quote or -1 if the string is not terminated
+     */
+    private static int getStringEnd(String json,
+                                    int    stringStart)
+    {
+        int index = stringStart + 1;
+
+        while (index < json.length())
+        {
+            char character = json.charAt(index);
+
+            if (character == '\\')
+            {
+                index = index + 2;
+            }
+            else if (character == '"')
+            {
+                return index;
+            }
+            else
+            {
+                index++;
+            }
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * Return the string value that starts at the supplied position.
+     *
+     * @param json event content
+     * @param valueStart position of the value or -1 if the property is not present
+     * @return value or null if the property is not present or is not a string
+     */
+    private static String getStringValue(String json,
+                                         int    valueStart)
+    {
+        if ((valueStart < 0) || (json.charAt(valueStart) != '"'))
+        {
+            return null;
+        }
+
+        int valueEnd = getStringEnd(json, valueStart);
+
+        if (valueEnd < 0)
+        {
+            return null;
+        }
+
+        return json.substring(valueStart + 1, valueEnd);
+    }
+}
@@ -13,8 +13,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * KafkaOpenMetadataEventProducer manages the sending of events on Apache Kafka.  This is done through called to
@@ -23,11 +26,18 @@ import java.util.concurrent.TimeUnit;
  * Kafka is not always running.  When this occurs, the call to publish events hangs and this is disruptive to the
  * rest of the server.  So the role of this class is to manage the sending of events in a separate thread
  * and manage the logging of errors to alert the operations team that Kafka needs restarting.
+ *
+ * Events are queued in a bounded send buffer that is owned by the connector.  The producer thread takes them
+ * from the buffer in batches and passes each batch to the Kafka producer without waiting for the individual
+ * sends to complete.  It then waits for Kafka to acknowledge the whole batch before taking the next one, so
+ * Kafka is able to group the events of a batch into a few requests.  When the buffer is full, the send buffer
+ * full policy determines whether the caller waits, the event is dropped, or the caller receives an exception.
+ *
+ * The events are written to the topic in the order that sendEvent is called.  When part of a batch fails,
+ * the batch is resent from the first failed event, so events that follow it may be received twice.
  */
 public class KafkaOpenMetadataEventProducer implements Runnable
 {
-    private final List<String> sendBuffer = Collections.synchronizedList(new ArrayList<>());
-
     private static final Logger log = LoggerFactory.getLogger(KafkaOpenMetadataEventProducer.class);
 
     private static final String       defaultThreadName = "KafkaProducer for topic ";
@@ -39,11 +49,20 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     private final String   topicName;
     private final int sleepTime = 1000;
     private static final long recoverySleepTimeSec = 10L;
+    private static final int  maxSendRetries = 10;
 
     private final String                          localServerId;
     private final Properties                      producerProperties;
     private Producer<String, String>        producer = null;
 
+    private final BlockingQueue<String>                      sendBuffer;
+    private final KafkaOpenMetadataEventProducerStatistics   statistics;
+    private final AtomicBoolean                              bufferFullReported;
+    private final int                                        batchSize;
+    private final long                                       lingerMs;
+    private final long                                       blockTimeoutMs;
+    private final KafkaOpenMetadataEventProducerBufferPolicy bufferFullPolicy;
+
     private KafkaOpenMetadataTopicConnector connector;
 
     private long    messageSendCount = 0;
@@ -56,14 +75,22 @@ public class KafkaOpenMetadataEventProducer implements Runnable
      * @param topicName name of the topic to listen on.
      * @param localServerId identifier to enable receiver to identify that an event came from this server.
      * @param producerProperties properties for the consumer.
+     * @param producerConfiguration Egeria properties for the producer.
+     * @param sendBuffer buffer of events waiting to be sent.
+     * @param bufferFullReported flag set when the send buffer full condition has been logged.
+     * @param statistics statistics to update as events are sent.
      * @param connector connector holding the inbound listeners.
      * @param auditLog  audit log for this component.
      */
-    KafkaOpenMetadataEventProducer(String                          topicName,
-                                   String                          localServerId,
-                                   Properties                      producerProperties,
-                                   KafkaOpenMetadataTopicConnector connector,
-                                   AuditLog                        auditLog)
+    KafkaOpenMetadataEventProducer(String                                      topicName,
+                                   String                                      localServerId,
+                                   Properties                                  producerProperties,
+                                   KafkaOpenMetadataEventProducerConfiguration producerConfiguration,
+                                   BlockingQueue<String>                       sendBuffer,
+                                   AtomicBoolean                               bufferFullReported,
+                                   KafkaOpenMetadataEventProducerStatistics    statistics,
+                                   KafkaOpenMetadataTopicConnector             connector,
+                                   AuditLog                                    auditLog)
     {
         this.auditLog = auditLog;
         this.topicName = topicName;
@@ -71,6 +98,25 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         this.connector = connector;
         this.producerProperties = producerProperties;
         this.listenerThreadName = defaultThreadName + topicName;
+        this.sendBuffer = sendBuffer;
+        this.bufferFullReported = bufferFullReported;
+        this.statistics = statistics;
+        this.batchSize = Math.max(1, producerConfiguration.getIntProperty(KafkaOpenMetadataEventProducerProperty.SEND_BATCH_SIZE));
+        this.lingerMs = producerConfiguration.getLongProperty(KafkaOpenMetadataEventProducerProperty.SEND_LINGER_MS);
+        this.blockTimeoutMs = producerConfiguration.getLongProperty(KafkaOpenMetadataEventProducerProperty.SEND_BUFFER_BLOCK_TIMEOUT_MS);
+        this.bufferFullPolicy = producerConfiguration.getBufferFullPolicy();
+
+        /*
+         * The events of a batch are sent without waiting for each one, so Kafka must not reorder them when
+         * it retries a request.  The OMRS protocol relies on the events for an instance arriving in order.
+         * Idempotence needs acknowledgements from all replicas so it is only turned on when they are requested.
+         */
+        this.producerProperties.put("max.in.flight.requests.per.connection", "1");
+        Object acks = producerProperties.get("acks");
+        if ((acks != null) && ("all".equals(acks.toString()) || "-1".equals(acks.toString())))
+        {
+            this.producerProperties.put("enable.idempotence", "true");
+        }
 
         final String           actionDescription = "new producer";
 
@@ -83,16 +129,23 @@ public class KafkaOpenMetadataEventProducer implements Runnable
 
 
     /**
-     * Sends the supplied event to the topic.  It retries if Kafka is not responding.
+     * Sends the supplied batch of events to the topic.  The events are passed to Kafka without waiting and then
+     * the acknowledgements are awaited.  The producer is created with a single in-flight request (and idempotence
+     * when all replicas acknowledge) so Kafka's own retries do not change the order of the events on the topic.  If an event still fails with
+     * a retryable error, it is resent together with every event that followed it in the batch - even those that
+     * Kafka has acknowledged - until they are sent or the retry limit is reached.  This means a consumer may
+     * receive an event more than once, but the last copy of each event is always received after the events
+     * that were sent before it, which keeps the order of the updates to an instance.
      *
-     * @param event object containing the event properties.
+     * @param events list of events to send.
      * @throws ConnectorCheckedException the connector is not able to communicate with the event bus
+     * @throws InterruptedException the thread was interrupted while waiting for Kafka
      */
-    private void publishEvent(String event) throws ConnectorCheckedException
+    private void publishEvents(List<String> events) throws ConnectorCheckedException, InterruptedException
     {
-        final String methodName = "publishEvent";
+        final String methodName = "publishEvents";
 
-        boolean                  eventSent = false;
+        List<String>             unsentEvents = events;
         long                     eventRetryCount = 0;
 
         if (producer == null)
@@ -100,22 +153,85 @@ public class KafkaOpenMetadataEventProducer implements Runnable
             log.debug("Creating Producer");
             producer = new KafkaProducer<>(producerProperties);
         }
-        while (!eventSent)
+        while (!unsentEvents.isEmpty())
         {
+            final int                        eventCount      = unsentEvents.size();
+            final boolean[]                  eventFailed     = new boolean[eventCount];
+            final CountDownLatch             acknowledgements = new CountDownLatch(eventCount);
+            final AtomicReference<Exception> latestError     = new AtomicReference<>();
+
             try
             {
-                log.debug("Sending message {0}" + event);
-                ProducerRecord<String, String> record = new ProducerRecord<>(topicName, localServerId, event);
-                producer.send(record).get();
-                eventSent = true;
-                messageSendCount++;
+                log.debug("Sending {} events", eventCount);
+                for (int eventIndex = 0; eventIndex < eventCount; eventIndex++)
+                {
+                    final int  index     = eventIndex;
+                    final long sendStart = System.currentTimeMillis();
+
+                    ProducerRecord<String, String> record = new ProducerRecord<>(topicName, localServerId, unsentEvents.get(eventIndex));
+                    producer.send(record, (metadata, error) ->
+                    {
+                        if (error == null)
+                        {
+                            statistics.eventSent(System.currentTimeMillis() - sendStart);
+                        }
+                        else
+                        {
+                            eventFailed[index] = true;
+                            latestError.set(error);
+                        }
+                        acknowledgements.countDown();
+                    });
+                }
+
+                producer.flush();
+                acknowledgements.await();
+            }
+            catch (WakeupException error)
+            {
+                log.error("Wake up for shut down " + error.toString());
+                break;
+            }
+            catch (InterruptedException error)
+            {
+                throw error;
             }
-            catch (ExecutionException error)
+            catch (Throwable error)
+            {
+                producer.close();
+                producer = null;
+                log.debug("Send Events Throwable catch block closed producer");
+                log.error("Exception in sendEvent " + error.toString());
+
+                throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(error.getClass().getName(),
+                                                                                                                                      topicName,
+                                                                                                                                      error.getMessage()),
+                                                    this.getClass().getName(),
+                                                    methodName,
+                                                    error);
+            }
+
+            /*
+             * Everything from the first failed event onwards is resent so the events stay in the order that
+             * sendEvent was called.
+             */
+            int firstFailedEvent = 0;
+            while ((firstFailedEvent < eventCount) && (! eventFailed[firstFailedEvent]))
+            {
+                firstFailedEvent++;
+            }
+
+            messageSendCount += firstFailedEvent;
+            unsentEvents = new ArrayList<>(unsentEvents.subList(firstFailedEvent, eventCount));
+
+            if (!unsentEvents.isEmpty())
             {
                 /*
                  * This may be a simple timeout or something else more
                  */
-                log.debug("Kafka had trouble sending event: " + event + "exception message is " + error.getMessage());
+                Exception error = latestError.get();
+
+                log.debug("Kafka had trouble sending " + unsentEvents.size() + " events; exception message is " + error.getMessage());
 
                 if (!isExceptionRetryable(error))
                 {
@@ -125,6 +241,11 @@ public class KafkaOpenMetadataEventProducer implements Runnable
                     producer.close();
                     producer = null;
 
+                    for (int eventIndex = 0; eventIndex < unsentEvents.size(); eventIndex++)
+                    {
+                        statistics.eventFailed();
+                    }
+
                     throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(error.getClass().getName(),
                                                                                                                                           topicName,
                                                                                                                                           error.getMessage()),
@@ -132,12 +253,23 @@ public class KafkaOpenMetadataEventProducer implements Runnable
                                                                                                                                           methodName,
                                                                                                                                           error);
                 }
-                if (eventRetryCount == 10)
+                if (eventRetryCount == maxSendRetries)
                 {
                     /* we've retried now let the caller retry */
                     producer.close();
                     producer = null;
                     log.error("Retryable Exception closed producer ");
+
+                    for (int eventIndex = 0; eventIndex < unsentEvents.size(); eventIndex++)
+                    {
+                        statistics.eventFailed();
+                    }
+
+                    auditLog.logMessage(methodName,
+                                        KafkaOpenMetadataTopicConnectorAuditCode.PRODUCER_BATCH_FAILED.getMessageDefinition(Integer.toString(unsentEvents.size()),
+                                                                                                                            topicName,
+                                                                                                                            Long.toString(eventRetryCount + 1),
+                                                                                                                            error.getMessage()));
                     break;
                 }
                 else
@@ -147,33 +279,14 @@ public class KafkaOpenMetadataEventProducer implements Runnable
                         auditLog.logMessage(methodName,
                                             KafkaOpenMetadataTopicConnectorAuditCode.EVENT_SEND_IN_ERROR_LOOP.getMessageDefinition(topicName,
                                                                                                                                    Long.toString(messageSendCount),
-                                                                                                                                   Long.toString(this.getSendBufferSize()),
+                                                                                                                                   Long.toString(this.getSendBufferSize() + unsentEvents.size()),
                                                                                                                                    error.getMessage()));
                     }
 
                     eventRetryCount++;
                 }
             }
-            catch (WakeupException error)
-            {
-                log.error("Wake up for shut down " + error.toString());
-            }
-            catch (Throwable error)
-            {
-                producer.close();
-                producer = null;
-                log.debug("Send Events Throwable catch block closed producer");
-                log.error("Exception in sendEvent " + error.toString());
-
-                throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.ERROR_SENDING_EVENT.getMessageDefinition(error.getClass().getName(),
-                                                                                                                                      topicName,
-                                                                                                                                      error.getMessage()),
-                                                    this.getClass().getName(),
-                                                    methodName,
-                                                    error);
-            }
         }
-
     }
 
 
@@ -195,25 +308,14 @@ public class KafkaOpenMetadataEventProducer implements Runnable
         {
             try
             {
-                String bufferedEvent = this.getEvent();
-
                 /*
-                 * If there are no events waiting then sleep
+                 * Waits for events to arrive and then sends them in batches
                  */
-                if (bufferedEvent == null)
-                {
-                    TimeUnit.MILLISECONDS.sleep(sleepTime);
-                }
-                else
+                List<String> bufferedEvents = this.getEvents();
+
+                if (! bufferedEvents.isEmpty())
                 {
-                    /*
-                     * Send all waiting events
-                     */
-                    while (bufferedEvent != null)
-                    {
-                        publishEvent(bufferedEvent);
-                        bufferedEvent = this.getEvent();
-                    }
+                    publishEvents(bufferedEvents);
                 }
             }
             catch (InterruptedException   error)
@@ -250,17 +352,6 @@ public class KafkaOpenMetadataEventProducer implements Runnable
     }
 
 
-    /**
-     * Supports putting events to the in memory OMRS Topic
-     *
-     * @param newEvent  event to publish
-     */
-    private void putEvent(String  newEvent)
-    {
-        sendBuffer.add(newEvent);
-    }
-
-
     /**
      * Returns the size of the send buffer
      *
@@ -273,29 +364,110 @@ public class KafkaOpenMetadataEventProducer implements Runnable
 
 
     /**
-     * Returns all of the events found on the in memory OMRS Topic.
+     * Returns the next batch of events from the send buffer.  It waits up to the sleep time for the first event
+     * and then up to the linger time for the batch to fill.
      *
-     * @return list of received events.
+     * @return list of events to send - empty if no events arrived.
+     * @throws InterruptedException the thread was interrupted while waiting
      */
-    private String getEvent()
+    private List<String> getEvents() throws InterruptedException
     {
-        if (sendBuffer.isEmpty())
+        List<String> events = new ArrayList<>();
+
+        String firstEvent = sendBuffer.poll(sleepTime, TimeUnit.MILLISECONDS);
+
+        if (firstEvent != null)
         {
-            return null;
+            events.add(firstEvent);
+            sendBuffer.drainTo(events, batchSize - events.size());
+
+            long lingerEnd = System.currentTimeMillis() + lingerMs;
+            long lingerRemaining = lingerMs;
+
+            while ((events.size() < batchSize) && (lingerRemaining > 0))
+            {
+                String nextEvent = sendBuffer.poll(lingerRemaining, TimeUnit.MILLISECONDS);
+
+                if (nextEvent == null)
+                {
+                    break;
+                }
+
+                events.add(nextEvent);
+                sendBuffer.drainTo(events, batchSize - events.size());
+                lingerRemaining = lingerEnd - System.currentTimeMillis();
+            }
         }
 
-        return sendBuffer.remove(0);
+        return events;
     }
 
 
     /**
-     * Sends the supplied event to the topic.
+     * Adds the supplied event to the send buffer.  If the buffer is full, the send buffer full policy
+     * determines whether the caller waits, the event is discarded or an exception is thrown.
      *
      * @param event  OMRSEvent object containing the event properties.
+     * @throws ConnectorCheckedException the send buffer is full and the event is not accepted
      */
-    public void sendEvent(String event)
+    public void sendEvent(String event) throws ConnectorCheckedException
     {
-        this.putEvent(event);
+        final String methodName = "sendEvent";
+
+        boolean eventQueued;
+
+        try
+        {
+            if (sendBuffer.offer(event))
+            {
+                eventQueued = true;
+            }
+            else if (bufferFullPolicy == KafkaOpenMetadataEventProducerBufferPolicy.BLOCK)
+            {
+                if (blockTimeoutMs < 0)
+                {
+                    sendBuffer.put(event);
+                    eventQueued = true;
+                }
+                else
+                {
+                    eventQueued = sendBuffer.offer(event, blockTimeoutMs, TimeUnit.MILLISECONDS);
+                }
+            }
+            else
+            {
+                eventQueued = false;
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+            eventQueued = false;
+        }
+
+        if (eventQueued)
+        {
+            bufferFullReported.set(false);
+        }
+        else if (bufferFullPolicy == KafkaOpenMetadataEventProducerBufferPolicy.DROP)
+        {
+            long droppedCount = statistics.eventDropped();
+
+            if (bufferFullReported.compareAndSet(false, true))
+            {
+                auditLog.logMessage(methodName,
+                                    KafkaOpenMetadataTopicConnectorAuditCode.EVENTS_DROPPED.getMessageDefinition(topicName,
+                                                                                                                 Integer.toString(this.getSendBufferSize()),
+                                                                                                                 Long.toString(droppedCount)));
+            }
+        }
+        else
+        {
+            throw new ConnectorCheckedException(KafkaOpenMetadataTopicConnectorErrorCode.SEND_BUFFER_FULL.getMessageDefinition(topicName,
+                                                                                                                               Integer.toString(this.getSendBufferSize())),
+                                                this.getClass().getName(),
+                                                methodName);
+        }
     }
 
 
@@ -347,6 +519,9 @@ public class KafkaOpenMetadataEventProducer implements Runnable
 
     private boolean isExceptionRetryable( Throwable throwable)
     {
+        if (throwable instanceof RetriableException) {
+            return true;
+        }
 
         Throwable nested = null;
         while ((nested = throwable.getCause()) != null) {
@@ -0,0 +1,25 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+/**
+ * KafkaOpenMetadataEventProducerBufferPolicy defines what happens to a caller that sends an event while
+ * the KafkaOpenMetadataEventProducer's send buffer is full.
+ */
+public enum KafkaOpenMetadataEventProducerBufferPolicy
+{
+    /**
+     * The caller waits for space in the send buffer.
+     */
+    BLOCK,
+
+    /**
+     * The event is discarded and the caller continues.
+     */
+    DROP,
+
+    /**
+     * The caller receives an exception.
+     */
+    FAIL
+}
@@ -0,0 +1,59 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+/**
+ * Configurable properties for the KafkaOpenMetadataEventProducer
+ *
+ */
+public enum KafkaOpenMetadataEventProducerProperty
+{
+    /*
+     * Controls the maximum number of events that are waiting to be sent to Kafka.  When
+     * the send buffer is full, the send buffer full policy determines what happens to the
+     * caller that is sending a new event.
+     */
+    SEND_BUFFER_CAPACITY("send_buffer_capacity", "10000"),
+
+    /*
+     * The maximum number of events that are passed to the Kafka producer before the
+     * producer thread waits for Kafka to acknowledge them.
+     */
+    SEND_BATCH_SIZE("send_batch_size", "500"),
+
+    /*
+     * The time (in ms) that the producer thread waits for more events to add to a batch
+     * after the first event of the batch arrives.  Zero means that the batch is sent
+     * with the events that are already waiting.
+     */
+    SEND_LINGER_MS("send_linger_ms", "0"),
+
+    /*
+     * What happens when an event is sent while the send buffer is full.  The value is one of
+     * BLOCK (wait for space), DROP (discard the event) or FAIL (throw an exception to the caller).
+     */
+    SEND_BUFFER_FULL_POLICY("send_buffer_full_policy", "BLOCK"),
+
+    /*
+     * The maximum time (in ms) that a caller is blocked when the send buffer full policy is BLOCK.
+     * After this time, an exception is thrown to the caller.  A negative value means wait for ever.
+     */
+    SEND_BUFFER_BLOCK_TIMEOUT_MS("send_buffer_block_timeout_ms", "60000");
+
+    private final String propertyName;
+    private final String defaultValue;
+
+    KafkaOpenMetadataEventProducerProperty(String name, String defaultValue)
+    {
+        this.propertyName = name;
+        this.defaultValue = defaultValue;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+}
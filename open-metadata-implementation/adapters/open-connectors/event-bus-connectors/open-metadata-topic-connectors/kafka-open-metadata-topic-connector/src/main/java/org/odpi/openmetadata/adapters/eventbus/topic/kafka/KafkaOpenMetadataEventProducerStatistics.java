@@ -0,0 +1,133 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * KafkaOpenMetadataEventProducerStatistics records how the events sent through a KafkaOpenMetadataTopicConnector
+ * have been handled.  The send latency is the time from an event being passed to the Kafka producer to it
+ * being acknowledged by Kafka.  The statistics are owned by the connector so they survive the restart of
+ * the producer thread.
+ */
+public class KafkaOpenMetadataEventProducerStatistics
+{
+    private final AtomicLong eventsSent           = new AtomicLong(0);
+    private final AtomicLong eventsDropped        = new AtomicLong(0);
+    private final AtomicLong eventsFailed         = new AtomicLong(0);
+    private final AtomicLong totalSendLatencyMs   = new AtomicLong(0);
+    private final AtomicLong maximumSendLatencyMs = new AtomicLong(0);
+
+
+    /**
+     * Record that an event has been acknowledged by Kafka.
+     *
+     * @param sendLatencyMs time between the event being passed to Kafka and its acknowledgement
+     */
+    void eventSent(long   sendLatencyMs)
+    {
+        eventsSent.incrementAndGet();
+        totalSendLatencyMs.addAndGet(sendLatencyMs);
+        maximumSendLatencyMs.accumulateAndGet(sendLatencyMs, Math::max);
+    }
+
+
+    /**
+     * Record that an event was discarded because the send buffer was full.
+     *
+     * @return total number of events dropped
+     */
+    long eventDropped()
+    {
+        return eventsDropped.incrementAndGet();
+    }
+
+
+    /**
+     * Record that an event could not be sent to Kafka.
+     */
+    void eventFailed()
+    {
+        eventsFailed.incrementAndGet();
+    }
+
+
+    /**
+     * Return the number of events acknowledged by Kafka.
+     *
+     * @return count
+     */
+    public long getEventsSent()
+    {
+        return eventsSent.get();
+    }
+
+
+    /**
+     * Return the number of events discarded because the send buffer was full.
+     *
+     * @return count
+     */
+    public long getEventsDropped()
+    {
+        return eventsDropped.get();
+    }
+
+
+    /**
+     * Return the number of events that Kafka failed to accept.
+     *
+     * @return count
+     */
+    public long getEventsFailed()
+    {
+        return eventsFailed.get();
+    }
+
+
+    /**
+     * Return the average send latency of the events acknowledged by Kafka.
+     *
+     * @return milliseconds
+     */
+    public long getAverageSendLatencyMs()
+    {
+        long sent = eventsSent.get();
+
+        if (sent == 0)
+        {
+            return 0;
+        }
+
+        return totalSendLatencyMs.get() / sent;
+    }
+
+
+    /**
+     * Return the longest send latency of the events acknowledged by Kafka.
+     *
+     * @return milliseconds
+     */
+    public long getMaximumSendLatencyMs()
+    {
+        return maximumSendLatencyMs.get();
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "KafkaOpenMetadataEventProducerStatistics{" +
+                "eventsSent=" + eventsSent +
+                ", eventsDropped=" + eventsDropped +
+                ", eventsFailed=" + eventsFailed +
+                ", averageSendLatencyMs=" + getAverageSendLatencyMs() +
+                ", maximumSendLatencyMs=" + maximumSendLatencyMs +
+                '}';
+    }
+}
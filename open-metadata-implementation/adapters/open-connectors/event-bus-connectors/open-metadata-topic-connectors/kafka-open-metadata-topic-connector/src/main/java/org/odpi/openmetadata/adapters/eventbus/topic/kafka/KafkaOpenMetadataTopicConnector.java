@@ -16,9 +16,12 @@ import org.slf4j.LoggerFactory;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * KafkaOMRSTopicConnector provides a concrete implementation of the OMRSTopicConnector that
@@ -32,6 +35,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
     
     private final Properties producerProperties = new Properties();
+    private final Properties producerEgeriaProperties = new Properties();
     private final Properties consumerEgeriaProperties = new Properties();
     private final Properties consumerProperties = new Properties();
 
@@ -45,6 +49,12 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     /* this buffer is for consumed events */
     private final List<IncomingEvent> incomingEventsList = Collections.synchronizedList(new ArrayList<>());
 
+    /* this buffer is for events waiting to be produced - it survives the restart of the producer */
+    private BlockingQueue<String>                          sendBuffer             = null;
+    private KafkaOpenMetadataEventProducerConfiguration    producerConfiguration  = null;
+    private final AtomicBoolean                            sendBufferFullReported = new AtomicBoolean(false);
+    private final KafkaOpenMetadataEventProducerStatistics producerStatistics     = new KafkaOpenMetadataEventProducerStatistics();
+
     private KafkaProducerExecutor executor = null;
 
     final String                   threadHeader = "Kafka-";
@@ -64,7 +74,7 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
 
             /* we don't care why the thread ended , we just restart it */
             /* The thread will log on exit and on restart already, so no need to let anyone know */
-            producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, KafkaOpenMetadataTopicConnector.this, auditLog);
+            producer = newProducer();
             producerThread = new Thread(producer, threadHeader + "Producer-" + topicName);
             executor.execute(producerThread);
         }
@@ -182,6 +192,9 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
             
             propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.egeriaConsumerPropertyName);
             copyProperties(propertiesObject, consumerEgeriaProperties);
+
+            propertiesObject = configurationProperties.get(KafkaOpenMetadataTopicProvider.egeriaProducerPropertyName);
+            copyProperties(propertiesObject, producerEgeriaProperties);
         }
         catch (Throwable   error)
         {
@@ -262,7 +275,9 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
         consumerThread = new Thread(consumer, threadHeader + "Consumer-" + topicName);
         consumerThread.start();
 
-        producer = new KafkaOpenMetadataEventProducer(topicName, serverId, producerProperties, this, auditLog);
+        producerConfiguration = new KafkaOpenMetadataEventProducerConfiguration(producerEgeriaProperties, auditLog);
+        sendBuffer = new ArrayBlockingQueue<>(Math.max(1, producerConfiguration.getIntProperty(KafkaOpenMetadataEventProducerProperty.SEND_BUFFER_CAPACITY)));
+        producer = newProducer();
         producerThread = new Thread(producer, threadHeader + "Producer-" + topicName);
         executor = new KafkaProducerExecutor();
         executor.execute(producerThread);
@@ -271,6 +286,25 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     }
 
 
+    /**
+     * Create a producer that sends the events in the connector's send buffer.
+     *
+     * @return new producer
+     */
+    private KafkaOpenMetadataEventProducer newProducer()
+    {
+        return new KafkaOpenMetadataEventProducer(topicName,
+                                                  serverId,
+                                                  producerProperties,
+                                                  producerConfiguration,
+                                                  sendBuffer,
+                                                  sendBufferFullReported,
+                                                  producerStatistics,
+                                                  this,
+                                                  auditLog);
+    }
+
+
     /**
      * Sends the supplied event to the topic.
      *
@@ -324,6 +358,18 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     }
 
 
+    /**
+     * Distribute an event to the listeners on the caller's thread rather than the listener thread.
+     *
+     * @param event object containing the event properties.
+     */
+    void distributeToListenersNow(IncomingEvent event)
+    {
+        log.debug("distribute event to listeners now" + event);
+        super.distributeEvent(event);
+    }
+
+
     /**
      * Free up any resources held since the connector is no longer needed.
      *
@@ -396,6 +442,33 @@ public class KafkaOpenMetadataTopicConnector extends OpenMetadataTopicConnector
     	return incomingEventsList.size();
     }
 
+
+    /**
+     * Return the number of events waiting to be sent to Kafka.
+     *
+     * @return int
+     */
+    public int getNumberOfUnsentEvents()
+    {
+        if (sendBuffer == null)
+        {
+            return 0;
+        }
+
+        return sendBuffer.size();
+    }
+
+
+    /**
+     * Return the statistics for the events sent to Kafka, including the send latency.
+     *
+     * @return statistics
+     */
+    public KafkaOpenMetadataEventProducerStatistics getProducerStatistics()
+    {
+        return producerStatistics;
+    }
+
     private class KafkaStatusChecker {
 
         //instantiate empty objects to avoid if null checks
@@ -125,7 +125,20 @@ public enum KafkaOpenMetadataTopicConnectorAuditCode implements AuditLogMessageS
             "Depending on the nature of the error, events may no longer be exchanged with the topic.",
             "Check the OMAG Server's audit log and Kafka error logs for related messages that " +
                                          "indicate the cause of this error.  Work to clear the underlying error.  " +
-                                         "Once fixed, it may be necessary to restart the server to cause a reconnect to Kafka.")
+                                         "Once fixed, it may be necessary to restart the server to cause a reconnect to Kafka."),
+
+    EVENTS_DROPPED("OCF-KAFKA-TOPIC-CONNECTOR-0018",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "The send buffer for topic {0} is full with {1} events waiting to be sent.  {2} events have been discarded",
+            "The send buffer full policy is DROP so new events are being discarded until the producer catches up.",
+            "Review the operational status of Apache Kafka and the event rate of this server.  " +
+                                         "Consider increasing the send buffer capacity or changing the send buffer full policy."),
+
+    PRODUCER_BATCH_FAILED("OCF-KAFKA-TOPIC-CONNECTOR-0019",
+            OMRSAuditLogRecordSeverity.EXCEPTION,
+            "{0} events could not be sent to topic {1} after {2} attempts.  Latest error message is {3}",
+            "The events are discarded and the producer continues with the next events in the send buffer.",
+            "Review the operational status of Apache Kafka to ensure it is running and the topic is defined.")
     ;
 
     private final AuditLogMessageDefinition messageDefinition;
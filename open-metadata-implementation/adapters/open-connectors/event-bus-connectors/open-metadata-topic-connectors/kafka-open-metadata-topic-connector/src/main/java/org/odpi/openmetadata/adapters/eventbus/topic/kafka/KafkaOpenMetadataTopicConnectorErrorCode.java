@@ -35,7 +35,13 @@ public enum KafkaOpenMetadataTopicConnectorErrorCode implements ExceptionMessage
     ERROR_ATTEMPTING_KAFKA_INITIALIZATION(400, "OCF-KAFKA-TOPIC-CONNECTOR-400-002 ",
             "Egeria was unable to initialize a connection to a Kafka cluster.  The message in the exception was: {2}",
             "The system is unable initialize.",
-            "Ensure that Kafka is available")
+            "Ensure that Kafka is available"),
+
+    SEND_BUFFER_FULL(503, "OCF-KAFKA-TOPIC-CONNECTOR-503-001 ",
+            "The send buffer for topic {0} is full with {1} events waiting to be sent",
+            "The system is unable to accept the event because Apache Kafka is not keeping up with the events from this server.",
+            "Review the operational status of Apache Kafka.  Once it is accepting events, retry the request.  " +
+                                 "Consider increasing the send buffer capacity.")
         ;
         private final ExceptionMessageDefinition messageDefinition;
 
@@ -0,0 +1,154 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.eventbus.topic.kafka;
+
+import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.IncomingEvent;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that the KafkaOpenMetadataEventDispatcher only assigns OMRS instance events to a worker by instance guid
+ * and processes every other event after the events received before it and before the events received after it.
+ */
+public class KafkaOpenMetadataEventDispatcherTest
+{
+    private static final String typeDefEvent = "{\"protocolVersionId\":\"OMRS_V1\",\"eventCategory\":\"TYPEDEF\"," +
+            "\"originator\":{\"metadataCollectionId\":\"collection-1\"}," +
+            "\"typeDefEventSection\":{\"typeDefEventType\":\"NEW_TYPEDEF_EVENT\",\"typeDefGUID\":\"type-guid\"," +
+            "\"typeDef\":{\"class\":\"EntityDef\",\"guid\":\"type-guid\",\"name\":\"NewType\"}}}";
+
+    private static final String registryEvent = "{\"protocolVersionId\":\"OMRS_V1\",\"eventCategory\":\"REGISTRY\"," +
+            "\"registryEventSection\":{\"registryEventType\":\"REGISTRATION_EVENT\"," +
+            "\"remoteConnection\":{\"class\":\"Connection\",\"guid\":\"connection-guid\"}}}";
+
+    /**
+     * Return an instance event for an entity.  The entity's type lists a super type with a guid before the
+     * entity's own guid.
+     *
+     * @param instanceGUID value for the instanceGUID property or null to leave it out
+     * @param entityGUID guid of the entity
+     * @return JSON event
+     */
+    private static String getEntityEvent(String instanceGUID,
+                                         String entityGUID)
+    {
+        return "{\"protocolVersionId\":\"OMRS_V1\",\"eventCategory\":\"INSTANCE\"," +
+                "\"originator\":{\"metadataCollectionId\":\"collection-1\",\"guid\":\"originator-guid\"}," +
+                "\"instanceEventSection\":{\"eventType\":\"NEW_ENTITY_EVENT\",\"typeDefGUID\":\"type-guid\"," +
+                (instanceGUID == null ? "" : "\"instanceGUID\":\"" + instanceGUID + "\",") +
+                "\"entity\":{\"class\":\"EntityDetail\",\"type\":{\"typeDefGUID\":\"type-guid\"," +
+                "\"typeDefSuperTypes\":[{\"guid\":\"super-type-guid\",\"name\":\"Referenceable\"}]}," +
+                "\"properties\":{\"instanceProperties\":{\"name\":{\"primitiveValue\":\"has \\\"guid\\\": \\\"x\\\"\"}}}," +
+                "\"guid\":\"" + entityGUID + "\"}}}";
+    }
+
+
+    /**
+     * Only the guid of the instance in the instance event section is used.
+     */
+    @Test public void testGetInstanceGUID()
+    {
+        assertEquals(KafkaOpenMetadataEventDispatcher.getInstanceGUID(getEntityEvent("instance-guid", "entity-guid")), "instance-guid");
+        assertEquals(KafkaOpenMetadataEventDispatcher.getInstanceGUID(getEntityEvent(null, "entity-guid")), "entity-guid");
+        assertEquals(KafkaOpenMetadataEventDispatcher.getInstanceGUID("{\"instanceEventSection\":{\"relationship\":" +
+                                                                              "{\"entityOneProxy\":{\"guid\":\"end1-guid\"},\"guid\":\"relationship-guid\"}}}"),
+                     "relationship-guid");
+
+        assertNull(KafkaOpenMetadataEventDispatcher.getInstanceGUID(typeDefEvent));
+        assertNull(KafkaOpenMetadataEventDispatcher.getInstanceGUID(registryEvent));
+        assertNull(KafkaOpenMetadataEventDispatcher.getInstanceGUID("{\"guid\":\"omas-event-guid\"}"));
+        assertNull(KafkaOpenMetadataEventDispatcher.getInstanceGUID("{\"instanceEventSection\":{\"eventType\":\"UNKNOWN\"}}"));
+        assertNull(KafkaOpenMetadataEventDispatcher.getInstanceGUID("not json"));
+        assertNull(KafkaOpenMetadataEventDispatcher.getInstanceGUID(null));
+    }
+
+
+    /**
+     * The instance events received after a type definition event are only processed once the type definition
+     * event is complete, and the type definition event waits for the instance events received before it.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testTypeDefEventIsABarrier() throws Exception
+    {
+        RecordingConnector               connector  = new RecordingConnector();
+        KafkaOpenMetadataEventDispatcher dispatcher = new KafkaOpenMetadataEventDispatcher("test-topic", 4, 100, connector, null);
+
+        List<String> instanceGUIDs = new ArrayList<>();
+        for (int instanceNumber = 0; instanceNumber < 20; instanceNumber++)
+        {
+            instanceGUIDs.add("before-" + instanceNumber);
+        }
+
+        for (String instanceGUID : instanceGUIDs)
+        {
+            dispatcher.dispatchEvent(new KafkaIncomingEvent(getEntityEvent(instanceGUID, instanceGUID), 0));
+        }
+
+        dispatcher.dispatchEvent(new KafkaIncomingEvent(typeDefEvent, 0));
+
+        for (int instanceNumber = 0; instanceNumber < 20; instanceNumber++)
+        {
+            String instanceGUID = "after-" + instanceNumber;
+
+            dispatcher.dispatchEvent(new KafkaIncomingEvent(getEntityEvent(instanceGUID, instanceGUID), 0));
+        }
+
+        dispatcher.shutdown();
+
+        List<String> processed = connector.getProcessedEvents();
+        int          typeDefPosition = processed.indexOf(typeDefEvent);
+
+        assertEquals(processed.size(), 41);
+        assertEquals(typeDefPosition, 20);
+        for (int position = 0; position < typeDefPosition; position++)
+        {
+            assertTrue(processed.get(position).contains("before-"));
+        }
+        for (int position = typeDefPosition + 1; position < processed.size(); position++)
+        {
+            assertTrue(processed.get(position).contains("after-"));
+        }
+    }
+
+
+    /**
+     * Connector that records the events it is asked to distribute.  Type definition events take a little
+     * time so that any instance event that does not wait for them is recorded first.
+     */
+    private static class RecordingConnector extends KafkaOpenMetadataTopicConnector
+    {
+        private final List<String> processedEvents = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        void distributeToListenersNow(IncomingEvent event)
+        {
+            if (event.getJson().contains("typeDefEventSection"))
+            {
+                try
+                {
+                    Thread.sleep(200);
+                }
+                catch (InterruptedException error)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            processedEvents.add(event.getJson());
+        }
+
+        List<String> getProcessedEvents()
+        {
+            return new ArrayList<>(processedEvents);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FileBasedAuditLogIndex is the in-memory index of the records in the file based audit log.  It keeps the
+ * index entries in time order, both for the whole log and for each severity and component, so that each query
+ * finds the start of its time period with a binary search and then reads only the matching entries.
+ *
+ * Log records normally arrive in time order, so new entries are added at, or close to, the end of each list.
+ * The index is thread-safe.
+ */
+class FileBasedAuditLogIndex
+{
+    private final Map<String, FileBasedAuditLogIndexEntry>       entriesByGUID      = new HashMap<>();
+    private final List<FileBasedAuditLogIndexEntry>              entriesByTime      = new ArrayList<>();
+    private final Map<String, List<FileBasedAuditLogIndexEntry>> entriesBySeverity  = new HashMap<>();
+    private final Map<String, List<FileBasedAuditLogIndexEntry>> entriesByComponent = new HashMap<>();
+
+
+    /**
+     * Add an entry for a new log record.
+     *
+     * @param entry index entry
+     */
+    synchronized void addEntry(FileBasedAuditLogIndexEntry entry)
+    {
+        entriesByGUID.put(entry.getGUID(), entry);
+        addInTimeOrder(entriesByTime, entry);
+
+        if (entry.getSeverity() != null)
+        {
+            addInTimeOrder(entriesBySeverity.computeIfAbsent(entry.getSeverity(), key -> new ArrayList<>()), entry);
+        }
+
+        if (entry.getComponent() != null)
+        {
+            addInTimeOrder(entriesByComponent.computeIfAbsent(entry.getComponent(), key -> new ArrayList<>()), entry);
+        }
+    }
+
+
+    /**
+     * Remove the entries for the log records in a segment that has been deleted.
+     *
+     * @param segmentNumber number of the deleted segment
+     */
+    synchronized void removeSegment(long   segmentNumber)
+    {
+        entriesByTime.removeIf(entry -> entry.getSegmentNumber() == segmentNumber);
+        entriesByGUID.values().removeIf(entry -> entry.getSegmentNumber() == segmentNumber);
+
+        removeSegment(entriesBySeverity, segmentNumber);
+        removeSegment(entriesByComponent, segmentNumber);
+    }
+
+
+    /**
+     * Return the entry for a log record.
+     *
+     * @param guid unique identifier of the log record
+     * @return entry or null if the log record is not known
+     */
+    synchronized FileBasedAuditLogIndexEntry getEntry(String   guid)
+    {
+        return entriesByGUID.get(guid);
+    }
+
+
+    /**
+     * Return the entries for the log records created within a time period.
+     *
+     * @param startTime start of time period (inclusive)
+     * @param endTime end of time period (inclusive)
+     * @param offset number of matching entries to skip
+     * @param maximumEntries maximum number of entries to return - zero means no limit
+     * @return list of entries in time order
+     */
+    synchronized List<FileBasedAuditLogIndexEntry> getEntriesByTime(long startTime,
+                                                                    long endTime,
+                                                                    int  offset,
+                                                                    int  maximumEntries)
+    {
+        return getEntries(entriesByTime, startTime, endTime, offset, maximumEntries);
+    }
+
+
+    /**
+     * Return the entries for the log records of a severity created within a time period.
+     *
+     * @param severity severity name
+     * @param startTime start of time period (inclusive)
+     * @param endTime end of time period (inclusive)
+     * @param offset number of matching entries to skip
+     * @param maximumEntries maximum number of entries to return - zero means no limit
+     * @return list of entries in time order
+     */
+    synchronized List<FileBasedAuditLogIndexEntry> getEntriesBySeverity(String severity,
+                                                                        long   startTime,
+                                                                        long   endTime,
+                                                                        int    offset,
+                                                                        int    maximumEntries)
+    {
+        return getEntries(entriesBySeverity.get(severity), startTime, endTime, offset, maximumEntries);
+    }
+
+
+    /**
+     * Return the entries for the log records of a component created within a time period.
+     *
+     * @param component component name
+     * @param startTime start of time period (inclusive)
+     * @param endTime end of time period (inclusive)
+     * @param offset number of matching entries to skip
+     * @param maximumEntries maximum number of entries to return - zero means no limit
+     * @return list of entries in time order
+     */
+    synchronized List<FileBasedAuditLogIndexEntry> getEntriesByComponent(String component,
+                                                                         long   startTime,
+                                                                         long   endTime,
+                                                                         int    offset,
+                                                                         int    maximumEntries)
+    {
+        return getEntries(entriesByComponent.get(component), startTime, endTime, offset, maximumEntries);
+    }
+
+
+    /**
+     * Return the number of log records in the index.
+     *
+     * @return count
+     */
+    synchronized int size()
+    {
+        return entriesByTime.size();
+    }
+
+
+    /**
+     * Return the interned value of a severity or component name so that the entries share the same string.
+     *
+     * @param name name from a log record
+     * @param isSeverity whether the name is a severity or a component name
+     * @return interned name
+     */
+    synchronized String internName(String  name,
+                                   boolean isSeverity)
+    {
+        if (name == null)
+        {
+            return null;
+        }
+
+        List<FileBasedAuditLogIndexEntry> entries = isSeverity ? entriesBySeverity.get(name) : entriesByComponent.get(name);
+
+        if ((entries != null) && (! entries.isEmpty()))
+        {
+            return isSeverity ? entries.get(0).getSeverity() : entries.get(0).getComponent();
+        }
+
+        return name;
+    }
+
+
+    /**
+     * Select a page of the entries from a time ordered list that fall within a time period.
+     *
+     * @param entries time ordered list
+     * @param startTime start of time period (inclusive)
+     * @param endTime end of time period (inclusive)
+     * @param offset number of matching entries to skip
+     * @param maximumEntries maximum number of entries to return - zero means no limit
+     * @return list of entries in time order
+     */
+    private List<FileBasedAuditLogIndexEntry> getEntries(List<FileBasedAuditLogIndexEntry> entries,
+                                                         long                              startTime,
+                                                         long                              endTime,
+                                                         int                               offset,
+                                                         int                               maximumEntries)
+    {
+        List<FileBasedAuditLogIndexEntry> results = new ArrayList<>();
+
+        if (entries == null)
+        {
+            return results;
+        }
+
+        for (int index = getFirstIndexAfter(entries, startTime - 1) + offset; index < entries.size(); index++)
+        {
+            FileBasedAuditLogIndexEntry entry = entries.get(index);
+
+            if ((entry.getTimeStamp() > endTime) || ((maximumEntries > 0) && (results.size() == maximumEntries)))
+            {
+                break;
+            }
+
+            results.add(entry);
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Add an entry to a time ordered list.  Entries with the same time stamp stay in the order they were added.
+     *
+     * @param entries time ordered list
+     * @param entry new entry
+     */
+    private void addInTimeOrder(List<FileBasedAuditLogIndexEntry> entries,
+                                FileBasedAuditLogIndexEntry       entry)
+    {
+        if (entries.isEmpty() || (entries.get(entries.size() - 1).getTimeStamp() <= entry.getTimeStamp()))
+        {
+            entries.add(entry);
+        }
+        else
+        {
+            entries.add(getFirstIndexAfter(entries, entry.getTimeStamp()), entry);
+        }
+    }
+
+
+    /**
+     * Find the position of the first entry with a time stamp after the supplied time.
+     *
+     * @param entries time ordered list
+     * @param time time in milliseconds
+     * @return index (the size of the list if there is no later entry)
+     */
+    private int getFirstIndexAfter(List<FileBasedAuditLogIndexEntry> entries,
+                                   long                              time)
+    {
+        int low  = 0;
+        int high = entries.size();
+
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+
+            if (entries.get(middle).getTimeStamp() <= time)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+
+    /**
+     * Remove the entries for a segment from the lists in a map.
+     *
+     * @param entryMap map of name to time ordered list
+     * @param segmentNumber number of the deleted segment
+     */
+    private void removeSegment(Map<String, List<FileBasedAuditLogIndexEntry>> entryMap,
+                               long                                           segmentNumber)
+    {
+        for (List<FileBasedAuditLogIndexEntry> entries : entryMap.values())
+        {
+            entries.removeIf(entry -> entry.getSegmentNumber() == segmentNumber);
+        }
+
+        entryMap.values().removeIf(List::isEmpty);
+    }
+}
@@ -0,0 +1,145 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+/**
+ * FileBasedAuditLogIndexEntry locates an audit log record within the segment files of the file based audit log.
+ * It holds just the properties of the record that are used in queries.  The severity and component names are
+ * interned by the index since there are few distinct values.
+ */
+class FileBasedAuditLogIndexEntry
+{
+    private final String guid;
+    private final long   timeStamp;
+    private final String severity;
+    private final String component;
+    private final long   segmentNumber;
+    private final long   offset;
+    private final int    length;
+
+
+    /**
+     * Constructor.
+     *
+     * @param guid unique identifier of the log record
+     * @param timeStamp time the log record was created (milliseconds since the epoch)
+     * @param severity severity of the log record
+     * @param component name of the component that created the log record
+     * @param segmentNumber number of the segment file holding the log record
+     * @param offset position of the log record in the segment file
+     * @param length number of bytes in the log record
+     */
+    FileBasedAuditLogIndexEntry(String guid,
+                                long   timeStamp,
+                                String severity,
+                                String component,
+                                long   segmentNumber,
+                                long   offset,
+                                int    length)
+    {
+        this.guid = guid;
+        this.timeStamp = timeStamp;
+        this.severity = severity;
+        this.component = component;
+        this.segmentNumber = segmentNumber;
+        this.offset = offset;
+        this.length = length;
+    }
+
+
+    /**
+     * Return the unique identifier of the log record.
+     *
+     * @return guid
+     */
+    String getGUID()
+    {
+        return guid;
+    }
+
+
+    /**
+     * Return the time the log record was created.
+     *
+     * @return milliseconds since the epoch
+     */
+    long getTimeStamp()
+    {
+        return timeStamp;
+    }
+
+
+    /**
+     * Return the severity of the log record.
+     *
+     * @return severity name
+     */
+    String getSeverity()
+    {
+        return severity;
+    }
+
+
+    /**
+     * Return the name of the component that created the log record.
+     *
+     * @return component name
+     */
+    String getComponent()
+    {
+        return component;
+    }
+
+
+    /**
+     * Return the number of the segment file holding the log record.
+     *
+     * @return segment number
+     */
+    long getSegmentNumber()
+    {
+        return segmentNumber;
+    }
+
+
+    /**
+     * Return the position of the log record in the segment file.
+     *
+     * @return byte offset
+     */
+    long getOffset()
+    {
+        return offset;
+    }
+
+
+    /**
+     * Return the number of bytes in the log record.
+     *
+     * @return length
+     */
+    int getLength()
+    {
+        return length;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "FileBasedAuditLogIndexEntry{" +
+                "guid='" + guid + '\'' +
+                ", timeStamp=" + timeStamp +
+                ", severity='" + severity + '\'' +
+                ", component='" + component + '\'' +
+                ", segmentNumber=" + segmentNumber +
+                ", offset=" + offset +
+                ", length=" + length +
+                '}';
+    }
+}
@@ -0,0 +1,279 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+
+/**
+ * FileBasedAuditLogSegment is one of the files of the file based audit log.  Each log record is stored as a
+ * line of JSON.  Records are only ever appended to the newest segment.  The appends are buffered and written to
+ * the file as a group when the buffer is flushed, so many records are written with a single write to the file.
+ * Older segments are read only and are deleted as a whole when they are no longer retained.
+ */
+class FileBasedAuditLogSegment
+{
+    private static final String segmentFilePrefix = "audit-log-";
+    private static final String segmentFileSuffix = ".json";
+    private static final int    writeBufferSize   = 64 * 1024;
+
+    private final long             segmentNumber;
+    private final File             segmentFile;
+    private final long             creationTime;
+    private       OutputStream     writer        = null;
+    private       RandomAccessFile reader        = null;
+    private       long             size;
+    private       long             flushedSize;
+    private       long             lastWriteTime;
+
+
+    /**
+     * Constructor for a segment.
+     *
+     * @param directory directory holding the audit log
+     * @param segmentNumber sequence number of the segment
+     * @param creationTime time that the segment was started
+     */
+    FileBasedAuditLogSegment(File  directory,
+                             long  segmentNumber,
+                             long  creationTime)
+    {
+        this.segmentNumber = segmentNumber;
+        this.segmentFile = new File(directory, getSegmentFileName(segmentNumber));
+        this.creationTime = creationTime;
+        this.size = segmentFile.length();
+        this.flushedSize = size;
+        this.lastWriteTime = segmentFile.exists() ? segmentFile.lastModified() : creationTime;
+    }
+
+
+    /**
+     * Return the name of the file for a segment.
+     *
+     * @param segmentNumber sequence number of the segment
+     * @return file name
+     */
+    static String getSegmentFileName(long   segmentNumber)
+    {
+        return segmentFilePrefix + String.format("%010d", segmentNumber) + segmentFileSuffix;
+    }
+
+
+    /**
+     * Return the sequence number of the segment stored in a file.
+     *
+     * @param fileName name of the file
+     * @return segment number or -1 if the file is not a segment file
+     */
+    static long getSegmentNumber(String   fileName)
+    {
+        if ((fileName != null) && fileName.startsWith(segmentFilePrefix) && fileName.endsWith(segmentFileSuffix))
+        {
+            try
+            {
+                return Long.parseLong(fileName.substring(segmentFilePrefix.length(), fileName.length() - segmentFileSuffix.length()));
+            }
+            catch (NumberFormatException error)
+            {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * Return the sequence number of the segment.
+     *
+     * @return segment number
+     */
+    long getSegmentNumber()
+    {
+        return segmentNumber;
+    }
+
+
+    /**
+     * Return the time that the segment was started.
+     *
+     * @return milliseconds since the epoch
+     */
+    long getCreationTime()
+    {
+        return creationTime;
+    }
+
+
+    /**
+     * Return the time that a record was last appended to the segment.
+     *
+     * @return milliseconds since the epoch
+     */
+    synchronized long getLastWriteTime()
+    {
+        return lastWriteTime;
+    }
+
+
+    /**
+     * Return the number of bytes in the segment, including any that are still buffered.
+     *
+     * @return size in bytes
+     */
+    synchronized long getSize()
+    {
+        return size;
+    }
+
+
+    /**
+     * Append a record to the segment.  The record is buffered until the next flush.
+     *
+     * @param record JSON of the record (without the line separator)
+     * @return offset of the record in the segment
+     * @throws IOException the segment file can not be written
+     */
+    synchronized long append(byte[]   record) throws IOException
+    {
+        if (writer == null)
+        {
+            writer = new BufferedOutputStream(new FileOutputStream(segmentFile, true), writeBufferSize);
+        }
+
+        long offset = size;
+
+        writer.write(record);
+        writer.write('\n');
+
+        size = size + record.length + 1;
+        lastWriteTime = System.currentTimeMillis();
+
+        return offset;
+    }
+
+
+    /**
+     * Write any buffered records to the segment file.
+     *
+     * @throws IOException the segment file can not be written
+     */
+    synchronized void flush() throws IOException
+    {
+        if ((writer != null) && (flushedSize < size))
+        {
+            writer.flush();
+            flushedSize = size;
+        }
+    }
+
+
+    /**
+     * Read a record from the segment.  Any buffered records are written out first.
+     *
+     * @param offset position of the record in the segment
+     * @param length number of bytes in the record
+     * @return JSON of the record
+     * @throws IOException the segment file can not be read
+     */
+    synchronized byte[] read(long offset,
+                             int  length) throws IOException
+    {
+        if (offset + length > flushedSize)
+        {
+            flush();
+        }
+
+        if (reader == null)
+        {
+            reader = new RandomAccessFile(segmentFile, "r");
+        }
+
+        byte[] record = new byte[length];
+
+        reader.seek(offset);
+        reader.readFully(record);
+
+        return record;
+    }
+
+
+    /**
+     * Read the whole segment file.  This is used to rebuild the index when the connector starts.
+     *
+     * @return contents of the segment file
+     * @throws IOException the segment file can not be read
+     */
+    synchronized byte[] readAll() throws IOException
+    {
+        flush();
+
+        return Files.readAllBytes(segmentFile.toPath());
+    }
+
+
+    /**
+     * Stop appending to the segment.  The segment can still be read.
+     *
+     * @throws IOException the segment file can not be written
+     */
+    synchronized void seal() throws IOException
+    {
+        if (writer != null)
+        {
+            writer.close();
+            writer = null;
+            flushedSize = size;
+        }
+    }
+
+
+    /**
+     * Close the segment file.
+     *
+     * @throws IOException the segment file can not be closed
+     */
+    synchronized void close() throws IOException
+    {
+        seal();
+
+        if (reader != null)
+        {
+            reader.close();
+            reader = null;
+        }
+    }
+
+
+    /**
+     * Close and delete the segment file.
+     *
+     * @throws IOException the segment file can not be deleted
+     */
+    synchronized void delete() throws IOException
+    {
+        close();
+        Files.deleteIfExists(segmentFile.toPath());
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "FileBasedAuditLogSegment{" +
+                "segmentFile=" + segmentFile +
+                ", creationTime=" + creationTime +
+                ", size=" + size +
+                '}';
+    }
+}
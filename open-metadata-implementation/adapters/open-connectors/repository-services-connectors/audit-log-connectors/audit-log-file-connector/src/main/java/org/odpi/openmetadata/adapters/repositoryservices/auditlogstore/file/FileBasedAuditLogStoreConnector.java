@@ -2,36 +2,67 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
 import org.odpi.openmetadata.frameworks.connectors.properties.EndpointProperties;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.PagingErrorException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogStoreConnectorBase;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * FileBasedAuditLogStoreConnector provides a connector implementation for a file based audit log.
- * The audit log is stored in a directory and each audit log record is stored as a file with a filename build
- * from the record's unique identifier (guid).
+ * The audit log is stored in a directory as a sequence of segment files.  Each audit log record is appended to
+ * the newest segment as a line of JSON.  The appends are buffered and flushed to the file at regular intervals
+ * so that bursts of log records are written together.  A new segment is started when the current one reaches
+ * its maximum size or age, and the oldest segments are deleted when the log exceeds its retention size or age.
+ *
+ * An in-memory index of the time stamp, severity and originating component of each record supports the queries.
+ * It is rebuilt from the segment files when the connector starts.
  */
 public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorBase
 {
     private static final String defaultDirectoryTemplate = "omag.server.auditlog";
 
+    private static final long   defaultSegmentSize     = 10 * 1024 * 1024;
+    private static final long   defaultSegmentDuration = 24 * 60;
+    private static final long   defaultRetentionSize   = 0;
+    private static final long   defaultRetentionDays   = 0;
+    private static final long   defaultFlushInterval   = 1000;
+
     private static final Logger log = LoggerFactory.getLogger(FileBasedAuditLogStoreConnector.class);
 
     private String configStoreTemplateName  = null;
 
+    private final FileBasedAuditLogIndex              index         = new FileBasedAuditLogIndex();
+    private final Map<Long, FileBasedAuditLogSegment> segments      = new TreeMap<>();
+    private       FileBasedAuditLogSegment            activeSegment = null;
+    private       ScheduledExecutorService            flusher       = null;
+
+    private long segmentSize     = defaultSegmentSize;
+    private long segmentDuration = defaultSegmentDuration;
+    private long retentionSize   = defaultRetentionSize;
+    private long retentionDays   = defaultRetentionDays;
+    private long flushInterval   = defaultFlushInterval;
+
 
     /**
      * Default constructor used by the connector provider.
@@ -42,7 +73,8 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
 
 
     /**
-     * Set up the name of the file store
+     * Set up the name of the file store, rebuild the index from the existing segments and
+     * start a new segment.
      *
      * @throws ConnectorCheckedException something went wrong
      */
@@ -63,16 +95,42 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
             configStoreTemplateName = defaultDirectoryTemplate;
         }
 
+        Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+        if (configurationProperties != null)
+        {
+            segmentSize = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.segmentSizeProperty, defaultSegmentSize);
+            segmentDuration = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.segmentDurationProperty, defaultSegmentDuration);
+            retentionSize = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.retentionSizeProperty, defaultRetentionSize);
+            retentionDays = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.retentionDaysProperty, defaultRetentionDays);
+            flushInterval = getLongProperty(configurationProperties, FileBasedAuditLogStoreProvider.flushIntervalProperty, defaultFlushInterval);
+        }
+
         try
         {
             File         configStoreDirectory = new File(configStoreTemplateName);
 
             FileUtils.forceMkdir(configStoreDirectory);
+
+            synchronized (this)
+            {
+                loadSegments(configStoreDirectory);
+                applyRetention();
+                startNewSegment();
+            }
         }
         catch (IOException ioException)
         {
             log.error("Unusable Server Audit Log Store :(", ioException);
         }
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable ->
+                                                             {
+                                                                 Thread flusherThread = new Thread(runnable, "FileBasedAuditLogFlusher: " + configStoreTemplateName);
+                                                                 flusherThread.setDaemon(true);
+                                                                 return flusherThread;
+                                                             });
+        flusher.scheduleWithFixedDelay(this::maintainSegments, Math.max(1, flushInterval), Math.max(1, flushInterval), TimeUnit.MILLISECONDS);
     }
 
 
@@ -94,12 +152,24 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
         {
             try
             {
-                File configStoreFile =
-                        new File(configStoreTemplateName + "/log-record-" + logRecord.getGUID());
-                ObjectMapper objectMapper    = new ObjectMapper();
-
-                String configStoreFileContents = objectMapper.writeValueAsString(logRecord);
-                FileUtils.writeStringToFile(configStoreFile, configStoreFileContents, (String)null, false);
+                byte[] record = OMRSJSONSerializer.writeValueAsBytes(logRecord);
+
+                synchronized (this)
+                {
+                    if (activeSegment == null)
+                    {
+                        startNewSegment();
+                    }
+                    else if ((activeSegment.getSize() > 0) && (activeSegment.getSize() + record.length >= segmentSize))
+                    {
+                        startNewSegment();
+                        applyRetention();
+                    }
+
+                    long offset = activeSegment.append(record);
+
+                    index.addEntry(getIndexEntry(logRecord, activeSegment.getSegmentNumber(), offset, record.length));
+                }
             }
             catch (IOException ioException)
             {
@@ -124,8 +194,26 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
                                                                            RepositoryErrorException
     {
         final String methodName = "getAuditLogRecord";
+        final String parameterName = "logRecordId";
 
-        return null;
+        if (logRecordId == null)
+        {
+            throw new InvalidParameterException(OMRSErrorCode.INVALID_AUDIT_LOG_QUERY_PARAMETER.getMessageDefinition(parameterName,
+                                                                                                                   methodName,
+                                                                                                                   super.getDestinationName()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                parameterName);
+        }
+
+        FileBasedAuditLogIndexEntry entry = index.getEntry(logRecordId);
+
+        if (entry == null)
+        {
+            return null;
+        }
+
+        return readLogRecord(entry, methodName);
     }
 
 
@@ -152,7 +240,13 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByTimeStamp";
 
-        return null;
+        validateQuery(startDate, endDate, offset, maximumRecords, methodName);
+
+        return readLogRecords(index.getEntriesByTime(getStartTime(startDate),
+                                                     getEndTime(endDate),
+                                                     offset,
+                                                     maximumRecords),
+                              methodName);
     }
 
 
@@ -181,7 +275,15 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsBySeverity";
 
-        return null;
+        validateName(severity, "severity", methodName);
+        validateQuery(startDate, endDate, offset, maximumRecords, methodName);
+
+        return readLogRecords(index.getEntriesBySeverity(severity,
+                                                         getStartTime(startDate),
+                                                         getEndTime(endDate),
+                                                         offset,
+                                                         maximumRecords),
+                              methodName);
     }
 
 
@@ -210,7 +312,406 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     {
         final String methodName = "getAuditLogRecordsByComponent";
 
-        return null;
+        validateName(component, "component", methodName);
+        validateQuery(startDate, endDate, offset, maximumRecords, methodName);
+
+        return readLogRecords(index.getEntriesByComponent(component,
+                                                          getStartTime(startDate),
+                                                          getEndTime(endDate),
+                                                          offset,
+                                                          maximumRecords),
+                              methodName);
+    }
+
+
+    /**
+     * Validate the severity or component name passed on a query.
+     *
+     * @param name value of the parameter
+     * @param parameterName name of the parameter
+     * @param methodName calling method
+     * @throws InvalidParameterException the name is null
+     */
+    private void validateName(String name,
+                              String parameterName,
+                              String methodName) throws InvalidParameterException
+    {
+        if (name == null)
+        {
+            throw new InvalidParameterException(OMRSErrorCode.INVALID_AUDIT_LOG_QUERY_PARAMETER.getMessageDefinition(parameterName,
+                                                                                                                   methodName,
+                                                                                                                   super.getDestinationName()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                parameterName);
+        }
+    }
+
+
+    /**
+     * Validate the time period and paging parameters passed on a query.
+     *
+     * @param startDate start of time period (null means from the start of the log)
+     * @param endDate end of time period (null means to the end of the log)
+     * @param offset offset of full collection to begin the return results
+     * @param maximumRecords maximum number of log records to return
+     * @param methodName calling method
+     * @throws InvalidParameterException the start date is after the end date
+     * @throws PagingErrorException the offset or maximum records is negative
+     */
+    private void validateQuery(Date   startDate,
+                               Date   endDate,
+                               int    offset,
+                               int    maximumRecords,
+                               String methodName) throws InvalidParameterException,
+                                                         PagingErrorException
+    {
+        final String parameterName = "startDate";
+
+        if ((startDate != null) && (endDate != null) && startDate.after(endDate))
+        {
+            throw new InvalidParameterException(OMRSErrorCode.INVALID_AUDIT_LOG_QUERY_PARAMETER.getMessageDefinition(parameterName,
+                                                                                                                   methodName,
+                                                                                                                   super.getDestinationName()),
+                                                this.getClass().getName(),
+                                                methodName,
+                                                parameterName);
+        }
+
+        if ((offset < 0) || (maximumRecords < 0))
+        {
+            throw new PagingErrorException(OMRSErrorCode.INVALID_AUDIT_LOG_QUERY_PAGING.getMessageDefinition(Integer.toString(offset),
+                                                                                                           Integer.toString(maximumRecords),
+                                                                                                           methodName,
+                                                                                                           super.getDestinationName()),
+                                           this.getClass().getName(),
+                                           methodName);
+        }
+    }
+
+
+    /**
+     * Return the start of the time period for a query.
+     *
+     * @param startDate supplied start date
+     * @return milliseconds since the epoch
+     */
+    private long getStartTime(Date   startDate)
+    {
+        return startDate == null ? 0L : startDate.getTime();
+    }
+
+
+    /**
+     * Return the end of the time period for a query.
+     *
+     * @param endDate supplied end date
+     * @return milliseconds since the epoch
+     */
+    private long getEndTime(Date   endDate)
+    {
+        return endDate == null ? Long.MAX_VALUE : endDate.getTime();
+    }
+
+
+    /**
+     * Read the log records located by a list of index entries.  Records in segments that have been deleted since the
+     * index was queried are skipped.
+     *
+     * @param entries index entries
+     * @param methodName calling method
+     * @return list of log records or null if there are none
+     * @throws RepositoryErrorException a segment file can not be read
+     */
+    private List<OMRSAuditLogRecord> readLogRecords(List<FileBasedAuditLogIndexEntry> entries,
+                                                    String                            methodName) throws RepositoryErrorException
+    {
+        List<OMRSAuditLogRecord> logRecords = new ArrayList<>();
+
+        for (FileBasedAuditLogIndexEntry entry : entries)
+        {
+            OMRSAuditLogRecord logRecord = readLogRecord(entry, methodName);
+
+            if (logRecord != null)
+            {
+                logRecords.add(logRecord);
+            }
+        }
+
+        if (logRecords.isEmpty())
+        {
+            return null;
+        }
+
+        return logRecords;
+    }
+
+
+    /**
+     * Read the log record located by an index entry.
+     *
+     * @param entry index entry
+     * @param methodName calling method
+     * @return log record or null if its segment has been deleted
+     * @throws RepositoryErrorException the segment file can not be read
+     */
+    private OMRSAuditLogRecord readLogRecord(FileBasedAuditLogIndexEntry entry,
+                                             String                      methodName) throws RepositoryErrorException
+    {
+        FileBasedAuditLogSegment segment;
+
+        synchronized (this)
+        {
+            segment = segments.get(entry.getSegmentNumber());
+        }
+
+        if (segment == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return OMRSJSONSerializer.readValue(segment.read(entry.getOffset(), entry.getLength()), OMRSAuditLogRecord.class);
+        }
+        catch (IOException ioException)
+        {
+            synchronized (this)
+            {
+                if (! segments.containsKey(entry.getSegmentNumber()))
+                {
+                    return null;
+                }
+            }
+
+            throw new RepositoryErrorException(OMRSErrorCode.AUDIT_LOG_STORE_NOT_AVAILABLE.getMessageDefinition(super.getDestinationName(),
+                                                                                                              ioException.getMessage()),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               ioException);
+        }
+    }
+
+
+    /**
+     * Create the index entry for a log record.
+     *
+     * @param logRecord log record
+     * @param segmentNumber segment holding the log record
+     * @param offset position of the log record in the segment
+     * @param length length of the log record
+     * @return index entry
+     */
+    private FileBasedAuditLogIndexEntry getIndexEntry(OMRSAuditLogRecord logRecord,
+                                                      long               segmentNumber,
+                                                      long               offset,
+                                                      int                length)
+    {
+        String                     component          = null;
+        AuditLogReportingComponent reportingComponent = logRecord.getOriginatorComponent();
+
+        if (reportingComponent != null)
+        {
+            component = reportingComponent.getComponentName();
+        }
+
+        return new FileBasedAuditLogIndexEntry(logRecord.getGUID(),
+                                               logRecord.getTimeStamp() == null ? 0L : logRecord.getTimeStamp().getTime(),
+                                               index.internName(logRecord.getSeverity(), true),
+                                               index.internName(component, false),
+                                               segmentNumber,
+                                               offset,
+                                               length);
+    }
+
+
+    /**
+     * Add the existing segment files in the directory to the index.  Lines that are not valid log records,
+     * such as a record that was partly written when the server stopped, are skipped.
+     *
+     * @param directory directory holding the audit log
+     * @throws IOException a segment file can not be read
+     */
+    private void loadSegments(File   directory) throws IOException
+    {
+        File[] files = directory.listFiles();
+
+        if (files == null)
+        {
+            return;
+        }
+
+        for (File file : files)
+        {
+            long segmentNumber = FileBasedAuditLogSegment.getSegmentNumber(file.getName());
+
+            if (segmentNumber >= 0)
+            {
+                segments.put(segmentNumber, new FileBasedAuditLogSegment(directory, segmentNumber, file.lastModified()));
+            }
+        }
+
+        for (FileBasedAuditLogSegment segment : segments.values())
+        {
+            byte[] contents    = segment.readAll();
+            int    recordStart = 0;
+
+            for (int position = 0; position < contents.length; position++)
+            {
+                if (contents[position] == '\n')
+                {
+                    int recordLength = position - recordStart;
+
+                    try
+                    {
+                        OMRSAuditLogRecord logRecord = OMRSJSONSerializer.readValue(ByteBuffer.wrap(contents, recordStart, recordLength),
+                                                                                    OMRSAuditLogRecord.class);
+
+                        index.addEntry(getIndexEntry(logRecord, segment.getSegmentNumber(), recordStart, recordLength));
+                    }
+                    catch (IOException error)
+                    {
+                        log.debug("Skipping invalid audit log record in segment {} at offset {}", segment, recordStart, error);
+                    }
+
+                    recordStart = position + 1;
+                }
+            }
+        }
+
+        log.debug("Loaded {} audit log records from {} segments", index.size(), segments.size());
+    }
+
+
+    /**
+     * Start a new segment for the log records that follow.  The previous segment is sealed.
+     *
+     * @throws IOException the previous segment can not be written
+     */
+    private void startNewSegment() throws IOException
+    {
+        long segmentNumber = 1;
+
+        if (activeSegment != null)
+        {
+            activeSegment.seal();
+        }
+
+        for (long existingSegmentNumber : segments.keySet())
+        {
+            segmentNumber = Math.max(segmentNumber, existingSegmentNumber + 1);
+        }
+
+        activeSegment = new FileBasedAuditLogSegment(new File(configStoreTemplateName), segmentNumber, System.currentTimeMillis());
+        segments.put(segmentNumber, activeSegment);
+    }
+
+
+    /**
+     * Delete the oldest segments once the log exceeds its retention size or their records exceed the
+     * retention age.  The active segment is never deleted.
+     *
+     * @throws IOException a segment file can not be deleted
+     */
+    private void applyRetention() throws IOException
+    {
+        long totalSize = 0;
+
+        for (FileBasedAuditLogSegment segment : segments.values())
+        {
+            totalSize = totalSize + segment.getSize();
+        }
+
+        long oldestRetainedTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(retentionDays);
+
+        List<FileBasedAuditLogSegment> oldestFirst = new ArrayList<>(segments.values());
+
+        for (FileBasedAuditLogSegment segment : oldestFirst)
+        {
+            if (segment == activeSegment)
+            {
+                break;
+            }
+
+            boolean tooLarge = (retentionSize > 0) && (totalSize > retentionSize);
+            boolean tooOld   = (retentionDays > 0) && (segment.getLastWriteTime() < oldestRetainedTime);
+
+            if ((! tooLarge) && (! tooOld))
+            {
+                break;
+            }
+
+            totalSize = totalSize - segment.getSize();
+
+            segments.remove(segment.getSegmentNumber());
+            index.removeSegment(segment.getSegmentNumber());
+            segment.delete();
+
+            log.debug("Deleted audit log segment {}", segment);
+        }
+    }
+
+
+    /**
+     * Called periodically to write the buffered log records to the active segment, start a new segment if the
+     * active one has reached its maximum age, and delete segments that are no longer retained.
+     */
+    private synchronized void maintainSegments()
+    {
+        try
+        {
+            if (activeSegment != null)
+            {
+                activeSegment.flush();
+
+                if ((segmentDuration > 0) &&
+                    (activeSegment.getSize() > 0) &&
+                    (System.currentTimeMillis() - activeSegment.getCreationTime() >= TimeUnit.MINUTES.toMillis(segmentDuration)))
+                {
+                    startNewSegment();
+                }
+            }
+
+            applyRetention();
+        }
+        catch (Exception error)
+        {
+            log.error("Unusable Server Audit Log Store :(", error);
+        }
+    }
+
+
+    /**
+     * Extract a numeric configuration property.
+     *
+     * @param configurationProperties configuration properties from the connection
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set or is not a number
+     * @return property value
+     */
+    private long getLongProperty(Map<String, Object> configurationProperties,
+                                 String              propertyName,
+                                 long                defaultValue)
+    {
+        Object propertyValue = configurationProperties.get(propertyName);
+
+        if (propertyValue instanceof Number)
+        {
+            return ((Number)propertyValue).longValue();
+        }
+        else if (propertyValue != null)
+        {
+            try
+            {
+                return Long.parseLong(propertyValue.toString());
+            }
+            catch (NumberFormatException error)
+            {
+                log.debug("Ignoring invalid value {} for property {}", propertyValue, propertyName);
+            }
+        }
+
+        return defaultValue;
     }
 
 
@@ -222,6 +723,29 @@ public class FileBasedAuditLogStoreConnector extends OMRSAuditLogStoreConnectorB
     @Override
     public  void disconnect() throws ConnectorCheckedException
     {
+        if (flusher != null)
+        {
+            flusher.shutdown();
+        }
+
+        synchronized (this)
+        {
+            for (FileBasedAuditLogSegment segment : segments.values())
+            {
+                try
+                {
+                    segment.close();
+                }
+                catch (IOException ioException)
+                {
+                    log.error("Unusable Server Audit Log Store :(", ioException);
+                }
+            }
+
+            segments.clear();
+            activeSegment = null;
+        }
+
         super.disconnect();
     }
 }
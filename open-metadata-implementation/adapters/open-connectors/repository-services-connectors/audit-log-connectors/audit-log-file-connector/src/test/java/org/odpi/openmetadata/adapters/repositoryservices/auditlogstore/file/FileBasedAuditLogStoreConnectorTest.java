@@ -0,0 +1,335 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.auditlogstore.file;
+
+import org.apache.commons.io.FileUtils;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLogReportingComponent;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.auditlogstore.OMRSAuditLogRecord;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that the FileBasedAuditLogStoreConnector rolls, deletes and reloads its segment files and that
+ * the records it has not yet written to disk can be queried.
+ */
+public class FileBasedAuditLogStoreConnectorTest
+{
+    private static final long   baseTime      = 1600000000000L;
+    private static final String errorSeverity = "Error";
+    private static final String infoSeverity  = "Information";
+    private static final String componentName = "Test Component";
+
+    private       File                                  directory;
+    private final List<FileBasedAuditLogStoreConnector> connectors = new ArrayList<>();
+
+
+    /**
+     * Create an empty directory for the audit log.
+     *
+     * @throws IOException the directory can not be created
+     */
+    @BeforeMethod public void createDirectory() throws IOException
+    {
+        directory = Files.createTempDirectory("audit-log-test").toFile();
+    }
+
+
+    /**
+     * Disconnect the connectors and remove the audit log.
+     *
+     * @throws Exception problem cleaning up
+     */
+    @AfterMethod public void removeDirectory() throws Exception
+    {
+        for (FileBasedAuditLogStoreConnector connector : connectors)
+        {
+            connector.disconnect();
+        }
+
+        connectors.clear();
+        FileUtils.deleteDirectory(directory);
+    }
+
+
+    /**
+     * Records are readable as soon as they are stored, before they are written to the segment file.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testReadRecordsNotYetFlushed() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(0, 0, 600000);
+
+        connector.storeLogRecord(getLogRecord(0, errorSeverity));
+        connector.storeLogRecord(getLogRecord(1, infoSeverity));
+
+        List<File> segmentFiles = getSegmentFiles();
+        assertEquals(segmentFiles.size(), 1);
+        assertEquals(segmentFiles.get(0).length(), 0L);
+
+        OMRSAuditLogRecord logRecord = connector.getAuditLogRecord(getGUID(0));
+        assertNotNull(logRecord);
+        assertEquals(logRecord.getSeverity(), errorSeverity);
+        assertEquals(logRecord.getTimeStamp(), new Date(baseTime));
+
+        assertEquals(getGUIDs(connector.getAuditLogRecordsBySeverity(infoSeverity, null, null, 0, 0)),
+                     Collections.singletonList(getGUID(1)));
+        assertTrue(segmentFiles.get(0).length() > 0);
+    }
+
+
+    /**
+     * A new segment is started when the active one is full and the queries span the segments.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testSegmentRoll() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(1000, 0, 600000);
+
+        List<String> storedGUIDs = new ArrayList<>();
+        for (int recordNumber = 0; recordNumber < 10; recordNumber++)
+        {
+            storedGUIDs.add(connector.storeLogRecord(getLogRecord(recordNumber, errorSeverity)));
+        }
+
+        assertTrue(getSegmentFiles().size() > 1);
+        assertEquals(getGUIDs(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0)), storedGUIDs);
+        assertEquals(getGUIDs(connector.getAuditLogRecordsByComponent(componentName, null, null, 2, 3)),
+                     storedGUIDs.subList(2, 5));
+        assertEquals(getGUIDs(connector.getAuditLogRecordsByTimeStamp(new Date(baseTime + 3), new Date(baseTime + 4), 0, 0)),
+                     storedGUIDs.subList(3, 5));
+    }
+
+
+    /**
+     * The oldest segments are deleted, along with their index entries, once the retention size is exceeded.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testRetentionDeletesOldestSegments() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(1000, 2500, 600000);
+
+        for (int recordNumber = 0; recordNumber < 30; recordNumber++)
+        {
+            connector.storeLogRecord(getLogRecord(recordNumber, errorSeverity));
+        }
+
+        long totalSize = 0;
+        for (File segmentFile : getSegmentFiles())
+        {
+            totalSize = totalSize + segmentFile.length();
+        }
+
+        assertTrue(totalSize <= 2500 + 1000);
+        assertNull(connector.getAuditLogRecord(getGUID(0)));
+        assertNotNull(connector.getAuditLogRecord(getGUID(29)));
+
+        List<String> remainingGUIDs = getGUIDs(connector.getAuditLogRecordsByTimeStamp(null, null, 0, 0));
+        assertTrue(remainingGUIDs.size() < 30);
+        assertEquals(remainingGUIDs.get(remainingGUIDs.size() - 1), getGUID(29));
+        assertEquals(getGUIDs(connector.getAuditLogRecordsBySeverity(errorSeverity, null, null, 0, 0)), remainingGUIDs);
+    }
+
+
+    /**
+     * The index is rebuilt from the existing segments when the connector starts.  A record that was only
+     * partly written is skipped.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testIndexRebuiltFromSegments() throws Exception
+    {
+        FileBasedAuditLogStoreConnector connector = getConnector(1000, 0, 600000);
+
+        List<String> storedGUIDs = new ArrayList<>();
+        for (int recordNumber = 0; recordNumber < 8; recordNumber++)
+        {
+            storedGUIDs.add(connector.storeLogRecord(getLogRecord(recordNumber, recordNumber % 2 == 0 ? errorSeverity : infoSeverity)));
+        }
+
+        connector.disconnect();
+        connectors.remove(connector);
+
+        List<File> segmentFiles = getSegmentFiles();
+        try (FileOutputStream tornRecord = new FileOutputStream(segmentFiles.get(segmentFiles.size() - 1), true))
+        {
+            tornRecord.write("{\"guid\":\"torn-record\",\"timeStamp\":".getBytes(StandardCharsets.UTF_8));
+        }
+
+        FileBasedAuditLogStoreConnector restartedConnector = getConnector(1000, 0, 600000);
+
+        assertEquals(getGUIDs(restartedConnector.getAuditLogRecordsByTimeStamp(null, null, 0, 0)), storedGUIDs);
+        assertEquals(getGUIDs(restartedConnector.getAuditLogRecordsBySeverity(infoSeverity, null, null, 0, 0)),
+                     getEverySecond(storedGUIDs.subList(1, storedGUIDs.size())));
+        assertNull(restartedConnector.getAuditLogRecord("torn-record"));
+
+        String newGUID = restartedConnector.storeLogRecord(getLogRecord(100, errorSeverity));
+        assertNotNull(restartedConnector.getAuditLogRecord(newGUID));
+        assertEquals(restartedConnector.getAuditLogRecord(storedGUIDs.get(0)).getGUID(), storedGUIDs.get(0));
+    }
+
+
+    /**
+     * Create and start a connector for the test directory.
+     *
+     * @param segmentSize maximum size of a segment
+     * @param retentionSize maximum size of all segments (0 for no limit)
+     * @param flushInterval interval between writes to the segment file
+     * @return started connector
+     * @throws Exception the connector can not be created
+     */
+    private FileBasedAuditLogStoreConnector getConnector(long segmentSize,
+                                                         long retentionSize,
+                                                         long flushInterval) throws Exception
+    {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress(directory.getAbsolutePath());
+
+        Map<String, Object> configurationProperties = new HashMap<>();
+        if (segmentSize > 0)
+        {
+            configurationProperties.put(FileBasedAuditLogStoreProvider.segmentSizeProperty, segmentSize);
+        }
+        configurationProperties.put(FileBasedAuditLogStoreProvider.retentionSizeProperty, retentionSize);
+        configurationProperties.put(FileBasedAuditLogStoreProvider.flushIntervalProperty, flushInterval);
+
+        Connection connection = new Connection();
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+
+        FileBasedAuditLogStoreConnector connector = (FileBasedAuditLogStoreConnector) new FileBasedAuditLogStoreProvider().getConnector(connection);
+        connector.start();
+        connectors.add(connector);
+
+        return connector;
+    }
+
+
+    /**
+     * Create a log record.
+     *
+     * @param recordNumber number used in the guid and time stamp
+     * @param severity severity of the record
+     * @return log record
+     */
+    private OMRSAuditLogRecord getLogRecord(int    recordNumber,
+                                            String severity)
+    {
+        Map<String, String> originatorProperties = new HashMap<>();
+        originatorProperties.put("serverName", "testServer");
+
+        OMRSAuditLogRecord logRecord = new OMRSAuditLogRecord();
+        logRecord.setGUID(getGUID(recordNumber));
+        logRecord.setTimeStamp(new Date(baseTime + recordNumber));
+        logRecord.setSeverity(severity);
+        logRecord.setOriginatorProperties(originatorProperties);
+        logRecord.setOriginatorComponent(new AuditLogReportingComponent(1, componentName, "Component used by the test", null));
+        logRecord.setMessageId("TEST-0001");
+        logRecord.setMessageText("Test message number " + recordNumber);
+
+        return logRecord;
+    }
+
+
+    /**
+     * Return the guid of a test log record.
+     *
+     * @param recordNumber number of the record
+     * @return guid
+     */
+    private String getGUID(int recordNumber)
+    {
+        return "log-record-" + recordNumber;
+    }
+
+
+    /**
+     * Return the guids of a list of log records.
+     *
+     * @param logRecords records returned by a query
+     * @return guids in the order returned
+     */
+    private List<String> getGUIDs(List<OMRSAuditLogRecord> logRecords)
+    {
+        List<String> guids = new ArrayList<>();
+
+        if (logRecords != null)
+        {
+            for (OMRSAuditLogRecord logRecord : logRecords)
+            {
+                guids.add(logRecord.getGUID());
+            }
+        }
+
+        return guids;
+    }
+
+
+    /**
+     * Return every second element of a list, starting with the first.
+     *
+     * @param values list of values
+     * @return selected values
+     */
+    private List<String> getEverySecond(List<String> values)
+    {
+        List<String> selectedValues = new ArrayList<>();
+
+        for (int position = 0; position < values.size(); position = position + 2)
+        {
+            selectedValues.add(values.get(position));
+        }
+
+        return selectedValues;
+    }
+
+
+    /**
+     * Return the segment files in the audit log directory, oldest first.
+     *
+     * @return list of files
+     */
+    private List<File> getSegmentFiles()
+    {
+        List<File> segmentFiles = new ArrayList<>();
+        File[]     files        = directory.listFiles();
+
+        if (files != null)
+        {
+            for (File file : files)
+            {
+                if (FileBasedAuditLogSegment.getSegmentNumber(file.getName()) >= 0)
+                {
+                    segmentFiles.add(file);
+                }
+            }
+        }
+
+        segmentFiles.sort((file1, file2) -> file1.getName().compareTo(file2.getName()));
+
+        return segmentFiles;
+    }
+}
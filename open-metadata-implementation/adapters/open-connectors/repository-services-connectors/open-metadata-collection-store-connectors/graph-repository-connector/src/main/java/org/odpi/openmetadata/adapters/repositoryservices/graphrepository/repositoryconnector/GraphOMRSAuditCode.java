@@ -58,6 +58,26 @@ public enum GraphOMRSAuditCode implements AuditLogMessageSet
             "The OMRS Graph Repository has been opened.",
             "The local server has created and initialized the Local OMRS Graph Repository database.",
             "No action is required. The existing graph repository has been opened and validated successfully."),
+
+    GRAPH_BULK_LOAD_STARTED("OMRS-GRAPH-REPOSITORY-0004",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The OMRS Graph Repository {0} has started bulk load mode with a batch size of {1} writes.",
+            "New entities, relationships and reference copies are written to the graph in batches. Each batch is committed in a " +
+                                    "single batch loading transaction.",
+            "No action is required. Bulk load mode assumes that only this server is writing to the graph until bulk load mode ends."),
+
+    GRAPH_BULK_LOAD_ENDED("OMRS-GRAPH-REPOSITORY-0005",
+            OMRSAuditLogRecordSeverity.INFO,
+            "The OMRS Graph Repository {0} has ended bulk load mode after loading {1} entities and {2} relationships. {3} indexes were enabled.",
+            "The last batch has been committed and each write is now committed in its own transaction. The loaded instances have " +
+                                  "been checked for duplicate vertices and edges.",
+            "No action is required."),
+
+    GRAPH_BULK_LOAD_DUPLICATE_INSTANCES("OMRS-GRAPH-REPOSITORY-0006",
+            OMRSAuditLogRecordSeverity.ERROR,
+            "The OMRS Graph Repository {0} has found {1} instances with more than one vertex or edge after bulk load mode ended.",
+            "The GUIDs of the instances are in the log. Requests for these instances may return either copy.",
+            "This can happen if another server was writing to the graph during the bulk load. Purge the instances and load them again."),
     ;
 
     AuditLogMessageDefinition messageDefinition;
@@ -4,7 +4,6 @@ package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.reposi
 
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
@@ -26,6 +25,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -129,13 +129,11 @@ public class GraphOMRSEntityMapper {
         InstanceProperties instanceProperties = entity.getProperties();
         if (instanceProperties != null) {
 
-            // First write properties as json - useful for handling collections and possibly for full text/string matching???
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonString;
+            // First write the encoded properties - this preserves collections and is what is read back when the entity is retrieved
             try {
-                jsonString = objectMapper.writeValueAsString(instanceProperties);
-                log.debug("{} entity has serialized properties {}", methodName, jsonString);
-                vertex.property("instanceProperties", jsonString);
+                String encodedProperties = GraphOMRSPropertiesCodec.encode(instanceProperties);
+                log.debug("{} entity has encoded properties {}", methodName, instanceProperties);
+                vertex.property("instanceProperties", encodedProperties);
             } catch (Throwable exc) {
                 log.error("{} Caught exception from entity mapper", methodName);
                 throw new RepositoryErrorException(GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR.getMessageDefinition(entity.getGUID(), methodName,
@@ -191,13 +189,11 @@ public class GraphOMRSEntityMapper {
 
         InstanceProperties uniqueProperties = entity.getUniqueProperties();
         if (uniqueProperties != null) {
-            // First approach was to write properties as json - could be useful for text/string matching???
-            ObjectMapper objectMapper = new ObjectMapper();
-            String jsonString;
+            // First write the encoded properties - this is what is read back when the proxy is retrieved
             try {
-                jsonString = objectMapper.writeValueAsString(uniqueProperties);
-                log.debug("{} entity proxy has serialized unique properties {}", methodName, jsonString);
-                vertex.property("instanceProperties", jsonString);
+                String encodedProperties = GraphOMRSPropertiesCodec.encode(uniqueProperties);
+                log.debug("{} entity proxy has encoded unique properties {}", methodName, uniqueProperties);
+                vertex.property("instanceProperties", encodedProperties);
             } catch (Throwable exc) {
                 log.error("{} caught exception {}", methodName, exc.getMessage());
                 throw new RepositoryErrorException(GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR.getMessageDefinition(entity.getGUID(), methodName,
@@ -372,10 +368,9 @@ public class GraphOMRSEntityMapper {
         // can be indexed even on Relationships. Queries can use textRegex to search/retrieve.
         if (entity.getMaintainedBy() != null) {
             List<String> maintainers = entity.getMaintainedBy();
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(maintainers);
+                jsonString = OMRSJSONSerializer.writeValueAsString(maintainers);
                 log.debug("{} entity maintainedBy serialized to {}", methodName, jsonString);
                 vertex.property(PROPERTY_KEY_ENTITY_MAINTAINED_BY, jsonString);
             }
@@ -406,10 +401,9 @@ public class GraphOMRSEntityMapper {
         // anticipated that it will be used for search, more for correlation.
         if (entity.getMappingProperties() != null) {
             Map<String, Serializable> mappingProperties = entity.getMappingProperties();
-            ObjectMapper objectMapper = new ObjectMapper();
             String jsonString;
             try {
-                jsonString = objectMapper.writeValueAsString(mappingProperties);
+                jsonString = OMRSJSONSerializer.writeValueAsString(mappingProperties);
                 log.debug("{} entity maintainedBy serialized to {}", methodName, jsonString);
                 vertex.property(PROPERTY_KEY_ENTITY_MAPPING_PROPERTIES, jsonString);
             }
@@ -462,10 +456,9 @@ public class GraphOMRSEntityMapper {
         String stringProps = (String) getVertexProperty(vertex, "instanceProperties");
 
         if (stringProps != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                InstanceProperties instanceProperties = objectMapper.readValue(stringProps, InstanceProperties.class);
-                log.debug("{} entity has deserialized properties {}", methodName, instanceProperties);
+                InstanceProperties instanceProperties = GraphOMRSPropertiesCodec.decode(stringProps);
+                log.debug("{} entity has decoded properties {}", methodName, instanceProperties);
                 entity.setProperties(instanceProperties);
             } catch (Throwable exc) {
                 log.error("{} caught exception {}", methodName, exc.getMessage());
@@ -513,35 +506,27 @@ public class GraphOMRSEntityMapper {
         String stringProps = (String) getVertexProperty(vertex, "instanceProperties");
 
         if (stringProps != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                InstanceProperties instanceProperties = objectMapper.readValue(stringProps, InstanceProperties.class);
-                log.debug("{} entity has deserialized properties {}", methodName, instanceProperties);
                 List<TypeDefAttribute> propertiesDefinition = repositoryHelper.getAllPropertiesForTypeDef(repositoryName, typeDef, methodName);
-                InstanceProperties uniqueAttributes = new InstanceProperties();
+                List<String>           uniquePropertyNames  = new ArrayList<>();
 
                 if (propertiesDefinition != null)
                 {
                     for (TypeDefAttribute typeDefAttribute : propertiesDefinition)
                     {
-                        if (typeDefAttribute != null)
+                        if ((typeDefAttribute != null) && (typeDefAttribute.isUnique()) && (typeDefAttribute.getAttributeName() != null))
                         {
-                            String propertyName = typeDefAttribute.getAttributeName();
-
-                            if ((typeDefAttribute.isUnique()) && (propertyName != null))
-                            {
-                                InstancePropertyValue propertyValue = instanceProperties.getPropertyValue(
-                                        propertyName);
-
-                                if (propertyValue != null)
-                                {
-                                    uniqueAttributes.setProperty(propertyName, propertyValue);
-                                }
-                            }
+                            uniquePropertyNames.add(typeDefAttribute.getAttributeName());
                         }
                     }
                 }
 
+                /*
+                 * Only the unique properties are decoded - the values of the other properties are skipped.
+                 */
+                InstanceProperties uniqueAttributes = GraphOMRSPropertiesCodec.decode(stringProps, uniquePropertyNames);
+                log.debug("{} entity has decoded unique properties {}", methodName, uniqueAttributes);
+
                 if (uniqueAttributes.getPropertyCount() > 0)
                 {
                     entity.setUniqueProperties(uniqueAttributes);
@@ -616,9 +601,8 @@ public class GraphOMRSEntityMapper {
 
         String maintainedByString = (String) getVertexProperty(vertex, PROPERTY_KEY_ENTITY_MAINTAINED_BY);
         if (maintainedByString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
-                List<String> maintainedByList = (List<String>) objectMapper.readValue(maintainedByString, List.class);
+                List<String> maintainedByList = OMRSJSONSerializer.readValue(maintainedByString, new TypeReference<List<String>>() {});
                 log.debug("{} entity has deserialized maintainedBy {}", methodName, maintainedByList);
                 entity.setMaintainedBy(maintainedByList);
             } catch (Throwable exc) {
@@ -636,10 +620,9 @@ public class GraphOMRSEntityMapper {
 
         String mappingPropertiesString = (String) getVertexProperty(vertex, PROPERTY_KEY_ENTITY_MAPPING_PROPERTIES);
         if (mappingPropertiesString != null) {
-            ObjectMapper objectMapper = new ObjectMapper();
             try {
                 TypeReference<Map<String, Serializable>> typeReference = new TypeReference<Map<String, Serializable>>() {};
-                Map<String, Serializable> mappingPropertiesMap = objectMapper.readValue(mappingPropertiesString, typeReference);
+                Map<String, Serializable> mappingPropertiesMap = OMRSJSONSerializer.readValue(mappingPropertiesString, typeReference);
                 log.debug("{} entity has deserialized mappingProperties {}", methodName, mappingPropertiesMap);
                 entity.setMappingProperties(mappingPropertiesMap);
             } catch (Throwable exc) {
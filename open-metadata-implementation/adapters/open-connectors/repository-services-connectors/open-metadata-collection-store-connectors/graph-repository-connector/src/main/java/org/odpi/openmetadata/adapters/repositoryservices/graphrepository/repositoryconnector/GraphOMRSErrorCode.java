@@ -146,6 +146,11 @@ public enum GraphOMRSErrorCode implements ExceptionMessageSet
             "The search properties contains a values that do not match the type of property {0} - reported by the {1} method of class {2} to open metadata repository {3}",
             "The system is unable to perform the request because the provided values do not match the type of the property.",
             "Correct the caller's code and retry the request."),
+    BULK_LOAD_BATCH_NOT_COMMITTED(
+            400, "OMRS-GRAPH-REPOSITORY-400-030",
+            "A bulk load batch of {0} writes could not be committed - reported by the {1} method of class {2} to open metadata repository {3}",
+            "The system rolled back the writes in the batch. The instances in the batch are not stored in the repository.",
+            "Check the status of the graph database and the log for the cause of the failure, then load the instances again."),
 
     ;
 
@@ -24,9 +24,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.*;
@@ -397,6 +399,15 @@ public class GraphOMRSGraphFactory {
             createMixedIndexForVertexCoreProperty(PROPERTY_NAME_REPLICATED_BY,            PROPERTY_KEY_CLASSIFICATION_REPLICATED_BY);
             createMixedIndexForVertexCoreProperty(PROPERTY_NAME_MAPPING_PROPERTIES,       PROPERTY_KEY_CLASSIFICATION_MAPPING_PROPERTIES);
 
+            /*
+             *  Property keys for the properties that have no index
+             */
+
+            // These keys would otherwise be created when the properties are first written, which a bulk load
+            // (batch loading) transaction cannot do because it does not take the locks needed to change the schema.
+
+            createCorePropertyKeys();
+
         }
         catch (Exception e) {
 
@@ -542,6 +553,40 @@ public class GraphOMRSGraphFactory {
 
     }
 
+    private void createCorePropertyKeys()
+    {
+
+        final String methodName = "createCorePropertyKeys";
+
+        Map<String, String> propertyKeyTypes = new HashMap<>();
+        for (Map.Entry<String, String> corePropertyType : corePropertyTypes.entrySet()) {
+            propertyKeyTypes.put(PROPERTY_KEY_PREFIX_ENTITY + corePropertyType.getKey(), corePropertyType.getValue());
+            propertyKeyTypes.put(PROPERTY_KEY_PREFIX_RELATIONSHIP + corePropertyType.getKey(), corePropertyType.getValue());
+            propertyKeyTypes.put(PROPERTY_KEY_PREFIX_CLASSIFICATION + corePropertyType.getKey(), corePropertyType.getValue());
+        }
+        // The encoded instance properties and the version of a relationship edge
+        propertyKeyTypes.put("instanceProperties", "java.lang.String");
+        propertyKeyTypes.put("relationshipProperties", "java.lang.String");
+        propertyKeyTypes.put("classificationProperties", "java.lang.String");
+        propertyKeyTypes.put("version", "java.lang.Long");
+
+        JanusGraphManagement management = graph.openManagement();
+
+        try {
+            for (Map.Entry<String, String> propertyKeyType : propertyKeyTypes.entrySet()) {
+                if (!management.containsPropertyKey(propertyKeyType.getKey())) {
+                    log.debug("{} make property key {}", methodName, propertyKeyType.getKey());
+                    management.makePropertyKey(propertyKeyType.getKey()).dataType(Class.forName(propertyKeyType.getValue())).make();
+                }
+            }
+            management.commit();
+        } catch (Exception e) {
+            log.error("{} caught exception creating property keys {}", methodName, e);
+            management.rollback();
+        }
+
+    }
+
     private void createCompositeIndexForVertexProperty(String propertyName, String propertyKeyName, boolean unique)
     {
 
@@ -804,6 +849,54 @@ public class GraphOMRSGraphFactory {
     }
 
 
+    /*
+     * Enable any graph index that has been registered but not enabled - for example because the index did not reach
+     * ENABLED state within the time allowed when it was created. Returns the number of indexes enabled.
+     */
+    int enableRegisteredIndexes() {
+
+        final String methodName = "enableRegisteredIndexes";
+
+        List<String> indexNames = new ArrayList<>();
+
+        JanusGraphManagement management = graph.openManagement();
+
+        try {
+            List<JanusGraphIndex> indexes = new ArrayList<>();
+            management.getGraphIndexes(Vertex.class).forEach(indexes::add);
+            management.getGraphIndexes(Edge.class).forEach(indexes::add);
+
+            for (JanusGraphIndex index : indexes) {
+                for (PropertyKey propertyKey : index.getFieldKeys()) {
+                    if (index.getIndexStatus(propertyKey) == SchemaStatus.REGISTERED) {
+                        log.info("{} enable index {}", methodName, index.name());
+                        management.updateIndex(index, SchemaAction.ENABLE_INDEX);
+                        indexNames.add(index.name());
+                        break;
+                    }
+                }
+            }
+            management.commit();
+        }
+        catch (Exception e) {
+            log.error("{} caught exception from index update {}", methodName, e.getMessage());
+            management.rollback();
+            return 0;
+        }
+
+        for (String indexName : indexNames) {
+            try {
+                ManagementSystem.awaitGraphIndexStatus(graph, indexName).status(SchemaStatus.ENABLED).timeout(10, ChronoUnit.SECONDS).call();
+            }
+            catch (InterruptedException e) {
+                log.error("{} caught interrupted exception from awaitGraphIndexStatus ENABLED {}", methodName, e);
+            }
+        }
+
+        return indexNames.size();
+    }
+
+
     private boolean createControlIndex() {
 
         final String methodName = "createControlIndex";
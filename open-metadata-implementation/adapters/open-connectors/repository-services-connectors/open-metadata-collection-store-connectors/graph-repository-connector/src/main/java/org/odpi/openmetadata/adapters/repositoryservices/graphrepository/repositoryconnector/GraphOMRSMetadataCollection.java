@@ -25,6 +25,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefSummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSClassificationsMatcher;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
@@ -118,6 +119,29 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    /**
+     * Start bulk load mode.  New entities, relationships and reference copies are written to the graph in batches
+     * that are each committed in a single transaction.
+     *
+     * @param batchSize number of writes in each batch - zero or less uses the default
+     */
+    void startBulkLoad(int batchSize)
+    {
+        graphStore.startBulkLoad(batchSize);
+    }
+
+
+    /**
+     * End bulk load mode.  The last batch is committed and the instances that were loaded are checked.
+     *
+     * @throws RepositoryErrorException the last batch could not be committed
+     */
+    void endBulkLoad() throws RepositoryErrorException
+    {
+        graphStore.endBulkLoad();
+    }
+
+
     // verifyTypeDef will always return result from superclass because all knowledge of types is delegated to the RCM.
     @Override
     public boolean verifyTypeDef(String  userId,
@@ -211,6 +235,73 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    // addEntities
+    @Override
+    public List<EntityDetail> addEntities(String               userId,
+                                          List<EntityDetail>   newEntities)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            TypeErrorException,
+            PropertyErrorException,
+            ClassificationErrorException,
+            StatusNotSupportedException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+
+        final String methodName = "addEntities";
+
+        /*
+         * Validate parameters
+         */
+        List<TypeDef> typeDefs = super.addEntitiesParameterValidation(userId, newEntities, methodName);
+
+        if ((newEntities == null) || (newEntities.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Validation complete - ok to create new instances
+         */
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (int index = 0; index < newEntities.size(); index++)
+        {
+            EntityDetail template = newEntities.get(index);
+            EntityDetail newEntity = repositoryHelper.getNewEntity(repositoryName,
+                    metadataCollectionId,
+                    InstanceProvenanceType.LOCAL_COHORT,
+                    userId,
+                    typeDefs.get(index).getName(),
+                    template.getProperties(),
+                    template.getClassifications());
+
+            /*
+             * Ensure metadataCollectionName is also set
+             */
+            newEntity.setMetadataCollectionName(metadataCollectionName);
+
+            /*
+             * If an initial status is supplied then override the default value.
+             */
+            if (template.getStatus() != null) {
+                newEntity.setStatus(template.getStatus());
+            }
+
+            entities.add(newEntity);
+        }
+
+        /*
+         * All of the entities are created in a single graph transaction.
+         */
+        graphStore.createEntitiesInStore(entities);
+
+        return entities;
+    }
+
+
     // addExternalEntity
     @Override
     public EntityDetail addExternalEntity(String                userId,
@@ -498,6 +589,87 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    // addRelationships
+    @Override
+    public List<Relationship> addRelationships(String               userId,
+                                               List<Relationship>   newRelationships)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            TypeErrorException,
+            PropertyErrorException,
+            EntityNotKnownException,
+            StatusNotSupportedException,
+            UserNotAuthorizedException,
+            FunctionNotSupportedException
+    {
+        final String  methodName = "addRelationships";
+
+        /*
+         * Validate parameters
+         */
+        List<TypeDef> typeDefs = super.addRelationshipsParameterValidation(userId, newRelationships, methodName);
+
+        if ((newRelationships == null) || (newRelationships.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Validation complete - ok to create new instances
+         */
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (int index = 0; index < newRelationships.size(); index++)
+        {
+            Relationship template = newRelationships.get(index);
+            TypeDef      typeDef  = typeDefs.get(index);
+
+            Relationship relationship = repositoryHelper.getNewRelationship(repositoryName,
+                    metadataCollectionId,
+                    InstanceProvenanceType.LOCAL_COHORT,
+                    userId,
+                    typeDef.getName(),
+                    template.getProperties());
+
+            String entityOneGUID = template.getEntityOneProxy().getGUID();
+            String entityTwoGUID = template.getEntityTwoProxy().getGUID();
+
+            EntityProxy entityOneProxy = graphStore.getEntityProxyFromStore(entityOneGUID);
+
+            repositoryValidator.validateEntityFromStore(repositoryName, entityOneGUID, entityOneProxy, methodName);
+            repositoryValidator.validateEntityIsNotDeleted(repositoryName, entityOneProxy, methodName);
+
+            EntityProxy entityTwoProxy = graphStore.getEntityProxyFromStore(entityTwoGUID);
+
+            repositoryValidator.validateEntityFromStore(repositoryName, entityTwoGUID, entityTwoProxy, methodName);
+            repositoryValidator.validateEntityIsNotDeleted(repositoryName, entityTwoProxy, methodName);
+
+            repositoryValidator.validateRelationshipEnds(repositoryName, entityOneProxy, entityTwoProxy, typeDef, methodName);
+
+            relationship.setEntityOneProxy(entityOneProxy);
+            relationship.setEntityTwoProxy(entityTwoProxy);
+
+            /*
+             * If an initial status is supplied then override the default value.
+             */
+            if (template.getStatus() != null)
+            {
+                relationship.setStatus(template.getStatus());
+            }
+
+            relationships.add(relationship);
+        }
+
+        /*
+         * All of the relationships are created in a single graph transaction.
+         */
+        graphStore.createRelationshipsInStore(relationships);
+
+        return relationships;
+    }
+
+
     // addExternalRelationship
     @Override
     public Relationship addExternalRelationship(String               userId,
@@ -1268,15 +1440,25 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
         }
 
 
+        /*
+         * Unless the results are to be filtered by classification or sequenced by a property value, the graph
+         * traversal sequences and pages the results so only the requested page is retrieved from the graph.
+         */
+        boolean pageInGraph = (limitResultsByClassification == null) && (graphStore.isSequencingSupportedInGraph(sequencingOrder));
+
         List<EntityDetail> foundEntities = null;
 
         // If there were any dups there must be horizontal duplication (across the types within the valid type set).
         if (queryPlan.getQueryStrategy() == GraphOMRSQueryPlan.QueryStrategy.Iterate)
         {
-            // If there are dups in the property maps perform a per-type query
+            // If there are dups in the property maps perform a query with a branch for each type
             foundEntities = findEntitiesByPropertyIteratively(validTypeNames,
                                                               matchProperties,
-                                                              matchCriteria);
+                                                              matchCriteria,
+                                                              limitResultsByStatus,
+                                                              pageInGraph ? sequencingOrder : null,
+                                                              pageInGraph ? fromEntityElement : 0,
+                                                              pageInGraph ? pageSize : 0);
         }
         else
         {
@@ -1286,8 +1468,18 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                                       qualifiedPropertyNameToTypeDefinedAttribute,
                                                                       shortPropertyNameToQualifiedPropertyNames,
                                                                       matchProperties,
-                                                                      matchCriteria);
+                                                                      matchCriteria,
+                                                                      limitResultsByStatus,
+                                                                      pageInGraph ? sequencingOrder : null,
+                                                                      pageInGraph ? fromEntityElement : 0,
+                                                                      pageInGraph ? pageSize : 0);
+        }
+
+        if (pageInGraph)
+        {
+            return ((foundEntities == null) || (foundEntities.isEmpty())) ? null : foundEntities;
         }
+
         // Process list of returned entities from sub-methods
         if (foundEntities != null)
         {
@@ -1323,38 +1515,29 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     // findEntitiesByPropertyIteratively
     public List<EntityDetail> findEntitiesByPropertyIteratively(List<String>                  validTypeNames,
                                                                 InstanceProperties            matchProperties,
-                                                                MatchCriteria                 matchCriteria)
+                                                                MatchCriteria                 matchCriteria,
+                                                                List<InstanceStatus>          limitResultsByStatus,
+                                                                SequencingOrder               sequencingOrder,
+                                                                int                           fromEntityElement,
+                                                                int                           pageSize)
     throws
     InvalidParameterException,
     RepositoryErrorException,
     TypeErrorException,
     PropertyErrorException
     {
-        final String methodName = "findEntitiesByPropertyIteratively";
-        List<EntityDetail> returnEntities = null;
-        // Iterate over the validTypeNames and perform a per-type query for each valid type
-        for (String typeName : validTypeNames)
-        {
-            TypeDef typeDef = repositoryHelper.getTypeDefByName(repositoryName, typeName);
-
-            // Invoke a type specific search. The search will expect the regexp to match fully to the value.
-            List<EntityDetail> entitiesForCurrentType = graphStore.findEntitiesByPropertyForType(typeName, matchProperties, matchCriteria, true);
-
-            if (entitiesForCurrentType != null && !entitiesForCurrentType.isEmpty())
-            {
-                if (returnEntities == null)
-                {
-                    returnEntities = new ArrayList<>();
-                }
-                log.info("{}: for type {} found {} entities", methodName, typeDef.getName(), entitiesForCurrentType.size());
-                returnEntities.addAll(entitiesForCurrentType);
-            }
-            else
-            {
-                log.info("{}: for type {} found no entities", methodName, typeDef.getName());
-            }
-        }
-        return returnEntities;
+        /*
+         * The match properties are checked against each of the valid types in turn but the search is
+         * performed as a single graph traversal. The search will expect the regexp to match fully to the value.
+         */
+        return graphStore.findEntitiesByPropertyForEachType(validTypeNames,
+                                                            matchProperties,
+                                                            matchCriteria,
+                                                            true,
+                                                            limitResultsByStatus,
+                                                            sequencingOrder,
+                                                            fromEntityElement,
+                                                            pageSize);
     }
 
 
@@ -1362,40 +1545,26 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     // findEntitiesIteratively
     public List<EntityDetail> findEntitiesIteratively(List<String>                  validTypeNames,
                                                       SearchProperties              searchProperties,
-                                                      MatchCriteria                 matchCriteria)
+                                                      List<InstanceStatus>          limitResultsByStatus,
+                                                      SequencingOrder               sequencingOrder,
+                                                      int                           fromEntityElement,
+                                                      int                           pageSize)
     throws
         InvalidParameterException,
         RepositoryErrorException,
         FunctionNotSupportedException
     {
-        final String methodName = "findEntitiesIteratively";
-        List<EntityDetail> returnEntities = null;
-
-        // Iterate over the validTypeNames and perform a per-type query for each valid type
-        for (String typeName : validTypeNames)
-        {
-            TypeDef typeDef = repositoryHelper.getTypeDefByName(repositoryName, typeName);
-
-            // Invoke a type specific search. The search will expect the regexp to match fully to the value.
-            List<EntityDetail> entitiesForCurrentType = graphStore.findEntitiesForType(typeName,
-                                                                                       searchProperties,
-                                                                                       true);
-
-            if (entitiesForCurrentType != null && !entitiesForCurrentType.isEmpty())
-            {
-                if (returnEntities == null)
-                {
-                    returnEntities = new ArrayList<>();
-                }
-                log.info("{}: for type {} found {} entities", methodName, typeDef.getName(), entitiesForCurrentType.size());
-                returnEntities.addAll(entitiesForCurrentType);
-            }
-            else
-            {
-                log.info("{}: for type {} found no entities", methodName, typeDef.getName());
-            }
-        }
-        return returnEntities;
+        /*
+         * The search properties are checked against each of the valid types in turn but the search is
+         * performed as a single graph traversal. The search will expect the regexp to match fully to the value.
+         */
+        return graphStore.findEntitiesForEachType(validTypeNames,
+                                                  searchProperties,
+                                                  true,
+                                                  limitResultsByStatus,
+                                                  sequencingOrder,
+                                                  fromEntityElement,
+                                                  pageSize);
     }
 
 
@@ -2027,15 +2196,25 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
             return null;
         }
 
+        /*
+         * Unless the results are to be filtered by classification or sequenced by a property value, the graph
+         * traversal sequences and pages the results so only the requested page is retrieved from the graph.
+         */
+        boolean pageInGraph = ((matchClassifications == null) || (matchClassifications.getConditions() == null))
+                && (graphStore.isSequencingSupportedInGraph(sequencingOrder));
+
         List<EntityDetail> foundEntities = null;
 
         // If there were any dups there must be horizontal duplication (across the types within the valid type set).
         if (queryPlan.getQueryStrategy() == GraphOMRSQueryPlan.QueryStrategy.Iterate)
         {
-            // If there are dups in the property maps perform a per-type query
+            // If there are dups in the property maps perform a query with a branch for each type
             foundEntities = findEntitiesIteratively(validTypeNames,
                                                     matchProperties,
-                                                    MatchCriteria.ANY);
+                                                    limitResultsByStatus,
+                                                    pageInGraph ? sequencingOrder : null,
+                                                    pageInGraph ? fromEntityElement : 0,
+                                                    pageInGraph ? pageSize : 0);
         }
         else
         {
@@ -2044,23 +2223,34 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
                                                             filterTypeName,
                                                             qualifiedPropertyNameToTypeDefinedAttribute,
                                                             shortPropertyNameToQualifiedPropertyNames,
-                                                            matchProperties);
+                                                            matchProperties,
+                                                            limitResultsByStatus,
+                                                            pageInGraph ? sequencingOrder : null,
+                                                            pageInGraph ? fromEntityElement : 0,
+                                                            pageInGraph ? pageSize : 0);
+        }
+
+        if (pageInGraph)
+        {
+            return ((foundEntities == null) || (foundEntities.isEmpty())) ? null : foundEntities;
         }
 
 
+
         if (foundEntities != null)
         {
             /*
              * Eliminate soft deleted entities and apply status and classification filtering if any was requested
              */
-            List<EntityDetail> retainedEntities = new ArrayList<>();
+            List<EntityDetail>         retainedEntities       = new ArrayList<>();
+            OMRSClassificationsMatcher classificationsMatcher = repositoryValidator.getClassificationsMatcher(matchClassifications);
             for (EntityDetail entity : foundEntities)
             {
                 if (entity != null)
                 {
                     if ((entity.getStatus() != InstanceStatus.DELETED)
                             && (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity))
-                            && (repositoryValidator.verifyMatchingClassifications(matchClassifications, entity)))
+                            && (classificationsMatcher.matches(entity)))
                     {
 
                         retainedEntities.add(entity);
@@ -3745,6 +3935,79 @@ public class GraphOMRSMetadataCollection extends OMRSDynamicTypeMetadataCollecti
     }
 
 
+    @Override
+    public void saveInstanceReferenceCopies(String          userId,
+                                            InstanceGraph   instances)
+            throws
+            InvalidParameterException,
+            RepositoryErrorException,
+            TypeErrorException,
+            EntityNotKnownException,
+            PropertyErrorException,
+            EntityConflictException,
+            RelationshipConflictException,
+            InvalidEntityException,
+            InvalidRelationshipException,
+            FunctionNotSupportedException,
+            UserNotAuthorizedException
+    {
+        final String  methodName                = "saveInstanceReferenceCopies";
+        final String  entityParameterName       = "instances.entities";
+        final String  relationshipParameterName = "instances.relationships";
+
+        /*
+         * Validate parameters
+         */
+        super.basicRequestValidation(userId, methodName);
+
+        if (instances == null)
+        {
+            return;
+        }
+
+        /*
+         * Instances that are homed in this repository are skipped - the reference copies of the
+         * remaining instances are saved in a single graph transaction.
+         */
+        List<EntityDetail> entities      = new ArrayList<>();
+        List<Relationship> relationships = new ArrayList<>();
+
+        if (instances.getEntities() != null)
+        {
+            for (EntityDetail entity : instances.getEntities())
+            {
+                if ((entity != null) && (! metadataCollectionId.equals(entity.getMetadataCollectionId())))
+                {
+                    repositoryValidator.validateReferenceInstanceHeader(repositoryName,
+                                                                        metadataCollectionId,
+                                                                        entityParameterName,
+                                                                        entity,
+                                                                        methodName);
+                    entities.add(entity);
+                }
+            }
+        }
+
+        if (instances.getRelationships() != null)
+        {
+            for (Relationship relationship : instances.getRelationships())
+            {
+                if ((relationship != null) && (! metadataCollectionId.equals(relationship.getMetadataCollectionId())))
+                {
+                    repositoryValidator.validateReferenceInstanceHeader(repositoryName,
+                                                                        metadataCollectionId,
+                                                                        relationshipParameterName,
+                                                                        relationship,
+                                                                        methodName);
+                    relationships.add(relationship);
+                }
+            }
+        }
+
+        graphStore.saveReferenceCopiesToStore(entities, relationships);
+    }
+
+
     @Override
     public void purgeRelationshipReferenceCopy(String   userId,
                                                String   relationshipGUID,
@@ -4,7 +4,10 @@
 package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
 
 
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.DefaultGraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.structure.Direction;
@@ -12,9 +15,11 @@ import org.apache.tinkerpop.gremlin.structure.Edge;
 import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.janusgraph.core.JanusGraph;
+import org.janusgraph.core.JanusGraphTransaction;
 import org.janusgraph.core.attribute.Text;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
@@ -45,6 +50,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSuppor
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSLRUMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -72,10 +78,12 @@ import static org.apache.tinkerpop.gremlin.process.traversal.P.without;
 import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
 
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_CLASSIFICATION_CLASSIFICATION_NAME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_CREATE_TIME;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_GUID;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_IS_PROXY;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_CURRENT_STATUS;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_TYPE_NAME;
+import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_ENTITY_UPDATE_TIME;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_PREFIX_CLASSIFICATION;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_PREFIX_ENTITY;
 import static org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector.GraphOMRSConstants.PROPERTY_KEY_PREFIX_RELATIONSHIP;
@@ -119,6 +127,34 @@ class GraphOMRSMetadataStore {
     private GraphOMRSEntityMapper entityMapper;
     private GraphOMRSClassificationMapper classificationMapper;
 
+    private AuditLog auditLog;
+
+    // Bulk load mode - see startBulkLoad. The transaction is started when the first write of each batch is made.
+    // The bulk load fields are only used while holding the lock on this store.
+
+    private static final int DEFAULT_BULK_LOAD_BATCH_SIZE        = 1000;
+    private static final int DEFAULT_BULK_LOAD_VERTEX_CACHE_SIZE = 100000;
+
+    private boolean               bulkLoadActive             = false;
+    private int                   bulkLoadBatchSize          = DEFAULT_BULK_LOAD_BATCH_SIZE;
+    private JanusGraphTransaction bulkLoadTransaction        = null;
+    private List<GraphWrite>      bulkLoadPendingWrites      = new ArrayList<>();
+    private Map<String, Object>   bulkLoadVertexIds          = null;
+    private Set<String>           bulkLoadEntityGUIDs        = null;
+    private Set<String>           bulkLoadRelationshipGUIDs  = null;
+    private Thread                bulkLoadWriteThread        = null;
+    private boolean               bulkLoadWriteFailed        = false;
+
+
+    /*
+     * A write to the graph that is made in a transaction supplied by the caller.  The write is kept while it is
+     * part of an uncommitted bulk load batch so that it can be made again if a later write in the batch fails.
+     */
+    private interface GraphWrite
+    {
+        void apply(GraphTraversalSource g) throws RepositoryErrorException, InvalidParameterException;
+    }
+
 
     /**
      * Typical constructor
@@ -144,6 +180,7 @@ class GraphOMRSMetadataStore {
         this.metadataCollectionId = metadataCollectionId;
         this.repositoryName = repositoryName;
         this.repositoryHelper = repositoryHelper;
+        this.auditLog = auditLog;
 
 
         try
@@ -167,6 +204,420 @@ class GraphOMRSMetadataStore {
     }
 
 
+    /*
+     * Bulk load mode groups the writes that create entities, proxies, relationships and reference copies into batches
+     * that are each committed in a single JanusGraph batch loading transaction. The mixed index updates for the
+     * writes are made when each batch is committed. The vertex ids of the entities are cached by GUID so that the
+     * ends of the relationships can be located without an index lookup.
+     *
+     * Reads made while bulk load mode is active use the transaction of the current batch so that they see the writes
+     * that have not been committed yet. Updates and removals commit the current batch and are then made in their own
+     * transaction. Ending bulk load mode commits the last batch and checks that each entity and relationship that was
+     * written has a single vertex or edge, since a batch loading transaction does not take the locks that check this.
+     *
+     * Batch loading assumes that only this server is writing to the graph while the mode is active.
+     */
+    synchronized void startBulkLoad(int batchSize)
+    {
+        final String methodName = "startBulkLoad";
+
+        if (batchSize > 0)
+        {
+            bulkLoadBatchSize = batchSize;
+        }
+        else
+        {
+            bulkLoadBatchSize = DEFAULT_BULK_LOAD_BATCH_SIZE;
+        }
+
+        if (!bulkLoadActive)
+        {
+            log.debug("{} starting bulk load with batch size {}", methodName, bulkLoadBatchSize);
+
+            bulkLoadActive = true;
+            bulkLoadVertexIds = new OMRSLRUMap<>(DEFAULT_BULK_LOAD_VERTEX_CACHE_SIZE);
+            bulkLoadEntityGUIDs = new HashSet<>();
+            bulkLoadRelationshipGUIDs = new HashSet<>();
+
+            auditLog.logMessage(methodName, GraphOMRSAuditCode.GRAPH_BULK_LOAD_STARTED.getMessageDefinition(repositoryName,
+                                                                                                          Integer.toString(bulkLoadBatchSize)));
+        }
+    }
+
+
+    /*
+     * Commit the last bulk load batch, return to a transaction per write and check the consistency of the instances
+     * that were loaded.
+     */
+    synchronized void endBulkLoad()
+
+    throws RepositoryErrorException
+    {
+        final String methodName = "endBulkLoad";
+
+        if (!bulkLoadActive)
+        {
+            return;
+        }
+
+        Set<String> entityGUIDs       = bulkLoadEntityGUIDs;
+        Set<String> relationshipGUIDs = bulkLoadRelationshipGUIDs;
+
+        try
+        {
+            commitBulkLoadBatch(methodName);
+        }
+        finally
+        {
+            bulkLoadActive = false;
+            bulkLoadVertexIds = null;
+            bulkLoadEntityGUIDs = null;
+            bulkLoadRelationshipGUIDs = null;
+        }
+
+        /*
+         * Check that each GUID that was written identifies a single vertex or edge.
+         */
+        GraphTraversalSource g = instanceGraph.traversal();
+
+        int duplicateCount = 0;
+
+        for (String guid : entityGUIDs)
+        {
+            if (g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, guid).limit(2).count().next() > 1)
+            {
+                log.error("{} there is more than one vertex for entity with GUID {}", methodName, guid);
+                duplicateCount++;
+            }
+        }
+
+        for (String guid : relationshipGUIDs)
+        {
+            if (g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, guid).limit(2).count().next() > 1)
+            {
+                log.error("{} there is more than one edge for relationship with GUID {}", methodName, guid);
+                duplicateCount++;
+            }
+        }
+
+        g.tx().rollback();
+
+        /*
+         * Enable any index that was created during the bulk load but did not become ready in time.
+         */
+        int enabledIndexCount = graphFactory.enableRegisteredIndexes();
+
+        auditLog.logMessage(methodName, GraphOMRSAuditCode.GRAPH_BULK_LOAD_ENDED.getMessageDefinition(repositoryName,
+                                                                                                    Integer.toString(entityGUIDs.size()),
+                                                                                                    Integer.toString(relationshipGUIDs.size()),
+                                                                                                    Integer.toString(enabledIndexCount)));
+
+        if (duplicateCount > 0)
+        {
+            auditLog.logMessage(methodName, GraphOMRSAuditCode.GRAPH_BULK_LOAD_DUPLICATE_INSTANCES.getMessageDefinition(repositoryName,
+                                                                                                                      Integer.toString(duplicateCount)));
+        }
+    }
+
+
+    /*
+     * Make a write to the graph. Outside of bulk load mode the write is made and committed in its own transaction.
+     * In bulk load mode the write is added to the current batch, which is committed once it is full. If the write
+     * fails, the batch is rolled back and the earlier writes in the batch are made again. The write holds the lock
+     * on this store so that writes from different threads are not mixed in the batch or its failure flag.
+     */
+    private synchronized void writeToGraph(String methodName, GraphWrite write)
+
+    throws RepositoryErrorException,
+           InvalidParameterException
+    {
+        if (!bulkLoadActive)
+        {
+            GraphTraversalSource g = instanceGraph.traversal();
+
+            write.apply(g);
+
+            g.tx().commit();
+
+            return;
+        }
+
+        boolean applied = false;
+
+        bulkLoadWriteThread = Thread.currentThread();
+        bulkLoadWriteFailed = false;
+
+        try
+        {
+            write.apply(getTraversalSource());
+
+            applied = !bulkLoadWriteFailed;
+        }
+        finally
+        {
+            bulkLoadWriteThread = null;
+
+            if (!applied)
+            {
+                restoreBulkLoadBatch(methodName);
+            }
+        }
+
+        if (applied)
+        {
+            bulkLoadPendingWrites.add(write);
+
+            if (bulkLoadPendingWrites.size() >= bulkLoadBatchSize)
+            {
+                commitBulkLoadBatch(methodName);
+            }
+        }
+    }
+
+
+    /*
+     * Commit the writes of the current bulk load batch. The next write starts a new batch.
+     */
+    private synchronized void commitBulkLoadBatch(String methodName)
+
+    throws RepositoryErrorException
+    {
+        if (bulkLoadTransaction == null)
+        {
+            return;
+        }
+
+        JanusGraphTransaction transaction = bulkLoadTransaction;
+        int                   writeCount  = bulkLoadPendingWrites.size();
+
+        bulkLoadTransaction = null;
+        bulkLoadPendingWrites = new ArrayList<>();
+
+        try
+        {
+            transaction.commit();
+
+            log.debug("{} committed bulk load batch of {} writes", methodName, writeCount);
+        }
+        catch (Exception e)
+        {
+            log.error("{} could not commit bulk load batch of {} writes, exception {}", methodName, writeCount, e.getMessage());
+
+            if (transaction.isOpen())
+            {
+                transaction.rollback();
+            }
+
+            if (bulkLoadVertexIds != null)
+            {
+                bulkLoadVertexIds.clear();
+            }
+
+            throw new RepositoryErrorException(GraphOMRSErrorCode.BULK_LOAD_BATCH_NOT_COMMITTED.getMessageDefinition(Integer.toString(writeCount),
+                                                                                                                     methodName,
+                                                                                                                     this.getClass().getName(),
+                                                                                                                     repositoryName),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               e);
+        }
+    }
+
+
+    /*
+     * Roll back the current bulk load batch after a failed write and make the earlier writes in the batch again.
+     */
+    private synchronized void restoreBulkLoadBatch(String methodName)
+    {
+        if ((bulkLoadTransaction != null) && (bulkLoadTransaction.isOpen()))
+        {
+            bulkLoadTransaction.rollback();
+        }
+
+        bulkLoadTransaction = null;
+        bulkLoadVertexIds.clear();
+
+        List<GraphWrite> writes = bulkLoadPendingWrites;
+
+        bulkLoadPendingWrites = new ArrayList<>();
+
+        for (GraphWrite write : writes)
+        {
+            bulkLoadWriteThread = Thread.currentThread();
+            bulkLoadWriteFailed = false;
+
+            try
+            {
+                write.apply(getTraversalSource());
+
+                if (!bulkLoadWriteFailed)
+                {
+                    bulkLoadPendingWrites.add(write);
+                }
+            }
+            catch (Exception e)
+            {
+                log.error("{} could not restore a write to the bulk load batch, exception {}", methodName, e.getMessage());
+            }
+            finally
+            {
+                bulkLoadWriteThread = null;
+            }
+        }
+    }
+
+
+    /*
+     * Return the traversal source for a request. In bulk load mode this is the transaction of the current batch.
+     */
+    private synchronized GraphTraversalSource getTraversalSource()
+    {
+        if (!bulkLoadActive)
+        {
+            return instanceGraph.traversal();
+        }
+
+        if (bulkLoadTransaction == null)
+        {
+            bulkLoadTransaction = instanceGraph.buildTransaction()
+                                               .enableBatchLoading()
+                                               .vertexCacheSize(DEFAULT_BULK_LOAD_VERTEX_CACHE_SIZE)
+                                               .start();
+        }
+
+        return bulkLoadTransaction.traversal();
+    }
+
+
+    /*
+     * Return whether the traversal source is for the transaction of the current bulk load batch.
+     */
+    private synchronized boolean isBulkLoadTraversal(GraphTraversalSource g)
+    {
+        return (bulkLoadTransaction != null) && (g.getGraph() == bulkLoadTransaction);
+    }
+
+
+    /*
+     * Complete the transaction for a request. The transaction of a bulk load batch is committed when the batch is full.
+     */
+    private void commitTransaction(GraphTraversalSource g)
+    {
+        if (!isBulkLoadTraversal(g))
+        {
+            g.tx().commit();
+        }
+    }
+
+
+    /*
+     * Roll back the transaction for a request. For a bulk load batch, a failed write is rolled back by writeToGraph;
+     * a read has nothing to roll back.
+     */
+    private void rollbackTransaction(GraphTraversalSource g)
+    {
+        if (!isBulkLoadTraversal(g))
+        {
+            g.tx().rollback();
+        }
+        else
+        {
+            markBulkLoadWriteFailed();
+        }
+    }
+
+
+    /*
+     * Record that the bulk load write being made by this thread has failed.
+     */
+    private synchronized void markBulkLoadWriteFailed()
+    {
+        if (bulkLoadWriteThread == Thread.currentThread())
+        {
+            bulkLoadWriteFailed = true;
+        }
+    }
+
+
+    /*
+     * Return a traversal for the vertex of an entity. In bulk load mode the vertex id is used if it is cached.
+     */
+    private GraphTraversal<Vertex, Vertex> findEntityVertex(GraphTraversalSource g, String guid)
+    {
+        Object vertexId = getBulkLoadVertexId(guid);
+
+        if (vertexId != null)
+        {
+            return g.V(vertexId);
+        }
+
+        return g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, guid);
+    }
+
+
+    /*
+     * Return the cached vertex id of an entity in bulk load mode, or null if it is not cached.
+     */
+    private synchronized Object getBulkLoadVertexId(String guid)
+    {
+        if (bulkLoadVertexIds == null)
+        {
+            return null;
+        }
+
+        return bulkLoadVertexIds.get(guid);
+    }
+
+
+    /*
+     * Cache the vertex id of an entity in bulk load mode.
+     */
+    private synchronized void cacheBulkLoadVertex(String guid, Vertex vertex)
+    {
+        if (bulkLoadVertexIds != null)
+        {
+            bulkLoadVertexIds.put(guid, vertex.id());
+        }
+    }
+
+
+    /*
+     * Remove the vertex id of an entity from the bulk load cache.
+     */
+    private synchronized void evictBulkLoadVertex(String guid)
+    {
+        if (bulkLoadVertexIds != null)
+        {
+            bulkLoadVertexIds.remove(guid);
+        }
+    }
+
+
+    /*
+     * Record an entity that has been written in bulk load mode.
+     */
+    private synchronized void recordBulkLoadEntity(String guid, Vertex vertex)
+    {
+        if (bulkLoadActive)
+        {
+            cacheBulkLoadVertex(guid, vertex);
+            bulkLoadEntityGUIDs.add(guid);
+        }
+    }
+
+
+    /*
+     * Record a relationship that has been written in bulk load mode.
+     */
+    private synchronized void recordBulkLoadRelationship(String guid)
+    {
+        if (bulkLoadActive)
+        {
+            bulkLoadRelationshipGUIDs.add(guid);
+        }
+    }
+
+
     // A note on existence checking:
     // The MDC will NOT have already checked that there is not already an entity or entity proxy wth the same GUID.
     // Although we KNOW that this is an attempt to create a new entity and that the GUID has just been generated,
@@ -175,6 +626,43 @@ class GraphOMRSMetadataStore {
     //
     synchronized EntityDetail createEntityInStore(EntityDetail entity)
 
+    throws RepositoryErrorException,
+           InvalidParameterException
+    {
+        final String methodName = "createEntityInStore";
+
+        writeToGraph(methodName, g -> createEntityInGraph(g, entity));
+
+        return entity;
+    }
+
+
+    /*
+     * Create the vertices for a batch of new entities in a single graph transaction.
+     */
+    synchronized void createEntitiesInStore(List<EntityDetail> entities)
+
+    throws RepositoryErrorException,
+           InvalidParameterException
+    {
+        final String methodName = "createEntitiesInStore";
+
+        writeToGraph(methodName, g ->
+        {
+            for (EntityDetail entity : entities)
+            {
+                createEntityInGraph(g, entity);
+            }
+        });
+    }
+
+
+    /*
+     * Create the vertex for a new entity as part of the current graph transaction.  The caller commits the transaction;
+     * the transaction is rolled back if the entity can not be created.
+     */
+    private void createEntityInGraph(GraphTraversalSource g, EntityDetail entity)
+
     throws RepositoryErrorException,
            InvalidParameterException
     {
@@ -182,8 +670,7 @@ class GraphOMRSMetadataStore {
 
         Vertex vertex;
 
-        GraphTraversalSource g = instanceGraph.traversal();
-        Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entity.getGUID());
+        Iterator<Vertex> vertexIt = findEntityVertex(g, entity.getGUID());
 
         if (vertexIt.hasNext())
         {
@@ -211,7 +698,7 @@ class GraphOMRSMetadataStore {
                 else
                 {
                     log.error("{} existing vertex apparently a proxy, but has local metadataCollectionId", methodName);
-                    g.tx().rollback();
+                    rollbackTransaction(g);
 
                     final String parameterName = "metadataCollectionId";
 
@@ -226,7 +713,7 @@ class GraphOMRSMetadataStore {
             else
             {
                 log.error("{} existing vertex for GUID {} and it is not a proxy", methodName, entity.getGUID());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 String parameterName = "entity";
 
@@ -246,6 +733,8 @@ class GraphOMRSMetadataStore {
             vertex = g.addV("Entity").next();
         }
 
+        recordBulkLoadEntity(entity.getGUID(), vertex);
+
         // Whether created new or reusing old proxy, populate the vertex.
 
         try
@@ -269,7 +758,7 @@ class GraphOMRSMetadataStore {
         catch (Exception e)
         {
             log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
+            rollbackTransaction(g);
 
             throw new RepositoryErrorException(
                     GraphOMRSErrorCode.ENTITY_NOT_CREATED.getMessageDefinition(
@@ -279,13 +768,9 @@ class GraphOMRSMetadataStore {
                     this.getClass().getName(),
                     methodName, e);
         }
-
-
-        g.tx().commit();
-
-        return entity;
     }
 
+
     // A note on existence checking:
     // The MDC has already checked that there is not already an entity or entity proxy wth the same GUID.
     // So create an entity and note that it is a proxy (flag)
@@ -299,13 +784,27 @@ class GraphOMRSMetadataStore {
     {
         final String methodName = "createEntityProxyInStore";
 
-        GraphTraversalSource g = instanceGraph.traversal();
-        Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityProxy.getGUID());
+        writeToGraph(methodName, g -> createEntityProxyInGraph(g, entityProxy));
+    }
+
+
+    /*
+     * Create the vertex for an entity proxy as part of the current graph transaction.  The caller commits the
+     * transaction; the transaction is rolled back if the proxy can not be created.
+     */
+    private void createEntityProxyInGraph(GraphTraversalSource g, EntityProxy entityProxy)
+
+    throws RepositoryErrorException,
+           InvalidParameterException
+    {
+        final String methodName = "createEntityProxyInStore";
+
+        Iterator<Vertex> vertexIt = findEntityVertex(g, entityProxy.getGUID());
         if (vertexIt.hasNext())
         {
             Vertex vertex = vertexIt.next();
             log.error("{} createEntityProxyInStore found existing vertex {}", methodName, vertex);
-            g.tx().rollback();
+            rollbackTransaction(g);
 
             throw new InvalidParameterException(
                     GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition(
@@ -319,6 +818,8 @@ class GraphOMRSMetadataStore {
 
         Vertex vertex = g.addV("Entity").next();
 
+        recordBulkLoadEntity(entityProxy.getGUID(), vertex);
+
         try
         {
             entityMapper.mapEntityProxyToVertex(entityProxy, vertex);
@@ -340,7 +841,7 @@ class GraphOMRSMetadataStore {
         catch (Exception e)
         {
             log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
+            rollbackTransaction(g);
 
             throw new RepositoryErrorException(
                     GraphOMRSErrorCode.ENTITY_NOT_CREATED.getMessageDefinition(
@@ -350,9 +851,6 @@ class GraphOMRSMetadataStore {
                     this.getClass().getName(),
                     methodName, e);
         }
-
-        g.tx().commit();
-
     }
 
 
@@ -394,6 +892,21 @@ class GraphOMRSMetadataStore {
      */
     synchronized void saveEntityReferenceCopyToStore(EntityDetail entity)
 
+    throws InvalidParameterException,
+           RepositoryErrorException
+    {
+        final String methodName = "saveEntityReferenceCopyToStore";
+
+        writeToGraph(methodName, g -> saveEntityReferenceCopyInGraph(g, entity));
+    }
+
+
+    /*
+     * Save a reference copy of an entity as part of the current graph transaction.  The caller commits the
+     * transaction; the transaction is rolled back if the reference copy can not be saved.
+     */
+    private void saveEntityReferenceCopyInGraph(GraphTraversalSource g, EntityDetail entity)
+
     throws InvalidParameterException,
            RepositoryErrorException
 
@@ -403,8 +916,7 @@ class GraphOMRSMetadataStore {
 
         Vertex vertex;
 
-        GraphTraversalSource g = instanceGraph.traversal();
-        Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entity.getGUID());
+        Iterator<Vertex> vertexIt = findEntityVertex(g, entity.getGUID());
 
         if (vertexIt.hasNext())
         {
@@ -430,7 +942,7 @@ class GraphOMRSMetadataStore {
                  */
 
                 log.error("{} found an existing vertex from a different source, with metadataCollectionId {}", methodName, vertexMetadataCollectionId);
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new InvalidParameterException(
                         GraphOMRSErrorCode.ENTITY_ALREADY_EXISTS.getMessageDefinition(
@@ -451,6 +963,8 @@ class GraphOMRSMetadataStore {
             vertex = g.addV("Entity").next();
         }
 
+        recordBulkLoadEntity(entity.getGUID(), vertex);
+
         /*
          * Whether this just created a new vertex or is reusing an existing vertex (for a reference copy or proxy),
          * populate the vertex.
@@ -479,7 +993,7 @@ class GraphOMRSMetadataStore {
         catch (Exception e)
         {
             log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
+            rollbackTransaction(g);
 
             throw new RepositoryErrorException(
                     GraphOMRSErrorCode.ENTITY_NOT_CREATED.getMessageDefinition(
@@ -489,9 +1003,6 @@ class GraphOMRSMetadataStore {
                     this.getClass().getName(),
                     methodName, e);
         }
-
-
-        g.tx().commit();
     }
 
 
@@ -508,7 +1019,7 @@ class GraphOMRSMetadataStore {
         EntityDetail entity = null;
 
         // Look in the graph
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
         GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, guid);
 
@@ -540,7 +1051,7 @@ class GraphOMRSMetadataStore {
                     {
                         // We know this is a proxy - throw the appropriate exception
                         log.warn("{} found entity but it is only a proxy, guid {}", methodName, guid);
-                        g.tx().rollback();
+                        rollbackTransaction(g);
 
                         throw new EntityProxyOnlyException(
                                 GraphOMRSErrorCode.ENTITY_PROXY_ONLY.getMessageDefinition(
@@ -558,7 +1069,7 @@ class GraphOMRSMetadataStore {
             {
 
                 log.error("{} Caught exception {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
@@ -575,7 +1086,7 @@ class GraphOMRSMetadataStore {
 
             // Entity was not found by GUID
             log.error("{} entity with GUID {} not found", methodName, guid);
-            g.tx().rollback();
+            rollbackTransaction(g);
 
             throw new EntityNotKnownException(
                     GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
@@ -587,7 +1098,7 @@ class GraphOMRSMetadataStore {
         }
 
 
-        g.tx().commit();
+        commitTransaction(g);
 
         return entity;
     }
@@ -604,7 +1115,7 @@ class GraphOMRSMetadataStore {
         EntitySummary entity = null;
 
         // Look in the graph
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
         GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, guid);
 
@@ -627,7 +1138,7 @@ class GraphOMRSMetadataStore {
             {
 
                 log.error("{} Caught exception {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
@@ -644,7 +1155,7 @@ class GraphOMRSMetadataStore {
 
             // Entity was not found by GUID
             log.error("{} entity with GUID {} not found", methodName, guid);
-            g.tx().rollback();
+            rollbackTransaction(g);
 
             throw new EntityNotKnownException(
                     GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
@@ -656,7 +1167,7 @@ class GraphOMRSMetadataStore {
         }
 
 
-        g.tx().commit();
+        commitTransaction(g);
 
         return entity;
     }
@@ -672,7 +1183,7 @@ class GraphOMRSMetadataStore {
         EntityProxy entityProxy = null;
 
         // Look in the graph
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
         Iterator<Vertex> vi = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, guid);
         if (vi.hasNext())
@@ -697,7 +1208,7 @@ class GraphOMRSMetadataStore {
             catch (Exception e)
             {
                 log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
@@ -709,7 +1220,7 @@ class GraphOMRSMetadataStore {
             }
         }
 
-        g.tx().commit();
+        commitTransaction(g);
 
         return entityProxy;
     }
@@ -725,20 +1236,55 @@ class GraphOMRSMetadataStore {
 
     throws RepositoryErrorException,
            InvalidParameterException
+    {
+        final String methodName = "createRelationshipInStore";
+
+        // Locate the vertices for the ends, and create an edge between them.
+
+        writeToGraph(methodName, g -> createRelationshipInGraph(g, relationship));
+    }
 
+
+    /*
+     * Create the edges for a batch of new relationships in a single graph transaction.
+     */
+    synchronized void createRelationshipsInStore(List<Relationship> relationships)
+
+    throws RepositoryErrorException,
+           InvalidParameterException
     {
-        String methodName = "createRelationshipInStore";
+        final String methodName = "createRelationshipsInStore";
 
-        // Begin a graph transaction. Locate the vertices for the ends, and create an edge between them.
+        writeToGraph(methodName, g ->
+        {
+            for (Relationship relationship : relationships)
+            {
+                createRelationshipInGraph(g, relationship);
+            }
+        });
+    }
 
-        GraphTraversalSource g = instanceGraph.traversal();
+
+    /*
+     * Create the edge for a new relationship as part of the current graph transaction.  The caller commits the
+     * transaction; the transaction is rolled back if the relationship can not be created.
+     */
+    private void createRelationshipInGraph(GraphTraversalSource g, Relationship relationship)
+
+    throws RepositoryErrorException,
+           InvalidParameterException
+
+    {
+        String methodName = "createRelationshipInStore";
+
+        // Locate the vertices for the ends, and create an edge between them.
 
         Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, relationship.getGUID());
         if (edgeIt.hasNext())
         {
             Edge edge = edgeIt.next();
             log.error("{} found existing edge {}", methodName, edge);
-            g.tx().rollback();
+            rollbackTransaction(g);
 
             throw new InvalidParameterException(
                     GraphOMRSErrorCode.RELATIONSHIP_ALREADY_EXISTS.getMessageDefinition(
@@ -757,25 +1303,27 @@ class GraphOMRSMetadataStore {
         Vertex vertexOne = null;
         Vertex vertexTwo = null;
 
-        Iterator<Vertex> vi = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityOneGUID);
+        Iterator<Vertex> vi = findEntityVertex(g, entityOneGUID);
         if (vi.hasNext())
         {
             vertexOne = vi.next();
             log.debug("{} found entityOne vertex {}", methodName, vertexOne);
+            cacheBulkLoadVertex(entityOneGUID, vertexOne);
         }
 
-        vi = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityTwoGUID);
+        vi = findEntityVertex(g, entityTwoGUID);
         if (vi.hasNext())
         {
             vertexTwo = vi.next();
             log.debug("{} found entityTwo vertex {}", methodName, vertexTwo);
+            cacheBulkLoadVertex(entityTwoGUID, vertexTwo);
         }
 
         // If either end vertex does not exist then abandon the attempt - there should be at least a proxy if not a full entity in the store for each end
         if (vertexOne == null || vertexTwo == null)
         {
             log.error("{} Could not find both ends for relationship {}", methodName, relationship.getGUID());
-            g.tx().rollback();
+            rollbackTransaction(g);
 
             throw new RepositoryErrorException(
                     GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
@@ -788,6 +1336,8 @@ class GraphOMRSMetadataStore {
 
         Edge edge = vertexOne.addEdge("Relationship", vertexTwo);
 
+        recordBulkLoadRelationship(relationship.getGUID());
+
         try
         {
 
@@ -797,7 +1347,7 @@ class GraphOMRSMetadataStore {
         catch (Exception e)
         {
             log.error("{} Caught exception from relationship mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
+            rollbackTransaction(g);
 
             throw new RepositoryErrorException(
                     GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
@@ -807,10 +1357,6 @@ class GraphOMRSMetadataStore {
                     this.getClass().getName(),
                     methodName, e);
         }
-
-        log.debug("{} Commit tx containing creation of edge", methodName);
-        g.tx().commit();
-
     }
 
 
@@ -866,19 +1412,60 @@ class GraphOMRSMetadataStore {
 
     throws InvalidParameterException,
            RepositoryErrorException
+    {
+        final String methodName = "saveRelationshipReferenceCopyToStore";
+
+        writeToGraph(methodName, g -> saveRelationshipReferenceCopyInGraph(g, relationship));
+    }
+
+
+    /*
+     * Save a batch of reference copies in a single graph transaction.  The entities are saved first so that
+     * they are used (rather than new proxies) for the ends of the relationships.
+     */
+    synchronized void saveReferenceCopiesToStore(List<EntityDetail>  entities,
+                                                 List<Relationship>  relationships)
 
+    throws InvalidParameterException,
+           RepositoryErrorException
     {
+        final String methodName = "saveReferenceCopiesToStore";
 
-        final String methodName = "saveRelationshipReferenceCopyToStore";
+        writeToGraph(methodName, g ->
+        {
+            for (EntityDetail entity : entities)
+            {
+                saveEntityReferenceCopyInGraph(g, entity);
+            }
 
-        GraphTraversalSource g = instanceGraph.traversal();
+            for (Relationship relationship : relationships)
+            {
+                saveRelationshipReferenceCopyInGraph(g, relationship);
+            }
+        });
+    }
+
+
+    /*
+     * Save a reference copy of a relationship, and proxies for any of its ends that are not already stored, as part
+     * of the current graph transaction.  The caller commits the transaction; the transaction is rolled back if the
+     * reference copy can not be saved.
+     */
+    private void saveRelationshipReferenceCopyInGraph(GraphTraversalSource g, Relationship relationship)
+
+    throws InvalidParameterException,
+           RepositoryErrorException
+
+    {
+
+        final String methodName = "saveRelationshipReferenceCopyToStore";
 
         Vertex vertex;
 
         // Process end 1
         EntityProxy entityOne = relationship.getEntityOneProxy();
 
-        Iterator<Vertex> vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityOne.getGUID());
+        Iterator<Vertex> vertexIt = findEntityVertex(g, entityOne.getGUID());
 
         if (vertexIt.hasNext())
         {
@@ -899,12 +1486,12 @@ class GraphOMRSMetadataStore {
         else
         {
             // Entity does not exist, create proxy
-            createEntityProxyInStore(entityOne);
+            createEntityProxyInGraph(g, entityOne);
         }
 
         // Process end 2
         EntityProxy entityTwo = relationship.getEntityTwoProxy();
-        vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityTwo.getGUID());
+        vertexIt = findEntityVertex(g, entityTwo.getGUID());
 
         if (vertexIt.hasNext())
         {
@@ -924,7 +1511,7 @@ class GraphOMRSMetadataStore {
         else
         {
             // Entity does not exist, create proxy
-            createEntityProxyInStore(entityTwo);
+            createEntityProxyInGraph(g, entityTwo);
         }
 
 
@@ -937,22 +1524,24 @@ class GraphOMRSMetadataStore {
         Vertex vertexOne = null;
         Vertex vertexTwo = null;
 
-        vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityOne.getGUID());
+        vertexIt = findEntityVertex(g, entityOne.getGUID());
         if (vertexIt.hasNext())
         {
             vertexOne = vertexIt.next();
+            cacheBulkLoadVertex(entityOne.getGUID(), vertexOne);
         }
-        vertexIt = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityTwo.getGUID());
+        vertexIt = findEntityVertex(g, entityTwo.getGUID());
         if (vertexIt.hasNext())
         {
             vertexTwo = vertexIt.next();
+            cacheBulkLoadVertex(entityTwo.getGUID(), vertexTwo);
         }
         if (vertexOne == null || vertexTwo == null)
         {
 
             // Error!!
             log.error("{} Could not locate or create vertex for entity with guid {} used in relationship {}", methodName, vertexOne == null ? entityOne.getGUID() : entityTwo.getGUID(), relationship.getGUID());
-            g.tx().rollback();
+            rollbackTransaction(g);
 
             throw new RepositoryErrorException(
                     GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
@@ -993,7 +1582,7 @@ class GraphOMRSMetadataStore {
                  */
 
                 log.error("{} found an existing edge from a different source, with metadataCollectionId {}", methodName, edgeMetadataCollectionId);
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 final String parameterName = "relationship";
 
@@ -1015,6 +1604,8 @@ class GraphOMRSMetadataStore {
             edge = vertexOne.addEdge("Relationship", vertexTwo);
         }
 
+        recordBulkLoadRelationship(relationship.getGUID());
+
 
         // Populate the edge with the relationship
         try
@@ -1026,7 +1617,7 @@ class GraphOMRSMetadataStore {
         catch (Exception e)
         {
             log.error("{} Caught exception from relationship mapper {}", methodName, e.getMessage());
-            g.tx().rollback();
+            rollbackTransaction(g);
 
             throw new RepositoryErrorException(
                     GraphOMRSErrorCode.RELATIONSHIP_NOT_CREATED.getMessageDefinition(
@@ -1037,9 +1628,6 @@ class GraphOMRSMetadataStore {
                     this.getClass().getName(),
                     methodName, e);
         }
-
-        log.debug("{} Commit tx containing creation or update of edge", methodName);
-        g.tx().commit();
     }
 
 
@@ -1052,7 +1640,7 @@ class GraphOMRSMetadataStore {
 
         Relationship relationship = null;
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
         Iterator<Edge> edgeIt = g.E().hasLabel("Relationship").has(PROPERTY_KEY_RELATIONSHIP_GUID, guid);
         if (edgeIt.hasNext())
@@ -1099,7 +1687,7 @@ class GraphOMRSMetadataStore {
             catch (Exception e)
             {
                 log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.RELATIONSHIP_NOT_FOUND.getMessageDefinition(
@@ -1111,7 +1699,7 @@ class GraphOMRSMetadataStore {
             }
         }
 
-        g.tx().commit();
+        commitTransaction(g);
 
         return relationship;
 
@@ -1126,6 +1714,9 @@ class GraphOMRSMetadataStore {
 
         String methodName = "updateEntityInStore";
 
+        // This write is not added to a bulk load batch, so any writes that are pending are committed first
+        commitBulkLoadBatch(methodName);
+
         // Look in the graph
         String guid = entity.getGUID();
         GraphTraversalSource g = instanceGraph.traversal();
@@ -1158,7 +1749,7 @@ class GraphOMRSMetadataStore {
             catch (Exception e)
             {
                 log.error("{} caught exception {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.ENTITY_NOT_UPDATED.getMessageDefinition(
@@ -1171,7 +1762,7 @@ class GraphOMRSMetadataStore {
         }
 
         log.debug("{} commit entity update tx: ", methodName);
-        g.tx().commit();
+        commitTransaction(g);
 
     }
 
@@ -1280,6 +1871,9 @@ class GraphOMRSMetadataStore {
 
         String methodName = "updateRelationshipInStore";
 
+        // This write is not added to a bulk load batch, so any writes that are pending are committed first
+        commitBulkLoadBatch(methodName);
+
         String guid = relationship.getGUID();
         GraphTraversalSource g = instanceGraph.traversal();
 
@@ -1300,7 +1894,7 @@ class GraphOMRSMetadataStore {
             {
 
                 log.error("{} Caught exception from relationship mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.RELATIONSHIP_NOT_UPDATED.getMessageDefinition(
                                 relationship.getGUID(), methodName,
@@ -1311,7 +1905,7 @@ class GraphOMRSMetadataStore {
             }
         }
 
-        g.tx().commit();
+        commitTransaction(g);
     }
 
     // removeEntityFromStore
@@ -1319,9 +1913,15 @@ class GraphOMRSMetadataStore {
     // This method will remove the entity vertex and any classifier edges and classification vertices linked off it
 
     synchronized void removeEntityFromStore(String entityGUID)
+
+    throws RepositoryErrorException
+
     {
         final String methodName = "removeEntityFromStore";
 
+        // This write is not added to a bulk load batch, so any writes that are pending are committed first
+        commitBulkLoadBatch(methodName);
+
         // Look in the graph
         GraphTraversalSource g = instanceGraph.traversal();
 
@@ -1364,20 +1964,27 @@ class GraphOMRSMetadataStore {
 
                 // Finally remove the entity vertex...
                 vertex.remove();
+                evictBulkLoadVertex(entityGUID);
 
                 log.debug("{} removed entity vertex with guid {}", methodName, entityGUID);
             }
         }
-        g.tx().commit();
+        commitTransaction(g);
 
     }
 
 
     // removeRelationshipFromStore
     synchronized void removeRelationshipFromStore(String relationshipGUID)
+
+    throws RepositoryErrorException
+
     {
         final String methodName = "removeRelationshipFromStore";
 
+        // This write is not added to a bulk load batch, so any writes that are pending are committed first
+        commitBulkLoadBatch(methodName);
+
         // Look in the graph
         GraphTraversalSource g = instanceGraph.traversal();
 
@@ -1389,7 +1996,7 @@ class GraphOMRSMetadataStore {
             edge.remove();
             log.debug("{} removed relationship edge with guid {}", methodName, relationshipGUID);
         }
-        g.tx().commit();
+        commitTransaction(g);
 
     }
 
@@ -1404,7 +2011,7 @@ class GraphOMRSMetadataStore {
         List<Relationship> relationships = new ArrayList<>();
 
         // Look in the graph
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
         Iterator<Vertex> vi = g.V().hasLabel("Entity").has(PROPERTY_KEY_ENTITY_GUID, entityGUID);
         if (vi.hasNext())
         {
@@ -1439,69 +2046,256 @@ class GraphOMRSMetadataStore {
                         relationship.setEntityOneProxy(entityOneProxy);
                     }
 
-                    vertex = edge.inVertex();
+                    vertex = edge.inVertex();
+
+                    if (vertex != null)
+                    {
+                        log.debug("{} entity vertex {}", methodName, vertex);
+                        EntityProxy entityTwoProxy = new EntityProxy();
+                        entityMapper.mapVertexToEntityProxy(vertex, entityTwoProxy);
+                        log.debug("{} entityTwoProxy {}", methodName, entityTwoProxy);
+                        relationship.setEntityTwoProxy(entityTwoProxy);
+                    }
+
+                }
+                catch (Exception e)
+                {
+                    log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
+                    rollbackTransaction(g);
+
+                    throw new RepositoryErrorException(
+                            GraphOMRSErrorCode.RELATIONSHIP_NOT_FOUND.getMessageDefinition(
+                                    entityMapper.getEntityGUID(vertex), methodName,
+                                    this.getClass().getName(),
+                                    repositoryName),
+                            this.getClass().getName(),
+                            methodName, e);
+                }
+
+                relationships.add(relationship);
+            }
+        }
+
+        commitTransaction(g);
+
+        return relationships;
+    }
+
+
+
+    /*
+     * Return whether the results of a find request can be sequenced by the graph traversal. Sequencing by a
+     * property value is left to the repository helper because it depends on the type of each property.
+     */
+    boolean isSequencingSupportedInGraph(SequencingOrder sequencingOrder)
+    {
+        if (sequencingOrder == null)
+        {
+            return true;
+        }
+
+        switch (sequencingOrder)
+        {
+            case ANY:
+            case GUID:
+            case CREATION_DATE_RECENT:
+            case CREATION_DATE_OLDEST:
+            case LAST_UPDATE_RECENT:
+            case LAST_UPDATE_OLDEST:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
 
-                    if (vertex != null)
-                    {
-                        log.debug("{} entity vertex {}", methodName, vertex);
-                        EntityProxy entityTwoProxy = new EntityProxy();
-                        entityMapper.mapVertexToEntityProxy(vertex, entityTwoProxy);
-                        log.debug("{} entityTwoProxy {}", methodName, entityTwoProxy);
-                        relationship.setEntityTwoProxy(entityTwoProxy);
-                    }
 
+    /*
+     * Add the status filtering, sequencing and paging of a find request to a traversal of entity vertices.
+     * Deleted entities are never returned. If a page size is requested only the vertices in the page are
+     * returned by the traversal, so only they are mapped to EntityDetail objects. As in the repository helper,
+     * a page size of zero returns all of the results in no particular order, and a missing date is ordered
+     * before any date.
+     */
+    private GraphTraversal<Vertex, Vertex> addEntityPaging(GraphTraversal<Vertex, Vertex>  gt,
+                                                           List<InstanceStatus>            limitResultsByStatus,
+                                                           SequencingOrder                 sequencingOrder,
+                                                           int                             fromEntityElement,
+                                                           int                             pageSize)
+    {
+        GraphTraversal<Vertex, Vertex> deleted = new DefaultGraphTraversal<>();
+        deleted = deleted.has(PROPERTY_KEY_ENTITY_CURRENT_STATUS, InstanceStatus.DELETED.getOrdinal());
+        gt = gt.not(deleted);
+
+        if (limitResultsByStatus != null)
+        {
+            List<Integer> statusOrdinals = new ArrayList<>();
+            for (InstanceStatus status : limitResultsByStatus)
+            {
+                if (status != null)
+                {
+                    statusOrdinals.add(status.getOrdinal());
                 }
-                catch (Exception e)
+            }
+            gt = gt.has(PROPERTY_KEY_ENTITY_CURRENT_STATUS, within(statusOrdinals));
+        }
+
+        if (pageSize > 0)
+        {
+            if (sequencingOrder != null)
+            {
+                switch (sequencingOrder)
                 {
-                    log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-                    g.tx().rollback();
+                    case GUID:
+                        gt = gt.order().by(PROPERTY_KEY_ENTITY_GUID, Order.asc);
+                        break;
 
-                    throw new RepositoryErrorException(
-                            GraphOMRSErrorCode.RELATIONSHIP_NOT_FOUND.getMessageDefinition(
-                                    entityMapper.getEntityGUID(vertex), methodName,
-                                    this.getClass().getName(),
-                                    repositoryName),
-                            this.getClass().getName(),
-                            methodName, e);
-                }
+                    case CREATION_DATE_RECENT:
+                        gt = gt.order().by(getDateValue(PROPERTY_KEY_ENTITY_CREATE_TIME), Order.desc);
+                        break;
 
-                relationships.add(relationship);
+                    case CREATION_DATE_OLDEST:
+                        gt = gt.order().by(getDateValue(PROPERTY_KEY_ENTITY_CREATE_TIME), Order.asc);
+                        break;
+
+                    case LAST_UPDATE_RECENT:
+                        gt = gt.order().by(getDateValue(PROPERTY_KEY_ENTITY_UPDATE_TIME), Order.desc);
+                        break;
+
+                    case LAST_UPDATE_OLDEST:
+                        gt = gt.order().by(getDateValue(PROPERTY_KEY_ENTITY_UPDATE_TIME), Order.asc);
+                        break;
+
+                    default:
+                        break;
+                }
             }
+
+            gt = gt.range(fromEntityElement, (long) fromEntityElement + pageSize);
         }
 
-        g.tx().commit();
+        return gt;
+    }
 
-        return relationships;
+
+
+    /*
+     * Return a traversal of the value of a date property for ordering, using the start of the epoch if the
+     * property is not set (ordering by a missing property would fail the traversal).  The unchecked warning
+     * comes from the generic varargs of coalesce.
+     */
+    @SuppressWarnings("unchecked")
+    private Traversal<Vertex, Object> getDateValue(String propertyKey)
+    {
+        return __.<Vertex, Object>coalesce(__.<Vertex, Object>values(propertyKey), __.<Object>constant(new Date(0)));
     }
 
 
 
-    // findEntitiesByPropertyForType
-    List<EntityDetail> findEntitiesByPropertyForType(String               typeDefName,
-                                                     InstanceProperties   matchProperties,
-                                                     MatchCriteria        matchCriteria,
-                                                     Boolean              fullMatch)
+    // findEntitiesByPropertyForEachType
+    List<EntityDetail> findEntitiesByPropertyForEachType(List<String>           typeDefNames,
+                                                         InstanceProperties     matchProperties,
+                                                         MatchCriteria          matchCriteria,
+                                                         Boolean                fullMatch,
+                                                         List<InstanceStatus>   limitResultsByStatus,
+                                                         SequencingOrder        sequencingOrder,
+                                                         int                    fromEntityElement,
+                                                         int                    pageSize)
 
     throws InvalidParameterException
 
     {
 
-        final String methodName = "findEntitiesByPropertyForType";
+        final String methodName = "findEntitiesByPropertyForEachType";
 
         List<EntityDetail> entities = new ArrayList<>();
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
-        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity");
-        if (typeDefName != null)
+        /*
+         * The match properties are checked separately for each type because the same short property name can
+         * refer to different type-defined attributes in different types. Each type contributes one branch to a
+         * single traversal, so the results for all of the types can be sequenced and paged by the graph.
+         */
+        List<GraphTraversal<Vertex, Vertex>> typeCriteria = new ArrayList<>();
+
+        for (String typeDefName : typeDefNames)
+        {
+            GraphTraversal<Vertex, Vertex> t = new DefaultGraphTraversal<>();
+            t = t.has(PROPERTY_KEY_ENTITY_TYPE_NAME, typeDefName);
+            t = addEntityPropertyCriteriaForType(g, t, typeDefName, matchProperties, matchCriteria, fullMatch, methodName);
+
+            if (t != null)
+            {
+                typeCriteria.add(t);
+            }
+        }
+
+        if (typeCriteria.isEmpty())
         {
-            gt = gt.has(PROPERTY_KEY_ENTITY_TYPE_NAME, typeDefName);
+            rollbackTransaction(g);
+            return null;
         }
 
+        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity");
+        gt = gt.has(PROPERTY_KEY_ENTITY_TYPE_NAME, within(typeDefNames));
+
         // Only accept non-proxy entities:
         gt = gt.has(PROPERTY_KEY_ENTITY_IS_PROXY, false);
 
+        gt = gt.or(typeCriteria.toArray(new GraphTraversal[0]));
+
+        gt = addEntityPaging(gt, limitResultsByStatus, sequencingOrder, fromEntityElement, pageSize);
+
+        log.debug("{} traversal looks like this --> {} ", methodName, gt);
+
+        while (gt.hasNext())
+        {
+            Vertex vertex = gt.next();
+            log.debug("{} found vertex {}", methodName, vertex);
+
+            EntityDetail entityDetail = new EntityDetail();
+            try
+            {
+                // Check if we have stumbled on a proxy somehow, and if so avoid processing it.
+                Boolean isProxy = entityMapper.isProxy(vertex);
+                if (!isProxy)
+                {
+                    entityMapper.mapVertexToEntityDetail(vertex, entityDetail);
+                    entities.add(entityDetail);
+                }
+            }
+            catch (Exception e)
+            {
+                log.error("{} caught exception from entity mapper, entity being ignored, {}", methodName, e.getMessage());
+                // continue;
+            }
+        }
+
+        commitTransaction(g);
+
+        return entities;
+
+    }
+
+
+
+    /*
+     * Add the criteria for the match properties of a find request to a traversal of the entities of one type.
+     * Returns null if no entity of the type can match.
+     */
+    private GraphTraversal<Vertex, Vertex> addEntityPropertyCriteriaForType(GraphTraversalSource            g,
+                                                                            GraphTraversal<Vertex, Vertex>  gt,
+                                                                            String                          typeDefName,
+                                                                            InstanceProperties              matchProperties,
+                                                                            MatchCriteria                   matchCriteria,
+                                                                            Boolean                         fullMatch,
+                                                                            String                          methodName)
+
+    throws InvalidParameterException
 
+    {
         /*
          *
          * There are two origins of properties stored on an instance vertex in the graph -
@@ -1730,7 +2524,6 @@ class GraphOMRSMetadataStore {
                      */
                     if (matchCriteria == MatchCriteria.ALL)
                     {
-                        g.tx().rollback();
                         return null;
                     }
                     /*
@@ -1835,7 +2628,6 @@ class GraphOMRSMetadataStore {
                     case ALL:
                         if (propCriteria.isEmpty())
                         {
-                            g.tx().rollback();
                             return null;
                         }
                         else
@@ -1847,7 +2639,6 @@ class GraphOMRSMetadataStore {
                     case ANY:
                         if (propCriteria.isEmpty())
                         {
-                            g.tx().rollback();
                             return null;
                         }
                         else
@@ -1863,7 +2654,7 @@ class GraphOMRSMetadataStore {
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                         break;
                     default:
-                        g.tx().rollback();
+                        rollbackTransaction(g);
                         final String parameterName = "matchCriteria";
 
                         throw new InvalidParameterException(
@@ -1880,34 +2671,7 @@ class GraphOMRSMetadataStore {
 
         }
 
-
-        while (gt.hasNext())
-        {
-            Vertex vertex = gt.next();
-            log.debug("{} found vertex {}", methodName, vertex);
-
-            EntityDetail entityDetail = new EntityDetail();
-            try
-            {
-                // Check if we have stumbled on a proxy somehow, and if so avoid processing it.
-                Boolean isProxy = entityMapper.isProxy(vertex);
-                if (!isProxy)
-                {
-                    entityMapper.mapVertexToEntityDetail(vertex, entityDetail);
-                    entities.add(entityDetail);
-                }
-            }
-            catch (Exception e)
-            {
-                log.error("{} caught exception from entity mapper, entity being ignored, {}", methodName, e.getMessage());
-                // continue;
-            }
-        }
-
-        g.tx().commit();
-
-        return entities;
-
+        return gt;
     }
 
 
@@ -1919,7 +2683,11 @@ class GraphOMRSMetadataStore {
                                                       Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                                       Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
                                                       InstanceProperties             matchProperties,
-                                                      MatchCriteria                  matchCriteria)
+                                                      MatchCriteria                  matchCriteria,
+                                                      List<InstanceStatus>           limitResultsByStatus,
+                                                      SequencingOrder                sequencingOrder,
+                                                      int                            fromEntityElement,
+                                                      int                            pageSize)
 
     throws InvalidParameterException,
            RepositoryErrorException
@@ -1932,7 +2700,7 @@ class GraphOMRSMetadataStore {
 
         List<EntityDetail> entities = new ArrayList<>();
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
         GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity");
 
@@ -2137,7 +2905,7 @@ class GraphOMRSMetadataStore {
                      */
                     if (matchCriteria == MatchCriteria.ALL)
                     {
-                        g.tx().rollback();
+                        rollbackTransaction(g);
                         return null;
                     }
                     /*
@@ -2270,7 +3038,7 @@ class GraphOMRSMetadataStore {
                     case ALL:
                         if (propCriteria.isEmpty())
                         {
-                            g.tx().rollback();
+                            rollbackTransaction(g);
                             return null;
                         }
                         else
@@ -2282,7 +3050,7 @@ class GraphOMRSMetadataStore {
                     case ANY:
                         if (propCriteria.isEmpty())
                         {
-                            g.tx().rollback();
+                            rollbackTransaction(g);
                             return null;
                         }
                         else
@@ -2298,7 +3066,7 @@ class GraphOMRSMetadataStore {
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                         break;
                     default:
-                        g.tx().rollback();
+                        rollbackTransaction(g);
                         final String parameterName = "matchCriteria";
 
                         throw new InvalidParameterException(
@@ -2325,6 +3093,8 @@ class GraphOMRSMetadataStore {
         }
 
 
+        gt = addEntityPaging(gt, limitResultsByStatus, sequencingOrder, fromEntityElement, pageSize);
+
         /*
          * Iterate the traversal
          */
@@ -2350,7 +3120,7 @@ class GraphOMRSMetadataStore {
             catch (Exception e)
             {
                 log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR.getMessageDefinition(
@@ -2362,7 +3132,7 @@ class GraphOMRSMetadataStore {
             }
         }
 
-        g.tx().commit();
+        commitTransaction(g);
 
         return entities;
 
@@ -2392,7 +3162,7 @@ class GraphOMRSMetadataStore {
 
         List<EntityDetail> entities = new ArrayList<>();
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
         GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity");
 
@@ -2598,7 +3368,7 @@ class GraphOMRSMetadataStore {
                      */
                     if (matchCriteria == MatchCriteria.ALL)
                     {
-                        g.tx().rollback();
+                        rollbackTransaction(g);
                         return null;
                     }
                     /*
@@ -2730,7 +3500,7 @@ class GraphOMRSMetadataStore {
                     case ALL:
                         if (propCriteria.isEmpty())
                         {
-                            g.tx().rollback();
+                            rollbackTransaction(g);
                             return null;
                         }
                         else
@@ -2742,7 +3512,7 @@ class GraphOMRSMetadataStore {
                     case ANY:
                         if (propCriteria.isEmpty())
                         {
-                            g.tx().rollback();
+                            rollbackTransaction(g);
                             return null;
                         }
                         else
@@ -2758,7 +3528,7 @@ class GraphOMRSMetadataStore {
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                         break;
                     default:
-                        g.tx().rollback();
+                        rollbackTransaction(g);
                         final String parameterName = "matchCriteria";
 
                         throw new InvalidParameterException(
@@ -2809,7 +3579,7 @@ class GraphOMRSMetadataStore {
             catch (Exception e)
             {
                 log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR.getMessageDefinition(
@@ -2821,7 +3591,7 @@ class GraphOMRSMetadataStore {
             }
         }
 
-        g.tx().commit();
+        commitTransaction(g);
 
         return entities;
 
@@ -2845,7 +3615,7 @@ class GraphOMRSMetadataStore {
 
         List<Relationship> relationships = new ArrayList<>();
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
         GraphTraversal<Edge, Edge> gt = g.E().hasLabel("Relationship");
         if (typeDefName != null)
@@ -3047,7 +3817,7 @@ class GraphOMRSMetadataStore {
                      */
                     if (matchCriteria == MatchCriteria.ALL)
                     {
-                        g.tx().rollback();
+                        rollbackTransaction(g);
                         return null;
                     }
                     /*
@@ -3152,7 +3922,7 @@ class GraphOMRSMetadataStore {
                     case ALL:
                         if (propCriteria.isEmpty())
                         {
-                            g.tx().rollback();
+                            rollbackTransaction(g);
                             return null;
                         }
                         else
@@ -3164,7 +3934,7 @@ class GraphOMRSMetadataStore {
                     case ANY:
                         if (propCriteria.isEmpty())
                         {
-                            g.tx().rollback();
+                            rollbackTransaction(g);
                             return null;
                         }
                         else
@@ -3180,7 +3950,7 @@ class GraphOMRSMetadataStore {
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                         break;
                     default:
-                        g.tx().rollback();
+                        rollbackTransaction(g);
                         final String parameterName = "matchCriteria";
 
                         throw new InvalidParameterException(
@@ -3236,7 +4006,7 @@ class GraphOMRSMetadataStore {
             catch (Exception e)
             {
                 log.error("{} Caught exception from relationship or entity mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.RELATIONSHIP_PROPERTIES_ERROR.getMessageDefinition(
@@ -3250,7 +4020,7 @@ class GraphOMRSMetadataStore {
             relationships.add(relationship);
         }
 
-        g.tx().commit();
+        commitTransaction(g);
 
         return relationships;
 
@@ -3278,7 +4048,7 @@ class GraphOMRSMetadataStore {
 
         List<Relationship> relationships = new ArrayList<>();
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
         GraphTraversal<Edge, Edge> gt = g.E().hasLabel("Relationship");
 
@@ -3478,7 +4248,7 @@ class GraphOMRSMetadataStore {
                      */
                     if (matchCriteria == MatchCriteria.ALL)
                     {
-                        g.tx().rollback();
+                        rollbackTransaction(g);
                         return null;
                     }
                     /*
@@ -3611,7 +4381,7 @@ class GraphOMRSMetadataStore {
                     case ALL:
                         if (propCriteria.isEmpty())
                         {
-                            g.tx().rollback();
+                            rollbackTransaction(g);
                             return null;
                         }
                         else
@@ -3623,7 +4393,7 @@ class GraphOMRSMetadataStore {
                     case ANY:
                         if (propCriteria.isEmpty())
                         {
-                            g.tx().rollback();
+                            rollbackTransaction(g);
                             return null;
                         }
                         else
@@ -3639,7 +4409,7 @@ class GraphOMRSMetadataStore {
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                         break;
                     default:
-                        g.tx().rollback();
+                        rollbackTransaction(g);
                         final String parameterName = "matchCriteria";
 
                         throw new InvalidParameterException(
@@ -3706,7 +4476,7 @@ class GraphOMRSMetadataStore {
             catch (Exception e)
             {
                 log.error("{} Caught exception from relationship or entity mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.RELATIONSHIP_PROPERTIES_ERROR.getMessageDefinition(
@@ -3720,7 +4490,7 @@ class GraphOMRSMetadataStore {
             relationships.add(relationship);
         }
 
-        g.tx().commit();
+        commitTransaction(g);
 
         return relationships;
 
@@ -3748,7 +4518,7 @@ class GraphOMRSMetadataStore {
 
         List<Relationship> relationships = new ArrayList<>();
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
         GraphTraversal<Edge, Edge> gt = g.E().hasLabel("Relationship");
 
@@ -3949,7 +4719,7 @@ class GraphOMRSMetadataStore {
                      */
                     if (matchCriteria == MatchCriteria.ALL)
                     {
-                        g.tx().rollback();
+                        rollbackTransaction(g);
                         return null;
                     }
                     /*
@@ -4081,7 +4851,7 @@ class GraphOMRSMetadataStore {
                     case ALL:
                         if (propCriteria.isEmpty())
                         {
-                            g.tx().rollback();
+                            rollbackTransaction(g);
                             return null;
                         }
                         else
@@ -4093,7 +4863,7 @@ class GraphOMRSMetadataStore {
                     case ANY:
                         if (propCriteria.isEmpty())
                         {
-                            g.tx().rollback();
+                            rollbackTransaction(g);
                             return null;
                         }
                         else
@@ -4109,7 +4879,7 @@ class GraphOMRSMetadataStore {
                         log.debug("{} traversal looks like this --> {} ", methodName, gt);
                         break;
                     default:
-                        g.tx().rollback();
+                        rollbackTransaction(g);
                         final String parameterName = "matchCriteria";
 
                         throw new InvalidParameterException(
@@ -4175,7 +4945,7 @@ class GraphOMRSMetadataStore {
             catch (Exception e)
             {
                 log.error("{} Caught exception from relationship or entity mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.RELATIONSHIP_PROPERTIES_ERROR.getMessageDefinition(
@@ -4189,7 +4959,7 @@ class GraphOMRSMetadataStore {
             relationships.add(relationship);
         }
 
-        g.tx().commit();
+        commitTransaction(g);
 
         return relationships;
 
@@ -4753,7 +5523,7 @@ class GraphOMRSMetadataStore {
 
         List<EntityDetail> entities = new ArrayList<>();
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
         // classificationName has already been validated and is known not to be null
         // entity typeName has already been validated and is known to be valid the classification type
@@ -4943,7 +5713,7 @@ class GraphOMRSMetadataStore {
                          */
                         if (matchCriteria == MatchCriteria.ALL)
                         {
-                            g.tx().rollback();
+                            rollbackTransaction(g);
                             return null;
                         }
                         /*
@@ -5064,7 +5834,7 @@ class GraphOMRSMetadataStore {
                         break;
 
                     default:
-                        g.tx().rollback();
+                        rollbackTransaction(g);
                         final String parameterName = "matchCriteria";
 
                         throw new InvalidParameterException(
@@ -5114,7 +5884,7 @@ class GraphOMRSMetadataStore {
             }
         }
 
-        g.tx().commit();
+        commitTransaction(g);
 
         return entities;
 
@@ -5291,7 +6061,7 @@ class GraphOMRSMetadataStore {
          */
 
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
         try
         {
@@ -5301,7 +6071,7 @@ class GraphOMRSMetadataStore {
             if (!t.hasNext())
             {
                 log.error("{} could not retrieve start entity with GUID {}", methodName, entityGUID);
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new EntityNotKnownException(
                         GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
@@ -5323,13 +6093,13 @@ class GraphOMRSMetadataStore {
                     EntityDetail rootEntity = new EntityDetail();
                     entityMapper.mapVertexToEntityDetail(rootVertex, rootEntity);
                     entities.add(rootEntity);
-                    g.tx().commit();
+                    commitTransaction(g);
 
                 }
                 catch (EntityProxyOnlyException | RepositoryErrorException e)
                 {
                     log.error("{} caught exception whilst trying to map entity with GUID {}, exception {}", methodName, entityGUID, e.getMessage());
-                    g.tx().rollback();
+                    rollbackTransaction(g);
 
                     throw new EntityNotKnownException(
                             GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
@@ -5345,7 +6115,7 @@ class GraphOMRSMetadataStore {
 
                     // Reset the traversal - not sure if this is strictly necessary
 
-                    g = instanceGraph.traversal();
+                    g = getTraversalSource();
 
                     GraphTraversal<Vertex, Edge> edgesTraversal = new DefaultGraphTraversal<>();
                     edgesTraversal = edgesTraversal.bothE("Relationship");
@@ -5488,7 +6258,7 @@ class GraphOMRSMetadataStore {
                                  * is wrong rather than plough on in ignorance.
                                  */
                                 log.error("{} caught exception whilst trying to map entity, exception {}", methodName, e.getMessage());
-                                g.tx().rollback();
+                                rollbackTransaction(g);
 
                                 throw new EntityNotKnownException(
                                         GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
@@ -5500,7 +6270,7 @@ class GraphOMRSMetadataStore {
                             }
                         }
                     }
-                    g.tx().commit();
+                    commitTransaction(g);
                 }
             }
 
@@ -5514,13 +6284,13 @@ class GraphOMRSMetadataStore {
         catch (EntityNotKnownException e)
         {
             log.error("{} caught entity not known exception from subgraph traversal {}", methodName, e.getMessage());
-            g.tx().rollback();
+            rollbackTransaction(g);
             throw e;
         }
         catch (Exception e)
         {
             log.error("{} caught exception from subgraph traversal {}", methodName, e.getMessage());
-            g.tx().rollback();
+            rollbackTransaction(g);
             return null;
         }
 
@@ -5606,7 +6376,7 @@ class GraphOMRSMetadataStore {
          * THe various filters are optional and are implemented using has(<property>,within(<filter-collection>))
          */
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
         try
         {
@@ -5619,7 +6389,7 @@ class GraphOMRSMetadataStore {
             {
 
                 log.error("{} could not retrieve start entity with GUID {}", methodName, startEntityGUID);
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new EntityNotKnownException(
                         GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
@@ -5653,14 +6423,14 @@ class GraphOMRSMetadataStore {
                     if (startEntityGUID.equals(endEntityGUID))
                         entities.add(rootEntity);
 
-                    g.tx().commit();
+                    commitTransaction(g);
 
                 }
                 catch (EntityProxyOnlyException | RepositoryErrorException e)
                 {
 
                     log.error("{} caught exception whilst trying to map entity with GUID {}, exception {}", methodName, startEntityGUID, e.getMessage());
-                    g.tx().rollback();
+                    rollbackTransaction(g);
 
                     throw new EntityNotKnownException(
                             GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
@@ -5674,7 +6444,7 @@ class GraphOMRSMetadataStore {
 
                 // Reset the traversal - not sure if this is strictly necessary
 
-                g = instanceGraph.traversal();
+                g = getTraversalSource();
 
                 GraphTraversal<Vertex, Edge> edgesTraversal = new DefaultGraphTraversal<>();
                 edgesTraversal = edgesTraversal.bothE("Relationship");
@@ -5744,7 +6514,7 @@ class GraphOMRSMetadataStore {
                                     catch (RepositoryErrorException | EntityProxyOnlyException e)
                                     {
                                         log.error("{} could not map vertex returned in path expression, entity GUID {}, exception {}", methodName, entityMapper.getEntityGUID(vertex), e.getMessage());
-                                        g.tx().rollback();
+                                        rollbackTransaction(g);
 
                                         throw new EntityNotKnownException(
                                                 GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
@@ -5811,7 +6581,7 @@ class GraphOMRSMetadataStore {
                                      * is wrong rather than plough on in ignorance.
                                      */
                                     log.error("{} caught exception whilst trying to map entity, exception {}", methodName, e.getMessage());
-                                    g.tx().rollback();
+                                    rollbackTransaction(g);
 
                                     throw new EntityNotKnownException(
                                             GraphOMRSErrorCode.ENTITY_NOT_FOUND.getMessageDefinition(
@@ -5833,7 +6603,7 @@ class GraphOMRSMetadataStore {
                 }
             }
 
-            g.tx().commit();
+            commitTransaction(g);
 
             // Construct the InstanceGraph from entities and relationships
             subGraph.setEntities(entities);
@@ -5845,7 +6615,7 @@ class GraphOMRSMetadataStore {
         catch (Exception e)
         {
             log.error("{} caught exception from subgraph traversal {}", methodName, e.getMessage());
-            g.tx().rollback();
+            rollbackTransaction(g);
             return null;
         }
 
@@ -5854,10 +6624,14 @@ class GraphOMRSMetadataStore {
 
 
 
-    // findEntitiesForType
-    List<EntityDetail> findEntitiesForType(String              typeDefName,
-                                           SearchProperties    searchProperties,
-                                           boolean             fullMatch)
+    // findEntitiesForEachType
+    List<EntityDetail> findEntitiesForEachType(List<String>           typeDefNames,
+                                               SearchProperties       searchProperties,
+                                               boolean                fullMatch,
+                                               List<InstanceStatus>   limitResultsByStatus,
+                                               SequencingOrder        sequencingOrder,
+                                               int                    fromEntityElement,
+                                               int                    pageSize)
 
     throws InvalidParameterException,
            RepositoryErrorException,
@@ -5865,11 +6639,92 @@ class GraphOMRSMetadataStore {
 
     {
 
-        final String methodName = "findEntitiesForType";
+        final String methodName = "findEntitiesForEachType";
 
         List<EntityDetail> entities = new ArrayList<>();
 
+        GraphTraversalSource g = getTraversalSource();
+
+        /*
+         * The search properties are checked separately for each type because the same short property name can
+         * refer to different type-defined attributes in different types. Each type contributes one branch to a
+         * single traversal, so the results for all of the types can be sequenced and paged by the graph.
+         */
+        List<GraphTraversal<Vertex, Vertex>> typeCriteria = new ArrayList<>();
+
+        for (String typeDefName : typeDefNames)
+        {
+            GraphTraversal<Vertex, Vertex> t = new DefaultGraphTraversal<>();
+            t = t.has(PROPERTY_KEY_ENTITY_TYPE_NAME, typeDefName);
+            typeCriteria.add(addEntitySearchCriteriaForType(g, t, typeDefName, searchProperties, fullMatch, methodName));
+        }
+
+        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity");
+        gt = gt.has(PROPERTY_KEY_ENTITY_TYPE_NAME, within(typeDefNames));
+
+        // Only accept non-proxy entities:
+        gt = gt.has(PROPERTY_KEY_ENTITY_IS_PROXY, false);
+
+        gt = gt.or(typeCriteria.toArray(new GraphTraversal[0]));
+
+        gt = addEntityPaging(gt, limitResultsByStatus, sequencingOrder, fromEntityElement, pageSize);
+
+        log.debug("{} traversal looks like this --> {} ", methodName, gt);
+
+        while (gt.hasNext())
+        {
+            Vertex vertex = gt.next();
+            log.debug("{} found vertex {}", methodName, vertex);
+
+            EntityDetail entityDetail = new EntityDetail();
+            try
+            {
+                // Check if we have stumbled on a proxy somehow, and if so avoid processing it.
+                Boolean isProxy = entityMapper.isProxy(vertex);
+                if (!isProxy)
+                {
+                    entityMapper.mapVertexToEntityDetail(vertex, entityDetail);
+                    entities.add(entityDetail);
+                }
+            }
+            catch (Exception e)
+            {
+                log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
+                rollbackTransaction(g);
+
+                throw new RepositoryErrorException(
+                        GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR.getMessageDefinition(
+                                entityDetail.getGUID(), methodName,
+                                this.getClass().getName(),
+                                repositoryName),
+                        this.getClass().getName(),
+                        methodName, e);
+            }
+        }
+
+        commitTransaction(g);
+
+        return entities;
+
+    }
+
+
+
+    /*
+     * Add the criteria for the search properties of a find request to a traversal of the entities of one type.
+     */
+    private GraphTraversal<Vertex, Vertex> addEntitySearchCriteriaForType(GraphTraversalSource            g,
+                                                                          GraphTraversal<Vertex, Vertex>  gt,
+                                                                          String                          typeDefName,
+                                                                          SearchProperties                searchProperties,
+                                                                          boolean                         fullMatch,
+                                                                          String                          methodName)
 
+    throws InvalidParameterException,
+           RepositoryErrorException,
+           FunctionNotSupportedException
+
+    {
         /*
          *
          * There are two origins of properties stored on an instance vertex in the graph -
@@ -5905,21 +6760,6 @@ class GraphOMRSMetadataStore {
          */
 
 
-        /*
-         * Even if there are no search properties specified, the method performs a traversal.
-         */
-
-        GraphTraversalSource g = instanceGraph.traversal();
-
-        GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity");
-        if (typeDefName != null)
-        {
-            gt = gt.has(PROPERTY_KEY_ENTITY_TYPE_NAME, typeDefName);
-        }
-        // Only accept non-proxy entities:
-        gt = gt.has(PROPERTY_KEY_ENTITY_IS_PROXY, false);
-
-
         if (searchProperties != null)
         {
 
@@ -6002,46 +6842,12 @@ class GraphOMRSMetadataStore {
                  * If anything went wrong (e.g. invalid match criteria or invalid parameter) catch the
                  * exception and perform a rollback. Then rethrow for error reporting.
                  */
-                g.tx().rollback();
+                rollbackTransaction(g);
                 throw e;
             }
         }
 
-        while (gt.hasNext())
-        {
-            Vertex vertex = gt.next();
-            log.debug("{} found vertex {}", methodName, vertex);
-
-            EntityDetail entityDetail = new EntityDetail();
-            try
-            {
-                // Check if we have stumbled on a proxy somehow, and if so avoid processing it.
-                Boolean isProxy = entityMapper.isProxy(vertex);
-                if (!isProxy)
-                {
-                    entityMapper.mapVertexToEntityDetail(vertex, entityDetail);
-                    entities.add(entityDetail);
-                }
-            }
-            catch (Exception e)
-            {
-                log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
-
-                throw new RepositoryErrorException(
-                        GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR.getMessageDefinition(
-                                entityDetail.getGUID(), methodName,
-                                this.getClass().getName(),
-                                repositoryName),
-                        this.getClass().getName(),
-                        methodName, e);
-            }
-        }
-
-        g.tx().commit();
-
-        return entities;
-
+        return gt;
     }
 
 
@@ -6054,7 +6860,11 @@ class GraphOMRSMetadataStore {
                                             String                         filterTypeName,
                                             Map<String, TypeDefAttribute>  qualifiedPropertyNameToTypeDefinedAttribute,
                                             Map<String, List<String>>      shortPropertyNameToQualifiedPropertyNames,
-                                            SearchProperties               searchProperties)
+                                            SearchProperties               searchProperties,
+                                            List<InstanceStatus>           limitResultsByStatus,
+                                            SequencingOrder                sequencingOrder,
+                                            int                            fromEntityElement,
+                                            int                            pageSize)
 
     throws InvalidParameterException,
            RepositoryErrorException,
@@ -6070,7 +6880,7 @@ class GraphOMRSMetadataStore {
         /*
          * Get the traversal started,...
          */
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
         GraphTraversal<Vertex, Vertex> gt = g.V().hasLabel("Entity");
 
         /*
@@ -6209,7 +7019,7 @@ class GraphOMRSMetadataStore {
                  * If anything went wrong (e.g. invalid match criteria or invalid parameter) catch the
                  * exception and perform a rollback. Then rethrow for error reporting.
                  */
-                g.tx().rollback();
+                rollbackTransaction(g);
                 throw e;
             }
 
@@ -6225,6 +7035,8 @@ class GraphOMRSMetadataStore {
         }
 
 
+        gt = addEntityPaging(gt, limitResultsByStatus, sequencingOrder, fromEntityElement, pageSize);
+
         List<EntityDetail> entities = new ArrayList<>();
 
         /*
@@ -6252,7 +7064,7 @@ class GraphOMRSMetadataStore {
             catch (Exception e)
             {
                 log.error("{} Caught exception from entity mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.ENTITY_PROPERTIES_ERROR.getMessageDefinition(
@@ -6264,7 +7076,7 @@ class GraphOMRSMetadataStore {
             }
         }
 
-        g.tx().commit();
+        commitTransaction(g);
 
         return entities;
     }
@@ -6293,7 +7105,7 @@ class GraphOMRSMetadataStore {
         /*
          * Get the traversal started,...
          */
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
         GraphTraversal<Edge, Edge> gt = g.E().hasLabel("Relationship");
 
 
@@ -6393,7 +7205,7 @@ class GraphOMRSMetadataStore {
                  * If anything went wrong (e.g. invalid match criteria or invalid parameter) catch the
                  * exception and perform a rollback. Then rethrow for error reporting.
                  */
-                g.tx().rollback();
+                rollbackTransaction(g);
                 throw e;
             }
 
@@ -6451,7 +7263,7 @@ class GraphOMRSMetadataStore {
             catch (Exception e)
             {
                 log.error("{} Caught exception from relationship or entity mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.RELATIONSHIP_PROPERTIES_ERROR.getMessageDefinition(
@@ -6465,7 +7277,7 @@ class GraphOMRSMetadataStore {
             relationships.add(relationship);
         }
 
-        g.tx().commit();
+        commitTransaction(g);
 
         return relationships;
     }
@@ -6494,7 +7306,7 @@ class GraphOMRSMetadataStore {
          * Even if there are no search properties specified, the method performs a traversal.
          */
 
-        GraphTraversalSource g = instanceGraph.traversal();
+        GraphTraversalSource g = getTraversalSource();
 
         GraphTraversal<Edge, Edge> gt = g.E().hasLabel("Relationship");
         if (typeDefName != null)
@@ -6586,7 +7398,7 @@ class GraphOMRSMetadataStore {
                  * If anything went wrong (e.g. invalid match criteria or invalid parameter) catch the
                  * exception and perform a rollback. Then rethrow for error reporting.
                  */
-                g.tx().rollback();
+                rollbackTransaction(g);
                 throw e;
             }
         }
@@ -6627,7 +7439,7 @@ class GraphOMRSMetadataStore {
             catch (Exception e)
             {
                 log.error("{} Caught exception from relationship or entity mapper {}", methodName, e.getMessage());
-                g.tx().rollback();
+                rollbackTransaction(g);
 
                 throw new RepositoryErrorException(
                         GraphOMRSErrorCode.RELATIONSHIP_PROPERTIES_ERROR.getMessageDefinition(
@@ -6641,7 +7453,7 @@ class GraphOMRSMetadataStore {
             relationships.add(relationship);
         }
 
-        g.tx().commit();
+        commitTransaction(g);
 
         return relationships;
 
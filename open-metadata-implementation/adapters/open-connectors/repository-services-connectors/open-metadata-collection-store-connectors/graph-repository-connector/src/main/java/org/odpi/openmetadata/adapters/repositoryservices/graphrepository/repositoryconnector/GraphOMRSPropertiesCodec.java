@@ -0,0 +1,756 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EnumPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.MapPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.StructPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * GraphOMRSPropertiesCodec converts the type-specific properties of an entity, relationship or classification to and
+ * from the string value that is stored on the vertex or edge.
+ *
+ * The properties are encoded in a compact binary form that is stored as a Base64 string after a format prefix.
+ * The names, type names and type GUIDs are held once in a string table at the front of the value.  This is followed
+ * by a property table that holds the offset of each top level property value, so that a single property can be
+ * decoded without decoding the rest.  Values stored by earlier levels of the connector are JSON strings - these are
+ * recognised because they do not start with the format prefix and are still read.
+ */
+final class GraphOMRSPropertiesCodec
+{
+    /*
+     * Prefix of a stored value in the binary format - the last character is the format version.
+     */
+    private static final String FORMAT_PREFIX  = "omrsb1:";
+    private static final byte   FORMAT_VERSION = 1;
+
+    /*
+     * Markers for the value of a property.  The instance property category ordinals are used for the
+     * known categories.  Any other property value is stored as JSON.
+     */
+    private static final byte VALUE_JSON = 100;
+
+    /*
+     * Markers for the Java class of a primitive value.
+     */
+    private static final byte PRIMITIVE_NULL        = 0;
+    private static final byte PRIMITIVE_BOOLEAN     = 1;
+    private static final byte PRIMITIVE_BYTE        = 2;
+    private static final byte PRIMITIVE_CHAR        = 3;
+    private static final byte PRIMITIVE_SHORT       = 4;
+    private static final byte PRIMITIVE_INT         = 5;
+    private static final byte PRIMITIVE_LONG        = 6;
+    private static final byte PRIMITIVE_FLOAT       = 7;
+    private static final byte PRIMITIVE_DOUBLE      = 8;
+    private static final byte PRIMITIVE_BIGINTEGER  = 9;
+    private static final byte PRIMITIVE_BIGDECIMAL  = 10;
+    private static final byte PRIMITIVE_STRING      = 11;
+    private static final byte PRIMITIVE_DATE        = 12;
+
+
+    /*
+     * Static methods only
+     */
+    private GraphOMRSPropertiesCodec()
+    {
+    }
+
+
+    /**
+     * Encode the supplied properties as a string for storing in the graph.
+     *
+     * @param properties properties to encode
+     * @return encoded value
+     * @throws IOException the properties could not be encoded
+     */
+    static String encode(InstanceProperties   properties) throws IOException
+    {
+        Map<String, Integer>  stringTable   = new LinkedHashMap<>();
+        List<Integer>         nameIndexes   = new ArrayList<>();
+        List<Integer>         offsets       = new ArrayList<>();
+        ByteArrayOutputStream valuesBytes   = new ByteArrayOutputStream();
+        DataOutputStream      valuesOut     = new DataOutputStream(valuesBytes);
+
+        Iterator<String> propertyNames = properties.getPropertyNames();
+
+        while (propertyNames.hasNext())
+        {
+            String propertyName = propertyNames.next();
+
+            nameIndexes.add(getStringIndex(stringTable, propertyName));
+            offsets.add(valuesOut.size());
+            writeValue(valuesOut, properties.getPropertyValue(propertyName), stringTable);
+        }
+
+        valuesOut.flush();
+
+        ByteArrayOutputStream encodedBytes = new ByteArrayOutputStream();
+        DataOutputStream      out          = new DataOutputStream(encodedBytes);
+
+        out.writeByte(FORMAT_VERSION);
+
+        out.writeInt(stringTable.size());
+        for (String tableEntry : stringTable.keySet())
+        {
+            writeString(out, tableEntry);
+        }
+
+        writeDate(out, properties.getEffectiveFromTime());
+        writeDate(out, properties.getEffectiveToTime());
+
+        out.writeInt(nameIndexes.size());
+        for (int i = 0; i < nameIndexes.size(); i++)
+        {
+            out.writeInt(nameIndexes.get(i));
+            out.writeInt(offsets.get(i));
+        }
+
+        out.writeInt(valuesBytes.size());
+        valuesBytes.writeTo(out);
+        out.flush();
+
+        return FORMAT_PREFIX + Base64.getEncoder().encodeToString(encodedBytes.toByteArray());
+    }
+
+
+    /**
+     * Decode all of the properties from a stored value.
+     *
+     * @param storedValue value retrieved from the graph
+     * @return decoded properties
+     * @throws IOException the stored value could not be decoded
+     */
+    static InstanceProperties decode(String   storedValue) throws IOException
+    {
+        return decode(storedValue, null);
+    }
+
+
+    /**
+     * Decode the named properties from a stored value.  The values of the other properties are not decoded.
+     *
+     * @param storedValue value retrieved from the graph
+     * @param propertyNames names of the properties to return or null for all of the properties
+     * @return decoded properties
+     * @throws IOException the stored value could not be decoded
+     */
+    static InstanceProperties decode(String               storedValue,
+                                     Collection<String>   propertyNames) throws IOException
+    {
+        if (! storedValue.startsWith(FORMAT_PREFIX))
+        {
+            /*
+             * The value was stored as JSON.
+             */
+            InstanceProperties properties = OMRSJSONSerializer.readValue(storedValue, InstanceProperties.class);
+
+            if (propertyNames == null)
+            {
+                return properties;
+            }
+
+            InstanceProperties selectedProperties = new InstanceProperties();
+
+            selectedProperties.setEffectiveFromTime(properties.getEffectiveFromTime());
+            selectedProperties.setEffectiveToTime(properties.getEffectiveToTime());
+
+            for (String propertyName : propertyNames)
+            {
+                InstancePropertyValue propertyValue = properties.getPropertyValue(propertyName);
+
+                if (propertyValue != null)
+                {
+                    selectedProperties.setProperty(propertyName, propertyValue);
+                }
+            }
+
+            return selectedProperties;
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(Base64.getDecoder().decode(storedValue.substring(FORMAT_PREFIX.length())));
+
+        byte version = in.get();
+        if (version != FORMAT_VERSION)
+        {
+            throw new IOException("Unsupported properties format version " + version);
+        }
+
+        String[] stringTable = new String[in.getInt()];
+        for (int i = 0; i < stringTable.length; i++)
+        {
+            stringTable[i] = readString(in);
+        }
+
+        InstanceProperties properties = new InstanceProperties();
+
+        properties.setEffectiveFromTime(readDate(in));
+        properties.setEffectiveToTime(readDate(in));
+
+        int   propertyCount = in.getInt();
+        int[] nameIndexes   = new int[propertyCount];
+        int[] offsets       = new int[propertyCount];
+
+        for (int i = 0; i < propertyCount; i++)
+        {
+            nameIndexes[i] = in.getInt();
+            offsets[i]     = in.getInt();
+        }
+
+        int valuesLength = in.getInt();
+        int valuesStart  = in.position();
+
+        if (valuesStart + valuesLength != in.limit())
+        {
+            throw new IOException("Properties value is truncated");
+        }
+
+        for (int i = 0; i < propertyCount; i++)
+        {
+            String propertyName = stringTable[nameIndexes[i]];
+
+            if ((propertyNames == null) || (propertyNames.contains(propertyName)))
+            {
+                in.position(valuesStart + offsets[i]);
+
+                InstancePropertyValue propertyValue = readValue(in, stringTable);
+
+                if (propertyValue != null)
+                {
+                    properties.setProperty(propertyName, propertyValue);
+                }
+            }
+        }
+
+        return properties;
+    }
+
+
+    /**
+     * Return the index of a string in the string table, adding it if necessary.
+     *
+     * @param stringTable string table
+     * @param value string to look up
+     * @return index or -1 for null
+     */
+    private static int getStringIndex(Map<String, Integer>   stringTable,
+                                      String                 value)
+    {
+        if (value == null)
+        {
+            return -1;
+        }
+
+        return stringTable.computeIfAbsent(value, key -> stringTable.size());
+    }
+
+
+    /**
+     * Return the string from the string table at the index read from the buffer.
+     *
+     * @param in buffer
+     * @param stringTable string table
+     * @return string or null
+     */
+    private static String readStringIndex(ByteBuffer   in,
+                                          String[]     stringTable)
+    {
+        int index = in.getInt();
+
+        if (index == -1)
+        {
+            return null;
+        }
+
+        return stringTable[index];
+    }
+
+
+    /**
+     * Write a property value.
+     *
+     * @param out output stream
+     * @param propertyValue value to write
+     * @param stringTable string table
+     * @throws IOException the value could not be written
+     */
+    private static void writeValue(DataOutputStream       out,
+                                   InstancePropertyValue  propertyValue,
+                                   Map<String, Integer>   stringTable) throws IOException
+    {
+        InstancePropertyCategory category = propertyValue.getInstancePropertyCategory();
+
+        if ((category == InstancePropertyCategory.PRIMITIVE) && (propertyValue instanceof PrimitivePropertyValue))
+        {
+            PrimitivePropertyValue primitivePropertyValue = (PrimitivePropertyValue) propertyValue;
+
+            if (isSupportedPrimitive(primitivePropertyValue.getPrimitiveValue()))
+            {
+                writeValueHeader(out, propertyValue, stringTable);
+                out.writeInt(primitivePropertyValue.getPrimitiveDefCategory() == null ? -1 : primitivePropertyValue.getPrimitiveDefCategory().getOrdinal());
+                writePrimitive(out, primitivePropertyValue.getPrimitiveValue());
+                return;
+            }
+        }
+        else if ((category == InstancePropertyCategory.ENUM) && (propertyValue instanceof EnumPropertyValue))
+        {
+            EnumPropertyValue enumPropertyValue = (EnumPropertyValue) propertyValue;
+
+            writeValueHeader(out, propertyValue, stringTable);
+            out.writeInt(enumPropertyValue.getOrdinal());
+            out.writeInt(getStringIndex(stringTable, enumPropertyValue.getSymbolicName()));
+            writeString(out, enumPropertyValue.getDescription());
+            return;
+        }
+        else if ((category == InstancePropertyCategory.STRUCT) && (propertyValue instanceof StructPropertyValue))
+        {
+            writeValueHeader(out, propertyValue, stringTable);
+            writeNestedProperties(out, ((StructPropertyValue) propertyValue).getAttributes(), stringTable);
+            return;
+        }
+        else if ((category == InstancePropertyCategory.MAP) && (propertyValue instanceof MapPropertyValue))
+        {
+            writeValueHeader(out, propertyValue, stringTable);
+            writeNestedProperties(out, ((MapPropertyValue) propertyValue).getMapValues(), stringTable);
+            return;
+        }
+        else if ((category == InstancePropertyCategory.ARRAY) && (propertyValue instanceof ArrayPropertyValue))
+        {
+            ArrayPropertyValue arrayPropertyValue = (ArrayPropertyValue) propertyValue;
+
+            writeValueHeader(out, propertyValue, stringTable);
+            out.writeInt(arrayPropertyValue.getArrayCount());
+            writeNestedProperties(out, arrayPropertyValue.getArrayValues(), stringTable);
+            return;
+        }
+
+        /*
+         * Anything else is kept as JSON so that nothing is lost.
+         */
+        out.writeByte(VALUE_JSON);
+        writeString(out, OMRSJSONSerializer.writeValueAsString(propertyValue));
+    }
+
+
+    /**
+     * Write the category and type of a property value.
+     *
+     * @param out output stream
+     * @param propertyValue value to write
+     * @param stringTable string table
+     * @throws IOException the value could not be written
+     */
+    private static void writeValueHeader(DataOutputStream       out,
+                                         InstancePropertyValue  propertyValue,
+                                         Map<String, Integer>   stringTable) throws IOException
+    {
+        out.writeByte(propertyValue.getInstancePropertyCategory().getOrdinal());
+        out.writeInt(getStringIndex(stringTable, propertyValue.getTypeName()));
+        out.writeInt(getStringIndex(stringTable, propertyValue.getTypeGUID()));
+    }
+
+
+    /**
+     * Read a property value.
+     *
+     * @param in buffer positioned at the start of the value
+     * @param stringTable string table
+     * @return property value
+     * @throws IOException the value could not be read
+     */
+    private static InstancePropertyValue readValue(ByteBuffer   in,
+                                                   String[]     stringTable) throws IOException
+    {
+        byte marker = in.get();
+
+        if (marker == VALUE_JSON)
+        {
+            return OMRSJSONSerializer.readValue(readString(in), InstancePropertyValue.class);
+        }
+
+        String                typeName     = readStringIndex(in, stringTable);
+        String                typeGUID     = readStringIndex(in, stringTable);
+        InstancePropertyValue propertyValue;
+
+        if (marker == InstancePropertyCategory.PRIMITIVE.getOrdinal())
+        {
+            PrimitivePropertyValue primitivePropertyValue = new PrimitivePropertyValue();
+
+            primitivePropertyValue.setPrimitiveDefCategory(getPrimitiveDefCategory(in.getInt()));
+            primitivePropertyValue.setPrimitiveValue(readPrimitive(in));
+            propertyValue = primitivePropertyValue;
+        }
+        else if (marker == InstancePropertyCategory.ENUM.getOrdinal())
+        {
+            EnumPropertyValue enumPropertyValue = new EnumPropertyValue();
+
+            enumPropertyValue.setOrdinal(in.getInt());
+            enumPropertyValue.setSymbolicName(readStringIndex(in, stringTable));
+            enumPropertyValue.setDescription(readString(in));
+            propertyValue = enumPropertyValue;
+        }
+        else if (marker == InstancePropertyCategory.STRUCT.getOrdinal())
+        {
+            StructPropertyValue structPropertyValue = new StructPropertyValue();
+
+            structPropertyValue.setAttributes(readNestedProperties(in, stringTable));
+            propertyValue = structPropertyValue;
+        }
+        else if (marker == InstancePropertyCategory.MAP.getOrdinal())
+        {
+            MapPropertyValue mapPropertyValue = new MapPropertyValue();
+
+            mapPropertyValue.setMapValues(readNestedProperties(in, stringTable));
+            propertyValue = mapPropertyValue;
+        }
+        else if (marker == InstancePropertyCategory.ARRAY.getOrdinal())
+        {
+            ArrayPropertyValue arrayPropertyValue = new ArrayPropertyValue();
+
+            arrayPropertyValue.setArrayCount(in.getInt());
+            arrayPropertyValue.setArrayValues(readNestedProperties(in, stringTable));
+            propertyValue = arrayPropertyValue;
+        }
+        else
+        {
+            throw new IOException("Unknown property value marker " + marker);
+        }
+
+        propertyValue.setTypeName(typeName);
+        propertyValue.setTypeGUID(typeGUID);
+
+        return propertyValue;
+    }
+
+
+    /**
+     * Write the properties held in a struct, map or array value.
+     *
+     * @param out output stream
+     * @param properties properties to write - may be null
+     * @param stringTable string table
+     * @throws IOException the properties could not be written
+     */
+    private static void writeNestedProperties(DataOutputStream       out,
+                                              InstanceProperties     properties,
+                                              Map<String, Integer>   stringTable) throws IOException
+    {
+        if (properties == null)
+        {
+            out.writeInt(-1);
+            return;
+        }
+
+        out.writeInt(properties.getPropertyCount());
+        writeDate(out, properties.getEffectiveFromTime());
+        writeDate(out, properties.getEffectiveToTime());
+
+        Iterator<String> propertyNames = properties.getPropertyNames();
+
+        while (propertyNames.hasNext())
+        {
+            String propertyName = propertyNames.next();
+
+            out.writeInt(getStringIndex(stringTable, propertyName));
+            writeValue(out, properties.getPropertyValue(propertyName), stringTable);
+        }
+    }
+
+
+    /**
+     * Read the properties held in a struct, map or array value.
+     *
+     * @param in buffer positioned at the start of the properties
+     * @param stringTable string table
+     * @return properties or null
+     * @throws IOException the properties could not be read
+     */
+    private static InstanceProperties readNestedProperties(ByteBuffer   in,
+                                                           String[]     stringTable) throws IOException
+    {
+        int propertyCount = in.getInt();
+
+        if (propertyCount == -1)
+        {
+            return null;
+        }
+
+        InstanceProperties properties = new InstanceProperties();
+
+        properties.setEffectiveFromTime(readDate(in));
+        properties.setEffectiveToTime(readDate(in));
+
+        for (int i = 0; i < propertyCount; i++)
+        {
+            String                propertyName  = readStringIndex(in, stringTable);
+            InstancePropertyValue propertyValue = readValue(in, stringTable);
+
+            properties.setProperty(propertyName, propertyValue);
+        }
+
+        return properties;
+    }
+
+
+    /**
+     * Return whether a primitive value is one of the Java classes that has a binary form.
+     *
+     * @param value primitive value
+     * @return boolean
+     */
+    private static boolean isSupportedPrimitive(Object   value)
+    {
+        return (value == null) || (value instanceof Boolean) || (value instanceof Byte) || (value instanceof Character) ||
+               (value instanceof Short) || (value instanceof Integer) || (value instanceof Long) || (value instanceof Float) ||
+               (value instanceof Double) || (value instanceof BigInteger) || (value instanceof BigDecimal) ||
+               (value instanceof String) || (value instanceof Date);
+    }
+
+
+    /**
+     * Write a primitive value along with a marker for its Java class.  The Java class is kept so that the value
+     * is returned exactly as it was stored.
+     *
+     * @param out output stream
+     * @param value primitive value - must be a supported class
+     * @throws IOException the value could not be written
+     */
+    private static void writePrimitive(DataOutputStream   out,
+                                       Object             value) throws IOException
+    {
+        if (value == null)
+        {
+            out.writeByte(PRIMITIVE_NULL);
+        }
+        else if (value instanceof Boolean)
+        {
+            out.writeByte(PRIMITIVE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        }
+        else if (value instanceof Byte)
+        {
+            out.writeByte(PRIMITIVE_BYTE);
+            out.writeByte((Byte) value);
+        }
+        else if (value instanceof Character)
+        {
+            out.writeByte(PRIMITIVE_CHAR);
+            out.writeChar((Character) value);
+        }
+        else if (value instanceof Short)
+        {
+            out.writeByte(PRIMITIVE_SHORT);
+            out.writeShort((Short) value);
+        }
+        else if (value instanceof Integer)
+        {
+            out.writeByte(PRIMITIVE_INT);
+            out.writeInt((Integer) value);
+        }
+        else if (value instanceof Long)
+        {
+            out.writeByte(PRIMITIVE_LONG);
+            out.writeLong((Long) value);
+        }
+        else if (value instanceof Float)
+        {
+            out.writeByte(PRIMITIVE_FLOAT);
+            out.writeFloat((Float) value);
+        }
+        else if (value instanceof Double)
+        {
+            out.writeByte(PRIMITIVE_DOUBLE);
+            out.writeDouble((Double) value);
+        }
+        else if (value instanceof BigInteger)
+        {
+            out.writeByte(PRIMITIVE_BIGINTEGER);
+            writeString(out, value.toString());
+        }
+        else if (value instanceof BigDecimal)
+        {
+            out.writeByte(PRIMITIVE_BIGDECIMAL);
+            writeString(out, value.toString());
+        }
+        else if (value instanceof String)
+        {
+            out.writeByte(PRIMITIVE_STRING);
+            writeString(out, (String) value);
+        }
+        else
+        {
+            out.writeByte(PRIMITIVE_DATE);
+            out.writeLong(((Date) value).getTime());
+        }
+    }
+
+
+    /**
+     * Read a primitive value.
+     *
+     * @param in buffer positioned at the start of the value
+     * @return primitive value
+     * @throws IOException the value could not be read
+     */
+    private static Object readPrimitive(ByteBuffer   in) throws IOException
+    {
+        byte marker = in.get();
+
+        switch (marker)
+        {
+            case PRIMITIVE_NULL:
+                return null;
+            case PRIMITIVE_BOOLEAN:
+                return in.get() != 0;
+            case PRIMITIVE_BYTE:
+                return in.get();
+            case PRIMITIVE_CHAR:
+                return in.getChar();
+            case PRIMITIVE_SHORT:
+                return in.getShort();
+            case PRIMITIVE_INT:
+                return in.getInt();
+            case PRIMITIVE_LONG:
+                return in.getLong();
+            case PRIMITIVE_FLOAT:
+                return in.getFloat();
+            case PRIMITIVE_DOUBLE:
+                return in.getDouble();
+            case PRIMITIVE_BIGINTEGER:
+                return new BigInteger(readString(in));
+            case PRIMITIVE_BIGDECIMAL:
+                return new BigDecimal(readString(in));
+            case PRIMITIVE_STRING:
+                return readString(in);
+            case PRIMITIVE_DATE:
+                return new Date(in.getLong());
+            default:
+                throw new IOException("Unknown primitive value marker " + marker);
+        }
+    }
+
+
+    /**
+     * Return the primitive def category for an ordinal.
+     *
+     * @param ordinal stored ordinal
+     * @return category or null
+     */
+    private static PrimitiveDefCategory getPrimitiveDefCategory(int   ordinal)
+    {
+        for (PrimitiveDefCategory primitiveDefCategory : PrimitiveDefCategory.values())
+        {
+            if (primitiveDefCategory.getOrdinal() == ordinal)
+            {
+                return primitiveDefCategory;
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Write an optional date as a flag followed by its time.
+     *
+     * @param out output stream
+     * @param date date or null
+     * @throws IOException the date could not be written
+     */
+    private static void writeDate(DataOutputStream   out,
+                                  Date               date) throws IOException
+    {
+        out.writeBoolean(date != null);
+
+        if (date != null)
+        {
+            out.writeLong(date.getTime());
+        }
+    }
+
+
+    /**
+     * Read an optional date.
+     *
+     * @param in buffer positioned at the start of the date
+     * @return date or null
+     */
+    private static Date readDate(ByteBuffer   in)
+    {
+        if (in.get() == 0)
+        {
+            return null;
+        }
+
+        return new Date(in.getLong());
+    }
+
+
+    /**
+     * Write an optional string as its length followed by its UTF-8 bytes.
+     *
+     * @param out output stream
+     * @param value string or null
+     * @throws IOException the string could not be written
+     */
+    private static void writeString(DataOutputStream   out,
+                                    String             value) throws IOException
+    {
+        if (value == null)
+        {
+            out.writeInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+
+    /**
+     * Read an optional string.
+     *
+     * @param in buffer positioned at the start of the string
+     * @return string or null
+     */
+    private static String readString(ByteBuffer   in)
+    {
+        int length = in.getInt();
+
+        if (length == -1)
+        {
+            return null;
+        }
+
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+
+        in.position(in.position() + length);
+
+        return value;
+    }
+}
@@ -5,6 +5,7 @@ package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.reposi
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 
 /**
  * The GraphOMRSRepositoryConnector is a connector to a local open metadata repository that uses a graph store
@@ -58,4 +59,41 @@ public class GraphOMRSRepositoryConnector extends OMRSRepositoryConnector
                                               error);
         }
     }
+
+
+    /**
+     * Start bulk load mode - for example while an archive is imported or while reference copies are loaded from
+     * the cohort.  New entities, relationships and reference copies are written to the graph in batches that are each
+     * committed in a single JanusGraph batch loading transaction.  Bulk load mode assumes that only this server is
+     * writing to the graph until it is ended.
+     *
+     * @param batchSize number of writes in each batch - zero or less uses the default
+     * @throws RepositoryErrorException the repository is not active
+     */
+    @Override
+    public void startBulkLoad(int batchSize) throws RepositoryErrorException
+    {
+        final String methodName = "startBulkLoad";
+
+        super.validateRepositoryIsActive(methodName);
+
+        ((GraphOMRSMetadataCollection) super.getMetadataCollection()).startBulkLoad(batchSize);
+    }
+
+
+    /**
+     * End bulk load mode.  The last batch is committed, each write is then committed in its own transaction and the
+     * instances that were loaded are checked for duplicates.
+     *
+     * @throws RepositoryErrorException the repository is not active or the last batch could not be committed
+     */
+    @Override
+    public void endBulkLoad() throws RepositoryErrorException
+    {
+        final String methodName = "endBulkLoad";
+
+        super.validateRepositoryIsActive(methodName);
+
+        ((GraphOMRSMetadataCollection) super.getMetadataCollection()).endBulkLoad();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,280 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Verify that a failed write in bulk load mode rolls back the current batch and makes the earlier writes
+ * in the batch again, so that they are committed when bulk load mode ends.
+ */
+public class GraphOMRSMetadataStoreBulkLoadTest
+{
+    private static final String metadataCollectionId = "bulk-load-test-collection";
+    private static final String repositoryName       = "bulk-load-test-repository";
+    private static final String typeDefName          = "TestEntity";
+    private static final String typeDefGUID          = "test-entity-type-guid";
+
+    private Path directory;
+
+
+    /**
+     * Create an empty directory for the graph.
+     *
+     * @throws IOException the directory can not be created
+     */
+    @BeforeMethod public void createDirectory() throws IOException
+    {
+        directory = Files.createTempDirectory("graph-bulk-load-test");
+    }
+
+
+    /**
+     * Remove the graph.
+     *
+     * @throws IOException problem cleaning up
+     */
+    @AfterMethod public void removeDirectory() throws IOException
+    {
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+
+    /**
+     * A duplicate entity is rejected without losing the writes made earlier in the same batch.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testFailedWriteRestoresBatch() throws Exception
+    {
+        GraphOMRSMetadataStore store = getStore();
+
+        store.startBulkLoad(10);
+
+        store.createEntityInStore(getEntity("1111"));
+        store.createEntityProxyInStore(getEntityProxy("2222"));
+
+        try
+        {
+            store.createEntityInStore(getEntity("1111"));
+            fail("The entity already exists");
+        }
+        catch (InvalidParameterException error)
+        {
+            // expected
+        }
+
+        store.createEntityInStore(getEntity("3333"));
+
+        /*
+         * The entities are read from the open batch.
+         */
+        assertEquals(store.getEntityDetailFromStore("1111").getGUID(), "1111");
+        assertEquals(store.getEntityDetailFromStore("3333").getGUID(), "3333");
+
+        store.endBulkLoad();
+
+        EntityDetail entityOne = store.getEntityDetailFromStore("1111");
+        assertNotNull(entityOne);
+        assertEquals(entityOne.getCreatedBy(), "testUser");
+        assertNotNull(store.getEntityDetailFromStore("3333"));
+
+        EntityProxy entityProxy = store.getEntityProxyFromStore("2222");
+        assertNotNull(entityProxy);
+        assertEquals(entityProxy.getGUID(), "2222");
+    }
+
+
+    /**
+     * Writes from other threads wait for the write in progress, so a failure in one thread does not
+     * discard the writes of another.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testConcurrentWrites() throws Exception
+    {
+        GraphOMRSMetadataStore store = getStore();
+
+        store.startBulkLoad(7);
+
+        Map<String, Exception> errors = new HashMap<>();
+
+        Thread[] threads = new Thread[4];
+        for (int threadNumber = 0; threadNumber < threads.length; threadNumber++)
+        {
+            final String prefix = "thread-" + threadNumber + "-";
+
+            threads[threadNumber] = new Thread(() ->
+            {
+                for (int entityNumber = 0; entityNumber < 10; entityNumber++)
+                {
+                    try
+                    {
+                        store.createEntityInStore(getEntity(prefix + entityNumber));
+
+                        try
+                        {
+                            store.createEntityInStore(getEntity(prefix + entityNumber));
+                        }
+                        catch (InvalidParameterException error)
+                        {
+                            // expected
+                        }
+                    }
+                    catch (Exception error)
+                    {
+                        synchronized (errors)
+                        {
+                            errors.put(prefix + entityNumber, error);
+                        }
+                    }
+                }
+            });
+            threads[threadNumber].start();
+        }
+
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        store.endBulkLoad();
+
+        assertTrue(errors.isEmpty(), errors.toString());
+
+        for (int threadNumber = 0; threadNumber < threads.length; threadNumber++)
+        {
+            for (int entityNumber = 0; entityNumber < 10; entityNumber++)
+            {
+                String guid = "thread-" + threadNumber + "-" + entityNumber;
+
+                assertNotNull(store.getEntityDetailFromStore(guid), guid);
+            }
+        }
+    }
+
+
+    /**
+     * Create a store for a new graph in the test directory.
+     *
+     * @return store
+     * @throws Exception the graph can not be opened
+     */
+    private GraphOMRSMetadataStore getStore() throws Exception
+    {
+        InstanceType instanceType = getInstanceType();
+
+        OMRSRepositoryHelper repositoryHelper = mock(OMRSRepositoryHelper.class);
+        when(repositoryHelper.getNewInstanceType(anyString(), any())).thenReturn(instanceType);
+
+        Map<String, Object> storageProperties = new HashMap<>();
+        storageProperties.put("storage.backend", "berkeleyje");
+        storageProperties.put("storage.directory", directory.resolve("berkeley").toString());
+        storageProperties.put("index.search.backend", "lucene");
+        storageProperties.put("index.search.directory", directory.resolve("searchindex").toString());
+
+        return new GraphOMRSMetadataStore(metadataCollectionId,
+                                          repositoryName,
+                                          repositoryHelper,
+                                          mock(AuditLog.class),
+                                          storageProperties);
+    }
+
+
+    /**
+     * Return the type of the test entities.
+     *
+     * @return instance type
+     */
+    private InstanceType getInstanceType()
+    {
+        InstanceType instanceType = new InstanceType();
+
+        instanceType.setTypeDefCategory(TypeDefCategory.ENTITY_DEF);
+        instanceType.setTypeDefName(typeDefName);
+        instanceType.setTypeDefGUID(typeDefGUID);
+        instanceType.setTypeDefVersion(1);
+
+        return instanceType;
+    }
+
+
+    /**
+     * Create a local entity with no properties.
+     *
+     * @param guid unique identifier of the entity
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setType(getInstanceType());
+        entity.setMetadataCollectionId(metadataCollectionId);
+        entity.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+        entity.setStatus(InstanceStatus.ACTIVE);
+        entity.setCreatedBy("testUser");
+        entity.setCreateTime(new Date());
+        entity.setVersion(1L);
+
+        return entity;
+    }
+
+
+    /**
+     * Create a proxy for an entity from another metadata collection.
+     *
+     * @param guid unique identifier of the entity
+     * @return entity proxy
+     */
+    private EntityProxy getEntityProxy(String guid)
+    {
+        EntityProxy entityProxy = new EntityProxy();
+
+        entityProxy.setGUID(guid);
+        entityProxy.setType(getInstanceType());
+        entityProxy.setMetadataCollectionId("remote-collection");
+        entityProxy.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+        entityProxy.setStatus(InstanceStatus.ACTIVE);
+        entityProxy.setCreatedBy("testUser");
+        entityProxy.setCreateTime(new Date());
+        entityProxy.setVersion(1L);
+
+        return entityProxy;
+    }
+}
@@ -0,0 +1,407 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProvenanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefCategory;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+
+/**
+ * Verify that the status filtering, sequencing and paging of entity find requests in the graph traversal
+ * return the same page as the repository helper's formatEntityResults applied to all of the matching entities,
+ * which is how the pages were produced before the traversal did the work.  The repository helper is part of
+ * repository-services-implementation, which depends on this connector, so its sequencing and paging rules are
+ * repeated in formatEntityResults below.
+ */
+public class GraphOMRSMetadataStorePagingTest
+{
+    private static final String metadataCollectionId = "paging-test-collection";
+    private static final String repositoryName       = "paging-test-repository";
+    private static final String typeDefName          = "TestEntity";
+    private static final String typeDefGUID          = "test-entity-type-guid";
+
+    private static final List<SequencingOrder> sequencingOrders = Arrays.asList(SequencingOrder.GUID,
+                                                                                SequencingOrder.CREATION_DATE_RECENT,
+                                                                                SequencingOrder.CREATION_DATE_OLDEST,
+                                                                                SequencingOrder.LAST_UPDATE_RECENT,
+                                                                                SequencingOrder.LAST_UPDATE_OLDEST);
+
+    private Path                   directory;
+    private GraphOMRSMetadataStore store;
+    private List<EntityDetail>     entities;
+
+
+    /**
+     * Create a graph in an empty directory and load the test entities.  The dates and guids are in different
+     * orders and each date is unique (apart from one missing create time and one missing update time) so each
+     * sequencing order produces a single, distinct, sequence.
+     *
+     * @throws Exception the graph can not be created
+     */
+    @BeforeMethod public void createStore() throws Exception
+    {
+        directory = Files.createTempDirectory("graph-paging-test");
+        store     = getStore();
+        entities  = new ArrayList<>();
+
+        entities.add(getEntity("e05", 3000L, 9000L, InstanceStatus.ACTIVE));
+        entities.add(getEntity("e02", 1000L, null,  InstanceStatus.ACTIVE));
+        entities.add(getEntity("e09", 7000L, 2000L, InstanceStatus.PROPOSED));
+        entities.add(getEntity("e01", null,  5000L, InstanceStatus.ACTIVE));
+        entities.add(getEntity("e07", 2000L, 8000L, InstanceStatus.DELETED));
+        entities.add(getEntity("e04", 6000L, 1000L, InstanceStatus.ACTIVE));
+        entities.add(getEntity("e08", 4000L, 4000L, InstanceStatus.PROPOSED));
+        entities.add(getEntity("e03", 9000L, 3000L, InstanceStatus.ACTIVE));
+        entities.add(getEntity("e06", 5000L, 7000L, InstanceStatus.ACTIVE));
+
+        for (EntityDetail entity : entities)
+        {
+            store.createEntityInStore(entity);
+        }
+    }
+
+
+    /**
+     * Remove the graph.
+     *
+     * @throws IOException problem cleaning up
+     */
+    @AfterMethod public void removeDirectory() throws IOException
+    {
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+
+    /**
+     * Every page for each sequencing order matches the page from the repository helper, including the
+     * entities with a missing date.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testPagesMatchRepositoryHelper() throws Exception
+    {
+        for (SequencingOrder sequencingOrder : sequencingOrders)
+        {
+            for (int pageSize = 1; pageSize <= 4; pageSize++)
+            {
+                for (int fromEntityElement = 0; fromEntityElement <= 8; fromEntityElement++)
+                {
+                    checkPage(null, sequencingOrder, fromEntityElement, pageSize);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * The status filter is applied before the page is selected, and deleted entities are never returned.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testStatusFilterIsAppliedBeforePaging() throws Exception
+    {
+        List<List<InstanceStatus>> statusFilters = Arrays.asList(Collections.singletonList(InstanceStatus.ACTIVE),
+                                                                 Collections.singletonList(InstanceStatus.PROPOSED),
+                                                                 Arrays.asList(InstanceStatus.PROPOSED, InstanceStatus.DELETED));
+
+        for (List<InstanceStatus> limitResultsByStatus : statusFilters)
+        {
+            for (SequencingOrder sequencingOrder : sequencingOrders)
+            {
+                for (int fromEntityElement = 0; fromEntityElement <= 6; fromEntityElement++)
+                {
+                    checkPage(limitResultsByStatus, sequencingOrder, fromEntityElement, 2);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * A page size of zero returns all of the matching entities, and the pages for the ANY order together
+     * return each matching entity once.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testUnsequencedResults() throws Exception
+    {
+        List<EntityDetail> allEntities = store.findEntitiesForEachType(Collections.singletonList(typeDefName),
+                                                                       null,
+                                                                       true,
+                                                                       null,
+                                                                       SequencingOrder.LAST_UPDATE_RECENT,
+                                                                       0,
+                                                                       0);
+
+        assertEquals(new HashSet<>(getGUIDs(allEntities)), new HashSet<>(getGUIDs(getExpectedEntities(null))));
+
+        List<String> pagedGUIDs = new ArrayList<>();
+
+        for (int fromEntityElement = 0; fromEntityElement < allEntities.size(); fromEntityElement += 3)
+        {
+            pagedGUIDs.addAll(getGUIDs(store.findEntitiesForEachType(Collections.singletonList(typeDefName),
+                                                                     null,
+                                                                     true,
+                                                                     null,
+                                                                     SequencingOrder.ANY,
+                                                                     fromEntityElement,
+                                                                     3)));
+        }
+
+        assertEquals(pagedGUIDs.size(), allEntities.size());
+        assertEquals(new HashSet<>(pagedGUIDs), new HashSet<>(getGUIDs(allEntities)));
+    }
+
+
+    /**
+     * Compare a page from the graph with the same page from the repository helper.
+     *
+     * @param limitResultsByStatus status filter
+     * @param sequencingOrder order of the results
+     * @param fromEntityElement first element in the page
+     * @param pageSize size of the page
+     * @throws Exception problem with the test
+     */
+    private void checkPage(List<InstanceStatus> limitResultsByStatus,
+                           SequencingOrder      sequencingOrder,
+                           int                  fromEntityElement,
+                           int                  pageSize) throws Exception
+    {
+        String description = limitResultsByStatus + " " + sequencingOrder + " from " + fromEntityElement + " size " + pageSize;
+
+        List<EntityDetail> page = store.findEntitiesForEachType(Collections.singletonList(typeDefName),
+                                                                null,
+                                                                true,
+                                                                limitResultsByStatus,
+                                                                sequencingOrder,
+                                                                fromEntityElement,
+                                                                pageSize);
+
+        List<EntityDetail> expectedPage = formatEntityResults(getExpectedEntities(limitResultsByStatus),
+                                                              sequencingOrder,
+                                                              fromEntityElement,
+                                                              pageSize);
+
+        assertEquals(getGUIDs(page), getGUIDs(expectedPage), description);
+    }
+
+
+    /**
+     * Sequence and page the full results in the same way as OMRSRepositoryContentHelper.formatEntityResults:
+     * a missing date is ordered before any date, and the RECENT orders reverse the comparison.
+     *
+     * @param fullResults all of the matching entities
+     * @param sequencingOrder order of the results
+     * @param fromEntityElement first element in the page
+     * @param pageSize size of the page
+     * @return page of entities
+     */
+    private List<EntityDetail> formatEntityResults(List<EntityDetail> fullResults,
+                                                   SequencingOrder    sequencingOrder,
+                                                   int                fromEntityElement,
+                                                   int                pageSize)
+    {
+        Comparator<EntityDetail> comparator;
+
+        switch (sequencingOrder)
+        {
+            case GUID:
+                comparator = Comparator.comparing(EntityDetail::getGUID);
+                break;
+
+            case CREATION_DATE_RECENT:
+                comparator = Comparator.comparing(EntityDetail::getCreateTime, Comparator.nullsFirst(Comparator.<Date>naturalOrder())).reversed();
+                break;
+
+            case CREATION_DATE_OLDEST:
+                comparator = Comparator.comparing(EntityDetail::getCreateTime, Comparator.nullsFirst(Comparator.<Date>naturalOrder()));
+                break;
+
+            case LAST_UPDATE_RECENT:
+                comparator = Comparator.comparing(EntityDetail::getUpdateTime, Comparator.nullsFirst(Comparator.<Date>naturalOrder())).reversed();
+                break;
+
+            case LAST_UPDATE_OLDEST:
+                comparator = Comparator.comparing(EntityDetail::getUpdateTime, Comparator.nullsFirst(Comparator.<Date>naturalOrder()));
+                break;
+
+            default:
+                throw new IllegalArgumentException(sequencingOrder.getName());
+        }
+
+        List<EntityDetail> sortedResults = new ArrayList<>(fullResults);
+        sortedResults.sort(comparator);
+
+        if (fromEntityElement >= sortedResults.size())
+        {
+            return null;
+        }
+
+        return sortedResults.subList(fromEntityElement, Math.min(sortedResults.size(), fromEntityElement + pageSize));
+    }
+
+
+    /**
+     * Return the test entities that a find request with the status filter should return, in the order they
+     * were created.
+     *
+     * @param limitResultsByStatus status filter
+     * @return entities
+     */
+    private List<EntityDetail> getExpectedEntities(List<InstanceStatus> limitResultsByStatus)
+    {
+        List<EntityDetail> expectedEntities = new ArrayList<>();
+
+        for (EntityDetail entity : entities)
+        {
+            if ((entity.getStatus() != InstanceStatus.DELETED) &&
+                ((limitResultsByStatus == null) || (limitResultsByStatus.contains(entity.getStatus()))))
+            {
+                expectedEntities.add(entity);
+            }
+        }
+
+        assertFalse(expectedEntities.isEmpty());
+
+        return expectedEntities;
+    }
+
+
+    /**
+     * Return the guids of the entities in the order they are listed.  No entities is returned as an empty list.
+     *
+     * @param entities entities (may be null)
+     * @return guids
+     */
+    private List<String> getGUIDs(List<EntityDetail> entities)
+    {
+        List<String> guids = new ArrayList<>();
+
+        if (entities != null)
+        {
+            for (EntityDetail entity : entities)
+            {
+                guids.add(entity.getGUID());
+            }
+        }
+
+        return guids;
+    }
+
+
+    /**
+     * Create a store for a new graph in the test directory.
+     *
+     * @return store
+     * @throws Exception the graph can not be opened
+     */
+    private GraphOMRSMetadataStore getStore() throws Exception
+    {
+        InstanceType instanceType = getInstanceType();
+
+        OMRSRepositoryHelper repositoryHelper = mock(OMRSRepositoryHelper.class);
+        when(repositoryHelper.getNewInstanceType(anyString(), any())).thenReturn(instanceType);
+
+        Map<String, Object> storageProperties = new HashMap<>();
+        storageProperties.put("storage.backend", "berkeleyje");
+        storageProperties.put("storage.directory", directory.resolve("berkeley").toString());
+        storageProperties.put("index.search.backend", "lucene");
+        storageProperties.put("index.search.directory", directory.resolve("searchindex").toString());
+
+        return new GraphOMRSMetadataStore(metadataCollectionId,
+                                          repositoryName,
+                                          repositoryHelper,
+                                          mock(AuditLog.class),
+                                          storageProperties);
+    }
+
+
+    /**
+     * Return the type of the test entities.
+     *
+     * @return instance type
+     */
+    private InstanceType getInstanceType()
+    {
+        InstanceType instanceType = new InstanceType();
+
+        instanceType.setTypeDefCategory(TypeDefCategory.ENTITY_DEF);
+        instanceType.setTypeDefName(typeDefName);
+        instanceType.setTypeDefGUID(typeDefGUID);
+        instanceType.setTypeDefVersion(1);
+
+        return instanceType;
+    }
+
+
+    /**
+     * Create a local entity with no properties.
+     *
+     * @param guid unique identifier of the entity
+     * @param createTime time the entity was created (or null)
+     * @param updateTime time the entity was last updated (or null)
+     * @param status status of the entity
+     * @return entity
+     */
+    private EntityDetail getEntity(String         guid,
+                                   Long           createTime,
+                                   Long           updateTime,
+                                   InstanceStatus status)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setType(getInstanceType());
+        entity.setMetadataCollectionId(metadataCollectionId);
+        entity.setInstanceProvenanceType(InstanceProvenanceType.LOCAL_COHORT);
+        entity.setStatus(status);
+        entity.setCreatedBy("testUser");
+        entity.setVersion(1L);
+
+        if (createTime != null)
+        {
+            entity.setCreateTime(new Date(createTime));
+        }
+
+        if (updateTime != null)
+        {
+            entity.setUpdateTime(new Date(updateTime));
+        }
+
+        return entity;
+    }
+}
@@ -0,0 +1,267 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.graphrepository.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EnumPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.MapPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.StructPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONSerializer;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Verify that GraphOMRSPropertiesCodec returns the properties exactly as they were encoded, and that it still
+ * reads the JSON values stored by earlier levels of the connector.
+ */
+public class GraphOMRSPropertiesCodecTest
+{
+    private static final String stringTypeGUID = PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING.getGUID();
+
+
+    /**
+     * Every primitive category, along with the Java class of each value, survives the round trip.
+     *
+     * @throws IOException problem with the codec
+     */
+    @Test public void testPrimitiveRoundTrip() throws IOException
+    {
+        InstanceProperties properties = new InstanceProperties();
+
+        properties.setEffectiveFromTime(new Date(1000));
+        properties.setEffectiveToTime(new Date(2000));
+
+        properties.setProperty("unknown", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_UNKNOWN, null));
+        properties.setProperty("boolean", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_BOOLEAN, true));
+        properties.setProperty("byte", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_BYTE, (byte) -7));
+        properties.setProperty("char", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_CHAR, '\u00e9'));
+        properties.setProperty("short", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_SHORT, (short) 300));
+        properties.setProperty("int", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT, Integer.MIN_VALUE));
+        properties.setProperty("long", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_LONG, Long.MAX_VALUE));
+        properties.setProperty("float", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_FLOAT, 1.5f));
+        properties.setProperty("double", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_DOUBLE, -2.25d));
+        properties.setProperty("biginteger", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_BIGINTEGER,
+                                                          new BigInteger("123456789012345678901234567890")));
+        properties.setProperty("bigdecimal", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_BIGDECIMAL,
+                                                          new BigDecimal("12345678901234567890.0123456789")));
+        properties.setProperty("string", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING, "Caf\u00e9 \"quoted\""));
+        properties.setProperty("emptyString", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING, ""));
+        properties.setProperty("dateAsLong", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_DATE, 1600000000000L));
+        properties.setProperty("dateAsDate", getPrimitive(null, new Date(1600000000000L)));
+        properties.setProperty("noCategory", getPrimitive(null, "value"));
+
+        String storedValue = GraphOMRSPropertiesCodec.encode(properties);
+
+        assertTrue(storedValue.startsWith("omrsb1:"));
+
+        InstanceProperties decodedProperties = GraphOMRSPropertiesCodec.decode(storedValue);
+
+        assertEquals(decodedProperties, properties);
+        assertEquals(getPrimitiveValue(decodedProperties, "byte").getClass(), Byte.class);
+        assertEquals(getPrimitiveValue(decodedProperties, "char").getClass(), Character.class);
+        assertEquals(getPrimitiveValue(decodedProperties, "short").getClass(), Short.class);
+        assertEquals(getPrimitiveValue(decodedProperties, "float").getClass(), Float.class);
+        assertEquals(getPrimitiveValue(decodedProperties, "dateAsLong").getClass(), Long.class);
+        assertEquals(getPrimitiveValue(decodedProperties, "dateAsDate").getClass(), Date.class);
+        assertEquals(decodedProperties.getPropertyValue("string").getTypeGUID(), stringTypeGUID);
+    }
+
+
+    /**
+     * Enum, struct, map and array values, including values nested inside each other, survive the round trip.
+     * A primitive value of a class with no binary form is kept as JSON.
+     *
+     * @throws IOException problem with the codec
+     */
+    @Test public void testComplexRoundTrip() throws IOException
+    {
+        InstanceProperties properties = getComplexProperties();
+
+        properties.setProperty("list", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_UNKNOWN,
+                                                    new ArrayList<>(Arrays.asList("first", "second"))));
+
+        InstanceProperties decodedProperties = GraphOMRSPropertiesCodec.decode(GraphOMRSPropertiesCodec.encode(properties));
+
+        assertEquals(decodedProperties, properties);
+        assertEquals(getPrimitiveValue(decodedProperties, "list"), Arrays.asList("first", "second"));
+
+        /*
+         * Empty properties.
+         */
+        InstanceProperties emptyProperties = new InstanceProperties();
+
+        assertEquals(GraphOMRSPropertiesCodec.decode(GraphOMRSPropertiesCodec.encode(emptyProperties)), emptyProperties);
+    }
+
+
+    /**
+     * Only the requested properties are returned.
+     *
+     * @throws IOException problem with the codec
+     */
+    @Test public void testSelectedProperties() throws IOException
+    {
+        InstanceProperties properties  = getComplexProperties();
+        String             storedValue = GraphOMRSPropertiesCodec.encode(properties);
+
+        InstanceProperties decodedProperties = GraphOMRSPropertiesCodec.decode(storedValue, new HashSet<>(Arrays.asList("struct", "missing")));
+
+        assertEquals(decodedProperties.getPropertyCount(), 1);
+        assertEquals(decodedProperties.getPropertyValue("struct"), properties.getPropertyValue("struct"));
+        assertNull(decodedProperties.getPropertyValue("missing"));
+        assertEquals(decodedProperties.getEffectiveFromTime(), properties.getEffectiveFromTime());
+    }
+
+
+    /**
+     * Values stored as JSON by earlier levels of the connector are read, in full or in part.
+     *
+     * @throws IOException problem with the codec
+     */
+    @Test public void testLegacyJSON() throws IOException
+    {
+        InstanceProperties properties  = getComplexProperties();
+        String             storedValue = OMRSJSONSerializer.writeValueAsString(properties);
+
+        assertFalse(storedValue.startsWith("omrsb1:"));
+        assertEquals(GraphOMRSPropertiesCodec.decode(storedValue), properties);
+
+        InstanceProperties decodedProperties = GraphOMRSPropertiesCodec.decode(storedValue, Arrays.asList("enum", "missing"));
+
+        assertEquals(decodedProperties.getPropertyCount(), 1);
+        assertEquals(decodedProperties.getPropertyValue("enum"), properties.getPropertyValue("enum"));
+        assertEquals(decodedProperties.getEffectiveToTime(), properties.getEffectiveToTime());
+    }
+
+
+    /**
+     * A value with an unknown format version is rejected.
+     */
+    @Test public void testUnknownVersion()
+    {
+        try
+        {
+            GraphOMRSPropertiesCodec.decode("omrsb1:Ag==");
+            fail("Version 2 is not known");
+        }
+        catch (IOException error)
+        {
+            // expected
+        }
+    }
+
+
+    /**
+     * Return properties with an enum, struct, map and array value.  Only strings, integers and booleans are used
+     * for the primitive values so that the properties are unchanged by a JSON round trip.
+     *
+     * @return properties
+     */
+    private InstanceProperties getComplexProperties()
+    {
+        EnumPropertyValue enumValue = new EnumPropertyValue();
+        enumValue.setTypeName("ContactMethodType");
+        enumValue.setTypeGUID("enum-guid");
+        enumValue.setOrdinal(1);
+        enumValue.setSymbolicName("Phone");
+        enumValue.setDescription("Contact through telephone number.");
+
+        InstanceProperties structAttributes = new InstanceProperties();
+        structAttributes.setProperty("name", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING, "attribute"));
+        structAttributes.setProperty("count", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT, 3));
+        structAttributes.setProperty("contact", enumValue);
+
+        StructPropertyValue structValue = new StructPropertyValue();
+        structValue.setTypeName("TestStruct");
+        structValue.setAttributes(structAttributes);
+
+        InstanceProperties mapValues = new InstanceProperties();
+        mapValues.setProperty("key1", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING, "value1"));
+        mapValues.setProperty("key2", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_BOOLEAN, false));
+        mapValues.setProperty("nested", structValue);
+
+        MapPropertyValue mapValue = new MapPropertyValue();
+        mapValue.setTypeName("map<string,string>");
+        mapValue.setMapValues(mapValues);
+
+        InstanceProperties arrayValues = new InstanceProperties();
+        arrayValues.setProperty("0", getPrimitive(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING, "element0"));
+        arrayValues.setProperty("1", mapValue);
+
+        ArrayPropertyValue arrayValue = new ArrayPropertyValue();
+        arrayValue.setTypeName("array<string>");
+        arrayValue.setArrayCount(2);
+        arrayValue.setArrayValues(arrayValues);
+
+        ArrayPropertyValue emptyArrayValue = new ArrayPropertyValue();
+        emptyArrayValue.setArrayCount(0);
+
+        InstanceProperties properties = new InstanceProperties();
+        properties.setEffectiveToTime(new Date(5000));
+        properties.setProperty("enum", enumValue);
+        properties.setProperty("struct", structValue);
+        properties.setProperty("map", mapValue);
+        properties.setProperty("array", arrayValue);
+        properties.setProperty("emptyArray", emptyArrayValue);
+
+        return properties;
+    }
+
+
+    /**
+     * Create a primitive property value.
+     *
+     * @param category primitive category or null
+     * @param value Java value
+     * @return property value
+     */
+    private PrimitivePropertyValue getPrimitive(PrimitiveDefCategory category,
+                                                Object               value)
+    {
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+
+        if (category != null)
+        {
+            propertyValue.setPrimitiveDefCategory(category);
+            propertyValue.setTypeName(category.getName());
+            propertyValue.setTypeGUID(category.getGUID());
+        }
+        propertyValue.setPrimitiveValue(value);
+
+        return propertyValue;
+    }
+
+
+    /**
+     * Return the Java value of a primitive property.
+     *
+     * @param properties properties
+     * @param propertyName name of the property
+     * @return value
+     */
+    private Object getPrimitiveValue(InstanceProperties properties,
+                                     String             propertyName)
+    {
+        InstancePropertyValue propertyValue = properties.getPropertyValue(propertyName);
+
+        return ((PrimitivePropertyValue) propertyValue).getPrimitiveValue();
+    }
+}
@@ -0,0 +1,200 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+
+import java.util.*;
+
+/**
+ * InMemoryInstanceHistory holds the previous versions of each instance (entity or relationship) in the
+ * InMemoryOMRSMetadataStore.  The versions of an instance are kept in their own list, ordered by the time
+ * that each version was last updated (or created if it has never been updated).  This means the history of an
+ * instance can be maintained and queried without looking at the history of any other instance, and the version
+ * that was current at a point in time is located with a binary search.
+ *
+ * The history is not thread-safe.  It is protected by the InMemoryOMRSMetadataStore that owns it.
+ *
+ * @param <T> type of instance
+ */
+class InMemoryInstanceHistory<T extends InstanceAuditHeader>
+{
+    private Map<String, List<T>> versionsByGUID = new HashMap<>();
+
+
+    /**
+     * Add a previous version of an instance to its history.
+     *
+     * @param guid unique identifier of the instance
+     * @param version previous version of the instance
+     */
+    void addVersion(String guid,
+                    T      version)
+    {
+        if ((guid != null) && (version != null))
+        {
+            List<T> versions = versionsByGUID.computeIfAbsent(guid, k -> new ArrayList<>());
+
+            /*
+             * Versions are normally added in time order so the new version usually goes on the end of the list.
+             */
+            versions.add(this.getInsertionPoint(versions, getVersionTime(version)), version);
+        }
+    }
+
+
+    /**
+     * Return the most recent version of an instance in the history.
+     *
+     * @param guid unique identifier of the instance
+     * @return most recent previous version or null if the instance has no history
+     */
+    T getLatestVersion(String guid)
+    {
+        List<T> versions = versionsByGUID.get(guid);
+
+        if ((versions == null) || (versions.isEmpty()))
+        {
+            return null;
+        }
+
+        return versions.get(versions.size() - 1);
+    }
+
+
+    /**
+     * Return the version of an instance that was active at the requested time.
+     *
+     * @param guid unique identifier of the instance
+     * @param asOfTime requested time
+     * @return version of the instance or null if there was no version in the history at that time
+     */
+    T getVersionAsOf(String guid,
+                     Date   asOfTime)
+    {
+        List<T> versions = versionsByGUID.get(guid);
+
+        if ((versions == null) || (versions.isEmpty()) || (asOfTime == null))
+        {
+            return null;
+        }
+
+        /*
+         * The insertion point is the position after the last version that was updated at or before asOfTime.
+         */
+        int position = this.getInsertionPoint(versions, asOfTime.getTime());
+
+        if (position == 0)
+        {
+            return null;
+        }
+
+        T version = versions.get(position - 1);
+
+        if (getVersionTime(version) == Long.MAX_VALUE)
+        {
+            /*
+             * The version has no time so it can not be placed in time.
+             */
+            return null;
+        }
+
+        return version;
+    }
+
+
+    /**
+     * Return the previous versions of an instance, oldest first.
+     *
+     * @param guid unique identifier of the instance
+     * @return list of versions (may be empty)
+     */
+    List<T> getVersions(String guid)
+    {
+        List<T> versions = versionsByGUID.get(guid);
+
+        if (versions == null)
+        {
+            return Collections.emptyList();
+        }
+
+        return Collections.unmodifiableList(versions);
+    }
+
+
+    /**
+     * Return the unique identifiers of the instances that have a history.
+     *
+     * @return set of guids
+     */
+    Set<String> getGUIDs()
+    {
+        return versionsByGUID.keySet();
+    }
+
+
+    /**
+     * Remove the history of an instance.
+     *
+     * @param guid unique identifier of the instance
+     */
+    void removeInstance(String guid)
+    {
+        versionsByGUID.remove(guid);
+    }
+
+
+    /**
+     * Return the time that a version was last updated or, if it has never been updated, the time it was created.
+     *
+     * @param version version of an instance
+     * @return time in milliseconds - Long.MAX_VALUE if the version has no time
+     */
+    static long getVersionTime(InstanceAuditHeader version)
+    {
+        Date versionTime = version.getUpdateTime();
+
+        if (versionTime == null)
+        {
+            versionTime = version.getCreateTime();
+        }
+
+        if (versionTime == null)
+        {
+            return Long.MAX_VALUE;
+        }
+
+        return versionTime.getTime();
+    }
+
+
+    /**
+     * Locate the position after the last version whose time is at or before the requested time.
+     *
+     * @param versions list of versions sorted by time
+     * @param time requested time in milliseconds
+     * @return position in the list
+     */
+    private int getInsertionPoint(List<T> versions,
+                                  long    time)
+    {
+        int low  = 0;
+        int high = versions.size();
+
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+
+            if (getVersionTime(versions.get(middle)) <= time)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+}
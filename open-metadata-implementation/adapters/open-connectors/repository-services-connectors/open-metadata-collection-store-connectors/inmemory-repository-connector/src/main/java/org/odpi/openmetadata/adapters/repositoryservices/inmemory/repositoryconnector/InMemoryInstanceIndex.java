@@ -0,0 +1,176 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * InMemoryInstanceIndex maps a key (such as a type name, classification name or property value) to the
+ * unique identifiers (guids) of the instances that have that key.  It remembers the keys that each instance
+ * was indexed under so the instance can be re-indexed or removed even if the instance object has been
+ * changed since it was indexed.
+ *
+ * Updates to the index must be serialized by the InMemoryOMRSMetadataStore that owns it.  Queries may run
+ * concurrently with an update without locking.  When an instance is re-indexed, its new keys are added
+ * before its old keys are removed so a concurrent query sees the instance under either its old or new keys.
+ */
+class InMemoryInstanceIndex
+{
+    private ConcurrentMap<String, Set<String>> guidsByKey;
+    private Map<String, Set<String>>           keysByGUID = new HashMap<>();
+
+
+    /**
+     * Constructor
+     *
+     * @param sortedKeys true if the index needs to support prefix queries
+     */
+    InMemoryInstanceIndex(boolean sortedKeys)
+    {
+        if (sortedKeys)
+        {
+            guidsByKey = new ConcurrentSkipListMap<>();
+        }
+        else
+        {
+            guidsByKey = new ConcurrentHashMap<>();
+        }
+    }
+
+
+    /**
+     * Replace the keys for an instance.
+     *
+     * @param guid unique identifier of the instance
+     * @param keys keys for the instance (null or empty means the instance is not indexed)
+     */
+    void indexInstance(String             guid,
+                       Collection<String> keys)
+    {
+        Set<String> newKeys = new HashSet<>();
+
+        if (keys != null)
+        {
+            for (String key : keys)
+            {
+                if (key != null)
+                {
+                    guidsByKey.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(guid);
+                    newKeys.add(key);
+                }
+            }
+        }
+
+        Set<String> oldKeys;
+
+        if (newKeys.isEmpty())
+        {
+            oldKeys = keysByGUID.remove(guid);
+        }
+        else
+        {
+            oldKeys = keysByGUID.put(guid, newKeys);
+        }
+
+        if (oldKeys != null)
+        {
+            oldKeys.removeAll(newKeys);
+            this.removeKeys(guid, oldKeys);
+        }
+    }
+
+
+    /**
+     * Remove an instance from the index.
+     *
+     * @param guid unique identifier of the instance
+     */
+    void removeInstance(String guid)
+    {
+        Set<String> oldKeys = keysByGUID.remove(guid);
+
+        if (oldKeys != null)
+        {
+            this.removeKeys(guid, oldKeys);
+        }
+    }
+
+
+    /**
+     * Remove an instance from the entries for some of its keys.
+     *
+     * @param guid unique identifier of the instance
+     * @param oldKeys keys that no longer apply to the instance
+     */
+    private void removeKeys(String      guid,
+                            Set<String> oldKeys)
+    {
+        for (String oldKey : oldKeys)
+        {
+            Set<String> guids = guidsByKey.get(oldKey);
+
+            if (guids != null)
+            {
+                guids.remove(guid);
+
+                if (guids.isEmpty())
+                {
+                    guidsByKey.remove(oldKey, guids);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the guids of the instances indexed under the key.
+     *
+     * @param key key to look up
+     * @return set of guids (may be empty)
+     */
+    Set<String> getGUIDs(String key)
+    {
+        if (key == null)
+        {
+            return Collections.emptySet();
+        }
+
+        Set<String> guids = guidsByKey.get(key);
+
+        if (guids == null)
+        {
+            return Collections.emptySet();
+        }
+
+        return Collections.unmodifiableSet(guids);
+    }
+
+
+    /**
+     * Return the guids of the instances indexed under keys that begin with the prefix.
+     * This is only supported by indexes with sorted keys.
+     *
+     * @param prefix start of the key
+     * @return set of guids (may be empty)
+     */
+    Set<String> getGUIDsWithPrefix(String prefix)
+    {
+        Set<String> results = new HashSet<>();
+
+        if ((prefix != null) && (guidsByKey instanceof ConcurrentNavigableMap))
+        {
+            SortedMap<String, Set<String>> matchingKeys = ((ConcurrentNavigableMap<String, Set<String>>)guidsByKey).subMap(prefix, prefix + Character.MAX_VALUE);
+
+            for (Set<String> guids : matchingKeys.values())
+            {
+                results.addAll(guids);
+            }
+        }
+
+        return results;
+    }
+}
@@ -6,9 +6,13 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyComparisonOperator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyCondition;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchClassifications;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSClassificationsMatcher;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstancePropertiesMatcher;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryHelper;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
@@ -53,6 +57,30 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Turn on persistence for the repository.  The instances stored before the server last stopped are
+     * recovered and then each change is recorded in the persistence log.
+     *
+     * @param storeLog log for the repository store
+     * @throws RepositoryErrorException the persistence files can not be read or written
+     */
+    void startPersistence(InMemoryStoreLog storeLog) throws RepositoryErrorException
+    {
+        repositoryStore.startPersistence(storeLog);
+    }
+
+
+    /**
+     * Turn off persistence for the repository.
+     *
+     * @throws RepositoryErrorException the persistence log can not be closed cleanly
+     */
+    void stopPersistence() throws RepositoryErrorException
+    {
+        repositoryStore.stopPersistence();
+    }
+
+
     /* ===================================================
      * Group 3: Locating entity and relationship instances
      */
@@ -216,7 +244,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        EntityDetail  entity = repositoryStore.timeWarpEntityStore(asOfTime).get(guid);
+        EntityDetail  entity = repositoryStore.getEntity(guid, asOfTime);
         if (entity == null)
         {
             EntityProxy  entityProxy = repositoryStore.getEntityProxy(guid);
@@ -305,9 +333,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
 
         List<Relationship> entityRelationships = new ArrayList<>();
 
-        Map<String, Relationship>   relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
-
-        for (Relationship  storedRelationship : relationshipStore.values())
+        for (Relationship  storedRelationship : this.getCandidateRelationshipsForEntity(entityGUID, asOfTime))
         {
             if (storedRelationship != null)
             {
@@ -416,13 +442,13 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The candidate entities are retrieved through the store's indexes when the query is for the
+         * current entities.  Historical queries iterate through all of the stored entities.
          */
-        List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
+        List<EntityDetail>            foundEntities     = new ArrayList<>();
+        OMRSInstancePropertiesMatcher propertiesMatcher = repositoryValidator.getInstancePropertiesMatcher(matchProperties, matchCriteria);
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : this.getCandidateEntities(entityTypeGUID, matchProperties, matchCriteria, asOfTime))
         {
             if (entity != null)
             {
@@ -430,11 +456,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                     (repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
                     (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
                     (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                                                              entity,
-                                                                              entity.getProperties(),
-                                                                              matchCriteria
-                                                                              )))
+                    (propertiesMatcher.matches(entity, entity.getProperties())))
                 {
                     foundEntities.add(entity);
                 }
@@ -514,24 +536,22 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The candidate entities are retrieved through the store's indexes when the query is for the
+         * current entities.  Historical queries iterate through all of the stored entities.
          */
-        List<EntityDetail>         foundEntities = new ArrayList<>();
-        Map<String, EntityDetail>  entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
+        List<EntityDetail>            foundEntities          = new ArrayList<>();
+        OMRSClassificationsMatcher    classificationsMatcher = repositoryValidator.getClassificationsMatcher(matchClassifications);
+        OMRSInstancePropertiesMatcher propertiesMatcher      = repositoryValidator.getInstancePropertiesMatcher(matchProperties);
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : this.getCandidateEntities(entityTypeGUID, matchProperties, asOfTime))
         {
             if (entity != null)
             {
                 if ((entity.getStatus() != InstanceStatus.DELETED) &&
                         (repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entitySubtypeGUIDs, entity)) &&
                         (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
-                        (repositoryValidator.verifyMatchingClassifications(matchClassifications, entity)) &&
-                        (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                entity,
-                                entity.getProperties()
-                        )))
+                        (classificationsMatcher.matches(entity)) &&
+                        (propertiesMatcher.matches(entity, entity.getProperties())))
                 {
                     foundEntities.add(entity);
                 }
@@ -616,16 +636,16 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The candidate entities are retrieved through the store's indexes when the query is for the
+         * current entities.  Historical queries iterate through all of the stored entities.
          */
-        Map<String, EntityDetail>   entityStore = repositoryStore.timeWarpEntityStore(asOfTime);
-        List<EntityDetail>          foundEntities = new ArrayList<>();
+        List<EntityDetail>            foundEntities     = new ArrayList<>();
+        OMRSInstancePropertiesMatcher propertiesMatcher = repositoryValidator.getInstancePropertiesMatcher(matchClassificationProperties, matchCriteria);
 
         List<String>                classificationList = new ArrayList<>();
         classificationList.add(classificationName);
 
-        for (EntityDetail  entity : entityStore.values())
+        for (EntityDetail  entity : this.getCandidateClassifiedEntities(classificationName, asOfTime))
         {
             if (entity != null)
             {
@@ -647,12 +667,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                             {
                                 if (classificationName.equals(entityClassification.getName()))
                                 {
-                                    if (repositoryValidator.verifyMatchingInstancePropertyValues(
-                                            matchClassificationProperties,
-                                            entityClassification,
-                                            entityClassification.getProperties(),
-                                            matchCriteria
-                                            ))
+                                    if (propertiesMatcher.matches(entityClassification, entityClassification.getProperties()))
 
                                     {
                                         foundEntities.add(entity);
@@ -742,12 +757,13 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Process operation
          *
-         * This is a brute force implementation of locating in entity since it iterates through all of
-         * the stored entities.
+         * The candidate entities are retrieved through the store's indexes when the query is for the
+         * current entities.  Historical queries iterate through all of the stored entities.
          */
-        List<EntityDetail>   foundEntities = new ArrayList<>();
+        List<EntityDetail>            foundEntities         = new ArrayList<>();
+        OMRSInstancePropertiesMatcher searchCriteriaMatcher = repositoryValidator.getSearchCriteriaMatcher(repositoryName, searchCriteria, methodName);
 
-        for (EntityDetail  entity : repositoryStore.timeWarpEntityStore(asOfTime).values())
+        for (EntityDetail  entity : this.getCandidateEntities(entityTypeGUID, asOfTime))
         {
             if (entity != null)
             {
@@ -755,10 +771,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                     (repositoryValidator.verifyInstanceType(repositoryName, entityTypeGUID, entity)) &&
                     (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, entity)) &&
                     (repositoryValidator.verifyEntityIsClassified(limitResultsByClassification, entity)) &&
-                    (repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(repositoryName,
-                                                                                    entity.getProperties(),
-                                                                                    searchCriteria,
-                                                                                    methodName)))
+                    (searchCriteriaMatcher.matches(entity, entity.getProperties())))
                 {
                     foundEntities.add(entity);
                 }
@@ -872,7 +885,7 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          */
-        Relationship  relationship = repositoryStore.timeWarpRelationshipStore(asOfTime).get(guid);
+        Relationship  relationship = repositoryStore.getRelationship(guid, asOfTime);
 
         repositoryValidator.validateRelationshipFromStore(repositoryName, guid, relationship, methodName);
         repositoryValidator.validateRelationshipIsNotDeleted(repositoryName, relationship, methodName);
@@ -953,23 +966,20 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored entities.
+         * The candidate relationships are retrieved through the store's indexes when the query is for the
+         * current relationships.  Historical queries iterate through all of the stored relationships.
          */
-        List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
+        List<Relationship>            foundRelationships = new ArrayList<>();
+        OMRSInstancePropertiesMatcher propertiesMatcher  = repositoryValidator.getInstancePropertiesMatcher(matchProperties);
 
-        for (Relationship  relationship : relationshipStore.values())
+        for (Relationship  relationship : this.getCandidateRelationships(relationshipTypeGUID, asOfTime))
         {
             if (relationship != null)
             {
                 if ((relationship.getStatus() != InstanceStatus.DELETED) &&
                         (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationshipSubtypeGUIDs, relationship)) &&
                         (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                        (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                relationship,
-                                relationship.getProperties()
-                        )))
+                        (propertiesMatcher.matches(relationship, relationship.getProperties())))
                 {
                     foundRelationships.add(relationship);
                 }
@@ -1059,23 +1069,20 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored entities.
+         * The candidate relationships are retrieved through the store's indexes when the query is for the
+         * current relationships.  Historical queries iterate through all of the stored relationships.
          */
-        List<Relationship>         foundRelationships = new ArrayList<>();
-        Map<String, Relationship>  relationshipStore = repositoryStore.timeWarpRelationshipStore(asOfTime);
+        List<Relationship>            foundRelationships = new ArrayList<>();
+        OMRSInstancePropertiesMatcher propertiesMatcher  = repositoryValidator.getInstancePropertiesMatcher(matchProperties, matchCriteria);
 
-        for (Relationship  relationship : relationshipStore.values())
+        for (Relationship  relationship : this.getCandidateRelationships(relationshipTypeGUID, asOfTime))
         {
             if (relationship != null)
             {
                 if ((relationship.getStatus() != InstanceStatus.DELETED) &&
                     (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship)) &&
                     (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                    (repositoryValidator.verifyMatchingInstancePropertyValues(matchProperties,
-                                                                              relationship,
-                                                                              relationship.getProperties(),
-                                                                              matchCriteria)))
+                    (propertiesMatcher.matches(relationship, relationship.getProperties())))
                 {
                     foundRelationships.add(relationship);
                 }
@@ -1159,22 +1166,20 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         /*
          * Perform operation
          *
-         * This is a brute force implementation of locating a relationship since it iterates through all of
-         * the stored relationships.
+         * The candidate relationships are retrieved through the store's indexes when the query is for the
+         * current relationships.  Historical queries iterate through all of the stored relationships.
          */
-        List<Relationship>  foundRelationships = new ArrayList<>();
+        List<Relationship>            foundRelationships    = new ArrayList<>();
+        OMRSInstancePropertiesMatcher searchCriteriaMatcher = repositoryValidator.getSearchCriteriaMatcher(repositoryName, searchCriteria, methodName);
 
-        for (Relationship  relationship : repositoryStore.timeWarpRelationshipStore(asOfTime).values())
+        for (Relationship  relationship : this.getCandidateRelationships(relationshipTypeGUID, asOfTime))
         {
             if (relationship != null)
             {
                 if ((relationship.getStatus() != InstanceStatus.DELETED) &&
                     (repositoryValidator.verifyInstanceType(repositoryName, relationshipTypeGUID, relationship)) &&
                     (repositoryValidator.verifyInstanceHasRightStatus(limitResultsByStatus, relationship)) &&
-                    (repositoryValidator.verifyInstancePropertiesMatchSearchCriteria(repositoryName,
-                                                                                     relationship.getProperties(),
-                                                                                     searchCriteria,
-                                                                                     methodName)))
+                    (searchCriteriaMatcher.matches(relationship, relationship.getProperties())))
                 {
                     foundRelationships.add(relationship);
                 }
@@ -1385,6 +1390,89 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Create a batch of new entities.  Each entity in the list is a template that supplies the type, initial
+     * properties, initial classifications and (optionally) the initial status of a new entity.
+     * All of the new entities are added to the store in a single update.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newEntities list of templates for the new entities.
+     * @return list of new entities in the same order as the templates or null if no templates are supplied.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                              hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the entity's type.
+     * @throws ClassificationErrorException one or more of the requested classifications are either not known or
+     *                                           not defined for the entity type.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                       one of the requested statuses.
+     * @throws FunctionNotSupportedException the repository does not support maintenance of metadata.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> addEntities(String               userId,
+                                          List<EntityDetail>   newEntities) throws InvalidParameterException,
+                                                                                   RepositoryErrorException,
+                                                                                   TypeErrorException,
+                                                                                   PropertyErrorException,
+                                                                                   ClassificationErrorException,
+                                                                                   StatusNotSupportedException,
+                                                                                   FunctionNotSupportedException,
+                                                                                   UserNotAuthorizedException
+    {
+        final String methodName = "addEntities";
+
+        /*
+         * Validate parameters
+         */
+        List<TypeDef> typeDefs = super.addEntitiesParameterValidation(userId, newEntities, methodName);
+
+        if ((newEntities == null) || (newEntities.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Validation complete - ok to create new instances
+         */
+        List<EntityDetail> entities      = new ArrayList<>();
+        List<EntityProxy>  entityProxies = new ArrayList<>();
+
+        for (int index = 0; index < newEntities.size(); index++)
+        {
+            EntityDetail template  = newEntities.get(index);
+            EntityDetail newEntity = repositoryHelper.getNewEntity(repositoryName,
+                                                                   null,
+                                                                   InstanceProvenanceType.LOCAL_COHORT,
+                                                                   userId,
+                                                                   typeDefs.get(index).getName(),
+                                                                   template.getProperties(),
+                                                                   template.getClassifications());
+            /*
+             * If an initial status is supplied then override the default value.
+             */
+            if (template.getStatus() != null)
+            {
+                newEntity.setStatus(template.getStatus());
+            }
+
+            entities.add(newEntity);
+
+            /*
+             * The repository store maintains an entity proxy for use with relationships.
+             */
+            entityProxies.add(repositoryHelper.getNewEntityProxy(repositoryName, newEntity));
+        }
+
+        repositoryStore.createEntitiesInStore(entities, entityProxies);
+
+        return entities;
+    }
+
+
     /**
      * Save a new entity that is sourced from an external technology.  The external
      * technology is identified by a GUID and a name.  These can be recorded in a
@@ -2447,56 +2535,145 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
                                                                           userId,
                                                                           typeDef.getName(),
                                                                           initialProperties);
-        /*
-         * See if there is a proxy for entity 1
-         */
-        EntityProxy entityOneProxy = repositoryStore.getEntityProxy(entityOneGUID);
+        EntityProxy entityOneProxy = this.getRelationshipEndProxy(entityOneGUID, methodName);
+        EntityProxy entityTwoProxy = this.getRelationshipEndProxy(entityTwoGUID, methodName);
+
+        repositoryValidator.validateRelationshipEnds(repositoryName, entityOneProxy, entityTwoProxy, typeDef, methodName);
+
+        relationship.setEntityOneProxy(entityOneProxy);
+        relationship.setEntityTwoProxy(entityTwoProxy);
 
         /*
-         * if not see if there is an entity for entity 1
-         *
+         * If an initial status is supplied then override the default value.
          */
-        if (entityOneProxy == null)
+        if (initialStatus != null)
         {
-            EntityDetail entityOneDetail = repositoryStore.getEntity(entityOneGUID);
-            entityOneProxy = repositoryHelper.getNewEntityProxy(repositoryName, entityOneDetail);
+            relationship.setStatus(initialStatus);
         }
 
-        repositoryValidator.validateEntityFromStore(repositoryName, entityOneGUID, entityOneProxy, methodName);
-        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entityOneProxy, methodName);
+        repositoryStore.createRelationshipInStore(relationship);
+
+        return relationship;
+    }
+
+
+    /**
+     * Create a batch of new relationships.  Each relationship in the list is a template that supplies the type,
+     * initial properties, the entities to connect (through the GUIDs of its entity proxies) and (optionally) the
+     * initial status of a new relationship.  All of the new relationships are added to the store in a single update.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newRelationships list of templates for the new relationships.
+     * @return list of new relationships in the same order as the templates or null if no templates are supplied.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                            hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the relationship's type.
+     * @throws EntityNotKnownException one of the requested entities is not known in the metadata collection.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                     one of the requested statuses.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @throws FunctionNotSupportedException the repository does not support maintenance of metadata.
+     */
+    @Override
+    public List<Relationship> addRelationships(String               userId,
+                                               List<Relationship>   newRelationships) throws InvalidParameterException,
+                                                                                             RepositoryErrorException,
+                                                                                             TypeErrorException,
+                                                                                             PropertyErrorException,
+                                                                                             EntityNotKnownException,
+                                                                                             StatusNotSupportedException,
+                                                                                             UserNotAuthorizedException,
+                                                                                             FunctionNotSupportedException
+    {
+        final String  methodName = "addRelationships";
 
         /*
-         * See if there is a proxy for entity 2
+         * Validate parameters
          */
-        EntityProxy entityTwoProxy = repositoryStore.getEntityProxy(entityTwoGUID);
+        List<TypeDef> typeDefs = super.addRelationshipsParameterValidation(userId, newRelationships, methodName);
+
+        if ((newRelationships == null) || (newRelationships.isEmpty()))
+        {
+            return null;
+        }
 
         /*
-         * If not see if there is an entity for entity 2
+         * Validation complete - ok to create new instances
          */
-        if (entityTwoProxy == null)
+        List<Relationship> relationships = new ArrayList<>();
+
+        for (int index = 0; index < newRelationships.size(); index++)
         {
-            EntityDetail entityTwoDetail = repositoryStore.getEntity(entityTwoGUID);
-            entityTwoProxy = repositoryHelper.getNewEntityProxy(repositoryName, entityTwoDetail);
+            Relationship template     = newRelationships.get(index);
+            TypeDef      typeDef      = typeDefs.get(index);
+            Relationship relationship = repositoryHelper.getNewRelationship(repositoryName,
+                                                                            null,
+                                                                            InstanceProvenanceType.LOCAL_COHORT,
+                                                                            userId,
+                                                                            typeDef.getName(),
+                                                                            template.getProperties());
+
+            EntityProxy entityOneProxy = this.getRelationshipEndProxy(template.getEntityOneProxy().getGUID(), methodName);
+            EntityProxy entityTwoProxy = this.getRelationshipEndProxy(template.getEntityTwoProxy().getGUID(), methodName);
+
+            repositoryValidator.validateRelationshipEnds(repositoryName, entityOneProxy, entityTwoProxy, typeDef, methodName);
+
+            relationship.setEntityOneProxy(entityOneProxy);
+            relationship.setEntityTwoProxy(entityTwoProxy);
+
+            /*
+             * If an initial status is supplied then override the default value.
+             */
+            if (template.getStatus() != null)
+            {
+                relationship.setStatus(template.getStatus());
+            }
+
+            relationships.add(relationship);
         }
 
-        repositoryValidator.validateEntityFromStore(repositoryName, entityTwoGUID, entityTwoProxy, methodName);
-        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entityTwoProxy, methodName);
-        repositoryValidator.validateRelationshipEnds(repositoryName, entityOneProxy, entityTwoProxy, typeDef, methodName);
+        repositoryStore.createRelationshipsInStore(relationships);
+
+        return relationships;
+    }
 
-        relationship.setEntityOneProxy(entityOneProxy);
-        relationship.setEntityTwoProxy(entityTwoProxy);
 
+    /**
+     * Return the proxy for an entity at one end of a new relationship.  This is the stored proxy if there is
+     * one, otherwise it is built from the stored entity.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @param methodName calling method
+     * @return entity proxy
+     * @throws RepositoryErrorException the proxy can not be built
+     * @throws EntityNotKnownException the entity is not in the store or is deleted
+     */
+    private EntityProxy getRelationshipEndProxy(String   entityGUID,
+                                                String   methodName) throws RepositoryErrorException,
+                                                                            EntityNotKnownException
+    {
         /*
-         * If an initial status is supplied then override the default value.
+         * See if there is a proxy for the entity
          */
-        if (initialStatus != null)
+        EntityProxy entityProxy = repositoryStore.getEntityProxy(entityGUID);
+
+        /*
+         * If not see if there is an entity
+         */
+        if (entityProxy == null)
         {
-            relationship.setStatus(initialStatus);
+            EntityDetail entityDetail = repositoryStore.getEntity(entityGUID);
+            entityProxy = repositoryHelper.getNewEntityProxy(repositoryName, entityDetail);
         }
 
-        repositoryStore.createRelationshipInStore(relationship);
+        repositoryValidator.validateEntityFromStore(repositoryName, entityGUID, entityProxy, methodName);
+        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entityProxy, methodName);
 
-        return relationship;
+        return entityProxy;
     }
 
 
@@ -2573,40 +2750,9 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
         relationship.setMetadataCollectionName(externalSourceName);
         relationship.setReplicatedBy(metadataCollectionId);
 
-        /*
-         * See if there is a proxy for entity 1
-         */
-        EntityProxy entityOneProxy = repositoryStore.getEntityProxy(entityOneGUID);
-
-        /*
-         * if not see if there is an entity for entity 1
-         *
-         */
-        if (entityOneProxy == null)
-        {
-            EntityDetail entityOneDetail = repositoryStore.getEntity(entityOneGUID);
-            entityOneProxy = repositoryHelper.getNewEntityProxy(repositoryName, entityOneDetail);
-        }
-
-        repositoryValidator.validateEntityFromStore(repositoryName, entityOneGUID, entityOneProxy, methodName);
-        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entityOneProxy, methodName);
-
-        /*
-         * See if there is a proxy for entity 2
-         */
-        EntityProxy entityTwoProxy = repositoryStore.getEntityProxy(entityTwoGUID);
-
-        /*
-         * If not see if there is an entity for entity 2
-         */
-        if (entityTwoProxy == null)
-        {
-            EntityDetail entityTwoDetail = repositoryStore.getEntity(entityTwoGUID);
-            entityTwoProxy = repositoryHelper.getNewEntityProxy(repositoryName, entityTwoDetail);
-        }
+        EntityProxy entityOneProxy = this.getRelationshipEndProxy(entityOneGUID, methodName);
+        EntityProxy entityTwoProxy = this.getRelationshipEndProxy(entityTwoGUID, methodName);
 
-        repositoryValidator.validateEntityFromStore(repositoryName, entityTwoGUID, entityTwoProxy, methodName);
-        repositoryValidator.validateEntityIsNotDeleted(repositoryName, entityTwoProxy, methodName);
         repositoryValidator.validateRelationshipEnds(repositoryName, entityOneProxy, entityTwoProxy, typeDef,
                                                      methodName);
 
@@ -3894,6 +4040,97 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
     }
 
 
+    /**
+     * Save the entities and relationships supplied in the instance graph as reference copies.
+     * The id of the home metadata collection is already set up in the instances.
+     * Any instances from the home metadata collection are ignored.  All of the instances are saved
+     * to the store in a single update.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param instances instances to save.
+     * @throws InvalidParameterException the relationship is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeErrorException the requested type is not known, or not supported in the metadata repository
+     *                            hosting the metadata collection.
+     * @throws EntityNotKnownException one of the entities identified by the relationship is not found in the
+     *                                   metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for this relationship's type.
+     * @throws EntityConflictException the new entity conflicts with an existing entity.
+     * @throws InvalidEntityException the new entity has invalid contents.
+     * @throws RelationshipConflictException the new relationship conflicts with an existing relationship.
+     * @throws InvalidRelationshipException the new relationship has invalid contents.
+     * @throws FunctionNotSupportedException the repository does not support reference copies of instances.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public void saveInstanceReferenceCopies(String          userId,
+                                            InstanceGraph   instances) throws InvalidParameterException,
+                                                                              RepositoryErrorException,
+                                                                              TypeErrorException,
+                                                                              EntityNotKnownException,
+                                                                              PropertyErrorException,
+                                                                              EntityConflictException,
+                                                                              RelationshipConflictException,
+                                                                              InvalidEntityException,
+                                                                              InvalidRelationshipException,
+                                                                              FunctionNotSupportedException,
+                                                                              UserNotAuthorizedException
+    {
+        final String  methodName = "saveInstanceReferenceCopies";
+        final String  entityParameterName = "instances.entities";
+        final String  relationshipParameterName = "instances.relationships";
+
+        /*
+         * Validate parameters
+         */
+        super.basicRequestValidation(userId, methodName);
+
+        if (instances == null)
+        {
+            return;
+        }
+
+        List<EntityDetail> entities      = new ArrayList<>();
+        List<Relationship> relationships = new ArrayList<>();
+
+        if (instances.getEntities() != null)
+        {
+            for (EntityDetail entity : instances.getEntities())
+            {
+                if ((entity != null) && (! metadataCollectionId.equals(entity.getMetadataCollectionId())))
+                {
+                    repositoryValidator.validateReferenceInstanceHeader(repositoryName,
+                                                                        metadataCollectionId,
+                                                                        entityParameterName,
+                                                                        entity,
+                                                                        methodName);
+                    entities.add(entity);
+                }
+            }
+        }
+
+        if (instances.getRelationships() != null)
+        {
+            for (Relationship relationship : instances.getRelationships())
+            {
+                if ((relationship != null) && (! metadataCollectionId.equals(relationship.getMetadataCollectionId())))
+                {
+                    repositoryValidator.validateReferenceInstanceHeader(repositoryName,
+                                                                        metadataCollectionId,
+                                                                        relationshipParameterName,
+                                                                        relationship,
+                                                                        methodName);
+                    relationships.add(relationship);
+                }
+            }
+        }
+
+        repositoryStore.saveReferenceInstancesToStore(entities, relationships);
+    }
+
+
     /**
      * Remove the reference copy of the relationship from the local repository. This method can be used to
      * remove reference copies from the local cohort, repositories that have left the cohort,
@@ -3953,4 +4190,280 @@ public class InMemoryOMRSMetadataCollection extends OMRSDynamicTypeMetadataColle
             super.reportRelationshipNotKnown(relationshipGUID, methodName);
         }
     }
+
+
+    /**
+     * Return the entities that could match a query for entities of a type.  When the query is for the current
+     * entities, the type index is used.  The caller must still verify each entity against the query.
+     *
+     * @param entityTypeGUID unique identifier of the entity type (null means any type)
+     * @param asOfTime time of the query (null means now)
+     * @return candidate entities
+     */
+    private Collection<EntityDetail> getCandidateEntities(String entityTypeGUID,
+                                                          Date   asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            return repositoryStore.timeWarpEntityStore(asOfTime).values();
+        }
+
+        List<String> typeNames = this.getTypeNames(entityTypeGUID);
+
+        if (typeNames == null)
+        {
+            return repositoryStore.getEntities();
+        }
+
+        return repositoryStore.getEntitiesOfTypes(typeNames);
+    }
+
+
+    /**
+     * Return the entities that could match a findEntitiesByProperty query.  If the query requires an exact or
+     * starts with match on one of the indexed name properties, the name index is used.
+     *
+     * @param entityTypeGUID unique identifier of the entity type (null means any type)
+     * @param matchProperties properties to match
+     * @param matchCriteria how the properties are combined
+     * @param asOfTime time of the query (null means now)
+     * @return candidate entities
+     */
+    private Collection<EntityDetail> getCandidateEntities(String             entityTypeGUID,
+                                                          InstanceProperties matchProperties,
+                                                          MatchCriteria      matchCriteria,
+                                                          Date               asOfTime)
+    {
+        if ((asOfTime == null) && (matchProperties != null) &&
+            ((matchCriteria == null) || (matchCriteria == MatchCriteria.ALL) ||
+                     ((matchCriteria == MatchCriteria.ANY) && (matchProperties.getPropertyCount() == 1))))
+        {
+            for (String propertyName : InMemoryOMRSMetadataStore.indexedNameProperties)
+            {
+                List<EntityDetail> candidates = this.getCandidateEntitiesByName(propertyName,
+                                                                                matchProperties.getPropertyValue(propertyName));
+                if (candidates != null)
+                {
+                    return candidates;
+                }
+            }
+        }
+
+        return this.getCandidateEntities(entityTypeGUID, asOfTime);
+    }
+
+
+    /**
+     * Return the entities that could match a findEntities query.  If the query requires an exact or
+     * starts with match on one of the indexed name properties, the name index is used.
+     *
+     * @param entityTypeGUID unique identifier of the entity type (null means any type)
+     * @param matchProperties property conditions to match
+     * @param asOfTime time of the query (null means now)
+     * @return candidate entities
+     */
+    private Collection<EntityDetail> getCandidateEntities(String           entityTypeGUID,
+                                                          SearchProperties matchProperties,
+                                                          Date             asOfTime)
+    {
+        if ((asOfTime == null) && (matchProperties != null) && (matchProperties.getConditions() != null) &&
+            ((matchProperties.getMatchCriteria() == MatchCriteria.ALL) ||
+                     ((matchProperties.getMatchCriteria() == MatchCriteria.ANY) && (matchProperties.getConditions().size() == 1))))
+        {
+            for (PropertyCondition condition : matchProperties.getConditions())
+            {
+                if ((condition != null) &&
+                    (condition.getNestedConditions() == null) &&
+                    (InMemoryOMRSMetadataStore.indexedNameProperties.contains(condition.getProperty())))
+                {
+                    List<EntityDetail> candidates = null;
+
+                    if (condition.getOperator() == PropertyComparisonOperator.EQ)
+                    {
+                        String value = this.getStringValue(condition.getValue());
+
+                        if (value != null)
+                        {
+                            candidates = repositoryStore.getEntitiesByNameProperty(condition.getProperty(), value, false);
+                        }
+                    }
+                    else if (condition.getOperator() == PropertyComparisonOperator.LIKE)
+                    {
+                        candidates = this.getCandidateEntitiesByName(condition.getProperty(), condition.getValue());
+                    }
+
+                    if (candidates != null)
+                    {
+                        return candidates;
+                    }
+                }
+            }
+        }
+
+        return this.getCandidateEntities(entityTypeGUID, asOfTime);
+    }
+
+
+    /**
+     * Use the name index to retrieve the entities that could match a regular expression on a name property.
+     * Only case-sensitive exact match and starts with expressions can use the index.
+     *
+     * @param propertyName name of the property
+     * @param matchValue regular expression value
+     * @return candidate entities or null if the index can not be used
+     */
+    private List<EntityDetail> getCandidateEntitiesByName(String                propertyName,
+                                                          InstancePropertyValue matchValue)
+    {
+        String regex = this.getStringValue(matchValue);
+
+        if (regex != null)
+        {
+            if (repositoryHelper.isExactMatchRegex(regex, false))
+            {
+                return repositoryStore.getEntitiesByNameProperty(propertyName,
+                                                                 repositoryHelper.getUnqualifiedLiteralString(regex),
+                                                                 false);
+            }
+            else if (repositoryHelper.isStartsWithRegex(regex, false))
+            {
+                return repositoryStore.getEntitiesByNameProperty(propertyName,
+                                                                 repositoryHelper.getUnqualifiedLiteralString(regex),
+                                                                 true);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the entities that could match a query for entities with a classification.  When the query is for the
+     * current entities, the classification index is used.
+     *
+     * @param classificationName name of the classification
+     * @param asOfTime time of the query (null means now)
+     * @return candidate entities
+     */
+    private Collection<EntityDetail> getCandidateClassifiedEntities(String classificationName,
+                                                                    Date   asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            return repositoryStore.timeWarpEntityStore(asOfTime).values();
+        }
+
+        return repositoryStore.getClassifiedEntities(classificationName);
+    }
+
+
+    /**
+     * Return the relationships that could match a query for relationships of a type.  When the query is for the
+     * current relationships, the type index is used.
+     *
+     * @param relationshipTypeGUID unique identifier of the relationship type (null means any type)
+     * @param asOfTime time of the query (null means now)
+     * @return candidate relationships
+     */
+    private Collection<Relationship> getCandidateRelationships(String relationshipTypeGUID,
+                                                               Date   asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            return repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
+
+        List<String> typeNames = this.getTypeNames(relationshipTypeGUID);
+
+        if (typeNames == null)
+        {
+            return repositoryStore.getRelationships();
+        }
+
+        return repositoryStore.getRelationshipsOfTypes(typeNames);
+    }
+
+
+    /**
+     * Return the relationships that could be attached to an entity.  When the query is for the
+     * current relationships, the entity's relationship index is used.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @param asOfTime time of the query (null means now)
+     * @return candidate relationships
+     */
+    private Collection<Relationship> getCandidateRelationshipsForEntity(String entityGUID,
+                                                                        Date   asOfTime)
+    {
+        if (asOfTime != null)
+        {
+            return repositoryStore.timeWarpRelationshipStore(asOfTime).values();
+        }
+
+        return repositoryStore.getRelationshipsForEntity(entityGUID);
+    }
+
+
+    /**
+     * Return the name of a type and all of its subtypes.
+     *
+     * @param typeGUID unique identifier of the type
+     * @return list of type names or null if all types should be considered
+     */
+    private List<String> getTypeNames(String typeGUID)
+    {
+        final String methodName        = "getTypeNames";
+        final String typeParameterName = "typeGUID";
+
+        if (typeGUID == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            TypeDef      typeDef   = repositoryHelper.getTypeDef(repositoryName, typeParameterName, typeGUID, methodName);
+            List<String> typeNames = new ArrayList<>();
+
+            typeNames.add(typeDef.getName());
+
+            List<String> subtypeNames = repositoryHelper.getSubTypesOf(repositoryName, typeDef.getName());
+
+            if (subtypeNames != null)
+            {
+                typeNames.addAll(subtypeNames);
+            }
+
+            return typeNames;
+        }
+        catch (TypeErrorException error)
+        {
+            /*
+             * The type is not known so the caller falls back to checking every instance.
+             */
+            return null;
+        }
+    }
+
+
+    /**
+     * Return the value of a string property value.
+     *
+     * @param propertyValue property value
+     * @return string or null if the value is not a string
+     */
+    private String getStringValue(InstancePropertyValue propertyValue)
+    {
+        if (propertyValue instanceof PrimitivePropertyValue)
+        {
+            Object primitiveValue = ((PrimitivePropertyValue)propertyValue).getPrimitiveValue();
+
+            if (primitiveValue instanceof String)
+            {
+                return (String)primitiveValue;
+            }
+        }
+
+        return null;
+    }
 }
@@ -3,25 +3,58 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
-import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
- * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector
+ * InMemoryOMRSMetadataStore provides the in memory stores for the InMemoryRepositoryConnector.
+ *
+ * Alongside the stores of the current instances, it maintains secondary indexes that allow queries on the current
+ * instances to retrieve candidate instances without scanning the whole store.  The indexes cover entity and relationship
+ * types, the classifications attached to entities, the relationships attached to each entity and the values of the
+ * unique name properties.  They are maintained on every create, update, delete and purge.
+ *
+ * The stores of the current instances are concurrent maps.  Queries on the current instances do not lock the store
+ * and return views over the maps rather than copies.  Updates are serialized so that the stores, the indexes and
+ * the history remain consistent, and each update replaces an instance in a single step so readers see either the
+ * old or the new version.  Queries on the history (asOfTime is not null) take the same lock as the updates.
+ *
+ * If persistence is turned on, each change is described by an InMemoryStoreLogRecord and written to the
+ * InMemoryStoreLog before it is made to the store.  The same records are replayed to rebuild the store when the
+ * repository restarts.
  */
 class InMemoryOMRSMetadataStore
 {
-    private String                                 repositoryName           = null;
-    private volatile Map<String, EntityDetail>     entityStore              = new HashMap<>();
-    private volatile Map<String, EntityProxy>      entityProxyStore         = new HashMap<>();
-    private volatile List<EntityDetail>            entityHistoryStore       = new ArrayList<>();
-    private volatile Map<String, Relationship>     relationshipStore        = new HashMap<>();
-    private volatile List<Relationship>            relationshipHistoryStore = new ArrayList<>();
+    /**
+     * The properties whose string values are indexed to support exact match and starts with queries.
+     */
+    static final List<String> indexedNameProperties = Arrays.asList("qualifiedName", "name");
+
+    private String                                      repositoryName           = null;
+    private final Map<String, EntityDetail>             entityStore              = new ConcurrentHashMap<>();
+    private final Map<String, EntityProxy>              entityProxyStore         = new ConcurrentHashMap<>();
+    private final InMemoryInstanceHistory<EntityDetail> entityHistoryStore       = new InMemoryInstanceHistory<>();
+    private final Map<String, Relationship>             relationshipStore        = new ConcurrentHashMap<>();
+    private final InMemoryInstanceHistory<Relationship> relationshipHistoryStore = new InMemoryInstanceHistory<>();
+    private volatile InMemoryStoreLog                   storeLog                 = null;
+
+    private InMemoryInstanceIndex              entityTypeIndex             = new InMemoryInstanceIndex(false);
+    private InMemoryInstanceIndex              classificationIndex         = new InMemoryInstanceIndex(false);
+    private Map<String, InMemoryInstanceIndex> namePropertyIndexes         = new HashMap<>();
+    private InMemoryInstanceIndex              relationshipTypeIndex       = new InMemoryInstanceIndex(false);
+    private InMemoryInstanceIndex              relationshipsForEntityIndex = new InMemoryInstanceIndex(false);
 
 
     /**
@@ -29,6 +62,10 @@ class InMemoryOMRSMetadataStore
      */
     InMemoryOMRSMetadataStore()
     {
+        for (String propertyName : indexedNameProperties)
+        {
+            namePropertyIndexes.put(propertyName, new InMemoryInstanceIndex(true));
+        }
     }
 
 
@@ -44,13 +81,14 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Return a list of entities from the store that are at the latest level.
+     * Return the entities from the store that are at the latest level.  The collection is a read-only view
+     * of the store so it reflects updates made while it is being iterated.
      *
-     * @return list of EntityDetail objects
+     * @return collection of EntityDetail objects
      */
-    synchronized List<EntityDetail>   getEntities()
+    Collection<EntityDetail>   getEntities()
     {
-        return new ArrayList<>(entityStore.values());
+        return Collections.unmodifiableCollection(entityStore.values());
     }
 
 
@@ -60,8 +98,13 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the entity
      * @return entity object
      */
-    synchronized EntityDetail  getEntity(String   guid)
+    EntityDetail  getEntity(String   guid)
     {
+        if (guid == null)
+        {
+            return null;
+        }
+
         return entityStore.get(guid);
     }
 
@@ -72,88 +115,154 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier
      * @return entity proxy object
      */
-    synchronized EntityProxy  getEntityProxy(String   guid)
+    EntityProxy  getEntityProxy(String   guid)
     {
+        if (guid == null)
+        {
+            return null;
+        }
+
         return entityProxyStore.get(guid);
     }
 
 
+    /**
+     * Return the current entities that have one of the requested types.
+     *
+     * @param typeNames names of the types (typically a type and all of its subtypes)
+     * @return list of EntityDetail objects
+     */
+    List<EntityDetail> getEntitiesOfTypes(Collection<String> typeNames)
+    {
+        Set<String> entityGUIDs = new HashSet<>();
+
+        for (String typeName : typeNames)
+        {
+            entityGUIDs.addAll(entityTypeIndex.getGUIDs(typeName));
+        }
+
+        return this.getEntities(entityGUIDs);
+    }
+
+
+    /**
+     * Return the current entities that have the named classification attached.
+     *
+     * @param classificationName name of the classification
+     * @return list of EntityDetail objects
+     */
+    List<EntityDetail> getClassifiedEntities(String classificationName)
+    {
+        return this.getEntities(classificationIndex.getGUIDs(classificationName));
+    }
+
+
+    /**
+     * Return the current entities that have a unique name property with the requested value.
+     *
+     * @param propertyName name of the property (see indexedNameProperties)
+     * @param value exact value or prefix of the property
+     * @param isPrefix true if the value is a prefix of the property value
+     * @return list of EntityDetail objects or null if the property is not indexed
+     */
+    List<EntityDetail> getEntitiesByNameProperty(String  propertyName,
+                                                 String  value,
+                                                 boolean isPrefix)
+    {
+        InMemoryInstanceIndex namePropertyIndex = namePropertyIndexes.get(propertyName);
+
+        if (namePropertyIndex == null)
+        {
+            return null;
+        }
+
+        if (isPrefix)
+        {
+            return this.getEntities(namePropertyIndex.getGUIDsWithPrefix(value));
+        }
+
+        return this.getEntities(namePropertyIndex.getGUIDs(value));
+    }
+
+
+    /**
+     * Return the current entities for a set of guids.
+     *
+     * @param entityGUIDs unique identifiers of the entities
+     * @return list of EntityDetail objects
+     */
+    private List<EntityDetail> getEntities(Set<String> entityGUIDs)
+    {
+        List<EntityDetail> entities = new ArrayList<>(entityGUIDs.size());
+
+        for (String entityGUID : entityGUIDs)
+        {
+            EntityDetail entity = entityStore.get(entityGUID);
+
+            if (entity != null)
+            {
+                entities.add(entity);
+            }
+        }
+
+        return entities;
+    }
+
+
     /**
      * Return an entity store that contains entities as they were at the time supplied in the asOfTime
      * parameter
      *
      * @param asOfTime - time for the store (or null means now)
-     * @return entity store for the requested time
+     * @return entity store for the requested time - a read-only view of the current store if asOfTime is null
      */
-    synchronized Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
+    Map<String, EntityDetail>  timeWarpEntityStore(Date         asOfTime)
     {
         if (asOfTime == null)
         {
-            return new HashMap<>(entityStore);
+            return Collections.unmodifiableMap(entityStore);
         }
 
+        return this.buildTimeWarpedEntityStore(asOfTime);
+    }
+
+
+    /**
+     * Build an entity store that contains entities as they were at the time supplied in the asOfTime
+     * parameter.  This uses the history store so it locks out updates while it runs.
+     *
+     * @param asOfTime - time for the store
+     * @return entity store for the requested time
+     */
+    private synchronized Map<String, EntityDetail>  buildTimeWarpedEntityStore(Date         asOfTime)
+    {
         Map<String, EntityDetail>  timeWarpedEntityStore = new HashMap<>();
 
         /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
+         * Each entity in the current store is replaced by the version that was active at the asOfTime.
          */
-        for (EntityDetail  entity : entityStore.values())
+        for (String entityGUID : entityStore.keySet())
         {
+            EntityDetail entity = this.getEntityVersionAsOf(entityGUID, asOfTime);
+
             if (entity != null)
             {
-                if (entity.getUpdateTime() != null)
-                {
-                    String entityGUID = entity.getGUID();
-
-                    if (entityGUID != null)
-                    {
-                        if (! entity.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedEntityStore.put(entityGUID, entity);
-                        }
-                    }
-                }
-                else if (entity.getCreateTime() != null)
-                {
-                    if (! entity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entity.getGUID(), entity);
-                    }
-                }
+                timeWarpedEntityStore.put(entityGUID, entity);
             }
         }
 
         /*
-         * Now step through the history store picking up the versions of other entities that were active
-         * at the time of the asOfTime.
+         * Pick up any entitys that are only in the history store.
          */
-        for (EntityDetail oldEntity : entityHistoryStore)
+        for (String entityGUID : entityHistoryStore.getGUIDs())
         {
-            if (oldEntity != null)
+            if (! timeWarpedEntityStore.containsKey(entityGUID))
             {
-                String entityGUID = oldEntity.getGUID();
+                EntityDetail oldEntity = entityHistoryStore.getVersionAsOf(entityGUID, asOfTime);
 
-                if (oldEntity.getUpdateTime() != null)
+                if (oldEntity != null)
                 {
-                    if (! oldEntity.getUpdateTime().after(asOfTime))
-                    {
-                        EntityDetail newerEntity = timeWarpedEntityStore.put(entityGUID, oldEntity);
-
-                        if (newerEntity != null)
-                        {
-                            timeWarpedEntityStore.put(entityGUID, newerEntity);
-                        }
-                        break;
-                    }
-                }
-                else if (oldEntity.getCreateTime() != null)
-                {
-                    if (! oldEntity.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedEntityStore.put(entityGUID, oldEntity);
-                        break;
-                    }
+                    timeWarpedEntityStore.put(entityGUID, oldEntity);
                 }
             }
         }
@@ -163,13 +272,62 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Return the list of relationships at their current level.
+     * Return the version of an entity that was active at the time supplied in the asOfTime parameter.
      *
-     * @return list of relationships
+     * @param guid - unique identifier for the entity
+     * @param asOfTime - time for the entity (or null means now)
+     * @return entity object or null if the entity was not known at that time
+     */
+    EntityDetail  getEntity(String   guid,
+                            Date     asOfTime)
+    {
+        if (asOfTime == null)
+        {
+            return this.getEntity(guid);
+        }
+
+        if (guid == null)
+        {
+            return null;
+        }
+
+        return this.getEntityVersionAsOf(guid, asOfTime);
+    }
+
+
+    /**
+     * Return the version of an entity that was active at the time supplied in the asOfTime parameter.
+     * This is the current version if it was last updated at or before the asOfTime.  Otherwise the
+     * entity's history is searched.
+     *
+     * @param guid - unique identifier for the entity
+     * @param asOfTime - time for the entity
+     * @return entity object or null if the entity was not known at that time
+     */
+    private synchronized EntityDetail  getEntityVersionAsOf(String   guid,
+                                                            Date     asOfTime)
+    {
+        EntityDetail currentEntity = entityStore.get(guid);
+
+        if ((currentEntity != null) &&
+            (InMemoryInstanceHistory.getVersionTime(currentEntity) <= asOfTime.getTime()))
+        {
+            return currentEntity;
+        }
+
+        return entityHistoryStore.getVersionAsOf(guid, asOfTime);
+    }
+
+
+    /**
+     * Return the relationships at their current level.  The collection is a read-only view
+     * of the store so it reflects updates made while it is being iterated.
+     *
+     * @return collection of relationships
      */
-    synchronized List<Relationship>   getRelationships()
+    Collection<Relationship>   getRelationships()
     {
-        return new ArrayList<>(relationshipStore.values());
+        return Collections.unmodifiableCollection(relationshipStore.values());
     }
 
 
@@ -179,88 +337,125 @@ class InMemoryOMRSMetadataStore
      * @param guid - unique identifier for the relationship
      * @return relationship object
      */
-    protected synchronized Relationship  getRelationship(String   guid)
+    protected Relationship  getRelationship(String   guid)
     {
+        if (guid == null)
+        {
+            return null;
+        }
+
         return relationshipStore.get(guid);
     }
 
+
+    /**
+     * Return the current relationships that have one of the requested types.
+     *
+     * @param typeNames names of the types (typically a type and all of its subtypes)
+     * @return list of relationships
+     */
+    List<Relationship> getRelationshipsOfTypes(Collection<String> typeNames)
+    {
+        Set<String> relationshipGUIDs = new HashSet<>();
+
+        for (String typeName : typeNames)
+        {
+            relationshipGUIDs.addAll(relationshipTypeIndex.getGUIDs(typeName));
+        }
+
+        return this.getRelationships(relationshipGUIDs);
+    }
+
+
+    /**
+     * Return the current relationships that are attached to an entity.
+     *
+     * @param entityGUID unique identifier of the entity
+     * @return list of relationships
+     */
+    List<Relationship> getRelationshipsForEntity(String entityGUID)
+    {
+        return this.getRelationships(relationshipsForEntityIndex.getGUIDs(entityGUID));
+    }
+
+
+    /**
+     * Return the current relationships for a set of guids.
+     *
+     * @param relationshipGUIDs unique identifiers of the relationships
+     * @return list of relationships
+     */
+    private List<Relationship> getRelationships(Set<String> relationshipGUIDs)
+    {
+        List<Relationship> relationships = new ArrayList<>(relationshipGUIDs.size());
+
+        for (String relationshipGUID : relationshipGUIDs)
+        {
+            Relationship relationship = relationshipStore.get(relationshipGUID);
+
+            if (relationship != null)
+            {
+                relationships.add(relationship);
+            }
+        }
+
+        return relationships;
+    }
+
     /**
      * Return a relationship store that contains relationships as they were at the time supplied in the asOfTime
      * parameter
      *
      * @param asOfTime - time for the store (or null means now)
-     * @return relationship store for the requested time
+     * @return relationship store for the requested time - a read-only view of the current store if asOfTime is null
      */
-    synchronized Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
+    Map<String, Relationship>  timeWarpRelationshipStore(Date         asOfTime)
     {
         if (asOfTime == null)
         {
-            return new HashMap<>(relationshipStore);
+            return Collections.unmodifiableMap(relationshipStore);
         }
 
-        Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
+        return this.buildTimeWarpedRelationshipStore(asOfTime);
+    }
 
 
+    /**
+     * Build a relationship store that contains relationships as they were at the time supplied in the asOfTime
+     * parameter.  This uses the history store so it locks out updates while it runs.
+     *
+     * @param asOfTime - time for the store
+     * @return relationship store for the requested time
+     */
+    private synchronized Map<String, Relationship>  buildTimeWarpedRelationshipStore(Date         asOfTime)
+    {
+        Map<String, Relationship>  timeWarpedRelationshipStore = new HashMap<>();
+
         /*
-         * First step through the current relationship store and extract all of the relationships that were
-         * last updated before the asOfTime.
+         * Each relationship in the current store is replaced by the version that was active at the asOfTime.
          */
-        for (Relationship  relationship : relationshipStore.values())
+        for (String relationshipGUID : relationshipStore.keySet())
         {
+            Relationship relationship = this.getRelationshipVersionAsOf(relationshipGUID, asOfTime);
+
             if (relationship != null)
             {
-                if (relationship.getUpdateTime() != null)
-                {
-                    String relationshipGUID = relationship.getGUID();
-
-                    if (relationshipGUID != null)
-                    {
-                        if (! relationship.getUpdateTime().after(asOfTime))
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, relationship);
-                        }
-                    }
-                }
-                else if (relationship.getCreateTime() != null)
-                {
-                    if (! relationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationship.getGUID(), relationship);
-                    }
-                }
+                timeWarpedRelationshipStore.put(relationshipGUID, relationship);
             }
         }
 
         /*
-         * Now step through the history store picking up the versions of other relationships that were active
-         * at the time of the asOfTime.
+         * Pick up any relationships that are only in the history store.
          */
-        for (Relationship oldRelationship : relationshipHistoryStore)
+        for (String relationshipGUID : relationshipHistoryStore.getGUIDs())
         {
-            if (oldRelationship != null)
+            if (! timeWarpedRelationshipStore.containsKey(relationshipGUID))
             {
-                String relationshipGUID = oldRelationship.getGUID();
+                Relationship oldRelationship = relationshipHistoryStore.getVersionAsOf(relationshipGUID, asOfTime);
 
-                if (oldRelationship.getUpdateTime() != null)
+                if (oldRelationship != null)
                 {
-                    if (! oldRelationship.getUpdateTime().after(asOfTime))
-                    {
-                        Relationship newerRelationship = timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
-
-                        if (newerRelationship != null)
-                        {
-                            timeWarpedRelationshipStore.put(relationshipGUID, newerRelationship);
-                        }
-                        break;
-                    }
-                }
-                else if (oldRelationship.getCreateTime() != null)
-                {
-                    if (! oldRelationship.getCreateTime().after(asOfTime))
-                    {
-                        timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
-                        break;
-                    }
+                    timeWarpedRelationshipStore.put(relationshipGUID, oldRelationship);
                 }
             }
         }
@@ -268,26 +463,106 @@ class InMemoryOMRSMetadataStore
         return timeWarpedRelationshipStore;
     }
 
+
+    /**
+     * Return the version of a relationship that was active at the time supplied in the asOfTime parameter.
+     *
+     * @param guid - unique identifier for the relationship
+     * @param asOfTime - time for the relationship (or null means now)
+     * @return relationship object or null if the relationship was not known at that time
+     */
+    Relationship  getRelationship(String   guid,
+                                  Date     asOfTime)
+    {
+        if (asOfTime == null)
+        {
+            return this.getRelationship(guid);
+        }
+
+        if (guid == null)
+        {
+            return null;
+        }
+
+        return this.getRelationshipVersionAsOf(guid, asOfTime);
+    }
+
+
+    /**
+     * Return the version of a relationship that was active at the time supplied in the asOfTime parameter.
+     * This is the current version if it was last updated at or before the asOfTime.  Otherwise the
+     * relationship's history is searched.
+     *
+     * @param guid - unique identifier for the relationship
+     * @param asOfTime - time for the relationship
+     * @return relationship object or null if the relationship was not known at that time
+     */
+    private synchronized Relationship  getRelationshipVersionAsOf(String   guid,
+                                                                  Date     asOfTime)
+    {
+        Relationship currentRelationship = relationshipStore.get(guid);
+
+        if ((currentRelationship != null) &&
+            (InMemoryInstanceHistory.getVersionTime(currentRelationship) <= asOfTime.getTime()))
+        {
+            return currentRelationship;
+        }
+
+        return relationshipHistoryStore.getVersionAsOf(guid, asOfTime);
+    }
+
+    /**
+     * Turn on persistence for the store.  The store is rebuilt from the persistence files and then each change
+     * is recorded in the log before it is made to the store.
+     *
+     * @param storeLog log for the store
+     * @throws RepositoryErrorException the persistence files can not be read or written
+     */
+    synchronized void startPersistence(InMemoryStoreLog storeLog) throws RepositoryErrorException
+    {
+        storeLog.recover(this::applyChange);
+
+        this.storeLog = storeLog;
+    }
+
+
+    /**
+     * Turn off persistence for the store.  The store keeps its contents.
+     *
+     * @throws RepositoryErrorException the log can not be closed cleanly
+     */
+    synchronized void stopPersistence() throws RepositoryErrorException
+    {
+        if (storeLog != null)
+        {
+            InMemoryStoreLog oldStoreLog = storeLog;
+
+            storeLog = null;
+            oldStoreLog.close();
+        }
+    }
+
+
     /**
      * Create a new entity in the entity store.
      *
      * @param entity - new version of the entity
      * @return entity with potentially updated GUID
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
      */
-    synchronized EntityDetail createEntityInStore(EntityDetail    entity)
+    synchronized EntityDetail createEntityInStore(EntityDetail    entity) throws RepositoryErrorException
     {
         /*
-         * There is a small chance the randomly generated GUID will clash with an existing relationship.
-         * If this happens a new GUID is generated for the relationship and the process repeats.
+         * There is a small chance the randomly generated GUID will clash with an existing entity.
+         * If this happens a new GUID is generated for the entity and the process repeats.
          */
-        EntityDetail existingEntity = entityStore.put(entity.getGUID(), entity);
-
-        while (existingEntity != null)
+        while (entityStore.containsKey(entity.getGUID()))
         {
             entity.setGUID(UUID.randomUUID().toString());
-            existingEntity = entityStore.put(entity.getGUID(), entity);
         }
 
+        this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_ENTITY, entity));
+
         return entity;
     }
 
@@ -297,21 +572,21 @@ class InMemoryOMRSMetadataStore
      *
      * @param relationship - new version of the relationship
      * @return relationship with potentially updated GUID
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
      */
-    synchronized Relationship createRelationshipInStore(Relationship    relationship)
+    synchronized Relationship createRelationshipInStore(Relationship    relationship) throws RepositoryErrorException
     {
         /*
          * There is a small chance the randomly generated GUID will clash with an existing relationship.
          * If this happens a new GUID is generated for the relationship and the process repeats.
          */
-        Relationship existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
-
-        while (existingRelationship != null)
+        while (relationshipStore.containsKey(relationship.getGUID()))
         {
             relationship.setGUID(UUID.randomUUID().toString());
-            existingRelationship = relationshipStore.put(relationship.getGUID(), relationship);
         }
 
+        this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_RELATIONSHIP, relationship));
+
         return relationship;
     }
 
@@ -320,27 +595,24 @@ class InMemoryOMRSMetadataStore
      * Save an entity proxy to the entity store.
      *
      * @param entityProxy - entity proxy object to add
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
      */
-    synchronized void addEntityProxyToStore(EntityProxy    entityProxy)
+    synchronized void addEntityProxyToStore(EntityProxy    entityProxy) throws RepositoryErrorException
     {
-        entityProxyStore.put(entityProxy.getGUID(), entityProxy);
+        this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_ENTITY_PROXY, entityProxy));
     }
 
 
     /**
      * Maintain a history of entities as they are stored into the entity store to ensure old version can be restored.
-     * The history is maintained with the latest changes first in the list.
+     * The history of each entity is maintained in time order.
      *
      * @param entity - new version of the entity
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
      */
-    synchronized void updateEntityInStore(EntityDetail    entity)
+    synchronized void updateEntityInStore(EntityDetail    entity) throws RepositoryErrorException
     {
-        EntityDetail    oldEntity = entityStore.put(entity.getGUID(), entity);
-
-        if (oldEntity != null)
-        {
-            entityHistoryStore.add(0, oldEntity);
-        }
+        this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.UPDATE_ENTITY, entity));
     }
 
 
@@ -348,28 +620,24 @@ class InMemoryOMRSMetadataStore
      * Update an entity proxy in the proxy store.
      *
      * @param entityProxy - entity proxy object to add
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
      */
-    synchronized void updateEntityProxyInStore(EntityProxy    entityProxy)
+    synchronized void updateEntityProxyInStore(EntityProxy    entityProxy) throws RepositoryErrorException
     {
-        entityProxyStore.put(entityProxy.getGUID(), entityProxy);
+        this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_ENTITY_PROXY, entityProxy));
     }
 
 
     /**
      * Maintain a history of relationships as they are stored into the relationship store to ensure old version
-     * can be restored.  The history is maintained with the latest changes first in the list.
+     * can be restored.  The history of each relationship is maintained in time order.
      *
      * @param relationship - new version of the relationship
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
      */
-    synchronized void updateRelationshipInStore(Relationship    relationship)
+    synchronized void updateRelationshipInStore(Relationship    relationship) throws RepositoryErrorException
     {
-
-        Relationship    oldRelationship = relationshipStore.put(relationship.getGUID(), relationship);
-
-        if (oldRelationship != null)
-        {
-            relationshipHistoryStore.add(0, oldRelationship);
-        }
+        this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.UPDATE_RELATIONSHIP, relationship));
     }
 
 
@@ -378,10 +646,11 @@ class InMemoryOMRSMetadataStore
      * history store.
      *
      * @param entity - object to save
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
      */
-    synchronized void saveReferenceEntityToStore(EntityDetail    entity)
+    synchronized void saveReferenceEntityToStore(EntityDetail    entity) throws RepositoryErrorException
     {
-        entityStore.put(entity.getGUID(), entity);
+        this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_ENTITY, entity));
     }
 
 
@@ -390,10 +659,113 @@ class InMemoryOMRSMetadataStore
      * history store.
      *
      * @param relationship - object to save
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
      */
-    synchronized void saveReferenceRelationshipToStore(Relationship    relationship)
+    synchronized void saveReferenceRelationshipToStore(Relationship    relationship) throws RepositoryErrorException
     {
-        relationshipStore.put(relationship.getGUID(), relationship);
+        this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_RELATIONSHIP, relationship));
+    }
+
+
+    /**
+     * Create a batch of new entities, and the entity proxies that go with them, in the entity store.
+     * The changes are made (and written to the persistence log) together.
+     *
+     * @param entities - new entities
+     * @param entityProxies - proxy for each new entity (in the same order as the entities)
+     * @throws RepositoryErrorException the changes can not be saved to the persistence log
+     */
+    synchronized void createEntitiesInStore(List<EntityDetail>  entities,
+                                            List<EntityProxy>   entityProxies) throws RepositoryErrorException
+    {
+        List<InMemoryStoreLogRecord> changes  = new ArrayList<>();
+        Set<String>                  newGUIDs = new HashSet<>();
+
+        for (int index = 0; index < entities.size(); index++)
+        {
+            EntityDetail entity      = entities.get(index);
+            EntityProxy  entityProxy = entityProxies.get(index);
+
+            /*
+             * The GUID must not clash with an existing entity or with another entity in the batch.
+             */
+            while ((entityStore.containsKey(entity.getGUID())) || (newGUIDs.contains(entity.getGUID())))
+            {
+                entity.setGUID(UUID.randomUUID().toString());
+                entityProxy.setGUID(entity.getGUID());
+            }
+
+            newGUIDs.add(entity.getGUID());
+            changes.add(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_ENTITY, entity));
+            changes.add(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_ENTITY_PROXY, entityProxy));
+        }
+
+        this.recordChanges(changes);
+    }
+
+
+    /**
+     * Create a batch of new relationships in the relationship store.  The changes are made (and written to the
+     * persistence log) together.
+     *
+     * @param relationships - new relationships
+     * @throws RepositoryErrorException the changes can not be saved to the persistence log
+     */
+    synchronized void createRelationshipsInStore(List<Relationship>   relationships) throws RepositoryErrorException
+    {
+        List<InMemoryStoreLogRecord> changes  = new ArrayList<>();
+        Set<String>                  newGUIDs = new HashSet<>();
+
+        for (Relationship relationship : relationships)
+        {
+            /*
+             * The GUID must not clash with an existing relationship or with another relationship in the batch.
+             */
+            while ((relationshipStore.containsKey(relationship.getGUID())) || (newGUIDs.contains(relationship.getGUID())))
+            {
+                relationship.setGUID(UUID.randomUUID().toString());
+            }
+
+            newGUIDs.add(relationship.getGUID());
+            changes.add(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_RELATIONSHIP, relationship));
+        }
+
+        this.recordChanges(changes);
+    }
+
+
+    /**
+     * Save a batch of reference copies to the active store.  Each entity replaces any proxy for the same entity
+     * and each relationship is saved with proxies for the entities at its ends, just as when the instances are
+     * saved one at a time.  The changes are made (and written to the persistence log) together.
+     *
+     * @param entities - entities to save
+     * @param relationships - relationships to save
+     * @throws RepositoryErrorException the changes can not be saved to the persistence log
+     */
+    synchronized void saveReferenceInstancesToStore(List<EntityDetail>  entities,
+                                                    List<Relationship>  relationships) throws RepositoryErrorException
+    {
+        List<InMemoryStoreLogRecord> changes = new ArrayList<>();
+
+        for (EntityDetail entity : entities)
+        {
+            changes.add(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_ENTITY, entity));
+
+            if (entityProxyStore.containsKey(entity.getGUID()))
+            {
+                changes.add(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.REMOVE_ENTITY_PROXY, entity.getGUID()));
+            }
+        }
+
+        for (Relationship relationship : relationships)
+        {
+            changes.add(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_ENTITY_PROXY, relationship.getEntityOneProxy()));
+            changes.add(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_ENTITY_PROXY, relationship.getEntityTwoProxy()));
+            changes.add(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_RELATIONSHIP, relationship));
+        }
+
+        this.recordChanges(changes);
     }
 
 
@@ -403,8 +775,9 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this relationship - or null if not found
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
      */
-    synchronized Relationship retrievePreviousVersionOfRelationship(String   guid)
+    synchronized Relationship retrievePreviousVersionOfRelationship(String   guid) throws RepositoryErrorException
     {
         if (guid != null)
         {
@@ -418,33 +791,28 @@ class InMemoryOMRSMetadataStore
             }
 
 
-            for (Relationship relationship : relationshipHistoryStore)
+            Relationship relationship = relationshipHistoryStore.getLatestVersion(guid);
+
+            if (relationship != null)
             {
-                if (relationship != null)
+                if (versionNumber == 0)
                 {
-                    if (guid.equals(relationship.getGUID()))
-                    {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = relationship.getVersion() + 1;
-                        }
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         */
-                        Relationship newRelationship = new Relationship(relationship);
-                        newRelationship.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newRelationship.setUpdateTime(restoreTime);
-                        relationshipStore.put(guid, newRelationship);
-                        relationshipHistoryStore.add(0, currentVersionOfRelationship);
-                        return newRelationship;
-
-                    }
+                    versionNumber = relationship.getVersion() + 1;
                 }
+
+                /*
+                 * Clone the head (most recent) version in the history, set its version number to the next version
+                 * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                 * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                 * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                 * updated longer ago than was really the case.
+                 */
+                Relationship newRelationship = new Relationship(relationship);
+                newRelationship.setVersion(versionNumber);
+                Date restoreTime = new Date();
+                newRelationship.setUpdateTime(restoreTime);
+                this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.UPDATE_RELATIONSHIP, newRelationship));
+                return newRelationship;
             }
         }
 
@@ -458,8 +826,9 @@ class InMemoryOMRSMetadataStore
      *
      * @param guid - unique identifier for the required element
      * @return - previous version of this Entity - or null if not found
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
      */
-    synchronized EntityDetail retrievePreviousVersionOfEntity(String   guid)
+    synchronized EntityDetail retrievePreviousVersionOfEntity(String   guid) throws RepositoryErrorException
     {
         if (guid != null)
         {
@@ -472,35 +841,29 @@ class InMemoryOMRSMetadataStore
                 versionNumber = currentVersionOfEntity.getVersion() + 1;
             }
 
-            for (EntityDetail entity : entityHistoryStore)
+            EntityDetail entity = entityHistoryStore.getLatestVersion(guid);
+
+            if (entity != null)
             {
-                if (entity != null)
+                if (versionNumber == 0)
                 {
-                    if (guid.equals(entity.getGUID()))
-                    {
-                        if (versionNumber == 0)
-                        {
-                            versionNumber = entity.getVersion() + 1;
-                        }
-
-                        /*
-                         * Clone the head (most recent) version in the history, set its version number to the next version
-                         * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
-                         * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
-                         * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
-                         * updated longer ago than was really the case.
-                         *
-                         */
-                        EntityDetail newEntity = new EntityDetail(entity);
-                        newEntity.setVersion(versionNumber);
-                        Date restoreTime = new Date();
-                        newEntity.setUpdateTime(restoreTime);
-                        entityStore.put(guid, newEntity);
-                        entityHistoryStore.add(0, currentVersionOfEntity);
-                        return newEntity;
-
-                    }
+                    versionNumber = entity.getVersion() + 1;
                 }
+
+                /*
+                 * Clone the head (most recent) version in the history, set its version number to the next version
+                 * and insert the new clone into the current store (under key GUID). Also, take the 'current version'
+                 * (as was at start of method) and shunt that into the history. Do not remove anything from the history.
+                 * Remember also to set the updateTime to NOW - otherwise the historical copy will appear to have been
+                 * updated longer ago than was really the case.
+                 *
+                 */
+                EntityDetail newEntity = new EntityDetail(entity);
+                newEntity.setVersion(versionNumber);
+                Date restoreTime = new Date();
+                newEntity.setUpdateTime(restoreTime);
+                this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.UPDATE_ENTITY, newEntity));
+                return newEntity;
             }
         }
 
@@ -509,103 +872,391 @@ class InMemoryOMRSMetadataStore
 
 
     /**
-     * Remove an entity from the active store and add it to the history store.
+     * Remove an entity and its history from the store.
      *
      * @param entity - entity to remove
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
      */
-    synchronized void removeEntityFromStore(EntityDetail     entity)
+    synchronized void removeEntityFromStore(EntityDetail     entity) throws RepositoryErrorException
     {
-        String entityGUID = entity.getGUID();
-        entityStore.remove(entityGUID);
-        List<EntityDetail> purgedHistory = new ArrayList<>();
-        for (EntityDetail history : entityHistoryStore)
+        this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.REMOVE_ENTITY, entity.getGUID()));
+    }
+
+
+    /**
+     * Remove a reference entity and its history from the store.
+     *
+     * @param guid - entity to remove
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
+     */
+    synchronized void removeReferenceEntityFromStore(String     guid) throws RepositoryErrorException
+    {
+        if ((guid != null) && (entityStore.containsKey(guid)))
+        {
+            this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.REMOVE_ENTITY, guid));
+        }
+    }
+
+
+    /**
+     * Remove an entity proxy from the store.
+     *
+     * @param guid - entity proxy to remove
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
+     */
+    synchronized void removeEntityProxyFromStore(String     guid) throws RepositoryErrorException
+    {
+        if ((guid != null) && (entityProxyStore.containsKey(guid)))
+        {
+            this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.REMOVE_ENTITY_PROXY, guid));
+        }
+    }
+
+
+    /**
+     * Remove a relationship and its history from the store.
+     *
+     * @param relationship - relationship to remove
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
+     */
+    synchronized void removeRelationshipFromStore(Relationship     relationship) throws RepositoryErrorException
+    {
+        this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.REMOVE_RELATIONSHIP, relationship.getGUID()));
+    }
+
+
+    /**
+     * Remove a reference relationship and its history from the store.
+     *
+     * @param guid - relationship to remove
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
+     */
+    synchronized void removeReferenceRelationshipFromStore(String     guid) throws RepositoryErrorException
+    {
+        if ((guid != null) && (relationshipStore.containsKey(guid)))
+        {
+            this.recordChange(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.REMOVE_RELATIONSHIP, guid));
+        }
+    }
+
+
+    /**
+     * Write a change to the persistence log (if persistence is on), make the change to the store and then
+     * take a new snapshot if one is due.
+     *
+     * @param change description of the change
+     * @throws RepositoryErrorException the change can not be saved to the persistence log
+     */
+    private void recordChange(InMemoryStoreLogRecord change) throws RepositoryErrorException
+    {
+        if (storeLog != null)
+        {
+            storeLog.append(change);
+        }
+
+        this.applyChange(change);
+
+        if ((storeLog != null) && (storeLog.isSnapshotDue()))
+        {
+            storeLog.writeSnapshot(this::getSnapshot);
+        }
+    }
+
+
+    /**
+     * Write a batch of changes to the persistence log (if persistence is on) as a single write, make the changes
+     * to the store and then take a new snapshot if one is due.
+     *
+     * @param changes descriptions of the changes
+     * @throws RepositoryErrorException the changes can not be saved to the persistence log
+     */
+    private void recordChanges(List<InMemoryStoreLogRecord> changes) throws RepositoryErrorException
+    {
+        if (storeLog != null)
+        {
+            storeLog.append(changes);
+        }
+
+        for (InMemoryStoreLogRecord change : changes)
+        {
+            this.applyChange(change);
+        }
+
+        if ((storeLog != null) && (storeLog.isSnapshotDue()))
+        {
+            storeLog.writeSnapshot(this::getSnapshot);
+        }
+    }
+
+
+    /**
+     * Make a change to the store.  This is used both for new changes and for the changes replayed from
+     * the persistence files.
+     *
+     * @param change description of the change
+     */
+    private void applyChange(InMemoryStoreLogRecord change)
+    {
+        String guid = change.getGUID();
+
+        if ((change.getOperation() == null) || (guid == null))
+        {
+            return;
+        }
+
+        switch (change.getOperation())
+        {
+            case SAVE_ENTITY:
+                if (change.getEntity() != null)
+                {
+                    entityStore.put(guid, change.getEntity());
+                    this.indexEntity(change.getEntity());
+                }
+                break;
+
+            case UPDATE_ENTITY:
+                if (change.getEntity() != null)
+                {
+                    EntityDetail oldEntity = entityStore.put(guid, change.getEntity());
+
+                    this.indexEntity(change.getEntity());
+
+                    if (oldEntity != null)
+                    {
+                        entityHistoryStore.addVersion(guid, oldEntity);
+                    }
+                }
+                break;
+
+            case ENTITY_HISTORY:
+                entityHistoryStore.addVersion(guid, change.getEntity());
+                break;
+
+            case REMOVE_ENTITY:
+                entityStore.remove(guid);
+                this.removeEntityFromIndexes(guid);
+                entityHistoryStore.removeInstance(guid);
+                break;
+
+            case SAVE_ENTITY_PROXY:
+                if (change.getEntityProxy() != null)
+                {
+                    entityProxyStore.put(guid, change.getEntityProxy());
+                }
+                break;
+
+            case REMOVE_ENTITY_PROXY:
+                entityProxyStore.remove(guid);
+                break;
+
+            case SAVE_RELATIONSHIP:
+                if (change.getRelationship() != null)
+                {
+                    relationshipStore.put(guid, change.getRelationship());
+                    this.indexRelationship(change.getRelationship());
+                }
+                break;
+
+            case UPDATE_RELATIONSHIP:
+                if (change.getRelationship() != null)
+                {
+                    Relationship oldRelationship = relationshipStore.put(guid, change.getRelationship());
+
+                    this.indexRelationship(change.getRelationship());
+
+                    if (oldRelationship != null)
+                    {
+                        relationshipHistoryStore.addVersion(guid, oldRelationship);
+                    }
+                }
+                break;
+
+            case RELATIONSHIP_HISTORY:
+                relationshipHistoryStore.addVersion(guid, change.getRelationship());
+                break;
+
+            case REMOVE_RELATIONSHIP:
+                relationshipStore.remove(guid);
+                this.removeRelationshipFromIndexes(guid);
+                relationshipHistoryStore.removeInstance(guid);
+                break;
+        }
+    }
+
+
+    /**
+     * Pass the records that rebuild the current contents of the store, including the history, to the
+     * snapshot writer.
+     *
+     * @param snapshotWriter receiver of the records
+     */
+    private void getSnapshot(Consumer<InMemoryStoreLogRecord> snapshotWriter)
+    {
+        for (String entityGUID : entityHistoryStore.getGUIDs())
         {
-            if (history != null && !entityGUID.equals(history.getGUID()))
+            for (EntityDetail oldEntity : entityHistoryStore.getVersions(entityGUID))
             {
-                purgedHistory.add(history);
+                snapshotWriter.accept(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.ENTITY_HISTORY, oldEntity));
             }
         }
-        entityHistoryStore = purgedHistory;
+
+        for (EntityDetail entity : entityStore.values())
+        {
+            snapshotWriter.accept(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_ENTITY, entity));
+        }
+
+        for (EntityProxy entityProxy : entityProxyStore.values())
+        {
+            snapshotWriter.accept(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_ENTITY_PROXY, entityProxy));
+        }
+
+        for (String relationshipGUID : relationshipHistoryStore.getGUIDs())
+        {
+            for (Relationship oldRelationship : relationshipHistoryStore.getVersions(relationshipGUID))
+            {
+                snapshotWriter.accept(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.RELATIONSHIP_HISTORY, oldRelationship));
+            }
+        }
+
+        for (Relationship relationship : relationshipStore.values())
+        {
+            snapshotWriter.accept(new InMemoryStoreLogRecord(InMemoryStoreLogRecord.Operation.SAVE_RELATIONSHIP, relationship));
+        }
     }
 
 
     /**
-     * Remove a reference entity from the active store and add it to the history store.
+     * Add the current version of an entity to the indexes, replacing the entries for any previous version.
      *
-     * @param guid - entity to remove
+     * @param entity current version of the entity
      */
-    synchronized void removeReferenceEntityFromStore(String     guid)
+    private void indexEntity(EntityDetail entity)
     {
-        EntityDetail entity = entityStore.remove(guid);
+        String entityGUID = entity.getGUID();
+
+        entityTypeIndex.indexInstance(entityGUID, Collections.singletonList(this.getTypeName(entity.getType())));
+
+        List<String> classificationNames = new ArrayList<>();
 
-        if (entity != null)
+        if (entity.getClassifications() != null)
         {
-            List<EntityDetail> purgedHistory = new ArrayList<>();
-            for (EntityDetail history : entityHistoryStore)
+            for (Classification classification : entity.getClassifications())
             {
-                if (history != null && !guid.equals(history.getGUID()))
+                if (classification != null)
                 {
-                    purgedHistory.add(history);
+                    classificationNames.add(classification.getName());
                 }
             }
-            entityHistoryStore = purgedHistory;
+        }
+
+        classificationIndex.indexInstance(entityGUID, classificationNames);
+
+        for (String propertyName : indexedNameProperties)
+        {
+            namePropertyIndexes.get(propertyName).indexInstance(entityGUID,
+                                                                Collections.singletonList(this.getStringProperty(entity.getProperties(),
+                                                                                                                 propertyName)));
         }
     }
 
 
     /**
-     * Remove an entity from the active store and add it to the history store.
+     * Remove an entity from all of the indexes.
      *
-     * @param guid - entity proxy to remove
+     * @param entityGUID unique identifier of the entity
      */
-    synchronized void removeEntityProxyFromStore(String     guid)
+    private void removeEntityFromIndexes(String entityGUID)
     {
-        entityProxyStore.remove(guid);
+        entityTypeIndex.removeInstance(entityGUID);
+        classificationIndex.removeInstance(entityGUID);
+
+        for (InMemoryInstanceIndex namePropertyIndex : namePropertyIndexes.values())
+        {
+            namePropertyIndex.removeInstance(entityGUID);
+        }
     }
 
 
     /**
-     * Remove a relationship from the active store and add it to the history store.
+     * Add the current version of a relationship to the indexes, replacing the entries for any previous version.
      *
-     * @param relationship - relationship to remove
+     * @param relationship current version of the relationship
      */
-    synchronized void removeRelationshipFromStore(Relationship     relationship)
+    private void indexRelationship(Relationship relationship)
     {
-        String relationshipGUID = relationship.getGUID();
-        relationshipStore.remove(relationshipGUID);
-        List<Relationship> purgedHistory = new ArrayList<>();
-        for (Relationship history : relationshipHistoryStore)
+        String       relationshipGUID = relationship.getGUID();
+        List<String> entityGUIDs      = new ArrayList<>();
+
+        relationshipTypeIndex.indexInstance(relationshipGUID, Collections.singletonList(this.getTypeName(relationship.getType())));
+
+        if (relationship.getEntityOneProxy() != null)
         {
-            if (history != null && !relationshipGUID.equals(history.getGUID()))
-            {
-                purgedHistory.add(history);
-            }
+            entityGUIDs.add(relationship.getEntityOneProxy().getGUID());
+        }
+
+        if (relationship.getEntityTwoProxy() != null)
+        {
+            entityGUIDs.add(relationship.getEntityTwoProxy().getGUID());
         }
-        relationshipHistoryStore = purgedHistory;
+
+        relationshipsForEntityIndex.indexInstance(relationshipGUID, entityGUIDs);
     }
 
 
     /**
-     * Remove a reference relationship from the active store and add it to the history store.
+     * Remove a relationship from all of the indexes.
      *
-     * @param guid - relationship to remove
+     * @param relationshipGUID unique identifier of the relationship
      */
-    synchronized void removeReferenceRelationshipFromStore(String     guid)
+    private void removeRelationshipFromIndexes(String relationshipGUID)
     {
-        Relationship  relationship = relationshipStore.remove(guid);
+        relationshipTypeIndex.removeInstance(relationshipGUID);
+        relationshipsForEntityIndex.removeInstance(relationshipGUID);
+    }
 
-        if (relationship != null)
+
+    /**
+     * Return the type name from an instance's type.
+     *
+     * @param instanceType type of the instance
+     * @return type name or null
+     */
+    private String getTypeName(InstanceType instanceType)
+    {
+        if (instanceType != null)
         {
-            List<Relationship> purgedHistory = new ArrayList<>();
-            for (Relationship history : relationshipHistoryStore)
+            return instanceType.getTypeDefName();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Return the value of a string property.
+     *
+     * @param properties properties of the instance
+     * @param propertyName name of the property
+     * @return string value or null if the property is not set or is not a string
+     */
+    private String getStringProperty(InstanceProperties properties,
+                                     String             propertyName)
+    {
+        if (properties != null)
+        {
+            InstancePropertyValue propertyValue = properties.getPropertyValue(propertyName);
+
+            if (propertyValue instanceof PrimitivePropertyValue)
             {
-                if (history != null && !guid.equals(history.getGUID()))
+                Object primitiveValue = ((PrimitivePropertyValue)propertyValue).getPrimitiveValue();
+
+                if (primitiveValue instanceof String)
                 {
-                    purgedHistory.add(history);
+                    return (String)primitiveValue;
                 }
             }
-            relationshipHistoryStore = purgedHistory;
         }
-    }
 
+        return null;
+    }
 }
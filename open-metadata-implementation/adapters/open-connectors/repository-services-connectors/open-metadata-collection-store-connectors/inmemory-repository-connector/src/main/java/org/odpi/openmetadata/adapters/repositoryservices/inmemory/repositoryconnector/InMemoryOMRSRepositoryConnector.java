@@ -3,12 +3,19 @@
 package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
 
 
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+
+import java.util.Map;
 
 /**
  * The InMemoryOMRSRepositoryConnector is a connector to a local in memory repository.  It is used for test,
  * small scale fixed or temporary repositories where the initial content comes from open metadata archives and
  * other members of connected open metadata repository cohorts.
+ *
+ * If the persistenceDirectory configuration property is set, the repository records its changes in files in
+ * that directory and recovers its instances from them when it starts.
  */
 public class InMemoryOMRSRepositoryConnector extends OMRSRepositoryConnector
 {
@@ -45,4 +52,91 @@ public class InMemoryOMRSRepositoryConnector extends OMRSRepositoryConnector
                                                                           metadataCollectionId);
         }
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Indicates that the connector is completely configured and can begin processing.  If persistence is
+     * configured, the instances stored before the server last stopped are recovered.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public void start() throws ConnectorCheckedException
+    {
+        super.start();
+
+        String  persistenceDirectory = null;
+        long    snapshotFrequency    = InMemoryOMRSRepositoryConnectorProvider.defaultSnapshotFrequency;
+        boolean forceWrites          = false;
+
+        if (connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object directoryProperty   = configurationProperties.get(InMemoryOMRSRepositoryConnectorProvider.persistenceDirectoryPropertyName);
+                Object frequencyProperty   = configurationProperties.get(InMemoryOMRSRepositoryConnectorProvider.snapshotFrequencyPropertyName);
+                Object forceWritesProperty = configurationProperties.get(InMemoryOMRSRepositoryConnectorProvider.forceWritesPropertyName);
+
+                if (directoryProperty != null)
+                {
+                    persistenceDirectory = directoryProperty.toString();
+                }
+
+                if (frequencyProperty != null)
+                {
+                    snapshotFrequency = Long.parseLong(frequencyProperty.toString());
+                }
+
+                if (forceWritesProperty != null)
+                {
+                    forceWrites = Boolean.parseBoolean(forceWritesProperty.toString());
+                }
+            }
+        }
+
+        if ((persistenceDirectory != null) && (super.metadataCollection instanceof InMemoryOMRSMetadataCollection))
+        {
+            InMemoryStoreLog storeLog = new InMemoryStoreLog(super.serverName,
+                                                             persistenceDirectory,
+                                                             snapshotFrequency,
+                                                             forceWrites,
+                                                             auditLog);
+
+            try
+            {
+                ((InMemoryOMRSMetadataCollection)super.metadataCollection).startPersistence(storeLog);
+            }
+            catch (RepositoryErrorException error)
+            {
+                throw new ConnectorCheckedException(error.getReportedErrorMessage(), error);
+            }
+        }
+    }
+
+
+    /**
+     * Free up any resources held since the connector is no longer needed.  If persistence is configured,
+     * the log is closed.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public void disconnect() throws ConnectorCheckedException
+    {
+        if (super.metadataCollection instanceof InMemoryOMRSMetadataCollection)
+        {
+            try
+            {
+                ((InMemoryOMRSMetadataCollection)super.metadataCollection).stopPersistence();
+            }
+            catch (RepositoryErrorException error)
+            {
+                throw new ConnectorCheckedException(error.getReportedErrorMessage(), error);
+            }
+        }
+
+        super.disconnect();
+    }
+}
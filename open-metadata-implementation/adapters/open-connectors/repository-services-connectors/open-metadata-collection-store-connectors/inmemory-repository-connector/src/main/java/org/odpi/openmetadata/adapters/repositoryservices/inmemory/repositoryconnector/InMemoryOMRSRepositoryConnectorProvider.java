@@ -7,6 +7,9 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorTyp
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnectorProviderBase;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * In the Open Connector Framework (OCF), a ConnectorProvider is a factory for a specific type of connector.
  * The InMemoryOMRSRepositoryConnectorProvider is the connector provider for the InMemoryOMRSRepositoryConnector.
@@ -23,6 +26,26 @@ public class InMemoryOMRSRepositoryConnectorProvider extends OMRSRepositoryConne
     static final String  connectorTypeName = "OMRS In Memory Repository Connector";
     static final String  connectorTypeDescription = "OMRS Repository Connector that uses an in-memory store.";
 
+    /**
+     * Directory where the repository's instances are persisted.  If this configuration property is not set,
+     * the repository is not persisted and its contents are lost when the server stops.
+     */
+    public static final String persistenceDirectoryPropertyName = "persistenceDirectory";
+
+    /**
+     * Number of changes written to the persistence log before a new snapshot of the repository is taken.
+     * Zero means a snapshot is never taken.
+     */
+    public static final String snapshotFrequencyPropertyName = "persistenceSnapshotFrequency";
+    static final long          defaultSnapshotFrequency      = 10000;
+
+    /**
+     * Should each change be forced to the storage device before the request returns.  If false, each change is passed
+     * to the operating system before the request returns so it survives a failure of the server but not of the
+     * operating system.
+     */
+    public static final String forceWritesPropertyName = "persistenceForceWrites";
+
 
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
@@ -42,6 +65,12 @@ public class InMemoryOMRSRepositoryConnectorProvider extends OMRSRepositoryConne
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String> recognizedConfigurationProperties = new ArrayList<>();
+        recognizedConfigurationProperties.add(persistenceDirectoryPropertyName);
+        recognizedConfigurationProperties.add(snapshotFrequencyPropertyName);
+        recognizedConfigurationProperties.add(forceWritesPropertyName);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
         super.connectorTypeBean = connectorType;
         super.setConnectorComponentDescription(OMRSAuditingComponent.INMEM_REPOSITORY_CONNECTOR);
     }
@@ -0,0 +1,636 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * InMemoryStoreLog provides the optional persistence for the InMemoryOMRSMetadataStore.  Every change to the store is
+ * appended to a log file before it is made.  When the log has grown by a configured number of records, the whole store is
+ * written to a snapshot file and a new, empty, log is started.  When the repository restarts, it replays the snapshot and
+ * then the log.
+ *
+ * Each record is stored as its length, a CRC32 checksum and the record serialized in JSON.  The files are read using
+ * memory-mapped buffers.  If a write to the log fails, the log is truncated back to where it was before the write so that
+ * no partial record is left for later records to follow.  If that is not possible, the log refuses any further records.
+ * When the log is replayed, an incomplete or corrupt record at the end of the log is the result of a failure while it was
+ * being written and is discarded.  A corrupt record anywhere else in the log, or anywhere in the snapshot, means that
+ * records that were successfully written have been damaged and so recovery fails rather than lose them.
+ *
+ * The snapshot records the generation of the log that follows it.  A new snapshot is written to a temporary file and
+ * then renamed so that a failure while writing the snapshot leaves the previous snapshot and log in place.
+ *
+ * The log is not thread-safe.  It is called by the InMemoryOMRSMetadataStore while it holds its lock.
+ */
+class InMemoryStoreLog
+{
+    private static final int    snapshotMagicNumber = 0x45474d53;
+    private static final int    recordHeaderSize    = 8;
+    private static final long   maxMappedWindow     = 1L << 30;
+    private static final String snapshotFileName    = "snapshot.dat";
+    private static final String newSnapshotFileName = "snapshot.tmp";
+    private static final String logFilePrefix       = "log-";
+    private static final String logFileSuffix       = ".dat";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectReader recordReader = objectMapper.readerFor(InMemoryStoreLogRecord.class);
+    private static final ObjectWriter recordWriter = objectMapper.writerFor(InMemoryStoreLogRecord.class);
+
+    private String      repositoryName;
+    private File        directory;
+    private long        snapshotFrequency;
+    private boolean     forceWrites;
+    private AuditLog    auditLog;
+
+    private long        generation           = 0;
+    private long        recordsSinceSnapshot = 0;
+    private FileChannel logChannel           = null;
+    private IOException logFailure           = null;
+
+
+    /**
+     * Constructor
+     *
+     * @param repositoryName name of the repository - used for messages
+     * @param directoryName name of the directory where the files are stored
+     * @param snapshotFrequency number of records written to the log before a new snapshot is taken (zero means never)
+     * @param forceWrites should each record be forced to the storage device as it is written
+     * @param auditLog audit log for messages
+     */
+    InMemoryStoreLog(String   repositoryName,
+                     String   directoryName,
+                     long     snapshotFrequency,
+                     boolean  forceWrites,
+                     AuditLog auditLog)
+    {
+        this.repositoryName = repositoryName;
+        this.directory = new File(directoryName);
+        this.snapshotFrequency = snapshotFrequency;
+        this.forceWrites = forceWrites;
+        this.auditLog = auditLog;
+    }
+
+
+    /**
+     * Return the name of the directory where the files are stored.
+     *
+     * @return path name
+     */
+    String getDirectoryName()
+    {
+        return directory.getPath();
+    }
+
+
+    /**
+     * Read the snapshot and log, passing each record to the consumer, and then open the log for new records.
+     *
+     * @param consumer the store that is being rebuilt
+     * @throws RepositoryErrorException the files can not be read or the log can not be opened
+     */
+    void recover(Consumer<InMemoryStoreLogRecord> consumer) throws RepositoryErrorException
+    {
+        final String methodName        = "recover";
+        final String actionDescription = "Recover in-memory repository";
+
+        try
+        {
+            long startTime       = System.currentTimeMillis();
+            long snapshotRecords = 0;
+
+            Files.createDirectories(directory.toPath());
+
+            Path snapshotPath = new File(directory, snapshotFileName).toPath();
+
+            generation = 0;
+            recordsSinceSnapshot = 0;
+
+            if (Files.exists(snapshotPath))
+            {
+                long[] snapshotCounts = this.replayFile(snapshotPath, true, consumer);
+
+                generation = snapshotCounts[0];
+                snapshotRecords = snapshotCounts[1];
+            }
+
+            Path logPath = this.getLogPath(generation);
+
+            if (Files.exists(logPath))
+            {
+                recordsSinceSnapshot = this.replayFile(logPath, false, consumer)[1];
+            }
+
+            this.removeOldFiles();
+
+            logChannel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            logFailure = null;
+
+            if (auditLog != null)
+            {
+                auditLog.logMessage(actionDescription,
+                                    OMRSAuditCode.INMEMORY_REPOSITORY_RECOVERED.getMessageDefinition(repositoryName,
+                                                                                                     Long.toString(snapshotRecords),
+                                                                                                     Long.toString(recordsSinceSnapshot),
+                                                                                                     directory.getPath(),
+                                                                                                     Long.toString(System.currentTimeMillis() - startTime)));
+            }
+        }
+        catch (IOException error)
+        {
+            throw this.getPersistenceFailure(error, methodName);
+        }
+    }
+
+
+    /**
+     * Append a record to the log.
+     *
+     * @param record description of the change
+     * @throws RepositoryErrorException the record can not be written
+     */
+    void append(InMemoryStoreLogRecord record) throws RepositoryErrorException
+    {
+        final String methodName = "append";
+
+        long startPosition = this.getAppendPosition(methodName);
+
+        try
+        {
+            this.writeRecord(logChannel, record);
+
+            if (forceWrites)
+            {
+                logChannel.force(false);
+            }
+
+            recordsSinceSnapshot++;
+        }
+        catch (IOException error)
+        {
+            this.discardFailedWrite(startPosition, error);
+
+            throw this.getPersistenceFailure(error, methodName);
+        }
+    }
+
+
+    /**
+     * Append a batch of records to the log.  If writes are forced to the storage device, this is done once
+     * for the whole batch.
+     *
+     * @param records descriptions of the changes
+     * @throws RepositoryErrorException the records can not be written
+     */
+    void append(List<InMemoryStoreLogRecord> records) throws RepositoryErrorException
+    {
+        final String methodName = "append";
+
+        long startPosition = this.getAppendPosition(methodName);
+        long recordCount   = 0;
+
+        try
+        {
+            for (InMemoryStoreLogRecord record : records)
+            {
+                this.writeRecord(logChannel, record);
+                recordCount++;
+            }
+
+            if (forceWrites)
+            {
+                logChannel.force(false);
+            }
+
+            recordsSinceSnapshot = recordsSinceSnapshot + recordCount;
+        }
+        catch (IOException error)
+        {
+            this.discardFailedWrite(startPosition, error);
+
+            throw this.getPersistenceFailure(error, methodName);
+        }
+    }
+
+
+    /**
+     * Return the position at the end of the log where the next record will be written.
+     *
+     * @param methodName calling method
+     * @return file position
+     * @throws RepositoryErrorException an earlier write failed and could not be undone so the log can not be added to
+     */
+    private long getAppendPosition(String methodName) throws RepositoryErrorException
+    {
+        if (logFailure != null)
+        {
+            throw this.getPersistenceFailure(logFailure, methodName);
+        }
+
+        try
+        {
+            return logChannel.size();
+        }
+        catch (IOException error)
+        {
+            throw this.getPersistenceFailure(error, methodName);
+        }
+    }
+
+
+    /**
+     * Remove anything written to the log by a write that failed so that the next record follows the last
+     * complete record.  If the log can not be truncated, it is marked as failed and refuses any further records
+     * since they would follow a partial record and be lost when the log is replayed.
+     *
+     * @param startPosition size of the log before the failed write
+     * @param error exception from the failed write
+     */
+    private void discardFailedWrite(long        startPosition,
+                                    IOException error)
+    {
+        try
+        {
+            logChannel.truncate(startPosition);
+        }
+        catch (IOException truncateError)
+        {
+            error.addSuppressed(truncateError);
+            logFailure = error;
+        }
+    }
+
+
+    /**
+     * Return whether enough records have been written to the log to make it worth taking a new snapshot.
+     *
+     * @return boolean flag
+     */
+    boolean isSnapshotDue()
+    {
+        return (snapshotFrequency > 0) && (recordsSinceSnapshot >= snapshotFrequency);
+    }
+
+
+    /**
+     * Write a new snapshot and start a new log.  The snapshot is supplied as the records that rebuild the store.
+     * A failure to write the snapshot is logged but does not fail the change that triggered it since that
+     * change is already in the log.  The log continues to be used until the next attempt.
+     *
+     * @param snapshotWriter function that passes each record of the snapshot to the supplied consumer
+     */
+    void writeSnapshot(Consumer<Consumer<InMemoryStoreLogRecord>> snapshotWriter)
+    {
+        final String actionDescription = "Write in-memory repository snapshot";
+
+        try
+        {
+            Path newSnapshotPath = new File(directory, newSnapshotFileName).toPath();
+            long newGeneration   = generation + 1;
+
+            try (FileChannel snapshotChannel = FileChannel.open(newSnapshotPath,
+                                                                StandardOpenOption.CREATE,
+                                                                StandardOpenOption.WRITE,
+                                                                StandardOpenOption.TRUNCATE_EXISTING))
+            {
+                ByteBuffer header = ByteBuffer.allocate(12);
+
+                header.putInt(snapshotMagicNumber);
+                header.putLong(newGeneration);
+                header.flip();
+
+                while (header.hasRemaining())
+                {
+                    snapshotChannel.write(header);
+                }
+
+                IOException[] writeError = new IOException[1];
+
+                snapshotWriter.accept((record) ->
+                {
+                    if (writeError[0] == null)
+                    {
+                        try
+                        {
+                            this.writeRecord(snapshotChannel, record);
+                        }
+                        catch (IOException error)
+                        {
+                            writeError[0] = error;
+                        }
+                    }
+                });
+
+                if (writeError[0] != null)
+                {
+                    throw writeError[0];
+                }
+
+                snapshotChannel.force(true);
+            }
+
+            /*
+             * The new log is created before the snapshot is put in place so that there is never a snapshot
+             * without the log that follows it.
+             */
+            Path        newLogPath    = this.getLogPath(newGeneration);
+            FileChannel newLogChannel = FileChannel.open(newLogPath,
+                                                         StandardOpenOption.CREATE,
+                                                         StandardOpenOption.WRITE,
+                                                         StandardOpenOption.TRUNCATE_EXISTING);
+
+            try
+            {
+                Files.move(newSnapshotPath,
+                           new File(directory, snapshotFileName).toPath(),
+                           StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (IOException error)
+            {
+                newLogChannel.close();
+                Files.deleteIfExists(newLogPath);
+                throw error;
+            }
+
+            /*
+             * The new snapshot is in place so the old log is no longer needed.
+             */
+            FileChannel oldLogChannel = logChannel;
+
+            logChannel = newLogChannel;
+            generation = newGeneration;
+            recordsSinceSnapshot = 0;
+
+            oldLogChannel.close();
+
+            this.removeOldFiles();
+        }
+        catch (IOException error)
+        {
+            recordsSinceSnapshot = 0;
+
+            if (auditLog != null)
+            {
+                auditLog.logMessage(actionDescription,
+                                    OMRSAuditCode.INMEMORY_REPOSITORY_SNAPSHOT_FAILED.getMessageDefinition(repositoryName,
+                                                                                                           directory.getPath(),
+                                                                                                           error.getClass().getName(),
+                                                                                                           error.getMessage()));
+            }
+        }
+    }
+
+
+    /**
+     * Close the log.
+     *
+     * @throws RepositoryErrorException the log can not be closed cleanly
+     */
+    void close() throws RepositoryErrorException
+    {
+        final String methodName = "close";
+
+        if (logChannel != null)
+        {
+            try
+            {
+                logChannel.force(true);
+                logChannel.close();
+                logChannel = null;
+            }
+            catch (IOException error)
+            {
+                throw this.getPersistenceFailure(error, methodName);
+            }
+        }
+    }
+
+
+    /**
+     * Serialize a record and write it to the end of a file.
+     *
+     * @param channel file to write to
+     * @param record record to write
+     * @throws IOException the record can not be written
+     */
+    private void writeRecord(FileChannel            channel,
+                             InMemoryStoreLogRecord record) throws IOException
+    {
+        byte[] recordBytes = recordWriter.writeValueAsBytes(record);
+        CRC32  checksum    = new CRC32();
+
+        checksum.update(recordBytes);
+
+        ByteBuffer buffer = ByteBuffer.allocate(recordHeaderSize + recordBytes.length);
+
+        buffer.putInt(recordBytes.length);
+        buffer.putInt((int)checksum.getValue());
+        buffer.put(recordBytes);
+        buffer.flip();
+
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+    }
+
+
+    /**
+     * Read the records from a snapshot or log file and pass them to the consumer.  If an incomplete or corrupt
+     * record is found at the end of the log, it is reported and the log is truncated at that point.  A corrupt
+     * record that is followed by more of the log, or any corrupt record in the snapshot, fails the replay.
+     *
+     * @param path file to read
+     * @param isSnapshot is this the snapshot file
+     * @param consumer receiver of the records
+     * @return array of the generation of the log that follows the snapshot (zero for a log) and the number of records
+     * @throws IOException the file can not be read or is corrupt
+     */
+    private long[] replayFile(Path                             path,
+                            boolean                          isSnapshot,
+                            Consumer<InMemoryStoreLogRecord> consumer) throws IOException
+    {
+        final String actionDescription = "Recover in-memory repository";
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE))
+        {
+            long fileSize      = channel.size();
+            long position      = 0;
+            long logGeneration = 0;
+            long recordCount   = 0;
+
+            if (isSnapshot)
+            {
+                MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(fileSize, 12));
+
+                if ((header.remaining() < 12) || (header.getInt() != snapshotMagicNumber))
+                {
+                    throw new IOException("File " + path + " is not a snapshot of an in-memory repository");
+                }
+
+                logGeneration = header.getLong();
+                position = 12;
+            }
+
+            MappedByteBuffer window      = null;
+            long             windowStart = 0;
+
+            while (position < fileSize)
+            {
+                /*
+                 * Map the next part of the file if the record header is not within the current window.
+                 */
+                if ((window == null) || (position + recordHeaderSize > windowStart + window.limit()))
+                {
+                    windowStart = position;
+                    window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(fileSize - windowStart, maxMappedWindow));
+                }
+
+                InMemoryStoreLogRecord record    = null;
+                long                   recordEnd = fileSize;
+
+                if (position + recordHeaderSize <= fileSize)
+                {
+                    window.position((int)(position - windowStart));
+
+                    int  recordLength   = window.getInt();
+                    long recordChecksum = window.getInt() & 0xFFFFFFFFL;
+
+                    recordEnd = position + recordHeaderSize + Math.max(recordLength, 0);
+
+                    if ((recordLength >= 0) &&
+                        (recordLength <= maxMappedWindow - recordHeaderSize) &&
+                        (position + recordHeaderSize + recordLength <= fileSize))
+                    {
+                        if (position + recordHeaderSize + recordLength > windowStart + window.limit())
+                        {
+                            windowStart = position;
+                            window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, Math.min(fileSize - windowStart, maxMappedWindow));
+                            window.position(recordHeaderSize);
+                        }
+
+                        byte[] recordBytes = new byte[recordLength];
+                        window.get(recordBytes);
+
+                        CRC32 checksum = new CRC32();
+                        checksum.update(recordBytes);
+
+                        if (checksum.getValue() == recordChecksum)
+                        {
+                            try
+                            {
+                                record = recordReader.readValue(recordBytes);
+                            }
+                            catch (IOException error)
+                            {
+                                record = null;
+                            }
+                        }
+                    }
+                }
+
+                if (record == null)
+                {
+                    /*
+                     * Only the last record of the log can have been left incomplete by a failure while it was
+                     * being written.  Anything else is damage to records that were written successfully.
+                     */
+                    if ((isSnapshot) || (recordEnd < fileSize))
+                    {
+                        throw new IOException("File " + path + " has a corrupt record at position " + position);
+                    }
+
+                    if (auditLog != null)
+                    {
+                        auditLog.logMessage(actionDescription,
+                                            OMRSAuditCode.INMEMORY_REPOSITORY_LOG_TRUNCATED.getMessageDefinition(repositoryName,
+                                                                                                                 Long.toString(position),
+                                                                                                                 path.toString()));
+                    }
+
+                    window = null;
+                    channel.truncate(position);
+                    break;
+                }
+
+                consumer.accept(record);
+                recordCount++;
+                position = window.position() + windowStart;
+            }
+
+            return new long[]{ logGeneration, recordCount };
+        }
+    }
+
+
+    /**
+     * Remove the log files from earlier generations and any partially written snapshot.
+     *
+     * @throws IOException a file can not be removed
+     */
+    private void removeOldFiles() throws IOException
+    {
+        String currentLogFileName = this.getLogPath(generation).getFileName().toString();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory.toPath(), logFilePrefix + "*" + logFileSuffix))
+        {
+            for (Path file : files)
+            {
+                if (! currentLogFileName.equals(file.getFileName().toString()))
+                {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+
+        Files.deleteIfExists(new File(directory, newSnapshotFileName).toPath());
+    }
+
+
+    /**
+     * Return the path of the log file for a generation.
+     *
+     * @param logGeneration generation
+     * @return path of the log file
+     */
+    private Path getLogPath(long logGeneration)
+    {
+        return new File(directory, logFilePrefix + logGeneration + logFileSuffix).toPath();
+    }
+
+
+    /**
+     * Build the exception that reports a failure to read or write the persistence files.
+     *
+     * @param error exception from the file system
+     * @param methodName calling method
+     * @return exception to throw
+     */
+    private RepositoryErrorException getPersistenceFailure(Exception error,
+                                                           String    methodName)
+    {
+        return new RepositoryErrorException(OMRSErrorCode.INMEMORY_PERSISTENCE_FAILURE.getMessageDefinition(repositoryName,
+                                                                                                            error.getClass().getName(),
+                                                                                                            directory.getPath(),
+                                                                                                            error.getMessage()),
+                                            this.getClass().getName(),
+                                            methodName,
+                                            error);
+    }
+}
@@ -0,0 +1,278 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * InMemoryStoreLogRecord describes a single change to the InMemoryOMRSMetadataStore.  The records are written to the
+ * persistence log as the changes are made, and are also used to write the snapshots of the store.  Replaying the records
+ * in order rebuilds the store, including the history of each instance.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class InMemoryStoreLogRecord
+{
+    /**
+     * The types of change that can be recorded.
+     */
+    public enum Operation
+    {
+        /**
+         * The entity is stored without adding the version it replaces to the history.
+         */
+        SAVE_ENTITY,
+
+        /**
+         * The entity is stored and the version it replaces is added to the history.
+         */
+        UPDATE_ENTITY,
+
+        /**
+         * A previous version of an entity is added to the history (only used in snapshots).
+         */
+        ENTITY_HISTORY,
+
+        /**
+         * The entity and its history are removed.
+         */
+        REMOVE_ENTITY,
+
+        /**
+         * The entity proxy is stored.
+         */
+        SAVE_ENTITY_PROXY,
+
+        /**
+         * The entity proxy is removed.
+         */
+        REMOVE_ENTITY_PROXY,
+
+        /**
+         * The relationship is stored without adding the version it replaces to the history.
+         */
+        SAVE_RELATIONSHIP,
+
+        /**
+         * The relationship is stored and the version it replaces is added to the history.
+         */
+        UPDATE_RELATIONSHIP,
+
+        /**
+         * A previous version of a relationship is added to the history (only used in snapshots).
+         */
+        RELATIONSHIP_HISTORY,
+
+        /**
+         * The relationship and its history are removed.
+         */
+        REMOVE_RELATIONSHIP
+    }
+
+    private Operation    operation    = null;
+    private String       guid         = null;
+    private EntityDetail entity       = null;
+    private EntityProxy  entityProxy  = null;
+    private Relationship relationship = null;
+
+
+    /**
+     * Default constructor used when the record is read from a file.
+     */
+    public InMemoryStoreLogRecord()
+    {
+    }
+
+
+    /**
+     * Constructor for a change to an entity.
+     *
+     * @param operation type of change
+     * @param entity entity
+     */
+    InMemoryStoreLogRecord(Operation    operation,
+                           EntityDetail entity)
+    {
+        this.operation = operation;
+        this.guid = entity.getGUID();
+        this.entity = entity;
+    }
+
+
+    /**
+     * Constructor for a change to an entity proxy.
+     *
+     * @param operation type of change
+     * @param entityProxy entity proxy
+     */
+    InMemoryStoreLogRecord(Operation   operation,
+                           EntityProxy entityProxy)
+    {
+        this.operation = operation;
+        this.guid = entityProxy.getGUID();
+        this.entityProxy = entityProxy;
+    }
+
+
+    /**
+     * Constructor for a change to a relationship.
+     *
+     * @param operation type of change
+     * @param relationship relationship
+     */
+    InMemoryStoreLogRecord(Operation    operation,
+                           Relationship relationship)
+    {
+        this.operation = operation;
+        this.guid = relationship.getGUID();
+        this.relationship = relationship;
+    }
+
+
+    /**
+     * Constructor for the removal of an instance.
+     *
+     * @param operation type of change
+     * @param guid unique identifier of the instance
+     */
+    InMemoryStoreLogRecord(Operation operation,
+                           String    guid)
+    {
+        this.operation = operation;
+        this.guid = guid;
+    }
+
+
+    /**
+     * Return the type of change.
+     *
+     * @return operation enum
+     */
+    public Operation getOperation()
+    {
+        return operation;
+    }
+
+
+    /**
+     * Set up the type of change.
+     *
+     * @param operation operation enum
+     */
+    public void setOperation(Operation operation)
+    {
+        this.operation = operation;
+    }
+
+
+    /**
+     * Return the unique identifier of the instance that changed.
+     *
+     * @return guid
+     */
+    public String getGUID()
+    {
+        return guid;
+    }
+
+
+    /**
+     * Set up the unique identifier of the instance that changed.
+     *
+     * @param guid guid
+     */
+    public void setGUID(String guid)
+    {
+        this.guid = guid;
+    }
+
+
+    /**
+     * Return the entity (if the change is to an entity).
+     *
+     * @return entity or null
+     */
+    public EntityDetail getEntity()
+    {
+        return entity;
+    }
+
+
+    /**
+     * Set up the entity.
+     *
+     * @param entity entity
+     */
+    public void setEntity(EntityDetail entity)
+    {
+        this.entity = entity;
+    }
+
+
+    /**
+     * Return the entity proxy (if the change is to an entity proxy).
+     *
+     * @return entity proxy or null
+     */
+    public EntityProxy getEntityProxy()
+    {
+        return entityProxy;
+    }
+
+
+    /**
+     * Set up the entity proxy.
+     *
+     * @param entityProxy entity proxy
+     */
+    public void setEntityProxy(EntityProxy entityProxy)
+    {
+        this.entityProxy = entityProxy;
+    }
+
+
+    /**
+     * Return the relationship (if the change is to a relationship).
+     *
+     * @return relationship or null
+     */
+    public Relationship getRelationship()
+    {
+        return relationship;
+    }
+
+
+    /**
+     * Set up the relationship.
+     *
+     * @param relationship relationship
+     */
+    public void setRelationship(Relationship relationship)
+    {
+        this.relationship = relationship;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "InMemoryStoreLogRecord{" +
+                "operation=" + operation +
+                ", guid='" + guid + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,386 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+
+public class TestInMemoryOMRSMetadataStore
+{
+    private static final String ENTITY_GUID = "1111";
+
+    private EntityDetail getEntity(long version, long updateTime)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(ENTITY_GUID);
+        entity.setVersion(version);
+        entity.setCreateTime(new Date(1000));
+        entity.setUpdateTime(new Date(updateTime));
+        return entity;
+    }
+
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setVersion(1);
+        entity.setCreateTime(new Date(1000));
+        return entity;
+    }
+
+    private EntityProxy getEntityProxy(String guid)
+    {
+        EntityProxy entityProxy = new EntityProxy();
+        entityProxy.setGUID(guid);
+        return entityProxy;
+    }
+
+    private Relationship getRelationship(String guid, String entityOneGUID, String entityTwoGUID)
+    {
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setVersion(1);
+        relationship.setCreateTime(new Date(1000));
+        relationship.setEntityOneProxy(getEntityProxy(entityOneGUID));
+        relationship.setEntityTwoProxy(getEntityProxy(entityTwoGUID));
+        return relationship;
+    }
+
+    private void corruptByte(File file, long position) throws IOException
+    {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw"))
+        {
+            randomAccessFile.seek(position);
+            int value = randomAccessFile.read();
+            randomAccessFile.seek(position);
+            randomAccessFile.write(value ^ 0xFF);
+        }
+    }
+
+    @Test
+    void testEntityAsOfTime() throws RepositoryErrorException
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createEntityInStore(getEntity(1, 1000));
+        store.updateEntityInStore(getEntity(2, 2000));
+        store.updateEntityInStore(getEntity(3, 3000));
+
+        assertNull(store.getEntity(ENTITY_GUID, new Date(999)));
+        assertEquals(store.getEntity(ENTITY_GUID, new Date(1000)).getVersion(), 1);
+        assertEquals(store.getEntity(ENTITY_GUID, new Date(2500)).getVersion(), 2);
+        assertEquals(store.getEntity(ENTITY_GUID, new Date(3000)).getVersion(), 3);
+        assertEquals(store.getEntity(ENTITY_GUID, null).getVersion(), 3);
+
+        assertEquals(store.timeWarpEntityStore(new Date(1500)).get(ENTITY_GUID).getVersion(), 1);
+        assertNull(store.timeWarpEntityStore(new Date(500)).get(ENTITY_GUID));
+    }
+
+    @Test
+    void testUndoAndPurge() throws RepositoryErrorException
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createEntityInStore(getEntity(1, 1000));
+        store.updateEntityInStore(getEntity(2, 2000));
+
+        EntityDetail restoredEntity = store.retrievePreviousVersionOfEntity(ENTITY_GUID);
+
+        assertEquals(restoredEntity.getVersion(), 3);
+        assertEquals(store.getEntity(ENTITY_GUID).getVersion(), 3);
+        assertEquals(store.getEntity(ENTITY_GUID, new Date(2500)).getVersion(), 2);
+
+        store.removeEntityFromStore(restoredEntity);
+
+        assertNull(store.getEntity(ENTITY_GUID));
+        assertNull(store.getEntity(ENTITY_GUID, new Date(2500)));
+        assertNull(store.retrievePreviousVersionOfEntity(ENTITY_GUID));
+    }
+
+    @Test
+    void testPersistence() throws RepositoryErrorException, IOException
+    {
+        Path directory = Files.createTempDirectory("inmemory-store");
+
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+        store.startPersistence(new InMemoryStoreLog("test", directory.toString(), 3, false, null));
+
+        store.createEntityInStore(getEntity(1, 1000));
+        store.updateEntityInStore(getEntity(2, 2000));
+        store.updateEntityInStore(getEntity(3, 3000));
+
+        EntityProxy entityProxy = new EntityProxy();
+        entityProxy.setGUID("2222");
+        store.addEntityProxyToStore(entityProxy);
+        store.stopPersistence();
+
+        /*
+         * The first three changes are in the snapshot and the last is in the log.
+         */
+        InMemoryOMRSMetadataStore recoveredStore = new InMemoryOMRSMetadataStore();
+        recoveredStore.startPersistence(new InMemoryStoreLog("test", directory.toString(), 3, false, null));
+
+        assertEquals(recoveredStore.getEntity(ENTITY_GUID).getVersion(), 3);
+        assertEquals(recoveredStore.getEntity(ENTITY_GUID, new Date(2500)).getVersion(), 2);
+        assertEquals(recoveredStore.getEntityProxy("2222").getGUID(), "2222");
+
+        recoveredStore.removeEntityProxyFromStore("2222");
+        recoveredStore.stopPersistence();
+
+        /*
+         * Simulate a failure part way through writing a record.
+         */
+        File logFile = directory.resolve("log-1.dat").toFile();
+        try (RandomAccessFile log = new RandomAccessFile(logFile, "rw"))
+        {
+            log.seek(log.length());
+            log.writeInt(100);
+        }
+
+        recoveredStore = new InMemoryOMRSMetadataStore();
+        recoveredStore.startPersistence(new InMemoryStoreLog("test", directory.toString(), 3, false, null));
+
+        assertNull(recoveredStore.getEntityProxy("2222"));
+        assertEquals(recoveredStore.getEntity(ENTITY_GUID).getVersion(), 3);
+
+        recoveredStore.stopPersistence();
+    }
+
+    @Test
+    void testBatchCreateRegeneratesClashingGUIDs() throws RepositoryErrorException
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createEntityInStore(getEntity(ENTITY_GUID));
+
+        /*
+         * The first entity clashes with the existing entity and the last two clash with each other.
+         */
+        List<EntityDetail> entities = Arrays.asList(getEntity(ENTITY_GUID), getEntity("2222"), getEntity("3333"), getEntity("3333"));
+        List<EntityProxy>  entityProxies = new ArrayList<>();
+        for (EntityDetail entity : entities)
+        {
+            entityProxies.add(getEntityProxy(entity.getGUID()));
+        }
+
+        store.createEntitiesInStore(entities, entityProxies);
+
+        assertNotEquals(entities.get(0).getGUID(), ENTITY_GUID);
+        assertEquals(entities.get(1).getGUID(), "2222");
+        assertEquals(entities.get(2).getGUID(), "3333");
+        assertNotEquals(entities.get(3).getGUID(), "3333");
+        assertEquals(new HashSet<>(Arrays.asList(ENTITY_GUID,
+                                                 entities.get(0).getGUID(),
+                                                 entities.get(1).getGUID(),
+                                                 entities.get(2).getGUID(),
+                                                 entities.get(3).getGUID())).size(), 5);
+
+        for (int index = 0; index < entities.size(); index++)
+        {
+            String guid = entities.get(index).getGUID();
+
+            assertEquals(entityProxies.get(index).getGUID(), guid);
+            assertNotNull(store.getEntity(guid));
+            assertEquals(store.getEntityProxy(guid).getGUID(), guid);
+        }
+
+        store.createRelationshipsInStore(Collections.singletonList(getRelationship("4444", "2222", "3333")));
+
+        List<Relationship> relationships = Arrays.asList(getRelationship("4444", ENTITY_GUID, "2222"),
+                                                         getRelationship("5555", ENTITY_GUID, "3333"),
+                                                         getRelationship("5555", "2222", "3333"));
+
+        store.createRelationshipsInStore(relationships);
+
+        assertNotEquals(relationships.get(0).getGUID(), "4444");
+        assertEquals(relationships.get(1).getGUID(), "5555");
+        assertNotEquals(relationships.get(2).getGUID(), "5555");
+        assertNotEquals(relationships.get(0).getGUID(), relationships.get(2).getGUID());
+        assertEquals(store.getRelationship("4444").getEntityOneProxy().getGUID(), "2222");
+        assertEquals(store.getRelationshipsForEntity(ENTITY_GUID).size(), 2);
+        assertEquals(store.getRelationshipsForEntity("3333").size(), 3);
+    }
+
+    @Test
+    void testBatchPersistence() throws RepositoryErrorException, IOException
+    {
+        Path directory = Files.createTempDirectory("inmemory-store");
+
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+        store.startPersistence(new InMemoryStoreLog("test", directory.toString(), 100, false, null));
+
+        store.createEntityInStore(getEntity(ENTITY_GUID));
+
+        List<EntityDetail> entities = Arrays.asList(getEntity(ENTITY_GUID), getEntity("2222"));
+        List<EntityProxy>  entityProxies = Arrays.asList(getEntityProxy(ENTITY_GUID), getEntityProxy("2222"));
+        store.createEntitiesInStore(entities, entityProxies);
+
+        String regeneratedGUID = entities.get(0).getGUID();
+
+        store.createRelationshipsInStore(Arrays.asList(getRelationship("4444", ENTITY_GUID, regeneratedGUID),
+                                                       getRelationship("5555", regeneratedGUID, "2222")));
+
+        /*
+         * Reference copies replace the proxies of the entities they describe.
+         */
+        store.addEntityProxyToStore(getEntityProxy("6666"));
+        store.saveReferenceInstancesToStore(Arrays.asList(getEntity("6666"), getEntity("7777")),
+                                            Collections.singletonList(getRelationship("8888", "7777", "9999")));
+        store.stopPersistence();
+
+        /*
+         * All of the changes are replayed from the log.
+         */
+        InMemoryOMRSMetadataStore recoveredStore = new InMemoryOMRSMetadataStore();
+        recoveredStore.startPersistence(new InMemoryStoreLog("test", directory.toString(), 100, false, null));
+
+        assertNotNull(recoveredStore.getEntity(ENTITY_GUID));
+        assertNotNull(recoveredStore.getEntity(regeneratedGUID));
+        assertEquals(recoveredStore.getEntityProxy(regeneratedGUID).getGUID(), regeneratedGUID);
+        assertNotNull(recoveredStore.getEntity("2222"));
+        assertEquals(recoveredStore.getRelationship("4444").getEntityTwoProxy().getGUID(), regeneratedGUID);
+        assertEquals(recoveredStore.getRelationshipsForEntity(regeneratedGUID).size(), 2);
+        assertNotNull(recoveredStore.getEntity("6666"));
+        assertNull(recoveredStore.getEntityProxy("6666"));
+        assertNotNull(recoveredStore.getEntity("7777"));
+        assertEquals(recoveredStore.getEntityProxy("9999").getGUID(), "9999");
+        assertEquals(recoveredStore.getRelationship("8888").getEntityOneProxy().getGUID(), "7777");
+
+        recoveredStore.stopPersistence();
+    }
+
+    @Test
+    void testTornTailIsDiscarded() throws RepositoryErrorException, IOException
+    {
+        Path directory = Files.createTempDirectory("inmemory-store");
+
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+        store.startPersistence(new InMemoryStoreLog("test", directory.toString(), 100, false, null));
+
+        store.createEntityInStore(getEntity("2222"));
+        store.createEntityInStore(getEntity("3333"));
+        store.stopPersistence();
+
+        /*
+         * Simulate a failure after the header and part of the record have been written.
+         */
+        File logFile   = directory.resolve("log-0.dat").toFile();
+        long logLength = logFile.length();
+        try (RandomAccessFile log = new RandomAccessFile(logFile, "rw"))
+        {
+            log.seek(logLength);
+            log.writeInt(100);
+            log.writeInt(12345);
+            log.write(new byte[20]);
+        }
+
+        InMemoryOMRSMetadataStore recoveredStore = new InMemoryOMRSMetadataStore();
+        recoveredStore.startPersistence(new InMemoryStoreLog("test", directory.toString(), 100, false, null));
+
+        assertNotNull(recoveredStore.getEntity("2222"));
+        assertNotNull(recoveredStore.getEntity("3333"));
+        assertEquals(logFile.length(), logLength);
+
+        /*
+         * New records follow the last complete record and are replayed.
+         */
+        recoveredStore.createEntityInStore(getEntity("4444"));
+        recoveredStore.stopPersistence();
+
+        recoveredStore = new InMemoryOMRSMetadataStore();
+        recoveredStore.startPersistence(new InMemoryStoreLog("test", directory.toString(), 100, false, null));
+
+        assertNotNull(recoveredStore.getEntity("2222"));
+        assertNotNull(recoveredStore.getEntity("3333"));
+        assertNotNull(recoveredStore.getEntity("4444"));
+
+        recoveredStore.stopPersistence();
+    }
+
+    @Test
+    void testCorruptLogRecordFailsRecovery() throws RepositoryErrorException, IOException
+    {
+        Path directory = Files.createTempDirectory("inmemory-store");
+
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+        store.startPersistence(new InMemoryStoreLog("test", directory.toString(), 100, false, null));
+
+        store.createEntityInStore(getEntity("2222"));
+        store.createEntityInStore(getEntity("3333"));
+        store.createEntityInStore(getEntity("4444"));
+        store.stopPersistence();
+
+        /*
+         * Damage the first record.  The records after it were written successfully so they must not be discarded.
+         */
+        File logFile   = directory.resolve("log-0.dat").toFile();
+        long logLength = logFile.length();
+        corruptByte(logFile, 10);
+
+        try
+        {
+            new InMemoryOMRSMetadataStore().startPersistence(new InMemoryStoreLog("test", directory.toString(), 100, false, null));
+            fail("Recovery from a corrupt log should fail");
+        }
+        catch (RepositoryErrorException error)
+        {
+            // expected
+        }
+
+        assertEquals(logFile.length(), logLength);
+    }
+
+    @Test
+    void testCorruptSnapshotFailsRecovery() throws RepositoryErrorException, IOException
+    {
+        Path directory = Files.createTempDirectory("inmemory-store");
+
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+        store.startPersistence(new InMemoryStoreLog("test", directory.toString(), 2, false, null));
+
+        store.createEntityInStore(getEntity("2222"));
+        store.createEntityInStore(getEntity("3333"));
+        store.stopPersistence();
+
+        /*
+         * Damage the last record of the snapshot.
+         */
+        File snapshotFile   = directory.resolve("snapshot.dat").toFile();
+        long snapshotLength = snapshotFile.length();
+        corruptByte(snapshotFile, snapshotLength - 2);
+
+        try
+        {
+            new InMemoryOMRSMetadataStore().startPersistence(new InMemoryStoreLog("test", directory.toString(), 2, false, null));
+            fail("Recovery from a corrupt snapshot should fail");
+        }
+        catch (RepositoryErrorException error)
+        {
+            // expected
+        }
+
+        assertEquals(snapshotFile.length(), snapshotLength);
+    }
+}
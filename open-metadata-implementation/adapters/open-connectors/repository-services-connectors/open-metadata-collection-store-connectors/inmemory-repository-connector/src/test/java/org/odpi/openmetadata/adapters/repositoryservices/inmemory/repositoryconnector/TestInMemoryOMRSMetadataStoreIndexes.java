@@ -0,0 +1,359 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.testng.Assert.assertEquals;
+
+
+/**
+ * Test that the secondary indexes of the in-memory store return the same instances as a scan of the whole
+ * store (the way the queries were answered before the indexes were added) as the instances are updated,
+ * deleted and restored.
+ */
+public class TestInMemoryOMRSMetadataStoreIndexes
+{
+    private static final List<String> TYPE_NAMES           = Arrays.asList("Asset", "DataSet", "GlossaryTerm", "Unknown");
+    private static final List<String> CLASSIFICATION_NAMES = Arrays.asList("Confidentiality", "Retention", "Unknown");
+    private static final List<String> NAME_VALUES          = Arrays.asList("asset-1", "asset-2", "term-1", "asset", "", "unknown");
+    private static final List<String> RELATIONSHIP_TYPES   = Arrays.asList("AssetLink", "TermLink", "Unknown");
+    private static final List<String> ENTITY_GUIDS         = Arrays.asList("1111", "2222", "3333", "4444", "9999");
+
+
+    private EntityDetail getEntity(String guid, long version, String typeName, String qualifiedName, String... classificationNames)
+    {
+        InstanceType type = new InstanceType();
+        type.setTypeDefName(typeName);
+
+        InstanceProperties properties = new InstanceProperties();
+        properties.setProperty("qualifiedName", getStringValue(qualifiedName));
+        properties.setProperty("name", getStringValue(qualifiedName.substring(0, qualifiedName.indexOf('-'))));
+
+        List<Classification> classifications = new ArrayList<>();
+
+        for (String classificationName : classificationNames)
+        {
+            Classification classification = new Classification();
+            classification.setName(classificationName);
+            classifications.add(classification);
+        }
+
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setVersion(version);
+        entity.setCreateTime(new Date(1000));
+        entity.setUpdateTime(new Date(1000 * version));
+        entity.setType(type);
+        entity.setProperties(properties);
+        entity.setClassifications(classifications);
+        return entity;
+    }
+
+    private PrimitivePropertyValue getStringValue(String value)
+    {
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+        propertyValue.setPrimitiveDefCategory(PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING);
+        propertyValue.setPrimitiveValue(value);
+        return propertyValue;
+    }
+
+    private Relationship getRelationship(String guid, long version, String typeName, String entityOneGUID, String entityTwoGUID)
+    {
+        InstanceType type = new InstanceType();
+        type.setTypeDefName(typeName);
+
+        EntityProxy entityOneProxy = new EntityProxy();
+        entityOneProxy.setGUID(entityOneGUID);
+
+        EntityProxy entityTwoProxy = new EntityProxy();
+        entityTwoProxy.setGUID(entityTwoGUID);
+
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setVersion(version);
+        relationship.setCreateTime(new Date(1000));
+        relationship.setUpdateTime(new Date(1000 * version));
+        relationship.setType(type);
+        relationship.setEntityOneProxy(entityOneProxy);
+        relationship.setEntityTwoProxy(entityTwoProxy);
+        return relationship;
+    }
+
+    private Set<String> getGUIDs(Collection<? extends EntityDetail> entities)
+    {
+        Set<String> guids = new HashSet<>();
+
+        for (EntityDetail entity : entities)
+        {
+            guids.add(entity.getGUID());
+        }
+
+        return guids;
+    }
+
+    private Set<String> getRelationshipGUIDs(Collection<Relationship> relationships)
+    {
+        Set<String> guids = new HashSet<>();
+
+        for (Relationship relationship : relationships)
+        {
+            guids.add(relationship.getGUID());
+        }
+
+        return guids;
+    }
+
+    private String getStringProperty(EntityDetail entity, String propertyName)
+    {
+        return (String)((PrimitivePropertyValue)entity.getProperties().getPropertyValue(propertyName)).getPrimitiveValue();
+    }
+
+    /**
+     * Check every query answered from the indexes against a scan of the current instances in the store.
+     *
+     * @param store store to check
+     */
+    private void checkIndexesMatchStore(InMemoryOMRSMetadataStore store)
+    {
+        for (String typeName : TYPE_NAMES)
+        {
+            Set<String> expectedGUIDs = new HashSet<>();
+
+            for (EntityDetail entity : store.getEntities())
+            {
+                if (typeName.equals(entity.getType().getTypeDefName()))
+                {
+                    expectedGUIDs.add(entity.getGUID());
+                }
+            }
+
+            assertEquals(getGUIDs(store.getEntitiesOfTypes(Collections.singletonList(typeName))), expectedGUIDs, typeName);
+        }
+
+        for (String classificationName : CLASSIFICATION_NAMES)
+        {
+            Set<String> expectedGUIDs = new HashSet<>();
+
+            for (EntityDetail entity : store.getEntities())
+            {
+                if (entity.getClassifications() != null)
+                {
+                    for (Classification classification : entity.getClassifications())
+                    {
+                        if (classificationName.equals(classification.getName()))
+                        {
+                            expectedGUIDs.add(entity.getGUID());
+                        }
+                    }
+                }
+            }
+
+            assertEquals(getGUIDs(store.getClassifiedEntities(classificationName)), expectedGUIDs, classificationName);
+        }
+
+        for (String propertyName : InMemoryOMRSMetadataStore.indexedNameProperties)
+        {
+            for (String value : NAME_VALUES)
+            {
+                Set<String> expectedExactGUIDs  = new HashSet<>();
+                Set<String> expectedPrefixGUIDs = new HashSet<>();
+
+                for (EntityDetail entity : store.getEntities())
+                {
+                    String propertyValue = getStringProperty(entity, propertyName);
+
+                    if (value.equals(propertyValue))
+                    {
+                        expectedExactGUIDs.add(entity.getGUID());
+                    }
+
+                    if (propertyValue.startsWith(value))
+                    {
+                        expectedPrefixGUIDs.add(entity.getGUID());
+                    }
+                }
+
+                assertEquals(getGUIDs(store.getEntitiesByNameProperty(propertyName, value, false)), expectedExactGUIDs, propertyName + "=" + value);
+                assertEquals(getGUIDs(store.getEntitiesByNameProperty(propertyName, value, true)), expectedPrefixGUIDs, propertyName + "^" + value);
+            }
+        }
+
+        for (String typeName : RELATIONSHIP_TYPES)
+        {
+            Set<String> expectedGUIDs = new HashSet<>();
+
+            for (Relationship relationship : store.getRelationships())
+            {
+                if (typeName.equals(relationship.getType().getTypeDefName()))
+                {
+                    expectedGUIDs.add(relationship.getGUID());
+                }
+            }
+
+            assertEquals(getRelationshipGUIDs(store.getRelationshipsOfTypes(Collections.singletonList(typeName))), expectedGUIDs, typeName);
+        }
+
+        for (String entityGUID : ENTITY_GUIDS)
+        {
+            Set<String> expectedGUIDs = new HashSet<>();
+
+            for (Relationship relationship : store.getRelationships())
+            {
+                if ((entityGUID.equals(relationship.getEntityOneProxy().getGUID())) ||
+                    (entityGUID.equals(relationship.getEntityTwoProxy().getGUID())))
+                {
+                    expectedGUIDs.add(relationship.getGUID());
+                }
+            }
+
+            assertEquals(getRelationshipGUIDs(store.getRelationshipsForEntity(entityGUID)), expectedGUIDs, entityGUID);
+        }
+    }
+
+    private void loadStore(InMemoryOMRSMetadataStore store) throws RepositoryErrorException
+    {
+        store.createEntityInStore(getEntity("1111", 1, "Asset", "asset-1", "Confidentiality"));
+        store.createEntityInStore(getEntity("2222", 1, "Asset", "asset-2", "Confidentiality", "Retention"));
+        store.createEntityInStore(getEntity("3333", 1, "GlossaryTerm", "term-1"));
+
+        store.createRelationshipInStore(getRelationship("r1", 1, "AssetLink", "1111", "2222"));
+        store.createRelationshipInStore(getRelationship("r2", 1, "TermLink", "3333", "1111"));
+    }
+
+    @Test
+    void testIndexesMatchStoreAfterCreate() throws RepositoryErrorException
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        loadStore(store);
+        checkIndexesMatchStore(store);
+
+        assertEquals(getGUIDs(store.getEntitiesOfTypes(Arrays.asList("Asset", "GlossaryTerm"))),
+                     new HashSet<>(Arrays.asList("1111", "2222", "3333")));
+        assertEquals(getGUIDs(store.getEntitiesByNameProperty("qualifiedName", "asset-", true)),
+                     new HashSet<>(Arrays.asList("1111", "2222")));
+        assertEquals(store.getEntitiesByNameProperty("description", "asset-1", false), null);
+    }
+
+    @Test
+    void testIndexesMatchStoreAfterUpdate() throws RepositoryErrorException
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        loadStore(store);
+
+        /*
+         * Change the type, name and classifications of an entity and move a relationship to other entities.
+         */
+        store.updateEntityInStore(getEntity("1111", 2, "DataSet", "term-9", "Retention"));
+        store.updateEntityInStore(getEntity("2222", 2, "Asset", "asset-2"));
+        store.updateRelationshipInStore(getRelationship("r1", 2, "TermLink", "2222", "3333"));
+
+        checkIndexesMatchStore(store);
+
+        assertEquals(getGUIDs(store.getClassifiedEntities("Confidentiality")), Collections.emptySet());
+        assertEquals(getRelationshipGUIDs(store.getRelationshipsForEntity("1111")), Collections.singleton("r2"));
+
+        /*
+         * Reference copies replace the current version in the same way.
+         */
+        store.saveReferenceEntityToStore(getEntity("4444", 1, "Asset", "asset-4", "Confidentiality"));
+        store.saveReferenceEntityToStore(getEntity("4444", 2, "GlossaryTerm", "term-4"));
+        store.saveReferenceRelationshipToStore(getRelationship("r3", 1, "AssetLink", "4444", "1111"));
+
+        checkIndexesMatchStore(store);
+    }
+
+    @Test
+    void testIndexesMatchStoreAfterDelete() throws RepositoryErrorException
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        loadStore(store);
+
+        store.removeEntityFromStore(store.getEntity("2222"));
+        store.removeRelationshipFromStore(store.getRelationship("r1"));
+
+        checkIndexesMatchStore(store);
+
+        store.removeReferenceEntityFromStore("3333");
+        store.removeReferenceRelationshipFromStore("r2");
+
+        checkIndexesMatchStore(store);
+
+        assertEquals(getGUIDs(store.getEntitiesByNameProperty("name", "asset", false)), Collections.singleton("1111"));
+        assertEquals(getRelationshipGUIDs(store.getRelationshipsForEntity("1111")), Collections.emptySet());
+    }
+
+    @Test
+    void testIndexesMatchStoreAfterRestore() throws RepositoryErrorException
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        loadStore(store);
+
+        store.updateEntityInStore(getEntity("1111", 2, "DataSet", "term-9", "Retention"));
+        store.updateRelationshipInStore(getRelationship("r1", 2, "TermLink", "2222", "3333"));
+
+        /*
+         * Restoring the previous version brings back the old keys.
+         */
+        store.retrievePreviousVersionOfEntity("1111");
+        store.retrievePreviousVersionOfRelationship("r1");
+
+        checkIndexesMatchStore(store);
+
+        assertEquals(getGUIDs(store.getEntitiesByNameProperty("qualifiedName", "asset-1", false)), Collections.singleton("1111"));
+        assertEquals(getGUIDs(store.getEntitiesOfTypes(Collections.singletonList("DataSet"))), Collections.emptySet());
+        assertEquals(getRelationshipGUIDs(store.getRelationshipsForEntity("1111")), new HashSet<>(Arrays.asList("r1", "r2")));
+    }
+
+    @Test
+    void testIndexesAreRebuiltOnRecovery() throws RepositoryErrorException, IOException
+    {
+        Path directory = Files.createTempDirectory("inmemory-store");
+
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+        store.startPersistence(new InMemoryStoreLog("test", directory.toString(), 4, false, null));
+
+        loadStore(store);
+        store.updateEntityInStore(getEntity("1111", 2, "DataSet", "term-9", "Retention"));
+        store.removeEntityFromStore(store.getEntity("3333"));
+        store.stopPersistence();
+
+        /*
+         * The recovered store is rebuilt from the snapshot and the log records written after it.
+         */
+        InMemoryOMRSMetadataStore recoveredStore = new InMemoryOMRSMetadataStore();
+        recoveredStore.startPersistence(new InMemoryStoreLog("test", directory.toString(), 4, false, null));
+
+        checkIndexesMatchStore(recoveredStore);
+
+        assertEquals(getGUIDs(recoveredStore.getEntitiesOfTypes(Collections.singletonList("DataSet"))), Collections.singleton("1111"));
+        assertEquals(getGUIDs(recoveredStore.getEntitiesOfTypes(Collections.singletonList("GlossaryTerm"))), Collections.emptySet());
+
+        recoveredStore.stopPersistence();
+    }
+}
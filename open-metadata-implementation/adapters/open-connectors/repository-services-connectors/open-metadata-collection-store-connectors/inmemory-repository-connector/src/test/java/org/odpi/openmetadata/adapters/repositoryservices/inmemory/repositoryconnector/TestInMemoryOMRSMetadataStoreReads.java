@@ -0,0 +1,250 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.inmemory.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Test that the current instances in the in-memory store can be read while the store is being updated,
+ * without waiting for the store's lock and without copying the store.
+ */
+public class TestInMemoryOMRSMetadataStoreReads
+{
+    private static final int          ENTITY_COUNT = 50;
+    private static final int          UPDATES      = 2000;
+    private static final long         WAIT_SECONDS = 30;
+    private static final List<String> TYPE_NAMES   = Arrays.asList("Asset", "DataSet");
+
+
+    private EntityDetail getEntity(String guid, long version)
+    {
+        InstanceType type = new InstanceType();
+        type.setTypeDefName(TYPE_NAMES.get((int)(version % 2)));
+
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setVersion(version);
+        entity.setCreateTime(new Date(1000));
+        entity.setUpdateTime(new Date(1000 + version));
+        entity.setType(type);
+        return entity;
+    }
+
+    private Relationship getRelationship(String guid, long version, String entityOneGUID, String entityTwoGUID)
+    {
+        EntityProxy entityOneProxy = new EntityProxy();
+        entityOneProxy.setGUID(entityOneGUID);
+
+        EntityProxy entityTwoProxy = new EntityProxy();
+        entityTwoProxy.setGUID(entityTwoGUID);
+
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setVersion(version);
+        relationship.setCreateTime(new Date(1000));
+        relationship.setUpdateTime(new Date(1000 + version));
+        relationship.setEntityOneProxy(entityOneProxy);
+        relationship.setEntityTwoProxy(entityTwoProxy);
+        return relationship;
+    }
+
+    @Test(timeOut = 60000)
+    void testReadsDoNotWaitForTheStoreLock() throws Exception
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createEntityInStore(getEntity("1111", 1));
+        store.createRelationshipInStore(getRelationship("r1", 1, "1111", "2222"));
+
+        CountDownLatch  lockHeld    = new CountDownLatch(1);
+        CountDownLatch  releaseLock = new CountDownLatch(1);
+        ExecutorService executor    = Executors.newSingleThreadExecutor();
+
+        try
+        {
+            /*
+             * Hold the lock that the updates use while the reads run on this thread.
+             */
+            Future<?> lockHolder = executor.submit(() ->
+            {
+                synchronized (store)
+                {
+                    lockHeld.countDown();
+                    releaseLock.await();
+                }
+                return null;
+            });
+
+            assertTrue(lockHeld.await(WAIT_SECONDS, TimeUnit.SECONDS));
+
+            assertEquals(store.getEntity("1111").getVersion(), 1);
+            assertEquals(store.getRelationship("r1").getVersion(), 1);
+            assertEquals(store.getEntities().size(), 1);
+            assertEquals(store.getRelationships().size(), 1);
+            assertEquals(store.timeWarpEntityStore(null).size(), 1);
+            assertEquals(store.timeWarpRelationshipStore(null).size(), 1);
+            assertEquals(store.getEntitiesOfTypes(TYPE_NAMES).size(), 1);
+            assertEquals(store.getRelationshipsForEntity("2222").size(), 1);
+
+            releaseLock.countDown();
+            lockHolder.get(WAIT_SECONDS, TimeUnit.SECONDS);
+        }
+        finally
+        {
+            releaseLock.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testReadsReturnReadOnlyViews() throws Exception
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        store.createEntityInStore(getEntity("1111", 1));
+
+        Collection<EntityDetail>  entities    = store.getEntities();
+        Map<String, EntityDetail> entityStore = store.timeWarpEntityStore(null);
+
+        /*
+         * The views are not copies so they see later changes.
+         */
+        store.createEntityInStore(getEntity("2222", 1));
+
+        assertEquals(entities.size(), 2);
+        assertEquals(entityStore.size(), 2);
+
+        try
+        {
+            entityStore.remove("1111");
+            fail("The current entity store should not be changed through a query");
+        }
+        catch (UnsupportedOperationException error)
+        {
+            // expected
+        }
+
+        try
+        {
+            entities.clear();
+            fail("The current entities should not be changed through a query");
+        }
+        catch (UnsupportedOperationException error)
+        {
+            // expected
+        }
+
+        assertNotNull(store.getEntity("1111"));
+    }
+
+    @Test(timeOut = 60000)
+    void testConcurrentReadsDuringUpdates() throws Exception
+    {
+        InMemoryOMRSMetadataStore store = new InMemoryOMRSMetadataStore();
+
+        for (int i = 0; i < ENTITY_COUNT; i++)
+        {
+            store.createEntityInStore(getEntity("e" + i, 1));
+            store.createRelationshipInStore(getRelationship("r" + i, 1, "e" + i, "e" + ((i + 1) % ENTITY_COUNT)));
+        }
+
+        int             readerCount = Math.max(2, Runtime.getRuntime().availableProcessors());
+        AtomicBoolean   updating    = new AtomicBoolean(true);
+        ExecutorService executor    = Executors.newFixedThreadPool(readerCount);
+        List<Future<?>> readers     = new ArrayList<>();
+
+        try
+        {
+            for (int r = 0; r < readerCount; r++)
+            {
+                readers.add(executor.submit(() ->
+                {
+                    while (updating.get())
+                    {
+                        /*
+                         * Iterating the live views while entities and relationships are replaced must not fail and
+                         * must see every instance exactly once.
+                         */
+                        int entityCount = 0;
+
+                        for (EntityDetail entity : store.getEntities())
+                        {
+                            assertTrue(entity.getVersion() >= 1);
+                            entityCount++;
+                        }
+
+                        assertEquals(entityCount, ENTITY_COUNT);
+                        assertEquals(store.timeWarpEntityStore(null).size(), ENTITY_COUNT);
+
+                        int relationshipCount = 0;
+
+                        for (Relationship relationship : store.getRelationships())
+                        {
+                            assertNotNull(relationship.getEntityOneProxy());
+                            relationshipCount++;
+                        }
+
+                        assertEquals(relationshipCount, ENTITY_COUNT);
+
+                        /*
+                         * An entity that changes type is indexed under its new type before it is removed from its
+                         * old type, so a query for both types always finds it.
+                         */
+                        assertEquals(store.getEntitiesOfTypes(TYPE_NAMES).size(), ENTITY_COUNT);
+                        assertTrue(store.getRelationshipsForEntity("e0").size() >= 1);
+                    }
+                    return null;
+                }));
+            }
+
+            try
+            {
+                for (int update = 0; update < UPDATES; update++)
+                {
+                    int i = update % ENTITY_COUNT;
+
+                    store.updateEntityInStore(getEntity("e" + i, update + 2));
+                    store.updateRelationshipInStore(getRelationship("r" + i, update + 2, "e" + i, "e" + ((update + i) % ENTITY_COUNT)));
+                }
+            }
+            finally
+            {
+                updating.set(false);
+            }
+
+            for (Future<?> reader : readers)
+            {
+                reader.get(WAIT_SECONDS, TimeUnit.SECONDS);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertEquals(store.getEntity("e0").getVersion(), UPDATES - ENTITY_COUNT + 2);
+    }
+}
@@ -0,0 +1,505 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.rest.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceGraph;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSLRUMap;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * OMRSRESTInstanceCache is an optional, bounded cache of the entities and relationships retrieved from the
+ * remote repository by the OMRSRESTMetadataCollection.  It saves a REST call each time the same instance is
+ * retrieved by GUID.
+ * <p>
+ * Entries are evicted when the cache is full (least recently used first), when they are older than the
+ * time to live and when an instance event from the cohort shows that the instance has changed.  An entry is only
+ * returned to a user that has already successfully retrieved it from the remote repository, so the remote
+ * repository's security checks are not bypassed.
+ * </p>
+ * <p>
+ * Each invalidation is numbered.  The caller reads the current invalidation sequence number before it retrieves an
+ * instance from the remote repository and passes it to the save method.  The instance is not saved if it was
+ * invalidated while it was being retrieved, since the retrieved copy may be older than the change that caused
+ * the invalidation.
+ * </p>
+ */
+public class OMRSRESTInstanceCache
+{
+    private final int                         maxSize;
+    private final long                        timeToLive;
+    private final Map<String, CachedInstance> entityCache;
+    private final Map<String, CachedInstance> relationshipCache;
+    private final Map<String, Long>           invalidatedGUIDs = new LinkedHashMap<>();
+
+    private long invalidationSequence = 0;
+    private long forgottenSequence    = 0;
+
+    private long hitCount          = 0;
+    private long missCount         = 0;
+    private long invalidationCount = 0;
+
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize maximum number of entities and maximum number of relationships held in the cache
+     * @param timeToLive number of milliseconds that an instance is held in the cache before it is retrieved again
+     */
+    OMRSRESTInstanceCache(int  maxSize,
+                          long timeToLive)
+    {
+        this.maxSize           = maxSize;
+        this.timeToLive        = timeToLive;
+        this.entityCache       = new OMRSLRUMap<>(maxSize);
+        this.relationshipCache = new OMRSLRUMap<>(maxSize);
+    }
+
+
+    /**
+     * Return the number of requests satisfied from the cache.
+     *
+     * @return count
+     */
+    public synchronized long getHitCount()
+    {
+        return hitCount;
+    }
+
+
+    /**
+     * Return the number of requests that needed a call to the remote repository.
+     *
+     * @return count
+     */
+    public synchronized long getMissCount()
+    {
+        return missCount;
+    }
+
+
+    /**
+     * Return the number of cached instances removed because of an instance event.
+     *
+     * @return count
+     */
+    public synchronized long getInvalidationCount()
+    {
+        return invalidationCount;
+    }
+
+
+    /**
+     * Return the number of instances currently cached.
+     *
+     * @return count
+     */
+    public synchronized int getSize()
+    {
+        return entityCache.size() + relationshipCache.size();
+    }
+
+
+    /**
+     * Return the number of the latest invalidation.  This is read before an instance is retrieved from the remote
+     * repository and passed to the save method.
+     *
+     * @return invalidation sequence number
+     */
+    synchronized long getInvalidationSequence()
+    {
+        return invalidationSequence;
+    }
+
+
+    /**
+     * Return the cached summary of an entity.  The summary may come from a cached entity detail.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @return copy of the cached entity or null if it needs to be retrieved from the remote repository
+     */
+    synchronized EntitySummary getEntitySummary(String userId,
+                                                String guid)
+    {
+        InstanceHeader cachedInstance = this.getCachedInstance(entityCache, userId, guid);
+
+        if (cachedInstance instanceof EntitySummary)
+        {
+            hitCount ++;
+            return new EntitySummary((EntitySummary)cachedInstance);
+        }
+
+        missCount ++;
+        return null;
+    }
+
+
+    /**
+     * Return the cached detail of an entity.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @return copy of the cached entity or null if it needs to be retrieved from the remote repository
+     */
+    synchronized EntityDetail getEntityDetail(String userId,
+                                              String guid)
+    {
+        InstanceHeader cachedInstance = this.getCachedInstance(entityCache, userId, guid);
+
+        if (cachedInstance instanceof EntityDetail)
+        {
+            hitCount ++;
+            return new EntityDetail((EntityDetail)cachedInstance);
+        }
+
+        missCount ++;
+        return null;
+    }
+
+
+    /**
+     * Return a cached relationship.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the relationship
+     * @return copy of the cached relationship or null if it needs to be retrieved from the remote repository
+     */
+    synchronized Relationship getRelationship(String userId,
+                                              String guid)
+    {
+        InstanceHeader cachedInstance = this.getCachedInstance(relationshipCache, userId, guid);
+
+        if (cachedInstance instanceof Relationship)
+        {
+            hitCount ++;
+            return new Relationship((Relationship)cachedInstance);
+        }
+
+        missCount ++;
+        return null;
+    }
+
+
+    /**
+     * Save an entity retrieved from the remote repository.
+     *
+     * @param userId user that retrieved the entity
+     * @param entity entity summary or detail
+     * @param retrievalSequence invalidation sequence number read before the entity was retrieved
+     */
+    synchronized void saveEntity(String        userId,
+                                 EntitySummary entity,
+                                 long          retrievalSequence)
+    {
+        this.saveInstance(entityCache, userId, entity, retrievalSequence);
+    }
+
+
+    /**
+     * Save a relationship retrieved from the remote repository.
+     *
+     * @param userId user that retrieved the relationship
+     * @param relationship relationship
+     * @param retrievalSequence invalidation sequence number read before the relationship was retrieved
+     */
+    synchronized void saveRelationship(String       userId,
+                                       Relationship relationship,
+                                       long         retrievalSequence)
+    {
+        this.saveInstance(relationshipCache, userId, relationship, retrievalSequence);
+    }
+
+
+    /**
+     * Remove an instance from the cache because it has been changed through this connector.
+     *
+     * @param guid unique identifier of the entity or relationship
+     */
+    synchronized void removeInstance(String guid)
+    {
+        if (guid != null)
+        {
+            entityCache.remove(guid);
+            relationshipCache.remove(guid);
+            this.recordInvalidation(guid);
+        }
+    }
+
+
+    /**
+     * Remove all of the cached instances.
+     */
+    synchronized void clear()
+    {
+        entityCache.clear();
+        relationshipCache.clear();
+
+        /*
+         * None of the retrievals in progress may be saved.
+         */
+        invalidatedGUIDs.clear();
+        invalidationSequence ++;
+        forgottenSequence = invalidationSequence;
+    }
+
+
+    /**
+     * Remove the instances affected by an instance event from the cohort.  Refresh requests and error events
+     * do not change an instance so they are ignored.
+     *
+     * @param instanceEvent inbound event
+     */
+    synchronized void processInstanceEvent(OMRSInstanceEvent instanceEvent)
+    {
+        OMRSInstanceEventType instanceEventType = instanceEvent.getInstanceEventType();
+
+        if ((instanceEventType == null) ||
+            (instanceEventType == OMRSInstanceEventType.UNKNOWN_INSTANCE_EVENT) ||
+            (instanceEventType == OMRSInstanceEventType.REFRESH_ENTITY_REQUEST) ||
+            (instanceEventType == OMRSInstanceEventType.REFRESH_RELATIONSHIP_REQUEST) ||
+            (instanceEventType == OMRSInstanceEventType.INSTANCE_ERROR_EVENT))
+        {
+            return;
+        }
+
+        if (instanceEventType == OMRSInstanceEventType.BATCH_INSTANCES_EVENT)
+        {
+            InstanceGraph instanceBatch = instanceEvent.getInstanceBatch();
+
+            if (instanceBatch != null)
+            {
+                if (instanceBatch.getEntities() != null)
+                {
+                    for (EntityDetail entity : instanceBatch.getEntities())
+                    {
+                        this.invalidateInstance(entityCache, entity.getGUID(), entity);
+                    }
+                }
+
+                if (instanceBatch.getRelationships() != null)
+                {
+                    for (Relationship relationship : instanceBatch.getRelationships())
+                    {
+                        this.invalidateInstance(relationshipCache, relationship.getGUID(), relationship);
+                    }
+                }
+            }
+
+            return;
+        }
+
+        InstanceHeader latestInstance = instanceEvent.getEntity();
+
+        if (latestInstance == null)
+        {
+            latestInstance = instanceEvent.getRelationship();
+        }
+
+        this.invalidateInstance(entityCache, instanceEvent.getInstanceGUID(), latestInstance);
+        this.invalidateInstance(relationshipCache, instanceEvent.getInstanceGUID(), latestInstance);
+
+        /*
+         * Re-identify events also carry the old GUID.
+         */
+        this.invalidateInstance(entityCache, instanceEvent.getOriginalInstanceGUID(), null);
+        this.invalidateInstance(relationshipCache, instanceEvent.getOriginalInstanceGUID(), null);
+    }
+
+
+    /**
+     * Return the cached instance if it is still valid for the user.  Expired instances are removed.
+     *
+     * @param cache entity or relationship cache
+     * @param userId calling user
+     * @param guid unique identifier of the instance
+     * @return cached instance or null
+     */
+    private InstanceHeader getCachedInstance(Map<String, CachedInstance> cache,
+                                             String                      userId,
+                                             String                      guid)
+    {
+        CachedInstance cachedInstance = cache.get(guid);
+
+        if (cachedInstance == null)
+        {
+            return null;
+        }
+
+        if (System.currentTimeMillis() - cachedInstance.loadTime > timeToLive)
+        {
+            cache.remove(guid);
+            return null;
+        }
+
+        if (! cachedInstance.userIds.contains(userId))
+        {
+            return null;
+        }
+
+        return cachedInstance.instance;
+    }
+
+
+    /**
+     * Save an instance retrieved from the remote repository.  If the same version is already cached, the user is
+     * added to the users that may see it.  An entity summary is replaced by the entity detail.  The instance is
+     * not saved if it was invalidated after the retrieval started.
+     *
+     * @param cache entity or relationship cache
+     * @param userId user that retrieved the instance
+     * @param instance retrieved instance
+     * @param retrievalSequence invalidation sequence number read before the instance was retrieved
+     */
+    private void saveInstance(Map<String, CachedInstance> cache,
+                              String                      userId,
+                              InstanceHeader              instance,
+                              long                        retrievalSequence)
+    {
+        if ((instance == null) || (instance.getGUID() == null))
+        {
+            return;
+        }
+
+        if (this.isInvalidatedSince(instance.getGUID(), retrievalSequence))
+        {
+            return;
+        }
+
+        CachedInstance cachedInstance = cache.get(instance.getGUID());
+
+        if ((cachedInstance != null) &&
+            (cachedInstance.instance.getVersion() == instance.getVersion()) &&
+            (System.currentTimeMillis() - cachedInstance.loadTime <= timeToLive))
+        {
+            if (cachedInstance.instance.getClass() == instance.getClass())
+            {
+                cachedInstance.userIds.add(userId);
+                return;
+            }
+            else if (cachedInstance.instance instanceof EntityDetail)
+            {
+                /*
+                 * Retrieving the summary does not show that the user may see the detail.
+                 */
+                return;
+            }
+        }
+
+        cache.put(instance.getGUID(), new CachedInstance(userId, instance));
+    }
+
+
+    /**
+     * Remove a cached instance unless the event describes an older version than the one cached.
+     *
+     * @param cache entity or relationship cache
+     * @param guid unique identifier of the changed instance
+     * @param latestInstance instance from the event (or null if the event does not include it)
+     */
+    private void invalidateInstance(Map<String, CachedInstance> cache,
+                                    String                      guid,
+                                    InstanceHeader              latestInstance)
+    {
+        if (guid == null)
+        {
+            return;
+        }
+
+        CachedInstance cachedInstance = cache.get(guid);
+
+        if (cachedInstance == null)
+        {
+            /*
+             * The instance may be being retrieved at this moment.
+             */
+            this.recordInvalidation(guid);
+        }
+        else if ((latestInstance == null) || (latestInstance.getVersion() >= cachedInstance.instance.getVersion()))
+        {
+            cache.remove(guid);
+            invalidationCount ++;
+            this.recordInvalidation(guid);
+        }
+    }
+
+
+    /**
+     * Give an invalidation the next sequence number.  The latest invalidation of each GUID is kept until
+     * there are more invalidated GUIDs than the maximum size of the cache.  The oldest is then forgotten.
+     *
+     * @param guid unique identifier of the invalidated instance
+     */
+    private void recordInvalidation(String guid)
+    {
+        invalidationSequence ++;
+
+        invalidatedGUIDs.remove(guid);
+        invalidatedGUIDs.put(guid, invalidationSequence);
+
+        if (invalidatedGUIDs.size() > maxSize)
+        {
+            Iterator<Long> oldestInvalidation = invalidatedGUIDs.values().iterator();
+
+            forgottenSequence = oldestInvalidation.next();
+            oldestInvalidation.remove();
+        }
+    }
+
+
+    /**
+     * Return whether an instance may have been invalidated after its retrieval from the remote repository started.
+     * If an invalidation after the retrieval started has been forgotten, the answer is always yes.
+     *
+     * @param guid unique identifier of the instance
+     * @param retrievalSequence invalidation sequence number read before the instance was retrieved
+     * @return true if the instance must not be saved
+     */
+    private boolean isInvalidatedSince(String guid,
+                                       long   retrievalSequence)
+    {
+        if (retrievalSequence < forgottenSequence)
+        {
+            return true;
+        }
+
+        Long lastInvalidation = invalidatedGUIDs.get(guid);
+
+        return (lastInvalidation != null) && (lastInvalidation > retrievalSequence);
+    }
+
+
+    /**
+     * CachedInstance holds a cached instance along with the users that have retrieved it.
+     */
+    private static class CachedInstance
+    {
+        private final InstanceHeader instance;
+        private final long           loadTime = System.currentTimeMillis();
+        private final Set<String>    userIds  = new HashSet<>();
+
+
+        /**
+         * Constructor.
+         *
+         * @param userId user that retrieved the instance
+         * @param instance retrieved instance
+         */
+        CachedInstance(String         userId,
+                       InstanceHeader instance)
+        {
+            this.instance = instance;
+            this.userIds.add(userId);
+        }
+    }
+}
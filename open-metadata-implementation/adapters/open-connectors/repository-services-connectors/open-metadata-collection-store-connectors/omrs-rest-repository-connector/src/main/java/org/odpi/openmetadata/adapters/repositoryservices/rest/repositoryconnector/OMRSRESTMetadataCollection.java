@@ -18,13 +18,16 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
 /**
  * The OMRSRESTMetadataCollection represents a remote metadata repository that supports the OMRS REST API.
  * Requests to this metadata collection are translated one-for-one to requests to the remote repository since
- * the OMRS REST API has a one-to-one correspondence with the metadata collection.
+ * the OMRS REST API has a one-to-one correspondence with the metadata collection.  The exception is when
+ * an instance cache is configured.  Then the current versions of entities and relationships retrieved by GUID
+ * are served from the cache until they change.
  */
 public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
 {
@@ -36,6 +39,10 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
 
     private boolean getHomeClassificationsSupported = false;
     private boolean getHomeClassificationsWithHistorySupported = false;
+    private boolean getEntityDetailsSupported = true;
+    private boolean getRelationshipsForEntitiesSupported = true;
+
+    private OMRSRESTInstanceCache instanceCache = null;
 
 
     /**
@@ -115,6 +122,32 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Set up the cache of instances retrieved from the remote repository.  Null means that every request
+     * is passed to the remote repository.
+     *
+     * @param instanceCache cache of instances
+     */
+    void setInstanceCache(OMRSRESTInstanceCache instanceCache)
+    {
+        this.instanceCache = instanceCache;
+    }
+
+
+    /**
+     * Remove an instance from the cache (if any) because it is being changed through this metadata collection.
+     *
+     * @param guid unique identifier of the entity or relationship
+     */
+    private void removeCachedInstance(String guid)
+    {
+        if (instanceCache != null)
+        {
+            instanceCache.removeInstance(guid);
+        }
+    }
+
+
     /**
      * Detect if the connector failed to initialize.
      *
@@ -861,6 +894,22 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "isEntityKnown";
 
         validateClient(methodName);
+
+        if (instanceCache != null)
+        {
+            EntityDetail entity = instanceCache.getEntityDetail(userId, guid);
+
+            if (entity == null)
+            {
+                long invalidationSequence = instanceCache.getInvalidationSequence();
+
+                entity = omrsClient.isEntityKnown(userId, guid);
+                instanceCache.saveEntity(userId, entity, invalidationSequence);
+            }
+
+            return entity;
+        }
+
         return omrsClient.isEntityKnown(userId, guid);
     }
 
@@ -888,6 +937,22 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "getEntitySummary";
 
         validateClient(methodName);
+
+        if (instanceCache != null)
+        {
+            EntitySummary entity = instanceCache.getEntitySummary(userId, guid);
+
+            if (entity == null)
+            {
+                long invalidationSequence = instanceCache.getInvalidationSequence();
+
+                entity = omrsClient.getEntitySummary(userId, guid);
+                instanceCache.saveEntity(userId, entity, invalidationSequence);
+            }
+
+            return entity;
+        }
+
         return omrsClient.getEntitySummary(userId, guid);
     }
 
@@ -916,10 +981,127 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "getEntityDetail";
 
         validateClient(methodName);
+
+        if (instanceCache != null)
+        {
+            EntityDetail entity = instanceCache.getEntityDetail(userId, guid);
+
+            if (entity == null)
+            {
+                long invalidationSequence = instanceCache.getInvalidationSequence();
+
+                entity = omrsClient.getEntityDetail(userId, guid);
+                instanceCache.saveEntity(userId, entity, invalidationSequence);
+            }
+
+            return entity;
+        }
+
         return omrsClient.getEntityDetail(userId, guid);
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  The entities that are not in the
+     * instance cache are retrieved from the remote repository in a single call.  If the remote server does not
+     * support this call, the entities are retrieved one at a time.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of the retrieved entities or null if none of the entities could be retrieved.
+     * @throws InvalidParameterException the userId is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids) throws InvalidParameterException,
+                                                                          RepositoryErrorException,
+                                                                          UserNotAuthorizedException
+    {
+        final String methodName  = "getEntityDetails";
+
+        if ((! getEntityDetailsSupported) || (guids == null) || (guids.isEmpty()))
+        {
+            return super.getEntityDetails(userId, guids);
+        }
+
+        validateClient(methodName);
+
+        List<EntityDetail> results       = new ArrayList<>();
+        List<String>       uncachedGUIDs = guids;
+
+        if (instanceCache != null)
+        {
+            uncachedGUIDs = new ArrayList<>();
+
+            for (String guid : guids)
+            {
+                EntityDetail entity = instanceCache.getEntityDetail(userId, guid);
+
+                if (entity == null)
+                {
+                    uncachedGUIDs.add(guid);
+                }
+                else
+                {
+                    results.add(entity);
+                }
+            }
+        }
+
+        if (! uncachedGUIDs.isEmpty())
+        {
+            List<EntityDetail> retrievedEntities;
+            long               invalidationSequence = 0;
+
+            if (instanceCache != null)
+            {
+                invalidationSequence = instanceCache.getInvalidationSequence();
+            }
+
+            try
+            {
+                retrievedEntities = omrsClient.getEntityDetails(userId, uncachedGUIDs);
+            }
+            catch (FunctionNotSupportedException error)
+            {
+                getEntityDetailsSupported = false;
+                return super.getEntityDetails(userId, guids);
+            }
+            catch (RepositoryErrorException error)
+            {
+                /*
+                 * Older servers do not have the batch call, but the error may also be a passing problem with
+                 * the remote server, so the batch call is tried again on the next request.
+                 */
+                return super.getEntityDetails(userId, guids);
+            }
+
+            if (retrievedEntities != null)
+            {
+                for (EntityDetail entity : retrievedEntities)
+                {
+                    if (instanceCache != null)
+                    {
+                        instanceCache.saveEntity(userId, entity, invalidationSequence);
+                    }
+
+                    results.add(entity);
+                }
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return a historical version of an entity includes the header, classifications and properties of the entity.
      *
@@ -1017,6 +1199,64 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the current relationships for a list of entities.  The relationships are retrieved from the remote
+     * repository in a single call.  If the remote server does not support this call, the relationships are
+     * retrieved one entity at a time.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUIDs list of unique identifiers for the entities.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @return Relationships list.  Null means no relationships associated with the entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws PropertyErrorException the relationships could not be retrieved.
+     * @throws PagingErrorException the relationships could not be retrieved.
+     * @throws FunctionNotSupportedException the repository does not support the retrieval of relationships.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationshipsForEntities(String       userId,
+                                                          List<String> entityGUIDs,
+                                                          String       relationshipTypeGUID) throws InvalidParameterException,
+                                                                                                    TypeErrorException,
+                                                                                                    RepositoryErrorException,
+                                                                                                    PropertyErrorException,
+                                                                                                    PagingErrorException,
+                                                                                                    FunctionNotSupportedException,
+                                                                                                    UserNotAuthorizedException
+    {
+        final String methodName = "getRelationshipsForEntities";
+
+        if ((! getRelationshipsForEntitiesSupported) || (entityGUIDs == null) || (entityGUIDs.isEmpty()))
+        {
+            return super.getRelationshipsForEntities(userId, entityGUIDs, relationshipTypeGUID);
+        }
+
+        validateClient(methodName);
+
+        try
+        {
+            return omrsClient.getRelationshipsForEntities(userId, entityGUIDs, relationshipTypeGUID);
+        }
+        catch (FunctionNotSupportedException error)
+        {
+            getRelationshipsForEntitiesSupported = false;
+            return super.getRelationshipsForEntities(userId, entityGUIDs, relationshipTypeGUID);
+        }
+        catch (RepositoryErrorException error)
+        {
+            /*
+             * Older servers do not have the batch call, but the error may also be a passing problem with
+             * the remote server, so the batch call is tried again on the next request.
+             */
+            return super.getRelationshipsForEntities(userId, entityGUIDs, relationshipTypeGUID);
+        }
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -1326,6 +1566,22 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "isRelationshipKnown";
 
         validateClient(methodName);
+
+        if (instanceCache != null)
+        {
+            Relationship relationship = instanceCache.getRelationship(userId, guid);
+
+            if (relationship == null)
+            {
+                long invalidationSequence = instanceCache.getInvalidationSequence();
+
+                relationship = omrsClient.isRelationshipKnown(userId, guid);
+                instanceCache.saveRelationship(userId, relationship, invalidationSequence);
+            }
+
+            return relationship;
+        }
+
         return omrsClient.isRelationshipKnown(userId, guid);
     }
 
@@ -1353,6 +1609,22 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "getRelationship";
 
         validateClient(methodName);
+
+        if (instanceCache != null)
+        {
+            Relationship relationship = instanceCache.getRelationship(userId, guid);
+
+            if (relationship == null)
+            {
+                long invalidationSequence = instanceCache.getInvalidationSequence();
+
+                relationship = omrsClient.getRelationship(userId, guid);
+                instanceCache.saveRelationship(userId, relationship, invalidationSequence);
+            }
+
+            return relationship;
+        }
+
         return omrsClient.getRelationship(userId, guid);
     }
 
@@ -1812,6 +2084,46 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Create a batch of new entities.  Each entity in the list is a template that supplies the type, initial
+     * properties, initial classifications and (optionally) the initial status of a new entity.
+     * The batch is sent to the remote repository in a single request.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newEntities list of templates for the new entities.
+     * @return list of new entities in the same order as the templates or null if no templates are supplied.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                              hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the entity's type.
+     * @throws ClassificationErrorException one or more of the requested classifications are either not known or
+     *                                           not defined for the entity type.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                       one of the requested statuses.
+     * @throws FunctionNotSupportedException the repository does not support maintenance of metadata.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> addEntities(String               userId,
+                                          List<EntityDetail>   newEntities) throws InvalidParameterException,
+                                                                                   RepositoryErrorException,
+                                                                                   TypeErrorException,
+                                                                                   PropertyErrorException,
+                                                                                   ClassificationErrorException,
+                                                                                   StatusNotSupportedException,
+                                                                                   FunctionNotSupportedException,
+                                                                                   UserNotAuthorizedException
+    {
+        final String methodName  = "addEntities";
+
+        validateClient(methodName);
+        return omrsClient.addEntities(userId, newEntities);
+    }
+
+
     /**
      * Save a new entity that is sourced from an external technology.  The external
      * technology is identified by a GUID and a name.  These can be recorded in a
@@ -1921,6 +2233,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "updateEntityStatus";
 
         validateClient(methodName);
+        removeCachedInstance(entityGUID);
         return omrsClient.updateEntityStatus(userId, entityGUID, newStatus);
     }
 
@@ -1954,6 +2267,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "updateEntityProperties";
 
         validateClient(methodName);
+        removeCachedInstance(entityGUID);
         return omrsClient.updateEntityProperties(userId, entityGUID, properties);
     }
 
@@ -1982,6 +2296,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "undoEntityUpdate";
 
         validateClient(methodName);
+        removeCachedInstance(entityGUID);
         return omrsClient.undoEntityUpdate(userId, entityGUID);
     }
 
@@ -2018,6 +2333,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "deleteEntity";
 
         validateClient(methodName);
+        removeCachedInstance(obsoleteEntityGUID);
         return omrsClient.deleteEntity(userId, typeDefGUID, typeDefName, obsoleteEntityGUID);
     }
 
@@ -2051,6 +2367,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "purgeEntity";
 
         validateClient(methodName);
+        removeCachedInstance(deletedEntityGUID);
         omrsClient.purgeEntity(userId, typeDefGUID, typeDefName, deletedEntityGUID);
     }
 
@@ -2081,6 +2398,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "restoreEntity";
 
         validateClient(methodName);
+        removeCachedInstance(deletedEntityGUID);
         return omrsClient.restoreEntity(userId, deletedEntityGUID);
     }
 
@@ -2119,6 +2437,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "classifyEntity";
 
         validateClient(methodName);
+        removeCachedInstance(entityGUID);
         return omrsClient.classifyEntity(userId, entityGUID, classificationName, classificationProperties);
     }
 
@@ -2165,6 +2484,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName = "classifyEntity (detailed)";
 
         validateClient(methodName);
+        removeCachedInstance(entityGUID);
         return omrsClient.classifyEntity(userId,
                                          entityGUID,
                                          classificationName,
@@ -2204,6 +2524,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "declassifyEntity";
 
         validateClient(methodName);
+        removeCachedInstance(entityGUID);
         return omrsClient.declassifyEntity(userId, entityGUID, classificationName);
     }
 
@@ -2241,6 +2562,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "updateEntityClassification";
 
         validateClient(methodName);
+        removeCachedInstance(entityGUID);
         return omrsClient.updateEntityClassification(userId, entityGUID, classificationName, properties);
     }
 
@@ -2296,6 +2618,45 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Create a batch of new relationships.  Each relationship in the list is a template that supplies the type,
+     * initial properties, the entities to connect (through the GUIDs of its entity proxies) and (optionally) the
+     * initial status of a new relationship.  The batch is sent to the remote repository in a single request.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newRelationships list of templates for the new relationships.
+     * @return list of new relationships in the same order as the templates or null if no templates are supplied.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                            hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the relationship's type.
+     * @throws EntityNotKnownException one of the requested entities is not known in the metadata collection.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                     one of the requested statuses.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @throws FunctionNotSupportedException the repository does not support maintenance of metadata.
+     */
+    @Override
+    public List<Relationship> addRelationships(String               userId,
+                                               List<Relationship>   newRelationships) throws InvalidParameterException,
+                                                                                             RepositoryErrorException,
+                                                                                             TypeErrorException,
+                                                                                             PropertyErrorException,
+                                                                                             EntityNotKnownException,
+                                                                                             StatusNotSupportedException,
+                                                                                             UserNotAuthorizedException,
+                                                                                             FunctionNotSupportedException
+    {
+        final String methodName  = "addRelationships";
+
+        validateClient(methodName);
+        return omrsClient.addRelationships(userId, newRelationships);
+    }
+
+
     /**
      * Save a new relationship that is sourced from an external technology.  The external
      * technology is identified by a GUID and a name.  These can be recorded in a
@@ -2384,6 +2745,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "updateRelationshipStatus";
 
         validateClient(methodName);
+        removeCachedInstance(relationshipGUID);
         return omrsClient.updateRelationshipStatus(userId, relationshipGUID, newStatus);
     }
 
@@ -2417,6 +2779,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "updateRelationshipProperties";
 
         validateClient(methodName);
+        removeCachedInstance(relationshipGUID);
         return omrsClient.updateRelationshipProperties(userId, relationshipGUID, properties);
     }
 
@@ -2446,6 +2809,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "undoRelationshipUpdate";
 
         validateClient(methodName);
+        removeCachedInstance(relationshipGUID);
         return omrsClient.undoRelationshipUpdate(userId, relationshipGUID);
     }
 
@@ -2481,6 +2845,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "deleteRelationship";
 
         validateClient(methodName);
+        removeCachedInstance(obsoleteRelationshipGUID);
         return omrsClient.deleteRelationship(userId, typeDefGUID, typeDefName, obsoleteRelationshipGUID);
     }
 
@@ -2514,6 +2879,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "purgeRelationship";
 
         validateClient(methodName);
+        removeCachedInstance(deletedRelationshipGUID);
         omrsClient.purgeRelationship(userId, typeDefGUID, typeDefName, deletedRelationshipGUID);
     }
 
@@ -2545,6 +2911,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "restoreRelationship";
 
         validateClient(methodName);
+        removeCachedInstance(deletedRelationshipGUID);
         return omrsClient.restoreRelationship(userId, deletedRelationshipGUID);
     }
 
@@ -2586,6 +2953,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "reIdentifyEntity";
 
         validateClient(methodName);
+        removeCachedInstance(entityGUID);
         return omrsClient.reIdentifyEntity(userId, typeDefGUID, typeDefName, entityGUID, newEntityGUID);
     }
 
@@ -2627,6 +2995,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "reTypeEntity";
 
         validateClient(methodName);
+        removeCachedInstance(entityGUID);
         return omrsClient.reTypeEntity(userId, entityGUID, currentTypeDefSummary, newTypeDefSummary);
     }
 
@@ -2667,6 +3036,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "reHomeEntity";
 
         validateClient(methodName);
+        removeCachedInstance(entityGUID);
         return omrsClient.reHomeEntity(userId,
                                        entityGUID,
                                        typeDefGUID,
@@ -2710,6 +3080,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "reIdentifyRelationship";
 
         validateClient(methodName);
+        removeCachedInstance(relationshipGUID);
         return omrsClient.reIdentifyRelationship(userId, typeDefGUID, typeDefName, relationshipGUID, newRelationshipGUID);
     }
 
@@ -2750,6 +3121,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "reTypeRelationship";
 
         validateClient(methodName);
+        removeCachedInstance(relationshipGUID);
         return omrsClient.reTypeRelationship(userId, relationshipGUID, currentTypeDefSummary, newTypeDefSummary);
     }
 
@@ -2791,6 +3163,7 @@ public class OMRSRESTMetadataCollection extends OMRSMetadataCollectionBase
         final String methodName  = "reHomeRelationship";
 
         validateClient(methodName);
+        removeCachedInstance(relationshipGUID);
         return omrsClient.reHomeRelationship(userId,
                                              relationshipGUID,
                                              typeDefGUID,
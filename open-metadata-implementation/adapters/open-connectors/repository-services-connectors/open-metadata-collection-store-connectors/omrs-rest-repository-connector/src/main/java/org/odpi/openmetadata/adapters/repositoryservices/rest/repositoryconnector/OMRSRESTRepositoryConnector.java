@@ -2,21 +2,34 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.adapters.repositoryservices.rest.repositoryconnector;
 
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListener;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 
+import java.util.Map;
+
 /**
  * The OMRSRESTRepositoryConnector is a connector to a remote Apache Atlas repository (or any other metadata repository
  * that supports the OMRS REST APIs).  This is the connector used by the EnterpriseOMRSRepositoryConnector to make a direct call
  * to another open metadata repository.
+ * <p>
+ * If the instanceCacheSize configuration property is set, the entities and relationships retrieved by GUID are
+ * cached.  The connector is an OMRSTopicListener so that the instance events from the cohort can remove the
+ * instances that have changed from the cache.
+ * </p>
  */
-public class OMRSRESTRepositoryConnector extends OMRSRepositoryConnector
+public class OMRSRESTRepositoryConnector extends OMRSRepositoryConnector implements OMRSTopicListener
 {
     private OMRSRESTMetadataCollection  metadataCollection   = null;
     private RepositoryErrorException    metadataCollectionException = null;
+    private OMRSRESTInstanceCache       instanceCache        = null;
 
     /**
      * Default constructor used by the OCF Connector Provider.
@@ -50,6 +63,9 @@ public class OMRSRESTRepositoryConnector extends OMRSRepositoryConnector
                                                                 repositoryHelper,
                                                                 repositoryValidator,
                                                                 metadataCollectionId);
+
+            instanceCache = this.getInstanceCacheFromConfiguration();
+            metadataCollection.setInstanceCache(instanceCache);
         }
         catch (RepositoryErrorException  error)
         {
@@ -59,6 +75,162 @@ public class OMRSRESTRepositoryConnector extends OMRSRepositoryConnector
     }
 
 
+    /**
+     * Create the instance cache if it is requested in the configuration properties of the connection.
+     *
+     * @return instance cache or null if instances are not to be cached
+     * @throws RepositoryErrorException one of the configuration properties is not a valid number
+     */
+    private OMRSRESTInstanceCache getInstanceCacheFromConfiguration() throws RepositoryErrorException
+    {
+        int  cacheSize  = 0;
+        long timeToLive = OMRSRESTRepositoryConnectorProvider.defaultInstanceCacheTimeToLive;
+
+        if (connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object sizeProperty       = configurationProperties.get(OMRSRESTRepositoryConnectorProvider.instanceCacheSizePropertyName);
+                Object timeToLiveProperty = configurationProperties.get(OMRSRESTRepositoryConnectorProvider.instanceCacheTimeToLivePropertyName);
+
+                if (sizeProperty != null)
+                {
+                    cacheSize = (int)this.getNumericProperty(OMRSRESTRepositoryConnectorProvider.instanceCacheSizePropertyName,
+                                                             sizeProperty,
+                                                             Integer.MAX_VALUE);
+                }
+
+                if (timeToLiveProperty != null)
+                {
+                    timeToLive = this.getNumericProperty(OMRSRESTRepositoryConnectorProvider.instanceCacheTimeToLivePropertyName,
+                                                         timeToLiveProperty,
+                                                         Long.MAX_VALUE / 1000);
+                }
+            }
+        }
+
+        if (cacheSize > 0)
+        {
+            return new OMRSRESTInstanceCache(cacheSize, timeToLive * 1000);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Validate the value of one of the numeric configuration properties that control the instance cache.
+     *
+     * @param propertyName name of the configuration property
+     * @param propertyValue value from the configuration properties
+     * @param maxValue largest value allowed
+     * @return value as a number
+     * @throws RepositoryErrorException the value is not a whole number of zero or more
+     */
+    private long getNumericProperty(String propertyName,
+                                    Object propertyValue,
+                                    long   maxValue) throws RepositoryErrorException
+    {
+        final String methodName = "setMetadataCollectionId";
+
+        try
+        {
+            long value = Long.parseLong(propertyValue.toString().trim());
+
+            if ((value >= 0) && (value <= maxValue))
+            {
+                return value;
+            }
+        }
+        catch (NumberFormatException error)
+        {
+            /*
+             * Handled below.
+             */
+        }
+
+        throw new RepositoryErrorException(OMRSErrorCode.INVALID_INSTANCE_CACHE_PROPERTY.getMessageDefinition(propertyValue.toString(),
+                                                                                                             propertyName,
+                                                                                                             super.repositoryName),
+                                           this.getClass().getName(),
+                                           methodName);
+    }
+
+
+    /**
+     * Return the cache of instances retrieved from the remote repository.  Its counts show how effective
+     * it is.
+     *
+     * @return instance cache or null if instances are not cached
+     */
+    public OMRSRESTInstanceCache getInstanceCache()
+    {
+        return instanceCache;
+    }
+
+
+    /**
+     * Registry events are not relevant to this connector.
+     *
+     * @param event inbound event
+     */
+    @Override
+    public void processRegistryEvent(OMRSRegistryEvent event)
+    {
+        /*
+         * Nothing to do
+         */
+    }
+
+
+    /**
+     * TypeDef events are not relevant to this connector.
+     *
+     * @param event inbound event
+     */
+    @Override
+    public void processTypeDefEvent(OMRSTypeDefEvent event)
+    {
+        /*
+         * Nothing to do
+         */
+    }
+
+
+    /**
+     * Remove any cached instances that the instance event shows have changed.
+     *
+     * @param event inbound event
+     */
+    @Override
+    public void processInstanceEvent(OMRSInstanceEvent event)
+    {
+        if ((instanceCache != null) && (event != null))
+        {
+            instanceCache.processInstanceEvent(event);
+        }
+    }
+
+
+    /**
+     * Free up any resources held since the connector is no longer needed.
+     *
+     * @throws ConnectorCheckedException there is a problem within the connector.
+     */
+    @Override
+    public void disconnect() throws ConnectorCheckedException
+    {
+        if (instanceCache != null)
+        {
+            instanceCache.clear();
+        }
+
+        super.disconnect();
+    }
+
+
     /**
      * Returns the metadata collection object that provides an OMRS abstraction of the metadata within
      * a metadata repository.
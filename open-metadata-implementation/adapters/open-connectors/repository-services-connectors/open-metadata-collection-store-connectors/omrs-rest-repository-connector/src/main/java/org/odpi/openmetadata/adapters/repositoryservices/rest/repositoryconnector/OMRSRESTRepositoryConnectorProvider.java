@@ -7,6 +7,9 @@ import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorTyp
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnectorProviderBase;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * In the Open Connector Framework (OCF), a ConnectorProvider is a factory for a specific type of connector.
  * The OMRSRESTRepositoryConnectorProvider is the connector provider for the OMRSRESTRepositoryConnector.
@@ -23,6 +26,19 @@ public class OMRSRESTRepositoryConnectorProvider extends OMRSRepositoryConnector
     static final String  connectorTypeName = "OMRS REST API Repository Connector";
     static final String  connectorTypeDescription = "OMRS Repository Connector that calls the repository services REST API of a remote server.";
 
+    /**
+     * Maximum number of entities (and of relationships) retrieved by GUID that are cached by the connector.
+     * If this configuration property is not set, or is zero, every request is passed to the remote server.
+     */
+    public static final String instanceCacheSizePropertyName = "instanceCacheSize";
+
+    /**
+     * Number of seconds that a cached instance is used before it is retrieved from the remote server again.
+     * Cached instances are also removed when the cohort sends an event to say they have changed.
+     */
+    public static final String instanceCacheTimeToLivePropertyName = "instanceCacheTimeToLive";
+    static final long          defaultInstanceCacheTimeToLive      = 60;
+
     /**
      * Constructor used to initialize the ConnectorProviderBase with the Java class name of the specific
      * OMRS Connector implementation.
@@ -41,6 +57,11 @@ public class OMRSRESTRepositoryConnectorProvider extends OMRSRepositoryConnector
         connectorType.setDescription(connectorTypeDescription);
         connectorType.setConnectorProviderClassName(this.getClass().getName());
 
+        List<String> recognizedConfigurationProperties = new ArrayList<>();
+        recognizedConfigurationProperties.add(instanceCacheSizePropertyName);
+        recognizedConfigurationProperties.add(instanceCacheTimeToLivePropertyName);
+        connectorType.setRecognizedConfigurationProperties(recognizedConfigurationProperties);
+
         super.connectorTypeBean = connectorType;
         super.setConnectorComponentDescription(OMRSAuditingComponent.REMOTE_REPOSITORY_CONNECTOR);
     }
@@ -0,0 +1,243 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.rest.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+
+
+/**
+ * Test the cache of instances retrieved by the REST repository connector.
+ */
+public class TestOMRSRESTInstanceCache
+{
+    private static final String USER_1 = "user1";
+    private static final String USER_2 = "user2";
+
+
+    private EntityDetail getEntity(String guid, long version)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setVersion(version);
+        return entity;
+    }
+
+
+    private EntitySummary getEntitySummary(String guid, long version)
+    {
+        EntitySummary entity = new EntitySummary();
+        entity.setGUID(guid);
+        entity.setVersion(version);
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid, long version)
+    {
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setVersion(version);
+        return relationship;
+    }
+
+
+    @Test
+    void testCachedInstancesAreReturned()
+    {
+        OMRSRESTInstanceCache cache = new OMRSRESTInstanceCache(10, 60000);
+
+        assertNull(cache.getEntityDetail(USER_1, "e1"));
+
+        cache.saveEntity(USER_1, getEntity("e1", 1), cache.getInvalidationSequence());
+        cache.saveRelationship(USER_1, getRelationship("r1", 1), cache.getInvalidationSequence());
+
+        EntityDetail entity = cache.getEntityDetail(USER_1, "e1");
+        assertNotNull(entity);
+        assertEquals(entity.getVersion(), 1);
+        assertNotSame(cache.getEntityDetail(USER_1, "e1"), entity);
+
+        /*
+         * The summary can come from the cached detail.
+         */
+        assertNotNull(cache.getEntitySummary(USER_1, "e1"));
+        assertNotNull(cache.getRelationship(USER_1, "r1"));
+        assertNull(cache.getRelationship(USER_1, "e1"));
+
+        assertEquals(cache.getSize(), 2);
+        assertEquals(cache.getHitCount(), 4);
+        assertEquals(cache.getMissCount(), 2);
+    }
+
+
+    @Test
+    void testInstancesAreOnlyReturnedToUsersThatRetrievedThem()
+    {
+        OMRSRESTInstanceCache cache = new OMRSRESTInstanceCache(10, 60000);
+
+        cache.saveEntity(USER_1, getEntity("e1", 1), cache.getInvalidationSequence());
+
+        assertNull(cache.getEntityDetail(USER_2, "e1"));
+
+        /*
+         * Once the second user has retrieved the same version from the remote repository, it may see the
+         * cached copy.
+         */
+        cache.saveEntity(USER_2, getEntity("e1", 1), cache.getInvalidationSequence());
+
+        assertNotNull(cache.getEntityDetail(USER_1, "e1"));
+        assertNotNull(cache.getEntityDetail(USER_2, "e1"));
+
+        /*
+         * Retrieving the summary does not show that a user may see the detail.
+         */
+        cache.saveEntity("user3", getEntitySummary("e1", 1), cache.getInvalidationSequence());
+
+        assertNull(cache.getEntityDetail("user3", "e1"));
+        assertNotNull(cache.getEntityDetail(USER_1, "e1"));
+    }
+
+
+    @Test
+    void testExpiredInstancesAreRemoved() throws Exception
+    {
+        OMRSRESTInstanceCache cache = new OMRSRESTInstanceCache(10, 50);
+
+        cache.saveEntity(USER_1, getEntity("e1", 1), cache.getInvalidationSequence());
+        assertNotNull(cache.getEntityDetail(USER_1, "e1"));
+
+        Thread.sleep(100);
+
+        assertNull(cache.getEntityDetail(USER_1, "e1"));
+        assertEquals(cache.getSize(), 0);
+    }
+
+
+    @Test
+    void testLeastRecentlyUsedInstanceIsEvicted()
+    {
+        OMRSRESTInstanceCache cache = new OMRSRESTInstanceCache(2, 60000);
+
+        cache.saveEntity(USER_1, getEntity("e1", 1), cache.getInvalidationSequence());
+        cache.saveEntity(USER_1, getEntity("e2", 1), cache.getInvalidationSequence());
+        assertNotNull(cache.getEntityDetail(USER_1, "e1"));
+
+        cache.saveEntity(USER_1, getEntity("e3", 1), cache.getInvalidationSequence());
+
+        assertNotNull(cache.getEntityDetail(USER_1, "e1"));
+        assertNull(cache.getEntityDetail(USER_1, "e2"));
+        assertNotNull(cache.getEntityDetail(USER_1, "e3"));
+    }
+
+
+    @Test
+    void testInstanceEventsInvalidateCachedInstances()
+    {
+        OMRSRESTInstanceCache cache = new OMRSRESTInstanceCache(10, 60000);
+
+        cache.saveEntity(USER_1, getEntity("e1", 2), cache.getInvalidationSequence());
+        cache.saveRelationship(USER_1, getRelationship("r1", 1), cache.getInvalidationSequence());
+
+        /*
+         * An event for an older version does not remove the cached instance.
+         */
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, getEntity("e1", 1)));
+        assertNotNull(cache.getEntityDetail(USER_1, "e1"));
+
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, getEntity("e1", 3)));
+        assertNull(cache.getEntityDetail(USER_1, "e1"));
+
+        /*
+         * Refresh requests do not change the instance.
+         */
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.REFRESH_RELATIONSHIP_REQUEST, getRelationship("r1", 1)));
+        assertNotNull(cache.getRelationship(USER_1, "r1"));
+
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.DELETED_RELATIONSHIP_EVENT, getRelationship("r1", 1)));
+        assertNull(cache.getRelationship(USER_1, "r1"));
+
+        assertEquals(cache.getInvalidationCount(), 2);
+    }
+
+
+    @Test
+    void testInstanceInvalidatedDuringRetrievalIsNotSaved()
+    {
+        OMRSRESTInstanceCache cache = new OMRSRESTInstanceCache(10, 60000);
+
+        /*
+         * The event arrives while the entity is being retrieved from the remote repository, so the
+         * retrieved copy may be out of date.
+         */
+        long retrievalSequence = cache.getInvalidationSequence();
+
+        cache.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, getEntity("e1", 2)));
+        cache.saveEntity(USER_1, getEntity("e1", 1), retrievalSequence);
+
+        assertNull(cache.getEntityDetail(USER_1, "e1"));
+
+        /*
+         * Changes to other instances do not stop the entity being saved.
+         */
+        retrievalSequence = cache.getInvalidationSequence();
+
+        cache.removeInstance("e2");
+        cache.saveEntity(USER_1, getEntity("e1", 2), retrievalSequence);
+
+        assertNotNull(cache.getEntityDetail(USER_1, "e1"));
+
+        /*
+         * Changes made through the connector have the same effect as events.
+         */
+        retrievalSequence = cache.getInvalidationSequence();
+
+        cache.removeInstance("r1");
+        cache.saveRelationship(USER_1, getRelationship("r1", 1), retrievalSequence);
+
+        assertNull(cache.getRelationship(USER_1, "r1"));
+    }
+
+
+    @Test
+    void testForgottenInvalidationsStopRetrievalsBeingSaved()
+    {
+        OMRSRESTInstanceCache cache = new OMRSRESTInstanceCache(2, 60000);
+
+        long retrievalSequence = cache.getInvalidationSequence();
+
+        /*
+         * The cache only remembers the latest invalidations so it can not tell whether e1 was invalidated.
+         */
+        cache.removeInstance("e1");
+        cache.removeInstance("e2");
+        cache.removeInstance("e3");
+
+        cache.saveEntity(USER_1, getEntity("e1", 1), retrievalSequence);
+        cache.saveEntity(USER_1, getEntity("e4", 1), retrievalSequence);
+
+        assertEquals(cache.getSize(), 0);
+
+        /*
+         * Clearing the cache stops all of the retrievals in progress being saved.
+         */
+        retrievalSequence = cache.getInvalidationSequence();
+
+        cache.clear();
+        cache.saveEntity(USER_1, getEntity("e5", 1), retrievalSequence);
+
+        assertEquals(cache.getSize(), 0);
+
+        cache.saveEntity(USER_1, getEntity("e5", 1), cache.getInvalidationSequence());
+
+        assertEquals(cache.getSize(), 1);
+    }
+}
@@ -0,0 +1,208 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.rest.repositoryconnector;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.clients.LocalRepositoryServicesClient;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+
+/**
+ * Test that the REST repository connector uses the calls that retrieve instances for a list of entities, and
+ * falls back to retrieving them one entity at a time when the remote server does not support them.
+ */
+public class TestOMRSRESTMetadataCollectionBatch
+{
+    private static final String USER_ID           = "testUser";
+    private static final String RELATIONSHIP_TYPE = "relationship-type-guid";
+
+    private List<String> guids = Arrays.asList("1111", "2222");
+
+
+    /**
+     * Return a metadata collection for a remote repository that is called through the supplied client.
+     *
+     * @param omrsClient mock client
+     * @return metadata collection
+     * @throws Exception problem setting up the metadata collection
+     */
+    static OMRSRESTMetadataCollection getMetadataCollection(LocalRepositoryServicesClient omrsClient) throws Exception
+    {
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress("https://localhost:9443");
+
+        Connection connection = new Connection();
+        connection.setEndpoint(endpoint);
+
+        OMRSRESTRepositoryConnector connector = new OMRSRESTRepositoryConnector();
+        connector.initialize("test-connector", new ConnectionProperties(connection));
+        connector.setServerName("TestServer");
+        connector.setMetadataCollectionId("remote-collection");
+
+        OMRSRESTMetadataCollection metadataCollection = (OMRSRESTMetadataCollection)connector.getMetadataCollection();
+
+        Field omrsClientField = OMRSRESTMetadataCollection.class.getDeclaredField("omrsClient");
+        omrsClientField.setAccessible(true);
+        omrsClientField.set(metadataCollection, omrsClient);
+        omrsClientField.setAccessible(false);
+
+        return metadataCollection;
+    }
+
+
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        return entity;
+    }
+
+
+    private Relationship getRelationship(String guid)
+    {
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        return relationship;
+    }
+
+
+    private LocalRepositoryServicesClient getClient() throws Exception
+    {
+        LocalRepositoryServicesClient omrsClient = mock(LocalRepositoryServicesClient.class);
+
+        when(omrsClient.getEntityDetail(eq(USER_ID), anyString())).thenAnswer(invocation -> getEntity(invocation.getArgument(1)));
+        when(omrsClient.getRelationshipsForEntity(eq(USER_ID), anyString(), eq(RELATIONSHIP_TYPE), anyInt(), any(), any(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> Collections.singletonList(getRelationship("r" + invocation.getArgument(1))));
+
+        return omrsClient;
+    }
+
+
+    @Test
+    void testGetEntityDetailsUsesBatchCall() throws Exception
+    {
+        LocalRepositoryServicesClient omrsClient = getClient();
+        when(omrsClient.getEntityDetails(USER_ID, guids)).thenReturn(Arrays.asList(getEntity("1111"), getEntity("2222")));
+
+        OMRSRESTMetadataCollection metadataCollection = getMetadataCollection(omrsClient);
+
+        assertEquals(metadataCollection.getEntityDetails(USER_ID, guids).size(), 2);
+        assertEquals(metadataCollection.getEntityDetails(USER_ID, guids).size(), 2);
+
+        verify(omrsClient, times(2)).getEntityDetails(USER_ID, guids);
+        verify(omrsClient, never()).getEntityDetail(anyString(), anyString());
+    }
+
+
+    @Test
+    void testGetEntityDetailsFallsBackWhenNotSupported() throws Exception
+    {
+        LocalRepositoryServicesClient omrsClient = getClient();
+        when(omrsClient.getEntityDetails(USER_ID, guids)).thenThrow(FunctionNotSupportedException.class);
+
+        OMRSRESTMetadataCollection metadataCollection = getMetadataCollection(omrsClient);
+
+        assertEquals(metadataCollection.getEntityDetails(USER_ID, guids).size(), 2);
+        assertEquals(metadataCollection.getEntityDetails(USER_ID, guids).size(), 2);
+
+        /*
+         * The batch call is not tried again once the remote server has said it does not support it.
+         */
+        verify(omrsClient, times(1)).getEntityDetails(USER_ID, guids);
+        verify(omrsClient, times(2)).getEntityDetail(USER_ID, "1111");
+        verify(omrsClient, times(2)).getEntityDetail(USER_ID, "2222");
+    }
+
+
+    @Test
+    void testGetEntityDetailsFallsBackForOneRequestOnError() throws Exception
+    {
+        LocalRepositoryServicesClient omrsClient = getClient();
+        when(omrsClient.getEntityDetails(USER_ID, guids)).thenThrow(RepositoryErrorException.class)
+                                                         .thenReturn(Arrays.asList(getEntity("1111"), getEntity("2222")));
+
+        OMRSRESTMetadataCollection metadataCollection = getMetadataCollection(omrsClient);
+
+        assertEquals(metadataCollection.getEntityDetails(USER_ID, guids).size(), 2);
+        verify(omrsClient, times(1)).getEntityDetail(USER_ID, "1111");
+
+        /*
+         * A repository error only affects the request that received it.
+         */
+        assertEquals(metadataCollection.getEntityDetails(USER_ID, guids).size(), 2);
+        verify(omrsClient, times(2)).getEntityDetails(USER_ID, guids);
+        verify(omrsClient, times(1)).getEntityDetail(USER_ID, "1111");
+    }
+
+
+    @Test
+    void testGetRelationshipsForEntitiesUsesBatchCall() throws Exception
+    {
+        LocalRepositoryServicesClient omrsClient = getClient();
+        when(omrsClient.getRelationshipsForEntities(USER_ID, guids, RELATIONSHIP_TYPE)).thenReturn(
+                Arrays.asList(getRelationship("r1111"), getRelationship("r2222")));
+
+        OMRSRESTMetadataCollection metadataCollection = getMetadataCollection(omrsClient);
+
+        assertEquals(metadataCollection.getRelationshipsForEntities(USER_ID, guids, RELATIONSHIP_TYPE).size(), 2);
+
+        verify(omrsClient, times(1)).getRelationshipsForEntities(USER_ID, guids, RELATIONSHIP_TYPE);
+        verify(omrsClient, never()).getRelationshipsForEntity(anyString(), anyString(), anyString(), anyInt(), any(), any(), any(), any(), anyInt());
+    }
+
+
+    @Test
+    void testGetRelationshipsForEntitiesFallsBackWhenNotSupported() throws Exception
+    {
+        LocalRepositoryServicesClient omrsClient = getClient();
+        when(omrsClient.getRelationshipsForEntities(USER_ID, guids, RELATIONSHIP_TYPE)).thenThrow(FunctionNotSupportedException.class);
+
+        OMRSRESTMetadataCollection metadataCollection = getMetadataCollection(omrsClient);
+
+        assertEquals(metadataCollection.getRelationshipsForEntities(USER_ID, guids, RELATIONSHIP_TYPE).size(), 2);
+        assertEquals(metadataCollection.getRelationshipsForEntities(USER_ID, guids, RELATIONSHIP_TYPE).size(), 2);
+
+        verify(omrsClient, times(1)).getRelationshipsForEntities(USER_ID, guids, RELATIONSHIP_TYPE);
+        verify(omrsClient, times(4)).getRelationshipsForEntity(anyString(), anyString(), anyString(), anyInt(), any(), any(), any(), any(), anyInt());
+    }
+
+
+    @Test
+    void testGetRelationshipsForEntitiesFallsBackForOneRequestOnError() throws Exception
+    {
+        LocalRepositoryServicesClient omrsClient = getClient();
+        when(omrsClient.getRelationshipsForEntities(USER_ID, guids, RELATIONSHIP_TYPE)).thenThrow(RepositoryErrorException.class)
+                                                                                      .thenReturn(Arrays.asList(getRelationship("r1111"),
+                                                                                                                getRelationship("r2222")));
+
+        OMRSRESTMetadataCollection metadataCollection = getMetadataCollection(omrsClient);
+
+        assertEquals(metadataCollection.getRelationshipsForEntities(USER_ID, guids, RELATIONSHIP_TYPE).size(), 2);
+        assertEquals(metadataCollection.getRelationshipsForEntities(USER_ID, guids, RELATIONSHIP_TYPE).size(), 2);
+
+        verify(omrsClient, times(2)).getRelationshipsForEntities(USER_ID, guids, RELATIONSHIP_TYPE);
+        verify(omrsClient, times(2)).getRelationshipsForEntity(anyString(), anyString(), anyString(), anyInt(), any(), any(), any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,200 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.adapters.repositoryservices.rest.repositoryconnector;
+
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Endpoint;
+import org.odpi.openmetadata.repositoryservices.clients.LocalRepositoryServicesClient;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Test that the REST repository connector caches the instances it retrieves when this is requested in the
+ * configuration properties of its connection.
+ */
+public class TestOMRSRESTRepositoryConnectorCache
+{
+    private static final String USER_1 = "user1";
+    private static final String USER_2 = "user2";
+
+
+    private OMRSRESTRepositoryConnector getConnector(Object instanceCacheSize, Object instanceCacheTimeToLive)
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put(OMRSRESTRepositoryConnectorProvider.instanceCacheSizePropertyName, instanceCacheSize);
+        configurationProperties.put(OMRSRESTRepositoryConnectorProvider.instanceCacheTimeToLivePropertyName, instanceCacheTimeToLive);
+
+        Endpoint endpoint = new Endpoint();
+        endpoint.setAddress("https://localhost:9443");
+
+        Connection connection = new Connection();
+        connection.setEndpoint(endpoint);
+        connection.setConfigurationProperties(configurationProperties);
+
+        OMRSRESTRepositoryConnector connector = new OMRSRESTRepositoryConnector();
+        connector.initialize("test-connector", new ConnectionProperties(connection));
+        connector.setServerName("TestServer");
+        connector.setRepositoryName("TestRepository");
+        connector.setMetadataCollectionId("remote-collection");
+        return connector;
+    }
+
+
+    private OMRSRESTMetadataCollection getMetadataCollection(OMRSRESTRepositoryConnector   connector,
+                                                             LocalRepositoryServicesClient omrsClient) throws Exception
+    {
+        OMRSRESTMetadataCollection metadataCollection = (OMRSRESTMetadataCollection)connector.getMetadataCollection();
+
+        Field omrsClientField = OMRSRESTMetadataCollection.class.getDeclaredField("omrsClient");
+        omrsClientField.setAccessible(true);
+        omrsClientField.set(metadataCollection, omrsClient);
+        omrsClientField.setAccessible(false);
+
+        return metadataCollection;
+    }
+
+
+    private EntityDetail getEntity(String guid, long version)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setVersion(version);
+        return entity;
+    }
+
+
+    private void checkInvalidConfiguration(Object instanceCacheSize, Object instanceCacheTimeToLive)
+    {
+        try
+        {
+            getConnector(instanceCacheSize, instanceCacheTimeToLive).getMetadataCollection();
+            fail("The configuration should be rejected");
+        }
+        catch (RepositoryErrorException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(), "OMRS-REST-REPOSITORY-CONNECTOR-400-001");
+        }
+    }
+
+
+    @Test
+    void testCacheConfiguration() throws Exception
+    {
+        assertNotNull(getConnector(100, 30).getInstanceCache());
+        assertNotNull(getConnector(" 100 ", null).getInstanceCache());
+        assertNull(getConnector(0, 30).getInstanceCache());
+
+        checkInvalidConfiguration("lots", 30);
+        checkInvalidConfiguration(-1, 30);
+        checkInvalidConfiguration(Long.MAX_VALUE, 30);
+        checkInvalidConfiguration(100, "1.5");
+        checkInvalidConfiguration(100, Long.MAX_VALUE);
+    }
+
+
+    @Test
+    void testRetrievedInstancesAreCachedForEachUser() throws Exception
+    {
+        Relationship relationship = new Relationship();
+        relationship.setGUID("r1");
+        relationship.setVersion(1);
+
+        LocalRepositoryServicesClient omrsClient = mock(LocalRepositoryServicesClient.class);
+        when(omrsClient.getEntityDetail(USER_1, "e1")).thenReturn(getEntity("e1", 1));
+        when(omrsClient.getEntityDetail(USER_2, "e1")).thenReturn(getEntity("e1", 1));
+        when(omrsClient.getRelationship(USER_1, "r1")).thenReturn(relationship);
+
+        OMRSRESTRepositoryConnector connector          = getConnector(100, 60);
+        OMRSRESTMetadataCollection  metadataCollection = getMetadataCollection(connector, omrsClient);
+
+        assertEquals(metadataCollection.getEntityDetail(USER_1, "e1").getGUID(), "e1");
+        assertEquals(metadataCollection.getEntityDetail(USER_1, "e1").getGUID(), "e1");
+        assertEquals(metadataCollection.getRelationship(USER_1, "r1").getGUID(), "r1");
+        assertEquals(metadataCollection.getRelationship(USER_1, "r1").getGUID(), "r1");
+
+        verify(omrsClient, times(1)).getEntityDetail(USER_1, "e1");
+        verify(omrsClient, times(1)).getRelationship(USER_1, "r1");
+
+        /*
+         * Another user must pass the remote repository's security checks before it sees the cached copy.
+         */
+        assertEquals(metadataCollection.getEntityDetail(USER_2, "e1").getGUID(), "e1");
+        assertEquals(metadataCollection.getEntityDetail(USER_2, "e1").getGUID(), "e1");
+
+        verify(omrsClient, times(1)).getEntityDetail(USER_2, "e1");
+
+        /*
+         * An event from the cohort removes the changed entity.
+         */
+        connector.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, getEntity("e1", 2)));
+
+        metadataCollection.getEntityDetail(USER_1, "e1");
+
+        verify(omrsClient, times(2)).getEntityDetail(USER_1, "e1");
+    }
+
+
+    @Test
+    void testEntityChangedDuringRetrievalIsNotCached() throws Exception
+    {
+        OMRSRESTRepositoryConnector   connector  = getConnector(100, 60);
+        LocalRepositoryServicesClient omrsClient = mock(LocalRepositoryServicesClient.class);
+
+        /*
+         * The event for version 2 arrives while version 1 is being returned by the remote repository.
+         */
+        when(omrsClient.getEntityDetail(USER_1, "e1")).thenAnswer(invocation ->
+        {
+            connector.processInstanceEvent(new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, getEntity("e1", 2)));
+            return getEntity("e1", 1);
+        });
+
+        OMRSRESTMetadataCollection metadataCollection = getMetadataCollection(connector, omrsClient);
+
+        assertEquals(metadataCollection.getEntityDetail(USER_1, "e1").getVersion(), 1);
+
+        metadataCollection.getEntityDetail(USER_1, "e1");
+
+        verify(omrsClient, times(2)).getEntityDetail(USER_1, "e1");
+        assertEquals(connector.getInstanceCache().getSize(), 0);
+    }
+
+
+    @Test
+    void testExpiredEntityIsRetrievedAgain() throws Exception
+    {
+        LocalRepositoryServicesClient omrsClient = mock(LocalRepositoryServicesClient.class);
+        when(omrsClient.getEntityDetail(USER_1, "e1")).thenReturn(getEntity("e1", 1));
+
+        /*
+         * A time to live of zero seconds means each cached instance expires as soon as the clock moves on.
+         */
+        OMRSRESTRepositoryConnector connector          = getConnector(100, 0);
+        OMRSRESTMetadataCollection  metadataCollection = getMetadataCollection(connector, omrsClient);
+
+        metadataCollection.getEntityDetail(USER_1, "e1");
+        Thread.sleep(10);
+        metadataCollection.getEntityDetail(USER_1, "e1");
+
+        verify(omrsClient, times(2)).getEntityDetail(USER_1, "e1");
+    }
+}
@@ -253,6 +253,61 @@ public class OpenMetadataAPIGenericHandler<B>
                                               String             methodName) throws InvalidParameterException,
                                                                                     PropertyServerException,
                                                                                     UserNotAuthorizedException
+    {
+        repositoryHandler.startRequest(methodName);
+
+        try
+        {
+            this.doSetClassificationInRepository(userId,
+                                                 externalSourceGUID,
+                                                 externalSourceName,
+                                                 beanGUID,
+                                                 beanGUIDParameterName,
+                                                 beanGUIDTypeName,
+                                                 classificationTypeGUID,
+                                                 classificationTypeName,
+                                                 classificationProperties,
+                                                 isMergeUpdate,
+                                                 methodName);
+        }
+        finally
+        {
+            repositoryHandler.endRequest(userId, methodName);
+        }
+    }
+
+
+    /**
+     * Perform setClassificationInRepository within the request scope opened by the public method.
+     *
+     * @param userId calling user
+     * @param externalSourceGUID guid of the software server capability entity that represented the external source - null for local
+     * @param externalSourceName name of the software server capability entity that represented the external source
+     * @param beanGUID unique identifier of the entity in the repositories
+     * @param beanGUIDParameterName parameter name that passed the beanGUID
+     * @param beanGUIDTypeName type of bean
+     * @param classificationTypeGUID unique identifier of classification type
+     * @param classificationTypeName unique name of classification type
+     * @param classificationProperties properties to save in the classification
+     * @param isMergeUpdate should the properties be merged with the existing properties or completely over-write them
+     * @param methodName calling method
+     * @throws InvalidParameterException the classification name is null
+     * @throws PropertyServerException there is a problem with the repositories
+     * @throws UserNotAuthorizedException the user is not allowed to update the security tags
+     */
+    private void doSetClassificationInRepository(String             userId,
+                                                 String             externalSourceGUID,
+                                                 String             externalSourceName,
+                                                 String             beanGUID,
+                                                 String             beanGUIDParameterName,
+                                                 String             beanGUIDTypeName,
+                                                 String             classificationTypeGUID,
+                                                 String             classificationTypeName,
+                                                 InstanceProperties classificationProperties,
+                                                 boolean            isMergeUpdate,
+                                                 String             methodName) throws InvalidParameterException,
+                                                                                       PropertyServerException,
+                                                                                       UserNotAuthorizedException
     {
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateGUID(beanGUID, beanGUIDParameterName, methodName);
@@ -889,6 +944,55 @@ public class OpenMetadataAPIGenericHandler<B>
                                                    String methodName) throws InvalidParameterException,
                                                                              PropertyServerException,
                                                                              UserNotAuthorizedException
+    {
+        repositoryHandler.startRequest(methodName);
+
+        try
+        {
+            this.doRemoveClassificationFromRepository(userId,
+                                                      externalSourceGUID,
+                                                      externalSourceName,
+                                                      beanGUID,
+                                                      beanGUIDParameterName,
+                                                      beanGUIDTypeName,
+                                                      classificationTypeGUID,
+                                                      classificationTypeName,
+                                                      methodName);
+        }
+        finally
+        {
+            repositoryHandler.endRequest(userId, methodName);
+        }
+    }
+
+
+    /**
+     * Perform removeClassificationFromRepository within the request scope opened by the public method.
+     *
+     * @param userId calling user
+     * @param externalSourceGUID guid of the software server capability entity that represented the external source - null for local
+     * @param externalSourceName name of the software server capability entity that represented the external source
+     * @param beanGUID unique identifier of the entity in the repositories
+     * @param beanGUIDParameterName parameter name that passed the beanGUID
+     * @param beanGUIDTypeName type of bean
+     * @param classificationTypeGUID unique identifier of classification type
+     * @param classificationTypeName unique name of classification type
+     * @param methodName calling method
+     * @throws InvalidParameterException the classification name is null
+     * @throws PropertyServerException there is a problem with the repositories
+     * @throws UserNotAuthorizedException the user is not allowed to update the security tags
+     */
+    private void doRemoveClassificationFromRepository(String userId,
+                                                      String externalSourceGUID,
+                                                      String externalSourceName,
+                                                      String beanGUID,
+                                                      String beanGUIDParameterName,
+                                                      String beanGUIDTypeName,
+                                                      String classificationTypeGUID,
+                                                      String classificationTypeName,
+                                                      String methodName) throws InvalidParameterException,
+                                                                                PropertyServerException,
+                                                                                UserNotAuthorizedException
     {
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateGUID(beanGUID, beanGUIDParameterName, methodName);
@@ -4845,6 +4949,63 @@ public class OpenMetadataAPIGenericHandler<B>
                                        String             methodName) throws InvalidParameterException,
                                                                              PropertyServerException,
                                                                              UserNotAuthorizedException
+    {
+        repositoryHandler.startRequest(methodName);
+
+        try
+        {
+            this.doUpdateBeanInRepository(userId,
+                                          externalSourceGUID,
+                                          externalSourceName,
+                                          entityGUID,
+                                          entityGUIDParameterName,
+                                          entityTypeGUID,
+                                          entityTypeName,
+                                          serviceSupportedZones,
+                                          updateProperties,
+                                          isMergeUpdate,
+                                          methodName);
+        }
+        finally
+        {
+            repositoryHandler.endRequest(userId, methodName);
+        }
+    }
+
+
+    /**
+     * Perform updateBeanInRepository within the request scope opened by the public method.
+     *
+     * @param userId calling user
+     * @param externalSourceGUID guid of the software server capability entity that represented the external source - null for local
+     * @param externalSourceName name of the software server capability entity that represented the external source
+     * @param entityGUID unique identifier of object to update
+     * @param entityGUIDParameterName name of parameter supplying the GUID
+     * @param entityTypeGUID unique identifier of the entity's type
+     * @param entityTypeName unique name of the entity's type
+     * @param serviceSupportedZones supported zones for calling service
+     * @param updateProperties object containing the properties
+     * @param isMergeUpdate should the supplied properties be merged with existing properties (true) by replacing the just the properties with
+     *                      matching names, or should the entire properties of the instance be replaced?
+     * @param methodName calling method
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws PropertyServerException there is a problem adding the new properties to the repositories.
+     * @throws UserNotAuthorizedException the requesting user is not authorized to issue this request.
+     */
+    private void doUpdateBeanInRepository(String             userId,
+                                          String             externalSourceGUID,
+                                          String             externalSourceName,
+                                          String             entityGUID,
+                                          String             entityGUIDParameterName,
+                                          String             entityTypeGUID,
+                                          String             entityTypeName,
+                                          List<String>       serviceSupportedZones,
+                                          InstanceProperties updateProperties,
+                                          boolean            isMergeUpdate,
+                                          String             methodName) throws InvalidParameterException,
+                                                                                PropertyServerException,
+                                                                                UserNotAuthorizedException
     {
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateGUID(entityGUID, entityGUIDParameterName, methodName);
@@ -5021,6 +5182,62 @@ public class OpenMetadataAPIGenericHandler<B>
                                              String             methodName) throws InvalidParameterException,
                                                                                    PropertyServerException,
                                                                                    UserNotAuthorizedException
+    {
+        repositoryHandler.startRequest(methodName);
+
+        try
+        {
+            this.doUpdateBeanStatusInRepository(userId,
+                                                externalSourceGUID,
+                                                externalSourceName,
+                                                entityGUID,
+                                                entityGUIDParameterName,
+                                                entityTypeGUID,
+                                                entityTypeName,
+                                                serviceSupportedZones,
+                                                newStatus,
+                                                newStatusParameterName,
+                                                methodName);
+        }
+        finally
+        {
+            repositoryHandler.endRequest(userId, methodName);
+        }
+    }
+
+
+    /**
+     * Perform updateBeanStatusInRepository within the request scope opened by the public method.
+     *
+     * @param userId calling user
+     * @param externalSourceGUID guid of the software server capability entity that represented the external source - null for local
+     * @param externalSourceName name of the software server capability entity that represented the external source
+     * @param entityGUID unique identifier of object to update
+     * @param entityGUIDParameterName name of parameter supplying the GUID
+     * @param entityTypeGUID unique identifier of the entity's type
+     * @param entityTypeName unique name of the entity's type
+     * @param serviceSupportedZones supported zones for calling service
+     * @param newStatus new status value
+     * @param newStatusParameterName parameter providing the new status value
+     * @param methodName calling method
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws PropertyServerException there is a problem adding the new properties to the repositories.
+     * @throws UserNotAuthorizedException the requesting user is not authorized to issue this request.
+     */
+    private void doUpdateBeanStatusInRepository(String             userId,
+                                                String             externalSourceGUID,
+                                                String             externalSourceName,
+                                                String             entityGUID,
+                                                String             entityGUIDParameterName,
+                                                String             entityTypeGUID,
+                                                String             entityTypeName,
+                                                List<String>       serviceSupportedZones,
+                                                InstanceStatus     newStatus,
+                                                String             newStatusParameterName,
+                                                String             methodName) throws InvalidParameterException,
+                                                                                      PropertyServerException,
+                                                                                      UserNotAuthorizedException
     {
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateGUID(entityGUID, entityGUIDParameterName, methodName);
@@ -5244,6 +5461,56 @@ public class OpenMetadataAPIGenericHandler<B>
                                         String             methodName) throws InvalidParameterException,
                                                                               PropertyServerException,
                                                                               UserNotAuthorizedException
+    {
+        repositoryHandler.startRequest(methodName);
+
+        try
+        {
+            this.doArchiveBeanInRepository(userId,
+                                           externalSourceGUID,
+                                           externalSourceName,
+                                           entityGUID,
+                                           entityGUIDParameterName,
+                                           entityTypeName,
+                                           classificationProperties,
+                                           serviceSupportedZones,
+                                           methodName);
+        }
+        finally
+        {
+            repositoryHandler.endRequest(userId, methodName);
+        }
+    }
+
+
+    /**
+     * Perform archiveBeanInRepository within the request scope opened by the public method.
+     *
+     * @param userId calling user
+     * @param externalSourceGUID guid of the software server capability entity that represented the external source - null for local
+     * @param externalSourceName name of the software server capability entity that represented the external source
+     * @param entityGUID unique identifier of object to update
+     * @param entityGUIDParameterName name of parameter supplying the GUID
+     * @param entityTypeName unique name of the entity's type
+     * @param classificationProperties properties for the classification
+     * @param serviceSupportedZones supported zones for calling service
+     * @param methodName calling method
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws PropertyServerException there is a problem removing the properties from the repositories.
+     * @throws UserNotAuthorizedException the requesting user is not authorized to issue this request.
+     */
+    private void doArchiveBeanInRepository(String             userId,
+                                           String             externalSourceGUID,
+                                           String             externalSourceName,
+                                           String             entityGUID,
+                                           String             entityGUIDParameterName,
+                                           String             entityTypeName,
+                                           InstanceProperties classificationProperties,
+                                           List<String>       serviceSupportedZones,
+                                           String             methodName) throws InvalidParameterException,
+                                                                                 PropertyServerException,
+                                                                                 UserNotAuthorizedException
     {
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateGUID(entityGUID, entityGUIDParameterName, methodName);
@@ -5550,6 +5817,61 @@ public class OpenMetadataAPIGenericHandler<B>
                                        String       methodName) throws InvalidParameterException,
                                                                        PropertyServerException,
                                                                        UserNotAuthorizedException
+    {
+        repositoryHandler.startRequest(methodName);
+
+        try
+        {
+            this.doDeleteBeanInRepository(userId,
+                                          externalSourceGUID,
+                                          externalSourceName,
+                                          entityGUID,
+                                          entityGUIDParameterName,
+                                          entityTypeGUID,
+                                          entityTypeName,
+                                          validatingPropertyName,
+                                          validatingPropertyValue,
+                                          serviceSupportedZones,
+                                          methodName);
+        }
+        finally
+        {
+            repositoryHandler.endRequest(userId, methodName);
+        }
+    }
+
+
+    /**
+     * Perform deleteBeanInRepository within the request scope opened by the public method.
+     *
+     * @param userId calling user
+     * @param externalSourceGUID guid of the software server capability entity that represented the external source - null for local
+     * @param externalSourceName name of the software server capability entity that represented the external source
+     * @param entityGUID unique identifier of object to update
+     * @param entityGUIDParameterName name of parameter supplying the GUID
+     * @param entityTypeGUID unique identifier of the entity's type
+     * @param entityTypeName unique name of the entity's type
+     * @param validatingPropertyName name of property to verify - of null if no verification is required
+     * @param validatingPropertyValue value of property to verify
+     * @param serviceSupportedZones supported zones for calling service
+     * @param methodName calling method
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws PropertyServerException there is a problem removing the properties from the repositories.
+     * @throws UserNotAuthorizedException the requesting user is not authorized to issue this request.
+     */
+    private void doDeleteBeanInRepository(String       userId,
+                                          String       externalSourceGUID,
+                                          String       externalSourceName,
+                                          String       entityGUID,
+                                          String       entityGUIDParameterName,
+                                          String       entityTypeGUID,
+                                          String       entityTypeName,
+                                          String       validatingPropertyName,
+                                          String       validatingPropertyValue,
+                                          List<String> serviceSupportedZones,
+                                          String       methodName) throws InvalidParameterException,
+                                                                          PropertyServerException,
+                                                                          UserNotAuthorizedException
     {
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateGUID(entityGUID, entityGUIDParameterName, methodName);
@@ -6408,6 +6730,79 @@ public class OpenMetadataAPIGenericHandler<B>
                                          String       methodName) throws InvalidParameterException,
                                                                          PropertyServerException,
                                                                          UserNotAuthorizedException
+    {
+        repositoryHandler.startRequest(methodName);
+
+        try
+        {
+            return this.doGetAttachedElements(userId,
+                                              anchorGUID,
+                                              anchorGUIDParameterName,
+                                              startingGUID,
+                                              startingGUIDParameterName,
+                                              startingTypeName,
+                                              attachmentRelationshipTypeGUID,
+                                              attachmentRelationshipTypeName,
+                                              attachmentEntityTypeName,
+                                              requiredClassificationName,
+                                              omittedClassificationName,
+                                              selectionEnd,
+                                              serviceSupportedZones,
+                                              startingFrom,
+                                              pageSize,
+                                              methodName);
+        }
+        finally
+        {
+            repositoryHandler.endRequest(userId, methodName);
+        }
+    }
+
+
+    /**
+     * Perform getAttachedElements within the request scope opened by the public method.
+     *
+     * @param userId     calling user
+     * @param anchorGUID expected anchorGUID for this element
+     * @param anchorGUIDParameterName parameter supplying anchorGUID
+     * @param startingGUID identifier for the entity that the identifier is attached to
+     * @param startingGUIDParameterName name of parameter supplying the GUID
+     * @param startingTypeName name of the type of object being attached to
+     * @param attachmentRelationshipTypeGUID unique identifier of the relationship type connect to the attachment
+     * @param attachmentRelationshipTypeName unique name of the relationship type connect to the attachment
+     * @param attachmentEntityTypeName unique name of the attached entity's type
+     * @param requiredClassificationName  String the name of the classification that must be on the attached entity.
+     * @param omittedClassificationName   String the name of a classification that must not be on the attached entity.
+     * @param selectionEnd 0 means either end, 1 means only take from end 1, 2 means only take from end 2
+     * @param serviceSupportedZones supported zones for calling service
+     * @param startingFrom start position for results
+     * @param pageSize     maximum number of results
+     * @param methodName calling method
+     *
+     * @return list of retrieved objects or null if none found
+     *
+     * @throws InvalidParameterException  the input properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the repositories
+     */
+    private   List<B> doGetAttachedElements(String       userId,
+                                            String       anchorGUID,
+                                            String       anchorGUIDParameterName,
+                                            String       startingGUID,
+                                            String       startingGUIDParameterName,
+                                            String       startingTypeName,
+                                            String       attachmentRelationshipTypeGUID,
+                                            String       attachmentRelationshipTypeName,
+                                            String       attachmentEntityTypeName,
+                                            String       requiredClassificationName,
+                                            String       omittedClassificationName,
+                                            int          selectionEnd,
+                                            List<String> serviceSupportedZones,
+                                            int          startingFrom,
+                                            int          pageSize,
+                                            String       methodName) throws InvalidParameterException,
+                                                                            PropertyServerException,
+                                                                            UserNotAuthorizedException
     {
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateGUID(startingGUID, startingGUIDParameterName, methodName);
@@ -6444,6 +6839,14 @@ public class OpenMetadataAPIGenericHandler<B>
             return null;
         }
 
+        Map<String, EntityDetail> attachedEntities = this.getAttachedEntities(userId,
+                                                                              startingGUID,
+                                                                              startingTypeName,
+                                                                              relationships,
+                                                                              attachmentEntityTypeName,
+                                                                              selectionEnd,
+                                                                              methodName);
+
         List<B>  results = new ArrayList<>();
 
         for (Relationship  relationship : relationships)
@@ -6457,6 +6860,7 @@ public class OpenMetadataAPIGenericHandler<B>
                                                      startingGUIDParameterName,
                                                      startingTypeName,
                                                      relationship,
+                                                     attachedEntities,
                                                      attachmentEntityTypeName,
                                                      requiredClassificationName,
                                                      omittedClassificationName,
@@ -6528,12 +6932,79 @@ public class OpenMetadataAPIGenericHandler<B>
                                                                                    PropertyServerException,
                                                                                    UserNotAuthorizedException
     {
-        invalidParameterHandler.validateUserId(userId, methodName);
-        invalidParameterHandler.validateGUID(startingGUID, startingGUIDParameterName, methodName);
+        repositoryHandler.startRequest(methodName);
 
-        this.validateAnchorEntity(userId,
-                                  startingGUID,
-                                  startingGUIDParameterName,
+        try
+        {
+            return this.doGetAnchorsForAttachedElements(userId,
+                                                        startingGUID,
+                                                        startingGUIDParameterName,
+                                                        startingTypeName,
+                                                        attachmentRelationshipTypeGUID,
+                                                        attachmentRelationshipTypeName,
+                                                        attachmentEntityTypeName,
+                                                        requiredClassificationName,
+                                                        omittedClassificationName,
+                                                        selectionEnd,
+                                                        serviceSupportedZones,
+                                                        startingFrom,
+                                                        pageSize,
+                                                        methodName);
+        }
+        finally
+        {
+            repositoryHandler.endRequest(userId, methodName);
+        }
+    }
+
+
+    /**
+     * Perform getAnchorsForAttachedElements within the request scope opened by the public method.
+     *
+     * @param userId     calling user
+     * @param startingGUID identifier for the entity that the identifier is attached to
+     * @param startingGUIDParameterName name of parameter supplying the GUID
+     * @param startingTypeName name of the type of object being attached to
+     * @param attachmentRelationshipTypeGUID unique identifier of the relationship type connect to the attachment
+     * @param attachmentRelationshipTypeName unique name of the relationship type connect to the attachment
+     * @param attachmentEntityTypeName unique name of the attached entity's type
+     * @param requiredClassificationName  String the name of the classification that must be on the attached entity.
+     * @param omittedClassificationName   String the name of a classification that must not be on the attached entity.
+     * @param selectionEnd 0 means either end, 1 means only take from end 1, 2 means only take from end 2
+     * @param serviceSupportedZones supported zones for calling service
+     * @param startingFrom start position for results
+     * @param pageSize     maximum number of results
+     * @param methodName calling method
+     *
+     * @return list of retrieved objects or null if none found
+     *
+     * @throws InvalidParameterException  the input properties are invalid
+     * @throws UserNotAuthorizedException user not authorized to issue this request
+     * @throws PropertyServerException    problem accessing the repositories
+     */
+    private   List<B> doGetAnchorsForAttachedElements(String       userId,
+                                                      String       startingGUID,
+                                                      String       startingGUIDParameterName,
+                                                      String       startingTypeName,
+                                                      String       attachmentRelationshipTypeGUID,
+                                                      String       attachmentRelationshipTypeName,
+                                                      String       attachmentEntityTypeName,
+                                                      String       requiredClassificationName,
+                                                      String       omittedClassificationName,
+                                                      int          selectionEnd,
+                                                      List<String> serviceSupportedZones,
+                                                      int          startingFrom,
+                                                      int          pageSize,
+                                                      String       methodName) throws InvalidParameterException,
+                                                                                      PropertyServerException,
+                                                                                      UserNotAuthorizedException
+    {
+        invalidParameterHandler.validateUserId(userId, methodName);
+        invalidParameterHandler.validateGUID(startingGUID, startingGUIDParameterName, methodName);
+
+        this.validateAnchorEntity(userId,
+                                  startingGUID,
+                                  startingGUIDParameterName,
                                   startingTypeName,
                                   false,
                                   serviceSupportedZones,
@@ -6559,6 +7030,14 @@ public class OpenMetadataAPIGenericHandler<B>
             return null;
         }
 
+        Map<String, EntityDetail> attachedEntities = this.getAttachedEntities(userId,
+                                                                              startingGUID,
+                                                                              startingTypeName,
+                                                                              relationships,
+                                                                              attachmentEntityTypeName,
+                                                                              selectionEnd,
+                                                                              methodName);
+
         List<B>  results = new ArrayList<>();
 
         for (Relationship  relationship : relationships)
@@ -6572,6 +7051,7 @@ public class OpenMetadataAPIGenericHandler<B>
                                                      startingGUIDParameterName,
                                                      startingTypeName,
                                                      relationship,
+                                                     attachedEntities,
                                                      attachmentEntityTypeName,
                                                      requiredClassificationName,
                                                      omittedClassificationName,
@@ -6602,6 +7082,114 @@ public class OpenMetadataAPIGenericHandler<B>
     }
 
 
+    /**
+     * Retrieve the entities at the other end of the supplied relationships with a single call to the repository
+     * services.  This saves a call to the repositories for each relationship.  Any entity that can not be retrieved
+     * is missing from the map and is retrieved again by getAttachedElement so that the appropriate error is
+     * reported.
+     *
+     * @param userId       calling user
+     * @param startingGUID identifier for the entity that the elements are attached to
+     * @param startingTypeName name of the type of object being attached to
+     * @param relationships relationships between the starting element and the requested elements
+     * @param attachmentEntityTypeName unique name of the attached entity's type
+     * @param selectionEnd 0 means either end, 1 means only take from end 1, 2 means only take from end 2
+     * @param methodName   calling method
+     * @return map of entity GUIDs to retrieved entities
+     */
+    private Map<String, EntityDetail> getAttachedEntities(String             userId,
+                                                          String             startingGUID,
+                                                          String             startingTypeName,
+                                                          List<Relationship> relationships,
+                                                          String             attachmentEntityTypeName,
+                                                          int                selectionEnd,
+                                                          String             methodName)
+    {
+        Map<String, EntityDetail> attachedEntities = new HashMap<>();
+        List<String>              entityGUIDs      = new ArrayList<>();
+
+        for (Relationship relationship : relationships)
+        {
+            try
+            {
+                EntityProxy entityProxy = this.getAttachedEntityProxy(startingGUID, startingTypeName, relationship, selectionEnd, methodName);
+
+                if ((entityProxy != null) && (entityProxy.getGUID() != null))
+                {
+                    entityGUIDs.add(entityProxy.getGUID());
+                }
+            }
+            catch (InvalidParameterException error)
+            {
+                /*
+                 * The error is reported by getAttachedElement.
+                 */
+            }
+        }
+
+        try
+        {
+            List<EntityDetail> entities = repositoryHandler.getEntitiesByGUIDs(userId, entityGUIDs, attachmentEntityTypeName, methodName);
+
+            for (EntityDetail entity : entities)
+            {
+                attachedEntities.put(entity.getGUID(), entity);
+            }
+        }
+        catch (InvalidParameterException | UserNotAuthorizedException | PropertyServerException error)
+        {
+            /*
+             * The entities are retrieved one at a time.
+             */
+            log.debug("Unable to retrieve attached entities in a single call", error);
+        }
+
+        return attachedEntities;
+    }
+
+
+    /**
+     * Return the proxy for the requested element from the supplied relationship.
+     *
+     * @param startingGUID identifier for the entity that the identifier is attached to
+     * @param startingTypeName name of the type of object being attached to
+     * @param relationship relationship between the requested element and the starting element
+     * @param selectionEnd 0 means either end, 1 means only take from end 1, 2 means only take from end 2
+     * @param methodName   calling method
+     * @return entity proxy or null
+     * @throws InvalidParameterException the relationship is not attached to the starting element
+     */
+    private EntityProxy getAttachedEntityProxy(String       startingGUID,
+                                               String       startingTypeName,
+                                               Relationship relationship,
+                                               int          selectionEnd,
+                                               String       methodName) throws InvalidParameterException
+    {
+        if (relationship == null)
+        {
+            return null;
+        }
+
+        if (selectionEnd == 0)
+        {
+            return repositoryHandler.getOtherEnd(startingGUID,
+                                                 startingTypeName,
+                                                 relationship,
+                                                 methodName);
+        }
+        else if (selectionEnd == 1)
+        {
+            return relationship.getEntityOneProxy();
+        }
+        else if (selectionEnd == 2)
+        {
+            return relationship.getEntityTwoProxy();
+        }
+
+        return null;
+    }
+
+
     /**
      * Retrieve the requested element from the supplied relationship.
      *
@@ -6610,6 +7198,7 @@ public class OpenMetadataAPIGenericHandler<B>
      * @param startingGUIDParameterName name of parameter supplying the GUID
      * @param startingTypeName name of the type of object being attached to
      * @param relationship relationship between the requested element and the related keyword
+     * @param attachedEntities entities already retrieved for the relationships
      * @param attachmentEntityTypeName unique name of the attached entity's type
      * @param requiredClassificationName  String the name of the classification that must be on the attached entity.
      * @param omittedClassificationName   String the name of a classification that must not be on the attached entity.
@@ -6626,6 +7215,7 @@ public class OpenMetadataAPIGenericHandler<B>
                                  String        startingGUIDParameterName,
                                  String        startingTypeName,
                                  Relationship  relationship,
+                                 Map<String, EntityDetail> attachedEntities,
                                  String        attachmentEntityTypeName,
                                  String        requiredClassificationName,
                                  String        omittedClassificationName,
@@ -6642,31 +7232,20 @@ public class OpenMetadataAPIGenericHandler<B>
 
         if (relationship != null)
         {
-            EntityProxy entityProxy = null;
+            EntityProxy entityProxy = this.getAttachedEntityProxy(startingGUID, startingTypeName, relationship, selectionEnd, methodName);
 
-            if (selectionEnd == 0)
-            {
-                entityProxy = repositoryHandler.getOtherEnd(startingGUID,
-                                                            startingTypeName,
-                                                            relationship,
-                                                            methodName);
-            }
-            else if (selectionEnd == 1)
-            {
-                entityProxy = relationship.getEntityOneProxy();
-            }
-            else if (selectionEnd == 2)
+            if (entityProxy != null)
             {
-                entityProxy = relationship.getEntityTwoProxy();
-            }
+                EntityDetail entity = attachedEntities.get(entityProxy.getGUID());
 
-            if (entityProxy != null)
-            { 
-                EntityDetail entity = repositoryHandler.getEntityByGUID(userId,
-                                                                        entityProxy.getGUID(),
-                                                                        guidParameterName,
-                                                                        attachmentEntityTypeName,
-                                                                        methodName);
+                if (entity == null)
+                {
+                    entity = repositoryHandler.getEntityByGUID(userId,
+                                                               entityProxy.getGUID(),
+                                                               guidParameterName,
+                                                               attachmentEntityTypeName,
+                                                               methodName);
+                }
 
                 this.validateAnchorEntity(userId,
                                           entityProxy.getGUID(),
@@ -6826,6 +7405,54 @@ public class OpenMetadataAPIGenericHandler<B>
                                                 String       methodName) throws InvalidParameterException,
                                                                                 PropertyServerException,
                                                                                 UserNotAuthorizedException
+    {
+        repositoryHandler.startRequest(methodName);
+
+        try
+        {
+            return this.doGetEntityFromRepository(userId,
+                                                  requestedEntityGUID,
+                                                  requestedEntityGUIDParameterName,
+                                                  requestedEntityTypeName,
+                                                  requiredClassificationName,
+                                                  omittedClassificationName,
+                                                  serviceSupportedZones,
+                                                  methodName);
+        }
+        finally
+        {
+            repositoryHandler.endRequest(userId, methodName);
+        }
+    }
+
+
+    /**
+     * Perform getEntityFromRepository within the request scope opened by the public method.
+     *
+     * @param userId userId of the user making the request
+     * @param requestedEntityGUID unique identifier of the entity to retrieve from the repository
+     * @param requestedEntityGUIDParameterName name of the parameter supplying the GUID
+     * @param requestedEntityTypeName name of type of entity to retrieve
+     * @param requiredClassificationName  String the name of the classification that must be on the attached entity.
+     * @param omittedClassificationName   String the name of a classification that must not be on the attached entity.
+     * @param serviceSupportedZones supported zones for calling service
+     * @param methodName calling method
+     *
+     * @return retrieved entity
+     * @throws InvalidParameterException the userId is null or invalid, the entity does not exist.
+     * @throws PropertyServerException there is a problem retrieving information from the repositories.
+     * @throws UserNotAuthorizedException the requesting user is not authorized to issue this request.
+     */
+    private EntityDetail doGetEntityFromRepository(String       userId,
+                                                   String       requestedEntityGUID,
+                                                   String       requestedEntityGUIDParameterName,
+                                                   String       requestedEntityTypeName,
+                                                   String       requiredClassificationName,
+                                                   String       omittedClassificationName,
+                                                   List<String> serviceSupportedZones,
+                                                   String       methodName) throws InvalidParameterException,
+                                                                                   PropertyServerException,
+                                                                                   UserNotAuthorizedException
     {
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateGUID(requestedEntityGUID, requestedEntityGUIDParameterName, methodName);
@@ -9160,6 +9787,72 @@ public class OpenMetadataAPIGenericHandler<B>
                                        String             methodName) throws InvalidParameterException,
                                                                              PropertyServerException,
                                                                              UserNotAuthorizedException
+    {
+        repositoryHandler.startRequest(methodName);
+
+        try
+        {
+            return this.doLinkElementToElement(userId,
+                                               externalSourceGUID,
+                                               externalSourceName,
+                                               startingGUID,
+                                               startingGUIDParameterName,
+                                               startingElementTypeName,
+                                               attachingGUID,
+                                               attachingGUIDParameterName,
+                                               attachingElementTypeName,
+                                               suppliedSupportedZones,
+                                               attachmentTypeGUID,
+                                               attachmentTypeName,
+                                               relationshipProperties,
+                                               methodName);
+        }
+        finally
+        {
+            repositoryHandler.endRequest(userId, methodName);
+        }
+    }
+
+
+    /**
+     * Perform linkElementToElement within the request scope opened by the public method.
+     *
+     * @param userId                    userId of user making request
+     * @param externalSourceGUID        guid of the software server capability entity that represented the external source - null for local
+     * @param externalSourceName        name of the software server capability entity that represented the external source
+     * @param startingGUID              unique id for the starting element's entity
+     * @param startingGUIDParameterName name of the parameter supplying the startingGUID
+     * @param startingElementTypeName   type name of the starting element's entity
+     * @param attachingGUID             unique id of the entity for the element that is being attached
+     * @param attachingGUIDParameterName name of the parameter supplying the attachingGUID
+     * @param attachingElementTypeName  type name of the attaching element's entity
+     * @param suppliedSupportedZones    list of zones that any asset must be a member of at least one to be visible
+     * @param attachmentTypeGUID        unique identifier of type of the relationship to create
+     * @param attachmentTypeName        unique name of type of the relationship to create
+     * @param relationshipProperties    properties to add to the relationship or null if no properties to add
+     * @param methodName                calling method
+     *
+     * @return unique identifier of the new relationship
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws PropertyServerException there is a problem adding the relationship to the repositories.
+     * @throws UserNotAuthorizedException the requesting user is not authorized to issue this request.
+     */
+    private String doLinkElementToElement(String             userId,
+                                          String             externalSourceGUID,
+                                          String             externalSourceName,
+                                          String             startingGUID,
+                                          String             startingGUIDParameterName,
+                                          String             startingElementTypeName,
+                                          String             attachingGUID,
+                                          String             attachingGUIDParameterName,
+                                          String             attachingElementTypeName,
+                                          List<String>       suppliedSupportedZones,
+                                          String             attachmentTypeGUID,
+                                          String             attachmentTypeName,
+                                          InstanceProperties relationshipProperties,
+                                          String             methodName) throws InvalidParameterException,
+                                                                                PropertyServerException,
+                                                                                UserNotAuthorizedException
     {
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateGUID(startingGUID, startingGUIDParameterName, methodName);
@@ -9387,6 +10080,75 @@ public class OpenMetadataAPIGenericHandler<B>
                                            String             methodName) throws InvalidParameterException,
                                                                                  PropertyServerException,
                                                                                  UserNotAuthorizedException
+    {
+        repositoryHandler.startRequest(methodName);
+
+        try
+        {
+            this.doUpdateElementToElementLink(userId,
+                                              externalSourceGUID,
+                                              externalSourceName,
+                                              startingGUID,
+                                              startingGUIDParameterName,
+                                              startingElementTypeName,
+                                              attachingGUID,
+                                              attachingGUIDParameterName,
+                                              attachingElementTypeName,
+                                              suppliedSupportedZones,
+                                              attachmentTypeGUID,
+                                              attachmentTypeName,
+                                              isMergeUpdate,
+                                              relationshipProperties,
+                                              methodName);
+        }
+        finally
+        {
+            repositoryHandler.endRequest(userId, methodName);
+        }
+    }
+
+
+    /**
+     * Perform updateElementToElementLink within the request scope opened by the public method.
+     *
+     * @param userId                    userId of user making request
+     * @param externalSourceGUID        guid of the software server capability entity that represented the external source - null for local
+     * @param externalSourceName        name of the software server capability entity that represented the external source
+     * @param startingGUID              unique id for the starting element's entity
+     * @param startingGUIDParameterName name of the parameter supplying the startingGUID
+     * @param startingElementTypeName   type name of the starting element's entity
+     * @param attachingGUID             unique id of the entity for the element that is being attached
+     * @param attachingGUIDParameterName name of the parameter supplying the attachingGUID
+     * @param attachingElementTypeName  type name of the attaching element's entity
+     * @param suppliedSupportedZones    list of zones that any asset must be a member of at least one to be visible
+     * @param attachmentTypeGUID        unique identifier of type of the relationship to create
+     * @param attachmentTypeName        unique name of type of the relationship to create
+     * @param isMergeUpdate             should the supplied properties be merged with existing properties (true) by replacing the just the properties with
+     *                                  matching names, or should the entire properties of the instance be replaced?
+     * @param relationshipProperties    properties to add to the relationship or null if no properties to add
+     * @param methodName                calling method
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws PropertyServerException there is a problem adding the relationship to the repositories.
+     * @throws UserNotAuthorizedException the requesting user is not authorized to issue this request.
+     */
+    private void doUpdateElementToElementLink(String             userId,
+                                              String             externalSourceGUID,
+                                              String             externalSourceName,
+                                              String             startingGUID,
+                                              String             startingGUIDParameterName,
+                                              String             startingElementTypeName,
+                                              String             attachingGUID,
+                                              String             attachingGUIDParameterName,
+                                              String             attachingElementTypeName,
+                                              List<String>       suppliedSupportedZones,
+                                              String             attachmentTypeGUID,
+                                              String             attachmentTypeName,
+                                              boolean            isMergeUpdate,
+                                              InstanceProperties relationshipProperties,
+                                              String             methodName) throws InvalidParameterException,
+                                                                                    PropertyServerException,
+                                                                                    UserNotAuthorizedException
     {
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateGUID(startingGUID, startingGUIDParameterName, methodName);
@@ -10014,6 +10776,74 @@ public class OpenMetadataAPIGenericHandler<B>
                                          String       methodName) throws InvalidParameterException,
                                                                          PropertyServerException,
                                                                          UserNotAuthorizedException
+    {
+        repositoryHandler.startRequest(methodName);
+
+        try
+        {
+            this.doUnlinkElementFromElement(userId,
+                                            onlyCreatorPermitted,
+                                            externalSourceGUID,
+                                            externalSourceName,
+                                            startingGUID,
+                                            startingGUIDParameterName,
+                                            startingElementTypeName,
+                                            attachedGUID,
+                                            attachedGUIDParameterName,
+                                            attachedElementTypeGUID,
+                                            attachedElementTypeName,
+                                            suppliedSupportedZones,
+                                            attachmentTypeName,
+                                            relationship,
+                                            methodName);
+        }
+        finally
+        {
+            repositoryHandler.endRequest(userId, methodName);
+        }
+    }
+
+
+    /**
+     * Perform unlinkElementFromElement within the request scope opened by the public method.
+     *
+     * @param userId                    userId of user making request
+     * @param onlyCreatorPermitted      operation only permitted if the userId was the same one that created the relationship
+     * @param externalSourceGUID        guid of the software server capability entity that represented the external source - null for local
+     * @param externalSourceName        name of the software server capability entity that represented the external source
+     * @param startingGUID              unique id for the starting element's entity
+     * @param startingGUIDParameterName name of the parameter supplying the startingGUID
+     * @param startingElementTypeName   type name of the starting element's entity
+     * @param attachedGUID              unique id of the entity for the element that is being detached
+     * @param attachedGUIDParameterName name of the parameter supplying the attachedGUID
+     * @param attachedElementTypeGUID   type GUID of the attaching element's entity
+     * @param attachedElementTypeName   type name of the attaching element's entity
+     * @param suppliedSupportedZones    list of zones that any asset must be a member of at least one to be visible
+     * @param attachmentTypeName        unique name of type of the relationship to remove
+     * @param relationship              specific relationship to remove
+     * @param methodName                calling method
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws PropertyServerException there is a problem updating relationship in the repositories.
+     * @throws UserNotAuthorizedException the requesting user is not authorized to issue this request.
+     */
+    private void doUnlinkElementFromElement(String       userId,
+                                            boolean      onlyCreatorPermitted,
+                                            String       externalSourceGUID,
+                                            String       externalSourceName,
+                                            String       startingGUID,
+                                            String       startingGUIDParameterName,
+                                            String       startingElementTypeName,
+                                            String       attachedGUID,
+                                            String       attachedGUIDParameterName,
+                                            String       attachedElementTypeGUID,
+                                            String       attachedElementTypeName,
+                                            List<String> suppliedSupportedZones,
+                                            String       attachmentTypeName,
+                                            Relationship relationship,
+                                            String       methodName) throws InvalidParameterException,
+                                                                            PropertyServerException,
+                                                                            UserNotAuthorizedException
     {
         invalidParameterHandler.validateUserId(userId, methodName);
         invalidParameterHandler.validateGUID(startingGUID, startingGUIDParameterName, methodName);
@@ -0,0 +1,247 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.multitenant;
+
+import org.odpi.openmetadata.commonservices.ffdc.exceptions.InvalidParameterException;
+import org.odpi.openmetadata.commonservices.ffdc.exceptions.UserNotAuthorizedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.ConnectorType;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityConnector;
+import org.odpi.openmetadata.metadatasecurity.connectors.OpenMetadataServerSecurityProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Verify that services can be registered, looked up and removed from many threads at once, and that every
+ * lookup still runs the server's security checks.
+ */
+public class OMAGServerPlatformInstanceMapTest
+{
+    private static final String serverName    = "concurrentTestServer";
+    private static final String serviceName   = "stableService";
+    private static final String allowedUserId = "allowedUser";
+    private static final String blockedUserId = "blockedUser";
+
+    private static final int lookupThreads   = 4;
+    private static final int registerThreads = 2;
+    private static final int iterations      = 500;
+
+    /*
+     * Number of calls to validateUserForServer for each user.
+     */
+    private static final Map<String, AtomicInteger> serverChecks = new ConcurrentHashMap<>();
+
+
+    /**
+     * Look up a stable service as an allowed and a blocked user while other services are registered and removed.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testConcurrentRegisterLookupAndRemove() throws Exception
+    {
+        OMAGServerPlatformInstanceMap platformInstanceMap = new OMAGServerPlatformInstanceMap();
+
+        platformInstanceMap.startUpServerInstance("serverUser", serverName, null, getSecurityConnection());
+
+        OMAGServerServiceInstance stableInstance = new TestServiceInstance(serverName, serviceName);
+
+        serverChecks.clear();
+
+        Queue<Throwable> errors   = new ConcurrentLinkedQueue<>();
+        CountDownLatch   start    = new CountDownLatch(1);
+        ExecutorService  executor = Executors.newFixedThreadPool(lookupThreads + registerThreads);
+        List<Future<?>>  futures  = new ArrayList<>();
+
+        try
+        {
+            for (int threadNumber = 0; threadNumber < lookupThreads; threadNumber++)
+            {
+                futures.add(executor.submit(() ->
+                {
+                    try
+                    {
+                        start.await();
+
+                        for (int iteration = 0; iteration < iterations; iteration++)
+                        {
+                            assertSame(platformInstanceMap.getServiceInstance(allowedUserId, serverName, serviceName, "lookup"), stableInstance);
+
+                            try
+                            {
+                                platformInstanceMap.getServiceInstance(blockedUserId, serverName, serviceName, "lookup");
+                                fail("The blocked user should be rejected");
+                            }
+                            catch (UserNotAuthorizedException error)
+                            {
+                                // expected
+                            }
+                        }
+                    }
+                    catch (Throwable error)
+                    {
+                        errors.add(error);
+                    }
+                }));
+            }
+
+            for (int threadNumber = 0; threadNumber < registerThreads; threadNumber++)
+            {
+                final String prefix = "churn-" + threadNumber + "-";
+
+                futures.add(executor.submit(() ->
+                {
+                    try
+                    {
+                        start.await();
+
+                        for (int iteration = 0; iteration < iterations; iteration++)
+                        {
+                            String churnServiceName = prefix + iteration;
+
+                            OMAGServerServiceInstance churnInstance = new TestServiceInstance(serverName, churnServiceName);
+
+                            assertSame(platformInstanceMap.getServiceInstance(allowedUserId, serverName, churnServiceName, "lookup"), churnInstance);
+
+                            platformInstanceMap.removeServiceInstanceFromPlatform(serverName, churnServiceName);
+                        }
+                    }
+                    catch (Throwable error)
+                    {
+                        errors.add(error);
+                    }
+                }));
+            }
+
+            start.countDown();
+
+            for (Future<?> future : futures)
+            {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        assertTrue(errors.isEmpty(), errors.toString());
+
+        /*
+         * Every lookup was checked by the server's security connector.
+         */
+        assertEquals(serverChecks.get(allowedUserId).get(), (lookupThreads + registerThreads) * iterations);
+        assertEquals(serverChecks.get(blockedUserId).get(), lookupThreads * iterations);
+
+        platformInstanceMap.removeServiceInstanceFromPlatform(serverName, serviceName);
+        platformInstanceMap.shutdownServerInstance(allowedUserId, serverName, "shutdown");
+
+        assertFalse(platformInstanceMap.isServerActive(allowedUserId, serverName));
+        assertTrue(platformInstanceMap.isServerKnown(allowedUserId, serverName));
+
+        try
+        {
+            platformInstanceMap.getServiceInstance(allowedUserId, serverName, serviceName, "lookup");
+            fail("The server is no longer active");
+        }
+        catch (InvalidParameterException error)
+        {
+            // expected
+        }
+    }
+
+
+    /**
+     * Return the connection for the test security connector.
+     *
+     * @return connection
+     */
+    private Connection getSecurityConnection()
+    {
+        ConnectorType connectorType = new ConnectorType();
+        connectorType.setConnectorProviderClassName(TestSecurityProvider.class.getName());
+
+        Connection connection = new Connection();
+        connection.setConnectorType(connectorType);
+
+        return connection;
+    }
+
+
+    /**
+     * Service instance that registers itself with the platform for the test.
+     */
+    private static class TestServiceInstance extends OMAGServerServiceInstance
+    {
+        TestServiceInstance(String serverName,
+                            String serviceName)
+        {
+            super(serverName, serviceName, 100);
+        }
+    }
+
+
+    /**
+     * Provider for the test security connector.
+     */
+    public static class TestSecurityProvider extends OpenMetadataServerSecurityProvider
+    {
+        public TestSecurityProvider()
+        {
+            super();
+
+            super.setConnectorClassName(TestSecurityConnector.class.getName());
+        }
+    }
+
+
+    /**
+     * Security connector that rejects the blocked user and counts the server checks for each user.
+     */
+    public static class TestSecurityConnector extends OpenMetadataServerSecurityConnector
+    {
+        @Override
+        public void validateUserForServer(String userId) throws org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException
+        {
+            final String methodName = "validateUserForServer";
+
+            serverChecks.computeIfAbsent(userId, key -> new AtomicInteger()).incrementAndGet();
+
+            if (blockedUserId.equals(userId))
+            {
+                super.throwUnauthorizedServerAccess(userId, methodName);
+            }
+        }
+
+        @Override
+        public void validateUserForService(String userId,
+                                           String serviceName)
+        {
+        }
+
+        @Override
+        public void validateUserForServiceOperation(String userId,
+                                                    String serviceName,
+                                                    String serviceOperationName)
+        {
+        }
+    }
+}
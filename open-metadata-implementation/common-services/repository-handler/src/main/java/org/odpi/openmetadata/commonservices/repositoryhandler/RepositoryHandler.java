@@ -12,14 +12,18 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchClassifications;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSCheckedExceptionBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * RepositoryHandler issues common calls to the open metadata repository to retrieve and store metadata.  It converts the
@@ -32,6 +36,8 @@ public class RepositoryHandler
     private int                    maxPageSize;
     private AuditLog               auditLog;
 
+    private final ThreadLocal<RepositoryRequestCache> requestCache = new ThreadLocal<>();
+
     private static final Logger log = LoggerFactory.getLogger(RepositoryHandler.class);
 
 
@@ -55,6 +61,424 @@ public class RepositoryHandler
     }
 
 
+    /**
+     * Start a request.  Until the matching call to endRequest, the entities and relationships retrieved on this
+     * thread are cached so that they are only retrieved from the repositories once.  Requests may be nested -
+     * the cache is discarded at the end of the outermost request.
+     *
+     * @param methodName calling method
+     */
+    public void startRequest(String methodName)
+    {
+        RepositoryRequestCache cache = requestCache.get();
+
+        if (cache == null)
+        {
+            cache = new RepositoryRequestCache(methodName);
+            requestCache.set(cache);
+        }
+
+        cache.startNestedRequest();
+    }
+
+
+    /**
+     * End a request started with startRequest.  At the end of the outermost request, the cache is discarded and
+     * the number of calls made to the repositories is logged.
+     *
+     * @param userId calling user
+     * @param methodName calling method
+     */
+    public void endRequest(String userId,
+                           String methodName)
+    {
+        RepositoryRequestCache cache = requestCache.get();
+
+        if ((cache != null) && (cache.endNestedRequest()))
+        {
+            requestCache.remove();
+
+            if (auditLog != null)
+            {
+                auditLog.logMessage(methodName,
+                                    RepositoryHandlerAuditCode.REQUEST_REPOSITORY_CALLS.getMessageDefinition(cache.getRequestName(),
+                                                                                                             userId,
+                                                                                                             Long.toString(cache.getRepositoryCallCount()),
+                                                                                                             Long.toString(cache.getCacheHitCount())));
+            }
+        }
+    }
+
+
+    /**
+     * Count a call to the repositories if a request is in progress.
+     */
+    private void countRepositoryCall()
+    {
+        RepositoryRequestCache cache = requestCache.get();
+
+        if (cache != null)
+        {
+            cache.countRepositoryCall();
+        }
+    }
+
+
+    /**
+     * Remove an entity from the request cache because it is being changed.
+     *
+     * @param entityGUID unique identifier of the entity
+     */
+    private void recordEntityChange(String entityGUID)
+    {
+        RepositoryRequestCache cache = requestCache.get();
+
+        if (cache != null)
+        {
+            cache.countRepositoryCall();
+            cache.removeEntity(entityGUID);
+        }
+    }
+
+
+    /**
+     * Remove an entity and all relationships from the request cache because the entity is being deleted or restored.
+     * This also affects the relationships attached to the entity.
+     *
+     * @param entityGUID unique identifier of the entity
+     */
+    private void recordEntityRemoval(String entityGUID)
+    {
+        RepositoryRequestCache cache = requestCache.get();
+
+        if (cache != null)
+        {
+            cache.countRepositoryCall();
+            cache.removeEntity(entityGUID);
+            cache.removeRelationships();
+        }
+    }
+
+
+    /**
+     * Remove the relationships from the request cache because a relationship is being changed.
+     */
+    private void recordRelationshipChange()
+    {
+        RepositoryRequestCache cache = requestCache.get();
+
+        if (cache != null)
+        {
+            cache.countRepositoryCall();
+            cache.removeRelationships();
+        }
+    }
+
+
+    /**
+     * Retrieve an entity from the request cache or, if it is not cached, from the repositories.
+     *
+     * @param userId calling user
+     * @param entityGUID unique identifier of the entity
+     * @return entity
+     * @throws OMRSCheckedExceptionBase error from the repositories
+     */
+    private EntityDetail retrieveEntity(String userId,
+                                        String entityGUID) throws OMRSCheckedExceptionBase
+    {
+        RepositoryRequestCache cache = requestCache.get();
+
+        if (cache == null)
+        {
+            return metadataCollection.getEntityDetail(userId, entityGUID);
+        }
+
+        EntityDetail entity = cache.getEntity(userId, entityGUID);
+
+        if (entity == null)
+        {
+            cache.countRepositoryCall();
+            entity = metadataCollection.getEntityDetail(userId, entityGUID);
+            cache.saveEntity(userId, entity);
+        }
+
+        return entity;
+    }
+
+
+    /**
+     * Retrieve a list of entities.  The entities in the request cache are returned from the cache and the rest are
+     * retrieved from the repositories in a single call.
+     *
+     * @param userId calling user
+     * @param entityGUIDs unique identifiers of the entities
+     * @return list of entities or null
+     * @throws OMRSCheckedExceptionBase error from the repositories
+     */
+    private List<EntityDetail> retrieveEntities(String       userId,
+                                                List<String> entityGUIDs) throws OMRSCheckedExceptionBase
+    {
+        RepositoryRequestCache cache = requestCache.get();
+
+        if (cache == null)
+        {
+            return metadataCollection.getEntityDetails(userId, entityGUIDs);
+        }
+
+        List<EntityDetail> results       = new ArrayList<>();
+        List<String>       uncachedGUIDs = new ArrayList<>();
+
+        for (String entityGUID : entityGUIDs)
+        {
+            EntityDetail entity = cache.getEntity(userId, entityGUID);
+
+            if (entity == null)
+            {
+                uncachedGUIDs.add(entityGUID);
+            }
+            else
+            {
+                results.add(entity);
+            }
+        }
+
+        if (! uncachedGUIDs.isEmpty())
+        {
+            cache.countRepositoryCall();
+
+            List<EntityDetail> retrievedEntities = metadataCollection.getEntityDetails(userId, uncachedGUIDs);
+
+            if (retrievedEntities != null)
+            {
+                for (EntityDetail entity : retrievedEntities)
+                {
+                    cache.saveEntity(userId, entity);
+                    results.add(entity);
+                }
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Retrieve a relationship from the request cache or, if it is not cached, from the repositories.
+     *
+     * @param userId calling user
+     * @param relationshipGUID unique identifier of the relationship
+     * @return relationship
+     * @throws OMRSCheckedExceptionBase error from the repositories
+     */
+    private Relationship retrieveRelationship(String userId,
+                                              String relationshipGUID) throws OMRSCheckedExceptionBase
+    {
+        RepositoryRequestCache cache = requestCache.get();
+
+        if (cache == null)
+        {
+            return metadataCollection.getRelationship(userId, relationshipGUID);
+        }
+
+        Relationship relationship = cache.getRelationship(userId, relationshipGUID);
+
+        if (relationship == null)
+        {
+            cache.countRepositoryCall();
+            relationship = metadataCollection.getRelationship(userId, relationshipGUID);
+            cache.saveRelationship(userId, relationship);
+        }
+
+        return relationship;
+    }
+
+
+    /**
+     * Retrieve the relationships for an entity from the request cache or, if they are not cached, from the repositories.
+     * Only requests for the current relationships in the default order are cached.
+     *
+     * @param userId calling user
+     * @param entityGUID unique identifier of the entity
+     * @param relationshipTypeGUID type of relationships (or null for all types)
+     * @param startingFrom starting position in the list of relationships
+     * @param limitResultsByStatus list of statuses to return (null for all active relationships)
+     * @param asOfTime time for a historical query (null for now)
+     * @param sequencingProperty property to sort on (or null)
+     * @param sequencingOrder sort order (or null)
+     * @param pageSize maximum number of relationships
+     * @return list of relationships
+     * @throws OMRSCheckedExceptionBase error from the repositories
+     */
+    private List<Relationship> retrieveRelationshipsForEntity(String               userId,
+                                                              String               entityGUID,
+                                                              String               relationshipTypeGUID,
+                                                              int                  startingFrom,
+                                                              List<InstanceStatus> limitResultsByStatus,
+                                                              Date                 asOfTime,
+                                                              String               sequencingProperty,
+                                                              SequencingOrder      sequencingOrder,
+                                                              int                  pageSize) throws OMRSCheckedExceptionBase
+    {
+        RepositoryRequestCache cache = requestCache.get();
+
+        if ((cache == null) || (limitResultsByStatus != null) || (asOfTime != null) || (sequencingProperty != null) || (sequencingOrder != null))
+        {
+            if (cache != null)
+            {
+                cache.countRepositoryCall();
+            }
+
+            return metadataCollection.getRelationshipsForEntity(userId,
+                                                                entityGUID,
+                                                                relationshipTypeGUID,
+                                                                startingFrom,
+                                                                limitResultsByStatus,
+                                                                asOfTime,
+                                                                sequencingProperty,
+                                                                sequencingOrder,
+                                                                pageSize);
+        }
+
+        List<Relationship> relationships = cache.getRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, startingFrom, pageSize);
+
+        if (relationships != null)
+        {
+            /*
+             * The repositories return null when there are no relationships.
+             */
+            if (relationships.isEmpty())
+            {
+                return null;
+            }
+        }
+        else
+        {
+            cache.countRepositoryCall();
+            relationships = metadataCollection.getRelationshipsForEntity(userId,
+                                                                         entityGUID,
+                                                                         relationshipTypeGUID,
+                                                                         startingFrom,
+                                                                         null,
+                                                                         null,
+                                                                         null,
+                                                                         null,
+                                                                         pageSize);
+            cache.saveRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, startingFrom, pageSize, relationships);
+        }
+
+        return relationships;
+    }
+
+
+    /**
+     * Retrieve the relationships for a list of entities.  The relationships for the entities in the request cache
+     * are returned from the cache and the relationships for the rest are retrieved from the repositories in a single call.
+     *
+     * @param userId calling user
+     * @param entityGUIDs unique identifiers of the entities
+     * @param relationshipTypeGUID type of relationships (or null for all types)
+     * @return map of entity guid to its relationships (empty if the entity has none)
+     * @throws OMRSCheckedExceptionBase error from the repositories
+     */
+    private Map<String, List<Relationship>> retrieveRelationshipsForEntities(String       userId,
+                                                                             List<String> entityGUIDs,
+                                                                             String       relationshipTypeGUID) throws OMRSCheckedExceptionBase
+    {
+        RepositoryRequestCache cache = requestCache.get();
+
+        Map<String, List<Relationship>> results       = new LinkedHashMap<>();
+        Set<String>                     uncachedGUIDs = new LinkedHashSet<>();
+
+        for (String entityGUID : entityGUIDs)
+        {
+            if ((entityGUID != null) && (! results.containsKey(entityGUID)))
+            {
+                List<Relationship> relationships = null;
+
+                if (cache != null)
+                {
+                    relationships = cache.getRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, 0, maxPageSize);
+                }
+
+                if (relationships == null)
+                {
+                    uncachedGUIDs.add(entityGUID);
+                    relationships = new ArrayList<>();
+                }
+
+                results.put(entityGUID, relationships);
+            }
+        }
+
+        if (! uncachedGUIDs.isEmpty())
+        {
+            this.countRepositoryCall();
+
+            List<Relationship> retrievedRelationships = metadataCollection.getRelationshipsForEntities(userId,
+                                                                                                       new ArrayList<>(uncachedGUIDs),
+                                                                                                       relationshipTypeGUID);
+
+            if (retrievedRelationships != null)
+            {
+                for (Relationship relationship : retrievedRelationships)
+                {
+                    if (relationship != null)
+                    {
+                        String end1GUID = this.getEndGUID(relationship.getEntityOneProxy());
+                        String end2GUID = this.getEndGUID(relationship.getEntityTwoProxy());
+
+                        if (uncachedGUIDs.contains(end1GUID))
+                        {
+                            results.get(end1GUID).add(relationship);
+                        }
+
+                        if ((uncachedGUIDs.contains(end2GUID)) && (! end2GUID.equals(end1GUID)))
+                        {
+                            results.get(end2GUID).add(relationship);
+                        }
+                    }
+                }
+            }
+
+            /*
+             * The relationships are only cached if they are the same as a call to retrieve the first page of relationships
+             * for the entity would return.
+             */
+            if (cache != null)
+            {
+                for (String entityGUID : uncachedGUIDs)
+                {
+                    List<Relationship> relationships = results.get(entityGUID);
+
+                    if ((maxPageSize == 0) || (relationships.size() <= maxPageSize))
+                    {
+                        cache.saveRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, 0, maxPageSize, relationships);
+                    }
+                }
+            }
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Return the unique identifier of the entity at one end of a relationship.
+     *
+     * @param entityProxy end of the relationship
+     * @return guid or null
+     */
+    private String getEndGUID(EntityProxy entityProxy)
+    {
+        if (entityProxy == null)
+        {
+            return null;
+        }
+
+        return entityProxy.getGUID();
+    }
+
+
     /**
      * Validate that the supplied GUID is for a real entity and map exceptions if not
      *
@@ -370,6 +794,7 @@ public class RepositoryHandler
             EntityDetail newEntity;
             if (externalSourceGUID == null)
             {
+                this.countRepositoryCall();
                 newEntity = metadataCollection.addEntity(userId,
                                                          entityTypeGUID,
                                                          properties,
@@ -378,6 +803,7 @@ public class RepositoryHandler
             }
             else
             {
+                this.countRepositoryCall();
                 newEntity = metadataCollection.addExternalEntity(userId,
                                                                  entityTypeGUID,
                                                                  externalSourceGUID,
@@ -621,6 +1047,7 @@ public class RepositoryHandler
 
             try
             {
+                this.recordEntityChange(entityGUID);
                 EntityDetail newEntity = metadataCollection.updateEntityProperties(userId, entityGUID, newProperties);
                 if (newEntity == null)
                 {
@@ -705,6 +1132,7 @@ public class RepositoryHandler
 
             try
             {
+                this.recordEntityChange(entityGUID);
                 EntityDetail newEntity = metadataCollection.updateEntityProperties(userId, entityGUID, newProperties);
                 if (newEntity == null)
                 {
@@ -1310,6 +1738,7 @@ public class RepositoryHandler
                                             externalSourceName,
                                             methodName);
 
+            this.recordEntityChange(entityHeader.getGUID());
             EntityDetail newEntity = metadataCollection.updateEntityProperties(userId,
                                                                                entityHeader.getGUID(),
                                                                                properties);
@@ -1370,6 +1799,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordEntityChange(entityGUID);
             EntityDetail newEntity = metadataCollection.updateEntityStatus(userId,
                                                                            entityGUID,
                                                                            instanceStatus);
@@ -1437,6 +1867,7 @@ public class RepositoryHandler
                                             externalSourceName,
                                             methodName);
 
+            this.recordEntityChange(entityGUID);
             EntityDetail newEntity = metadataCollection.updateEntityStatus(userId,
                                                                            entityGUID,
                                                                            instanceStatus);
@@ -1496,6 +1927,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordEntityChange(entityGUID);
             EntityDetail newEntity = metadataCollection.updateEntityProperties(userId,
                                                                                entityGUID,
                                                                                properties);
@@ -1548,6 +1980,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordEntityChange(entityGUID);
             EntityDetail newEntity = metadataCollection.classifyEntity(userId,
                                                                        entityGUID,
                                                                        classificationName,
@@ -1606,6 +2039,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordEntityChange(entityGUID);
             EntityDetail newEntity = metadataCollection.classifyEntity(userId,
                                                                        entityGUID,
                                                                        classificationTypeName,
@@ -1671,6 +2105,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordEntityChange(entityGUID);
             EntityDetail newEntity = metadataCollection.classifyEntity(userId,
                                                                        entityGUID,
                                                                        classificationTypeName,
@@ -1746,6 +2181,7 @@ public class RepositoryHandler
         {
             try
             {
+                this.recordEntityChange(entityGUID);
                 EntityDetail newEntity = metadataCollection.updateEntityClassification(userId,
                                                                                        entityGUID,
                                                                                        classificationTypeName,
@@ -1835,6 +2271,7 @@ public class RepositoryHandler
                                                 externalSourceName,
                                                 methodName);
 
+                this.recordEntityChange(entityGUID);
                 EntityDetail newEntity = metadataCollection.updateEntityClassification(userId,
                                                                                        entityGUID,
                                                                                        classificationTypeName,
@@ -1920,6 +2357,7 @@ public class RepositoryHandler
         {
             try
             {
+                this.recordEntityChange(entityGUID);
                 EntityDetail newEntity = metadataCollection.declassifyEntity(userId, entityGUID, classificationTypeName);
 
                 if (newEntity == null)
@@ -1993,6 +2431,7 @@ public class RepositoryHandler
                                                 externalSourceName,
                                                 methodName);
 
+                this.recordEntityChange(entityGUID);
                 EntityDetail newEntity = metadataCollection.declassifyEntity(userId,
                                                                              entityGUID,
                                                                              classificationTypeName);
@@ -2084,6 +2523,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordEntityRemoval(obsoleteEntityGUID);
             metadataCollection.deleteEntity(userId, entityTypeGUID, entityTypeName, obsoleteEntityGUID);
         }
         catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException error)
@@ -2207,15 +2647,15 @@ public class RepositoryHandler
 
         try
         {
-            List<Relationship> relationships = metadataCollection.getRelationshipsForEntity(userId,
-                                                                                            obsoleteEntityGUID,
-                                                                                            null,
-                                                                                            0,
-                                                                                            null,
-                                                                                            null,
-                                                                                            null,
-                                                                                            null,
-                                                                                            5);
+            List<Relationship> relationships = this.retrieveRelationshipsForEntity(userId,
+                                                                                   obsoleteEntityGUID,
+                                                                                   null,
+                                                                                   0,
+                                                                                   null,
+                                                                                   null,
+                                                                                   null,
+                                                                                   null,
+                                                                                   5);
 
             if ((relationships == null) || (relationships.isEmpty()))
             {
@@ -2282,6 +2722,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordEntityRemoval(obsoleteEntityGUID);
             metadataCollection.deleteEntity(userId, entityTypeGUID, entityTypeName, obsoleteEntityGUID);
         }
         catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException error)
@@ -2325,6 +2766,7 @@ public class RepositoryHandler
         {
             try
             {
+                this.recordEntityRemoval(obsoleteEntityGUID);
                 metadataCollection.deleteEntity(userId, entityTypeGUID, entityTypeName, obsoleteEntityGUID);
             }
             catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException error)
@@ -2362,6 +2804,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordEntityRemoval(obsoleteEntityGUID);
             metadataCollection.purgeEntity(userId, entityTypeGUID, entityTypeName, obsoleteEntityGUID);
             auditLog.logMessage(methodName,
                                 RepositoryHandlerAuditCode.ENTITY_PURGED.getMessageDefinition(obsoleteEntityGUID,
@@ -2401,6 +2844,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordEntityRemoval(deletedEntityGUID);
             metadataCollection.restoreEntity(userId, deletedEntityGUID);
         }
         catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException error)
@@ -2437,6 +2881,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordEntityRemoval(deletedEntityGUID);
             EntityDetail entity = metadataCollection.restoreEntity(userId, deletedEntityGUID);
 
             if (entity != null)
@@ -2570,15 +3015,15 @@ public class RepositoryHandler
 
         try
         {
-            List<Relationship> relationships = metadataCollection.getRelationshipsForEntity(userId,
-                                                                                            startingEntityGUID,
-                                                                                            relationshipTypeGUID,
-                                                                                            startingFrom,
-                                                                                            null,
-                                                                                            null,
-                                                                                            null,
-                                                                                            null,
-                                                                                            pageSize);
+            List<Relationship> relationships = this.retrieveRelationshipsForEntity(userId,
+                                                                                   startingEntityGUID,
+                                                                                   relationshipTypeGUID,
+                                                                                   startingFrom,
+                                                                                   null,
+                                                                                   null,
+                                                                                   null,
+                                                                                   null,
+                                                                                   pageSize);
 
             if (relationships != null)
             {
@@ -2709,15 +3154,15 @@ public class RepositoryHandler
 
         try
         {
-            List<Relationship> relationships = metadataCollection.getRelationshipsForEntity(userId,
-                                                                                            anchorEntityGUID,
-                                                                                            relationshipTypeGUID,
-                                                                                            startingFrom,
-                                                                                            null,
-                                                                                            null,
-                                                                                            null,
-                                                                                            null,
-                                                                                            pageSize);
+            List<Relationship> relationships = this.retrieveRelationshipsForEntity(userId,
+                                                                                   anchorEntityGUID,
+                                                                                   relationshipTypeGUID,
+                                                                                   startingFrom,
+                                                                                   null,
+                                                                                   null,
+                                                                                   null,
+                                                                                   null,
+                                                                                   pageSize);
 
             if (relationships != null)
             {
@@ -2734,7 +3179,7 @@ public class RepositoryHandler
 
                     if (anchorEntityGUID.equals(anchorEndProxy.getGUID()))
                     {
-                        results.add(metadataCollection.getEntityDetail(userId, requiredEndProxy.getGUID()));
+                        results.add(this.retrieveEntity(userId, requiredEndProxy.getGUID()));
                     }
                 }
             }
@@ -3052,7 +3497,7 @@ public class RepositoryHandler
 
         try
         {
-            return metadataCollection.getEntityDetail(userId, requiredEnd.getGUID());
+            return this.retrieveEntity(userId, requiredEnd.getGUID());
         }
         catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException  error)
         {
@@ -3094,15 +3539,15 @@ public class RepositoryHandler
 
         try
         {
-            List<Relationship> relationships = metadataCollection.getRelationshipsForEntity(userId,
-                                                                                            startingEntityGUID,
-                                                                                            relationshipTypeGUID,
-                                                                                            0,
-                                                                                            null,
-                                                                                            null,
-                                                                                            null,
-                                                                                            null,
-                                                                                            100);
+            List<Relationship> relationships = this.retrieveRelationshipsForEntity(userId,
+                                                                                   startingEntityGUID,
+                                                                                   relationshipTypeGUID,
+                                                                                   0,
+                                                                                   null,
+                                                                                   null,
+                                                                                   null,
+                                                                                   null,
+                                                                                   100);
 
             if (relationships != null)
             {
@@ -3174,7 +3619,7 @@ public class RepositoryHandler
 
         try
         {
-            EntityDetail entity = metadataCollection.getEntityDetail(userId, guid);
+            EntityDetail entity = this.retrieveEntity(userId, guid);
 
             errorHandler.validateInstanceType(entity, entityTypeName, methodName, localMethodName);
 
@@ -3201,6 +3646,67 @@ public class RepositoryHandler
     }
 
 
+    /**
+     * Return the requested entities with a single call to the repository services, converting any errors
+     * into the local OMAS exceptions.  Entities that are not known, are only proxies, are not visible to the user
+     * or are not of the requested type are not returned.
+     *
+     * @param userId calling user
+     * @param guids unique identifiers for the entities
+     * @param entityTypeName expected type of the entities (or null for any type)
+     * @param methodName calling method name
+     *
+     * @return list of entities (empty if none of the entities could be retrieved)
+     *
+     * @throws InvalidParameterException one of the parameters is null or invalid.
+     * @throws UserNotAuthorizedException user not authorized to issue this request.
+     * @throws PropertyServerException problem retrieving the entities.
+     */
+    public List<EntityDetail> getEntitiesByGUIDs(String       userId,
+                                                 List<String> guids,
+                                                 String       entityTypeName,
+                                                 String       methodName) throws InvalidParameterException,
+                                                                                 UserNotAuthorizedException,
+                                                                                 PropertyServerException
+    {
+        final String localMethodName = "getEntitiesByGUIDs";
+
+        List<EntityDetail> results = new ArrayList<>();
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return results;
+        }
+
+        try
+        {
+            List<EntityDetail> entities = this.retrieveEntities(userId, guids);
+
+            if (entities != null)
+            {
+                for (EntityDetail entity : entities)
+                {
+                    if ((entity != null) &&
+                        ((entityTypeName == null) || (errorHandler.isInstanceATypeOf(entity, entityTypeName, methodName))))
+                    {
+                        results.add(entity);
+                    }
+                }
+            }
+        }
+        catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException error)
+        {
+            errorHandler.handleUnauthorizedUser(userId, methodName);
+        }
+        catch (Throwable   error)
+        {
+            errorHandler.handleRepositoryError(error, methodName, localMethodName);
+        }
+
+        return results;
+    }
+
+
     /**
      * Test whether an entity is of a particular type or not.
      *
@@ -3228,7 +3734,7 @@ public class RepositoryHandler
 
         try
         {
-            EntityDetail entity = metadataCollection.getEntityDetail(userId, guid);
+            EntityDetail entity = this.retrieveEntity(userId, guid);
 
             return errorHandler.isInstanceATypeOf(entity, entityTypeName, methodName);
         }
@@ -3886,6 +4392,77 @@ public class RepositoryHandler
     }
 
 
+    /**
+     * Return the relationships of the requested type connected to each of a list of starting entities.
+     * This is used in place of calling getRelationshipsByType for each entity when the relationships for a
+     * page of entities are needed.  The relationships are retrieved from the repositories in a single call.
+     *
+     * @param userId  user making the request
+     * @param startingEntityGUIDs  starting entities' GUIDs
+     * @param startingEntityTypeName  starting entities' type name
+     * @param relationshipTypeGUID  identifier for the relationship to follow
+     * @param relationshipTypeName  type name for the relationship to follow
+     * @param methodName  name of calling method
+     *
+     * @return map of starting entity GUID to its relationships - entities with no relationships are not included
+     *
+     * @throws UserNotAuthorizedException security access problem
+     * @throws PropertyServerException problem accessing the property server
+     */
+    public Map<String, List<Relationship>> getRelationshipsByTypeForEntities(String       userId,
+                                                                             List<String> startingEntityGUIDs,
+                                                                             String       startingEntityTypeName,
+                                                                             String       relationshipTypeGUID,
+                                                                             String       relationshipTypeName,
+                                                                             String       methodName) throws UserNotAuthorizedException,
+                                                                                                             PropertyServerException
+    {
+        final String localMethodName = "getRelationshipsByTypeForEntities";
+
+        Map<String, List<Relationship>> results = new LinkedHashMap<>();
+
+        if ((startingEntityGUIDs == null) || (startingEntityGUIDs.isEmpty()))
+        {
+            return results;
+        }
+
+        try
+        {
+            Map<String, List<Relationship>> entityRelationships = this.retrieveRelationshipsForEntities(userId,
+                                                                                                        startingEntityGUIDs,
+                                                                                                        relationshipTypeGUID);
+
+            for (String startingEntityGUID : entityRelationships.keySet())
+            {
+                List<Relationship> relationships = new ArrayList<>();
+
+                for (Relationship relationship : entityRelationships.get(startingEntityGUID))
+                {
+                    errorHandler.validateInstanceType(relationship, relationshipTypeName, methodName, localMethodName);
+                    this.getOtherEnd(startingEntityGUID, startingEntityTypeName, relationship, methodName);
+
+                    relationships.add(relationship);
+                }
+
+                if (! relationships.isEmpty())
+                {
+                    results.put(startingEntityGUID, relationships);
+                }
+            }
+        }
+        catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException  error)
+        {
+            errorHandler.handleUnauthorizedUser(userId, methodName);
+        }
+        catch (Throwable   error)
+        {
+            errorHandler.handleRepositoryError(error, methodName, localMethodName);
+        }
+
+        return results;
+    }
+
+
     /**
      * Return the current version of a requested relationship.
      *
@@ -3908,7 +4485,7 @@ public class RepositoryHandler
 
         try
         {
-            return metadataCollection.getRelationship(userId, relationshipGUID);
+            return this.retrieveRelationship(userId, relationshipGUID);
         }
         catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException  error)
         {
@@ -3951,7 +4528,7 @@ public class RepositoryHandler
 
         try
         {
-            return metadataCollection.getRelationship(userId, relationshipGUID);
+            return this.retrieveRelationship(userId, relationshipGUID);
         }
         catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.RelationshipNotKnownException  error)
         {
@@ -4002,15 +4579,15 @@ public class RepositoryHandler
 
         try
         {
-            List<Relationship> relationships = metadataCollection.getRelationshipsForEntity(userId,
-                                                                                            startingEntityGUID,
-                                                                                            relationshipTypeGUID,
-                                                                                            startingFrom,
-                                                                                            null,
-                                                                                            null,
-                                                                                            null,
-                                                                                            null,
-                                                                                            pageSize);
+            List<Relationship> relationships = this.retrieveRelationshipsForEntity(userId,
+                                                                                   startingEntityGUID,
+                                                                                   relationshipTypeGUID,
+                                                                                   startingFrom,
+                                                                                   null,
+                                                                                   null,
+                                                                                   null,
+                                                                                   null,
+                                                                                   pageSize);
 
             if ((relationships == null) || (relationships.isEmpty()))
             {
@@ -4096,15 +4673,15 @@ public class RepositoryHandler
 
         try
         {
-            List<Relationship> relationships = metadataCollection.getRelationshipsForEntity(userId,
-                                                                                            startingEntityGUID,
-                                                                                            relationshipTypeGUID,
-                                                                                            startingFrom,
-                                                                                            limitResultsByStatus,
-                                                                                            asOfTime,
-                                                                                            sequencingProperty,
-                                                                                            sequencingOrder,
-                                                                                            pageSize);
+            List<Relationship> relationships = this.retrieveRelationshipsForEntity(userId,
+                                                                                   startingEntityGUID,
+                                                                                   relationshipTypeGUID,
+                                                                                   startingFrom,
+                                                                                   limitResultsByStatus,
+                                                                                   asOfTime,
+                                                                                   sequencingProperty,
+                                                                                   sequencingOrder,
+                                                                                   pageSize);
 
             if ((relationships == null) || (relationships.isEmpty()))
             {
@@ -4223,15 +4800,15 @@ public class RepositoryHandler
 
         try
         {
-            List<Relationship> relationships = metadataCollection.getRelationshipsForEntity(userId,
-                                                                                            anchorEntityGUID,
-                                                                                            relationshipTypeGUID,
-                                                                                            startingFrom,
-                                                                                            limitResultsByStatus,
-                                                                                            asOfTime,
-                                                                                            sequencingProperty,
-                                                                                            sequencingOrder,
-                                                                                            pageSize);
+            List<Relationship> relationships = this.retrieveRelationshipsForEntity(userId,
+                                                                                   anchorEntityGUID,
+                                                                                   relationshipTypeGUID,
+                                                                                   startingFrom,
+                                                                                   limitResultsByStatus,
+                                                                                   asOfTime,
+                                                                                   sequencingProperty,
+                                                                                   sequencingOrder,
+                                                                                   pageSize);
 
             if (relationships.isEmpty())
             {
@@ -4447,15 +5024,15 @@ public class RepositoryHandler
 
         try
         {
-            List<Relationship> relationships = metadataCollection.getRelationshipsForEntity(userId,
-                                                                                            startingEntityGUID,
-                                                                                            relationshipTypeGUID,
-                                                                                            startingFrom,
-                                                                                            null,
-                                                                                            null,
-                                                                                            null,
-                                                                                            null,
-                                                                                            maximumResults);
+            List<Relationship> relationships = this.retrieveRelationshipsForEntity(userId,
+                                                                                   startingEntityGUID,
+                                                                                   relationshipTypeGUID,
+                                                                                   startingFrom,
+                                                                                   null,
+                                                                                   null,
+                                                                                   null,
+                                                                                   null,
+                                                                                   maximumResults);
 
             if ((relationships == null) || (relationships.isEmpty()))
             {
@@ -4760,6 +5337,7 @@ public class RepositoryHandler
         {
             if (externalSourceGUID == null)
             {
+                this.recordRelationshipChange();
                 return metadataCollection.addRelationship(userId,
                                                           relationshipTypeGUID,
                                                           relationshipProperties,
@@ -4769,6 +5347,7 @@ public class RepositoryHandler
             }
             else
             {
+                this.recordRelationshipChange();
                 return metadataCollection.addExternalRelationship(userId,
                                                                   relationshipTypeGUID,
                                                                   externalSourceGUID,
@@ -4924,6 +5503,7 @@ public class RepositoryHandler
         {
             try
             {
+                this.recordRelationshipChange();
                 metadataCollection.deleteRelationship(userId,
                                                       relationshipTypeGUID,
                                                       relationshipTypeName,
@@ -4980,7 +5560,7 @@ public class RepositoryHandler
 
         try
         {
-            Relationship relationship = metadataCollection.getRelationship(userId, relationshipGUID);
+            Relationship relationship = this.retrieveRelationship(userId, relationshipGUID);
 
             if (relationship != null)
             {
@@ -5038,6 +5618,7 @@ public class RepositoryHandler
                                             externalSourceName,
                                             methodName);
 
+            this.recordRelationshipChange();
             metadataCollection.deleteRelationship(userId,
                                                   relationship.getType().getTypeDefGUID(),
                                                   relationship.getType().getTypeDefName(),
@@ -5093,6 +5674,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordRelationshipChange();
             metadataCollection.purgeRelationship(userId,
                                                  relationshipTypeGUID,
                                                  relationshipTypeName,
@@ -5129,6 +5711,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordRelationshipChange();
             metadataCollection.restoreRelationship(userId, deletedRelationshipGUID);
         }
         catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException error)
@@ -5163,6 +5746,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordRelationshipChange();
             Relationship relationship = metadataCollection.restoreRelationship(userId, deletedRelationshipGUID);
             if (relationship != null)
             {
@@ -5335,6 +5919,7 @@ public class RepositoryHandler
                                             externalSourceName,
                                             methodName);
 
+            this.recordRelationshipChange();
             metadataCollection.updateRelationshipProperties(userId,
                                                             relationship.getGUID(),
                                                             relationshipProperties);
@@ -5381,6 +5966,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordRelationshipChange();
             metadataCollection.updateRelationshipProperties(userId,
                                                             relationshipGUID,
                                                             relationshipProperties);
@@ -5422,7 +6008,7 @@ public class RepositoryHandler
 
         try
         {
-            Relationship relationship = metadataCollection.getRelationship(userId, relationshipGUID);
+            Relationship relationship = this.retrieveRelationship(userId, relationshipGUID);
 
             if (relationship != null)
             {
@@ -5466,6 +6052,7 @@ public class RepositoryHandler
 
         try
         {
+            this.recordRelationshipChange();
             metadataCollection.updateRelationshipStatus(userId, relationshipGUID, instanceStatus);
         }
         catch (org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException  error)
@@ -5515,6 +6102,7 @@ public class RepositoryHandler
                                             externalSourceName,
                                             methodName);
 
+            this.recordRelationshipChange();
             metadataCollection.updateRelationshipStatus(userId, relationshipGUID, instanceStatus);
         }
         catch (UserNotAuthorizedException | PropertyServerException error)
@@ -54,6 +54,12 @@ public enum RepositoryHandlerAuditCode implements AuditLogMessageSet
                                   "because none of the repositories in the cohort support the Anchors classification.  To enable the " +
                                   "optimization provided through the Anchors classification, add an Egeria native metadata server to the cohort.  " +
                                   "This will provide the support for the Anchors classification."),
+
+    REQUEST_REPOSITORY_CALLS("OMAG-REPOSITORY-HANDLER-0005",
+                             OMRSAuditLogRecordSeverity.PERFMON,
+                             "Request {0} from user {1} made {2} calls to the repositories; {3} retrievals were satisfied from the request cache",
+                             "The server has completed a request that cached the metadata instances it retrieved.",
+                             "No specific action is required.  This message is to help tune the performance of the server."),
     ;
 
     private String                     logMessageId;
@@ -0,0 +1,308 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.repositoryhandler;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSLRUMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RepositoryRequestCache holds the entities and relationships retrieved by the RepositoryHandler while it is
+ * processing a single request.  It means that the same instance is only retrieved from the repositories once, even
+ * though it is validated many times (for example, when checking anchors and zones).
+ * <p>
+ * The cache is bounded and only lives for the duration of the request.  Instances are cached for the
+ * user that retrieved them.  Any change made through the RepositoryHandler removes the affected instances.
+ * The cache also counts the calls made to the repositories so the saving can be reported.
+ * </p>
+ */
+class RepositoryRequestCache
+{
+    private static final int maxCachedInstances = 500;
+
+    private final String requestName;
+
+    private int  nestingDepth        = 0;
+    private long repositoryCallCount = 0;
+    private long cacheHitCount       = 0;
+
+    private final Map<String, Map<String, EntityDetail>> entities          = new OMRSLRUMap<>(maxCachedInstances);
+    private final Map<String, Map<String, Relationship>> relationships     = new OMRSLRUMap<>(maxCachedInstances);
+    private final Map<String, List<Relationship>>        relationshipLists = new OMRSLRUMap<>(maxCachedInstances);
+
+
+    /**
+     * Constructor.
+     *
+     * @param requestName name of the method that started the request
+     */
+    RepositoryRequestCache(String requestName)
+    {
+        this.requestName = requestName;
+    }
+
+
+    /**
+     * Return the name of the method that started the request.
+     *
+     * @return method name
+     */
+    String getRequestName()
+    {
+        return requestName;
+    }
+
+
+    /**
+     * Record that a nested call has joined the request.
+     */
+    void startNestedRequest()
+    {
+        nestingDepth ++;
+    }
+
+
+    /**
+     * Record that a nested call has completed.
+     *
+     * @return true if this is the end of the outermost call and so the end of the request
+     */
+    boolean endNestedRequest()
+    {
+        nestingDepth --;
+
+        return nestingDepth <= 0;
+    }
+
+
+    /**
+     * Return the number of calls made to the repositories during the request.
+     *
+     * @return count
+     */
+    long getRepositoryCallCount()
+    {
+        return repositoryCallCount;
+    }
+
+
+    /**
+     * Return the number of retrievals that were satisfied from the cache.
+     *
+     * @return count
+     */
+    long getCacheHitCount()
+    {
+        return cacheHitCount;
+    }
+
+
+    /**
+     * Record a call to the repositories.
+     */
+    void countRepositoryCall()
+    {
+        repositoryCallCount ++;
+    }
+
+
+    /**
+     * Return a copy of a cached entity.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the entity
+     * @return entity or null if it needs to be retrieved from the repositories
+     */
+    EntityDetail getEntity(String userId,
+                           String guid)
+    {
+        Map<String, EntityDetail> userEntities = entities.get(guid);
+
+        if ((userEntities != null) && (userEntities.get(userId) != null))
+        {
+            cacheHitCount ++;
+            return new EntityDetail(userEntities.get(userId));
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Save an entity retrieved from the repositories.
+     *
+     * @param userId calling user
+     * @param entity retrieved entity
+     */
+    void saveEntity(String       userId,
+                    EntityDetail entity)
+    {
+        if ((entity != null) && (entity.getGUID() != null))
+        {
+            entities.computeIfAbsent(entity.getGUID(), guid -> new HashMap<>()).put(userId, new EntityDetail(entity));
+        }
+    }
+
+
+    /**
+     * Return a copy of a cached relationship.
+     *
+     * @param userId calling user
+     * @param guid unique identifier of the relationship
+     * @return relationship or null if it needs to be retrieved from the repositories
+     */
+    Relationship getRelationship(String userId,
+                                 String guid)
+    {
+        Map<String, Relationship> userRelationships = relationships.get(guid);
+
+        if ((userRelationships != null) && (userRelationships.get(userId) != null))
+        {
+            cacheHitCount ++;
+            return new Relationship(userRelationships.get(userId));
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Save a relationship retrieved from the repositories.
+     *
+     * @param userId calling user
+     * @param relationship retrieved relationship
+     */
+    void saveRelationship(String       userId,
+                          Relationship relationship)
+    {
+        if ((relationship != null) && (relationship.getGUID() != null))
+        {
+            relationships.computeIfAbsent(relationship.getGUID(), guid -> new HashMap<>()).put(userId, new Relationship(relationship));
+        }
+    }
+
+
+    /**
+     * Return a copy of the cached relationships for an entity.
+     *
+     * @param userId calling user
+     * @param entityGUID unique identifier of the entity
+     * @param relationshipTypeGUID type of relationships (or null for all types)
+     * @param startingFrom starting position in the list of relationships
+     * @param pageSize maximum number of relationships
+     * @return list of relationships (empty if the entity has none) or null if they need to be retrieved from the repositories
+     */
+    List<Relationship> getRelationshipsForEntity(String userId,
+                                                 String entityGUID,
+                                                 String relationshipTypeGUID,
+                                                 int    startingFrom,
+                                                 int    pageSize)
+    {
+        List<Relationship> cachedRelationships = relationshipLists.get(getRelationshipListKey(userId,
+                                                                                             entityGUID,
+                                                                                             relationshipTypeGUID,
+                                                                                             startingFrom,
+                                                                                             pageSize));
+
+        if (cachedRelationships != null)
+        {
+            cacheHitCount ++;
+
+            List<Relationship> results = new ArrayList<>();
+
+            for (Relationship relationship : cachedRelationships)
+            {
+                results.add(new Relationship(relationship));
+            }
+
+            return results;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Save the relationships retrieved for an entity.
+     *
+     * @param userId calling user
+     * @param entityGUID unique identifier of the entity
+     * @param relationshipTypeGUID type of relationships (or null for all types)
+     * @param startingFrom starting position in the list of relationships
+     * @param pageSize maximum number of relationships
+     * @param retrievedRelationships relationships returned by the repositories (may be null)
+     */
+    void saveRelationshipsForEntity(String             userId,
+                                    String             entityGUID,
+                                    String             relationshipTypeGUID,
+                                    int                startingFrom,
+                                    int                pageSize,
+                                    List<Relationship> retrievedRelationships)
+    {
+        List<Relationship> cachedRelationships = new ArrayList<>();
+
+        if (retrievedRelationships != null)
+        {
+            for (Relationship relationship : retrievedRelationships)
+            {
+                if (relationship != null)
+                {
+                    cachedRelationships.add(new Relationship(relationship));
+                }
+            }
+        }
+
+        relationshipLists.put(getRelationshipListKey(userId, entityGUID, relationshipTypeGUID, startingFrom, pageSize),
+                              cachedRelationships);
+    }
+
+
+    /**
+     * Remove an entity that has been changed during the request.
+     *
+     * @param guid unique identifier of the entity
+     */
+    void removeEntity(String guid)
+    {
+        if (guid != null)
+        {
+            entities.remove(guid);
+        }
+    }
+
+
+    /**
+     * Remove all of the relationships because a relationship has been changed during the request.
+     * This may also change the relationships returned for the entities at each end.
+     */
+    void removeRelationships()
+    {
+        relationships.clear();
+        relationshipLists.clear();
+    }
+
+
+    /**
+     * Build the key for a list of relationships.
+     *
+     * @param userId calling user
+     * @param entityGUID unique identifier of the entity
+     * @param relationshipTypeGUID type of relationships (or null for all types)
+     * @param startingFrom starting position in the list of relationships
+     * @param pageSize maximum number of relationships
+     * @return key
+     */
+    private String getRelationshipListKey(String userId,
+                                          String entityGUID,
+                                          String relationshipTypeGUID,
+                                          int    startingFrom,
+                                          int    pageSize)
+    {
+        return userId + ":" + entityGUID + ":" + relationshipTypeGUID + ":" + startingFrom + ":" + pageSize;
+    }
+}
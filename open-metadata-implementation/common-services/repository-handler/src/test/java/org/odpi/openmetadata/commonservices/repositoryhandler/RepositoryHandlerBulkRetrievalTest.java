@@ -0,0 +1,436 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.repositoryhandler;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.PropertyServerException;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Verify that the RepositoryHandler methods that work on a list of instances return the same results as
+ * retrieving the instances one at a time.
+ */
+public class RepositoryHandlerBulkRetrievalTest
+{
+    private static final String userId               = "testUser";
+    private static final String methodName           = "testMethod";
+    private static final String entityTypeName       = "Asset";
+    private static final String relationshipTypeGUID = "relationship-type-guid";
+    private static final String relationshipTypeName = "AttachedTo";
+    private static final int    pageSize             = 10;
+
+
+    /**
+     * The entities are retrieved with a single call to the repositories, and only the entities of the requested
+     * type are returned.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testGetEntitiesByGUIDs() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = getMetadataCollection();
+        RepositoryErrorHandler errorHandler       = mock(RepositoryErrorHandler.class);
+        RepositoryHandler      repositoryHandler  = new RepositoryHandler(null, errorHandler, metadataCollection, pageSize);
+
+        when(errorHandler.isInstanceATypeOf(any(), eq(entityTypeName), anyString()))
+                .thenAnswer(invocation -> ! "3333".equals(((EntityDetail)invocation.getArgument(0)).getGUID()));
+
+        List<String> guids = Arrays.asList("1111", "2222", "3333", "unknown");
+
+        assertEquals(getGUIDs(repositoryHandler.getEntitiesByGUIDs(userId, guids, null, methodName)),
+                     Arrays.asList("1111", "2222", "3333"));
+        assertEquals(getGUIDs(repositoryHandler.getEntitiesByGUIDs(userId, guids, entityTypeName, methodName)),
+                     Arrays.asList("1111", "2222"));
+        assertTrue(repositoryHandler.getEntitiesByGUIDs(userId, Collections.emptyList(), null, methodName).isEmpty());
+
+        verify(metadataCollection, times(2)).getEntityDetails(userId, guids);
+        verify(metadataCollection, never()).getEntityDetail(anyString(), anyString());
+    }
+
+
+    /**
+     * Within a request, only the entities that are not already cached are retrieved.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testGetEntitiesByGUIDsUsesRequestCache() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = getMetadataCollection();
+        RepositoryHandler      repositoryHandler  = new RepositoryHandler(null, mock(RepositoryErrorHandler.class), metadataCollection, pageSize);
+
+        repositoryHandler.startRequest(methodName);
+
+        EntityDetail entity = repositoryHandler.getEntityByGUID(userId, "1111", "guid", null, methodName);
+
+        List<EntityDetail> entities = repositoryHandler.getEntitiesByGUIDs(userId, Arrays.asList("1111", "2222"), null, methodName);
+        assertEquals(new HashSet<>(getGUIDs(entities)), new HashSet<>(Arrays.asList("1111", "2222")));
+        assertEquals(entities.get(getGUIDs(entities).indexOf("1111")).getVersion(), entity.getVersion());
+
+        repositoryHandler.getEntitiesByGUIDs(userId, Arrays.asList("1111", "2222"), null, methodName);
+        repositoryHandler.endRequest(userId, methodName);
+
+        verify(metadataCollection, times(1)).getEntityDetail(userId, "1111");
+        verify(metadataCollection, times(1)).getEntityDetails(userId, Collections.singletonList("2222"));
+        verify(metadataCollection, times(1)).getEntityDetails(eq(userId), anyList());
+    }
+
+
+    /**
+     * A failure in the repositories is passed to the error handler.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testGetEntitiesByGUIDsRepositoryError() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = mock(OMRSMetadataCollection.class);
+        RepositoryErrorHandler errorHandler       = mock(RepositoryErrorHandler.class);
+        RepositoryHandler      repositoryHandler  = new RepositoryHandler(null, errorHandler, metadataCollection, pageSize);
+
+        when(metadataCollection.getEntityDetails(eq(userId), anyList())).thenThrow(RepositoryErrorException.class);
+        doThrow(PropertyServerException.class).when(errorHandler).handleRepositoryError(any(), eq(methodName), anyString());
+
+        try
+        {
+            repositoryHandler.getEntitiesByGUIDs(userId, Collections.singletonList("1111"), null, methodName);
+            fail("The repository error should be reported");
+        }
+        catch (PropertyServerException error)
+        {
+            // expected
+        }
+    }
+
+
+    /**
+     * The relationships of each starting entity are the same as those returned by retrieving the relationships of
+     * each entity in turn, but they are retrieved with a single call to the repositories.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testGetRelationshipsByTypeForEntities() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = getRelationshipMetadataCollection();
+        RepositoryHandler      repositoryHandler  = new RepositoryHandler(null, mock(RepositoryErrorHandler.class), metadataCollection, pageSize);
+
+        List<String> guids = Arrays.asList("1111", "2222", "3333", "4444", "5555");
+
+        Map<String, List<Relationship>> results = repositoryHandler.getRelationshipsByTypeForEntities(userId,
+                                                                                                      guids,
+                                                                                                      entityTypeName,
+                                                                                                      relationshipTypeGUID,
+                                                                                                      relationshipTypeName,
+                                                                                                      methodName);
+
+        for (String guid : guids)
+        {
+            List<Relationship> relationships = repositoryHandler.getRelationshipsByType(userId,
+                                                                                        guid,
+                                                                                        entityTypeName,
+                                                                                        relationshipTypeGUID,
+                                                                                        relationshipTypeName,
+                                                                                        methodName);
+            if (relationships == null)
+            {
+                assertFalse(results.containsKey(guid));
+            }
+            else
+            {
+                assertEquals(getGUIDs(results.get(guid)), getGUIDs(relationships));
+            }
+        }
+
+        assertEquals(getGUIDs(results.get("1111")), Arrays.asList("r1", "r2", "r3"));
+        assertEquals(getGUIDs(results.get("2222")), Arrays.asList("r1"));
+        assertTrue(repositoryHandler.getRelationshipsByTypeForEntities(userId,
+                                                                       Collections.emptyList(),
+                                                                       entityTypeName,
+                                                                       relationshipTypeGUID,
+                                                                       relationshipTypeName,
+                                                                       methodName).isEmpty());
+
+        verify(metadataCollection, times(1)).getRelationshipsForEntities(userId, guids, relationshipTypeGUID);
+    }
+
+
+    /**
+     * All of the relationships of an entity are returned, even if there is more than a page of them.
+     * Only the entities whose relationships fit in a page are cached for the request, so a later request for
+     * the first page of relationships still returns a single page.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testGetRelationshipsByTypeForEntitiesPaging() throws Exception
+    {
+        final int smallPageSize = 2;
+
+        OMRSMetadataCollection metadataCollection = getRelationshipMetadataCollection();
+        RepositoryHandler      repositoryHandler  = new RepositoryHandler(null, mock(RepositoryErrorHandler.class), metadataCollection, smallPageSize);
+
+        repositoryHandler.startRequest(methodName);
+
+        Map<String, List<Relationship>> results = repositoryHandler.getRelationshipsByTypeForEntities(userId,
+                                                                                                      Arrays.asList("1111", "2222"),
+                                                                                                      entityTypeName,
+                                                                                                      relationshipTypeGUID,
+                                                                                                      relationshipTypeName,
+                                                                                                      methodName);
+
+        List<Relationship> pagedRelationships = new ArrayList<>();
+
+        for (int startingFrom = 0; ; startingFrom = startingFrom + smallPageSize)
+        {
+            List<Relationship> page = repositoryHandler.getRelationshipsByType(userId,
+                                                                               "1111",
+                                                                               entityTypeName,
+                                                                               relationshipTypeGUID,
+                                                                               relationshipTypeName,
+                                                                               startingFrom,
+                                                                               smallPageSize,
+                                                                               methodName);
+            if (page == null)
+            {
+                break;
+            }
+
+            assertTrue(page.size() <= smallPageSize);
+            pagedRelationships.addAll(page);
+        }
+
+        assertEquals(getGUIDs(results.get("1111")), getGUIDs(pagedRelationships));
+
+        assertEquals(getGUIDs(repositoryHandler.getRelationshipsByType(userId,
+                                                                       "2222",
+                                                                       entityTypeName,
+                                                                       relationshipTypeGUID,
+                                                                       relationshipTypeName,
+                                                                       methodName)),
+                     getGUIDs(results.get("2222")));
+
+        repositoryHandler.endRequest(userId, methodName);
+
+        /*
+         * The pages for entity 1111 came from the repository and the relationships for entity 2222 came from the cache.
+         */
+        verify(metadataCollection, times(3)).getRelationshipsForEntity(eq(userId), eq("1111"), eq(relationshipTypeGUID), anyInt(), any(), any(), any(), any(), eq(smallPageSize));
+        verify(metadataCollection, never()).getRelationshipsForEntity(eq(userId), eq("2222"), anyString(), anyInt(), any(), any(), any(), any(), anyInt());
+    }
+
+
+    /**
+     * A failure in the repositories is passed to the error handler.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testGetRelationshipsByTypeForEntitiesRepositoryError() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = mock(OMRSMetadataCollection.class);
+        RepositoryErrorHandler errorHandler       = mock(RepositoryErrorHandler.class);
+        RepositoryHandler      repositoryHandler  = new RepositoryHandler(null, errorHandler, metadataCollection, pageSize);
+
+        when(metadataCollection.getRelationshipsForEntities(eq(userId), anyList(), anyString())).thenThrow(RepositoryErrorException.class);
+        doThrow(PropertyServerException.class).when(errorHandler).handleRepositoryError(any(), eq(methodName), anyString());
+
+        try
+        {
+            repositoryHandler.getRelationshipsByTypeForEntities(userId,
+                                                                Collections.singletonList("1111"),
+                                                                entityTypeName,
+                                                                relationshipTypeGUID,
+                                                                relationshipTypeName,
+                                                                methodName);
+            fail("The repository error should be reported");
+        }
+        catch (PropertyServerException error)
+        {
+            // expected
+        }
+    }
+
+
+    /**
+     * Return a mock metadata collection that stores relationships r1 to r3 between entity 1111 and entities
+     * 2222, 3333 and 4444, and relationship r4 between entities 3333 and 4444.  Entity 5555 has no relationships.
+     * The relationships for a single entity are returned in pages.
+     *
+     * @return metadata collection
+     * @throws Exception problem setting up the mock
+     */
+    private OMRSMetadataCollection getRelationshipMetadataCollection() throws Exception
+    {
+        List<Relationship> storedRelationships = Arrays.asList(getRelationship("r1", "1111", "2222"),
+                                                               getRelationship("r2", "3333", "1111"),
+                                                               getRelationship("r3", "1111", "4444"),
+                                                               getRelationship("r4", "3333", "4444"));
+
+        OMRSMetadataCollection metadataCollection = mock(OMRSMetadataCollection.class);
+
+        when(metadataCollection.getRelationshipsForEntity(anyString(), anyString(), anyString(), anyInt(), any(), any(), any(), any(), anyInt()))
+                .thenAnswer(invocation ->
+        {
+            String entityGUID   = invocation.getArgument(1);
+            int    startingFrom = invocation.getArgument(3);
+            int    maxResults   = invocation.getArgument(8);
+
+            List<Relationship> relationships = new ArrayList<>();
+
+            for (Relationship relationship : storedRelationships)
+            {
+                if ((entityGUID.equals(relationship.getEntityOneProxy().getGUID())) || (entityGUID.equals(relationship.getEntityTwoProxy().getGUID())))
+                {
+                    relationships.add(relationship);
+                }
+            }
+
+            int endElement = (maxResults == 0) ? relationships.size() : Math.min(relationships.size(), startingFrom + maxResults);
+
+            if (startingFrom >= endElement)
+            {
+                return null;
+            }
+
+            return new ArrayList<>(relationships.subList(startingFrom, endElement));
+        });
+
+        when(metadataCollection.getRelationshipsForEntities(anyString(), anyList(), anyString())).thenAnswer(invocation ->
+        {
+            List<?>            entityGUIDs   = invocation.getArgument(1);
+            List<Relationship> relationships = new ArrayList<>();
+
+            for (Relationship relationship : storedRelationships)
+            {
+                if ((entityGUIDs.contains(relationship.getEntityOneProxy().getGUID())) || (entityGUIDs.contains(relationship.getEntityTwoProxy().getGUID())))
+                {
+                    relationships.add(relationship);
+                }
+            }
+
+            return relationships.isEmpty() ? null : relationships;
+        });
+
+        return metadataCollection;
+    }
+
+
+    /**
+     * Create a relationship.
+     *
+     * @param guid unique identifier of the relationship
+     * @param end1GUID unique identifier of the entity at end 1
+     * @param end2GUID unique identifier of the entity at end 2
+     * @return relationship
+     */
+    private Relationship getRelationship(String guid,
+                                         String end1GUID,
+                                         String end2GUID)
+    {
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(guid);
+        relationship.setVersion(1L);
+
+        EntityProxy end1 = new EntityProxy();
+        end1.setGUID(end1GUID);
+        relationship.setEntityOneProxy(end1);
+
+        EntityProxy end2 = new EntityProxy();
+        end2.setGUID(end2GUID);
+        relationship.setEntityTwoProxy(end2);
+
+        return relationship;
+    }
+
+
+    /**
+     * Return a mock metadata collection that knows three entities.
+     *
+     * @return metadata collection
+     * @throws Exception problem setting up the mock
+     */
+    private OMRSMetadataCollection getMetadataCollection() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = mock(OMRSMetadataCollection.class);
+
+        when(metadataCollection.getEntityDetail(anyString(), anyString())).thenAnswer(invocation -> getEntity(invocation.getArgument(1)));
+        when(metadataCollection.getEntityDetails(anyString(), anyList())).thenAnswer(invocation ->
+        {
+            List<EntityDetail> entities = new ArrayList<>();
+
+            for (Object guid : (List<?>)invocation.getArgument(1))
+            {
+                if (! "unknown".equals(guid))
+                {
+                    entities.add(getEntity((String)guid));
+                }
+            }
+
+            return entities.isEmpty() ? null : entities;
+        });
+
+        return metadataCollection;
+    }
+
+
+    /**
+     * Create an entity.
+     *
+     * @param guid unique identifier of the entity
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(1L);
+
+        return entity;
+    }
+
+
+    /**
+     * Return the unique identifiers of a list of instances.
+     *
+     * @param instances entities or relationships
+     * @return list of guids
+     */
+    private List<String> getGUIDs(List<? extends InstanceHeader> instances)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (InstanceHeader instance : instances)
+        {
+            guids.add(instance.getGUID());
+        }
+
+        return guids;
+    }
+}
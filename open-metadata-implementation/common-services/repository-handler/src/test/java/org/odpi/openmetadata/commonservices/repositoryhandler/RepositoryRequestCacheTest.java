@@ -0,0 +1,283 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.commonservices.repositoryhandler;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.frameworks.auditlog.messagesets.AuditLogMessageDefinition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+
+/**
+ * Verify that the RepositoryHandler caches the instances it retrieves between startRequest and endRequest,
+ * and that the cache is cleared when the instances are changed.
+ */
+public class RepositoryRequestCacheTest
+{
+    private static final String userId               = "testUser";
+    private static final String otherUserId          = "otherUser";
+    private static final String methodName           = "testMethod";
+    private static final String entityGUID           = "1111";
+    private static final String otherEntityGUID      = "2222";
+    private static final String relationshipGUID     = "3333";
+    private static final String relationshipTypeGUID = "relationship-type-guid";
+    private static final int    pageSize             = 10;
+
+
+    /**
+     * Nested requests share the cache, which is discarded at the end of the outermost request.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testNestedRequests() throws Exception
+    {
+        RepositoryRequestCache cache = new RepositoryRequestCache(methodName);
+
+        cache.startNestedRequest();
+        cache.startNestedRequest();
+        assertFalse(cache.endNestedRequest());
+        assertTrue(cache.endNestedRequest());
+        assertEquals(cache.getRequestName(), methodName);
+
+        OMRSMetadataCollection metadataCollection = getMetadataCollection();
+        AuditLog               auditLog           = mock(AuditLog.class);
+        RepositoryHandler      repositoryHandler  = getRepositoryHandler(metadataCollection, auditLog);
+
+        repositoryHandler.startRequest(methodName);
+        repositoryHandler.getEntityByGUID(userId, entityGUID, "guid", null, methodName);
+
+        repositoryHandler.startRequest("nestedMethod");
+        repositoryHandler.getEntityByGUID(userId, entityGUID, "guid", null, methodName);
+        repositoryHandler.endRequest(userId, "nestedMethod");
+
+        repositoryHandler.getEntityByGUID(userId, entityGUID, "guid", null, methodName);
+        verify(metadataCollection, times(1)).getEntityDetail(userId, entityGUID);
+        verify(auditLog, never()).logMessage(anyString(), any(AuditLogMessageDefinition.class));
+
+        repositoryHandler.endRequest(userId, methodName);
+        verify(auditLog, times(1)).logMessage(anyString(), any(AuditLogMessageDefinition.class));
+
+        /*
+         * Outside of a request each retrieval calls the repositories.
+         */
+        repositoryHandler.getEntityByGUID(userId, entityGUID, "guid", null, methodName);
+        repositoryHandler.getEntityByGUID(userId, entityGUID, "guid", null, methodName);
+        verify(metadataCollection, times(3)).getEntityDetail(userId, entityGUID);
+
+        repositoryHandler.endRequest(userId, methodName);
+        verify(auditLog, times(1)).logMessage(anyString(), any(AuditLogMessageDefinition.class));
+    }
+
+
+    /**
+     * A change to an entity removes only that entity from the cache.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testEntityChangeInvalidatesEntity() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = getMetadataCollection();
+        RepositoryHandler      repositoryHandler  = getRepositoryHandler(metadataCollection, null);
+
+        repositoryHandler.startRequest(methodName);
+        repositoryHandler.getEntityByGUID(userId, entityGUID, "guid", null, methodName);
+        repositoryHandler.getEntityByGUID(userId, otherEntityGUID, "guid", null, methodName);
+
+        repositoryHandler.updateEntityStatus(userId, null, null, entityGUID, null, null, InstanceStatus.DELETED, methodName);
+
+        repositoryHandler.getEntityByGUID(userId, entityGUID, "guid", null, methodName);
+        repositoryHandler.getEntityByGUID(userId, otherEntityGUID, "guid", null, methodName);
+        repositoryHandler.endRequest(userId, methodName);
+
+        verify(metadataCollection, times(2)).getEntityDetail(userId, entityGUID);
+        verify(metadataCollection, times(1)).getEntityDetail(userId, otherEntityGUID);
+    }
+
+
+    /**
+     * A change to a relationship removes the cached relationships and the cached relationship lists,
+     * but not the entities.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testRelationshipChangeInvalidatesRelationships() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = getMetadataCollection();
+        RepositoryHandler      repositoryHandler  = getRepositoryHandler(metadataCollection, null);
+
+        repositoryHandler.startRequest(methodName);
+        repositoryHandler.getEntityByGUID(userId, entityGUID, "guid", null, methodName);
+        repositoryHandler.getRelationshipByGUID(userId, relationshipGUID, "guid", null, methodName);
+        assertEquals(repositoryHandler.getPagedRelationshipsByType(userId, entityGUID, null, relationshipTypeGUID, null, 0, pageSize, methodName).size(), 1);
+        assertEquals(repositoryHandler.getPagedRelationshipsByType(userId, entityGUID, null, relationshipTypeGUID, null, 0, pageSize, methodName).size(), 1);
+
+        verify(metadataCollection, times(1)).getRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, 0, null, null, null, null, pageSize);
+
+        repositoryHandler.createRelationship(userId, relationshipTypeGUID, null, null, entityGUID, otherEntityGUID, null, methodName);
+
+        repositoryHandler.getEntityByGUID(userId, entityGUID, "guid", null, methodName);
+        repositoryHandler.getRelationshipByGUID(userId, relationshipGUID, "guid", null, methodName);
+        repositoryHandler.getPagedRelationshipsByType(userId, entityGUID, null, relationshipTypeGUID, null, 0, pageSize, methodName);
+        repositoryHandler.endRequest(userId, methodName);
+
+        verify(metadataCollection, times(1)).getEntityDetail(userId, entityGUID);
+        verify(metadataCollection, times(2)).getRelationship(userId, relationshipGUID);
+        verify(metadataCollection, times(2)).getRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, 0, null, null, null, null, pageSize);
+    }
+
+
+    /**
+     * Instances are cached for the user that retrieved them, and the cache returns copies.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testInstancesCachedPerUser() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = getMetadataCollection();
+        RepositoryHandler      repositoryHandler  = getRepositoryHandler(metadataCollection, null);
+
+        repositoryHandler.startRequest(methodName);
+
+        EntityDetail entity = repositoryHandler.getEntityByGUID(userId, entityGUID, "guid", null, methodName);
+        entity.setVersion(99L);
+
+        repositoryHandler.getEntityByGUID(otherUserId, entityGUID, "guid", null, methodName);
+        assertEquals(repositoryHandler.getEntityByGUID(userId, entityGUID, "guid", null, methodName).getVersion(), 1L);
+
+        repositoryHandler.getPagedRelationshipsByType(userId, entityGUID, null, relationshipTypeGUID, null, 0, pageSize, methodName);
+        repositoryHandler.getPagedRelationshipsByType(otherUserId, entityGUID, null, relationshipTypeGUID, null, 0, pageSize, methodName);
+        repositoryHandler.getPagedRelationshipsByType(otherUserId, entityGUID, null, relationshipTypeGUID, null, 0, pageSize, methodName);
+        repositoryHandler.endRequest(userId, methodName);
+
+        verify(metadataCollection, times(1)).getEntityDetail(userId, entityGUID);
+        verify(metadataCollection, times(1)).getEntityDetail(otherUserId, entityGUID);
+        verify(metadataCollection, times(1)).getRelationshipsForEntity(userId, entityGUID, relationshipTypeGUID, 0, null, null, null, null, pageSize);
+        verify(metadataCollection, times(1)).getRelationshipsForEntity(otherUserId, entityGUID, relationshipTypeGUID, 0, null, null, null, null, pageSize);
+    }
+
+
+    /**
+     * An entity with no relationships is cached as an empty list, which the RepositoryHandler returns as null
+     * in the same way as the repositories.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testEntityWithNoRelationships() throws Exception
+    {
+        RepositoryRequestCache cache = new RepositoryRequestCache(methodName);
+
+        assertNull(cache.getRelationshipsForEntity(userId, otherEntityGUID, relationshipTypeGUID, 0, pageSize));
+        cache.saveRelationshipsForEntity(userId, otherEntityGUID, relationshipTypeGUID, 0, pageSize, null);
+
+        List<Relationship> cachedRelationships = cache.getRelationshipsForEntity(userId, otherEntityGUID, relationshipTypeGUID, 0, pageSize);
+        assertNotNull(cachedRelationships);
+        assertTrue(cachedRelationships.isEmpty());
+        assertEquals(cache.getCacheHitCount(), 1L);
+
+        OMRSMetadataCollection metadataCollection = getMetadataCollection();
+        RepositoryHandler      repositoryHandler  = getRepositoryHandler(metadataCollection, null);
+
+        repositoryHandler.startRequest(methodName);
+        assertNull(repositoryHandler.getPagedRelationshipsByType(userId, otherEntityGUID, null, relationshipTypeGUID, null, 0, pageSize, methodName));
+        assertNull(repositoryHandler.getPagedRelationshipsByType(userId, otherEntityGUID, null, relationshipTypeGUID, null, 0, pageSize, methodName));
+        assertNull(repositoryHandler.getRelationshipsByType(userId, otherEntityGUID, null, relationshipTypeGUID, null, 0, pageSize, methodName));
+        repositoryHandler.endRequest(userId, methodName);
+
+        verify(metadataCollection, times(1)).getRelationshipsForEntity(userId, otherEntityGUID, relationshipTypeGUID, 0, null, null, null, null, pageSize);
+    }
+
+
+    /**
+     * Return a repository handler for a mock metadata collection.
+     *
+     * @param metadataCollection metadata collection
+     * @param auditLog audit log or null
+     * @return repository handler
+     */
+    private RepositoryHandler getRepositoryHandler(OMRSMetadataCollection metadataCollection,
+                                                   AuditLog               auditLog)
+    {
+        return new RepositoryHandler(auditLog, mock(RepositoryErrorHandler.class), metadataCollection, pageSize);
+    }
+
+
+    /**
+     * Return a mock metadata collection with two entities and a relationship between them.  The second
+     * entity has no relationships of its own.
+     *
+     * @return metadata collection
+     * @throws Exception problem setting up the mock
+     */
+    private OMRSMetadataCollection getMetadataCollection() throws Exception
+    {
+        OMRSMetadataCollection metadataCollection = mock(OMRSMetadataCollection.class);
+
+        when(metadataCollection.getEntityDetail(anyString(), anyString())).thenAnswer(invocation -> getEntity(invocation.getArgument(1)));
+        when(metadataCollection.updateEntityStatus(anyString(), anyString(), any())).thenAnswer(invocation -> getEntity(invocation.getArgument(1)));
+        when(metadataCollection.getRelationship(anyString(), anyString())).thenAnswer(invocation -> getRelationship());
+        when(metadataCollection.getRelationshipsForEntity(anyString(), anyString(), anyString(), any(Integer.class), any(), any(), any(), any(), any(Integer.class)))
+                .thenAnswer(invocation -> entityGUID.equals(invocation.getArgument(1)) ? Collections.singletonList(getRelationship()) : null);
+
+        return metadataCollection;
+    }
+
+
+    /**
+     * Create an entity.
+     *
+     * @param guid unique identifier of the entity
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+
+        entity.setGUID(guid);
+        entity.setVersion(1L);
+
+        return entity;
+    }
+
+
+    /**
+     * Create the relationship between the two entities.
+     *
+     * @return relationship
+     */
+    private Relationship getRelationship()
+    {
+        EntityProxy entityOneProxy = new EntityProxy();
+        entityOneProxy.setGUID(entityGUID);
+
+        EntityProxy entityTwoProxy = new EntityProxy();
+        entityTwoProxy.setGUID(otherEntityGUID);
+
+        Relationship relationship = new Relationship();
+
+        relationship.setGUID(relationshipGUID);
+        relationship.setEntityOneProxy(entityOneProxy);
+        relationship.setEntityTwoProxy(entityTwoProxy);
+
+        return relationship;
+    }
+}
@@ -0,0 +1,34 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+
+import java.util.List;
+
+/**
+ * OMRSInstanceEventInterest is an optional interface for an OMRSTopicListener.  It declares the instance events
+ * that the listener wants to receive so that the OMRSTopicConnector does not pass it the instance events it
+ * would discard.  Registry and TypeDef events are always passed to the listener.
+ * <p>
+ * The interest is retrieved once, when the listener registers with the OMRSTopicConnector.
+ * </p>
+ */
+public interface OMRSInstanceEventInterest
+{
+    /**
+     * Return the names of the entity and relationship types that the listener wants to receive instance events for.
+     * Events for the subtypes of these types are also passed to the listener.
+     *
+     * @return list of type names or null for all types
+     */
+    List<String> getInstanceTypeNamesOfInterest();
+
+
+    /**
+     * Return the types of instance event that the listener wants to receive.
+     *
+     * @return list of instance event types (empty for none) or null for all instance event types
+     */
+    List<OMRSInstanceEventType> getInstanceEventTypesOfInterest();
+}
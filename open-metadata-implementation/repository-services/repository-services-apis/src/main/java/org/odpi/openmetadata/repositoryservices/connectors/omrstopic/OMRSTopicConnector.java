@@ -2,7 +2,6 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.auditlog.AuditLoggingComponent;
 import org.odpi.openmetadata.frameworks.connectors.Connector;
@@ -13,6 +12,7 @@ import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicConnector;
 import org.odpi.openmetadata.repositoryservices.connectors.openmetadatatopic.OpenMetadataTopicListener;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
 import org.odpi.openmetadata.repositoryservices.events.OMRSEventProtocolVersion;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
@@ -21,11 +21,15 @@ import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
 import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONSerializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 
 /**
@@ -63,7 +67,13 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
     private List<Connector> embeddedConnectors = null;
 
-    private List<OMRSTopicListener>          internalTopicListeners = new ArrayList<>();
+    private List<OMRSTopicListenerWrapper>   internalTopicListeners = new ArrayList<>();
+
+    /*
+     * Map from the unique identifier of an instance type to the listeners that want its instance events.
+     * It is built as instance events arrive and is cleared when a listener registers or a TypeDef event arrives.
+     */
+    private final Map<String, List<OMRSTopicListenerWrapper>> instanceEventRouting = new HashMap<>();
     private List<OpenMetadataTopicConnector> eventBusConnectors     = new ArrayList<>();
 
     private String                    connectionName       = OMRSAuditingComponent.OMRS_TOPIC_CONNECTOR.getComponentName();
@@ -136,6 +146,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         if (topicListener != null)
         {
             internalTopicListeners.add(new OMRSTopicListenerWrapper(topicListener, auditLog));
+            this.clearInstanceEventRouting();
         }
         else
         {
@@ -164,6 +175,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
             internalTopicListeners.add(new OMRSTopicListenerWrapper(topicListener,
                                                                     serviceName,
                                                                     auditLog.createNewAuditLog(OMRSAuditingComponent.ENTERPRISE_TOPIC_LISTENER)));
+            this.clearInstanceEventRouting();
         }
         else
         {
@@ -367,13 +379,13 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
         {
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
+                String eventString = OMRSJSONSerializer.writeValueAsString(event);
 
                 for (OpenMetadataTopicConnector eventBusConnector : eventBusConnectors)
                 {
                     if (eventBusConnector != null)
                     {
-                        eventBusConnector.sendEvent(objectMapper.writeValueAsString(event));
+                        eventBusConnector.sendEvent(eventString);
                     }
                 }
             }
@@ -408,7 +420,8 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
 
     /**
      * Receives events from the real topic, parses them into event objects and passes them on to
-     * the OMRSTopicListeners registered with this connector.
+     * the OMRSTopicListeners registered with this connector.  Each event is parsed once and the same event
+     * object is passed to each listener.  Instance events are only passed to the listeners that are interested in them.
      *
      * @param event inbound event
      */
@@ -416,7 +429,6 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
     public void processEvent(String event)
     {
         final String actionDescription = "Process an OMRS Event";
-        final String methodName = "processEvent";
 
         if (event != null)
         {
@@ -427,9 +439,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
              */
             try
             {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                eventBean = objectMapper.readValue(event, OMRSEventBean.class);
+                eventBean = OMRSJSONSerializer.readValue(event, OMRSEventBean.class);
             }
             catch (Throwable   exception)
             {
@@ -447,28 +457,7 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
              */
             if (eventBean instanceof OMRSEventV1)
             {
-                OMRSEventBean finalEventBean = eventBean;
-                internalTopicListeners.parallelStream().forEach((topicListener) ->
-                {
-                    try
-                    {
-                        this.processOMRSEvent((OMRSEventV1) finalEventBean, topicListener);
-                    }
-                    catch (Throwable  error)
-                    {
-                        log.debug("Unable to pass event to one of the topic listeners");
-
-                        if (auditLog != null)
-                        {
-                            auditLog.logException(methodName,
-                                                  OMRSAuditCode.EVENT_PROCESSING_ERROR.getMessageDefinition(event,
-                                                                                                            error.toString(),
-                                                                                                            topicListener.toString()),
-                                                  event,
-                                                  error);
-                        }
-                    }
-                });
+                this.processOMRSEvent(event, (OMRSEventV1) eventBean);
             }
         }
         else
@@ -488,63 +477,225 @@ public class OMRSTopicConnector extends ConnectorBase implements OMRSTopic,
      * that is incorrectly formatted.  The assumption is that the unformatted part of the message
      * is an extension from a newer version of the protocol and can be ignored.
      *
-     * @param event Version 1 of the OMRSEvent that defines the category and payload of the incoming event.
-     * @param topicListener listener that will receive the event.
+     * @param event string version of the event for diagnostics.
+     * @param omrsEvent Version 1 of the OMRSEvent that defines the category and payload of the incoming event.
      */
-    private void processOMRSEvent(OMRSEventV1        event,
-                                  OMRSTopicListener  topicListener)
+    private void processOMRSEvent(String      event,
+                                  OMRSEventV1 omrsEvent)
     {
         String   actionDescription = "Process Incoming Event";
 
+        if (omrsEvent.getEventCategory() == null)
+        {
+            this.logUnknownEvent(actionDescription, omrsEvent);
+            return;
+        }
+
         /*
-         * The event should not be null but worth checking.
+         * Determine the category of event to process.
          */
-        if (event != null)
+        switch (omrsEvent.getEventCategory())
         {
-            /*
-             * Determine the category of event to process.
-             */
-            switch (event.getEventCategory())
+            case REGISTRY:
+                OMRSRegistryEvent registryEvent = new OMRSRegistryEvent(omrsEvent);
+
+                this.passEventToListeners(event,
+                                          internalTopicListeners,
+                                          (topicListener) -> topicListener.processRegistryEvent(registryEvent));
+                break;
+
+            case TYPEDEF:
+                OMRSTypeDefEvent typeDefEvent = new OMRSTypeDefEvent(omrsEvent);
+
+                /*
+                 * A change to the types may change the super types of an instance type.
+                 */
+                this.clearInstanceEventRouting();
+                this.passEventToListeners(event,
+                                          internalTopicListeners,
+                                          (topicListener) -> topicListener.processTypeDefEvent(typeDefEvent));
+                break;
+
+            case INSTANCE:
+                OMRSInstanceEvent instanceEvent = new OMRSInstanceEvent(omrsEvent);
+
+                this.passEventToListeners(event,
+                                          this.getInstanceEventListeners(instanceEvent),
+                                          (topicListener) -> topicListener.processInstanceEvent(instanceEvent));
+                break;
+
+            default:
+                /*
+                 * Nothing to do since this server does not understand the message type.  This situation
+                 * will occur if the local server is back level from another server in the cohort
+                 * and the more advanced server supports new types of messages,
+                 */
+                this.logUnknownEvent(actionDescription, omrsEvent);
+        }
+    }
+
+
+    /**
+     * Log that an event has been received that this server does not understand.
+     *
+     * @param actionDescription calling activity
+     * @param omrsEvent received event
+     */
+    private void logUnknownEvent(String      actionDescription,
+                                 OMRSEventV1 omrsEvent)
+    {
+        if (auditLog != null)
+        {
+            auditLog.logMessage(actionDescription,
+                                OMRSAuditCode.PROCESS_UNKNOWN_EVENT.getMessageDefinition(),
+                                "event {" + omrsEvent.toString() + "}");
+        }
+
+        log.debug("Unknown event received :|");
+    }
+
+
+    /**
+     * Pass an event to each of the supplied listeners in parallel.  Errors from a listener are logged and do not
+     * stop the event being passed to the other listeners.
+     *
+     * @param event string version of the event for diagnostics
+     * @param topicListeners listeners to call
+     * @param listenerCall call to make to each listener
+     */
+    private void passEventToListeners(String                             event,
+                                      List<OMRSTopicListenerWrapper>     topicListeners,
+                                      Consumer<OMRSTopicListenerWrapper> listenerCall)
+    {
+        final String methodName = "processEvent";
+
+        topicListeners.parallelStream().forEach((topicListener) ->
+        {
+            try
+            {
+                listenerCall.accept(topicListener);
+            }
+            catch (Throwable  error)
             {
-                case REGISTRY:
-                    topicListener.processRegistryEvent(new OMRSRegistryEvent(event));
-                    break;
+                log.debug("Unable to pass event to one of the topic listeners");
+
+                if (auditLog != null)
+                {
+                    auditLog.logException(methodName,
+                                          OMRSAuditCode.EVENT_PROCESSING_ERROR.getMessageDefinition(event,
+                                                                                                    error.toString(),
+                                                                                                    topicListener.toString()),
+                                          event,
+                                          error);
+                }
+            }
+        });
+    }
 
-                case TYPEDEF:
-                    topicListener.processTypeDefEvent(new OMRSTypeDefEvent(event));
-                    break;
 
-                case INSTANCE:
-                    topicListener.processInstanceEvent(new OMRSInstanceEvent(event));
-                    break;
+    /**
+     * Return the listeners that want to receive the instance event.  The listeners interested in the type of the
+     * instance are retrieved from (or added to) the routing map and then filtered by the type of the event.
+     *
+     * @param instanceEvent inbound event
+     * @return list of listeners
+     */
+    private List<OMRSTopicListenerWrapper> getInstanceEventListeners(OMRSInstanceEvent instanceEvent)
+    {
+        InstanceType                   instanceType = this.getInstanceType(instanceEvent);
+        String                         typeDefGUID  = instanceEvent.getTypeDefGUID();
+        List<OMRSTopicListenerWrapper> typeListeners;
 
-                default:
+        if ((instanceType != null) && (instanceType.getTypeDefGUID() != null))
+        {
+            typeDefGUID = instanceType.getTypeDefGUID();
+        }
+
+        synchronized (instanceEventRouting)
+        {
+            typeListeners = instanceEventRouting.get(typeDefGUID);
+
+            if (typeListeners == null)
+            {
+                if (instanceType == null)
+                {
                     /*
-                     * Nothing to do since this server does not understand the message type.  This situation
-                     * will occur if the local server is back level from another server in the cohort
-                     * and the more advanced server supports new types of messages,
+                     * The super types of the instance are not known so only the listeners that are not interested
+                     * in particular types can be excluded.
                      */
-                    if (auditLog != null)
+                    typeListeners = internalTopicListeners;
+                }
+                else
+                {
+                    typeListeners = new ArrayList<>();
+
+                    for (OMRSTopicListenerWrapper topicListener : internalTopicListeners)
                     {
-                        auditLog.logMessage(actionDescription,
-                                            OMRSAuditCode.PROCESS_UNKNOWN_EVENT.getMessageDefinition(),
-                                           "event {" + event.toString() + "}");
+                        if (topicListener.isInterestedInInstanceType(instanceType))
+                        {
+                            typeListeners.add(topicListener);
+                        }
                     }
 
-                    log.debug("Unknown event received :|");
+                    if (typeDefGUID != null)
+                    {
+                        instanceEventRouting.put(typeDefGUID, typeListeners);
+                    }
+                }
             }
         }
-        else
+
+        List<OMRSTopicListenerWrapper> eventListeners = new ArrayList<>();
+
+        for (OMRSTopicListenerWrapper topicListener : typeListeners)
         {
-            /*
-             * A null event was passed, this probably should not happen so log audit record.
-             */
-            if (auditLog != null)
+            if (topicListener.isInterestedInEventType(instanceEvent.getInstanceEventType()))
             {
-                auditLog.logMessage(actionDescription, OMRSAuditCode.NULL_OMRS_EVENT_RECEIVED.getMessageDefinition(topicName));
+                eventListeners.add(topicListener);
             }
+        }
+
+        return eventListeners;
+    }
 
-            log.debug("Null OMRS Event received :(");
+
+    /**
+     * Return the type of the instance that the instance event is about.
+     *
+     * @param instanceEvent inbound event
+     * @return instance type or null if the event does not include the instance
+     */
+    private InstanceType getInstanceType(OMRSInstanceEvent instanceEvent)
+    {
+        if (instanceEvent.getEntity() != null)
+        {
+            return instanceEvent.getEntity().getType();
+        }
+        else if (instanceEvent.getRelationship() != null)
+        {
+            return instanceEvent.getRelationship().getType();
+        }
+        else if (instanceEvent.getOriginalEntity() != null)
+        {
+            return instanceEvent.getOriginalEntity().getType();
+        }
+        else if (instanceEvent.getOriginalRelationship() != null)
+        {
+            return instanceEvent.getOriginalRelationship().getType();
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Remove all of the entries from the routing map so it is rebuilt from the current listeners and types.
+     */
+    private void clearInstanceEventRouting()
+    {
+        synchronized (instanceEventRouting)
+        {
+            instanceEventRouting.clear();
         }
     }
 
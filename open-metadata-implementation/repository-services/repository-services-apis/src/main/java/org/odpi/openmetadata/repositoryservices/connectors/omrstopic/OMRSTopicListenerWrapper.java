@@ -4,18 +4,30 @@
 package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
 import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
 
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 
 /**
  * OMRSTopicListenerWrapper is a class that wraps a real OMRSTopicListener when it registers with the
  * OMRSTopicConnector.  Its sole purpose is to catch exceptions from the real OMRSTopicListener and create
  * diagnostics.  The listeners are called in parallel with no mechanism for the connector to properly
  * manage errors from the listener so this wrapper has been installed.  If the real OMRSTopicListener
- * has been implemented properly then no errors should be handled by this wrapper class
+ * has been implemented properly then no errors should be handled by this wrapper class.
+ * <p>
+ * The wrapper also holds the instance events that the real OMRSTopicListener is interested in (if it implements
+ * OMRSInstanceEventInterest) so the OMRSTopicConnector can route instance events without calling the listener.
+ * </p>
  */
 public class OMRSTopicListenerWrapper implements OMRSTopicListener
 {
@@ -25,6 +37,9 @@ public class OMRSTopicListenerWrapper implements OMRSTopicListener
     private AuditLog           auditLog;
     private String             serviceName = "<Unknown Service>";
 
+    private Set<String>                typeNamesOfInterest  = null;
+    private Set<OMRSInstanceEventType> eventTypesOfInterest = null;
+
 
     /**
      * Save the real listener and other error handling information.
@@ -40,6 +55,8 @@ public class OMRSTopicListenerWrapper implements OMRSTopicListener
         this.realListener = realListener;
         this.serviceName = serviceName;
         this.auditLog = auditLog;
+
+        this.saveInstanceEventInterest();
     }
 
 
@@ -55,6 +72,79 @@ public class OMRSTopicListenerWrapper implements OMRSTopicListener
     {
         this.realListener = realListener;
         this.auditLog = auditLog;
+
+        this.saveInstanceEventInterest();
+    }
+
+
+    /**
+     * Retrieve the instance events that the real listener is interested in.  Null means all.
+     */
+    private void saveInstanceEventInterest()
+    {
+        if (realListener instanceof OMRSInstanceEventInterest)
+        {
+            OMRSInstanceEventInterest   interest   = (OMRSInstanceEventInterest)realListener;
+            List<String>                typeNames  = interest.getInstanceTypeNamesOfInterest();
+            List<OMRSInstanceEventType> eventTypes = interest.getInstanceEventTypesOfInterest();
+
+            if (typeNames != null)
+            {
+                typeNamesOfInterest = new HashSet<>(typeNames);
+            }
+
+            if (eventTypes != null)
+            {
+                eventTypesOfInterest = EnumSet.noneOf(OMRSInstanceEventType.class);
+                eventTypesOfInterest.addAll(eventTypes);
+            }
+        }
+    }
+
+
+    /**
+     * Return whether the real listener wants to receive this type of instance event.
+     *
+     * @param eventType type of instance event
+     * @return boolean
+     */
+    boolean isInterestedInEventType(OMRSInstanceEventType eventType)
+    {
+        return (eventTypesOfInterest == null) || (eventTypesOfInterest.contains(eventType));
+    }
+
+
+    /**
+     * Return whether the real listener wants to receive instance events for the type of instance.  The instance
+     * type includes the names of its super types, which are matched too.
+     *
+     * @param instanceType type of the instance in the event
+     * @return boolean
+     */
+    boolean isInterestedInInstanceType(InstanceType instanceType)
+    {
+        if (typeNamesOfInterest == null)
+        {
+            return true;
+        }
+
+        if (typeNamesOfInterest.contains(instanceType.getTypeDefName()))
+        {
+            return true;
+        }
+
+        if (instanceType.getTypeDefSuperTypes() != null)
+        {
+            for (TypeDefLink superType : instanceType.getTypeDefSuperTypes())
+            {
+                if ((superType != null) && (typeNamesOfInterest.contains(superType.getName())))
+                {
+                    return true;
+                }
+            }
+        }
+
+        return false;
     }
 
 
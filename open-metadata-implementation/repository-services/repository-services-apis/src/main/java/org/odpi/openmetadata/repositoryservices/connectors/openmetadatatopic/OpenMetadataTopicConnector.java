@@ -122,10 +122,12 @@ public abstract class OpenMetadataTopicConnector extends ConnectorBase implement
 
     /**
      * Pass an event that has been received on the topic to each of the registered listeners.
+     * Events are normally distributed by the listener thread.  A subclass may call this method from its
+     * own threads to distribute events in parallel since the event processing context is held per thread.
      *
      * @param event OMRSEvent to distribute
      */
-    private void distributeEvent(IncomingEvent event)
+    protected void distributeEvent(IncomingEvent event)
     {
         //Initially clear the async event processing context to ensure that it will only
         //have results from processing this event
@@ -2,8 +2,12 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Future;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
@@ -840,6 +844,64 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                              UserNotAuthorizedException;
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  This is used in place of
+     * repeated calls to getEntityDetail when the caller needs many entities (such as the other ends of a page of
+     * relationships).  Entities that are not known, are only proxies, or the user is not permitted to see
+     * are not returned.  The default implementation calls getEntityDetail for each entity.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of the retrieved entities or null if none of the entities could be retrieved.
+     * @throws InvalidParameterException the userId is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids) throws InvalidParameterException,
+                                                                          RepositoryErrorException,
+                                                                          UserNotAuthorizedException
+    {
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (String guid : new LinkedHashSet<>(guids))
+        {
+            if (guid != null)
+            {
+                try
+                {
+                    EntityDetail entity = this.getEntityDetail(userId, guid);
+
+                    if (entity != null)
+                    {
+                        results.add(entity);
+                    }
+                }
+                catch (EntityNotKnownException | EntityProxyOnlyException | UserNotAuthorizedException error)
+                {
+                    /*
+                     * This entity is not returned.
+                     */
+                }
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
+
 
     /**
      * Return the relationships for a specific entity.
@@ -889,6 +951,89 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
                                                                                                              UserNotAuthorizedException;
 
 
+    /**
+     * Return the current relationships for a list of entities.  This is used in place of repeated calls to
+     * getRelationshipsForEntity when the caller needs the relationships of many entities (such as a page of
+     * search results).  Each relationship is returned once, even if both of its ends are in the list.
+     * Entities that are not known are ignored.  The default implementation calls getRelationshipsForEntity
+     * for each entity.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUIDs list of unique identifiers for the entities.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @return Relationships list.  Null means no relationships associated with the entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws PropertyErrorException the relationships could not be retrieved.
+     * @throws PagingErrorException the relationships could not be retrieved.
+     * @throws FunctionNotSupportedException the repository does not support the retrieval of relationships.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<Relationship> getRelationshipsForEntities(String       userId,
+                                                          List<String> entityGUIDs,
+                                                          String       relationshipTypeGUID) throws InvalidParameterException,
+                                                                                                    TypeErrorException,
+                                                                                                    RepositoryErrorException,
+                                                                                                    PropertyErrorException,
+                                                                                                    PagingErrorException,
+                                                                                                    FunctionNotSupportedException,
+                                                                                                    UserNotAuthorizedException
+    {
+        if ((entityGUIDs == null) || (entityGUIDs.isEmpty()))
+        {
+            return null;
+        }
+
+        List<Relationship> results           = new ArrayList<>();
+        Set<String>        relationshipGUIDs = new HashSet<>();
+
+        for (String entityGUID : new LinkedHashSet<>(entityGUIDs))
+        {
+            if (entityGUID != null)
+            {
+                try
+                {
+                    List<Relationship> relationships = this.getRelationshipsForEntity(userId,
+                                                                                      entityGUID,
+                                                                                      relationshipTypeGUID,
+                                                                                      0,
+                                                                                      null,
+                                                                                      null,
+                                                                                      null,
+                                                                                      null,
+                                                                                      0);
+
+                    if (relationships != null)
+                    {
+                        for (Relationship relationship : relationships)
+                        {
+                            if ((relationship != null) && (relationshipGUIDs.add(relationship.getGUID())))
+                            {
+                                results.add(relationship);
+                            }
+                        }
+                    }
+                }
+                catch (EntityNotKnownException error)
+                {
+                    /*
+                     * This entity has no relationships to return.
+                     */
+                }
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return a list of entities that match the supplied criteria.  The results can be returned over many pages.
      *
@@ -1559,6 +1704,61 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
     }
 
 
+    /**
+     * Create a batch of new entities.  Each entity in the list is a template that supplies the type, initial
+     * properties, initial classifications and (optionally) the initial status of a new entity - the
+     * rest of its header is ignored.  The new entities are returned in the same order as the templates.
+     *
+     * This default implementation calls addEntity for each template.  Repositories that are able to store
+     * the entities together (for example in a single transaction) should override this method.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newEntities list of templates for the new entities.
+     * @return list of new entities or null if no templates are supplied.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                              hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the entity's type.
+     * @throws ClassificationErrorException one or more of the requested classifications are either not known or
+     *                                           not defined for the entity type.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                       one of the requested statuses.
+     * @throws FunctionNotSupportedException the repository does not support maintenance of metadata.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> addEntities(String               userId,
+                                          List<EntityDetail>   newEntities) throws InvalidParameterException,
+                                                                                   RepositoryErrorException,
+                                                                                   TypeErrorException,
+                                                                                   PropertyErrorException,
+                                                                                   ClassificationErrorException,
+                                                                                   StatusNotSupportedException,
+                                                                                   FunctionNotSupportedException,
+                                                                                   UserNotAuthorizedException
+    {
+        if ((newEntities == null) || (newEntities.isEmpty()))
+        {
+            return null;
+        }
+
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (EntityDetail newEntity : newEntities)
+        {
+            results.add(addEntity(userId,
+                                  getNewInstanceTypeGUID(newEntity),
+                                  newEntity == null ? null : newEntity.getProperties(),
+                                  newEntity == null ? null : newEntity.getClassifications(),
+                                  newEntity == null ? null : newEntity.getStatus()));
+        }
+
+        return results;
+    }
+
+
     /**
      * Create an entity proxy in the metadata collection.  This is used to store relationships that span metadata
      * repositories.
@@ -1957,6 +2157,96 @@ public abstract class OMRSMetadataCollection implements AuditLoggingComponent
     }
 
 
+    /**
+     * Create a batch of new relationships.  Each relationship in the list is a template that supplies the type,
+     * initial properties, the entities to connect (through the GUIDs of its entity proxies) and (optionally) the
+     * initial status of a new relationship - the rest of its header is ignored.  The new relationships are
+     * returned in the same order as the templates.
+     *
+     * This default implementation calls addRelationship for each template.  Repositories that are able to store
+     * the relationships together (for example in a single transaction) should override this method.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newRelationships list of templates for the new relationships.
+     * @return list of new relationships or null if no templates are supplied.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                            hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the relationship's type.
+     * @throws EntityNotKnownException one of the requested entities is not known in the metadata collection.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                     one of the requested statuses.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     * @throws FunctionNotSupportedException the repository does not support maintenance of metadata.
+     */
+    public List<Relationship> addRelationships(String               userId,
+                                               List<Relationship>   newRelationships) throws InvalidParameterException,
+                                                                                             RepositoryErrorException,
+                                                                                             TypeErrorException,
+                                                                                             PropertyErrorException,
+                                                                                             EntityNotKnownException,
+                                                                                             StatusNotSupportedException,
+                                                                                             UserNotAuthorizedException,
+                                                                                             FunctionNotSupportedException
+    {
+        if ((newRelationships == null) || (newRelationships.isEmpty()))
+        {
+            return null;
+        }
+
+        List<Relationship> results = new ArrayList<>();
+
+        for (Relationship newRelationship : newRelationships)
+        {
+            results.add(addRelationship(userId,
+                                        getNewInstanceTypeGUID(newRelationship),
+                                        newRelationship == null ? null : newRelationship.getProperties(),
+                                        newRelationship == null ? null : getEntityProxyGUID(newRelationship.getEntityOneProxy()),
+                                        newRelationship == null ? null : getEntityProxyGUID(newRelationship.getEntityTwoProxy()),
+                                        newRelationship == null ? null : newRelationship.getStatus()));
+        }
+
+        return results;
+    }
+
+
+    /**
+     * Return the unique identifier of the type of a template for a new instance.
+     *
+     * @param template template for a new entity or relationship
+     * @return type GUID or null if the template or its type is missing
+     */
+    protected String getNewInstanceTypeGUID(InstanceAuditHeader   template)
+    {
+        if ((template == null) || (template.getType() == null))
+        {
+            return null;
+        }
+
+        return template.getType().getTypeDefGUID();
+    }
+
+
+    /**
+     * Return the unique identifier of the entity described by an entity proxy.
+     *
+     * @param entityProxy entity proxy from a template for a new relationship
+     * @return entity GUID or null if the proxy is missing
+     */
+    protected String getEntityProxyGUID(EntityProxy   entityProxy)
+    {
+        if (entityProxy == null)
+        {
+            return null;
+        }
+
+        return entityProxy.getGUID();
+    }
+
+
     /**
      * Update the status of a specific relationship.
      *
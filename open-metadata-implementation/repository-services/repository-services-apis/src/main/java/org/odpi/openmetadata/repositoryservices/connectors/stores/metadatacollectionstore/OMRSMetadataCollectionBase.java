@@ -1901,6 +1901,35 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate the parameters for getRelationshipsForEntities.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    protected void getRelationshipsForEntitiesParameterValidation(String userId,
+                                                                  String relationshipTypeGUID) throws InvalidParameterException,
+                                                                                                      TypeErrorException,
+                                                                                                      RepositoryErrorException,
+                                                                                                      UserNotAuthorizedException
+    {
+        final String methodName        = "getRelationshipsForEntities";
+        final String typeGUIDParameter = "relationshipTypeGUID";
+
+        /*
+         * Validate parameters
+         */
+        super.basicRequestValidation(userId, methodName);
+        repositoryValidator.validateOptionalTypeGUID(repositoryName, typeGUIDParameter, relationshipTypeGUID,
+                                                     methodName);
+    }
+
+
     /**
      * Validate the parameters for findEntitiesByProperty.
      *
@@ -3774,6 +3803,56 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate that the templates passed to addEntities are valid.  Each template is validated in the same way
+     * as the parameters of addEntity.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newEntities list of templates for the new entities.
+     * @param methodName calling method
+     * @return list of the typeDefs of the entities' types in the same order as the templates
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                              hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the entity's type.
+     * @throws ClassificationErrorException one or more of the requested classifications are either not known or
+     *                                           not defined for the entity type.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                       one of the requested statuses.
+     */
+    protected List<TypeDef> addEntitiesParameterValidation(String               userId,
+                                                           List<EntityDetail>   newEntities,
+                                                           String               methodName) throws InvalidParameterException,
+                                                                                                   RepositoryErrorException,
+                                                                                                   TypeErrorException,
+                                                                                                   PropertyErrorException,
+                                                                                                   ClassificationErrorException,
+                                                                                                   StatusNotSupportedException
+    {
+        List<TypeDef> typeDefs = new ArrayList<>();
+
+        super.basicRequestValidation(userId, methodName);
+
+        if (newEntities != null)
+        {
+            for (EntityDetail newEntity : newEntities)
+            {
+                typeDefs.add(this.addEntityParameterValidation(userId,
+                                                               getNewInstanceTypeGUID(newEntity),
+                                                               newEntity == null ? null : newEntity.getProperties(),
+                                                               newEntity == null ? null : newEntity.getClassifications(),
+                                                               newEntity == null ? null : newEntity.getStatus(),
+                                                               methodName));
+            }
+        }
+
+        return typeDefs;
+    }
+
+
     /**
      * Validate parameters needed to save a new entity that is sourced from an external technology.
      *
@@ -4301,6 +4380,56 @@ public abstract class OMRSMetadataCollectionBase extends OMRSMetadataCollection
     }
 
 
+    /**
+     * Validate that the templates passed to addRelationships are valid.  Each template is validated in the same
+     * way as the parameters of addRelationship.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newRelationships list of templates for the new relationships.
+     * @param methodName calling method
+     * @return list of the typeDefs of the relationships' types in the same order as the templates
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                            hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the relationship's type.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                     one of the requested statuses.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    protected List<TypeDef> addRelationshipsParameterValidation(String               userId,
+                                                                List<Relationship>   newRelationships,
+                                                                String               methodName) throws InvalidParameterException,
+                                                                                                         RepositoryErrorException,
+                                                                                                         TypeErrorException,
+                                                                                                         PropertyErrorException,
+                                                                                                         StatusNotSupportedException,
+                                                                                                         UserNotAuthorizedException
+    {
+        List<TypeDef> typeDefs = new ArrayList<>();
+
+        super.basicRequestValidation(userId, methodName);
+
+        if (newRelationships != null)
+        {
+            for (Relationship newRelationship : newRelationships)
+            {
+                typeDefs.add(this.addRelationshipParameterValidation(userId,
+                                                                     getNewInstanceTypeGUID(newRelationship),
+                                                                     newRelationship == null ? null : newRelationship.getProperties(),
+                                                                     newRelationship == null ? null : getEntityProxyGUID(newRelationship.getEntityOneProxy()),
+                                                                     newRelationship == null ? null : getEntityProxyGUID(newRelationship.getEntityTwoProxy()),
+                                                                     newRelationship == null ? null : newRelationship.getStatus(),
+                                                                     methodName));
+            }
+        }
+
+        return typeDefs;
+    }
+
+
     /**
      * Validate the parameters needed to save a new relationship that is sourced from an external technology.
      *
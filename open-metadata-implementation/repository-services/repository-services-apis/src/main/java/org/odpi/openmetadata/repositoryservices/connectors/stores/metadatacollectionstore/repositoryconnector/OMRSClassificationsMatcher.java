@@ -0,0 +1,24 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+
+/**
+ * OMRSClassificationsMatcher tests entities against the classification-based conditions of a find request.
+ * It is returned by the OMRSRepositoryValidator once per request, so that the match properties of each
+ * condition are only compiled once however many entities are tested.  A matcher is used by the thread
+ * processing the request.
+ */
+public interface OMRSClassificationsMatcher
+{
+    /**
+     * Test whether the classifications of an entity match the conditions.
+     *
+     * @param entity  the entity instance.
+     * @return boolean flag indicating whether the classifications match
+     * @throws InvalidParameterException  invalid search criteria
+     */
+    boolean matches(EntitySummary entity) throws InvalidParameterException;
+}
@@ -0,0 +1,29 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceAuditHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+
+/**
+ * OMRSInstancePropertiesMatcher tests instances against the property-based criteria of a find request.
+ * It is returned by the OMRSRepositoryValidator once per request, so that the criteria are only compiled once
+ * however many instances are tested.  A matcher is used by the thread processing the request.
+ */
+public interface OMRSInstancePropertiesMatcher
+{
+    /**
+     * Test whether an instance matches the criteria.
+     *
+     * @param instanceHeader  the header of the instance.
+     * @param instanceProperties  the properties from the instance.
+     * @return boolean flag indicating whether the instance matches
+     * @throws InvalidParameterException  invalid search criteria
+     * @throws RepositoryErrorException  the properties are not properly set up in the instance
+     */
+    boolean matches(InstanceAuditHeader instanceHeader,
+                    InstanceProperties  instanceProperties) throws InvalidParameterException,
+                                                                   RepositoryErrorException;
+}
@@ -316,6 +316,30 @@ public abstract class OMRSRepositoryConnector extends ConnectorBase implements O
     }
 
 
+    /**
+     * Start bulk load mode.  This is called before a large number of instances are saved to the repository,
+     * such as while the instances of an open metadata archive are loaded.  A repository that can write these
+     * instances more efficiently in batches overrides this method.  The default implementation does nothing.
+     *
+     * @param batchSize number of writes in each batch - zero or less uses the repository's default
+     * @throws RepositoryErrorException the repository is not able to start bulk load mode
+     */
+    public void startBulkLoad(int batchSize) throws RepositoryErrorException
+    {
+    }
+
+
+    /**
+     * End bulk load mode.  Each call to startBulkLoad is matched by a call to this method, even if the
+     * load fails.  The default implementation does nothing.
+     *
+     * @throws RepositoryErrorException the repository is not able to complete the instances that were loaded
+     */
+    public void endBulkLoad() throws RepositoryErrorException
+    {
+    }
+
+
     /**
      * Returns the metadata collection object that provides an OMRS abstraction of the metadata within
      * a metadata repository.
@@ -1396,6 +1396,40 @@ public interface OMRSRepositoryValidator
                                           EntitySummary         entity) throws InvalidParameterException;
 
 
+    /**
+     * Return a matcher that tests instances against the match properties of a find request.  The match
+     * properties are compiled once, so the matcher should be used for all of the instances tested by the request.
+     *
+     * @param matchProperties  the properties to match.
+     * @param matchCriteria  rule on how the match should occur.
+     * @return matcher with the same results as verifyMatchingInstancePropertyValues
+     */
+    OMRSInstancePropertiesMatcher getInstancePropertiesMatcher(InstanceProperties matchProperties,
+                                                               MatchCriteria      matchCriteria);
+
+
+    /**
+     * Return a matcher that tests instances against the property-based conditions of a find request.  The
+     * conditions are compiled once, so the matcher should be used for all of the instances tested by the request.
+     *
+     * @param matchProperties  the property-based conditions to match.
+     * @return matcher with the same results as verifyMatchingInstancePropertyValues
+     * @throws InvalidParameterException  invalid search criteria
+     */
+    OMRSInstancePropertiesMatcher getInstancePropertiesMatcher(SearchProperties matchProperties) throws InvalidParameterException;
+
+
+    /**
+     * Return a matcher that tests entities against the classification-based conditions of a find request.  The
+     * conditions are compiled once, so the matcher should be used for all of the entities tested by the request.
+     *
+     * @param matchClassifications  the classification-based conditions to match.
+     * @return matcher with the same results as verifyMatchingClassifications
+     * @throws InvalidParameterException  invalid search criteria
+     */
+    OMRSClassificationsMatcher getClassificationsMatcher(SearchClassifications matchClassifications) throws InvalidParameterException;
+
+
     /**
      * Validates that an instance has the correct header for it to be a reference copy.
      *
@@ -1448,6 +1482,21 @@ public interface OMRSRepositoryValidator
                                                         String             methodName) throws RepositoryErrorException;
 
 
+    /**
+     * Return a matcher that tests whether any of the string property values of an instance match the search
+     * criteria (a regular expression).  The regular expression is compiled once, so the matcher should be used
+     * for all of the instances tested by the request.
+     *
+     * @param sourceName  source of the request (used for logging)
+     * @param searchCriteria  regular expression for testing the property values
+     * @param methodName  name of the method requiring the search.
+     * @return matcher with the same results as verifyInstancePropertiesMatchSearchCriteria
+     */
+    OMRSInstancePropertiesMatcher getSearchCriteriaMatcher(String sourceName,
+                                                           String searchCriteria,
+                                                           String methodName);
+
+
     /**
      * Search for property values matching the supplied property value
      *
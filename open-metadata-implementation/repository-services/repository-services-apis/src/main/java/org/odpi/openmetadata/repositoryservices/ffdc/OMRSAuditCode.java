@@ -370,6 +370,13 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                        "The local server has completed the processing of the open metadata archive.",
                        "Verify that the expected content has loaded into the local repository."),
 
+    ARCHIVE_BULK_LOAD_FAILED("OMRS-AUDIT-0054",
+                       OMRSAuditLogRecordSeverity.EXCEPTION,
+                       "The local repository was unable to bulk load the instances from open metadata archive {0} because of a {1} " +
+                                     "exception with the following error message: {2}",
+                       "The instances from the archive may not be complete in the local repository.",
+                       "Review the error message to determine the cause of the problem.  Once it is corrected, reload the archive."),
+
     REGISTERED_WITH_COHORT("OMRS-AUDIT-0060",
                            OMRSAuditLogRecordSeverity.COHORT,
                            "Registering with open metadata repository cohort {0} using metadata collection id {1}",
@@ -407,6 +414,24 @@ public enum OMRSAuditCode implements AuditLogMessageSet
                          "The local server has started up the logging destinations defined in the configuration document.",
                          "Validate that all of the logging destinations are working."),
 
+    INMEMORY_REPOSITORY_RECOVERED("OMRS-AUDIT-0065",
+                         OMRSAuditLogRecordSeverity.STARTUP,
+                         "The in-memory repository {0} has replayed {1} snapshot records and {2} log records from its persistence directory {3} in {4} milliseconds",
+                         "The local repository has restored the instances that were stored before the server last shut down.",
+                         "No action is required.  This is part of the normal operation of the in-memory repository when persistence is configured."),
+
+    INMEMORY_REPOSITORY_LOG_TRUNCATED("OMRS-AUDIT-0066",
+                         OMRSAuditLogRecordSeverity.ERROR,
+                         "The in-memory repository {0} found an incomplete or corrupt record at the end of its persistence log, at position {1} of file {2}",
+                         "The record is discarded.  This is normal if the server failed while the record was being written.",
+                         "If the server shut down cleanly, check the disk for errors and validate that the recent changes to the repository are present."),
+
+    INMEMORY_REPOSITORY_SNAPSHOT_FAILED("OMRS-AUDIT-0067",
+                         OMRSAuditLogRecordSeverity.EXCEPTION,
+                         "The in-memory repository {0} was unable to write a snapshot to its persistence directory {1} because of a {2} exception with message {3}",
+                         "The repository continues to record changes in its current log and will try to write a snapshot again later.  The log continues to grow until a snapshot is written.",
+                         "Check that the persistence directory is writable by the server and that the file system is not full."),
+
     EVENT_PARSING_ERROR("OMRS-AUDIT-0100",
                       OMRSAuditLogRecordSeverity.EXCEPTION,
                       "Unable parse an incoming event {0} due to exception {1}",
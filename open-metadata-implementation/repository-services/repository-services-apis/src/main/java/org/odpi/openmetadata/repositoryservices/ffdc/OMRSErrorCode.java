@@ -476,6 +476,14 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The system is unable to create a list of TypeDefs for the enterprise.",
             "Look for errors in the set up of the repositories in the audit log and verify that TypeDefs are configured. " +
                                             "Retry the request when the cohort configuration is correct."),
+    INVALID_FEDERATION_PROPERTY(400, "OMRS-ENTERPRISE-REPOSITORY-400-003",
+            "The value {0} of configuration property {1} for the enterprise repository connector of {2} is not a whole number of zero or more.",
+            "The enterprise repository connector is not started.",
+            "Correct the configuration properties of the enterprise connection and restart the server."),
+    INVALID_INSTANCE_CACHE_PROPERTY(400, "OMRS-REST-REPOSITORY-CONNECTOR-400-001",
+            "The value {0} of configuration property {1} for the REST repository connector of repository {2} is not a whole number of zero or more.",
+            "The connector is not able to create its metadata collection so the remote repository can not be called.",
+            "Correct the configuration properties of the connection for the remote repository and restart the server."),
     DUPLICATE_TYPE_IN_ARCHIVE(400, "OMRS-ARCHIVE-BUILDER-400-001",
             "The same type {0} of category {1} has been added twice to an open metadata archive. First version was {2} and the second was {3}.",
             "The build of the archive terminates.",
@@ -562,6 +570,14 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The system is unable to store the log record to this destination because it is not able to" +
                                               " convert its contents into a suitable format.",
             "Investigate and correct the cause of the conversion failure."),
+    INVALID_AUDIT_LOG_QUERY_PARAMETER(400, "OMRS-AUDIT-LOG-400-009",
+            "The {0} parameter passed on the {1} query to the Audit Log destination {2} is invalid",
+            "The system is unable to process the query request and throws the InvalidParameterException.",
+            "Correct the parameter and retry the query.  The dates are optional but the start date must not be after the end date."),
+    INVALID_AUDIT_LOG_QUERY_PAGING(400, "OMRS-AUDIT-LOG-400-010",
+            "The offset {0} and maximum records {1} passed on the {2} query to the Audit Log destination {3} are invalid",
+            "The system is unable to process the query request and throws the PagingErrorException.",
+            "Correct the paging parameters so that neither is negative and retry the query.  A maximum records value of zero means no limit."),
     REPOSITORY_NOT_AVAILABLE(404, "OMRS-REPOSITORY-404-001",
             "The open metadata repository connector for server {0} is not active and is unable to service the {1} request",
             "The system is unable to retrieve any metadata properties from this repository.",
@@ -807,6 +823,11 @@ public enum OMRSErrorCode implements ExceptionMessageSet
              "Connector {0} is unable to send a null event",
              "There is an internal problem in the open metadata repository code logic.",
              "Report this to the Egeria team via a GitHub issue so that it can be checked and fixed."),
+    INMEMORY_PERSISTENCE_FAILURE(500, "OMRS-INMEMORY-REPOSITORY-500-001",
+             "The in-memory repository {0} received an unexpected {1} exception while using its persistence files in directory {2}. The exception message was: {3}",
+             "The repository is unable to save or recover its instances.  The request fails.",
+             "Check that the persistence directory exists, is writable by the server and that the file system is not full.  " +
+             "If a persistence file is reported as corrupt, restore the directory from a backup."),
     METHOD_NOT_IMPLEMENTED(501, "OMRS-METADATA-COLLECTION-501-001",
             "OMRSMetadataInstanceStore method {0} for OMRS Connector {1} to repository type {2} is not implemented",
             "A method in MetadataCollectionBase was called which means that the connector's OMRSMetadataInstanceStore " +
@@ -835,6 +856,10 @@ public enum OMRSErrorCode implements ExceptionMessageSet
             "The enterprise repository services has detected a repository connector from cohort {0} for metadata collection identifier {1} that has a null metadata collection API object.",
             "There is an internal error in the OMRS Repository Connector implementation.",
             "Raise a Github issue on the Egeria project to get this fixed."),
+    FEDERATED_REQUEST_TIMEOUT(503, "OMRS-ENTERPRISE-REPOSITORY-503-004",
+            "The enterprise repository services abandoned the {0} request to the repository for metadata collection {1} because it did not respond within {2} milliseconds.",
+            "The request to this cohort member is cancelled and the results from the other repositories are returned.",
+            "Check that the remote repository is running and responsive.  If it is normally slow, increase the federation timeout in the configuration properties of the enterprise connection."),
     NULL_CONTENT_MANAGER(503, "OMRS-LOCAL-REPOSITORY-503-001",
             "A null repository content manager has been passed to one of the local repository's components on method {0}.",
             "There is an internal error in the OMRS Local Repository Connector implementation, or the way it has been initialized.",
@@ -0,0 +1,127 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.rest.properties;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Objects;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+
+/**
+ * RelationshipsForEntitiesRequest is the request structure used on the OMRS REST API call that retrieves the
+ * relationships for a list of entities.  It adds the optional type of relationship to the list of entity guids.
+ */
+@JsonAutoDetect(getterVisibility=PUBLIC_ONLY, setterVisibility=PUBLIC_ONLY, fieldVisibility=NONE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonIgnoreProperties(ignoreUnknown=true)
+public class RelationshipsForEntitiesRequest extends GUIDListRequest
+{
+    private static final long    serialVersionUID = 1L;
+
+    private String relationshipTypeGUID = null;
+
+
+    /**
+     * Default constructor
+     */
+    public RelationshipsForEntitiesRequest()
+    {
+        super();
+    }
+
+
+    /**
+     * Copy/clone constructor
+     *
+     * @param template object to copy
+     */
+    public RelationshipsForEntitiesRequest(RelationshipsForEntitiesRequest template)
+    {
+        super(template);
+
+        if (template != null)
+        {
+            relationshipTypeGUID = template.getRelationshipTypeGUID();
+        }
+    }
+
+
+    /**
+     * Return the unique identifier of the type of relationship to return.
+     *
+     * @return relationship type guid (null for all types)
+     */
+    public String getRelationshipTypeGUID()
+    {
+        return relationshipTypeGUID;
+    }
+
+
+    /**
+     * Set up the unique identifier of the type of relationship to return.
+     *
+     * @param relationshipTypeGUID relationship type guid (null for all types)
+     */
+    public void setRelationshipTypeGUID(String relationshipTypeGUID)
+    {
+        this.relationshipTypeGUID = relationshipTypeGUID;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "RelationshipsForEntitiesRequest{" +
+                "guids=" + getGUIDs() +
+                ", relationshipTypeGUID='" + relationshipTypeGUID + '\'' +
+                '}';
+    }
+
+
+    /**
+     * Compare the values of the supplied object with those stored in the current object.
+     *
+     * @param objectToCompare supplied object
+     * @return boolean result of comparison
+     */
+    @Override
+    public boolean equals(Object objectToCompare)
+    {
+        if (this == objectToCompare)
+        {
+            return true;
+        }
+        if (!(objectToCompare instanceof RelationshipsForEntitiesRequest))
+        {
+            return false;
+        }
+        if (!super.equals(objectToCompare))
+        {
+            return false;
+        }
+        RelationshipsForEntitiesRequest that = (RelationshipsForEntitiesRequest) objectToCompare;
+        return Objects.equals(relationshipTypeGUID, that.relationshipTypeGUID);
+    }
+
+
+    /**
+     * Create a hash code for this element type.
+     *
+     * @return int hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(super.hashCode(), relationshipTypeGUID);
+    }
+}
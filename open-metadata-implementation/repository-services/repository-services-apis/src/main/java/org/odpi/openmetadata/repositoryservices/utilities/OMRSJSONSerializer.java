@@ -0,0 +1,187 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.utilities;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.odpi.openmetadata.repositoryservices.events.beans.OMRSEventBean;
+import org.odpi.openmetadata.repositoryservices.events.beans.v1.OMRSEventV1;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * OMRSJSONSerializer converts the events and other beans that the open metadata repository services exchange and store
+ * to and from JSON.  Creating a Jackson ObjectMapper is expensive because it builds its serializer and deserializer
+ * caches from scratch, so this class shares a single ObjectMapper across the server and hands out the immutable,
+ * thread-safe ObjectReaders and ObjectWriters built from it.  The readers are cached by bean class.
+ *
+ * The shared ObjectMapper uses Jackson's default configuration, so the JSON is the same as that produced by a
+ * new ObjectMapper().  It is not exposed because changing its configuration would affect every caller.
+ */
+public class OMRSJSONSerializer
+{
+    private static final ObjectMapper                objectMapper  = new ObjectMapper();
+    private static final ObjectWriter                objectWriter  = objectMapper.writer();
+    private static final Map<Class<?>, ObjectReader> objectReaders = new ConcurrentHashMap<>();
+
+    static
+    {
+        /*
+         * The OMRS event readers are built as the class is loaded so that the first event is not delayed.
+         */
+        getReader(OMRSEventBean.class);
+        getReader(OMRSEventV1.class);
+    }
+
+
+    /**
+     * Private constructor since all of the methods are static.
+     */
+    private OMRSJSONSerializer()
+    {
+    }
+
+
+    /**
+     * Return the reader for a bean class.  The reader is thread-safe and may be cached by the caller.
+     *
+     * @param beanClass class of the bean to read
+     * @return object reader
+     */
+    public static ObjectReader getReader(Class<?>   beanClass)
+    {
+        return objectReaders.computeIfAbsent(beanClass, objectMapper::readerFor);
+    }
+
+
+    /**
+     * Return the writer for beans.  The writer uses the runtime class of each bean so it is the same
+     * for all bean classes.  It is thread-safe and may be cached by the caller.
+     *
+     * @return object writer
+     */
+    public static ObjectWriter getWriter()
+    {
+        return objectWriter;
+    }
+
+
+    /**
+     * Parse a JSON string into a bean.
+     *
+     * @param json JSON string
+     * @param beanClass class of the bean
+     * @param <T> type of the bean
+     * @return bean
+     * @throws IOException the JSON is not valid for the bean class
+     */
+    public static <T> T readValue(String    json,
+                                  Class<T>  beanClass) throws IOException
+    {
+        return getReader(beanClass).readValue(json);
+    }
+
+
+    /**
+     * Parse a JSON string into a value of a generic type such as a list or map.  The reader for a generic
+     * type is not cached.
+     *
+     * @param json JSON string
+     * @param valueType type of the value
+     * @param <T> type of the value
+     * @return value
+     * @throws IOException the JSON is not valid for the type
+     */
+    public static <T> T readValue(String            json,
+                                  TypeReference<T>  valueType) throws IOException
+    {
+        return objectMapper.readerFor(valueType).readValue(json);
+    }
+
+
+    /**
+     * Parse JSON encoded as UTF-8 bytes into a bean.
+     *
+     * @param json JSON bytes
+     * @param beanClass class of the bean
+     * @param <T> type of the bean
+     * @return bean
+     * @throws IOException the JSON is not valid for the bean class
+     */
+    public static <T> T readValue(byte[]    json,
+                                  Class<T>  beanClass) throws IOException
+    {
+        return getReader(beanClass).readValue(json);
+    }
+
+
+    /**
+     * Parse JSON encoded as UTF-8 bytes into a bean.  The bytes between the buffer's position and limit are read
+     * without changing the position.
+     *
+     * @param json buffer holding the JSON bytes
+     * @param beanClass class of the bean
+     * @param <T> type of the bean
+     * @return bean
+     * @throws IOException the JSON is not valid for the bean class
+     */
+    public static <T> T readValue(ByteBuffer json,
+                                  Class<T>   beanClass) throws IOException
+    {
+        if (json.hasArray())
+        {
+            return getReader(beanClass).readValue(json.array(), json.arrayOffset() + json.position(), json.remaining());
+        }
+
+        byte[] jsonBytes = new byte[json.remaining()];
+
+        json.duplicate().get(jsonBytes);
+
+        return getReader(beanClass).readValue(jsonBytes);
+    }
+
+
+    /**
+     * Convert a bean into a JSON string.
+     *
+     * @param bean bean to convert
+     * @return JSON string
+     * @throws IOException the bean can not be converted to JSON
+     */
+    public static String writeValueAsString(Object   bean) throws IOException
+    {
+        return objectWriter.writeValueAsString(bean);
+    }
+
+
+    /**
+     * Convert a bean into JSON encoded as UTF-8 bytes.  This avoids creating the intermediate string when the
+     * JSON is to be sent or stored as bytes.
+     *
+     * @param bean bean to convert
+     * @return JSON bytes
+     * @throws IOException the bean can not be converted to JSON
+     */
+    public static byte[] writeValueAsBytes(Object   bean) throws IOException
+    {
+        return objectWriter.writeValueAsBytes(bean);
+    }
+
+
+    /**
+     * Convert a bean into JSON encoded as UTF-8 bytes in a buffer that is ready to read.
+     *
+     * @param bean bean to convert
+     * @return buffer holding the JSON bytes
+     * @throws IOException the bean can not be converted to JSON
+     */
+    public static ByteBuffer writeValueAsByteBuffer(Object   bean) throws IOException
+    {
+        return ByteBuffer.wrap(objectWriter.writeValueAsBytes(bean));
+    }
+}
@@ -0,0 +1,48 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.utilities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * OMRSLRUMap is a map that keeps its entries in access order and drops the least recently used entry when
+ * it holds more than its maximum number of entries.  It is used by the caches in the open metadata repository
+ * services.  Like LinkedHashMap, it is not thread-safe, so callers that share a map between threads must
+ * synchronize their access to it.  Note that get() changes the access order and so counts as a modification.
+ *
+ * @param <K> type of the key
+ * @param <V> type of the value
+ */
+public class OMRSLRUMap<K, V> extends LinkedHashMap<K, V>
+{
+    private static final long serialVersionUID = 1L;
+
+    private final int maxEntries;
+
+
+    /**
+     * Create an empty map.
+     *
+     * @param maxEntries maximum number of entries to keep
+     */
+    public OMRSLRUMap(int maxEntries)
+    {
+        super(16, 0.75f, true);
+
+        this.maxEntries = maxEntries;
+    }
+
+
+    /**
+     * Drop the least recently used entry once the map is over its maximum size.
+     *
+     * @param eldest least recently used entry
+     * @return true if the entry is to be removed
+     */
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest)
+    {
+        return size() > maxEntries;
+    }
+}
@@ -0,0 +1,137 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.omrstopic;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventType;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSJSONSerializer;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+
+/**
+ * Verify that the OMRSTopicConnector only passes instance events to the listeners that are interested in them
+ * and that the same event object is shared between the listeners.
+ */
+public class TestOMRSTopicConnectorRouting
+{
+    /**
+     * Listener that records the instance events it receives.
+     */
+    private static class RecordingListener implements OMRSTopicListener, OMRSInstanceEventInterest
+    {
+        private final List<String>                typeNames;
+        private final List<OMRSInstanceEventType> eventTypes;
+        private final List<OMRSInstanceEvent>     receivedEvents = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingListener(List<String>                typeNames,
+                          List<OMRSInstanceEventType> eventTypes)
+        {
+            this.typeNames = typeNames;
+            this.eventTypes = eventTypes;
+        }
+
+        public List<String> getInstanceTypeNamesOfInterest()
+        {
+            return typeNames;
+        }
+
+        public List<OMRSInstanceEventType> getInstanceEventTypesOfInterest()
+        {
+            return eventTypes;
+        }
+
+        public void processRegistryEvent(OMRSRegistryEvent event)
+        {
+        }
+
+        public void processTypeDefEvent(OMRSTypeDefEvent event)
+        {
+        }
+
+        public void processInstanceEvent(OMRSInstanceEvent event)
+        {
+            receivedEvents.add(event);
+        }
+    }
+
+
+    /**
+     * Return the JSON for an updated entity event for an entity of type DataFile.
+     *
+     * @return JSON string
+     * @throws Exception problem serializing the event
+     */
+    private String getDataFileEvent() throws Exception
+    {
+        TypeDefLink assetType = new TypeDefLink();
+        assetType.setGUID("asset-guid");
+        assetType.setName("Asset");
+
+        InstanceType instanceType = new InstanceType();
+        instanceType.setTypeDefGUID("data-file-guid");
+        instanceType.setTypeDefName("DataFile");
+        instanceType.setTypeDefSuperTypes(Collections.singletonList(assetType));
+
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID("entity-guid");
+        entity.setType(instanceType);
+
+        OMRSInstanceEvent instanceEvent = new OMRSInstanceEvent(OMRSInstanceEventType.UPDATED_ENTITY_EVENT, entity, entity);
+
+        return OMRSJSONSerializer.writeValueAsString(instanceEvent.getOMRSEventV1());
+    }
+
+
+    /**
+     * Validate that listeners receive the events for their types, including subtypes, and event types.
+     *
+     * @throws Exception problem building the event
+     */
+    @SuppressWarnings(value = "deprecation")
+    @Test public void testInstanceEventRouting() throws Exception
+    {
+        OMRSTopicConnector topicConnector = new OMRSTopicConnector();
+
+        RecordingListener allListener          = new RecordingListener(null, null);
+        RecordingListener superTypeListener    = new RecordingListener(Collections.singletonList("Asset"), null);
+        RecordingListener otherTypeListener    = new RecordingListener(Collections.singletonList("Process"), null);
+        RecordingListener otherEventListener   = new RecordingListener(null,
+                                                                       Collections.singletonList(OMRSInstanceEventType.NEW_ENTITY_EVENT));
+        RecordingListener noEventsListener     = new RecordingListener(null, new ArrayList<>());
+
+        topicConnector.registerListener(allListener);
+        topicConnector.registerListener(superTypeListener);
+        topicConnector.registerListener(otherTypeListener);
+        topicConnector.registerListener(otherEventListener);
+        topicConnector.registerListener(noEventsListener);
+
+        String event = getDataFileEvent();
+
+        /*
+         * The second event uses the routing map built by the first.
+         */
+        topicConnector.processEvent(event);
+        topicConnector.processEvent(event);
+
+        assertEquals(allListener.receivedEvents.size(), 2);
+        assertEquals(superTypeListener.receivedEvents.size(), 2);
+        assertEquals(otherTypeListener.receivedEvents.size(), 0);
+        assertEquals(otherEventListener.receivedEvents.size(), 0);
+        assertEquals(noEventsListener.receivedEvents.size(), 0);
+
+        assertSame(allListener.receivedEvents.get(0), superTypeListener.receivedEvents.get(0));
+        assertEquals(allListener.receivedEvents.get(0).getEntity().getGUID(), "entity-guid");
+    }
+}
@@ -0,0 +1,228 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityProxyOnlyException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Test the default implementations of the batch retrieval methods of OMRSMetadataCollection that call the
+ * single instance methods in a loop.
+ */
+public class TestOMRSMetadataCollectionBatchDefaults
+{
+    private static final String USER_ID = "testUser";
+
+
+    /**
+     * TestMetadataCollection returns instances for fixed GUIDs and records the single instance calls.
+     */
+    private static class TestMetadataCollection extends OMRSMetadataCollectionBase
+    {
+        private List<String> entityGUIDsRequested       = new ArrayList<>();
+        private List<String> relationshipGUIDsRequested = new ArrayList<>();
+
+        TestMetadataCollection()
+        {
+            super(null, "TestRepository", null, null, "test-collection");
+        }
+
+        @Override
+        public EntityDetail getEntityDetail(String userId,
+                                            String guid) throws RepositoryErrorException,
+                                                                EntityNotKnownException,
+                                                                EntityProxyOnlyException
+        {
+            final String methodName = "getEntityDetail";
+
+            entityGUIDsRequested.add(guid);
+
+            switch (guid)
+            {
+                case "unknown":
+                    throw new EntityNotKnownException(OMRSErrorCode.ENTITY_NOT_KNOWN.getMessageDefinition(guid, methodName, repositoryName),
+                                                      this.getClass().getName(),
+                                                      methodName);
+
+                case "proxy":
+                    throw new EntityProxyOnlyException(OMRSErrorCode.ENTITY_PROXY_ONLY.getMessageDefinition(guid, repositoryName, "guid", methodName),
+                                                       this.getClass().getName(),
+                                                       methodName);
+
+                case "broken":
+                    throw new RepositoryErrorException(OMRSErrorCode.REPOSITORY_LOGIC_ERROR.getMessageDefinition(repositoryName, methodName, guid),
+                                                       this.getClass().getName(),
+                                                       methodName);
+
+                default:
+                    EntityDetail entity = new EntityDetail();
+                    entity.setGUID(guid);
+                    return entity;
+            }
+        }
+
+        @Override
+        public List<Relationship> getRelationshipsForEntity(String               userId,
+                                                            String               entityGUID,
+                                                            String               relationshipTypeGUID,
+                                                            int                  fromRelationshipElement,
+                                                            List<InstanceStatus> limitResultsByStatus,
+                                                            Date                 asOfTime,
+                                                            String               sequencingProperty,
+                                                            SequencingOrder      sequencingOrder,
+                                                            int                  pageSize) throws RepositoryErrorException,
+                                                                                                  EntityNotKnownException
+        {
+            final String methodName = "getRelationshipsForEntity";
+
+            relationshipGUIDsRequested.add(entityGUID);
+
+            switch (entityGUID)
+            {
+                case "unknown":
+                    throw new EntityNotKnownException(OMRSErrorCode.ENTITY_NOT_KNOWN.getMessageDefinition(entityGUID, methodName, repositoryName),
+                                                      this.getClass().getName(),
+                                                      methodName);
+
+                case "broken":
+                    throw new RepositoryErrorException(OMRSErrorCode.REPOSITORY_LOGIC_ERROR.getMessageDefinition(repositoryName, methodName, entityGUID),
+                                                       this.getClass().getName(),
+                                                       methodName);
+
+                case "lonely":
+                    return null;
+
+                default:
+                    /*
+                     * Every entity is linked to the others through the "shared" relationship.
+                     */
+                    Relationship ownRelationship = new Relationship();
+                    ownRelationship.setGUID(entityGUID + "-" + relationshipTypeGUID);
+
+                    Relationship sharedRelationship = new Relationship();
+                    sharedRelationship.setGUID("shared");
+
+                    return Arrays.asList(ownRelationship, sharedRelationship);
+            }
+        }
+    }
+
+
+    private List<String> getGUIDs(List<? extends InstanceHeader> instances)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (InstanceHeader instance : instances)
+        {
+            guids.add(instance.getGUID());
+        }
+
+        return guids;
+    }
+
+
+    @Test
+    void testGetEntityDetailsSkipsMissingEntities() throws Exception
+    {
+        TestMetadataCollection metadataCollection = new TestMetadataCollection();
+
+        List<EntityDetail> entities = metadataCollection.getEntityDetails(USER_ID,
+                                                                          Arrays.asList("1111", "unknown", null, "proxy", "2222", "1111"));
+
+        assertEquals(getGUIDs(entities), Arrays.asList("1111", "2222"));
+        assertEquals(metadataCollection.entityGUIDsRequested, Arrays.asList("1111", "unknown", "proxy", "2222"));
+    }
+
+
+    @Test
+    void testGetEntityDetailsReturnsNullWhenNothingFound() throws Exception
+    {
+        TestMetadataCollection metadataCollection = new TestMetadataCollection();
+
+        assertNull(metadataCollection.getEntityDetails(USER_ID, null));
+        assertNull(metadataCollection.getEntityDetails(USER_ID, Collections.emptyList()));
+        assertNull(metadataCollection.getEntityDetails(USER_ID, Arrays.asList("unknown", "proxy")));
+    }
+
+
+    @Test
+    void testGetEntityDetailsPassesOnRepositoryErrors() throws Exception
+    {
+        TestMetadataCollection metadataCollection = new TestMetadataCollection();
+
+        try
+        {
+            metadataCollection.getEntityDetails(USER_ID, Arrays.asList("1111", "broken", "2222"));
+            fail("The repository error should be returned");
+        }
+        catch (RepositoryErrorException error)
+        {
+            // expected
+        }
+
+        assertEquals(metadataCollection.entityGUIDsRequested, Arrays.asList("1111", "broken"));
+    }
+
+
+    @Test
+    void testGetRelationshipsForEntitiesRemovesDuplicates() throws Exception
+    {
+        TestMetadataCollection metadataCollection = new TestMetadataCollection();
+
+        List<Relationship> relationships = metadataCollection.getRelationshipsForEntities(USER_ID,
+                                                                                          Arrays.asList("1111", "unknown", null, "lonely", "2222", "1111"),
+                                                                                          "type");
+
+        assertEquals(getGUIDs(relationships), Arrays.asList("1111-type", "shared", "2222-type"));
+        assertEquals(metadataCollection.relationshipGUIDsRequested, Arrays.asList("1111", "unknown", "lonely", "2222"));
+    }
+
+
+    @Test
+    void testGetRelationshipsForEntitiesReturnsNullWhenNothingFound() throws Exception
+    {
+        TestMetadataCollection metadataCollection = new TestMetadataCollection();
+
+        assertNull(metadataCollection.getRelationshipsForEntities(USER_ID, null, null));
+        assertNull(metadataCollection.getRelationshipsForEntities(USER_ID, Collections.emptyList(), null));
+        assertNull(metadataCollection.getRelationshipsForEntities(USER_ID, Arrays.asList("unknown", "lonely"), null));
+    }
+
+
+    @Test
+    void testGetRelationshipsForEntitiesPassesOnRepositoryErrors() throws Exception
+    {
+        TestMetadataCollection metadataCollection = new TestMetadataCollection();
+
+        try
+        {
+            metadataCollection.getRelationshipsForEntities(USER_ID, Arrays.asList("1111", "broken", "2222"), null);
+            fail("The repository error should be returned");
+        }
+        catch (RepositoryErrorException error)
+        {
+            // expected
+        }
+
+        assertEquals(metadataCollection.relationshipGUIDsRequested, Arrays.asList("1111", "broken"));
+    }
+}
@@ -0,0 +1,186 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.clients;
+
+import org.odpi.openmetadata.adapters.connectors.restclients.RESTClientConnector;
+import org.odpi.openmetadata.adapters.connectors.restclients.ffdc.exceptions.RESTServerException;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.rest.properties.EntityListResponse;
+import org.odpi.openmetadata.repositoryservices.rest.properties.GUIDListRequest;
+import org.odpi.openmetadata.repositoryservices.rest.properties.RelationshipListResponse;
+import org.odpi.openmetadata.repositoryservices.rest.properties.RelationshipsForEntitiesRequest;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Test the client calls that retrieve instances for a list of entities in one REST call.
+ */
+public class TestMetadataCollectionServicesClientBatch
+{
+    private static final String SERVER_URL = "https://localhost:9443";
+    private static final String USER_ID    = "testUser";
+
+
+    /**
+     * Return a client that sends its REST calls to the supplied connector.
+     *
+     * @param restClient mock REST client connector
+     * @return client
+     * @throws Exception problem setting up the client
+     */
+    private LocalRepositoryServicesClient getClient(RESTClientConnector restClient) throws Exception
+    {
+        LocalRepositoryServicesClient client = new LocalRepositoryServicesClient("TestRepository", SERVER_URL);
+
+        Field restClientField = MetadataCollectionServicesClient.class.getDeclaredField("restClient");
+        restClientField.setAccessible(true);
+        restClientField.set(client, restClient);
+        restClientField.setAccessible(false);
+
+        return client;
+    }
+
+
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        return entity;
+    }
+
+
+    @Test
+    void testGetEntityDetails() throws Exception
+    {
+        List<String>       guids    = Arrays.asList("1111", "2222");
+        List<EntityDetail> entities = Arrays.asList(getEntity("1111"), getEntity("2222"));
+
+        EntityListResponse response = new EntityListResponse();
+        response.setEntities(entities);
+
+        GUIDListRequest[] requestBody = new GUIDListRequest[1];
+
+        RESTClientConnector restClient = mock(RESTClientConnector.class);
+        when(restClient.callPostRESTCall(eq("getEntityDetails"), eq(EntityListResponse.class), anyString(), any(), any()))
+                .thenAnswer(invocation ->
+                {
+                    assertTrue(((String)invocation.getArgument(2)).endsWith("/instances/entities/by-guids"));
+                    requestBody[0] = invocation.getArgument(3);
+                    return response;
+                });
+
+        assertEquals(getClient(restClient).getEntityDetails(USER_ID, guids), entities);
+        assertEquals(requestBody[0].getGUIDs(), guids);
+    }
+
+
+    @Test
+    void testGetEntityDetailsNotSupported() throws Exception
+    {
+        EntityListResponse response = new EntityListResponse();
+        response.setRelatedHTTPCode(501);
+        response.setExceptionClassName(FunctionNotSupportedException.class.getName());
+
+        RESTClientConnector restClient = mock(RESTClientConnector.class);
+        when(restClient.callPostRESTCall(eq("getEntityDetails"), eq(EntityListResponse.class), anyString(), any(), any()))
+                .thenReturn(response);
+
+        try
+        {
+            getClient(restClient).getEntityDetails(USER_ID, Collections.singletonList("1111"));
+            fail("The server does not support the call");
+        }
+        catch (FunctionNotSupportedException error)
+        {
+            // expected
+        }
+    }
+
+
+    @Test
+    void testGetEntityDetailsRESTFailure() throws Exception
+    {
+        RESTClientConnector restClient = mock(RESTClientConnector.class);
+        when(restClient.callPostRESTCall(eq("getEntityDetails"), eq(EntityListResponse.class), anyString(), any(), any()))
+                .thenThrow(RESTServerException.class);
+
+        try
+        {
+            getClient(restClient).getEntityDetails(USER_ID, Collections.singletonList("1111"));
+            fail("The REST call failed");
+        }
+        catch (RepositoryErrorException error)
+        {
+            // expected
+        }
+    }
+
+
+    @Test
+    void testGetRelationshipsForEntities() throws Exception
+    {
+        List<String> guids = Arrays.asList("1111", "2222");
+
+        Relationship relationship = new Relationship();
+        relationship.setGUID("r1");
+
+        RelationshipListResponse response = new RelationshipListResponse();
+        response.setRelationships(Collections.singletonList(relationship));
+
+        RelationshipsForEntitiesRequest[] requestBody = new RelationshipsForEntitiesRequest[1];
+
+        RESTClientConnector restClient = mock(RESTClientConnector.class);
+        when(restClient.callPostRESTCall(eq("getRelationshipsForEntities"), eq(RelationshipListResponse.class), anyString(), any(), any()))
+                .thenAnswer(invocation ->
+                {
+                    assertTrue(((String)invocation.getArgument(2)).endsWith("/instances/entities/by-guids/relationships"));
+                    requestBody[0] = invocation.getArgument(3);
+                    return response;
+                });
+
+        assertEquals(getClient(restClient).getRelationshipsForEntities(USER_ID, guids, "relationship-type-guid"),
+                     response.getRelationships());
+        assertEquals(requestBody[0].getGUIDs(), guids);
+        assertEquals(requestBody[0].getRelationshipTypeGUID(), "relationship-type-guid");
+    }
+
+
+    @Test
+    void testGetRelationshipsForEntitiesNotSupported() throws Exception
+    {
+        RelationshipListResponse response = new RelationshipListResponse();
+        response.setRelatedHTTPCode(501);
+        response.setExceptionClassName(FunctionNotSupportedException.class.getName());
+
+        RESTClientConnector restClient = mock(RESTClientConnector.class);
+        when(restClient.callPostRESTCall(eq("getRelationshipsForEntities"), eq(RelationshipListResponse.class), anyString(), any(), any()))
+                .thenReturn(response);
+
+        try
+        {
+            getClient(restClient).getRelationshipsForEntities(USER_ID, Collections.singletonList("1111"), null);
+            fail("The server does not support the call");
+        }
+        catch (FunctionNotSupportedException error)
+        {
+            // expected
+        }
+    }
+}
@@ -349,6 +349,16 @@ public class OMRSOperationalServices
                                                                           localRepositoryContentManager);
         enterpriseOMRSTopicConnector = initializeEnterpriseOMRSTopicConnector(enterpriseAccessConfig);
 
+        /*
+         * The instance events from the cohorts are republished on the enterprise OMRS Topic.  The connector manager
+         * passes them to the remote connectors so any instances they have cached are kept up to date.
+         */
+        if (enterpriseOMRSTopicConnector != null)
+        {
+            enterpriseOMRSTopicConnector.registerListener(enterpriseConnectorManager,
+                                                          OMRSAuditingComponent.ENTERPRISE_CONNECTOR_MANAGER.getComponentName());
+        }
+
         /*
          * The archive manager loads pre-defined types and instances that are stored in open metadata archives.
          */
@@ -429,7 +439,8 @@ public class OMRSOperationalServices
         if (localRepositoryConnector != null)
         {
             archiveManager.setLocalRepository(localRepositoryContentManager,
-                                              localRepositoryConnector.getIncomingInstanceEventProcessor());
+                                              localRepositoryConnector.getIncomingInstanceEventProcessor(),
+                                              localRepositoryConnector);
         }
         else
         {
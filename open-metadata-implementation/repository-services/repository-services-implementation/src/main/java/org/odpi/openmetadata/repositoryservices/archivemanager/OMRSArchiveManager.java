@@ -15,6 +15,7 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.O
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefPatch;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
 import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEventProcessorInterface;
 import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
 
@@ -31,6 +32,7 @@ public class OMRSArchiveManager
     private List<OpenMetadataArchiveStoreConnector> openMetadataArchiveStores   = new ArrayList<>();
     private OMRSRepositoryContentManager            repositoryContentManager    = null;
     private OMRSInstanceEventProcessorInterface     localInstanceEventProcessor = null;
+    private OMRSRepositoryConnector                 localRepositoryConnector    = null;
 
 
     /*
@@ -92,9 +94,26 @@ public class OMRSArchiveManager
      */
     public void setLocalRepository(OMRSRepositoryContentManager              repositoryContentManager,
                                    OMRSInstanceEventProcessorInterface       instanceProcessor)
+    {
+        this.setLocalRepository(repositoryContentManager, instanceProcessor, null);
+    }
+
+
+    /**
+     * The local repository is accessed through its inbound event processors.  The connector to the local repository
+     * is used to switch the repository into bulk load mode while the instances from an archive are loaded.
+     *
+     * @param repositoryContentManager typeDef processor for the local repository
+     * @param instanceProcessor  instance processor for the local repository
+     * @param localRepositoryConnector connector to the local repository - null if there is no local repository
+     */
+    public void setLocalRepository(OMRSRepositoryContentManager              repositoryContentManager,
+                                   OMRSInstanceEventProcessorInterface       instanceProcessor,
+                                   OMRSRepositoryConnector                   localRepositoryConnector)
     {
         this.repositoryContentManager = repositoryContentManager;
         this.localInstanceEventProcessor = instanceProcessor;
+        this.localRepositoryConnector = localRepositoryConnector;
 
         /*
          * The repository content manager is seeded with all of the open metadata types.
@@ -213,7 +232,19 @@ public class OMRSArchiveManager
 
             if (archiveInstanceStore != null)
             {
-                instanceCount = this.processInstanceStore(archiveProperties, archiveInstanceStore, instanceProcessor);
+                boolean bulkLoad = this.startBulkLoad(archiveProperties, instanceProcessor);
+
+                try
+                {
+                    instanceCount = this.processInstanceStore(archiveProperties, archiveInstanceStore, instanceProcessor);
+                }
+                finally
+                {
+                    if (bulkLoad)
+                    {
+                        this.endBulkLoad(archiveProperties);
+                    }
+                }
             }
 
             auditLog.logMessage(actionDescription,
@@ -467,6 +498,67 @@ public class OMRSArchiveManager
     }
 
 
+    /**
+     * Switch the local repository into bulk load mode before the instances from an archive are loaded.
+     * If the repository is not able to start bulk load mode, the instances are loaded one at a time.
+     *
+     * @param archiveProperties properties of the archive used for logging
+     * @param instanceProcessor the processor to add the instances to the local repository
+     * @return whether bulk load mode was started
+     */
+    private boolean startBulkLoad(OpenMetadataArchiveProperties       archiveProperties,
+                                  OMRSInstanceEventProcessorInterface instanceProcessor)
+    {
+        final String actionDescription = "Start bulk load of Open Metadata Archive";
+
+        if ((instanceProcessor == null) || (localRepositoryConnector == null))
+        {
+            return false;
+        }
+
+        try
+        {
+            localRepositoryConnector.startBulkLoad(0);
+
+            return true;
+        }
+        catch (Throwable error)
+        {
+            auditLog.logException(actionDescription,
+                                  OMRSAuditCode.ARCHIVE_BULK_LOAD_FAILED.getMessageDefinition(archiveProperties.getArchiveName(),
+                                                                                              error.getClass().getName(),
+                                                                                              error.getMessage()),
+                                  error);
+            return false;
+        }
+    }
+
+
+    /**
+     * Return the local repository to writing each instance in its own request once the instances from an
+     * archive have been loaded.
+     *
+     * @param archiveProperties properties of the archive used for logging
+     */
+    private void endBulkLoad(OpenMetadataArchiveProperties archiveProperties)
+    {
+        final String actionDescription = "End bulk load of Open Metadata Archive";
+
+        try
+        {
+            localRepositoryConnector.endBulkLoad();
+        }
+        catch (Throwable error)
+        {
+            auditLog.logException(actionDescription,
+                                  OMRSAuditCode.ARCHIVE_BULK_LOAD_FAILED.getMessageDefinition(archiveProperties.getArchiveName(),
+                                                                                              error.getClass().getName(),
+                                                                                              error.getMessage()),
+                                  error);
+        }
+    }
+
+
     /**
      * Set up the header of an archive instance.
      *
@@ -11,6 +11,10 @@ import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedExceptio
 import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSAuditCode;
 import org.odpi.openmetadata.repositoryservices.auditlog.OMRSAuditingComponent;
+import org.odpi.openmetadata.repositoryservices.connectors.omrstopic.OMRSTopicListener;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSRegistryEvent;
+import org.odpi.openmetadata.repositoryservices.events.OMRSTypeDefEvent;
 import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
@@ -22,8 +26,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -62,6 +68,12 @@ import java.util.UUID;
  *     </li>
  * </ul>
  * <p>
+ * In addition, the OMRSEnterpriseConnectorManager is an OMRSTopicListener.  When it is registered with the
+ * enterprise OMRS Topic, it passes the instance events from the cohorts to each remote connector it has handed out
+ * that is also an OMRSTopicListener.  This allows remote connectors that cache instances to keep their
+ * caches consistent with the remote repositories.
+ * </p>
+ * <p>
  * With these interfaces, the OMRSEnterpriseConnectorManager acts as a go between the OMRSCohortRegistry and
  * the EnterpriseOMRSRepositoryConnector instances.
  * </p>
@@ -70,7 +82,7 @@ import java.util.UUID;
  * server is operating multi-threaded.
  * </p>
  */
-public class OMRSEnterpriseConnectorManager implements OMRSConnectionConsumer, OMRSConnectorManager
+public class OMRSEnterpriseConnectorManager implements OMRSConnectionConsumer, OMRSConnectorManager, OMRSTopicListener
 {
 
     private static final Logger log = LoggerFactory.getLogger(OMRSEnterpriseConnectorManager.class);
@@ -83,6 +95,7 @@ public class OMRSEnterpriseConnectorManager implements OMRSConnectionConsumer, O
     private OMRSRepositoryContentManager      repositoryContentManager;
     private List<RegisteredConnector>         registeredRemoteConnectors   = new ArrayList<>();
     private List<RegisteredConnectorConsumer> registeredConnectorConsumers = new ArrayList<>();
+    private final Map<String, Map<String, OMRSTopicListener>> remoteConnectorListeners = new HashMap<>();
     private AuditLog                          auditLog;
     private String                            localServerUserId;
     private String                            localServerPassword;
@@ -165,6 +178,11 @@ public class OMRSEnterpriseConnectorManager implements OMRSConnectionConsumer, O
         {
             registeredConnectorConsumer.getConnectorConsumer().disconnectAllConnectors();
         }
+
+        synchronized (remoteConnectorListeners)
+        {
+            remoteConnectorListeners.clear();
+        }
     }
 
 
@@ -350,13 +368,17 @@ public class OMRSEnterpriseConnectorManager implements OMRSConnectionConsumer, O
         {
             for (RegisteredConnectorConsumer registeredConnectorConsumer : registeredConnectorConsumers)
             {
-                registeredConnectorConsumer.getConnectorConsumer().addRemoteConnector(metadataCollectionId,
-                                                                                      this.getOMRSRepositoryConnector(remoteConnection,
-                                                                                                                      remoteServerName,
-                                                                                                                      remoteServerType,
-                                                                                                                      owningOrganizationName,
-                                                                                                                      metadataCollectionId,
-                                                                                                                      metadataCollectionName));
+                OMRSRepositoryConnector consumerConnector = this.getOMRSRepositoryConnector(remoteConnection,
+                                                                                            remoteServerName,
+                                                                                            remoteServerType,
+                                                                                            owningOrganizationName,
+                                                                                            metadataCollectionId,
+                                                                                            metadataCollectionName);
+
+                registeredConnectorConsumer.getConnectorConsumer().addRemoteConnector(metadataCollectionId, consumerConnector);
+                this.saveRemoteConnectorListener(metadataCollectionId,
+                                                 registeredConnectorConsumer.getConnectorConsumerId(),
+                                                 consumerConnector);
             }
 
             this.printFederationList(actionDescription);
@@ -468,6 +490,11 @@ public class OMRSEnterpriseConnectorManager implements OMRSConnectionConsumer, O
                 registeredConnectorConsumer.getConnectorConsumer().removeRemoteConnector(metadataCollectionId);
             }
 
+            synchronized (remoteConnectorListeners)
+            {
+                remoteConnectorListeners.remove(metadataCollectionId);
+            }
+
             this.printFederationList(actionDescription);
         }
     }
@@ -549,13 +576,17 @@ public class OMRSEnterpriseConnectorManager implements OMRSConnectionConsumer, O
             {
                 try
                 {
-                    connectorConsumer.addRemoteConnector(registeredConnector.getMetadataCollectionId(),
-                                                         getOMRSRepositoryConnector(registeredConnector.getConnection(),
-                                                                                    registeredConnector.getServerName(),
-                                                                                    registeredConnector.getServerType(),
-                                                                                    registeredConnector.getOwningOrganizationName(),
-                                                                                    registeredConnector.getMetadataCollectionId(),
-                                                                                    registeredConnector.getMetadataCollectionName()));
+                    OMRSRepositoryConnector consumerConnector = getOMRSRepositoryConnector(registeredConnector.getConnection(),
+                                                                                           registeredConnector.getServerName(),
+                                                                                           registeredConnector.getServerType(),
+                                                                                           registeredConnector.getOwningOrganizationName(),
+                                                                                           registeredConnector.getMetadataCollectionId(),
+                                                                                           registeredConnector.getMetadataCollectionName());
+
+                    connectorConsumer.addRemoteConnector(registeredConnector.getMetadataCollectionId(), consumerConnector);
+                    this.saveRemoteConnectorListener(registeredConnector.getMetadataCollectionId(),
+                                                     connectorConsumerId,
+                                                     consumerConnector);
                 }
                 catch (ConnectorCheckedException | ConnectionCheckedException error)
                 {
@@ -599,6 +630,102 @@ public class OMRSEnterpriseConnectorManager implements OMRSConnectionConsumer, O
                 break;
             }
         }
+
+        /*
+         * The connector consumer's remote connectors no longer need to see the cohort events.
+         */
+        synchronized (remoteConnectorListeners)
+        {
+            for (Map<String, OMRSTopicListener> consumerListeners : remoteConnectorListeners.values())
+            {
+                consumerListeners.remove(connectorConsumerId);
+            }
+        }
+    }
+
+
+    /**
+     * Remember a remote connector that has been passed to a connector consumer if it wants to receive the
+     * instance events from the cohorts.  Any connector previously passed to the same connector consumer for the
+     * same metadata collection is replaced.
+     *
+     * @param metadataCollectionId unique identifier of the remote metadata collection
+     * @param connectorConsumerId unique identifier of the connector consumer that received the connector
+     * @param remoteConnector connector passed to the connector consumer
+     */
+    private void saveRemoteConnectorListener(String                  metadataCollectionId,
+                                             String                  connectorConsumerId,
+                                             OMRSRepositoryConnector remoteConnector)
+    {
+        if (remoteConnector instanceof OMRSTopicListener)
+        {
+            synchronized (remoteConnectorListeners)
+            {
+                Map<String, OMRSTopicListener> consumerListeners = remoteConnectorListeners.computeIfAbsent(metadataCollectionId,
+                                                                                                             k -> new HashMap<>());
+
+                consumerListeners.put(connectorConsumerId, (OMRSTopicListener) remoteConnector);
+            }
+        }
+    }
+
+
+    /**
+     * Registry events are processed by the cohort registries so they are ignored here.
+     *
+     * @param event inbound event
+     */
+    public void processRegistryEvent(OMRSRegistryEvent event)
+    {
+        /*
+         * Nothing to do
+         */
+    }
+
+
+    /**
+     * TypeDef events are processed by the repository content manager so they are ignored here.
+     *
+     * @param event inbound event
+     */
+    public void processTypeDefEvent(OMRSTypeDefEvent event)
+    {
+        /*
+         * Nothing to do
+         */
+    }
+
+
+    /**
+     * Pass an instance event received from the enterprise OMRS Topic to each of the remote connectors
+     * that are listening for them.  The listeners are called outside of the lock so a slow connector does not
+     * hold up changes to the cohort membership.
+     *
+     * @param event inbound event
+     */
+    public void processInstanceEvent(OMRSInstanceEvent event)
+    {
+        List<OMRSTopicListener> listeners = new ArrayList<>();
+
+        synchronized (remoteConnectorListeners)
+        {
+            for (Map<String, OMRSTopicListener> consumerListeners : remoteConnectorListeners.values())
+            {
+                listeners.addAll(consumerListeners.values());
+            }
+        }
+
+        for (OMRSTopicListener listener : listeners)
+        {
+            try
+            {
+                listener.processInstanceEvent(event);
+            }
+            catch (Throwable error)
+            {
+                log.error("Exception from remote connector processing instance event: " + error.getMessage());
+            }
+        }
     }
 
 
@@ -34,6 +34,20 @@ public class EnterpriseOMRSConnectorProvider extends OMRSRepositoryConnectorProv
 {
     private static final Logger log = LoggerFactory.getLogger(EnterpriseOMRSConnectorProvider.class);
 
+    /**
+     * Configuration property for the maximum number of threads used to call the cohort members in parallel.
+     * Zero means issue the calls sequentially.
+     */
+    public static final String maxFederationThreadsPropertyName = "maxFederationThreads";
+    static final int           defaultMaxFederationThreads      = 16;
+
+    /**
+     * Configuration property for the number of milliseconds to wait for a cohort member to respond to
+     * a federated request.  Zero means wait indefinitely.
+     */
+    public static final String federationTimeoutPropertyName = "federationTimeout";
+    static final long          defaultFederationTimeout      = 60000;
+
     private  OMRSConnectorManager         connectorManager;
     private  OMRSRepositoryContentManager repositoryContentManager;
     private  String                       localServerName;
@@ -6,6 +6,7 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollectionBase;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchClassifications;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederatedPagingCursorCache;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.ParallelFederationControl;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.SequentialFederationControl;
@@ -64,6 +65,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     private EnterpriseOMRSRepositoryConnector enterpriseParentConnector;
     private String                            localMetadataCollectionId;
     private AuditLog                          auditLog;
+    private FederatedPagingCursorCache        pagingCursorCache = new FederatedPagingCursorCache();
 
 
     /**
@@ -136,7 +138,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         GetAllTypesExecutor executor = new GetAllTypesExecutor(userId,
                                                                methodName,
                                                                localMetadataCollectionId,
@@ -986,6 +988,54 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  Each repository in the cohort
+     * is called once for the whole list.  Entities that are not known, are only proxies, or the user
+     * is not permitted to see are not returned.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of the retrieved entities or null if none of the entities could be retrieved.
+     * @throws InvalidParameterException the userId is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids) throws InvalidParameterException,
+                                                                          RepositoryErrorException,
+                                                                          UserNotAuthorizedException
+    {
+        final String  methodName        = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        super.basicRequestValidation(userId, methodName);
+
+        if ((guids == null) || (guids.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl   federationControl = new SequentialFederationControl(userId, cohortConnectors, methodName);
+        GetEntitiesExecutor executor          = new GetEntitiesExecutor(userId, guids, methodName);
+
+        federationControl.executeCommand(executor);
+
+        return executor.getEntityDetails();
+    }
+
+
     /**
      * Return a historical version of an entity.  This includes the header, classifications and properties of the entity.
      *
@@ -1111,7 +1161,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                 federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                 federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         GetRelationshipsForEntityExecutor executor          = new GetRelationshipsForEntityExecutor(userId,
                                                                                                     entityGUID,
                                                                                                     relationshipTypeGUID,
@@ -1126,6 +1176,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                     repositoryValidator,
                                                                                                     methodName);
 
+        executor.setPagingCursorCache(pagingCursorCache);
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1150,6 +1202,73 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the current relationships for a list of entities.  Each repository in the cohort is called once
+     * for the whole list.  Each relationship is returned once and entities that are not known are ignored.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUIDs list of unique identifiers for the entities.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @return Relationships list.  Null means no relationships associated with the entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws PropertyErrorException the relationships could not be retrieved.
+     * @throws PagingErrorException the relationships could not be retrieved.
+     * @throws FunctionNotSupportedException the repository does not support the retrieval of relationships.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationshipsForEntities(String       userId,
+                                                          List<String> entityGUIDs,
+                                                          String       relationshipTypeGUID) throws InvalidParameterException,
+                                                                                                    TypeErrorException,
+                                                                                                    RepositoryErrorException,
+                                                                                                    PropertyErrorException,
+                                                                                                    PagingErrorException,
+                                                                                                    FunctionNotSupportedException,
+                                                                                                    UserNotAuthorizedException
+    {
+        final String  methodName        = "getRelationshipsForEntities";
+
+        /*
+         * Validate parameters
+         */
+        super.getRelationshipsForEntitiesParameterValidation(userId, relationshipTypeGUID);
+
+        if ((entityGUIDs == null) || (entityGUIDs.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl                   federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
+        GetRelationshipsForEntitiesExecutor executor          = new GetRelationshipsForEntitiesExecutor(userId,
+                                                                                                        entityGUIDs,
+                                                                                                        relationshipTypeGUID,
+                                                                                                        localMetadataCollectionId,
+                                                                                                        auditLog,
+                                                                                                        repositoryValidator,
+                                                                                                        methodName);
+
+        /*
+         * Ready to process the request.  Some repositories may produce exceptions.  These exceptions are saved
+         * and will be returned if there are no positive results from any repository.
+         */
+        federationControl.executeCommand(executor);
+
+        return executor.getResults(enterpriseParentConnector);
+    }
+
+
     /**
      * Return a list of entities that match the supplied properties according to the match criteria.  The results
      * can be returned over many pages.
@@ -1229,7 +1348,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                 federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                 federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindEntitiesByPropertyExecutor    executor          = new FindEntitiesByPropertyExecutor(userId,
                                                                                                  entityTypeGUID,
                                                                                                  matchProperties,
@@ -1246,6 +1365,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                  repositoryValidator,
                                                                                                  methodName);
 
+        executor.setPagingCursorCache(pagingCursorCache);
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1335,7 +1456,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindEntitiesExecutor executor       = new FindEntitiesExecutor(userId,
                                                                        entityTypeGUID,
                                                                        entitySubtypeGUIDs,
@@ -1352,6 +1473,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                        repositoryValidator,
                                                                        methodName);
 
+        executor.setPagingCursorCache(pagingCursorCache);
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1447,7 +1570,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                       federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                       federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindEntitiesByClassificationExecutor    executor          = new FindEntitiesByClassificationExecutor(userId,
                                                                                                              entityTypeGUID,
                                                                                                              classificationName,
@@ -1464,6 +1587,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                              repositoryValidator,
                                                                                                              methodName);
 
+        executor.setPagingCursorCache(pagingCursorCache);
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1554,7 +1679,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                   federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                   federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindEntitiesByPropertyValueExecutor executor          = new FindEntitiesByPropertyValueExecutor(userId,
                                                                                                         entityTypeGUID,
                                                                                                         searchCriteria,
@@ -1570,6 +1695,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         repositoryValidator,
                                                                                                         methodName);
 
+        executor.setPagingCursorCache(pagingCursorCache);
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1612,7 +1739,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new SequentialFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         GetRelationshipExecutor executor    = new GetRelationshipExecutor(userId, guid, false, methodName);
 
         /*
@@ -1660,7 +1787,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new SequentialFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         GetRelationshipExecutor executor    = new GetRelationshipExecutor(userId, guid, true, methodName);
 
         /*
@@ -1712,7 +1839,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl federationControl = new SequentialFederationControl(userId, cohortConnectors, methodName);
+        FederationControl federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         GetRelationshipExecutor executor    = new GetRelationshipExecutor(userId, guid, asOfTime, methodName);
 
         /*
@@ -1804,7 +1931,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl         federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl         federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindRelationshipsExecutor executor          = new FindRelationshipsExecutor(userId,
                                                                                     relationshipTypeGUID,
                                                                                     relationshipSubtypeGUIDs,
@@ -1820,6 +1947,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                     repositoryValidator,
                                                                                     methodName);
 
+        executor.setPagingCursorCache(pagingCursorCache);
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -1908,7 +2037,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                   federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                   federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindRelationshipsByPropertyExecutor executor          = new FindRelationshipsByPropertyExecutor(userId,
                                                                                                         relationshipTypeGUID,
                                                                                                         matchProperties,
@@ -1924,6 +2053,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                         repositoryValidator,
                                                                                                         methodName);
 
+        executor.setPagingCursorCache(pagingCursorCache);
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -2011,7 +2142,7 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
          */
         List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
 
-        FederationControl                        federationControl = new ParallelFederationControl(userId, cohortConnectors, methodName);
+        FederationControl                        federationControl = this.getParallelFederationControl(userId, cohortConnectors, methodName);
         FindRelationshipsByPropertyValueExecutor executor          = new FindRelationshipsByPropertyValueExecutor(userId,
                                                                                                                   relationshipTypeGUID,
                                                                                                                   searchCriteria,
@@ -2026,6 +2157,8 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                                                                   repositoryValidator,
                                                                                                                   methodName);
 
+        executor.setPagingCursorCache(pagingCursorCache);
+
         /*
          * Ready to process the request.  Create requests occur in the first repository that accepts the call.
          * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
@@ -2617,6 +2750,70 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Create a batch of new entities.  Each entity in the list is a template that supplies the type, initial
+     * properties, initial classifications and (optionally) the initial status of a new entity.
+     * All of the entities are created in the first repository that accepts the request.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newEntities list of templates for the new entities.
+     * @return list of new entities in the same order as the templates or null if no templates are supplied.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                              hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the entity's type.
+     * @throws ClassificationErrorException one or more of the requested classifications are either not known or
+     *                                           not defined for the entity type.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                       one of the requested statuses.
+     * @throws FunctionNotSupportedException the repository does not support maintenance of metadata.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> addEntities(String               userId,
+                                          List<EntityDetail>   newEntities) throws InvalidParameterException,
+                                                                                   RepositoryErrorException,
+                                                                                   TypeErrorException,
+                                                                                   PropertyErrorException,
+                                                                                   ClassificationErrorException,
+                                                                                   StatusNotSupportedException,
+                                                                                   FunctionNotSupportedException,
+                                                                                   UserNotAuthorizedException
+    {
+        final String  methodName  = "addEntities";
+
+        super.addEntitiesParameterValidation(userId, newEntities, methodName);
+
+        if ((newEntities == null) || (newEntities.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl federationControl = new SequentialFederationControl(userId, cohortConnectors, methodName);
+        AddEntitiesExecutor executor = new AddEntitiesExecutor(userId, newEntities, methodName);
+
+        /*
+         * Ready to process the request.  Create requests occur in the first repository that accepts the call.
+         * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
+         * there are no positive results from any repository.
+         */
+        federationControl.executeCommand(executor);
+
+        return executor.getNewEntities();
+    }
+
+
     /**
      * Save a new entity that is sourced from an external technology.  The external
      * technology is identified by a GUID and a name.  These can be recorded in a
@@ -3405,6 +3602,129 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Create a batch of new relationships.  Each relationship in the list is a template that supplies the type,
+     * initial properties, the entities to connect (through the GUIDs of its entity proxies) and (optionally) the
+     * initial status of a new relationship.  The entities at each end are located first and then all of the
+     * relationships are created in the first repository that knows (or can add a proxy for) every one of
+     * these entities and accepts the request.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newRelationships list of templates for the new relationships.
+     * @return list of new relationships in the same order as the templates or null if no templates are supplied.
+     * @throws InvalidParameterException   one of the parameters is invalid or null.
+     * @throws RepositoryErrorException    there is a problem communicating with the metadata repository where
+     *                                     the metadata collection is stored.
+     * @throws TypeErrorException          one of the requested types is not known, or not supported in the metadata
+     *                                     repository hosting the metadata collection.
+     * @throws PropertyErrorException      one or more of the requested properties are not defined, or have different
+     *                                     characteristics in the TypeDef for the relationship's type.
+     * @throws EntityNotKnownException     one of the requested entities is not known in the metadata collection.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                     one of the requested statuses.
+     * @throws FunctionNotSupportedException the repository does not support maintenance of metadata.
+     * @throws UserNotAuthorizedException  the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> addRelationships(String               userId,
+                                               List<Relationship>   newRelationships) throws InvalidParameterException,
+                                                                                             RepositoryErrorException,
+                                                                                             TypeErrorException,
+                                                                                             PropertyErrorException,
+                                                                                             EntityNotKnownException,
+                                                                                             StatusNotSupportedException,
+                                                                                             UserNotAuthorizedException,
+                                                                                             FunctionNotSupportedException
+    {
+        final String methodName = "addRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.addRelationshipsParameterValidation(userId, newRelationships, methodName);
+
+        if ((newRelationships == null) || (newRelationships.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Each template is copied with the full proxies of the entities that it connects so that
+         * these proxies can be added to the repository that creates the relationships.
+         */
+        Map<String, EntityProxy> entityProxies         = new HashMap<>();
+        List<Relationship>       relationshipTemplates = new ArrayList<>();
+
+        for (Relationship newRelationship : newRelationships)
+        {
+            Relationship relationshipTemplate = new Relationship(newRelationship);
+
+            relationshipTemplate.setEntityOneProxy(this.getEntityProxy(userId,
+                                                                       newRelationship.getEntityOneProxy().getGUID(),
+                                                                       entityProxies,
+                                                                       methodName));
+            relationshipTemplate.setEntityTwoProxy(this.getEntityProxy(userId,
+                                                                       newRelationship.getEntityTwoProxy().getGUID(),
+                                                                       entityProxies,
+                                                                       methodName));
+            relationshipTemplates.add(relationshipTemplate);
+        }
+
+        /*
+         * Validation complete, ok to continue with request
+         *
+         * The list of cohort connectors are retrieved for each request to ensure that any changes in
+         * the shape of the cohort are reflected immediately.
+         */
+        List<OMRSRepositoryConnector> cohortConnectors = enterpriseParentConnector.getCohortConnectors(methodName);
+
+        FederationControl federationControl = new SequentialFederationControl(userId, cohortConnectors, methodName);
+        AddRelationshipsExecutor executor = new AddRelationshipsExecutor(userId, relationshipTemplates, methodName);
+
+        /*
+         * Ready to process the request.  Create requests occur in the first repository that accepts the call.
+         * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
+         * there are no positive results from any repository.
+         */
+        federationControl.executeCommand(executor);
+
+        return executor.getNewRelationships();
+    }
+
+
+    /**
+     * Return the proxy for an entity, reusing the proxies already retrieved for this request.
+     *
+     * @param userId calling user
+     * @param entityGUID unique identifier of the entity
+     * @param entityProxies proxies already retrieved
+     * @param methodName calling method
+     * @return entity proxy
+     * @throws InvalidParameterException one of the parameters is null
+     * @throws RepositoryErrorException problem communicating with the repositories
+     * @throws EntityNotKnownException the guid is not recognised
+     * @throws UserNotAuthorizedException the user is not authorized to retrieve the entity
+     */
+    private EntityProxy getEntityProxy(String                   userId,
+                                       String                   entityGUID,
+                                       Map<String, EntityProxy> entityProxies,
+                                       String                   methodName) throws InvalidParameterException,
+                                                                                   RepositoryErrorException,
+                                                                                   EntityNotKnownException,
+                                                                                   UserNotAuthorizedException
+    {
+        EntityProxy entityProxy = entityProxies.get(entityGUID);
+
+        if (entityProxy == null)
+        {
+            entityProxy = this.getEntityProxy(userId, entityGUID, methodName);
+            entityProxies.put(entityGUID, entityProxy);
+        }
+
+        return entityProxy;
+    }
+
+
     /**
      * Save a new relationship that is sourced from an external technology.  The external
      * technology is identified by a GUID and a name.  These can be recorded in a
@@ -4428,6 +4748,27 @@ class EnterpriseOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Create the federation control for a request that can call the cohort members in parallel.
+     * It uses the enterprise connector's pool of worker threads and federation timeout.
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param methodName calling method
+     * @return federation control
+     */
+    private FederationControl getParallelFederationControl(String                        userId,
+                                                           List<OMRSRepositoryConnector> cohortConnectors,
+                                                           String                        methodName)
+    {
+        return new ParallelFederationControl(userId,
+                                             cohortConnectors,
+                                             enterpriseParentConnector.getFederationWorkers(),
+                                             enterpriseParentConnector.getFederationTimeout(),
+                                             methodName);
+    }
+
+
     /**
      * Verify that a cohort member's metadata collection is not null.
      *
@@ -22,6 +22,12 @@ import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSRuntimeExcept
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * EnterpriseOMRSRepositoryConnector supports federating calls to multiple metadata repositories.  As a result,
@@ -49,6 +55,9 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
 
     private String callingServiceName = null;
 
+    private ExecutorService federationWorkers = null;
+    private long            federationTimeout = EnterpriseOMRSConnectorProvider.defaultFederationTimeout;
+
     private static final Logger log = LoggerFactory.getLogger(EnterpriseOMRSRepositoryConnector.class);
 
     /**
@@ -125,6 +134,8 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
             auditLog.logMessage(actionDescription, OMRSAuditCode.STARTING_ENTERPRISE_CONNECTOR.getMessageDefinition(callingServiceName));
         }
 
+        this.startFederationWorkers();
+
         if (connectorManager != null)
         {
             this.connectorConsumerId = connectorManager.registerConnectorConsumer(this);
@@ -164,6 +175,134 @@ public class EnterpriseOMRSRepositoryConnector extends OMRSRepositoryConnector i
 
         localConnector = null;
         remoteCohortConnectors = new ArrayList<>();
+
+        if (federationWorkers != null)
+        {
+            federationWorkers.shutdownNow();
+            federationWorkers = null;
+        }
+    }
+
+
+    /**
+     * Create the pool of threads used to issue federated requests to the cohort members in parallel.
+     * The size of the pool and the time to wait for each cohort member are taken from the configuration
+     * properties of the connection.  When all of the threads are busy, the requesting thread makes
+     * the call itself.  Idle threads are released so services with little traffic do not hold threads.
+     *
+     * @throws ConnectorCheckedException one of the configuration properties is not a valid number
+     */
+    private void startFederationWorkers() throws ConnectorCheckedException
+    {
+        int maxFederationThreads = EnterpriseOMRSConnectorProvider.defaultMaxFederationThreads;
+
+        if (connectionProperties != null)
+        {
+            Map<String, Object> configurationProperties = connectionProperties.getConfigurationProperties();
+
+            if (configurationProperties != null)
+            {
+                Object threadsProperty = configurationProperties.get(EnterpriseOMRSConnectorProvider.maxFederationThreadsPropertyName);
+                Object timeoutProperty = configurationProperties.get(EnterpriseOMRSConnectorProvider.federationTimeoutPropertyName);
+
+                if (threadsProperty != null)
+                {
+                    maxFederationThreads = (int)this.getNumericProperty(EnterpriseOMRSConnectorProvider.maxFederationThreadsPropertyName,
+                                                                        threadsProperty,
+                                                                        Integer.MAX_VALUE);
+                }
+
+                if (timeoutProperty != null)
+                {
+                    federationTimeout = this.getNumericProperty(EnterpriseOMRSConnectorProvider.federationTimeoutPropertyName,
+                                                                timeoutProperty,
+                                                                Long.MAX_VALUE);
+                }
+            }
+        }
+
+        if (maxFederationThreads > 0)
+        {
+            final String        threadNamePrefix = "EnterpriseFederation-" + callingServiceName + "-";
+            final AtomicInteger threadNumber     = new AtomicInteger(0);
+
+            ThreadPoolExecutor workers = new ThreadPoolExecutor(maxFederationThreads,
+                                                                maxFederationThreads,
+                                                                60,
+                                                                TimeUnit.SECONDS,
+                                                                new SynchronousQueue<>(),
+                                                                (runnable) ->
+                                                                {
+                                                                    Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.incrementAndGet());
+                                                                    thread.setDaemon(true);
+                                                                    return thread;
+                                                                },
+                                                                new ThreadPoolExecutor.CallerRunsPolicy());
+            workers.allowCoreThreadTimeOut(true);
+
+            federationWorkers = workers;
+        }
+    }
+
+
+    /**
+     * Validate the value of one of the numeric configuration properties that control federation.
+     *
+     * @param propertyName name of the configuration property
+     * @param propertyValue value from the configuration properties
+     * @param maxValue largest value allowed
+     * @return value as a number
+     * @throws ConnectorCheckedException the value is not a whole number of zero or more
+     */
+    private long getNumericProperty(String propertyName,
+                                    Object propertyValue,
+                                    long   maxValue) throws ConnectorCheckedException
+    {
+        final String methodName = "start";
+
+        try
+        {
+            long value = Long.parseLong(propertyValue.toString().trim());
+
+            if ((value >= 0) && (value <= maxValue))
+            {
+                return value;
+            }
+        }
+        catch (NumberFormatException error)
+        {
+            /*
+             * Handled below.
+             */
+        }
+
+        throw new ConnectorCheckedException(OMRSErrorCode.INVALID_FEDERATION_PROPERTY.getMessageDefinition(propertyValue.toString(),
+                                                                                                           propertyName,
+                                                                                                           callingServiceName),
+                                            this.getClass().getName(),
+                                            methodName);
+    }
+
+
+    /**
+     * Return the pool of threads used to call the cohort members in parallel.
+     *
+     * @return executor service or null if federated requests are issued sequentially
+     */
+    ExecutorService getFederationWorkers()
+    {
+        return federationWorkers;
+    }
+
+
+    /**
+     * Return the number of milliseconds to wait for a cohort member to respond to a federated request.
+     *
+     * @return timeout (zero means wait indefinitely)
+     */
+    long getFederationTimeout()
+    {
+        return federationTimeout;
     }
 
 
@@ -4,11 +4,12 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -86,6 +87,14 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
     public synchronized void addEntities(List<EntityDetail>   entities,
                                          String               metadataCollectionId)
     {
+        if (super.hasTimedOut(metadataCollectionId))
+        {
+            /*
+             * The request to this repository was abandoned so its late results are ignored.
+             */
+            return;
+        }
+
         if (entities != null)
         {
             for (EntityDetail entity : entities)
@@ -93,6 +102,8 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
                 this.addEntity(entity, metadataCollectionId);
             }
 
+            super.captureMemberResults(metadataCollectionId, entities);
+
             /*
              * Record that this repository has returned results from the request.
              */
@@ -110,13 +121,22 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
 
     /**
      * Extract the results - this will the a unique list of entities selected from the instances
-     * supplied to this accumulator.  It should be called once all of the executors have completed processing
-     * their request(s).
+     * supplied to this accumulator, merged into the requested sequence and reduced to the requested page.
+     * It should be called once all of the executors have completed processing their request(s).
      *
      * @param repositoryConnector enterprise connector
+     * @param startingElement starting element of the requested page
+     * @param sequencingProperty String name of the property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @param pageSize maximum number of results to return (zero means no limit)
      * @return list of entities
      */
-    public synchronized List<EntityDetail>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector)
+    public synchronized List<EntityDetail>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                                       int                               startingElement,
+                                                       String                            sequencingProperty,
+                                                       SequencingOrder                   sequencingOrder,
+                                                       int                               pageSize)
     {
         if (accumulatedEntities.isEmpty())
         {
@@ -125,7 +145,18 @@ public class EntityAccumulator extends QueryInstanceAccumulatorBase
         else
         {
             this.makeRefreshRecommendations(repositoryConnector);
-            return new ArrayList<>(accumulatedEntities.values());
+
+            List<EntityDetail> results = super.mergeMemberResults(accumulatedEntities,
+                                                                  OMRSRepositoryContentHelper.getEntityComparator(sequencingProperty, sequencingOrder),
+                                                                  startingElement,
+                                                                  pageSize);
+
+            if (results.isEmpty())
+            {
+                return null;
+            }
+
+            return results;
         }
     }
 
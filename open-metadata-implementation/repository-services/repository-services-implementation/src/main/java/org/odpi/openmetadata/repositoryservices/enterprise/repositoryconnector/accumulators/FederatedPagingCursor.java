@@ -0,0 +1,122 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * FederatedPagingCursor remembers how far through each member repository's results a federated query has
+ * reached once a page of results has been returned to the caller.  When the caller requests the next page,
+ * each member repository can be asked for the next page of its own results, starting from its position in
+ * the cursor, rather than for all of the results up to the end of the requested page.
+ *
+ * The cursor also remembers the unique identifiers (guids) of the instances that have already been returned
+ * so that instances stored in more than one repository are not returned on more than one page.
+ */
+public class FederatedPagingCursor
+{
+    private final int                  nextElement;
+    private final Map<String, Integer> memberPositions;
+    private final Set<String>          returnedGUIDs;
+    private final Date                 creationTime = new Date();
+
+
+    /**
+     * Construct a cursor.
+     *
+     * @param nextElement starting element of the page that this cursor is able to retrieve
+     * @param memberPositions map of metadata collection id to the starting element for that member repository
+     * @param returnedGUIDs unique identifiers of the instances returned on this page and the pages before it
+     */
+    FederatedPagingCursor(int                  nextElement,
+                          Map<String, Integer> memberPositions,
+                          Set<String>          returnedGUIDs)
+    {
+        this.nextElement = nextElement;
+        this.memberPositions = memberPositions;
+        this.returnedGUIDs = returnedGUIDs;
+    }
+
+
+    /**
+     * Return the starting element of the page that this cursor is able to retrieve.
+     *
+     * @return element number
+     */
+    public int getNextElement()
+    {
+        return nextElement;
+    }
+
+
+    /**
+     * Return the starting element to request from the member repository.  A repository that was not
+     * included in the previous request starts from the beginning of its results.
+     *
+     * @param metadataCollectionId unique identifier of the member repository's metadata collection
+     * @return element number
+     */
+    int getMemberPosition(String   metadataCollectionId)
+    {
+        Integer memberPosition = memberPositions.get(metadataCollectionId);
+
+        if (memberPosition == null)
+        {
+            return 0;
+        }
+
+        return memberPosition;
+    }
+
+
+    /**
+     * Return the starting elements of all of the member repositories.
+     *
+     * @return map of metadata collection id to element number
+     */
+    Map<String, Integer> getMemberPositions()
+    {
+        return Collections.unmodifiableMap(memberPositions);
+    }
+
+
+    /**
+     * Return the unique identifiers of the instances returned so far.
+     *
+     * @return set of guids
+     */
+    Set<String> getReturnedGUIDs()
+    {
+        return Collections.unmodifiableSet(returnedGUIDs);
+    }
+
+
+    /**
+     * Return the time that the cursor was created.
+     *
+     * @return date
+     */
+    public Date getCreationTime()
+    {
+        return creationTime;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "FederatedPagingCursor{" +
+                "nextElement=" + nextElement +
+                ", memberPositions=" + memberPositions +
+                ", creationTime=" + creationTime +
+                '}';
+    }
+}
@@ -167,7 +167,7 @@ public class MaintenanceAccumulator extends ExceptionAccumulatorBase
      *
      * @param exception  exception from remote call
      */
-    public void captureException(TypeDefConflictException  exception)
+    public synchronized void captureException(TypeDefConflictException  exception)
     {
         typeDefConflictException = exception;
     }
@@ -178,7 +178,7 @@ public class MaintenanceAccumulator extends ExceptionAccumulatorBase
      *
      * @param exception  exception from remote call
      */
-    public void captureException(TypeDefNotSupportedException  exception)
+    public synchronized void captureException(TypeDefNotSupportedException  exception)
     {
         typeDefNotSupportedException = exception;
     }
@@ -189,7 +189,7 @@ public class MaintenanceAccumulator extends ExceptionAccumulatorBase
      *
      * @param exception  exception from remote call
      */
-    public void captureException(TypeDefNotKnownException  exception)
+    public synchronized void captureException(TypeDefNotKnownException  exception)
     {
         typeDefNotKnownException = exception;
     }
@@ -200,7 +200,7 @@ public class MaintenanceAccumulator extends ExceptionAccumulatorBase
      *
      * @param exception  exception from remote call
      */
-    public void captureException(TypeErrorException  exception)
+    public synchronized void captureException(TypeErrorException  exception)
     {
         typeErrorException = exception;
     }
@@ -211,7 +211,7 @@ public class MaintenanceAccumulator extends ExceptionAccumulatorBase
      *
      * @param exception  exception from remote call
      */
-    public void captureException(UserNotAuthorizedException  exception)
+    public synchronized void captureException(UserNotAuthorizedException  exception)
     {
         userNotAuthorizedException = exception;
     }
@@ -8,7 +8,9 @@ import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollec
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * QueryAccumulatorBase acts as a base class to the accumulators that need to visit each repository and
@@ -23,6 +25,7 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     private int                  responsesRequired  = 0;
     private Map<String, Integer> resultsContributed = new HashMap<>();
     private boolean              resultsReturned = false;
+    private Set<String>          timedOutRepositories = new HashSet<>();
 
 
     /**
@@ -94,6 +97,41 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     }
 
 
+    /**
+     * Record that the request to a repository was abandoned because it did not respond in time.
+     * Any results or exceptions that the repository returns after this point are ignored.
+     * The timeout exception is only returned to the caller if none of the other repositories return results.
+     *
+     * @param metadataCollectionId identifier of repository's metadata collection
+     * @param exception exception describing the timeout
+     */
+    public synchronized void captureTimeout(String                   metadataCollectionId,
+                                            RepositoryErrorException exception)
+    {
+        if (timedOutRepositories.add(metadataCollectionId))
+        {
+            if (! resultsContributed.containsKey(metadataCollectionId))
+            {
+                setRequestReturned(metadataCollectionId, 0);
+                repositoryErrorException = exception;
+            }
+        }
+    }
+
+
+    /**
+     * Return whether the request to a repository has been abandoned because it did not respond in time.
+     * The subclasses use this to discard the results that arrive late.
+     *
+     * @param metadataCollectionId identifier of repository's metadata collection
+     * @return true if the repository timed out
+     */
+    synchronized boolean hasTimedOut(String metadataCollectionId)
+    {
+        return timedOutRepositories.contains(metadataCollectionId);
+    }
+
+
     /**
      * This records the completion of the request to a single repository.
      *
@@ -118,6 +156,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                          metadataCollectionId,
                                               ClassificationErrorException    exception)
     {
+        if (hasTimedOut(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         classificationErrorException = exception;
     }
@@ -132,6 +175,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               EntityNotKnownException    exception)
     {
+        if (hasTimedOut(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         entityNotKnownException = exception;
     }
@@ -147,6 +195,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                           metadataCollectionId,
                                               FunctionNotSupportedException    exception)
     {
+        if (hasTimedOut(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         functionNotSupportedException = exception;
     }
@@ -161,6 +214,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               InvalidParameterException  exception)
     {
+        if (hasTimedOut(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         invalidParameterException = exception;
     }
@@ -175,6 +233,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               PagingErrorException     exception)
     {
+        if (hasTimedOut(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         pagingErrorException = exception;
     }
@@ -189,6 +252,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               PropertyErrorException     exception)
     {
+        if (hasTimedOut(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         propertyErrorException = exception;
     }
@@ -203,6 +271,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                        metadataCollectionId,
                                               RelationshipNotKnownException exception)
     {
+        if (hasTimedOut(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         relationshipNotKnownException = exception;
     }
@@ -217,6 +290,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               RepositoryErrorException   exception)
     {
+        if (hasTimedOut(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         repositoryErrorException = exception;
     }
@@ -231,6 +309,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String               metadataCollectionId,
                                               TypeErrorException   exception)
     {
+        if (hasTimedOut(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         typeErrorException = exception;
     }
@@ -245,6 +328,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureException(String                     metadataCollectionId,
                                               UserNotAuthorizedException exception)
     {
+        if (hasTimedOut(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         userNotAuthorizedException = exception;
     }
@@ -259,6 +347,11 @@ public class QueryAccumulatorBase extends ExceptionAccumulatorBase
     public synchronized void captureGenericException(String     metadataCollectionId,
                                                      Throwable  exception)
     {
+        if (hasTimedOut(metadataCollectionId))
+        {
+            return;
+        }
+
         setRequestReturned(metadataCollectionId, 0);
         anotherException = exception;
     }
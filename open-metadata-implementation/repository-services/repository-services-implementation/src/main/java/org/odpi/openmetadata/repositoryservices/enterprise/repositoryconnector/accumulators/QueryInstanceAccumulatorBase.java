@@ -7,8 +7,7 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceHeader;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 /**
  * QueryAccumulatorBase acts as a base class to the accumulators that need to visit each repository and
@@ -16,7 +15,11 @@ import java.util.List;
  */
 public class QueryInstanceAccumulatorBase extends QueryAccumulatorBase
 {
-    protected List<String>            locallyStoredInstancesGUIDs = new ArrayList<>();
+    protected List<String>              locallyStoredInstancesGUIDs = new ArrayList<>();
+
+    private   Map<String, List<String>> memberResultGUIDs           = new LinkedHashMap<>();
+    private   FederatedPagingCursor     pagingCursor                = null;
+    private   FederatedPagingCursor     nextPagingCursor            = null;
 
     /**
      * Construct a query accumulator.  This base class manages the common variables needed to
@@ -74,4 +77,234 @@ public class QueryInstanceAccumulatorBase extends QueryAccumulatorBase
     {
         return ! (locallyStoredInstancesGUIDs.contains(instanceGUID));
     }
+
+
+    /**
+     * Set up the cursor that positions each member repository at the start of the requested page.
+     * This must be called before the requests are issued to the member repositories.
+     *
+     * @param pagingCursor cursor saved from the previous page (null for no cursor)
+     */
+    public synchronized void setPagingCursor(FederatedPagingCursor   pagingCursor)
+    {
+        this.pagingCursor = pagingCursor;
+    }
+
+
+    /**
+     * Return a flag indicating whether the member repositories are positioned by a paging cursor.
+     *
+     * @return boolean
+     */
+    public synchronized boolean isPagingCursorSet()
+    {
+        return (pagingCursor != null);
+    }
+
+
+    /**
+     * Return the starting element to use in the request to a member repository.  Without a paging cursor,
+     * each member repository returns its results from the beginning so they can be merged.
+     *
+     * @param metadataCollectionId unique identifier of the member repository's metadata collection
+     * @return element number
+     */
+    public synchronized int getMemberStartingElement(String   metadataCollectionId)
+    {
+        if (pagingCursor == null)
+        {
+            return 0;
+        }
+
+        return pagingCursor.getMemberPosition(metadataCollectionId);
+    }
+
+
+    /**
+     * Return the cursor that positions each member repository at the start of the page following the
+     * page returned by the last call to mergeMemberResults.
+     *
+     * @return cursor or null if the results have not been merged
+     */
+    public synchronized FederatedPagingCursor getNextPagingCursor()
+    {
+        return nextPagingCursor;
+    }
+
+
+    /**
+     * Remember the order of the instances returned by a member repository.  This is called as the results
+     * are added to the accumulator.
+     *
+     * @param metadataCollectionId unique identifier of the member repository's metadata collection
+     * @param instances instances in the order that the member repository returned them
+     */
+    void captureMemberResults(String                           metadataCollectionId,
+                              List<? extends InstanceHeader>   instances)
+    {
+        if ((metadataCollectionId != null) && (instances != null))
+        {
+            List<String> guids = memberResultGUIDs.computeIfAbsent(metadataCollectionId, k -> new ArrayList<>());
+
+            for (InstanceHeader instance : instances)
+            {
+                if ((instance != null) && (instance.getGUID() != null))
+                {
+                    guids.add(instance.getGUID());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Merge the results returned by each member repository into a single page of results.  Each member repository
+     * has returned its results in the requested sequence, so the next result is always at the head of one of the
+     * member repositories' lists.  The heads are kept in a priority queue so the page is produced without sorting
+     * all of the returned results.  Instances that are stored in more than one repository are returned once,
+     * using the latest version.  Results that are equal in the requested sequence are interleaved across the
+     * member repositories.
+     *
+     * On return, the next paging cursor records how far through each member repository's results the page reached.
+     *
+     * @param accumulatedInstances map of guid to the latest version of each returned instance
+     * @param comparator comparator for the requested sequence
+     * @param startingElement starting element of the requested page
+     * @param pageSize maximum number of results to return (zero means no limit)
+     * @param <T> type of instance
+     * @return list of instances for the page
+     */
+    <T extends InstanceHeader> List<T> mergeMemberResults(Map<String, T>   accumulatedInstances,
+                                                          Comparator<T>    comparator,
+                                                          int              startingElement,
+                                                          int              pageSize)
+    {
+        /*
+         * With a paging cursor, the member repositories returned results from the start of the requested page.
+         * Otherwise the results from the earlier pages need to be merged and skipped.
+         */
+        int                  elementsToSkip  = startingElement;
+        Set<String>          returnedGUIDs   = new HashSet<>();
+        Map<String, Integer> memberPositions = new HashMap<>();
+
+        if (pagingCursor != null)
+        {
+            elementsToSkip = 0;
+            returnedGUIDs.addAll(pagingCursor.getReturnedGUIDs());
+            memberPositions.putAll(pagingCursor.getMemberPositions());
+        }
+
+        List<MemberResults>          members = new ArrayList<>();
+        PriorityQueue<MemberResults> heads   = new PriorityQueue<>((one, two) ->
+        {
+            int result = comparator.compare(accumulatedInstances.get(one.getHead()), accumulatedInstances.get(two.getHead()));
+
+            if (result == 0)
+            {
+                result = Integer.compare(one.position, two.position);
+            }
+
+            if (result == 0)
+            {
+                result = Integer.compare(one.memberIndex, two.memberIndex);
+            }
+
+            return result;
+        });
+
+        for (String metadataCollectionId : memberResultGUIDs.keySet())
+        {
+            MemberResults member = new MemberResults(metadataCollectionId, members.size(), memberResultGUIDs.get(metadataCollectionId));
+
+            members.add(member);
+
+            if (! member.guids.isEmpty())
+            {
+                heads.add(member);
+            }
+        }
+
+        List<T> results = new ArrayList<>();
+
+        while ((! heads.isEmpty()) && ((pageSize == 0) || (results.size() < pageSize)))
+        {
+            MemberResults member = heads.poll();
+            String        guid   = member.getHead();
+
+            member.position++;
+
+            if (member.position < member.guids.size())
+            {
+                heads.add(member);
+            }
+
+            if (returnedGUIDs.add(guid))
+            {
+                if (elementsToSkip > 0)
+                {
+                    elementsToSkip--;
+                }
+                else
+                {
+                    results.add(accumulatedInstances.get(guid));
+                }
+            }
+        }
+
+        for (MemberResults member : members)
+        {
+            int memberStartingElement = 0;
+
+            if (pagingCursor != null)
+            {
+                memberStartingElement = pagingCursor.getMemberPosition(member.metadataCollectionId);
+            }
+
+            memberPositions.put(member.metadataCollectionId, memberStartingElement + member.position);
+        }
+
+        nextPagingCursor = new FederatedPagingCursor(startingElement + results.size(), memberPositions, returnedGUIDs);
+
+        return results;
+    }
+
+
+    /**
+     * MemberResults tracks the position of the merge in the results from one member repository.
+     */
+    private static class MemberResults
+    {
+        private final String       metadataCollectionId;
+        private final int          memberIndex;
+        private final List<String> guids;
+        private       int          position = 0;
+
+
+        /**
+         * Constructor.
+         *
+         * @param metadataCollectionId unique identifier of the member repository's metadata collection
+         * @param memberIndex position of the member in the merge - used to order equal results
+         * @param guids guids of the results in the order that the member repository returned them
+         */
+        MemberResults(String       metadataCollectionId,
+                      int          memberIndex,
+                      List<String> guids)
+        {
+            this.metadataCollectionId = metadataCollectionId;
+            this.memberIndex = memberIndex;
+            this.guids = guids;
+        }
+
+
+        /**
+         * Return the guid of the next result from this member repository.
+         *
+         * @return guid
+         */
+        String getHead()
+        {
+            return guids.get(position);
+        }
+    }
 }
@@ -3,11 +3,12 @@
 package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
 
 import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentHelper;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -85,6 +86,14 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
     public synchronized void addRelationships(List<Relationship>   relationships,
                                               String               metadataCollectionId)
     {
+        if (super.hasTimedOut(metadataCollectionId))
+        {
+            /*
+             * The request to this repository was abandoned so its late results are ignored.
+             */
+            return;
+        }
+
         if (relationships != null)
         {
             for (Relationship relationship : relationships)
@@ -92,6 +101,8 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
                 this.addRelationship(relationship, metadataCollectionId);
             }
 
+            super.captureMemberResults(metadataCollectionId, relationships);
+
             /*
              * Record that this repository has returned results from the request.
              */
@@ -109,13 +120,22 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
 
     /**
      * Extract the results - this will the a unique list of relationships selected from the instances
-     * supplied to this accumulator.  It should be called once all of the executors have completed processing
-     * their request(s).
+     * supplied to this accumulator, merged into the requested sequence and reduced to the requested page.
+     * It should be called once all of the executors have completed processing their request(s).
      *
      * @param repositoryConnector enterprise connector
+     * @param startingElement starting element of the requested page
+     * @param sequencingProperty String name of the property that is to be used to sequence the results.
+     *                           Null means do not sequence on a property name (see SequencingOrder).
+     * @param sequencingOrder Enum defining how the results should be ordered.
+     * @param pageSize maximum number of results to return (zero means no limit)
      * @return list of relationships
      */
-    public synchronized List<Relationship>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector)
+    public synchronized List<Relationship>  getResults(EnterpriseOMRSRepositoryConnector repositoryConnector,
+                                                       int                               startingElement,
+                                                       String                            sequencingProperty,
+                                                       SequencingOrder                   sequencingOrder,
+                                                       int                               pageSize)
     {
         if (accumulatedRelationships.isEmpty())
         {
@@ -124,7 +144,18 @@ public class RelationshipAccumulator extends QueryInstanceAccumulatorBase
         else
         {
             this.makeRefreshRecommendations(repositoryConnector);
-            return new ArrayList<>(accumulatedRelationships.values());
+
+            List<Relationship> results = super.mergeMemberResults(accumulatedRelationships,
+                                                                  OMRSRepositoryContentHelper.getRelationshipComparator(sequencingProperty, sequencingOrder),
+                                                                  startingElement,
+                                                                  pageSize);
+
+            if (results.isEmpty())
+            {
+                return null;
+            }
+
+            return results;
         }
     }
 
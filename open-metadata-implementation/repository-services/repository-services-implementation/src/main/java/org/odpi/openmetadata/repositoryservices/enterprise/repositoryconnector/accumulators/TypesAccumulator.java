@@ -104,6 +104,14 @@ public class TypesAccumulator extends QueryAccumulatorBase
     public synchronized void addTypeDefGallery(TypeDefGallery types,
                                                String         metadataCollectionId)
     {
+        if (super.hasTimedOut(metadataCollectionId))
+        {
+            /*
+             * The request to this repository was abandoned so its late results are ignored.
+             */
+            return;
+        }
+
         int numberOrAttributeTypeDefs = 0;
         int numberOfTypeDefs = 0;
 
@@ -0,0 +1,74 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.FederatedPagingCursor;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSLRUMap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FederatedPagingCursorCache keeps the paging cursor from the most recent page of each federated query so that
+ * the request for the following page only needs to retrieve a page of results from each member repository.
+ * The open metadata repository services APIs do not carry a cursor, so a query is recognized by its parameters
+ * and the starting element of the requested page.
+ *
+ * The cache is bounded in both size and time.  When the cursor for a query is not available, the enterprise
+ * connector retrieves all of the results up to the end of the requested page from each member repository.
+ */
+public class FederatedPagingCursorCache
+{
+    private static final int  maxCursors     = 500;
+    private static final long cursorLifetime = 5 * 60 * 1000;
+
+    private final Map<List<Object>, FederatedPagingCursor> cursors = new OMRSLRUMap<>(maxCursors);
+
+
+    /**
+     * Return the cursor that continues a query from the requested starting element.
+     *
+     * @param queryKey parameters of the query (excluding the starting element)
+     * @param startingElement starting element of the requested page
+     * @return cursor or null if there is no cursor for this page of the query
+     */
+    public synchronized FederatedPagingCursor getCursor(List<Object> queryKey,
+                                                        int          startingElement)
+    {
+        FederatedPagingCursor cursor = cursors.get(queryKey);
+
+        if (cursor == null)
+        {
+            return null;
+        }
+
+        if (System.currentTimeMillis() - cursor.getCreationTime().getTime() > cursorLifetime)
+        {
+            cursors.remove(queryKey);
+            return null;
+        }
+
+        if (cursor.getNextElement() != startingElement)
+        {
+            return null;
+        }
+
+        return cursor;
+    }
+
+
+    /**
+     * Save the cursor for the next page of a query.  It replaces any cursor saved for an earlier page.
+     *
+     * @param queryKey parameters of the query (excluding the starting element)
+     * @param cursor cursor for the next page
+     */
+    public synchronized void saveCursor(List<Object>          queryKey,
+                                        FederatedPagingCursor cursor)
+    {
+        if (cursor != null)
+        {
+            cursors.put(queryKey, cursor);
+        }
+    }
+}
@@ -4,18 +4,56 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.CloneableRepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.FirstAnswerRepositoryExecutor;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.RepositoryExecutor;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * ParallelFederationControl uses multiple worker threads to perform the calls to different systems in parallel.
+ * The worker threads come from a bounded pool owned by the enterprise repository connector.
+ *
+ * Executors that implement CloneableRepositoryExecutor are cloned so that there is one executor per repository.
+ * The clones share an accumulator that assembles the results.  Executors that implement
+ * FirstAnswerRepositoryExecutor are called for all repositories at once and the outstanding calls are
+ * cancelled as soon as one repository returns the answer.  Any other executor is called for each repository
+ * in turn, as for the SequentialFederationControl.
+ *
+ * A repository that does not respond within the repository timeout is abandoned and a RepositoryErrorException
+ * is passed to the executor.  This exception is only returned to the caller if no other repository
+ * returned a result.
  */
 public class ParallelFederationControl extends FederationControlBase
 {
-    // todo at this point the parallel federation control uses a sequential since the
-    // todo worker threads are not implemented.
+    private ExecutorService workerPool;
+    private long            repositoryTimeout;
+
+
+    /**
+     * Constructor for a federated query that is not supplied with worker threads.  The requests to
+     * the repositories are issued sequentially.
+     *
+     * @param userId calling user
+     * @param cohortConnectors list of connectors to call
+     * @param methodName calling method
+     */
+    public ParallelFederationControl(String                        userId,
+                                     List<OMRSRepositoryConnector> cohortConnectors,
+                                     String                        methodName)
+    {
+        this(userId, cohortConnectors, null, 0, methodName);
+    }
 
 
     /**
@@ -23,14 +61,20 @@ public class ParallelFederationControl extends FederationControlBase
      *
      * @param userId calling user
      * @param cohortConnectors list of connectors to call
+     * @param workerPool threads used to call the repositories (null means call the repositories sequentially)
+     * @param repositoryTimeout maximum number of milliseconds to wait for a repository to respond (zero means no limit)
      * @param methodName calling method
      */
     public ParallelFederationControl(String                        userId,
                                      List<OMRSRepositoryConnector> cohortConnectors,
+                                     ExecutorService               workerPool,
+                                     long                          repositoryTimeout,
                                      String                        methodName)
     {
         super(userId, cohortConnectors, methodName);
 
+        this.workerPool = workerPool;
+        this.repositoryTimeout = repositoryTimeout;
     }
 
 
@@ -45,17 +89,281 @@ public class ParallelFederationControl extends FederationControlBase
     {
         if (super.cohortConnectors != null)
         {
-            for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+            if ((workerPool == null) || (workerPool.isShutdown()))
+            {
+                this.executeSequentially(executor);
+            }
+            else if (executor instanceof CloneableRepositoryExecutor)
+            {
+                this.executeClones(executor);
+            }
+            else if (executor instanceof FirstAnswerRepositoryExecutor)
+            {
+                this.executeUntilFirstAnswer((FirstAnswerRepositoryExecutor)executor);
+            }
+            else
+            {
+                this.executeSequentially(executor);
+            }
+        }
+    }
+
+
+    /**
+     * Call each repository in turn on the caller's thread.
+     *
+     * @param executor command to execute
+     * @throws RepositoryErrorException null metadata collection
+     */
+    private void executeSequentially(RepositoryExecutor executor) throws RepositoryErrorException
+    {
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (cohortConnector != null)
+            {
+                OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+
+                String metadataCollectionId = this.validateMetadataCollection(metadataCollection, methodName);
+
+                if (executor.issueRequestToRepository(metadataCollectionId, metadataCollection))
+                {
+                    if (! (executor instanceof CloneableRepositoryExecutor))
+                    {
+                        /*
+                         * The executor returns true if it has all of the results it needs.
+                         * Cloneable executors return true when they have processed the response
+                         * from their repository - so the loop continues for them.
+                         */
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Issue the request to each repository on a worker thread using one clone of the executor per repository.
+     * The clones share the original executor's accumulator so the caller retrieves the combined results from
+     * the original executor.
+     *
+     * @param executor command to execute
+     * @throws RepositoryErrorException null metadata collection
+     */
+    private void executeClones(RepositoryExecutor executor) throws RepositoryErrorException
+    {
+        List<String>          metadataCollectionIds = new ArrayList<>();
+        List<Future<Boolean>> requests              = new ArrayList<>();
+        List<CloneableRepositoryExecutor> clones    = new ArrayList<>();
+
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (cohortConnector != null)
+            {
+                OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+
+                String metadataCollectionId = this.validateMetadataCollection(metadataCollection, methodName);
+
+                /*
+                 * The original executor is used for the first repository to keep the accumulator's count
+                 * of expected responses accurate.
+                 */
+                CloneableRepositoryExecutor clone;
+                if (clones.isEmpty())
+                {
+                    clone = (CloneableRepositoryExecutor)executor;
+                }
+                else
+                {
+                    clone = ((CloneableRepositoryExecutor)executor).getClone();
+                }
+
+                RepositoryExecutor repositoryExecutor = (RepositoryExecutor)clone;
+
+                clones.add(clone);
+                metadataCollectionIds.add(metadataCollectionId);
+                requests.add(workerPool.submit(() -> repositoryExecutor.issueRequestToRepository(metadataCollectionId,
+                                                                                                 metadataCollection)));
+            }
+        }
+
+        long deadline = this.getDeadline();
+
+        for (int i = 0; i < requests.size(); i++)
+        {
+            if (! this.waitForRequest(requests.get(i), deadline))
+            {
+                clones.get(i).captureTimeout(metadataCollectionIds.get(i),
+                                             this.getTimeoutException(metadataCollectionIds.get(i)));
+            }
+        }
+    }
+
+
+    /**
+     * Issue the request to all repositories on worker threads and stop as soon as one of them
+     * returns the answer.  The requests that are still outstanding are cancelled.
+     *
+     * @param executor command to execute
+     * @throws RepositoryErrorException null metadata collection
+     */
+    private void executeUntilFirstAnswer(FirstAnswerRepositoryExecutor executor) throws RepositoryErrorException
+    {
+        ExecutorCompletionService<Boolean> completionService     = new ExecutorCompletionService<>(workerPool);
+        List<String>                       metadataCollectionIds = new ArrayList<>();
+        List<Future<Boolean>>              requests              = new ArrayList<>();
+
+        for (OMRSRepositoryConnector cohortConnector : cohortConnectors)
+        {
+            if (cohortConnector != null)
+            {
+                OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+
+                String metadataCollectionId = this.validateMetadataCollection(metadataCollection, methodName);
+
+                metadataCollectionIds.add(metadataCollectionId);
+                requests.add(completionService.submit(() -> executor.issueRequestToRepository(metadataCollectionId,
+                                                                                              metadataCollection)));
+            }
+        }
+
+        long    deadline  = this.getDeadline();
+        boolean answered  = false;
+        int     remaining = requests.size();
+
+        try
+        {
+            while ((! answered) && (remaining > 0))
             {
-                if (cohortConnector != null)
+                Future<Boolean> completedRequest;
+
+                if (deadline == 0)
+                {
+                    completedRequest = completionService.take();
+                }
+                else
+                {
+                    completedRequest = completionService.poll(Math.max(0, deadline - System.currentTimeMillis()),
+                                                              TimeUnit.MILLISECONDS);
+                }
+
+                if (completedRequest == null)
                 {
-                    OMRSMetadataCollection metadataCollection = cohortConnector.getMetadataCollection();
+                    /*
+                     * Time has run out.
+                     */
+                    break;
+                }
+
+                remaining--;
+
+                try
+                {
+                    answered = completedRequest.get();
+                }
+                catch (ExecutionException | CancellationException error)
+                {
+                    /*
+                     * Not expected since the executors capture the exceptions from the repositories.
+                     */
+                }
+            }
+        }
+        catch (InterruptedException error)
+        {
+            Thread.currentThread().interrupt();
+        }
 
-                    String metadataCollectionId = this.validateMetadataCollection(metadataCollection, methodName);
+        for (int i = 0; i < requests.size(); i++)
+        {
+            Future<Boolean> request = requests.get(i);
+
+            if (! request.isDone())
+            {
+                request.cancel(true);
 
-                    executor.issueRequestToRepository(metadataCollectionId, metadataCollection);
+                if (! answered)
+                {
+                    executor.captureTimeout(metadataCollectionIds.get(i),
+                                            this.getTimeoutException(metadataCollectionIds.get(i)));
                 }
             }
         }
     }
+
+
+    /**
+     * Return the time that the outstanding requests should be abandoned.
+     *
+     * @return time in milliseconds - zero means no time limit
+     */
+    private long getDeadline()
+    {
+        if (repositoryTimeout > 0)
+        {
+            return System.currentTimeMillis() + repositoryTimeout;
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Wait for a request to complete.  If it does not complete before the deadline it is cancelled.
+     *
+     * @param request outstanding request
+     * @param deadline time to abandon the request (zero means no time limit)
+     * @return true if the request completed
+     */
+    private boolean waitForRequest(Future<Boolean> request,
+                                   long            deadline)
+    {
+        try
+        {
+            if (deadline == 0)
+            {
+                request.get();
+            }
+            else
+            {
+                request.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            }
+
+            return true;
+        }
+        catch (TimeoutException | CancellationException error)
+        {
+            request.cancel(true);
+        }
+        catch (InterruptedException error)
+        {
+            request.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException error)
+        {
+            /*
+             * Not expected since the executors capture the exceptions from the repositories.
+             */
+            return true;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Build the exception that is passed to an executor when a repository does not respond in time.
+     *
+     * @param metadataCollectionId unique identifier of the repository's metadata collection
+     * @return exception
+     */
+    private RepositoryErrorException getTimeoutException(String metadataCollectionId)
+    {
+        return new RepositoryErrorException(OMRSErrorCode.FEDERATED_REQUEST_TIMEOUT.getMessageDefinition(methodName,
+                                                                                                         metadataCollectionId,
+                                                                                                         Long.toString(repositoryTimeout)),
+                                            this.getClass().getName(),
+                                            methodName);
+    }
 }
@@ -0,0 +1,149 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.MaintenanceAccumulator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
+
+import java.util.List;
+
+/**
+ * AddEntitiesExecutor provides the executor for the addEntities method.  All of the entities are created
+ * in the first repository that accepts the request.
+ */
+public class AddEntitiesExecutor extends RepositoryExecutorBase
+{
+    private List<EntityDetail>     newEntityTemplates;
+    private List<EntityDetail>     newEntities = null;
+    private MaintenanceAccumulator accumulator = new MaintenanceAccumulator();
+
+
+    /**
+     * Constructor takes the parameters for the request.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newEntityTemplates list of templates for the new entities.
+     * @param methodName calling method
+     */
+    public AddEntitiesExecutor(String               userId,
+                               List<EntityDetail>   newEntityTemplates,
+                               String               methodName)
+    {
+        super(userId, methodName);
+
+        this.newEntityTemplates = newEntityTemplates;
+    }
+
+
+    /**
+     * Perform the required action for the supplied repository.
+     * Create requests occur in the first repository that accepts the call.
+     * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
+     * there are no positive results from any repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @return boolean true means that the required results have been achieved
+     */
+    public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                            OMRSMetadataCollection metadataCollection)
+    {
+        boolean result = false;
+
+        try
+        {
+            /*
+             * Issue the request and return if it succeeds
+             */
+            newEntities = metadataCollection.addEntities(userId, newEntityTemplates);
+
+            if (newEntities != null)
+            {
+                result = true;
+            }
+        }
+        catch (InvalidParameterException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (ClassificationErrorException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (TypeErrorException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (StatusNotSupportedException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (PropertyErrorException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (RepositoryErrorException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (Throwable error)
+        {
+            accumulator.captureGenericException(error);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Return the result of the execution.  Hopefully this is a result - but may be an exception
+     *
+     * @return list of new entities in the same order as the templates.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                              hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the entity's type.
+     * @throws ClassificationErrorException one or more of the requested classifications are either not known or
+     *                                           not defined for the entity type.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                       one of the requested statuses.
+     * @throws FunctionNotSupportedException the repository does not support maintenance of metadata.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getNewEntities() throws InvalidParameterException,
+                                                      RepositoryErrorException,
+                                                      TypeErrorException,
+                                                      PropertyErrorException,
+                                                      ClassificationErrorException,
+                                                      StatusNotSupportedException,
+                                                      FunctionNotSupportedException,
+                                                      UserNotAuthorizedException
+    {
+        if (newEntities != null)
+        {
+            return newEntities;
+        }
+
+        accumulator.throwCapturedRepositoryErrorException();
+        accumulator.throwCapturedUserNotAuthorizedException();
+        accumulator.throwCapturedThrowableException(super.methodName);
+        accumulator.throwCapturedTypeErrorException();
+        accumulator.throwCapturedClassificationErrorException();
+        accumulator.throwCapturedPropertyErrorException();
+        accumulator.throwCapturedStatusNotSupportedException();
+        accumulator.throwCapturedInvalidParameterException();
+        accumulator.throwCapturedFunctionNotSupportedException();
+
+        return null;
+    }
+}
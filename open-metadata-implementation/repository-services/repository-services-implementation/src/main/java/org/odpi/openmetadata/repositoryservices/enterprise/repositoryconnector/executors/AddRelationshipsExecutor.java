@@ -0,0 +1,213 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.MaintenanceAccumulator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+
+/**
+ * AddRelationshipsExecutor provides the executor for the addRelationships method.  All of the relationships
+ * are created in the first repository that knows (or can add a proxy for) every entity that they connect
+ * and accepts the request.
+ */
+public class AddRelationshipsExecutor extends RepositoryExecutorBase
+{
+    private List<Relationship>     newRelationshipTemplates;
+    private List<Relationship>     newRelationships = null;
+    private MaintenanceAccumulator accumulator      = new MaintenanceAccumulator();
+
+    private static final Logger log = LoggerFactory.getLogger(AddRelationshipsExecutor.class);
+
+
+    /**
+     * Constructor takes the parameters for the request.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newRelationshipTemplates list of templates for the new relationships - each template includes
+     *                                 the full proxies of the entities that it connects.
+     * @param methodName calling method
+     */
+    public AddRelationshipsExecutor(String               userId,
+                                    List<Relationship>   newRelationshipTemplates,
+                                    String               methodName)
+    {
+        super(userId, methodName);
+
+        this.newRelationshipTemplates = newRelationshipTemplates;
+    }
+
+
+    /**
+     * Perform the required action for the supplied repository.
+     * Create requests occur in the first repository that accepts the call.
+     * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
+     * there are no positive results from any repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @return boolean true means that the required results have been achieved
+     */
+    public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                            OMRSMetadataCollection metadataCollection)
+    {
+        boolean result = false;
+
+        try
+        {
+            /*
+             * Issue the request and return if it succeeds
+             */
+            boolean entityEndsKnown = true;
+
+            for (Relationship newRelationshipTemplate : newRelationshipTemplates)
+            {
+                EntityProxy entityOneProxy = newRelationshipTemplate.getEntityOneProxy();
+                EntityProxy entityTwoProxy = newRelationshipTemplate.getEntityTwoProxy();
+
+                if ((! this.ensureEntityEndKnown(userId, entityOneProxy.getGUID(), entityOneProxy, metadataCollection)) ||
+                    (! this.ensureEntityEndKnown(userId, entityTwoProxy.getGUID(), entityTwoProxy, metadataCollection)))
+                {
+                    entityEndsKnown = false;
+                    break;
+                }
+            }
+
+            if (entityEndsKnown)
+            {
+                newRelationships = metadataCollection.addRelationships(userId, newRelationshipTemplates);
+            }
+
+            if (newRelationships != null)
+            {
+                result = true;
+            }
+        }
+        catch (TypeErrorException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (InvalidParameterException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (EntityNotKnownException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (StatusNotSupportedException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (PropertyErrorException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (RepositoryErrorException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (UserNotAuthorizedException error)
+        {
+            accumulator.captureException(error);
+        }
+        catch (Throwable error)
+        {
+            accumulator.captureGenericException(error);
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Return the result of the execution.  Hopefully this is a result - but may be an exception
+     *
+     * @return list of new relationships in the same order as the templates.
+     * @throws InvalidParameterException   one of the parameters is invalid or null.
+     * @throws RepositoryErrorException    there is a problem communicating with the metadata repository where
+     *                                     the metadata collection is stored.
+     * @throws TypeErrorException          one of the requested types is not known, or not supported in the metadata
+     *                                     repository hosting the metadata collection.
+     * @throws PropertyErrorException      one or more of the requested properties are not defined, or have different
+     *                                     characteristics in the TypeDef for the relationship's type.
+     * @throws EntityNotKnownException     one of the requested entities is not known in the metadata collection.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                     one of the requested statuses.
+     * @throws FunctionNotSupportedException the repository does not support maintenance of metadata.
+     * @throws UserNotAuthorizedException  the userId is not permitted to perform this operation.
+     */
+    public List<Relationship> getNewRelationships() throws InvalidParameterException,
+                                                           RepositoryErrorException,
+                                                           TypeErrorException,
+                                                           PropertyErrorException,
+                                                           EntityNotKnownException,
+                                                           StatusNotSupportedException,
+                                                           FunctionNotSupportedException,
+                                                           UserNotAuthorizedException
+    {
+        if (newRelationships != null)
+        {
+            return newRelationships;
+        }
+
+        accumulator.throwCapturedEntityNotKnownException();
+        accumulator.throwCapturedInvalidParameterException();
+        accumulator.throwCapturedRepositoryErrorException();
+        accumulator.throwCapturedStatusNotSupportedException();
+        accumulator.throwCapturedTypeErrorException();
+        accumulator.throwCapturedPropertyErrorException();
+        accumulator.throwCapturedUserNotAuthorizedException();
+        accumulator.throwCapturedFunctionNotSupportedException();
+        accumulator.throwCapturedThrowableException(methodName);
+
+        return null;
+    }
+
+
+    /**
+     * Validate that the metadata collection supports an end of a new relationship (and add if can).
+     *
+     * @param userId calling user
+     * @param entityGUID guid of the entity.
+     * @param entityProxy proxy to add if missing.
+     * @param metadataCollection current repository.
+     * @return boolean - true if entity is known.
+     */
+    private boolean ensureEntityEndKnown(String                 userId,
+                                         String                 entityGUID,
+                                         EntityProxy            entityProxy,
+                                         OMRSMetadataCollection metadataCollection)
+    {
+        try
+        {
+            metadataCollection.getEntitySummary(userId, entityGUID);
+            return true;
+        }
+        catch (EntityNotKnownException error)
+        {
+            try
+            {
+                metadataCollection.addEntityProxy(userId, entityProxy);
+                return true;
+            }
+            catch (Throwable proxyError)
+            {
+                log.debug("Error from adding proxy: " + proxyError.getMessage());
+            }
+        }
+        catch (Throwable error)
+        {
+            log.debug("Error from querying entity: " + error.getMessage());
+        }
+
+        return false;
+    }
+}
@@ -2,6 +2,8 @@
 /* Copyright Contributors to the ODPi Egeria project. */
 package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
 
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+
 /**
  * CloneableRepositoryExecutor describes the interface for a repository executor that can be cloned to run
  * in parallel.  They use a shared accumulator to gather and assemble the result.
@@ -14,4 +16,15 @@ public interface CloneableRepositoryExecutor
      * @return clone of this executor
      */
     CloneableRepositoryExecutor getClone();
+
+
+    /**
+     * Record that the request to a repository was abandoned because it did not respond in time.
+     * The exception is only returned to the caller if none of the other repositories return results.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param timeoutException exception describing the timeout
+     */
+    void captureTimeout(String                   metadataCollectionId,
+                        RepositoryErrorException timeoutException);
 }
@@ -14,6 +14,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -191,12 +192,12 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
                                                                                          classificationName,
                                                                                          matchClassificationProperties,
                                                                                          matchCriteria,
-                                                                                         startingElement,
+                                                                                         this.getMemberStartingElement(metadataCollectionId),
                                                                                          limitResultsByStatus,
                                                                                          asOfTime,
                                                                                          sequencingProperty,
                                                                                          sequencingOrder,
-                                                                                         pageSize);
+                                                                                         this.getMemberPageSize());
 
             accumulator.addEntities(results, metadataCollectionId);
 
@@ -269,11 +270,32 @@ public class FindEntitiesByClassificationExecutor extends PageableRepositoryExec
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector);
+            List<EntityDetail> results = accumulator.getResults(repositoryConnector,
+                                                                startingElement,
+                                                                sequencingProperty,
+                                                                sequencingOrder,
+                                                                pageSize);
+
+            super.savePagingCursor(results);
+
+            return results;
         }
 
         handleCommonPagingRequestExceptions();
 
         return null;
     }
+
+
+    /**
+     * Return the parameters of the query that are specific to this type of request.
+     *
+     * @return list of parameter values
+     */
+    List<Object> getQueryParameters()
+    {
+        return Arrays.asList(classificationName,
+                             matchClassificationProperties,
+                             matchCriteria);
+    }
 }
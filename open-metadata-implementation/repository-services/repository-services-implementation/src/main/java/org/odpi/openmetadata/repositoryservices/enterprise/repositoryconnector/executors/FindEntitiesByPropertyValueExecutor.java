@@ -12,6 +12,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -181,13 +182,13 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
             List<EntityDetail> results = metadataCollection.findEntitiesByPropertyValue(userId,
                                                                                         instanceTypeGUID,
                                                                                         searchCriteria,
-                                                                                        startingElement,
+                                                                                        this.getMemberStartingElement(metadataCollectionId),
                                                                                         limitResultsByStatus,
                                                                                         limitResultsByClassification,
                                                                                         asOfTime,
                                                                                         sequencingProperty,
                                                                                         sequencingOrder,
-                                                                                        pageSize);
+                                                                                        this.getMemberPageSize());
 
             accumulator.addEntities(results, metadataCollectionId);
         }
@@ -255,11 +256,31 @@ public class FindEntitiesByPropertyValueExecutor extends PageableRepositoryExecu
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector);
+            List<EntityDetail> results = accumulator.getResults(repositoryConnector,
+                                                                startingElement,
+                                                                sequencingProperty,
+                                                                sequencingOrder,
+                                                                pageSize);
+
+            super.savePagingCursor(results);
+
+            return results;
         }
 
         handleCommonPagingRequestExceptions();
 
         return null;
     }
+
+
+    /**
+     * Return the parameters of the query that are specific to this type of request.
+     *
+     * @return list of parameter values
+     */
+    List<Object> getQueryParameters()
+    {
+        return Arrays.asList(searchCriteria,
+                             limitResultsByClassification);
+    }
 }
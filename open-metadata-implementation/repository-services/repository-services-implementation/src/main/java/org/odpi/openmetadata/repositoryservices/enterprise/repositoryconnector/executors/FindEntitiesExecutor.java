@@ -14,6 +14,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.EntityAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -191,13 +192,13 @@ public class FindEntitiesExecutor extends PageableRepositoryExecutorBase
                                                                          instanceTypeGUID,
                                                                          instanceSubtypeGUIDs,
                                                                          matchProperties,
-                                                                         startingElement,
+                                                                         this.getMemberStartingElement(metadataCollectionId),
                                                                          limitResultsByStatus,
                                                                          matchClassifications,
                                                                          asOfTime,
                                                                          sequencingProperty,
                                                                          sequencingOrder,
-                                                                         pageSize);
+                                                                         this.getMemberPageSize());
 
             accumulator.addEntities(results, metadataCollectionId);
         }
@@ -265,11 +266,32 @@ public class FindEntitiesExecutor extends PageableRepositoryExecutorBase
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector);
+            List<EntityDetail> results = accumulator.getResults(repositoryConnector,
+                                                                startingElement,
+                                                                sequencingProperty,
+                                                                sequencingOrder,
+                                                                pageSize);
+
+            super.savePagingCursor(results);
+
+            return results;
         }
 
         handleCommonPagingRequestExceptions();
 
         return null;
     }
+
+
+    /**
+     * Return the parameters of the query that are specific to this type of request.
+     *
+     * @return list of parameter values
+     */
+    List<Object> getQueryParameters()
+    {
+        return Arrays.asList(instanceSubtypeGUIDs,
+                             matchProperties,
+                             matchClassifications);
+    }
 }
@@ -14,6 +14,7 @@ import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.E
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.RelationshipAccumulator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -188,12 +189,12 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
                                                                                         instanceTypeGUID,
                                                                                         matchProperties,
                                                                                         matchCriteria,
-                                                                                        startingElement,
+                                                                                        this.getMemberStartingElement(metadataCollectionId),
                                                                                         limitResultsByStatus,
                                                                                         asOfTime,
                                                                                         sequencingProperty,
                                                                                         sequencingOrder,
-                                                                                        pageSize);
+                                                                                        this.getMemberPageSize());
 
             accumulator.addRelationships(results, metadataCollectionId);
         }
@@ -260,11 +261,31 @@ public class FindRelationshipsByPropertyExecutor extends PageableRepositoryExecu
     {
         if (accumulator.resultsReturned())
         {
-            return accumulator.getResults(repositoryConnector);
+            List<Relationship> results = accumulator.getResults(repositoryConnector,
+                                                                startingElement,
+                                                                sequencingProperty,
+                                                                sequencingOrder,
+                                                                pageSize);
+
+            super.savePagingCursor(results);
+
+            return results;
         }
 
         handleCommonPagingRequestExceptions();
 
         return null;
     }
+
+
+    /**
+     * Return the parameters of the query that are specific to this type of request.
+     *
+     * @return list of parameter values
+     */
+    List<Object> getQueryParameters()
+    {
+        return Arrays.asList(matchProperties,
+                             matchCriteria);
+    }
 }
@@ -0,0 +1,23 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+
+/**
+ * FirstAnswerRepositoryExecutor describes the interface for a repository executor that only needs one
+ * repository to return a result.  Its issueRequestToRepository method is thread-safe so it can be called
+ * for all of the repositories in parallel.  The first call to return true completes the request and the
+ * calls to the other repositories that are still outstanding are cancelled.
+ */
+public interface FirstAnswerRepositoryExecutor extends RepositoryExecutor
+{
+    /**
+     * Record that the request to a repository was abandoned because it did not respond in time.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param timeoutException exception describing the timeout
+     */
+    void captureTimeout(String                   metadataCollectionId,
+                        RepositoryErrorException timeoutException);
+}
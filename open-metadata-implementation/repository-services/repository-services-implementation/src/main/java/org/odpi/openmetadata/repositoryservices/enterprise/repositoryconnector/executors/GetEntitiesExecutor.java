@@ -0,0 +1,224 @@
+/* SPDX-License-Identifier: Apache 2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.MaintenanceAccumulator;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
+
+import java.util.*;
+
+/**
+ * GetEntitiesExecutor provides the executor for the getEntityDetails method.  It follows the same approach as
+ * the GetEntityExecutor for each of the requested entities, but the entities are retrieved from each
+ * metadata repository with a single call.
+ *
+ * Entities are requested from the metadata repositories until the entity from the home repository is retrieved.
+ * The classifications are saved from each retrieval along with the latest version of the entity.
+ * Once the home repository's version of an entity is retrieved, only the home classifications are taken from the
+ * copies of the entity returned by the remaining repositories.  Unlike the GetEntityExecutor, a repository that
+ * does not return a copy of the entity is not asked separately for its home classifications, so each repository
+ * receives a single call however many entities are requested.
+ */
+public class GetEntitiesExecutor extends RepositoryExecutorBase
+{
+    private Map<String, EntityState> entityStates = new LinkedHashMap<>();
+
+    private MaintenanceAccumulator   accumulator  = new MaintenanceAccumulator();
+
+
+    /**
+     * Constructor takes the parameters for the request.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUIDs unique identifiers (guids) for the entities.
+     * @param methodName calling method
+     */
+    public GetEntitiesExecutor(String       userId,
+                               List<String> entityGUIDs,
+                               String       methodName)
+    {
+        super(userId, methodName);
+
+        if (entityGUIDs != null)
+        {
+            for (String entityGUID : entityGUIDs)
+            {
+                if (entityGUID != null)
+                {
+                    entityStates.put(entityGUID, new EntityState());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Perform the required action for the supplied repository.
+     * Some repositories may produce exceptions.  These exceptions are saved and will be returned if
+     * there are no positive results from any repository.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param metadataCollection metadata collection object for the repository
+     * @return boolean true means that the required results have been achieved
+     */
+    public boolean issueRequestToRepository(String                 metadataCollectionId,
+                                            OMRSMetadataCollection metadataCollection)
+    {
+        if (! entityStates.isEmpty())
+        {
+            try
+            {
+                List<EntityDetail> retrievedEntities = metadataCollection.getEntityDetails(userId,
+                                                                                           new ArrayList<>(entityStates.keySet()));
+
+                if (retrievedEntities != null)
+                {
+                    for (EntityDetail retrievedEntity : retrievedEntities)
+                    {
+                        if (retrievedEntity != null)
+                        {
+                            EntityState entityState = entityStates.get(retrievedEntity.getGUID());
+
+                            if (entityState != null)
+                            {
+                                this.saveRetrievedEntity(metadataCollectionId, retrievedEntity, entityState);
+                            }
+                        }
+                    }
+                }
+            }
+            catch (InvalidParameterException error)
+            {
+                accumulator.captureException(error);
+            }
+            catch (RepositoryErrorException error)
+            {
+                accumulator.captureException(error);
+            }
+            catch (UserNotAuthorizedException error)
+            {
+                accumulator.captureException(error);
+            }
+            catch (Throwable error)
+            {
+                accumulator.captureGenericException(error);
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Harvest the home classifications from a retrieved entity and, if the home repository has not yet been found,
+     * remember it if it is the latest version.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param retrievedEntity entity from the repository
+     * @param entityState accumulated results for the entity
+     */
+    private void saveRetrievedEntity(String       metadataCollectionId,
+                                     EntityDetail retrievedEntity,
+                                     EntityState  entityState)
+    {
+        if (retrievedEntity.getClassifications() != null)
+        {
+            for (Classification entityClassification : retrievedEntity.getClassifications())
+            {
+                if (entityClassification != null)
+                {
+                    /*
+                     * Only home classifications are saved.
+                     */
+                    if (metadataCollectionId.equals(entityClassification.getMetadataCollectionId()))
+                    {
+                        entityState.homeClassifications.put(entityClassification.getName(), entityClassification);
+                    }
+                }
+            }
+        }
+
+        /*
+         * Once the home repository's version of the entity is retrieved, it is kept.
+         */
+        if (entityState.inPhaseOne)
+        {
+            if (metadataCollectionId.equals(retrievedEntity.getMetadataCollectionId()))
+            {
+                /*
+                 * The home repository is found - assume it is the latest version - moving to phase two
+                 */
+                entityState.latestEntity = retrievedEntity;
+                entityState.inPhaseOne = false;
+            }
+            else if ((entityState.latestEntity == null) ||
+                     (retrievedEntity.getVersion() > entityState.latestEntity.getVersion()))
+            {
+                entityState.latestEntity = retrievedEntity;
+            }
+        }
+    }
+
+
+    /**
+     * Return the entities that were retrieved in the order that they were requested.  Entities that
+     * were not found in any repository are omitted.
+     *
+     * @return list of entities or null if none of the entities could be retrieved.
+     * @throws InvalidParameterException the guids are invalid.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    public List<EntityDetail> getEntityDetails() throws InvalidParameterException,
+                                                        RepositoryErrorException,
+                                                        UserNotAuthorizedException
+    {
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (EntityState entityState : entityStates.values())
+        {
+            EntityDetail latestEntity = entityState.latestEntity;
+
+            if (latestEntity != null)
+            {
+                if (entityState.homeClassifications.isEmpty())
+                {
+                    latestEntity.setClassifications(null);
+                }
+                else
+                {
+                    latestEntity.setClassifications(new ArrayList<>(entityState.homeClassifications.values()));
+                }
+
+                results.add(latestEntity);
+            }
+        }
+
+        if (! results.isEmpty())
+        {
+            return results;
+        }
+
+        accumulator.throwCapturedRepositoryErrorException();
+        accumulator.throwCapturedUserNotAuthorizedException();
+        accumulator.throwCapturedInvalidParameterException();
+
+        return null;
+    }
+
+
+    /**
+     * EntityState holds the results retrieved so far for one of the requested entities.
+     */
+    private static class EntityState
+    {
+        private boolean                     inPhaseOne          = true;
+        private EntityDetail                latestEntity        = null;
+        private Map<String, Classification> homeClassifications = new HashMap<>();
+    }
+}
@@ -12,13 +12,15 @@ import java.util.Date;
 
 /**
  * GetRelationshipExecutor provides the executor for the isRelationshipKnown and getRelationship methods.
+ * The first repository to return the relationship provides the result, so the requests to the
+ * repositories may be issued in parallel.
  */
-public class GetRelationshipExecutor extends RepositoryExecutorBase
+public class GetRelationshipExecutor extends RepositoryExecutorBase implements FirstAnswerRepositoryExecutor
 {
     private String                 relationshipGUID;
     private boolean                allExceptions         = true;
     private Date                   asOfTime              = null;
-    private Relationship           retrievedRelationship = null;
+    private volatile Relationship  retrievedRelationship = null;
     private MaintenanceAccumulator accumulator           = new MaintenanceAccumulator();
 
 
@@ -80,6 +82,8 @@ public class GetRelationshipExecutor extends RepositoryExecutorBase
 
         try
         {
+            Relationship relationship;
+
             /*
              * Issue the request and return if it succeeds
              */
@@ -87,23 +91,24 @@ public class GetRelationshipExecutor extends RepositoryExecutorBase
             {
                 if (allExceptions)
                 {
-                    retrievedRelationship = metadataCollection.getRelationship(userId,
-                                                                               relationshipGUID);
+                    relationship = metadataCollection.getRelationship(userId,
+                                                                      relationshipGUID);
                 }
                 else
                 {
-                    retrievedRelationship = metadataCollection.isRelationshipKnown(userId,
-                                                                                   relationshipGUID);
+                    relationship = metadataCollection.isRelationshipKnown(userId,
+                                                                          relationshipGUID);
                 }
             }
             else
             {
-                retrievedRelationship = metadataCollection.getRelationship(userId,
-                                                                           relationshipGUID,
-                                                                           asOfTime);
+                relationship = metadataCollection.getRelationship(userId,
+                                                                  relationshipGUID,
+                                                                  asOfTime);
             }
-            if (retrievedRelationship != null)
+            if (relationship != null)
             {
+                this.saveRelationship(relationship);
                 result = true;
             }
         }
@@ -132,6 +137,33 @@ public class GetRelationshipExecutor extends RepositoryExecutorBase
     }
 
 
+    /**
+     * Save the first relationship retrieved.  Later responses from other repositories are ignored.
+     *
+     * @param relationship retrieved relationship
+     */
+    private synchronized void saveRelationship(Relationship relationship)
+    {
+        if (retrievedRelationship == null)
+        {
+            retrievedRelationship = relationship;
+        }
+    }
+
+
+    /**
+     * Record that the request to a repository was abandoned because it did not respond in time.
+     *
+     * @param metadataCollectionId unique identifier for the metadata collection for the repository
+     * @param timeoutException exception describing the timeout
+     */
+    public void captureTimeout(String                   metadataCollectionId,
+                               RepositoryErrorException timeoutException)
+    {
+        accumulator.captureException(timeoutException);
+    }
+
+
     /**
      * Returns a boolean indicating if the relationship is stored in the metadata collection.
      *
@@ -6,14 +6,18 @@ package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceStatus;
 import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators.QueryInstanceAccumulatorBase;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control.FederatedPagingCursorCache;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
 /**
- * CloneableRepositoryExecutorBase provides a base class for executors that can be cloned and run in
- * parallel so the call to each repository runs in a different thread.
+ * PageableRepositoryExecutorBase provides a base class for the executors of find requests that return
+ * a page of instances.  It holds the paging and sequencing parameters of the request and, when a paging
+ * cursor cache is set, restores and saves the position reached in each member repository so that later
+ * pages do not need to re-read the earlier ones.
  */
 abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecutorBase
 {
@@ -27,6 +31,7 @@ abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecuto
     Date                 asOfTime;
 
     private QueryInstanceAccumulatorBase queryInstanceAccumulator;
+    private FederatedPagingCursorCache   pagingCursorCache = null;
 
     /**
      * Create the executor.  The parameters provide the parameters for issuing the requests and
@@ -71,7 +76,6 @@ abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecuto
     /**
      * Return any of the exceptions that are common to paging requests.
      *
-
      * @throws InvalidParameterException one of the parameters is invalid or null.
      * @throws TypeErrorException the type guid passed on the request is not known by the
      *                              metadata collection.
@@ -100,4 +104,101 @@ abstract class PageableRepositoryExecutorBase extends CloneableRepositoryExecuto
         queryInstanceAccumulator.throwCapturedTypeErrorException();
         queryInstanceAccumulator.throwCapturedPagingErrorException();
     }
+
+
+    /**
+     * Supply the cache of paging cursors for federated queries.  If the cache holds a cursor for the requested
+     * page, each member repository is asked for a page of results starting from its position in the cursor.
+     * This must be called before the requests are issued to the member repositories.
+     *
+     * @param pagingCursorCache cache of paging cursors
+     */
+    public void setPagingCursorCache(FederatedPagingCursorCache pagingCursorCache)
+    {
+        this.pagingCursorCache = pagingCursorCache;
+
+        if ((pagingCursorCache != null) && (startingElement > 0) && (pageSize > 0))
+        {
+            queryInstanceAccumulator.setPagingCursor(pagingCursorCache.getCursor(this.getPagingCursorKey(), startingElement));
+        }
+    }
+
+
+    /**
+     * Return the starting element for the request to a member repository.  The member repositories return
+     * their results from the start so that they can be merged, unless they are positioned by a paging cursor.
+     *
+     * @param metadataCollectionId unique identifier of the member repository's metadata collection
+     * @return element number
+     */
+    int getMemberStartingElement(String   metadataCollectionId)
+    {
+        return queryInstanceAccumulator.getMemberStartingElement(metadataCollectionId);
+    }
+
+
+    /**
+     * Return the page size for the request to a member repository.  Without a paging cursor, each member
+     * repository needs to return all of the results up to the end of the requested page because any of them
+     * could be part of the page once the results are merged.
+     *
+     * @return maximum number of results to request (zero means no limit)
+     */
+    int getMemberPageSize()
+    {
+        if ((pageSize == 0) || (queryInstanceAccumulator.isPagingCursorSet()))
+        {
+            return pageSize;
+        }
+
+        int memberPageSize = startingElement + pageSize;
+
+        if (memberPageSize < 0)
+        {
+            return Integer.MAX_VALUE;
+        }
+
+        return memberPageSize;
+    }
+
+
+    /**
+     * Save the paging cursor for the next page once a full page of results has been returned.
+     *
+     * @param results page of results returned to the caller
+     */
+    void savePagingCursor(List<?>   results)
+    {
+        if ((pagingCursorCache != null) && (pageSize > 0) && (results != null) && (results.size() == pageSize))
+        {
+            pagingCursorCache.saveCursor(this.getPagingCursorKey(), queryInstanceAccumulator.getNextPagingCursor());
+        }
+    }
+
+
+    /**
+     * Return the parameters that identify the query for the paging cursor cache.
+     *
+     * @return list of parameter values
+     */
+    private List<Object> getPagingCursorKey()
+    {
+        return Arrays.asList(methodName,
+                             userId,
+                             instanceTypeGUID,
+                             limitResultsByStatus,
+                             sequencingProperty,
+                             sequencingOrder,
+                             pageSize,
+                             asOfTime,
+                             this.getQueryParameters());
+    }
+
+
+    /**
+     * Return the parameters of the query that are specific to the type of request.
+     *
+     * @return list of parameter values
+     */
+    abstract List<Object> getQueryParameters();
 }
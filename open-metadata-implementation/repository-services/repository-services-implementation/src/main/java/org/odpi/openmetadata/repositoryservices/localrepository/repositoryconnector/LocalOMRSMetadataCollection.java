@@ -1804,6 +1804,76 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  The entities are retrieved from
+     * the real repository in a single call.  Entities that are not known, are only proxies, or the user is not
+     * permitted to see are not returned.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param guids list of unique identifiers for the entities.
+     * @return list of the retrieved entities or null if none of the entities could be retrieved.
+     * @throws InvalidParameterException the userId is null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> getEntityDetails(String       userId,
+                                               List<String> guids) throws InvalidParameterException,
+                                                                          RepositoryErrorException,
+                                                                          UserNotAuthorizedException
+    {
+        final String  methodName        = "getEntityDetails";
+
+        /*
+         * Validate parameters
+         */
+        super.basicRequestValidation(userId, methodName);
+
+        /*
+         * Perform operation
+         */
+        List<EntityDetail> entities = realMetadataCollection.getEntityDetails(userId, guids);
+
+        if (entities == null)
+        {
+            return null;
+        }
+
+        List<EntityDetail> results = new ArrayList<>();
+
+        for (EntityDetail entity : entities)
+        {
+            if (entity != null)
+            {
+                setLocalProvenanceThroughoutEntity(entity);
+
+                /*
+                 * Entities that the user is not allowed to see are dropped from the results.
+                 */
+                try
+                {
+                    securityVerifier.validateUserForEntitySummaryRead(userId, metadataCollectionName, entity);
+                    results.add(entity);
+                }
+                catch (org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException error)
+                {
+                    /*
+                     * Ignore this entity
+                     */
+                }
+            }
+        }
+
+        if (results.isEmpty())
+        {
+            return null;
+        }
+
+        return results;
+    }
+
+
     /**
      * Return a historical version of an entity.  This includes the header, classifications and properties of the entity.
      *
@@ -1944,6 +2014,51 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Return the current relationships for a list of entities.  The relationships are retrieved from
+     * the real repository in a single call.  Each relationship is returned once and entities that are not
+     * known are ignored.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param entityGUIDs list of unique identifiers for the entities.
+     * @param relationshipTypeGUID String GUID of the the type of relationship required (null for all).
+     * @return Relationships list.  Null means no relationships associated with the entities.
+     * @throws InvalidParameterException a parameter is invalid or null.
+     * @throws TypeErrorException the type guid passed on the request is not known by the metadata collection.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored.
+     * @throws PropertyErrorException the relationships could not be retrieved.
+     * @throws PagingErrorException the relationships could not be retrieved.
+     * @throws FunctionNotSupportedException the repository does not support the retrieval of relationships.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> getRelationshipsForEntities(String       userId,
+                                                          List<String> entityGUIDs,
+                                                          String       relationshipTypeGUID) throws InvalidParameterException,
+                                                                                                    TypeErrorException,
+                                                                                                    RepositoryErrorException,
+                                                                                                    PropertyErrorException,
+                                                                                                    PagingErrorException,
+                                                                                                    FunctionNotSupportedException,
+                                                                                                    UserNotAuthorizedException
+    {
+        /*
+         * Validate parameters
+         */
+        super.getRelationshipsForEntitiesParameterValidation(userId, relationshipTypeGUID);
+
+        /*
+         * Perform operation
+         */
+        List<Relationship>  resultList = realMetadataCollection.getRelationshipsForEntities(userId,
+                                                                                            entityGUIDs,
+                                                                                            relationshipTypeGUID);
+
+        return this.securityVerifyReadRelationshipList(userId, setLocalProvenanceInRelationshipList(resultList));
+    }
+
+
     /**
      * Return a list of entities that match the supplied properties according to the match criteria.  The results
      * can be returned over many pages.
@@ -3176,6 +3291,104 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Create a batch of new entities.  Each entity in the list is a template that supplies the type, initial
+     * properties, initial classifications and (optionally) the initial status of a new entity.
+     * All of the templates are validated before any entity is created.  The new entities are created by
+     * a single request to the real repository and are sent to the cohort in a single batch event.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newEntities list of templates for the new entities.
+     * @return list of new entities or null if no templates are supplied.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored.
+     * @throws TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                              hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the entity's type.
+     * @throws ClassificationErrorException one or more of the requested classifications are either not known or
+     *                                           not defined for the entity type.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                       one of the requested statuses.
+     * @throws FunctionNotSupportedException the repository does not support maintenance of metadata.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<EntityDetail> addEntities(String               userId,
+                                          List<EntityDetail>   newEntities) throws InvalidParameterException,
+                                                                                   RepositoryErrorException,
+                                                                                   TypeErrorException,
+                                                                                   PropertyErrorException,
+                                                                                   ClassificationErrorException,
+                                                                                   StatusNotSupportedException,
+                                                                                   FunctionNotSupportedException,
+                                                                                   UserNotAuthorizedException
+    {
+        final String  methodName  = "addEntities";
+
+        /*
+         * Validate parameters
+         */
+        super.addEntitiesParameterValidation(userId, newEntities, methodName);
+
+        if ((newEntities == null) || (newEntities.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Check operation is allowed
+         */
+        try
+        {
+            for (EntityDetail newEntity : newEntities)
+            {
+                securityVerifier.validateUserForEntityCreate(userId,
+                                                             metadataCollectionName,
+                                                             newEntity.getType().getTypeDefGUID(),
+                                                             newEntity.getProperties(),
+                                                             newEntity.getClassifications(),
+                                                             newEntity.getStatus());
+            }
+        }
+        catch (org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException  error)
+        {
+            throw new UserNotAuthorizedException(error);
+        }
+
+
+        /*
+         * Validation complete, ok to create new instances
+         */
+        List<EntityDetail> entities = realMetadataCollection.addEntities(userId, newEntities);
+
+        if ((entities != null) && (! entities.isEmpty()))
+        {
+            this.setLocalProvenanceInEntityList(entities);
+
+            /*
+             * OK to send out
+             */
+            if (produceEventsForRealConnector)
+            {
+                InstanceGraph instances = new InstanceGraph();
+
+                instances.setEntities(entities);
+
+                outboundRepositoryEventProcessor.processInstanceBatchEvent(repositoryName,
+                                                                           metadataCollectionId,
+                                                                           localServerName,
+                                                                           localServerType,
+                                                                           localOrganizationName,
+                                                                           instances);
+            }
+        }
+
+        return entities;
+    }
+
+
     /**
      * Create an entity proxy in the metadata collection.  This is used to store relationships that span metadata
      * repositories.
@@ -4961,6 +5174,107 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
     }
 
 
+    /**
+     * Create a batch of new relationships.  Each relationship in the list is a template that supplies the type,
+     * initial properties, the entities to connect (through the GUIDs of its entity proxies) and (optionally) the
+     * initial status of a new relationship.  All of the templates are validated before any relationship is created.
+     * The new relationships are created by a single request to the real repository and are sent to the cohort in a
+     * single batch event.
+     *
+     * @param userId unique identifier for requesting user.
+     * @param newRelationships list of templates for the new relationships.
+     * @return list of new relationships or null if no templates are supplied.
+     * @throws InvalidParameterException one of the parameters is invalid or null.
+     * @throws RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored.
+     * @throws TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                            hosting the metadata collection.
+     * @throws PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the relationship's type.
+     * @throws EntityNotKnownException one of the requested entities is not known in the metadata collection.
+     * @throws StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                     one of the requested statuses.
+     * @throws FunctionNotSupportedException the repository does not support maintenance of metadata.
+     * @throws UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @Override
+    public List<Relationship> addRelationships(String               userId,
+                                               List<Relationship>   newRelationships) throws InvalidParameterException,
+                                                                                             RepositoryErrorException,
+                                                                                             TypeErrorException,
+                                                                                             PropertyErrorException,
+                                                                                             EntityNotKnownException,
+                                                                                             StatusNotSupportedException,
+                                                                                             FunctionNotSupportedException,
+                                                                                             UserNotAuthorizedException
+    {
+        final String  methodName = "addRelationships";
+
+        /*
+         * Validate parameters
+         */
+        super.addRelationshipsParameterValidation(userId, newRelationships, methodName);
+
+        if ((newRelationships == null) || (newRelationships.isEmpty()))
+        {
+            return null;
+        }
+
+        /*
+         * Check operation is allowed
+         */
+        try
+        {
+            for (Relationship newRelationship : newRelationships)
+            {
+                EntitySummary end1 = realMetadataCollection.getEntitySummary(userId, newRelationship.getEntityOneProxy().getGUID());
+                EntitySummary end2 = realMetadataCollection.getEntitySummary(userId, newRelationship.getEntityTwoProxy().getGUID());
+
+                securityVerifier.validateUserForRelationshipCreate(userId,
+                                                                   metadataCollectionName,
+                                                                   newRelationship.getType().getTypeDefGUID(),
+                                                                   newRelationship.getProperties(),
+                                                                   end1,
+                                                                   end2,
+                                                                   newRelationship.getStatus());
+            }
+        }
+        catch (org.odpi.openmetadata.frameworks.connectors.ffdc.UserNotAuthorizedException  error)
+        {
+            throw new UserNotAuthorizedException(error);
+        }
+
+        /*
+         * Validation complete ok to create new instances
+         */
+        List<Relationship> relationships = realMetadataCollection.addRelationships(userId, newRelationships);
+
+        if ((relationships != null) && (! relationships.isEmpty()))
+        {
+            this.setLocalProvenanceInRelationshipList(relationships);
+
+            /*
+             * OK to send out
+             */
+            if (produceEventsForRealConnector)
+            {
+                InstanceGraph instances = new InstanceGraph();
+
+                instances.setRelationships(relationships);
+
+                outboundRepositoryEventProcessor.processInstanceBatchEvent(repositoryName,
+                                                                           metadataCollectionId,
+                                                                           localServerName,
+                                                                           localServerType,
+                                                                           localOrganizationName,
+                                                                           instances);
+            }
+        }
+
+        return relationships;
+    }
+
+
     /**
      * Update the status of a specific relationship.
      *
@@ -6935,9 +7249,91 @@ public class LocalOMRSMetadataCollection extends OMRSMetadataCollectionBase
                                                                               UserNotAuthorizedException,
                                                                               FunctionNotSupportedException
     {
-      
-        //delegate processing to the real metadata collection
-        realMetadataCollection.saveInstanceReferenceCopies(userId, instances);
-      
+        final String  methodName = "saveInstanceReferenceCopies";
+        final String  entityParameterName = "instances.entities";
+        final String  relationshipParameterName = "instances.relationships";
+
+        /*
+         * Validate parameters
+         */
+        super.basicRequestValidation(userId, methodName);
+
+        if (instances == null)
+        {
+            return;
+        }
+
+        /*
+         * Each instance is validated before any instance is saved.  Instances from the local metadata collection
+         * are ignored, as are instances from a future version of this OMRS with header values that this version
+         * of the implementation does not understand.
+         */
+        List<EntityDetail> validEntities      = new ArrayList<>();
+        List<Relationship> validRelationships = new ArrayList<>();
+
+        if (instances.getEntities() != null)
+        {
+            for (EntityDetail entity : instances.getEntities())
+            {
+                if (isReferenceCopyToSave(entity, entityParameterName, methodName))
+                {
+                    validEntities.add(entity);
+                }
+            }
+        }
+
+        if (instances.getRelationships() != null)
+        {
+            for (Relationship relationship : instances.getRelationships())
+            {
+                if (isReferenceCopyToSave(relationship, relationshipParameterName, methodName))
+                {
+                    validRelationships.add(relationship);
+                }
+            }
+        }
+
+        if ((! validEntities.isEmpty()) || (! validRelationships.isEmpty()))
+        {
+            InstanceGraph validInstances = new InstanceGraph();
+
+            validInstances.setEntities(validEntities);
+            validInstances.setRelationships(validRelationships);
+
+            /*
+             * Save instances
+             */
+            realMetadataCollection.saveInstanceReferenceCopies(userId, validInstances);
+        }
+    }
+
+
+    /**
+     * Validate an instance from a batch of reference copies and decide if it should be saved.
+     *
+     * @param instance instance from the batch
+     * @param instanceParameterName name of the parameter that the instance came from
+     * @param methodName calling method
+     * @return boolean flag indicating whether the instance should be saved
+     * @throws InvalidParameterException the instance is invalid
+     * @throws RepositoryErrorException there is a problem with the instance's header
+     */
+    private boolean isReferenceCopyToSave(InstanceHeader   instance,
+                                          String           instanceParameterName,
+                                          String           methodName) throws InvalidParameterException,
+                                                                              RepositoryErrorException
+    {
+        if ((instance == null) || (metadataCollectionId.equals(instance.getMetadataCollectionId())))
+        {
+            return false;
+        }
+
+        repositoryValidator.validateReferenceInstanceHeader(repositoryName,
+                                                            metadataCollectionId,
+                                                            instanceParameterName,
+                                                            instance,
+                                                            methodName);
+
+        return instance.getHeaderVersion() <= InstanceAuditHeader.CURRENT_AUDIT_HEADER_VERSION;
     }
 }
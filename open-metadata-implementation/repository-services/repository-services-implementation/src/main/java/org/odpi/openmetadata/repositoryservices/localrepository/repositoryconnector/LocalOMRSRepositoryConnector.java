@@ -417,6 +417,37 @@ public class LocalOMRSRepositoryConnector extends OMRSRepositoryConnector implem
     }
 
 
+    /**
+     * Pass the start of bulk load mode to the real local connector.
+     *
+     * @param batchSize number of writes in each batch - zero or less uses the repository's default
+     * @throws RepositoryErrorException the real local connector is not able to start bulk load mode
+     */
+    @Override
+    public void startBulkLoad(int batchSize) throws RepositoryErrorException
+    {
+        if (realLocalConnector != null)
+        {
+            realLocalConnector.startBulkLoad(batchSize);
+        }
+    }
+
+
+    /**
+     * Pass the end of bulk load mode to the real local connector.
+     *
+     * @throws RepositoryErrorException the real local connector is not able to complete the instances that were loaded
+     */
+    @Override
+    public void endBulkLoad() throws RepositoryErrorException
+    {
+        if (realLocalConnector != null)
+        {
+            realLocalConnector.endBulkLoad();
+        }
+    }
+
+
     /**
      * Explicitly set up the metadata collection name.
      *
@@ -21,6 +21,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * OMRSRepositoryContentManager supports an in-memory cache of TypeDefs for the local server.  It is used by the OMRS
@@ -58,10 +59,15 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
     private Map<String, TypeDef>            activeTypeDefNames             = new HashMap<>();
     private Map<String, AttributeTypeDef>   activeAttributeTypeDefGUIDs    = new HashMap<>();
     private Map<String, AttributeTypeDef>   activeAttributeTypeDefNames    = new HashMap<>();
-    private Map<String, List<TypeDefLink>>  typeDefSuperTypes              = new HashMap<>();
     private Map<String, InstanceType>       knownInstanceTypes             = new HashMap<>();
     private Map<String, String>             metadataCollectionNames        = new HashMap<>();
-    private Map<String, Set<String>>        knownPropertyToTypeDefNames    = new HashMap<>();
+
+    /*
+     * The type hierarchy index is rebuilt from the known TypeDefs when it is next used after the TypeDefs change.
+     * The version is incremented each time the TypeDefs change.
+     */
+    private final AtomicLong                typeDefVersion                 = new AtomicLong(0);
+    private volatile OMRSTypeHierarchyIndex typeHierarchyIndex             = null;
 
 
     /*
@@ -164,34 +170,8 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
         {
             log.debug("New Known Type {} from {}. Full TypeDef: {}", newTypeDef.getName(), sourceName, newTypeDef);
         }
-        cacheTypeDefPropertyLookup(sourceName, newTypeDef);
-    }
 
-
-    /**
-     * Cache a lookup of the TypeDef's properties by their name, to the names of the TypeDefs in which a property by
-     * that name is defined.
-     *
-     * @param sourceName source of the request (used for logging)
-     * @param typeDef TypeDef structure describing the new TypeDef.
-     */
-    private void cacheTypeDefPropertyLookup(String sourceName, TypeDef typeDef)
-    {
-        // retrieve all properties on the newTypeDef
-        String                     typeDefName                   = typeDef.getName();
-        List<TypeDefAttribute>     propertiesDefinition          = typeDef.getPropertiesDefinition();
-
-        if (propertiesDefinition != null)
-        {
-            // for each property, add this typeDef's GUID as one that defines a property with this name
-            for (TypeDefAttribute property : propertiesDefinition)
-            {
-                String propertyName = property.getAttributeName();
-                knownPropertyToTypeDefNames.computeIfAbsent(propertyName, k -> new HashSet<>());
-                knownPropertyToTypeDefNames.get(propertyName).add(typeDefName);
-                log.debug("Cached property '{}' from {}, for lookup under TypeDef: {}", propertyName, sourceName, typeDefName);
-            }
-        }
+        this.typeDefsChanged();
     }
 
 
@@ -218,28 +198,49 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
         }
 
         log.debug("Removed Type {} from {}", obsoleteTypeDefName, sourceName);
-        uncacheTypeDefPropertyLookup(sourceName, obsoleteTypeDefName);
+
+        this.typeDefsChanged();
+    }
+
+
+    /**
+     * Record that the known TypeDefs have changed so that the type hierarchy index is rebuilt.
+     */
+    private void typeDefsChanged()
+    {
+        typeDefVersion.incrementAndGet();
     }
 
 
     /**
-     * Remove a TypeDef from the reverse property lookup.
+     * Return the type hierarchy index for the current TypeDefs.  A new index is built if the TypeDefs have
+     * changed since the current index was built.  The new index replaces the old one in a single step.
      *
-     * @param sourceName source of the request (used for logging)
-     * @param typeDefName unique name for the type.
+     * @return type hierarchy index
      */
-    private void uncacheTypeDefPropertyLookup(String sourceName, String typeDefName)
+    private OMRSTypeHierarchyIndex getTypeHierarchyIndex()
     {
-        // Not much choice but to iterate through the entire Map...
-        for (String propertyName : knownPropertyToTypeDefNames.keySet())
+        OMRSTypeHierarchyIndex index = typeHierarchyIndex;
+
+        if ((index == null) || (index.getVersion() != typeDefVersion.get()))
         {
-            // ... but the removal operation at least is idempotent (no need to first check it is present in the Set)
-            boolean removed = knownPropertyToTypeDefNames.get(propertyName).remove(typeDefName);
-            if (removed)
+            synchronized (typeDefVersion)
             {
-                log.debug("Removed Type {} from {}, from reverse-lookup of property: {}", typeDefName, sourceName, propertyName);
+                index = typeHierarchyIndex;
+
+                long version = typeDefVersion.get();
+
+                if ((index == null) || (index.getVersion() != version))
+                {
+                    index = new OMRSTypeHierarchyIndex(version, new ArrayList<>(knownTypeDefNames.values()));
+                    typeHierarchyIndex = index;
+
+                    log.debug("Type hierarchy index rebuilt for TypeDef version {}", version);
+                }
             }
         }
+
+        return index;
     }
 
 
@@ -325,6 +326,8 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
                 log.debug("Deleted Active TypeDef " + obsoleteTypeDefName + " from " + sourceName);
             }
+
+            this.typeDefsChanged();
         }
     }
 
@@ -473,7 +476,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
 
 
     /**
-     * Evaluate the superTypes for a type.  The results are cached in typeDefSuperTypes.
+     * Return the superTypes for a type from the type hierarchy index.
      *
      * @param sourceName source of the request (used for logging)
      * @param typeName name of type to process
@@ -484,84 +487,41 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
                                               String    typeName,
                                               String    methodName)
     {
-        final String  thisMethodName = "getSuperTypes";
+        OMRSTypeHierarchyIndex index = this.getTypeHierarchyIndex();
 
-        List<TypeDefLink>   typeHierarchy = typeDefSuperTypes.get(typeName);
-
-        if (typeHierarchy == null)
+        if (! index.isIndexed(typeName))
         {
-            /*
-             * The type hierarchy is not known at this time (it is evaluated lazily).
-             */
-            typeHierarchy = new ArrayList<>();
-
-            TypeDef typeDef = knownTypeDefNames.get(typeName);
-
-            if (typeDef != null)
-            {
-                TypeDefLink superTypeLink = typeDef.getSuperType();
-
-                while (superTypeLink != null)
-                {
-                    String superTypeName = superTypeLink.getName();
-
-                    if (superTypeName != null)
-                    {
-                        log.debug(typeName + " has super type " + superTypeName);
+            this.throwUnindexedTypeError(sourceName, typeName, methodName);
+        }
 
-                        typeHierarchy.add(superTypeLink);
+        return index.getSuperTypes(typeName);
+    }
 
-                        /*
-                         * Retrieve the TypeDef for this super type
-                         */
-                        TypeDef superTypeDef = knownTypeDefNames.get(superTypeName);
 
-                        if (superTypeDef != null)
-                        {
-                            /*
-                             * Retrieve the super type for this super typeDef.  It will be null if the type is top-level.
-                             */
-                            superTypeLink = superTypeDef.getSuperType();
-                        }
-                        else
-                        {
-                            log.error(superTypeName + " supertype is not known in TypeDef cache");
-                            throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-                        }
-                    }
-                    else
-                    {
-                        log.error("Corrupted TypeDef cache, no name for " + superTypeLink.toString());
-                        throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-                    }
-                }
-
-                /*
-                 * Cache the resulting superType list
-                 */
-                typeDefSuperTypes.put(typeName, typeHierarchy);
-            }
-            else
-            {
-                log.error(typeName + " type is not known in TypeDef cache");
-                throwContentManagerLogicError(sourceName, methodName, thisMethodName);
-            }
-        }
+    /**
+     * Throw a logic error for a type that is not in the type hierarchy index.  This means that the type, or
+     * one of its super types, is not known.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param typeName name of type to process
+     * @param methodName calling method
+     */
+    private void throwUnindexedTypeError(String    sourceName,
+                                         String    typeName,
+                                         String    methodName)
+    {
+        final String  thisMethodName = "getSuperTypes";
 
-        if (typeHierarchy.isEmpty())
+        if (knownTypeDefNames.get(typeName) == null)
         {
-            /*
-             * The type hierarchy has been evaluated and this type has no supertypes.
-             */
-            return null;
+            log.error(typeName + " type is not known in TypeDef cache");
         }
         else
         {
-            /*
-             * The type hierarchy is known and can be returned directly.
-             */
-            return typeHierarchy;
+            log.error(typeName + " has a supertype that is not known in TypeDef cache");
         }
+
+        throwContentManagerLogicError(sourceName, methodName, thisMethodName);
     }
 
 
@@ -611,29 +571,14 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
         /*
          * Looking for a match in the superTypes.
          */
-        List<TypeDefLink>   typeHierarchy = this.getSuperTypes(sourceName, actualTypeName, methodName);
+        OMRSTypeHierarchyIndex index = this.getTypeHierarchyIndex();
 
-        if (typeHierarchy != null)
+        if (! index.isIndexed(actualTypeName))
         {
-            for (TypeDefLink superType : typeHierarchy)
-            {
-                if (superType != null)
-                {
-                    if (expectedTypeName.equals(superType.getName()))
-                    {
-                        log.debug("SuperType match success");
-                        return true;
-                    }
-
-                    log.debug("No match with " + superType.getName());
-                }
-            }
+            this.throwUnindexedTypeError(sourceName, actualTypeName, methodName);
         }
 
-        /*
-         * No match found
-         */
-        return false;
+        return index.isTypeOf(actualTypeName, expectedTypeName);
     }
 
 
@@ -687,25 +632,26 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
         /*
          * Looking for a match in the superTypes.
          */
-       List<TypeDefLink>   typeHierarchy = this.getSuperTypes(sourceName, actualTypeName, methodName);
+        OMRSTypeHierarchyIndex index = this.getTypeHierarchyIndex();
 
-        if (typeHierarchy != null)
+        if (! index.isIndexed(actualTypeName))
         {
-            for (TypeDefLink superType : typeHierarchy)
-            {
-                if (superType != null)
-                {
-                    if (expectedTypeGUID.equals(superType.getGUID()))
-                    {
-                        log.debug("SuperType match success");
-                        return true;
-                    }
-                    log.debug("No match with " + superType.getGUID());
-                }
-            }
+            this.throwUnindexedTypeError(sourceName, actualTypeName, methodName);
         }
 
-        return false;
+        return index.isTypeOfByGUID(actualTypeName, expectedTypeGUID);
+    }
+
+
+    /**
+     * Return the names of all of the subtypes of a type.
+     *
+     * @param superTypeName name of the super type - this value is not included in the result.
+     * @return list of type names (a null means the type is not know or it has no sub types)
+     */
+    List<String> getSubTypesOf(String   superTypeName)
+    {
+        return this.getTypeHierarchyIndex().getSubTypeNames(superTypeName);
     }
 
 
@@ -1541,7 +1487,7 @@ public class OMRSRepositoryContentManager extends OMRSTypeDefEventProcessor impl
             return null;
         }
 
-        return knownPropertyToTypeDefNames.getOrDefault(propertyName, null);
+        return this.getTypeHierarchyIndex().getTypeDefNamesForProperty(propertyName);
     }
 
 
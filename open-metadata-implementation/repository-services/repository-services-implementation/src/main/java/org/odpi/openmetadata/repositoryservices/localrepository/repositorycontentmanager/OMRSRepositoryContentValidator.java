@@ -10,6 +10,8 @@ import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.*;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.*;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSClassificationsMatcher;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstancePropertiesMatcher;
 import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
 import org.odpi.openmetadata.repositoryservices.ffdc.exception.*;
 
@@ -3602,6 +3604,24 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     @Override
     public int countMatchingPropertyValues(InstanceProperties       matchProperties,
                                            InstanceProperties       instanceProperties) throws InvalidParameterException
+    {
+        return this.countMatchingPropertyValues(matchProperties, instanceProperties, new HashMap<>());
+    }
+
+
+    /**
+     * Count the number of matching property values that an instance has using the string matchers already
+     * created for the request.
+     *
+     * @param matchProperties the properties to match.
+     * @param instanceProperties the properties from the instance.
+     * @param matchers string matchers for the request's regular expressions
+     * @return integer count of the matching properties.
+     * @throws InvalidParameterException invalid search criteria
+     */
+    private int countMatchingPropertyValues(InstanceProperties                   matchProperties,
+                                            InstanceProperties                   instanceProperties,
+                                            Map<String, OMRSSearchStringMatcher> matchers) throws InvalidParameterException
     {
         final String  methodName = "countMatchingPropertyValues";
         int           matchingProperties = 0;
@@ -3620,133 +3640,119 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                     if (matchPropertyValue != null)
                     {
-                        String           matchPropertyValueString = this.getStringFromPropertyValue(matchPropertyValue);
-                        Iterator<String> instancePropertyNames    = instanceProperties.getPropertyNames();
+                        /*
+                         * Only the instance property with the same name can match.
+                         */
+                        InstancePropertyValue instancePropertyValue = instanceProperties.getPropertyValue(matchPropertyName);
 
-                        while (instancePropertyNames.hasNext())
+                        if (instancePropertyValue != null)
                         {
-                            String instancePropertyName = instancePropertyNames.next();
-
-                            if (instancePropertyName != null)
+                            String matchPropertyValueString = this.getStringFromPropertyValue(matchPropertyValue);
+
+                            /*
+                             * The type of match performed depends on the property category [and for primitives also
+                             * the primitive def category]. The rules are as follows:
+                             *
+                             * Primitives:
+                             *   ** String        - the match value is used as a full regex.
+                             *   ** Non-String    - the match value must be an exact match (.equals() not regex)
+                             * Non-primitives:
+                             *   ** Array         - flattened to "{ value, ... }" and matched using contains regex
+                             *   ** Map           - flattened to "{ key -> value, ... }" and matched using contains regex
+                             *   ** Struct        - flattened to "{ key : value, ... }" and matched using contains regex
+                             *   ** Enums:        - matched using exact match (not regex)
+                             *
+                             */
+                            MatchOption matchOption;
+
+                            InstancePropertyCategory ipCat = instancePropertyValue.getInstancePropertyCategory();
+
+                            if (ipCat == PRIMITIVE)
                             {
-                                InstancePropertyValue instancePropertyValue = instanceProperties.getPropertyValue(instancePropertyName);
 
-                                if (instancePropertyValue != null)
+                                /*
+                                 * Property is a primitive.
+                                 * If it is a string, use a full regex match.
+                                 * If not a string, use an exact match.
+                                 */
+
+                                PrimitivePropertyValue primPropValue = (PrimitivePropertyValue) instancePropertyValue;
+
+                                if (primPropValue.getPrimitiveDefCategory() == OM_PRIMITIVE_TYPE_STRING)
                                 {
-                                    if (instancePropertyName.equals(matchPropertyName))
-                                    {
-                                        /*
-                                         * The property names match - do the values?
-                                         */
+                                    matchOption = MatchOption.RegexFullMatch;
+                                }
+                                else
+                                {
+                                    matchOption = MatchOption.ExactMatch;
+                                }
+                            }
+                            else
+                            {
 
+                                /*
+                                 * Property is not a primitive.
+                                 * If it is an Array, Struct or Map use a contains regex match (against stringified collection)
+                                 * If it is an Enum use an exact match
+                                 *
+                                 */
+                                if (ipCat == ENUM)
+                                {
+                                    matchOption = MatchOption.ExactMatch;
+                                }
+                                else
+                                {
+                                    matchOption = MatchOption.RegexContainsMatch;
+                                }
+                            }
 
+                            /*
+                             *  Perform the appropriate comparison
+                             */
+                            switch (matchOption)
+                            {
+                                case ExactMatch:
+                                    if (instancePropertyValue.equals(matchPropertyValue))
+                                    {
                                         /*
-                                         * The type of match performed depends on the property category [and for primitives also
-                                         * the primitive def category]. The rules are as follows:
-                                         *
-                                         * Primitives:
-                                         *   ** String        - the match value is used as a full regex.
-                                         *   ** Non-String    - the match value must be an exact match (.equals() not regex)
-                                         * Non-primitives:
-                                         *   ** Array         - flattened to "{ value, ... }" and matched using contains regex
-                                         *   ** Map           - flattened to "{ key -> value, ... }" and matched using contains regex
-                                         *   ** Struct        - flattened to "{ key : value, ... }" and matched using contains regex
-                                         *   ** Enums:        - matched using exact match (not regex)
-                                         *
+                                         * The values match exactly.
                                          */
-                                        MatchOption matchOption;
-
-                                        InstancePropertyCategory ipCat = instancePropertyValue.getInstancePropertyCategory();
-
-                                        if (ipCat == PRIMITIVE)
+                                        matchingProperties++;
+                                    }
+                                    break;
+
+                                case RegexContainsMatch:
+                                    matchPropertyValueString = ".*" + matchPropertyValueString + ".*";
+                                    // deliberate no break; let this drop through with the modified match string
+                                case RegexFullMatch:
+                                    /*
+                                     * Does a regex match work? It must match the complete regex...
+                                     */
+                                    String instancePropertyValueString = this.getStringFromPropertyValue(instancePropertyValue);
+
+                                    if (instancePropertyValueString != null)
+                                    {
+                                        try
                                         {
-
-                                            /*
-                                             * Property is a primitive.
-                                             * If it is a string, use a full regex match.
-                                             * If not a string, use an exact match.
-                                             */
-
-                                            PrimitivePropertyValue primPropValue = (PrimitivePropertyValue) instancePropertyValue;
-
-                                            if (primPropValue.getPrimitiveDefCategory() == OM_PRIMITIVE_TYPE_STRING)
-                                            {
-                                                matchOption = MatchOption.RegexFullMatch;
-                                            }
-                                            else
+                                            if (this.getMatcher(matchPropertyValueString, matchers).matches(instancePropertyValueString))
                                             {
-                                                matchOption = MatchOption.ExactMatch;
+                                                matchingProperties++;
                                             }
                                         }
-                                        else
+                                        catch (Throwable error)
                                         {
-
-                                            /*
-                                             * Property is not a primitive.
-                                             * If it is an Array, Struct or Map use a contains regex match (against stringified collection)
-                                             * If it is an Enum use an exact match
-                                             *
-                                             */
-                                            if (ipCat == ENUM)
-                                            {
-                                                matchOption = MatchOption.ExactMatch;
-                                            }
-                                            else
-                                            {
-                                                matchOption = MatchOption.RegexContainsMatch;
-                                            }
-                                        }
-
-                                        /*
-                                         *  Perform the appropriate comparison
-                                         */
-                                        switch (matchOption)
-                                        {
-                                            case ExactMatch:
-                                                if (instancePropertyValue.equals(matchPropertyValue))
-                                                {
-                                                    /*
-                                                     * The values match exactly.
-                                                     */
-                                                    matchingProperties++;
-                                                }
-                                                break;
-
-                                            case RegexContainsMatch:
-                                                matchPropertyValueString = ".*" + matchPropertyValueString + ".*";
-                                                // deliberate no break; let this drop through with the modified match string
-                                            case RegexFullMatch:
-                                                /*
-                                                 * Does a regex match work? It must match the complete regex...
-                                                 */
-                                                String instancePropertyValueString = this.getStringFromPropertyValue(instancePropertyValue);
-
-                                                if (instancePropertyValueString != null)
-                                                {
-                                                    try
-                                                    {
-                                                        if (instancePropertyValueString.matches(matchPropertyValueString))
-                                                        {
-                                                            matchingProperties++;
-                                                        }
-                                                    }
-                                                    catch (Throwable error)
-                                                    {
-                                                        throw new InvalidParameterException(
-                                                                OMRSErrorCode.INVALID_SEARCH_CRITERIA.getMessageDefinition(error.getClass().getName(),
-                                                                                                                           matchPropertyValueString,
-                                                                                                                           instancePropertyValueString,
-                                                                                                                           error.getMessage(),
-                                                                                                                           methodName),
-                                                                this.getClass().getName(),
-                                                                methodName,
-                                                                "instanceProperties");
-                                                    }
-                                                }
-                                                break;
+                                            throw new InvalidParameterException(
+                                                    OMRSErrorCode.INVALID_SEARCH_CRITERIA.getMessageDefinition(error.getClass().getName(),
+                                                                                                               matchPropertyValueString,
+                                                                                                               instancePropertyValueString,
+                                                                                                               error.getMessage(),
+                                                                                                               methodName),
+                                                    this.getClass().getName(),
+                                                    methodName,
+                                                    "instanceProperties");
                                         }
                                     }
-                                }
+                                    break;
                             }
                         }
                     }
@@ -3758,17 +3764,42 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     }
 
 
+    /**
+     * Return the string matcher for a regular expression, creating it the first time the regular expression
+     * is used in the request.
+     *
+     * @param regex regular expression
+     * @param matchers string matchers already created for the request
+     * @return matcher
+     */
+    private OMRSSearchStringMatcher getMatcher(String                               regex,
+                                               Map<String, OMRSSearchStringMatcher> matchers)
+    {
+        OMRSSearchStringMatcher matcher = matchers.get(regex);
+
+        if (matcher == null)
+        {
+            matcher = OMRSSearchStringMatcher.getMatcher(regex);
+            matchers.put(regex, matcher);
+        }
+
+        return matcher;
+    }
+
+
     /**
      * Return true if the expected value is in the property map.
      *
      * @param propertyMap map with the properties
      * @param propertyName name of the property to test
      * @param expectedValue expected value
+     * @param matchers string matchers for the request's regular expressions
      * @return boolean result
      */
     private  boolean  checkStringPropertyValue(Map<String, InstancePropertyValue>   propertyMap,
                                                String                               propertyName,
-                                               String                               expectedValue)
+                                               String                               expectedValue,
+                                               Map<String, OMRSSearchStringMatcher> matchers)
     {
         boolean                 result = false;
         InstancePropertyValue   instancePropertyValue = propertyMap.get(propertyName);
@@ -3784,7 +3815,7 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
                     if (matchValue != null)
                     {
-                        if (matchValue.matches(expectedValue))
+                        if (this.getMatcher(expectedValue, matchers).matches(matchValue))
                         {
                             result = true;
                         }
@@ -3861,6 +3892,25 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     public int countMatchingHeaderPropertyValues(InstanceProperties       matchProperties,
                                                  InstanceAuditHeader      instanceHeader,
                                                  InstanceProperties       instanceProperties)
+    {
+        return this.countMatchingHeaderPropertyValues(matchProperties, instanceHeader, instanceProperties, new HashMap<>());
+    }
+
+
+    /**
+     * Count the number of matching header property values that an instance has using the string matchers
+     * already created for the request.
+     *
+     * @param matchProperties  the properties to match.
+     * @param instanceHeader  the header properties from the instance.
+     * @param instanceProperties  the effectivity dates.
+     * @param matchers string matchers for the request's regular expressions
+     * @return integer count of the matching properties.
+     */
+    private int countMatchingHeaderPropertyValues(InstanceProperties                   matchProperties,
+                                                  InstanceAuditHeader                  instanceHeader,
+                                                  InstanceProperties                   instanceProperties,
+                                                  Map<String, OMRSSearchStringMatcher> matchers)
     {
         final String metadataCollectionIdPropertyName = "metadataCollectionId";
         final String metadataCollectionNamePropertyName = "metadataCollectionName";
@@ -3881,27 +3931,27 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
 
             if (propertyMap != null)
             {
-                if (this.checkStringPropertyValue(propertyMap, metadataCollectionIdPropertyName, instanceHeader.getMetadataCollectionId()))
+                if (this.checkStringPropertyValue(propertyMap, metadataCollectionIdPropertyName, instanceHeader.getMetadataCollectionId(), matchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, metadataCollectionNamePropertyName, instanceHeader.getMetadataCollectionName()))
+                if (this.checkStringPropertyValue(propertyMap, metadataCollectionNamePropertyName, instanceHeader.getMetadataCollectionName(), matchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, typeNamePropertyName, instanceHeader.getType().getTypeDefName()))
+                if (this.checkStringPropertyValue(propertyMap, typeNamePropertyName, instanceHeader.getType().getTypeDefName(), matchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, typeGUIDPropertyName, instanceHeader.getType().getTypeDefGUID()))
+                if (this.checkStringPropertyValue(propertyMap, typeGUIDPropertyName, instanceHeader.getType().getTypeDefGUID(), matchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, createdByPropertyName, instanceHeader.getCreatedBy()))
+                if (this.checkStringPropertyValue(propertyMap, createdByPropertyName, instanceHeader.getCreatedBy(), matchers))
                 {
                     matchingProperties ++;
                 }
-                if (this.checkStringPropertyValue(propertyMap, updatedByPropertyName, instanceHeader.getUpdatedBy()))
+                if (this.checkStringPropertyValue(propertyMap, updatedByPropertyName, instanceHeader.getUpdatedBy(), matchers))
                 {
                     matchingProperties ++;
                 }
@@ -3945,11 +3995,54 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                         InstanceAuditHeader  instanceHeader,
                                                         InstanceProperties   instanceProperties,
                                                         MatchCriteria        matchCriteria) throws InvalidParameterException
+    {
+        return this.verifyMatchingInstancePropertyValues(matchProperties, instanceHeader, instanceProperties, matchCriteria, new HashMap<>());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSInstancePropertiesMatcher getInstancePropertiesMatcher(InstanceProperties matchProperties,
+                                                                      MatchCriteria      matchCriteria)
+    {
+        /*
+         * The string matchers are created the first time each regular expression is used and then reused
+         * for the rest of the request.
+         */
+        Map<String, OMRSSearchStringMatcher> matchers = new HashMap<>();
+
+        return (instanceHeader, instanceProperties) -> this.verifyMatchingInstancePropertyValues(matchProperties,
+                                                                                                 instanceHeader,
+                                                                                                 instanceProperties,
+                                                                                                 matchCriteria,
+                                                                                                 matchers);
+    }
+
+
+    /**
+     * Determine if the instance properties match the match criteria using the string matchers already created
+     * for the request.
+     *
+     * @param matchProperties  the properties to match.
+     * @param instanceHeader the header of the instance.
+     * @param instanceProperties  the properties from the instance.
+     * @param matchCriteria  rule on how the match should occur.
+     * @param matchers string matchers for the request's regular expressions
+     * @return boolean flag indicating whether the two sets of properties match
+     * @throws InvalidParameterException invalid search criteria
+     */
+    private boolean verifyMatchingInstancePropertyValues(InstanceProperties                   matchProperties,
+                                                         InstanceAuditHeader                  instanceHeader,
+                                                         InstanceProperties                   instanceProperties,
+                                                         MatchCriteria                        matchCriteria,
+                                                         Map<String, OMRSSearchStringMatcher> matchers) throws InvalidParameterException
     {
         if (matchProperties != null && matchProperties.getInstanceProperties() != null)
         {
-            int matchingProperties = this.countMatchingPropertyValues(matchProperties, instanceProperties) +
-                                     this.countMatchingHeaderPropertyValues(matchProperties, instanceHeader, instanceProperties);
+            int matchingProperties = this.countMatchingPropertyValues(matchProperties, instanceProperties, matchers) +
+                                     this.countMatchingHeaderPropertyValues(matchProperties, instanceHeader, instanceProperties, matchers);
 
             switch (matchCriteria)
             {
@@ -4032,153 +4125,29 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
                                                         InstanceProperties  instanceProperties) throws InvalidParameterException
     {
         final String methodName = "verifyMatchingInstancePropertyValues";
-        if (matchProperties == null)
-        {
-            return true;
-        }
-        List<PropertyCondition> conditions = matchProperties.getConditions();
-        int conditionMatchCount = 0;
-        for (PropertyCondition condition : conditions)
-        {
-            // Simplest way: this will also short-circuit to true immediately if nested conditions is null
-            boolean matchesNested = verifyMatchingInstancePropertyValues(condition.getNestedConditions(), instanceHeader, instanceProperties);
-            String propertyName = condition.getProperty();
-            InstancePropertyValue testValue = condition.getValue();
-            InstancePropertyValue actualValue = instanceProperties.getPropertyValue(propertyName);
-            boolean matchesProperties = true;
-            BigDecimal testBD = getNumericRepresentation(testValue);
-            BigDecimal actualBD = getNumericRepresentation(actualValue);
-            PropertyComparisonOperator operator = condition.getOperator();
 
-            /*
-             * When the nested branch is complete, operator will be null (along
-             * with propertyName, testValue, etc). All that remains for this
-             * (nested) property condition is to contribute its result
-             * (matchesNested && matchesProperties) into the current level of
-             * property condition combination.
-             *
-             * Do not attempt to use null operator in switch statement, it will NPE
-             */
+        OMRSSearchPredicate searchPredicate = OMRSSearchPredicate.compile(matchProperties, this, methodName);
 
-            if (operator != null)
-            {
-                switch (condition.getOperator())
-                {
-                    case EQ:
-                        matchesProperties = Objects.equals(actualValue, testValue);
-                        break;
-                    case NEQ:
-                        matchesProperties = !Objects.equals(actualValue, testValue);
-                        break;
-                    case LT:
-                        // Should only apply to numbers and dates
-                        matchesProperties = (actualBD != null && testBD != null && actualBD.compareTo(testBD) < 0);
-                        break;
-                    case LTE:
-                        // Should only apply to numbers and dates
-                        matchesProperties = (actualBD != null && testBD != null && actualBD.compareTo(testBD) <= 0);
-                        break;
-                    case GT:
-                        // Should only apply to numbers and dates
-                        matchesProperties = (actualBD != null && testBD != null && actualBD.compareTo(testBD) > 0);
-                        break;
-                    case GTE:
-                        // Should only apply to numbers and dates
-                        matchesProperties = (actualBD != null && testBD != null && actualBD.compareTo(testBD) >= 0);
-                        break;
-                    case IN:
-                        // The value to test against must be a list (ArrayPropertyValue)
-                        if (testValue instanceof ArrayPropertyValue)
-                        {
-                            ArrayPropertyValue apv = (ArrayPropertyValue) testValue;
-                            InstanceProperties values = apv.getArrayValues();
-                            if (values == null)
-                            {
-                                // Impossible to match against an empty list, so always return false
-                                matchesProperties = false;
-                            }
-                            else
-                            {
-                                Iterator<String> names = values.getPropertyNames();
-                                matchesProperties = false;
-                                while (names.hasNext() && !matchesProperties)
-                                {
-                                    String index = names.next();
-                                    InstancePropertyValue oneTestValue = values.getPropertyValue(index);
-                                    if (oneTestValue != null)
-                                    {
-                                        matchesProperties = oneTestValue.equals(actualValue);
-                                    }
-                                }
-                            }
-                        }
-                        else
-                        {
-                            throw new InvalidParameterException(OMRSErrorCode.INVALID_LIST_CONDITION.getMessageDefinition(),
-                                                                this.getClass().getName(),
-                                                                methodName,
-                                                                "matchProperties");
-                        }
-                        break;
-                    case IS_NULL:
-                        matchesProperties = (actualValue == null);
-                        break;
-                    case NOT_NULL:
-                        matchesProperties = (actualValue != null);
-                        break;
-                    case LIKE:
-                        // Should only apply to strings
-                        if (testValue instanceof PrimitivePropertyValue && ((PrimitivePropertyValue) testValue).getPrimitiveDefCategory().equals(OM_PRIMITIVE_TYPE_STRING))
-                        {
-                            String test = testValue.valueAsString();
-                            if (actualValue == null)
-                            {
-                                matchesProperties = false;
-                            }
-                            else
-                            {
-                                String actual = actualValue.valueAsString();
-                                matchesProperties = actual.matches(test);
-                            }
-                        }
-                        else
-                        {
-                            throw new InvalidParameterException(OMRSErrorCode.INVALID_LIKE_CONDITION.getMessageDefinition(),
-                                                                this.getClass().getName(),
-                                                                methodName,
-                                                                "matchProperties");
-                        }
-                        break;
-                    default:
-                        matchesProperties = true;
-                        break;
-                }
-            }
-            conditionMatchCount += (matchesNested && matchesProperties) ? 1 : 0;
-        }
-        // TODO: we may want to move this into the loop above to short-circuit (for performance)
-        switch (matchProperties.getMatchCriteria())
+        return (searchPredicate == null) || searchPredicate.matches(instanceProperties);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSInstancePropertiesMatcher getInstancePropertiesMatcher(SearchProperties matchProperties) throws InvalidParameterException
+    {
+        final String methodName = "getInstancePropertiesMatcher";
+
+        OMRSSearchPredicate searchPredicate = OMRSSearchPredicate.compile(matchProperties, this, methodName);
+
+        if (searchPredicate == null)
         {
-            case ALL:
-                if (conditionMatchCount == conditions.size())
-                {
-                    return true;
-                }
-                break;
-            case ANY:
-                if (conditionMatchCount > 0)
-                {
-                    return true;
-                }
-                break;
-            case NONE:
-                if (conditionMatchCount == 0)
-                {
-                    return true;
-                }
-                break;
+            return (instanceHeader, instanceProperties) -> true;
         }
-        return false;
+
+        return (instanceHeader, instanceProperties) -> searchPredicate.matches(instanceProperties);
     }
 
 
@@ -4189,40 +4158,102 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
     public boolean verifyMatchingClassifications(SearchClassifications matchClassifications,
                                                  EntitySummary         entity) throws InvalidParameterException
     {
-        if (matchClassifications == null)
+        final String methodName = "verifyMatchingClassifications";
+
+        return this.getClassificationsMatcher(matchClassifications, methodName).matches(entity);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSClassificationsMatcher getClassificationsMatcher(SearchClassifications matchClassifications) throws InvalidParameterException
+    {
+        final String methodName = "getClassificationsMatcher";
+
+        return this.getClassificationsMatcher(matchClassifications, methodName);
+    }
+
+
+    /**
+     * Compile the classification-based conditions into a matcher.  The match properties of each condition
+     * are compiled once here rather than for each entity.
+     *
+     * @param matchClassifications the classification-based conditions to match.
+     * @param methodName calling method
+     * @return matcher
+     * @throws InvalidParameterException invalid search criteria
+     */
+    private OMRSClassificationsMatcher getClassificationsMatcher(SearchClassifications matchClassifications,
+                                                                 String                methodName) throws InvalidParameterException
+    {
+        if ((matchClassifications == null) || (matchClassifications.getConditions() == null))
         {
-            return true;
+            return entity -> true;
         }
-        List<ClassificationCondition> conditions = matchClassifications.getConditions();
-        if (conditions == null)
+
+        List<ClassificationCondition> conditions       = matchClassifications.getConditions();
+        MatchCriteria                 matchCriteria    = matchClassifications.getMatchCriteria();
+        List<OMRSSearchPredicate>     searchPredicates = new ArrayList<>();
+
+        for (ClassificationCondition condition : conditions)
         {
-            return true;
+            if (condition.getName() != null)
+            {
+                searchPredicates.add(OMRSSearchPredicate.compile(condition.getMatchProperties(), this, methodName));
+            }
+            else
+            {
+                searchPredicates.add(null);
+            }
         }
+
+        return entity -> this.verifyMatchingClassifications(conditions, searchPredicates, matchCriteria, entity);
+    }
+
+
+    /**
+     * Determine if the classifications of an entity match the compiled classification-based conditions.
+     *
+     * @param conditions the classification-based conditions to match.
+     * @param searchPredicates compiled match properties of each condition (null if there are none)
+     * @param matchCriteria rule on how the conditions should be combined
+     * @param entity the entity instance.
+     * @return boolean flag indicating whether the classifications match
+     */
+    private boolean verifyMatchingClassifications(List<ClassificationCondition> conditions,
+                                                  List<OMRSSearchPredicate>     searchPredicates,
+                                                  MatchCriteria                 matchCriteria,
+                                                  EntitySummary                 entity)
+    {
         int matchingClassificationCount = 0;
         List<Classification> classifications = entity.getClassifications();
-        for (ClassificationCondition condition : conditions)
+        for (int conditionIndex = 0; conditionIndex < conditions.size(); conditionIndex++)
         {
-            String classificationName = condition.getName();
+            String classificationName = conditions.get(conditionIndex).getName();
             if (classificationName != null)
             {
                 // Only attempt to match if a classification name has been provided: if not, we cannot match against
                 // the requested classification (as no definition of a classification has been provided that we should
                 // attempt to match against)
                 boolean isClassified = verifyEntityIsClassified(classificationName, entity);
-                SearchProperties properties = condition.getMatchProperties();
                 boolean classificationMatches = false;
-                for (Classification classification : classifications)
+                if (isClassified)
                 {
-                    if (classificationName.equals(classification.getName()))
+                    OMRSSearchPredicate searchPredicate = searchPredicates.get(conditionIndex);
+                    for (Classification classification : classifications)
                     {
-                        classificationMatches = verifyMatchingInstancePropertyValues(properties, entity, classification.getProperties());
+                        if ((classification != null) && (classificationName.equals(classification.getName())))
+                        {
+                            classificationMatches = (searchPredicate == null) || searchPredicate.matches(classification.getProperties());
+                        }
                     }
                 }
                 matchingClassificationCount += (isClassified && classificationMatches) ? 1 : 0;
             }
         }
-        // TODO: we may want to move this into the loop above to short-circuit (for performance)
-        switch (matchClassifications.getMatchCriteria())
+        switch (matchCriteria)
         {
             case ALL:
                 if (matchingClassificationCount == conditions.size())
@@ -4362,93 +4393,167 @@ public class OMRSRepositoryContentValidator implements OMRSRepositoryValidator
             return false;
         }
 
-        Iterator<String>  propertyNames = properties.getPropertyNames();
+        try
+        {
+            /*
+             * The search criteria is compiled once and used for all of the nested property values.
+             */
+            return verifyInstancePropertiesMatchSearchCriteria(properties, OMRSSearchStringMatcher.getMatcher(searchCriteria));
+        }
+        catch (Throwable   error)
+        {
+            /*
+             * Probably a class cast error which should never occur.
+             */
+            throw new RepositoryErrorException(OMRSErrorCode.BAD_PROPERTY_FOR_INSTANCE.getMessageDefinition(sourceName, methodName),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               error);
+        }
+    }
+
+
+    /**
+     * Search for property values matching the search criteria that has already been compiled for the request.
+     *
+     * @param sourceName source of the request (used for logging)
+     * @param properties list of properties associated with the in instance
+     * @param searchCriteria compiled regular expression for testing the property values
+     * @param methodName name of the method requiring the search.
+     * @return boolean indicating whether the search criteria is located in any of the string parameter values.
+     * @throws RepositoryErrorException the properties are not properly set up in the instance
+     */
+    private boolean verifyInstancePropertiesMatchSearchCriteria(String                   sourceName,
+                                                                InstanceProperties       properties,
+                                                                OMRSSearchStringMatcher  searchCriteria,
+                                                                String                   methodName) throws RepositoryErrorException
+    {
+        if (properties == null)
+        {
+            return false;
+        }
 
         try
         {
-            while (propertyNames.hasNext())
-            {
-                InstancePropertyValue  propertyValue = properties.getPropertyValue(propertyNames.next());
+            return verifyInstancePropertiesMatchSearchCriteria(properties, searchCriteria);
+        }
+        catch (Throwable   error)
+        {
+            /*
+             * Probably a class cast error which should never occur.
+             */
+            throw new RepositoryErrorException(OMRSErrorCode.BAD_PROPERTY_FOR_INSTANCE.getMessageDefinition(sourceName, methodName),
+                                               this.getClass().getName(),
+                                               methodName,
+                                               error);
+        }
+    }
 
-                switch (propertyValue.getInstancePropertyCategory())
-                {
-                    case PRIMITIVE:
-                        PrimitivePropertyValue primitivePropertyValue = (PrimitivePropertyValue)propertyValue;
-                        if (primitivePropertyValue.getPrimitiveDefCategory() == OM_PRIMITIVE_TYPE_STRING)
-                        {
-                            String   stringProperty = (String)primitivePropertyValue.getPrimitiveValue();
 
-                            if (stringProperty != null)
-                            {
-                                if (stringProperty.matches(searchCriteria))
-                                {
-                                    return true;
-                                }
-                            }
-                        }
-                        break;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public OMRSInstancePropertiesMatcher getSearchCriteriaMatcher(String sourceName,
+                                                                  String searchCriteria,
+                                                                  String methodName)
+    {
+        OMRSSearchStringMatcher searchCriteriaMatcher;
 
-                    case ENUM:
-                        EnumPropertyValue enumPropertyValue = (EnumPropertyValue)propertyValue;
+        try
+        {
+            searchCriteriaMatcher = OMRSSearchStringMatcher.getMatcher(searchCriteria);
+        }
+        catch (Throwable error)
+        {
+            /*
+             * The error is reported in the same way as verifyInstancePropertiesMatchSearchCriteria when
+             * an instance is tested.
+             */
+            return (instanceHeader, instanceProperties) -> this.verifyInstancePropertiesMatchSearchCriteria(sourceName,
+                                                                                                            instanceProperties,
+                                                                                                            searchCriteria,
+                                                                                                            methodName);
+        }
 
-                        String  enumValue = enumPropertyValue.getSymbolicName();
-                        if (enumValue != null)
-                        {
-                            if (enumValue.matches(searchCriteria))
-                            {
-                                return true;
-                            }
-                        }
-                        break;
+        return (instanceHeader, instanceProperties) -> this.verifyInstancePropertiesMatchSearchCriteria(sourceName,
+                                                                                                        instanceProperties,
+                                                                                                        searchCriteriaMatcher,
+                                                                                                        methodName);
+    }
 
-                    case STRUCT:
-                        StructPropertyValue structPropertyValue = (StructPropertyValue)propertyValue;
 
-                        if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
-                                                                        structPropertyValue.getAttributes(),
-                                                                        searchCriteria,
-                                                                        methodName))
-                        {
-                            return true;
-                        }
-                        break;
+    /**
+     * Search for property values matching the compiled search criteria.
+     *
+     * @param properties list of properties associated with the in instance
+     * @param searchCriteria compiled regular expression for testing the property values
+     * @return boolean indicating whether the search criteria is located in any of the string parameter values.
+     */
+    private boolean verifyInstancePropertiesMatchSearchCriteria(InstanceProperties       properties,
+                                                                OMRSSearchStringMatcher  searchCriteria)
+    {
+        if (properties == null)
+        {
+            return false;
+        }
 
-                    case ARRAY:
-                        ArrayPropertyValue arrayPropertyValue = (ArrayPropertyValue)propertyValue;
+        Iterator<String>  propertyNames = properties.getPropertyNames();
 
-                        if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
-                                                                        arrayPropertyValue.getArrayValues(),
-                                                                        searchCriteria,
-                                                                        methodName))
+        while (propertyNames.hasNext())
+        {
+            InstancePropertyValue  propertyValue = properties.getPropertyValue(propertyNames.next());
+
+            switch (propertyValue.getInstancePropertyCategory())
+            {
+                case PRIMITIVE:
+                    PrimitivePropertyValue primitivePropertyValue = (PrimitivePropertyValue)propertyValue;
+                    if (primitivePropertyValue.getPrimitiveDefCategory() == OM_PRIMITIVE_TYPE_STRING)
+                    {
+                        if (searchCriteria.matches((String)primitivePropertyValue.getPrimitiveValue()))
                         {
                             return true;
                         }
-                        break;
+                    }
+                    break;
 
-                    case MAP:
-                        MapPropertyValue mapPropertyValue = (MapPropertyValue)propertyValue;
+                case ENUM:
+                    EnumPropertyValue enumPropertyValue = (EnumPropertyValue)propertyValue;
 
-                        if (verifyInstancePropertiesMatchSearchCriteria(sourceName,
-                                                                        mapPropertyValue.getMapValues(),
-                                                                        searchCriteria,
-                                                                        methodName))
-                        {
-                            return true;
-                        }
-                        break;
-                }
+                    if (searchCriteria.matches(enumPropertyValue.getSymbolicName()))
+                    {
+                        return true;
+                    }
+                    break;
+
+                case STRUCT:
+                    StructPropertyValue structPropertyValue = (StructPropertyValue)propertyValue;
+
+                    if (verifyInstancePropertiesMatchSearchCriteria(structPropertyValue.getAttributes(), searchCriteria))
+                    {
+                        return true;
+                    }
+                    break;
+
+                case ARRAY:
+                    ArrayPropertyValue arrayPropertyValue = (ArrayPropertyValue)propertyValue;
+
+                    if (verifyInstancePropertiesMatchSearchCriteria(arrayPropertyValue.getArrayValues(), searchCriteria))
+                    {
+                        return true;
+                    }
+                    break;
+
+                case MAP:
+                    MapPropertyValue mapPropertyValue = (MapPropertyValue)propertyValue;
+
+                    if (verifyInstancePropertiesMatchSearchCriteria(mapPropertyValue.getMapValues(), searchCriteria))
+                    {
+                        return true;
+                    }
+                    break;
             }
         }
-        catch (Throwable   error)
-        {
-            /*
-             * Probably a class cast error which should never occur.
-             */
-            throw new RepositoryErrorException(OMRSErrorCode.BAD_PROPERTY_FOR_INSTANCE.getMessageDefinition(sourceName, methodName),
-                                               this.getClass().getName(),
-                                               methodName,
-                                               error);
-        }
 
         return false;
     }
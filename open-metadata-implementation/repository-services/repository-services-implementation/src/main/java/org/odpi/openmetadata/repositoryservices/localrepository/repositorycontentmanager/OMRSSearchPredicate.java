@@ -0,0 +1,343 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstancePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyComparisonOperator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyCondition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryValidator;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING;
+
+/**
+ * OMRSSearchPredicate is the compiled form of the SearchProperties used in the find requests.  The search
+ * properties are checked, and the parts of each condition that do not depend on the instance (such as the numeric
+ * form of the test value, the list of values for an IN condition and the matcher for a LIKE condition) are worked out,
+ * once when the predicate is compiled.  The predicate can then be tested against the properties of many instances.
+ *
+ * The conditions at each level are tested in order and testing stops as soon as the result for the level is known.
+ */
+class OMRSSearchPredicate
+{
+    private static final String matchPropertiesParameterName = "matchProperties";
+
+    private final MatchCriteria                   matchCriteria;
+    private final List<CompiledPropertyCondition> conditions = new ArrayList<>();
+
+
+    /**
+     * Compile the search properties.
+     *
+     * @param searchProperties search properties to compile
+     * @param repositoryValidator validator used to convert numbers and dates into a comparable form
+     * @param methodName calling method
+     * @return compiled predicate or null if there are no search properties (which means every instance matches)
+     * @throws InvalidParameterException the IN or LIKE conditions are not valid
+     */
+    static OMRSSearchPredicate compile(SearchProperties         searchProperties,
+                                       OMRSRepositoryValidator  repositoryValidator,
+                                       String                   methodName) throws InvalidParameterException
+    {
+        if (searchProperties == null)
+        {
+            return null;
+        }
+
+        return new OMRSSearchPredicate(searchProperties, repositoryValidator, methodName);
+    }
+
+
+    /**
+     * Constructor compiles each condition.
+     *
+     * @param searchProperties search properties to compile
+     * @param repositoryValidator validator used to convert numbers and dates into a comparable form
+     * @param methodName calling method
+     * @throws InvalidParameterException the IN or LIKE conditions are not valid
+     */
+    private OMRSSearchPredicate(SearchProperties         searchProperties,
+                                OMRSRepositoryValidator  repositoryValidator,
+                                String                   methodName) throws InvalidParameterException
+    {
+        this.matchCriteria = searchProperties.getMatchCriteria();
+
+        if (searchProperties.getConditions() != null)
+        {
+            for (PropertyCondition condition : searchProperties.getConditions())
+            {
+                conditions.add(new CompiledPropertyCondition(condition, repositoryValidator, methodName));
+            }
+        }
+    }
+
+
+    /**
+     * Test whether the properties of an instance match the predicate.
+     *
+     * @param instanceProperties properties of the instance
+     * @return boolean result
+     */
+    boolean matches(InstanceProperties   instanceProperties)
+    {
+        int conditionMatchCount = 0;
+
+        for (CompiledPropertyCondition condition : conditions)
+        {
+            if (condition.matches(instanceProperties))
+            {
+                conditionMatchCount++;
+
+                if ((matchCriteria == MatchCriteria.ANY) || (matchCriteria == MatchCriteria.NONE))
+                {
+                    break;
+                }
+            }
+            else if (matchCriteria == MatchCriteria.ALL)
+            {
+                return false;
+            }
+        }
+
+        if (matchCriteria == null)
+        {
+            return false;
+        }
+
+        switch (matchCriteria)
+        {
+            case ALL:
+                return conditionMatchCount == conditions.size();
+
+            case ANY:
+                return conditionMatchCount > 0;
+
+            case NONE:
+                return conditionMatchCount == 0;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * CompiledPropertyCondition is the compiled form of one of the conditions.
+     */
+    private static class CompiledPropertyCondition
+    {
+        private final OMRSSearchPredicate         nestedPredicate;
+        private final String                      propertyName;
+        private final PropertyComparisonOperator  operator;
+        private final InstancePropertyValue       testValue;
+        private final BigDecimal                  testNumber;
+        private final List<InstancePropertyValue> testValues = new ArrayList<>();
+        private final String                      testRegex;
+        private final OMRSRepositoryValidator     repositoryValidator;
+        private       OMRSSearchStringMatcher     testMatcher = null;
+
+
+        /**
+         * Constructor compiles the condition.
+         *
+         * @param condition condition to compile
+         * @param repositoryValidator validator used to convert numbers and dates into a comparable form
+         * @param methodName calling method
+         * @throws InvalidParameterException the IN or LIKE condition is not valid
+         */
+        CompiledPropertyCondition(PropertyCondition        condition,
+                                  OMRSRepositoryValidator  repositoryValidator,
+                                  String                   methodName) throws InvalidParameterException
+        {
+            this.nestedPredicate = compile(condition.getNestedConditions(), repositoryValidator, methodName);
+            this.propertyName = condition.getProperty();
+            this.operator = condition.getOperator();
+            this.testValue = condition.getValue();
+            this.repositoryValidator = repositoryValidator;
+
+            if ((operator == PropertyComparisonOperator.LT) || (operator == PropertyComparisonOperator.LTE) ||
+                (operator == PropertyComparisonOperator.GT) || (operator == PropertyComparisonOperator.GTE))
+            {
+                this.testNumber = repositoryValidator.getNumericRepresentation(testValue);
+            }
+            else
+            {
+                this.testNumber = null;
+            }
+
+            if (operator == PropertyComparisonOperator.IN)
+            {
+                /*
+                 * The value to test against must be a list (ArrayPropertyValue)
+                 */
+                if (! (testValue instanceof ArrayPropertyValue))
+                {
+                    throw new InvalidParameterException(OMRSErrorCode.INVALID_LIST_CONDITION.getMessageDefinition(),
+                                                        repositoryValidator.getClass().getName(),
+                                                        methodName,
+                                                        matchPropertiesParameterName);
+                }
+
+                InstanceProperties values = ((ArrayPropertyValue) testValue).getArrayValues();
+
+                if (values != null)
+                {
+                    Iterator<String> names = values.getPropertyNames();
+
+                    while (names.hasNext())
+                    {
+                        InstancePropertyValue oneTestValue = values.getPropertyValue(names.next());
+
+                        if (oneTestValue != null)
+                        {
+                            testValues.add(oneTestValue);
+                        }
+                    }
+                }
+            }
+
+            if (operator == PropertyComparisonOperator.LIKE)
+            {
+                /*
+                 * Should only apply to strings
+                 */
+                if ((! (testValue instanceof PrimitivePropertyValue)) ||
+                    (! OM_PRIMITIVE_TYPE_STRING.equals(((PrimitivePropertyValue) testValue).getPrimitiveDefCategory())))
+                {
+                    throw new InvalidParameterException(OMRSErrorCode.INVALID_LIKE_CONDITION.getMessageDefinition(),
+                                                        repositoryValidator.getClass().getName(),
+                                                        methodName,
+                                                        matchPropertiesParameterName);
+                }
+
+                this.testRegex = testValue.valueAsString();
+            }
+            else
+            {
+                this.testRegex = null;
+            }
+        }
+
+
+        /**
+         * Test whether the properties of an instance match the condition.
+         *
+         * @param instanceProperties properties of the instance
+         * @return boolean result
+         */
+        boolean matches(InstanceProperties   instanceProperties)
+        {
+            /*
+             * A condition with nested conditions has no operator of its own - it matches if the
+             * nested conditions match.
+             */
+            if ((nestedPredicate != null) && (! nestedPredicate.matches(instanceProperties)))
+            {
+                return false;
+            }
+
+            if (operator == null)
+            {
+                return true;
+            }
+
+            InstancePropertyValue actualValue = null;
+
+            if (instanceProperties != null)
+            {
+                actualValue = instanceProperties.getPropertyValue(propertyName);
+            }
+
+            switch (operator)
+            {
+                case EQ:
+                    return Objects.equals(actualValue, testValue);
+
+                case NEQ:
+                    return ! Objects.equals(actualValue, testValue);
+
+                case LT:
+                case LTE:
+                case GT:
+                case GTE:
+                    return matchesNumber(actualValue);
+
+                case IN:
+                    for (InstancePropertyValue oneTestValue : testValues)
+                    {
+                        if (oneTestValue.equals(actualValue))
+                        {
+                            return true;
+                        }
+                    }
+                    return false;
+
+                case IS_NULL:
+                    return actualValue == null;
+
+                case NOT_NULL:
+                    return actualValue != null;
+
+                case LIKE:
+                    if (actualValue == null)
+                    {
+                        return false;
+                    }
+
+                    if (testMatcher == null)
+                    {
+                        testMatcher = OMRSSearchStringMatcher.getMatcher(testRegex);
+                    }
+                    return testMatcher.matches(actualValue.valueAsString());
+            }
+
+            return true;
+        }
+
+
+        /**
+         * Compare the numeric (or date) value of the instance's property with the test value.
+         * This only applies to numbers and dates - other values never match.
+         *
+         * @param actualValue value of the instance's property
+         * @return boolean result
+         */
+        private boolean matchesNumber(InstancePropertyValue   actualValue)
+        {
+            BigDecimal actualNumber = repositoryValidator.getNumericRepresentation(actualValue);
+
+            if ((actualNumber == null) || (testNumber == null))
+            {
+                return false;
+            }
+
+            int comparison = actualNumber.compareTo(testNumber);
+
+            switch (operator)
+            {
+                case LT:
+                    return comparison < 0;
+
+                case LTE:
+                    return comparison <= 0;
+
+                case GT:
+                    return comparison > 0;
+
+                default:
+                    return comparison >= 0;
+            }
+        }
+    }
+}
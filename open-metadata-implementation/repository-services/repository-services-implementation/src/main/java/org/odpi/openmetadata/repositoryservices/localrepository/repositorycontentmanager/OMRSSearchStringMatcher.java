@@ -0,0 +1,339 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * OMRSSearchStringMatcher tests string property values against one of the regular expressions used in the
+ * search criteria of the metadata collection find requests.  Most of these regular expressions are created by the
+ * getExactMatchRegex, getStartsWithRegex, getEndsWithRegex and getContainsRegex methods of the repository helper
+ * (or are plain literal strings).  These shapes are recognized when the matcher is created and are tested with
+ * simple string operations rather than the regular expression engine.  Any other regular expression is compiled
+ * once into a Pattern that is cached and shared by all of the matchers for the same regular expression.
+ *
+ * The results are the same as String.matches(regex).  This includes the rule that ".*" does not match
+ * line terminators and that "(?i)" only ignores the case of US-ASCII characters.
+ */
+class OMRSSearchStringMatcher
+{
+    private static final String caseInsensitiveFlag = "(?i)";
+    private static final String anyCharacters       = ".*";
+    private static final String quoteStart          = "\\Q";
+    private static final String quoteEnd            = "\\E";
+    private static final String regexCharacters     = "\\^$.|?*+()[]{}";
+    private static final int    maxCachedPatterns   = 1000;
+
+    /*
+     * The cache is read by every search thread so it does not use a lock.  When it is full, an entry is removed
+     * before another is added so that the cache does not grow without limit when many different regular
+     * expressions are used.
+     */
+    private static final Map<String, Pattern> patternCache = new ConcurrentHashMap<>();
+
+    private enum MatchShape
+    {
+        EXACT,
+        STARTS_WITH,
+        ENDS_WITH,
+        CONTAINS,
+        REGEX
+    }
+
+    private final String     regex;
+    private final MatchShape matchShape;
+    private final String     literal;
+    private final boolean    caseInsensitive;
+    private final Pattern    pattern;
+
+
+    /**
+     * Return a matcher for a regular expression.
+     *
+     * @param regex regular expression
+     * @return matcher
+     * @throws NullPointerException the regular expression is null
+     * @throws java.util.regex.PatternSyntaxException the regular expression is not valid
+     */
+    static OMRSSearchStringMatcher getMatcher(String   regex)
+    {
+        return new OMRSSearchStringMatcher(regex);
+    }
+
+
+    /**
+     * Constructor recognizes the shape of the regular expression.
+     *
+     * @param regex regular expression
+     */
+    private OMRSSearchStringMatcher(String   regex)
+    {
+        this.regex = regex;
+
+        String  body = regex;
+        boolean insensitive = false;
+
+        if (body.startsWith(caseInsensitiveFlag))
+        {
+            body = body.substring(caseInsensitiveFlag.length());
+            insensitive = true;
+        }
+
+        boolean matchPrefix = false;
+        boolean matchSuffix = false;
+
+        if (body.startsWith(anyCharacters))
+        {
+            body = body.substring(anyCharacters.length());
+            matchPrefix = true;
+        }
+
+        if (body.endsWith(anyCharacters))
+        {
+            body = body.substring(0, body.length() - anyCharacters.length());
+            matchSuffix = true;
+        }
+
+        String bodyLiteral = getLiteral(body);
+
+        this.caseInsensitive = insensitive;
+        this.literal = bodyLiteral;
+        this.pattern = bodyLiteral == null ? getPattern(regex) : null;
+
+        if (bodyLiteral == null)
+        {
+            this.matchShape = MatchShape.REGEX;
+        }
+        else if (matchPrefix && matchSuffix)
+        {
+            this.matchShape = MatchShape.CONTAINS;
+        }
+        else if (matchPrefix)
+        {
+            this.matchShape = MatchShape.ENDS_WITH;
+        }
+        else if (matchSuffix)
+        {
+            this.matchShape = MatchShape.STARTS_WITH;
+        }
+        else
+        {
+            this.matchShape = MatchShape.EXACT;
+        }
+    }
+
+
+    /**
+     * Return the literal string that a regular expression matches.  This is either the contents of a single
+     * quoted section (\Q...\E) or a string with no regular expression characters in it.
+     *
+     * @param regex regular expression
+     * @return literal string or null if the regular expression is not a literal
+     */
+    private static String getLiteral(String   regex)
+    {
+        if ((regex.length() >= quoteStart.length() + quoteEnd.length())
+                && regex.startsWith(quoteStart)
+                && regex.indexOf(quoteEnd, quoteStart.length()) == regex.length() - quoteEnd.length())
+        {
+            return regex.substring(quoteStart.length(), regex.length() - quoteEnd.length());
+        }
+
+        for (int index = 0; index < regex.length(); index++)
+        {
+            if (regexCharacters.indexOf(regex.charAt(index)) >= 0)
+            {
+                return null;
+            }
+        }
+
+        return regex;
+    }
+
+
+    /**
+     * Return the compiled form of a regular expression from the cache.
+     *
+     * @param regex regular expression
+     * @return compiled pattern
+     */
+    private static Pattern getPattern(String   regex)
+    {
+        Pattern cachedPattern = patternCache.get(regex);
+
+        if (cachedPattern == null)
+        {
+            cachedPattern = Pattern.compile(regex);
+
+            if (patternCache.size() >= maxCachedPatterns)
+            {
+                Iterator<String> cachedRegexes = patternCache.keySet().iterator();
+
+                if (cachedRegexes.hasNext())
+                {
+                    cachedRegexes.next();
+                    cachedRegexes.remove();
+                }
+            }
+
+            Pattern existingPattern = patternCache.putIfAbsent(regex, cachedPattern);
+
+            if (existingPattern != null)
+            {
+                cachedPattern = existingPattern;
+            }
+        }
+
+        return cachedPattern;
+    }
+
+
+    /**
+     * Test whether the whole of a value matches the regular expression.
+     *
+     * @param value value to test
+     * @return boolean result - false if the value is null
+     */
+    boolean matches(String   value)
+    {
+        if (value == null)
+        {
+            return false;
+        }
+
+        switch (matchShape)
+        {
+            case EXACT:
+                return (value.length() == literal.length()) && regionMatches(value, 0);
+
+            case STARTS_WITH:
+                return (value.length() >= literal.length())
+                        && regionMatches(value, 0)
+                        && hasNoLineTerminators(value, literal.length(), value.length());
+
+            case ENDS_WITH:
+                return (value.length() >= literal.length())
+                        && regionMatches(value, value.length() - literal.length())
+                        && hasNoLineTerminators(value, 0, value.length() - literal.length());
+
+            case CONTAINS:
+                if (hasNoLineTerminators(value, 0, value.length()))
+                {
+                    if (! caseInsensitive)
+                    {
+                        return value.contains(literal);
+                    }
+
+                    for (int offset = 0; offset <= value.length() - literal.length(); offset++)
+                    {
+                        if (regionMatches(value, offset))
+                        {
+                            return true;
+                        }
+                    }
+
+                    return false;
+                }
+
+                /*
+                 * The literal must span every line terminator in the value.  This is rare so the
+                 * regular expression engine is used.
+                 */
+                return getPattern(regex).matcher(value).matches();
+
+            default:
+                return pattern.matcher(value).matches();
+        }
+    }
+
+
+    /**
+     * Test whether the literal appears in the value at the offset.
+     *
+     * @param value value to test
+     * @param offset position in the value
+     * @return boolean result
+     */
+    private boolean regionMatches(String value,
+                                  int    offset)
+    {
+        if (! caseInsensitive)
+        {
+            return value.startsWith(literal, offset);
+        }
+
+        for (int index = 0; index < literal.length(); index++)
+        {
+            if (toLowerCaseASCII(value.charAt(offset + index)) != toLowerCaseASCII(literal.charAt(index)))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Return the lower case form of a US-ASCII upper case letter.  Other characters are unchanged.
+     * This is how case-insensitive regular expressions compare characters.
+     *
+     * @param character character to convert
+     * @return converted character
+     */
+    private static char toLowerCaseASCII(char   character)
+    {
+        if ((character >= 'A') && (character <= 'Z'))
+        {
+            return (char)(character + ('a' - 'A'));
+        }
+
+        return character;
+    }
+
+
+    /**
+     * Test that a section of the value can be matched by ".*".
+     *
+     * @param value value to test
+     * @param start start of the section (inclusive)
+     * @param end end of the section (exclusive)
+     * @return boolean result
+     */
+    private static boolean hasNoLineTerminators(String value,
+                                                int    start,
+                                                int    end)
+    {
+        for (int index = start; index < end; index++)
+        {
+            char character = value.charAt(index);
+
+            if ((character == '\n') || (character == '\r') || (character == '\u0085') || (character == '\u2028') || (character == '\u2029'))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Standard toString method.
+     *
+     * @return print out of variables in a JSON-style
+     */
+    @Override
+    public String toString()
+    {
+        return "OMRSSearchStringMatcher{" +
+                "regex='" + regex + '\'' +
+                ", matchShape=" + matchShape +
+                ", literal='" + literal + '\'' +
+                ", caseInsensitive=" + caseInsensitive +
+                '}';
+    }
+}
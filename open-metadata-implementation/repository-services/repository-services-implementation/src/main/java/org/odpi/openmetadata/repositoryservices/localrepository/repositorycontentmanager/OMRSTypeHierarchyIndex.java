@@ -0,0 +1,294 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * OMRSTypeHierarchyIndex is an immutable index of the type hierarchy of the TypeDefs known to the
+ * OMRSRepositoryContentManager.  Each type is given a number and its super types (ancestors) are held as a bit set
+ * so that testing whether one type is a subtype of another is a single lookup.  The names of the subtypes
+ * (descendants) of each type and the names of the types that define each property name are also worked out
+ * when the index is built.
+ *
+ * The index records the version of the TypeDef cache that it was built from.  The content manager builds a new
+ * index when the TypeDefs change and replaces the old one in a single step, so callers always see a consistent index.
+ *
+ * A type with a super type that is not known is not included in the index.
+ */
+class OMRSTypeHierarchyIndex
+{
+    private final long                           version;
+    private final Map<String, Integer>           typeNumbersByName          = new HashMap<>();
+    private final Map<String, Integer>           typeNumbersByGUID          = new HashMap<>();
+    private final BitSet[]                       ancestors;
+    private final Map<String, List<TypeDefLink>> superTypesByName           = new HashMap<>();
+    private final Map<String, String[]>          subTypeNamesByName         = new HashMap<>();
+    private final Map<String, Set<String>>       typeDefNamesByPropertyName = new HashMap<>();
+
+
+    /**
+     * Build the index from the known TypeDefs.
+     *
+     * @param version version of the TypeDef cache
+     * @param knownTypeDefs all of the known TypeDefs
+     */
+    OMRSTypeHierarchyIndex(long                 version,
+                           Collection<TypeDef>  knownTypeDefs)
+    {
+        this.version = version;
+
+        Map<String, TypeDef> typeDefsByName = new HashMap<>();
+        List<String>         typeNames      = new ArrayList<>();
+
+        for (TypeDef typeDef : knownTypeDefs)
+        {
+            if ((typeDef != null) && (typeDef.getName() != null) && (! typeDefsByName.containsKey(typeDef.getName())))
+            {
+                typeDefsByName.put(typeDef.getName(), typeDef);
+                typeNumbersByName.put(typeDef.getName(), typeNames.size());
+                typeNames.add(typeDef.getName());
+
+                if (typeDef.getGUID() != null)
+                {
+                    typeNumbersByGUID.put(typeDef.getGUID(), typeNumbersByName.get(typeDef.getName()));
+                }
+
+                addPropertyNames(typeDef);
+            }
+        }
+
+        this.ancestors = new BitSet[typeNames.size()];
+
+        Map<String, List<String>> subTypeNames = new HashMap<>();
+
+        for (int typeNumber = 0; typeNumber < typeNames.size(); typeNumber++)
+        {
+            String            typeName   = typeNames.get(typeNumber);
+            List<TypeDefLink> superTypes = getSuperTypeChain(typeDefsByName.get(typeName), typeDefsByName);
+
+            if (superTypes != null)
+            {
+                BitSet typeAncestors = new BitSet(typeNames.size());
+
+                for (TypeDefLink superType : superTypes)
+                {
+                    typeAncestors.set(typeNumbersByName.get(superType.getName()));
+                    subTypeNames.computeIfAbsent(superType.getName(), key -> new ArrayList<>()).add(typeName);
+                }
+
+                ancestors[typeNumber] = typeAncestors;
+                superTypesByName.put(typeName, superTypes);
+            }
+        }
+
+        for (Map.Entry<String, List<String>> entry : subTypeNames.entrySet())
+        {
+            subTypeNamesByName.put(entry.getKey(), entry.getValue().toArray(new String[0]));
+        }
+    }
+
+
+    /**
+     * Return the chain of super types for a type, starting with its immediate super type.
+     *
+     * @param typeDef type to process
+     * @param typeDefsByName map of the known types
+     * @return list of super type links (empty for a top level type) or null if one of the super types is not known
+     */
+    private static List<TypeDefLink> getSuperTypeChain(TypeDef              typeDef,
+                                                       Map<String, TypeDef> typeDefsByName)
+    {
+        List<TypeDefLink> superTypes    = new ArrayList<>();
+        Set<String>       visitedTypes  = new HashSet<>();
+        TypeDefLink       superTypeLink = typeDef.getSuperType();
+
+        visitedTypes.add(typeDef.getName());
+
+        while (superTypeLink != null)
+        {
+            String  superTypeName = superTypeLink.getName();
+            TypeDef superTypeDef  = superTypeName == null ? null : typeDefsByName.get(superTypeName);
+
+            if ((superTypeDef == null) || (! visitedTypes.add(superTypeName)))
+            {
+                /*
+                 * The super type is not known or the hierarchy has a loop.
+                 */
+                return null;
+            }
+
+            superTypes.add(superTypeLink);
+            superTypeLink = superTypeDef.getSuperType();
+        }
+
+        return superTypes;
+    }
+
+
+    /**
+     * Record the property names defined by a type.
+     *
+     * @param typeDef type to process
+     */
+    private void addPropertyNames(TypeDef   typeDef)
+    {
+        List<TypeDefAttribute> propertiesDefinition = typeDef.getPropertiesDefinition();
+
+        if (propertiesDefinition != null)
+        {
+            for (TypeDefAttribute property : propertiesDefinition)
+            {
+                if ((property != null) && (property.getAttributeName() != null))
+                {
+                    typeDefNamesByPropertyName.computeIfAbsent(property.getAttributeName(), key -> new HashSet<>()).add(typeDef.getName());
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Return the version of the TypeDef cache that the index was built from.
+     *
+     * @return version number
+     */
+    long getVersion()
+    {
+        return version;
+    }
+
+
+    /**
+     * Return whether the type, and all of its super types, are in the index.
+     *
+     * @param typeName name of the type
+     * @return boolean
+     */
+    boolean isIndexed(String   typeName)
+    {
+        return superTypesByName.containsKey(typeName);
+    }
+
+
+    /**
+     * Return whether a type is the same as, or a subtype of, the expected type.
+     *
+     * @param actualTypeName name of the type to test - this must be indexed
+     * @param expectedTypeName name of the expected type
+     * @return boolean
+     */
+    boolean isTypeOf(String   actualTypeName,
+                     String   expectedTypeName)
+    {
+        if (actualTypeName.equals(expectedTypeName))
+        {
+            return true;
+        }
+
+        return isAncestor(typeNumbersByName.get(actualTypeName), typeNumbersByName.get(expectedTypeName));
+    }
+
+
+    /**
+     * Return whether a type is a subtype of the expected type identified by its unique identifier.
+     *
+     * @param actualTypeName name of the type to test - this must be indexed
+     * @param expectedTypeGUID unique identifier of the expected type
+     * @return boolean
+     */
+    boolean isTypeOfByGUID(String   actualTypeName,
+                           String   expectedTypeGUID)
+    {
+        return isAncestor(typeNumbersByName.get(actualTypeName), typeNumbersByGUID.get(expectedTypeGUID));
+    }
+
+
+    /**
+     * Test the ancestor bit set of a type.
+     *
+     * @param typeNumber number of the type
+     * @param ancestorNumber number of the possible ancestor
+     * @return boolean
+     */
+    private boolean isAncestor(Integer   typeNumber,
+                               Integer   ancestorNumber)
+    {
+        if ((typeNumber == null) || (ancestorNumber == null) || (ancestors[typeNumber] == null))
+        {
+            return false;
+        }
+
+        return ancestors[typeNumber].get(ancestorNumber);
+    }
+
+
+    /**
+     * Return the super types of a type, starting with its immediate super type.
+     *
+     * @param typeName name of the type - this must be indexed
+     * @return list of super type links or null if this is a top level type
+     */
+    List<TypeDefLink> getSuperTypes(String   typeName)
+    {
+        List<TypeDefLink> superTypes = superTypesByName.get(typeName);
+
+        if ((superTypes == null) || (superTypes.isEmpty()))
+        {
+            return null;
+        }
+
+        return superTypes;
+    }
+
+
+    /**
+     * Return the names of all of the subtypes of a type.
+     *
+     * @param superTypeName name of the type - this value is not included in the result
+     * @return new list of type names or null if the type is not known or has no subtypes
+     */
+    List<String> getSubTypeNames(String   superTypeName)
+    {
+        String[] subTypeNames = subTypeNamesByName.get(superTypeName);
+
+        if (subTypeNames == null)
+        {
+            return null;
+        }
+
+        return new ArrayList<>(Arrays.asList(subTypeNames));
+    }
+
+
+    /**
+     * Return the names of the types that define a property.
+     *
+     * @param propertyName name of the property
+     * @return set of type names or null if no type defines the property
+     */
+    Set<String> getTypeDefNamesForProperty(String   propertyName)
+    {
+        Set<String> typeDefNames = typeDefNamesByPropertyName.get(propertyName);
+
+        if (typeDefNames == null)
+        {
+            return null;
+        }
+
+        return Collections.unmodifiableSet(typeDefNames);
+    }
+}
@@ -0,0 +1,154 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.archivemanager;
+
+import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.OpenMetadataArchiveStoreConnector;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchive;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveInstanceStore;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.archivestore.properties.OpenMetadataArchiveType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.events.OMRSInstanceEventProcessorInterface;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager.OMRSRepositoryContentManager;
+import org.mockito.InOrder;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Verify that the OMRSArchiveManager switches the local repository into bulk load mode while it loads the
+ * instances from an archive.
+ */
+public class OMRSArchiveManagerTest
+{
+    private static final String archiveSource = "OMRSArchiveManagerTest";
+
+
+    /**
+     * The instances are loaded between the start and end of bulk load mode.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testInstancesLoadedInBulkLoadMode() throws Exception
+    {
+        OMRSRepositoryConnector             localRepositoryConnector = mock(OMRSRepositoryConnector.class);
+        OMRSInstanceEventProcessorInterface instanceProcessor        = mock(OMRSInstanceEventProcessorInterface.class);
+
+        OMRSArchiveManager archiveManager = new OMRSArchiveManager(null, mock(AuditLog.class));
+        archiveManager.setLocalRepository(mock(OMRSRepositoryContentManager.class), instanceProcessor, localRepositoryConnector);
+
+        verify(localRepositoryConnector, never()).startBulkLoad(0);
+
+        archiveManager.addOpenMetadataArchive(getArchiveStore(), archiveSource);
+
+        InOrder inOrder = inOrder(localRepositoryConnector, instanceProcessor);
+        inOrder.verify(localRepositoryConnector).startBulkLoad(0);
+        inOrder.verify(instanceProcessor).processNewEntityEvent(anyString(), anyString(), anyString(), anyString(), any(), any(EntityDetail.class));
+        inOrder.verify(instanceProcessor).processNewRelationshipEvent(anyString(), anyString(), anyString(), anyString(), any(), any(Relationship.class));
+        inOrder.verify(localRepositoryConnector).endBulkLoad();
+    }
+
+
+    /**
+     * Bulk load mode is ended even if the instances can not be loaded, and the instances are still loaded
+     * if bulk load mode can not be started.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testBulkLoadErrors() throws Exception
+    {
+        OMRSRepositoryConnector             localRepositoryConnector = mock(OMRSRepositoryConnector.class);
+        OMRSInstanceEventProcessorInterface instanceProcessor        = mock(OMRSInstanceEventProcessorInterface.class);
+
+        doThrow(IllegalStateException.class).when(instanceProcessor)
+                .processNewEntityEvent(anyString(), anyString(), anyString(), anyString(), any(), any(EntityDetail.class));
+
+        OMRSArchiveManager archiveManager = new OMRSArchiveManager(null, mock(AuditLog.class));
+        archiveManager.setLocalRepository(mock(OMRSRepositoryContentManager.class), instanceProcessor, localRepositoryConnector);
+
+        try
+        {
+            archiveManager.addOpenMetadataArchive(getArchiveStore(), archiveSource);
+            fail("The entity could not be loaded");
+        }
+        catch (IllegalStateException error)
+        {
+            // expected
+        }
+
+        verify(localRepositoryConnector).endBulkLoad();
+
+        /*
+         * A repository that can not start bulk load mode.
+         */
+        OMRSRepositoryConnector             failingRepositoryConnector = mock(OMRSRepositoryConnector.class);
+        OMRSInstanceEventProcessorInterface secondInstanceProcessor    = mock(OMRSInstanceEventProcessorInterface.class);
+
+        doThrow(RepositoryErrorException.class).when(failingRepositoryConnector).startBulkLoad(0);
+
+        OMRSArchiveManager secondArchiveManager = new OMRSArchiveManager(null, mock(AuditLog.class));
+        secondArchiveManager.setLocalRepository(mock(OMRSRepositoryContentManager.class), secondInstanceProcessor, failingRepositoryConnector);
+        secondArchiveManager.addOpenMetadataArchive(getArchiveStore(), archiveSource);
+
+        verify(secondInstanceProcessor).processNewEntityEvent(anyString(), anyString(), anyString(), anyString(), any(), any(EntityDetail.class));
+        verify(failingRepositoryConnector, never()).endBulkLoad();
+    }
+
+
+    /**
+     * Return an archive store with one entity and one relationship.
+     *
+     * @return archive store
+     */
+    private OpenMetadataArchiveStoreConnector getArchiveStore()
+    {
+        OpenMetadataArchiveProperties archiveProperties = new OpenMetadataArchiveProperties();
+        archiveProperties.setArchiveGUID("test-archive-guid");
+        archiveProperties.setArchiveName("Test Archive");
+        archiveProperties.setArchiveType(OpenMetadataArchiveType.CONTENT_PACK);
+        archiveProperties.setOriginatorName("Test Originator");
+        archiveProperties.setArchiveVersion("1.0");
+        archiveProperties.setCreationDate(new Date());
+
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID("1111");
+
+        EntityProxy entityProxy = new EntityProxy();
+        entityProxy.setGUID("1111");
+
+        Relationship relationship = new Relationship();
+        relationship.setGUID("2222");
+        relationship.setEntityOneProxy(entityProxy);
+        relationship.setEntityTwoProxy(entityProxy);
+
+        OpenMetadataArchiveInstanceStore instanceStore = new OpenMetadataArchiveInstanceStore();
+        instanceStore.setEntities(Collections.singletonList(entity));
+        instanceStore.setRelationships(Collections.singletonList(relationship));
+
+        OpenMetadataArchive archive = new OpenMetadataArchive();
+        archive.setArchiveProperties(archiveProperties);
+        archive.setArchiveInstanceStore(instanceStore);
+
+        OpenMetadataArchiveStoreConnector archiveStore = mock(OpenMetadataArchiveStoreConnector.class);
+        when(archiveStore.getArchiveContents()).thenReturn(archive);
+
+        return archiveStore;
+    }
+}
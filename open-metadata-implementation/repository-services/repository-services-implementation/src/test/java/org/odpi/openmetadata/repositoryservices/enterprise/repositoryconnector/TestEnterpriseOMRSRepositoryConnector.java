@@ -0,0 +1,80 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector;
+
+import org.odpi.openmetadata.frameworks.connectors.ffdc.ConnectorCheckedException;
+import org.odpi.openmetadata.frameworks.connectors.properties.ConnectionProperties;
+import org.odpi.openmetadata.frameworks.connectors.properties.beans.Connection;
+import org.odpi.openmetadata.repositoryservices.enterprise.connectormanager.OMRSConnectorManager;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+
+public class TestEnterpriseOMRSRepositoryConnector
+{
+    private EnterpriseOMRSRepositoryConnector getConnector(Object maxFederationThreads, Object federationTimeout)
+    {
+        Map<String, Object> configurationProperties = new HashMap<>();
+        configurationProperties.put(EnterpriseOMRSConnectorProvider.maxFederationThreadsPropertyName, maxFederationThreads);
+        configurationProperties.put(EnterpriseOMRSConnectorProvider.federationTimeoutPropertyName, federationTimeout);
+
+        Connection connection = new Connection();
+        connection.setConfigurationProperties(configurationProperties);
+
+        EnterpriseOMRSRepositoryConnector connector = new EnterpriseOMRSRepositoryConnector(mock(OMRSConnectorManager.class));
+        connector.setCallingServiceName("testService");
+        connector.initialize("testConnector", new ConnectionProperties(connection));
+        return connector;
+    }
+
+    private void checkInvalidConfiguration(Object maxFederationThreads, Object federationTimeout)
+    {
+        try
+        {
+            getConnector(maxFederationThreads, federationTimeout).start();
+            fail("The configuration should be rejected");
+        }
+        catch (ConnectorCheckedException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(),
+                         OMRSErrorCode.INVALID_FEDERATION_PROPERTY.getMessageDefinition().getMessageId());
+        }
+    }
+
+    @Test
+    void testFederationConfiguration() throws Exception
+    {
+        EnterpriseOMRSRepositoryConnector connector = getConnector(" 4 ", 2500);
+
+        connector.start();
+
+        assertEquals(connector.getFederationTimeout(), 2500);
+        connector.disconnect();
+
+        connector = getConnector(0, 0);
+
+        connector.start();
+
+        assertNull(connector.getFederationWorkers());
+        assertEquals(connector.getFederationTimeout(), 0);
+        connector.disconnect();
+    }
+
+    @Test
+    void testInvalidFederationConfiguration()
+    {
+        checkInvalidConfiguration("many", 1000);
+        checkInvalidConfiguration(-1, 1000);
+        checkInvalidConfiguration(Long.MAX_VALUE, 1000);
+        checkInvalidConfiguration(4, "1.5");
+        checkInvalidConfiguration(4, -10);
+    }
+}
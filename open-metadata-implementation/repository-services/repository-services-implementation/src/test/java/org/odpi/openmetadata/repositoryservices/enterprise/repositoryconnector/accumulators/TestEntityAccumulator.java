@@ -0,0 +1,123 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.accumulators;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.SequencingOrder;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+
+public class TestEntityAccumulator
+{
+    private List<EntityDetail> getEntities(String... guids)
+    {
+        List<EntityDetail> entities = new ArrayList<>();
+
+        for (String guid : guids)
+        {
+            EntityDetail entity = new EntityDetail();
+            entity.setGUID(guid);
+            entity.setVersion(1);
+            entities.add(entity);
+        }
+
+        return entities;
+    }
+
+    private List<String> getGUIDs(List<EntityDetail> entities)
+    {
+        List<String> guids = new ArrayList<>();
+
+        for (EntityDetail entity : entities)
+        {
+            guids.add(entity.getGUID());
+        }
+
+        return guids;
+    }
+
+    @Test
+    void testMergedPages()
+    {
+        EntityAccumulator accumulator = new EntityAccumulator(null, null, null);
+
+        accumulator.addEntities(getEntities("a", "c", "e", "g"), "member1");
+        accumulator.addEntities(getEntities("b", "c", "d", "f"), "member2");
+
+        List<EntityDetail> results = accumulator.getResults(null, 0, null, SequencingOrder.GUID, 3);
+        assertEquals(getGUIDs(results), Arrays.asList("a", "b", "c"));
+
+        accumulator = new EntityAccumulator(null, null, null);
+
+        accumulator.addEntities(getEntities("a", "c", "e", "g"), "member1");
+        accumulator.addEntities(getEntities("b", "c", "d", "f"), "member2");
+
+        results = accumulator.getResults(null, 3, null, SequencingOrder.GUID, 3);
+        assertEquals(getGUIDs(results), Arrays.asList("d", "e", "f"));
+
+        /*
+         * The cursor positions each member after the results it has contributed to the pages so far.
+         */
+        FederatedPagingCursor cursor = accumulator.getNextPagingCursor();
+
+        assertEquals(cursor.getNextElement(), 6);
+        assertEquals(cursor.getMemberPosition("member1"), 3);
+        assertEquals(cursor.getMemberPosition("member2"), 4);
+        assertEquals(cursor.getMemberPosition("member3"), 0);
+    }
+
+    @Test
+    void testCursorPage()
+    {
+        EntityAccumulator accumulator = new EntityAccumulator(null, null, null);
+
+        accumulator.addEntities(getEntities("a", "c"), "member1");
+        accumulator.addEntities(getEntities("b", "c"), "member2");
+        accumulator.getResults(null, 0, null, SequencingOrder.GUID, 2);
+
+        FederatedPagingCursor cursor = accumulator.getNextPagingCursor();
+
+        assertEquals(cursor.getMemberPosition("member1"), 1);
+        assertEquals(cursor.getMemberPosition("member2"), 1);
+
+        /*
+         * The next page only has the results after each member's position and "c" is only returned once.
+         */
+        accumulator = new EntityAccumulator(null, null, null);
+        accumulator.setPagingCursor(cursor);
+
+        assertEquals(accumulator.getMemberStartingElement("member1"), 1);
+
+        accumulator.addEntities(getEntities("c", "e"), "member1");
+        accumulator.addEntities(getEntities("c", "d"), "member2");
+
+        List<EntityDetail> results = accumulator.getResults(null, 2, null, SequencingOrder.GUID, 2);
+        assertEquals(getGUIDs(results), Arrays.asList("c", "d"));
+
+        cursor = accumulator.getNextPagingCursor();
+
+        assertEquals(cursor.getNextElement(), 4);
+        assertEquals(cursor.getMemberPosition("member1"), 2);
+        assertEquals(cursor.getMemberPosition("member2"), 3);
+
+        accumulator = new EntityAccumulator(null, null, null);
+        accumulator.setPagingCursor(cursor);
+        accumulator.addEntities(getEntities("e"), "member1");
+        accumulator.addEntities(null, "member2");
+
+        results = accumulator.getResults(null, 4, null, SequencingOrder.GUID, 2);
+        assertEquals(getGUIDs(results), Arrays.asList("e"));
+
+        accumulator = new EntityAccumulator(null, null, null);
+        accumulator.addEntities(null, "member1");
+
+        assertNull(accumulator.getResults(null, 0, null, SequencingOrder.GUID, 2));
+    }
+}
@@ -0,0 +1,291 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.control;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.GetRelationshipExecutor;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors.GetRelationshipsForEntitiesExecutor;
+import org.odpi.openmetadata.repositoryservices.ffdc.OMRSErrorCode;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+public class TestParallelFederationControl
+{
+    private static final String USER_ID           = "testUser";
+    private static final String METHOD_NAME       = "testMethod";
+    private static final String RELATIONSHIP_TYPE = "relationship-type-guid";
+    private static final long   WAIT_SECONDS      = 10;
+
+    private List<String>    entityGUIDs = Arrays.asList("1111", "2222");
+    private ExecutorService workerPool;
+
+    @BeforeMethod
+    void startWorkerPool()
+    {
+        workerPool = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterMethod
+    void stopWorkerPool()
+    {
+        workerPool.shutdownNow();
+    }
+
+    private Relationship getRelationship(String guid)
+    {
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setVersion(1);
+        return relationship;
+    }
+
+    private OMRSRepositoryConnector getConnector(String metadataCollectionId, OMRSMetadataCollection metadataCollection) throws Exception
+    {
+        when(metadataCollection.getMetadataCollectionId(USER_ID)).thenReturn(metadataCollectionId);
+
+        OMRSRepositoryConnector connector = mock(OMRSRepositoryConnector.class);
+        when(connector.getMetadataCollection()).thenReturn(metadataCollection);
+        return connector;
+    }
+
+    private GetRelationshipsForEntitiesExecutor getRelationshipsExecutor()
+    {
+        return new GetRelationshipsForEntitiesExecutor(USER_ID, entityGUIDs, RELATIONSHIP_TYPE, null, null, null, METHOD_NAME);
+    }
+
+    private Set<String> getGUIDs(List<Relationship> relationships)
+    {
+        Set<String> guids = new HashSet<>();
+
+        for (Relationship relationship : relationships)
+        {
+            guids.add(relationship.getGUID());
+        }
+
+        return guids;
+    }
+
+    /**
+     * Wait for the latch even if the thread is interrupted.  This simulates a repository call that does not
+     * respond to cancellation.
+     */
+    private void awaitIgnoringInterrupts(CountDownLatch latch)
+    {
+        boolean waiting = true;
+
+        while (waiting)
+        {
+            try
+            {
+                waiting = ! latch.await(WAIT_SECONDS, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException error)
+            {
+                // keep waiting
+            }
+        }
+    }
+
+    @Test
+    void testClonesCallRepositoriesInParallel() throws Exception
+    {
+        /*
+         * Each repository waits until all three have been called so the request only succeeds if the calls
+         * are made at the same time.
+         */
+        CountDownLatch                allCalled  = new CountDownLatch(3);
+        List<OMRSRepositoryConnector> connectors = new ArrayList<>();
+
+        for (int i = 1; i <= 3; i++)
+        {
+            Relationship           relationship       = getRelationship("r" + i);
+            OMRSMetadataCollection metadataCollection = mock(OMRSMetadataCollection.class);
+
+            when(metadataCollection.getRelationshipsForEntities(USER_ID, entityGUIDs, RELATIONSHIP_TYPE)).thenAnswer(invocation ->
+            {
+                allCalled.countDown();
+                assertTrue(allCalled.await(WAIT_SECONDS, TimeUnit.SECONDS));
+                return Collections.singletonList(relationship);
+            });
+
+            connectors.add(getConnector("collection-" + i, metadataCollection));
+        }
+
+        GetRelationshipsForEntitiesExecutor executor = getRelationshipsExecutor();
+
+        new ParallelFederationControl(USER_ID, connectors, workerPool, 0, METHOD_NAME).executeCommand(executor);
+
+        List<Relationship> relationships = executor.getResults(mock(EnterpriseOMRSRepositoryConnector.class));
+
+        assertEquals(getGUIDs(relationships), new HashSet<>(Arrays.asList("r1", "r2", "r3")));
+    }
+
+    @Test
+    void testLateResultsAreIgnoredAfterTimeout() throws Exception
+    {
+        CountDownLatch releaseSlowRepository = new CountDownLatch(1);
+
+        OMRSMetadataCollection fastCollection = mock(OMRSMetadataCollection.class);
+        when(fastCollection.getRelationshipsForEntities(USER_ID, entityGUIDs, RELATIONSHIP_TYPE)).thenReturn(
+                Collections.singletonList(getRelationship("r1")));
+
+        OMRSMetadataCollection slowCollection = mock(OMRSMetadataCollection.class);
+        when(slowCollection.getRelationshipsForEntities(USER_ID, entityGUIDs, RELATIONSHIP_TYPE)).thenAnswer(invocation ->
+        {
+            awaitIgnoringInterrupts(releaseSlowRepository);
+            return Collections.singletonList(getRelationship("r2"));
+        });
+
+        GetRelationshipsForEntitiesExecutor executor = getRelationshipsExecutor();
+
+        new ParallelFederationControl(USER_ID,
+                                      Arrays.asList(getConnector("collection-1", fastCollection),
+                                                    getConnector("collection-2", slowCollection)),
+                                      workerPool,
+                                      200,
+                                      METHOD_NAME).executeCommand(executor);
+
+        EnterpriseOMRSRepositoryConnector enterpriseConnector = mock(EnterpriseOMRSRepositoryConnector.class);
+
+        assertEquals(getGUIDs(executor.getResults(enterpriseConnector)), Collections.singleton("r1"));
+
+        /*
+         * Let the abandoned call complete and wait for its worker thread to finish.  Its results must not be
+         * added to the results already returned to the caller.
+         */
+        releaseSlowRepository.countDown();
+        workerPool.shutdown();
+        assertTrue(workerPool.awaitTermination(WAIT_SECONDS, TimeUnit.SECONDS));
+
+        assertEquals(getGUIDs(executor.getResults(enterpriseConnector)), Collections.singleton("r1"));
+    }
+
+    @Test
+    void testTimeoutReturnedWhenNoRepositoryResponds() throws Exception
+    {
+        CountDownLatch releaseSlowRepository = new CountDownLatch(1);
+
+        OMRSMetadataCollection slowCollection = mock(OMRSMetadataCollection.class);
+        when(slowCollection.getRelationshipsForEntities(USER_ID, entityGUIDs, RELATIONSHIP_TYPE)).thenAnswer(invocation ->
+        {
+            awaitIgnoringInterrupts(releaseSlowRepository);
+            return Collections.singletonList(getRelationship("r1"));
+        });
+
+        GetRelationshipsForEntitiesExecutor executor = getRelationshipsExecutor();
+
+        new ParallelFederationControl(USER_ID,
+                                      Collections.singletonList(getConnector("collection-1", slowCollection)),
+                                      workerPool,
+                                      100,
+                                      METHOD_NAME).executeCommand(executor);
+
+        releaseSlowRepository.countDown();
+        workerPool.shutdown();
+        assertTrue(workerPool.awaitTermination(WAIT_SECONDS, TimeUnit.SECONDS));
+
+        try
+        {
+            executor.getResults(mock(EnterpriseOMRSRepositoryConnector.class));
+            fail("The timeout should be returned");
+        }
+        catch (RepositoryErrorException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(),
+                         OMRSErrorCode.FEDERATED_REQUEST_TIMEOUT.getMessageDefinition().getMessageId());
+        }
+    }
+
+    @Test
+    void testFirstAnswerCancelsOutstandingRequests() throws Exception
+    {
+        CountDownLatch slowRequestCancelled = new CountDownLatch(1);
+        Relationship   relationship         = getRelationship("r1");
+
+        OMRSMetadataCollection slowCollection = mock(OMRSMetadataCollection.class);
+        when(slowCollection.getRelationship(USER_ID, "r1")).thenAnswer(invocation ->
+        {
+            try
+            {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(WAIT_SECONDS));
+            }
+            catch (InterruptedException error)
+            {
+                slowRequestCancelled.countDown();
+            }
+            return null;
+        });
+
+        OMRSMetadataCollection fastCollection = mock(OMRSMetadataCollection.class);
+        when(fastCollection.getRelationship(USER_ID, "r1")).thenReturn(relationship);
+
+        GetRelationshipExecutor executor = new GetRelationshipExecutor(USER_ID, "r1", true, METHOD_NAME);
+
+        new ParallelFederationControl(USER_ID,
+                                      Arrays.asList(getConnector("collection-1", slowCollection),
+                                                    getConnector("collection-2", fastCollection)),
+                                      workerPool,
+                                      0,
+                                      METHOD_NAME).executeCommand(executor);
+
+        assertEquals(executor.getRelationship(), relationship);
+        assertTrue(slowRequestCancelled.await(WAIT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFirstAnswerTimeout() throws Exception
+    {
+        CountDownLatch releaseSlowRepository = new CountDownLatch(1);
+
+        OMRSMetadataCollection slowCollection = mock(OMRSMetadataCollection.class);
+        when(slowCollection.getRelationship(USER_ID, "r1")).thenAnswer(invocation ->
+        {
+            awaitIgnoringInterrupts(releaseSlowRepository);
+            return null;
+        });
+
+        GetRelationshipExecutor executor = new GetRelationshipExecutor(USER_ID, "r1", true, METHOD_NAME);
+
+        new ParallelFederationControl(USER_ID,
+                                      Collections.singletonList(getConnector("collection-1", slowCollection)),
+                                      workerPool,
+                                      100,
+                                      METHOD_NAME).executeCommand(executor);
+
+        releaseSlowRepository.countDown();
+
+        try
+        {
+            executor.getRelationship();
+            fail("The timeout should be returned");
+        }
+        catch (RepositoryErrorException error)
+        {
+            assertEquals(error.getReportedErrorMessageId(),
+                         OMRSErrorCode.FEDERATED_REQUEST_TIMEOUT.getMessageDefinition().getMessageId());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityProxy;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntitySummary;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.EntityNotKnownException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.TypeErrorException;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+public class TestAddInstancesExecutors
+{
+    private static final String USER_ID     = "testUser";
+    private static final String METHOD_NAME = "testMethod";
+
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        return entity;
+    }
+
+    private EntityProxy getEntityProxy(String guid)
+    {
+        EntityProxy entityProxy = new EntityProxy();
+        entityProxy.setGUID(guid);
+        return entityProxy;
+    }
+
+    private Relationship getRelationship(String guid, String entityOneGUID, String entityTwoGUID)
+    {
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setEntityOneProxy(getEntityProxy(entityOneGUID));
+        relationship.setEntityTwoProxy(getEntityProxy(entityTwoGUID));
+        return relationship;
+    }
+
+    @Test
+    void testAddEntitiesUsesFirstRepositoryThatAccepts() throws Exception
+    {
+        List<EntityDetail> templates   = Arrays.asList(getEntity("template-1"), getEntity("template-2"));
+        List<EntityDetail> newEntities = Arrays.asList(getEntity("1111"), getEntity("2222"));
+
+        OMRSMetadataCollection rejectingCollection = mock(OMRSMetadataCollection.class);
+        when(rejectingCollection.addEntities(USER_ID, templates)).thenThrow(TypeErrorException.class);
+
+        OMRSMetadataCollection acceptingCollection = mock(OMRSMetadataCollection.class);
+        when(acceptingCollection.addEntities(USER_ID, templates)).thenReturn(newEntities);
+
+        AddEntitiesExecutor executor = new AddEntitiesExecutor(USER_ID, templates, METHOD_NAME);
+
+        assertFalse(executor.issueRequestToRepository("collection-1", rejectingCollection));
+        assertTrue(executor.issueRequestToRepository("collection-2", acceptingCollection));
+        assertEquals(executor.getNewEntities(), newEntities);
+    }
+
+    @Test
+    void testAddEntitiesReturnsCapturedException() throws Exception
+    {
+        List<EntityDetail> templates = Collections.singletonList(getEntity("template-1"));
+
+        OMRSMetadataCollection typeErrorCollection = mock(OMRSMetadataCollection.class);
+        when(typeErrorCollection.addEntities(USER_ID, templates)).thenThrow(TypeErrorException.class);
+
+        OMRSMetadataCollection repositoryErrorCollection = mock(OMRSMetadataCollection.class);
+        when(repositoryErrorCollection.addEntities(USER_ID, templates)).thenThrow(RepositoryErrorException.class);
+
+        AddEntitiesExecutor executor = new AddEntitiesExecutor(USER_ID, templates, METHOD_NAME);
+
+        assertFalse(executor.issueRequestToRepository("collection-1", typeErrorCollection));
+        assertFalse(executor.issueRequestToRepository("collection-2", repositoryErrorCollection));
+
+        try
+        {
+            executor.getNewEntities();
+            fail("No repository created the entities");
+        }
+        catch (RepositoryErrorException error)
+        {
+            // expected - repository errors are reported before type errors
+        }
+    }
+
+    @Test
+    void testAddRelationshipsAddsMissingEntityProxies() throws Exception
+    {
+        List<Relationship> templates        = Arrays.asList(getRelationship("template-1", "1111", "2222"),
+                                                            getRelationship("template-2", "2222", "3333"));
+        List<Relationship> newRelationships = Arrays.asList(getRelationship("4444", "1111", "2222"),
+                                                            getRelationship("5555", "2222", "3333"));
+
+        OMRSMetadataCollection metadataCollection = mock(OMRSMetadataCollection.class);
+        when(metadataCollection.getEntitySummary(eq(USER_ID), anyString())).thenReturn(new EntitySummary());
+        when(metadataCollection.getEntitySummary(USER_ID, "3333")).thenThrow(EntityNotKnownException.class);
+        when(metadataCollection.addRelationships(USER_ID, templates)).thenReturn(newRelationships);
+
+        AddRelationshipsExecutor executor = new AddRelationshipsExecutor(USER_ID, templates, METHOD_NAME);
+
+        assertTrue(executor.issueRequestToRepository("collection-1", metadataCollection));
+        assertEquals(executor.getNewRelationships(), newRelationships);
+        verify(metadataCollection).addEntityProxy(USER_ID, templates.get(1).getEntityTwoProxy());
+    }
+
+    @Test
+    void testAddRelationshipsSkipsRepositoryWithoutEntityEnds() throws Exception
+    {
+        List<Relationship> templates        = Collections.singletonList(getRelationship("template-1", "1111", "2222"));
+        List<Relationship> newRelationships = Collections.singletonList(getRelationship("4444", "1111", "2222"));
+
+        OMRSMetadataCollection missingEndCollection = mock(OMRSMetadataCollection.class);
+        when(missingEndCollection.getEntitySummary(USER_ID, "1111")).thenThrow(EntityNotKnownException.class);
+        doThrow(RepositoryErrorException.class).when(missingEndCollection).addEntityProxy(eq(USER_ID), any(EntityProxy.class));
+
+        OMRSMetadataCollection acceptingCollection = mock(OMRSMetadataCollection.class);
+        when(acceptingCollection.getEntitySummary(eq(USER_ID), anyString())).thenReturn(new EntitySummary());
+        when(acceptingCollection.addRelationships(USER_ID, templates)).thenReturn(newRelationships);
+
+        AddRelationshipsExecutor executor = new AddRelationshipsExecutor(USER_ID, templates, METHOD_NAME);
+
+        assertFalse(executor.issueRequestToRepository("collection-1", missingEndCollection));
+        verify(missingEndCollection, never()).addRelationships(eq(USER_ID), anyList());
+
+        assertTrue(executor.issueRequestToRepository("collection-2", acceptingCollection));
+        assertEquals(executor.getNewRelationships(), newRelationships);
+    }
+}
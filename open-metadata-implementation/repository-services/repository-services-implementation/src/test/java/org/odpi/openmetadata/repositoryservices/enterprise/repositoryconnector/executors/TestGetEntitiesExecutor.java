@@ -0,0 +1,166 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.fail;
+
+
+public class TestGetEntitiesExecutor
+{
+    private static final String USER_ID      = "testUser";
+    private static final String METHOD_NAME  = "testMethod";
+    private static final String COLLECTION_1 = "collection-1";
+    private static final String COLLECTION_2 = "collection-2";
+
+    private Classification getClassification(String name, String metadataCollectionId)
+    {
+        Classification classification = new Classification();
+        classification.setName(name);
+        classification.setMetadataCollectionId(metadataCollectionId);
+        return classification;
+    }
+
+    private EntityDetail getEntity(String guid, String homeMetadataCollectionId, long version, Classification... classifications)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setMetadataCollectionId(homeMetadataCollectionId);
+        entity.setVersion(version);
+        if (classifications.length > 0)
+        {
+            entity.setClassifications(new ArrayList<>(Arrays.asList(classifications)));
+        }
+        return entity;
+    }
+
+    private Set<String> getClassificationNames(EntityDetail entity)
+    {
+        Set<String> names = new HashSet<>();
+
+        if (entity.getClassifications() != null)
+        {
+            for (Classification classification : entity.getClassifications())
+            {
+                names.add(classification.getName());
+            }
+        }
+
+        return names;
+    }
+
+    @Test
+    void testEntitiesAreMergedAcrossRepositories() throws Exception
+    {
+        List<String> guids = Arrays.asList("1111", "2222", "3333");
+
+        /*
+         * Entity 1111 is homed in collection-2 and entity 2222 is homed in collection-1.  Each repository holds
+         * a reference copy of the other entity with a classification of its own.
+         */
+        OMRSMetadataCollection collectionOne = mock(OMRSMetadataCollection.class);
+        when(collectionOne.getEntityDetails(USER_ID, guids)).thenReturn(
+                Arrays.asList(getEntity("1111", COLLECTION_2, 1, getClassification("Confidentiality", COLLECTION_1)),
+                              getEntity("2222", COLLECTION_1, 3, getClassification("Retention", COLLECTION_1))));
+
+        OMRSMetadataCollection collectionTwo = mock(OMRSMetadataCollection.class);
+        when(collectionTwo.getEntityDetails(eq(USER_ID), anyList())).thenReturn(
+                Arrays.asList(getEntity("2222", COLLECTION_1, 4, getClassification("Criticality", COLLECTION_2),
+                                                                 getClassification("Retention", COLLECTION_1)),
+                              getEntity("1111", COLLECTION_2, 2, getClassification("Impact", COLLECTION_2))));
+
+        GetEntitiesExecutor executor = new GetEntitiesExecutor(USER_ID, guids, METHOD_NAME);
+
+        assertFalse(executor.issueRequestToRepository(COLLECTION_1, collectionOne));
+        assertFalse(executor.issueRequestToRepository(COLLECTION_2, collectionTwo));
+
+        List<EntityDetail> entities = executor.getEntityDetails();
+
+        /*
+         * The entities are returned in the order requested with the home version of each entity and the
+         * classifications homed in each repository.
+         */
+        assertEquals(entities.size(), 2);
+        assertEquals(entities.get(0).getGUID(), "1111");
+        assertEquals(entities.get(0).getVersion(), 2);
+        assertEquals(getClassificationNames(entities.get(0)), new HashSet<>(Arrays.asList("Confidentiality", "Impact")));
+        assertEquals(entities.get(1).getGUID(), "2222");
+        assertEquals(entities.get(1).getVersion(), 3);
+        assertEquals(getClassificationNames(entities.get(1)), new HashSet<>(Arrays.asList("Retention", "Criticality")));
+
+        /*
+         * Each repository receives one call however many entities are requested.
+         */
+        verify(collectionOne, times(1)).getEntityDetails(eq(USER_ID), anyList());
+        verify(collectionTwo, times(1)).getEntityDetails(eq(USER_ID), anyList());
+        verify(collectionOne, never()).getHomeClassifications(anyString(), anyString());
+        verify(collectionTwo, never()).getHomeClassifications(anyString(), anyString());
+    }
+
+    @Test
+    void testLatestReferenceCopyIsUsedWithoutHome() throws Exception
+    {
+        List<String> guids = Arrays.asList("1111");
+
+        OMRSMetadataCollection collectionOne = mock(OMRSMetadataCollection.class);
+        when(collectionOne.getEntityDetails(USER_ID, guids)).thenReturn(Arrays.asList(getEntity("1111", "collection-3", 5)));
+
+        OMRSMetadataCollection collectionTwo = mock(OMRSMetadataCollection.class);
+        when(collectionTwo.getEntityDetails(USER_ID, guids)).thenReturn(Arrays.asList(getEntity("1111", "collection-3", 7)));
+
+        GetEntitiesExecutor executor = new GetEntitiesExecutor(USER_ID, guids, METHOD_NAME);
+
+        executor.issueRequestToRepository(COLLECTION_1, collectionOne);
+        executor.issueRequestToRepository(COLLECTION_2, collectionTwo);
+
+        assertEquals(executor.getEntityDetails().get(0).getVersion(), 7);
+    }
+
+    @Test
+    void testRepositoryErrorReturnedWhenNothingFound() throws Exception
+    {
+        List<String> guids = Arrays.asList("1111", "2222");
+
+        OMRSMetadataCollection brokenCollection = mock(OMRSMetadataCollection.class);
+        when(brokenCollection.getEntityDetails(USER_ID, guids)).thenThrow(RepositoryErrorException.class);
+
+        OMRSMetadataCollection emptyCollection = mock(OMRSMetadataCollection.class);
+        when(emptyCollection.getEntityDetails(USER_ID, guids)).thenReturn(null);
+
+        GetEntitiesExecutor executor = new GetEntitiesExecutor(USER_ID, guids, METHOD_NAME);
+
+        executor.issueRequestToRepository(COLLECTION_1, brokenCollection);
+        executor.issueRequestToRepository(COLLECTION_2, emptyCollection);
+
+        try
+        {
+            executor.getEntityDetails();
+            fail("None of the entities were retrieved");
+        }
+        catch (RepositoryErrorException error)
+        {
+            // expected
+        }
+    }
+}
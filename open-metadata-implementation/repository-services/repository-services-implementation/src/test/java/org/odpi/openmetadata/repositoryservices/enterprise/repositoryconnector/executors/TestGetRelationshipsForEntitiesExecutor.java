@@ -0,0 +1,154 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.executors;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.enterprise.repositoryconnector.EnterpriseOMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+public class TestGetRelationshipsForEntitiesExecutor
+{
+    private static final String USER_ID           = "testUser";
+    private static final String METHOD_NAME       = "testMethod";
+    private static final String RELATIONSHIP_TYPE = "relationship-type-guid";
+    private static final String COLLECTION_1      = "collection-1";
+    private static final String COLLECTION_2      = "collection-2";
+
+    private List<String> entityGUIDs = Arrays.asList("1111", "2222");
+
+    private Relationship getRelationship(String guid, long version)
+    {
+        Relationship relationship = new Relationship();
+        relationship.setGUID(guid);
+        relationship.setVersion(version);
+        return relationship;
+    }
+
+    private GetRelationshipsForEntitiesExecutor getExecutor()
+    {
+        return new GetRelationshipsForEntitiesExecutor(USER_ID,
+                                                       entityGUIDs,
+                                                       RELATIONSHIP_TYPE,
+                                                       null,
+                                                       null,
+                                                       null,
+                                                       METHOD_NAME);
+    }
+
+    @Test
+    void testRelationshipsAreMergedAcrossRepositories() throws Exception
+    {
+        OMRSMetadataCollection collectionOne = mock(OMRSMetadataCollection.class);
+        when(collectionOne.getRelationshipsForEntities(USER_ID, entityGUIDs, RELATIONSHIP_TYPE)).thenReturn(
+                Arrays.asList(getRelationship("r1", 1), getRelationship("r2", 4)));
+
+        OMRSMetadataCollection collectionTwo = mock(OMRSMetadataCollection.class);
+        when(collectionTwo.getRelationshipsForEntities(USER_ID, entityGUIDs, RELATIONSHIP_TYPE)).thenReturn(
+                Arrays.asList(getRelationship("r1", 2), getRelationship("r2", 3), getRelationship("r3", 1)));
+
+        GetRelationshipsForEntitiesExecutor executor = getExecutor();
+
+        assertTrue(executor.issueRequestToRepository(COLLECTION_1, collectionOne));
+        assertTrue(executor.issueRequestToRepository(COLLECTION_2, collectionTwo));
+
+        List<Relationship> relationships = executor.getResults(mock(EnterpriseOMRSRepositoryConnector.class));
+
+        /*
+         * Each relationship is returned once using its latest version.
+         */
+        Map<String, Long> versions = new HashMap<>();
+        for (Relationship relationship : relationships)
+        {
+            assertNull(versions.put(relationship.getGUID(), relationship.getVersion()));
+        }
+
+        Map<String, Long> expectedVersions = new HashMap<>();
+        expectedVersions.put("r1", 2L);
+        expectedVersions.put("r2", 4L);
+        expectedVersions.put("r3", 1L);
+        assertEquals(versions, expectedVersions);
+
+        /*
+         * Each repository receives one call for the whole list of entities.
+         */
+        verify(collectionOne, times(1)).getRelationshipsForEntities(USER_ID, entityGUIDs, RELATIONSHIP_TYPE);
+        verify(collectionTwo, times(1)).getRelationshipsForEntities(USER_ID, entityGUIDs, RELATIONSHIP_TYPE);
+        verify(collectionOne, never()).getRelationshipsForEntity(anyString(), anyString(), anyString(), anyInt(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void testErrorFromOneRepositoryIsIgnoredWhenOthersReturnResults() throws Exception
+    {
+        OMRSMetadataCollection brokenCollection = mock(OMRSMetadataCollection.class);
+        when(brokenCollection.getRelationshipsForEntities(USER_ID, entityGUIDs, RELATIONSHIP_TYPE)).thenThrow(RepositoryErrorException.class);
+
+        OMRSMetadataCollection workingCollection = mock(OMRSMetadataCollection.class);
+        when(workingCollection.getRelationshipsForEntities(USER_ID, entityGUIDs, RELATIONSHIP_TYPE)).thenReturn(
+                Arrays.asList(getRelationship("r1", 1)));
+
+        GetRelationshipsForEntitiesExecutor executor = getExecutor();
+
+        executor.issueRequestToRepository(COLLECTION_1, brokenCollection);
+        executor.issueRequestToRepository(COLLECTION_2, workingCollection);
+
+        List<Relationship> relationships = executor.getResults(mock(EnterpriseOMRSRepositoryConnector.class));
+
+        assertEquals(relationships.size(), 1);
+        assertEquals(relationships.get(0).getGUID(), "r1");
+    }
+
+    @Test
+    void testNoRelationshipsFound() throws Exception
+    {
+        OMRSMetadataCollection emptyCollection = mock(OMRSMetadataCollection.class);
+        when(emptyCollection.getRelationshipsForEntities(USER_ID, entityGUIDs, RELATIONSHIP_TYPE)).thenReturn(null);
+
+        GetRelationshipsForEntitiesExecutor executor = getExecutor();
+
+        executor.issueRequestToRepository(COLLECTION_1, emptyCollection);
+
+        assertNull(executor.getResults(mock(EnterpriseOMRSRepositoryConnector.class)));
+    }
+
+    @Test
+    void testRepositoryErrorReturnedWhenNoRepositoryAnswers() throws Exception
+    {
+        OMRSMetadataCollection brokenCollection = mock(OMRSMetadataCollection.class);
+        when(brokenCollection.getRelationshipsForEntities(USER_ID, entityGUIDs, RELATIONSHIP_TYPE)).thenThrow(RepositoryErrorException.class);
+
+        GetRelationshipsForEntitiesExecutor executor = getExecutor();
+
+        executor.issueRequestToRepository(COLLECTION_1, brokenCollection);
+
+        try
+        {
+            executor.getResults(mock(EnterpriseOMRSRepositoryConnector.class));
+            fail("The repository error should be returned");
+        }
+        catch (RepositoryErrorException error)
+        {
+            // expected
+        }
+    }
+}
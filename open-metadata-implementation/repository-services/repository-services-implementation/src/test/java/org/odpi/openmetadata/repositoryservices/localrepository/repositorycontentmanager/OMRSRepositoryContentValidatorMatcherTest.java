@@ -0,0 +1,310 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.MatchCriteria;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.ArrayPropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Classification;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.InstanceType;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.PrimitivePropertyValue;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.ClassificationCondition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyComparisonOperator;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.PropertyCondition;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchClassifications;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.search.SearchProperties;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSClassificationsMatcher;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSInstancePropertiesMatcher;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.InvalidParameterException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.RepositoryErrorException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory.OM_PRIMITIVE_TYPE_INT;
+import static org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.PrimitiveDefCategory.OM_PRIMITIVE_TYPE_STRING;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Validate that the matchers returned by the repository validator, which compile the search criteria once for
+ * a request, give the same results as the validator methods that test one instance at a time.
+ */
+public class OMRSRepositoryContentValidatorMatcherTest
+{
+    private static final String sourceName = "OMRSRepositoryContentValidatorMatcherTest";
+    private static final String methodName = "testMethod";
+
+    private final OMRSRepositoryContentValidator validator = new OMRSRepositoryContentValidator(mock(OMRSRepositoryContentManager.class));
+
+
+    @Test
+    void testInstancePropertiesMatcher() throws Exception
+    {
+        InstanceProperties matchProperties = new InstanceProperties();
+        matchProperties.setProperty("name", getStringValue("Cust.*"));
+        matchProperties.setProperty("createdBy", getStringValue("testUser"));
+
+        for (MatchCriteria matchCriteria : MatchCriteria.values())
+        {
+            OMRSInstancePropertiesMatcher matcher = validator.getInstancePropertiesMatcher(matchProperties, matchCriteria);
+
+            for (EntityDetail entity : getEntities())
+            {
+                assertEquals(matcher.matches(entity, entity.getProperties()),
+                             validator.verifyMatchingInstancePropertyValues(matchProperties, entity, entity.getProperties(), matchCriteria),
+                             entity.getGUID() + " " + matchCriteria);
+            }
+        }
+
+        assertTrue(validator.getInstancePropertiesMatcher((InstanceProperties)null, MatchCriteria.ALL).matches(null, null));
+    }
+
+
+    @Test
+    void testSearchPropertiesMatcher() throws Exception
+    {
+        PropertyCondition nameCondition = new PropertyCondition();
+        nameCondition.setProperty("name");
+        nameCondition.setOperator(PropertyComparisonOperator.LIKE);
+        nameCondition.setValue(getStringValue("(?i).*details"));
+
+        PropertyCondition countCondition = new PropertyCondition();
+        countCondition.setProperty("count");
+        countCondition.setOperator(PropertyComparisonOperator.GT);
+        countCondition.setValue(getIntValue(1));
+
+        for (MatchCriteria matchCriteria : MatchCriteria.values())
+        {
+            SearchProperties searchProperties = new SearchProperties();
+            searchProperties.setConditions(Arrays.asList(nameCondition, countCondition));
+            searchProperties.setMatchCriteria(matchCriteria);
+
+            OMRSInstancePropertiesMatcher matcher = validator.getInstancePropertiesMatcher(searchProperties);
+
+            for (EntityDetail entity : getEntities())
+            {
+                assertEquals(matcher.matches(entity, entity.getProperties()),
+                             validator.verifyMatchingInstancePropertyValues(searchProperties, entity, entity.getProperties()),
+                             entity.getGUID() + " " + matchCriteria);
+            }
+        }
+
+        assertTrue(validator.getInstancePropertiesMatcher((SearchProperties)null).matches(null, null));
+
+        /*
+         * An invalid condition is rejected when the matcher is created rather than when an instance is tested.
+         */
+        PropertyCondition inCondition = new PropertyCondition();
+        inCondition.setProperty("name");
+        inCondition.setOperator(PropertyComparisonOperator.IN);
+        inCondition.setValue(getStringValue("Customer"));
+
+        SearchProperties invalidSearchProperties = new SearchProperties();
+        invalidSearchProperties.setConditions(Collections.singletonList(inCondition));
+        invalidSearchProperties.setMatchCriteria(MatchCriteria.ALL);
+
+        try
+        {
+            validator.getInstancePropertiesMatcher(invalidSearchProperties);
+            fail("The IN condition does not have a list of values");
+        }
+        catch (InvalidParameterException error)
+        {
+            // expected
+        }
+    }
+
+
+    @Test
+    void testClassificationsMatcher() throws Exception
+    {
+        PropertyCondition levelCondition = new PropertyCondition();
+        levelCondition.setProperty("level");
+        levelCondition.setOperator(PropertyComparisonOperator.EQ);
+        levelCondition.setValue(getStringValue("High"));
+
+        SearchProperties levelProperties = new SearchProperties();
+        levelProperties.setConditions(Collections.singletonList(levelCondition));
+        levelProperties.setMatchCriteria(MatchCriteria.ALL);
+
+        ClassificationCondition confidentiality = new ClassificationCondition();
+        confidentiality.setName("Confidentiality");
+        confidentiality.setMatchProperties(levelProperties);
+
+        ClassificationCondition memento = new ClassificationCondition();
+        memento.setName("Memento");
+
+        for (MatchCriteria matchCriteria : MatchCriteria.values())
+        {
+            SearchClassifications searchClassifications = new SearchClassifications();
+            searchClassifications.setConditions(Arrays.asList(confidentiality, memento));
+            searchClassifications.setMatchCriteria(matchCriteria);
+
+            OMRSClassificationsMatcher matcher = validator.getClassificationsMatcher(searchClassifications);
+
+            for (EntityDetail entity : getEntities())
+            {
+                assertEquals(matcher.matches(entity),
+                             validator.verifyMatchingClassifications(searchClassifications, entity),
+                             entity.getGUID() + " " + matchCriteria);
+            }
+        }
+
+        assertTrue(validator.getClassificationsMatcher(null).matches(getEntities().get(0)));
+    }
+
+
+    @Test
+    void testSearchCriteriaMatcher() throws Exception
+    {
+        for (String searchCriteria : new String[] { ".*tom.*", "(?i).*DETAILS", "Cust[a-z]+", "Unknown" })
+        {
+            OMRSInstancePropertiesMatcher matcher = validator.getSearchCriteriaMatcher(sourceName, searchCriteria, methodName);
+
+            for (EntityDetail entity : getEntities())
+            {
+                assertEquals(matcher.matches(entity, entity.getProperties()),
+                             validator.verifyInstancePropertiesMatchSearchCriteria(sourceName, entity.getProperties(), searchCriteria, methodName),
+                             entity.getGUID() + " " + searchCriteria);
+            }
+
+            assertFalse(matcher.matches(null, null));
+        }
+
+        /*
+         * An invalid regular expression is reported in the same way as before when an instance is tested.
+         */
+        OMRSInstancePropertiesMatcher invalidMatcher = validator.getSearchCriteriaMatcher(sourceName, "Cust[a-z", methodName);
+
+        assertFalse(invalidMatcher.matches(null, null));
+
+        try
+        {
+            invalidMatcher.matches(null, getEntities().get(0).getProperties());
+            fail("The regular expression is not valid");
+        }
+        catch (RepositoryErrorException error)
+        {
+            // expected
+        }
+    }
+
+
+    /**
+     * Return a set of entities with different properties, headers and classifications.
+     *
+     * @return list of entities
+     */
+    private List<EntityDetail> getEntities()
+    {
+        List<EntityDetail> entities = new ArrayList<>();
+
+        entities.add(getEntity("1", "Customer", 1, "testUser", "High"));
+        entities.add(getEntity("2", "Customer Details", 2, "testUser", "Low"));
+        entities.add(getEntity("3", "Product Details", 3, "otherUser", null));
+        entities.add(getEntity("4", "Customer\nDetails", 0, "otherUser", "High"));
+        entities.add(getEntity("5", null, 5, null, null));
+
+        EntityDetail entityWithArray = getEntity("6", "Customers", 1, "testUser", "High");
+        InstanceProperties arrayValues = new InstanceProperties();
+        arrayValues.setProperty("0", getStringValue("Customer Details"));
+        ArrayPropertyValue arrayPropertyValue = new ArrayPropertyValue();
+        arrayPropertyValue.setArrayCount(1);
+        arrayPropertyValue.setArrayValues(arrayValues);
+        entityWithArray.getProperties().setProperty("aliases", arrayPropertyValue);
+        entities.add(entityWithArray);
+
+        return entities;
+    }
+
+
+    /**
+     * Create an entity.
+     *
+     * @param guid unique identifier
+     * @param name value of the name property (null means no name)
+     * @param count value of the count property
+     * @param createdBy creator of the entity
+     * @param confidentialityLevel level of the Confidentiality classification (null means not classified)
+     * @return entity
+     */
+    private EntityDetail getEntity(String guid,
+                                   String name,
+                                   int    count,
+                                   String createdBy,
+                                   String confidentialityLevel)
+    {
+        InstanceType type = new InstanceType();
+        type.setTypeDefName("TestEntity");
+        type.setTypeDefGUID("test-entity-type-guid");
+
+        InstanceProperties properties = new InstanceProperties();
+
+        if (name != null)
+        {
+            properties.setProperty("name", getStringValue(name));
+        }
+        properties.setProperty("count", getIntValue(count));
+
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        entity.setType(type);
+        entity.setCreatedBy(createdBy);
+        entity.setProperties(properties);
+
+        if (confidentialityLevel != null)
+        {
+            InstanceProperties classificationProperties = new InstanceProperties();
+            classificationProperties.setProperty("level", getStringValue(confidentialityLevel));
+
+            Classification classification = new Classification();
+            classification.setName("Confidentiality");
+            classification.setProperties(classificationProperties);
+
+            entity.setClassifications(Collections.singletonList(classification));
+        }
+
+        return entity;
+    }
+
+
+    /**
+     * Return a string property value.
+     *
+     * @param value string
+     * @return property value
+     */
+    private PrimitivePropertyValue getStringValue(String value)
+    {
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+        propertyValue.setPrimitiveDefCategory(OM_PRIMITIVE_TYPE_STRING);
+        propertyValue.setPrimitiveValue(value);
+
+        return propertyValue;
+    }
+
+
+    /**
+     * Return an integer property value.
+     *
+     * @param value integer
+     * @return property value
+     */
+    private PrimitivePropertyValue getIntValue(int value)
+    {
+        PrimitivePropertyValue propertyValue = new PrimitivePropertyValue();
+        propertyValue.setPrimitiveDefCategory(OM_PRIMITIVE_TYPE_INT);
+        propertyValue.setPrimitiveValue(value);
+
+        return propertyValue;
+    }
+}
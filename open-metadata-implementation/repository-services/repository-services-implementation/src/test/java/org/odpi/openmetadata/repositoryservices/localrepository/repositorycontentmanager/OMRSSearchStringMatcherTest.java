@@ -0,0 +1,157 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
+import static org.testng.Assert.*;
+
+/**
+ * Validate that the search string matcher gives the same results as String.matches().
+ */
+public class OMRSSearchStringMatcherTest
+{
+    private static final String[] searchStrings = {
+            "Customer",
+            "customer",
+            "Cust.*",
+            "a\\b",
+            "",
+            "Ü"
+    };
+
+    private static final String[] values = {
+            "Customer",
+            "customer",
+            "CUSTOMER",
+            "Customer Details",
+            "The Customer",
+            "The Customer Details",
+            "Cust.*",
+            "a\\b",
+            "Customer\nDetails",
+            "The\rCustomer",
+            "Customer",
+            "ü",
+            "Ü",
+            ""
+    };
+
+
+    @Test
+    void testHelperRegexShapes()
+    {
+        OMRSRepositoryContentHelper helper = new OMRSRepositoryContentHelper(null);
+
+        for (String searchString : searchStrings)
+        {
+            for (boolean insensitive : new boolean[] { false, true })
+            {
+                checkMatches(helper.getExactMatchRegex(searchString, insensitive));
+                checkMatches(helper.getStartsWithRegex(searchString, insensitive));
+                checkMatches(helper.getEndsWithRegex(searchString, insensitive));
+                checkMatches(helper.getContainsRegex(searchString, insensitive));
+            }
+        }
+    }
+
+
+    @Test
+    void testLiteralAndGeneralRegex()
+    {
+        String[] regexes = {
+                "Customer",
+                "(?i)customer",
+                ".*Details",
+                "Customer.*",
+                ".*tom.*",
+                "(?i).*TOM.*",
+                ".*",
+                "Cust[a-z]+",
+                "Customer|Product",
+                "a\\\\b.*",
+                ".*?Customer",
+                "\\QCust\\E.*\\QDetails\\E"
+        };
+
+        for (String regex : regexes)
+        {
+            checkMatches(regex);
+        }
+    }
+
+
+    @Test
+    void testConcurrentPatternCache() throws Exception
+    {
+        /*
+         * More regular expressions than the pattern cache holds are used from several threads at once, so that
+         * patterns are added to and removed from the cache while other threads are reading it.
+         */
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try
+        {
+            List<Future<?>> results = new ArrayList<>();
+
+            for (int threadNumber = 0; threadNumber < 4; threadNumber++)
+            {
+                results.add(executor.submit(() ->
+                {
+                    for (int regexNumber = 0; regexNumber < 1500; regexNumber++)
+                    {
+                        checkMatches("Cust[a-z]{" + (regexNumber % 10) + "," + regexNumber + "}");
+                    }
+                }));
+            }
+
+            for (Future<?> result : results)
+            {
+                result.get();
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+
+    @Test
+    void testNullValue()
+    {
+        assertFalse(OMRSSearchStringMatcher.getMatcher("Customer").matches(null));
+        assertFalse(OMRSSearchStringMatcher.getMatcher("Cust[a-z]+").matches(null));
+    }
+
+
+    @Test
+    void testInvalidRegex()
+    {
+        assertThrows(NullPointerException.class, () -> OMRSSearchStringMatcher.getMatcher(null));
+        assertThrows(java.util.regex.PatternSyntaxException.class, () -> OMRSSearchStringMatcher.getMatcher("Cust[a-z"));
+    }
+
+
+    /**
+     * Check the matcher for a regular expression against all of the test values.
+     *
+     * @param regex regular expression
+     */
+    private void checkMatches(String regex)
+    {
+        OMRSSearchStringMatcher matcher = OMRSSearchStringMatcher.getMatcher(regex);
+
+        for (String value : values)
+        {
+            assertEquals(matcher.matches(value), Pattern.matches(regex, value), matcher + " with value '" + value + "'");
+        }
+    }
+}
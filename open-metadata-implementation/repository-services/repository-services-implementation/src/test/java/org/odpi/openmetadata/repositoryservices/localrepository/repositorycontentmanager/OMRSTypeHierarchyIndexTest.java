@@ -0,0 +1,306 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.localrepository.repositorycontentmanager;
+
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefAttribute;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefLink;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.OMRSLogicErrorException;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+
+/**
+ * Verify the type hierarchy index used by the OMRSRepositoryContentManager for isTypeOf, getSubTypesOf and
+ * getAllTypeDefsForProperty, and that the content manager rebuilds the index when its TypeDefs change.
+ *
+ * The test hierarchy is:
+ * Referenceable - Asset - DataSet - Table, Referenceable - Asset - Process and Referenceable - Glossary.
+ */
+public class OMRSTypeHierarchyIndexTest
+{
+    private static final String sourceName = "OMRSTypeHierarchyIndexTest";
+
+    private final EntityDef referenceable = getEntityDef("Referenceable", null, "qualifiedName");
+    private final EntityDef asset         = getEntityDef("Asset", referenceable, "name", "owner");
+    private final EntityDef dataSet       = getEntityDef("DataSet", asset);
+    private final EntityDef table         = getEntityDef("Table", dataSet, "name");
+    private final EntityDef process       = getEntityDef("Process", asset, "formula");
+    private final EntityDef glossary      = getEntityDef("Glossary", referenceable, "displayName");
+
+
+    /**
+     * Each type's ancestors are its super types and nothing else.
+     */
+    @Test public void testAncestors()
+    {
+        OMRSTypeHierarchyIndex index = new OMRSTypeHierarchyIndex(3, getTypeDefs());
+
+        assertEquals(index.getVersion(), 3);
+
+        assertTrue(index.isTypeOf("Table", "Table"));
+        assertTrue(index.isTypeOf("Table", "DataSet"));
+        assertTrue(index.isTypeOf("Table", "Asset"));
+        assertTrue(index.isTypeOf("Table", "Referenceable"));
+        assertFalse(index.isTypeOf("Table", "Process"));
+        assertFalse(index.isTypeOf("Table", "Glossary"));
+        assertFalse(index.isTypeOf("Asset", "Table"));
+        assertFalse(index.isTypeOf("Referenceable", "Asset"));
+        assertFalse(index.isTypeOf("Table", "UnknownType"));
+
+        assertTrue(index.isTypeOfByGUID("Process", asset.getGUID()));
+        assertTrue(index.isTypeOfByGUID("Glossary", referenceable.getGUID()));
+        assertFalse(index.isTypeOfByGUID("Glossary", asset.getGUID()));
+        assertFalse(index.isTypeOfByGUID("Glossary", "unknown-guid"));
+
+        assertEquals(getNames(index.getSuperTypes("Table")), Arrays.asList("DataSet", "Asset", "Referenceable"));
+        assertNull(index.getSuperTypes("Referenceable"));
+    }
+
+
+    /**
+     * The subtypes of a type include all of its descendants but not the type itself.
+     */
+    @Test public void testSubTypes()
+    {
+        OMRSTypeHierarchyIndex index = new OMRSTypeHierarchyIndex(0, getTypeDefs());
+
+        assertEquals(new HashSet<>(index.getSubTypeNames("Referenceable")),
+                     new HashSet<>(Arrays.asList("Asset", "DataSet", "Table", "Process", "Glossary")));
+        assertEquals(new HashSet<>(index.getSubTypeNames("Asset")),
+                     new HashSet<>(Arrays.asList("DataSet", "Table", "Process")));
+        assertEquals(index.getSubTypeNames("DataSet"), Collections.singletonList("Table"));
+        assertNull(index.getSubTypeNames("Table"));
+        assertNull(index.getSubTypeNames("UnknownType"));
+
+        /*
+         * The returned list belongs to the caller.
+         */
+        index.getSubTypeNames("DataSet").clear();
+        assertEquals(index.getSubTypeNames("DataSet"), Collections.singletonList("Table"));
+    }
+
+
+    /**
+     * The types that define each property name are recorded.
+     */
+    @Test public void testTypeDefsForProperty()
+    {
+        OMRSTypeHierarchyIndex index = new OMRSTypeHierarchyIndex(0, getTypeDefs());
+
+        assertEquals(index.getTypeDefNamesForProperty("name"), new HashSet<>(Arrays.asList("Asset", "Table")));
+        assertEquals(index.getTypeDefNamesForProperty("formula"), Collections.singleton("Process"));
+        assertNull(index.getTypeDefNamesForProperty("unknownProperty"));
+    }
+
+
+    /**
+     * A type with a super type that is not known, or a loop in its hierarchy, is not indexed.
+     */
+    @Test public void testUnknownSuperType()
+    {
+        EntityDef missingSuperType = getEntityDef("MissingSuperType", null);
+        EntityDef orphan           = getEntityDef("Orphan", missingSuperType);
+        EntityDef orphanChild      = getEntityDef("OrphanChild", orphan);
+        EntityDef loopStart        = getEntityDef("LoopStart", null);
+        EntityDef loopEnd          = getEntityDef("LoopEnd", loopStart);
+
+        loopStart.setSuperType(getLink(loopEnd));
+
+        List<TypeDef> typeDefs = getTypeDefs();
+        typeDefs.add(orphan);
+        typeDefs.add(orphanChild);
+        typeDefs.add(loopStart);
+        typeDefs.add(loopEnd);
+
+        OMRSTypeHierarchyIndex index = new OMRSTypeHierarchyIndex(0, typeDefs);
+
+        assertTrue(index.isIndexed("Table"));
+        assertFalse(index.isIndexed("Orphan"));
+        assertFalse(index.isIndexed("OrphanChild"));
+        assertFalse(index.isIndexed("LoopStart"));
+        assertFalse(index.isIndexed("LoopEnd"));
+        assertFalse(index.isIndexed("MissingSuperType"));
+        assertNull(index.getSubTypeNames("Orphan"));
+    }
+
+
+    /**
+     * The content manager rebuilds the index when TypeDefs are added, updated and deleted, and reports
+     * a logic error for a type that is not in the index.
+     */
+    @Test public void testContentManagerRebuildsIndex()
+    {
+        OMRSRepositoryContentManager contentManager = new OMRSRepositoryContentManager("testUser", null);
+
+        for (TypeDef typeDef : getTypeDefs())
+        {
+            contentManager.addTypeDef(sourceName, typeDef);
+        }
+
+        assertTrue(contentManager.isTypeOf(sourceName, "Table", "Asset"));
+        assertTrue(contentManager.isTypeOfByGUID(sourceName, table.getGUID(), "Table", referenceable.getGUID()));
+        assertEquals(new HashSet<>(contentManager.getSubTypesOf("Asset")),
+                     new HashSet<>(Arrays.asList("DataSet", "Table", "Process")));
+        assertEquals(contentManager.getAllTypeDefsForProperty(sourceName, "name", sourceName),
+                     new HashSet<>(Arrays.asList("Asset", "Table")));
+
+        /*
+         * Add a new subtype.
+         */
+        EntityDef view = getEntityDef("View", table, "query");
+        contentManager.addTypeDef(sourceName, view);
+
+        assertTrue(contentManager.isTypeOf(sourceName, "View", "DataSet"));
+        assertEquals(contentManager.getSubTypesOf("Table"), Collections.singletonList("View"));
+        assertEquals(contentManager.getAllTypeDefsForProperty(sourceName, "query", sourceName), Collections.singleton("View"));
+
+        /*
+         * Patch Process so it is a DataSet, with an extra property.
+         */
+        EntityDef patchedProcess = getEntityDef("Process", dataSet, "formula", "implementationLanguage");
+        patchedProcess.setGUID(process.getGUID());
+        patchedProcess.setVersion(2);
+        contentManager.updateTypeDef(sourceName, patchedProcess);
+
+        assertTrue(contentManager.isTypeOf(sourceName, "Process", "DataSet"));
+        assertEquals(new HashSet<>(contentManager.getSubTypesOf("DataSet")),
+                     new HashSet<>(Arrays.asList("Table", "View", "Process")));
+        assertEquals(contentManager.getAllTypeDefsForProperty(sourceName, "implementationLanguage", sourceName),
+                     Collections.singleton("Process"));
+
+        /*
+         * Delete View and then Table's super type.
+         */
+        contentManager.deleteTypeDef(sourceName, view.getGUID(), view.getName());
+
+        assertNull(contentManager.getSubTypesOf("Table"));
+        assertNull(contentManager.getAllTypeDefsForProperty(sourceName, "query", sourceName));
+
+        contentManager.deleteTypeDef(sourceName, dataSet.getGUID(), dataSet.getName());
+
+        assertNull(contentManager.getSubTypesOf("Asset"));
+        assertTrue(contentManager.isTypeOf(sourceName, "Asset", "Referenceable"));
+
+        try
+        {
+            contentManager.isTypeOf(sourceName, "Table", "Asset");
+            fail("Table has an unknown super type");
+        }
+        catch (OMRSLogicErrorException error)
+        {
+            // expected
+        }
+
+        try
+        {
+            contentManager.isTypeOf(sourceName, "UnknownType", "Asset");
+            fail("UnknownType is not known");
+        }
+        catch (OMRSLogicErrorException error)
+        {
+            // expected
+        }
+    }
+
+
+    /**
+     * Return the test TypeDefs.
+     *
+     * @return new list of TypeDefs
+     */
+    private List<TypeDef> getTypeDefs()
+    {
+        return new ArrayList<>(Arrays.asList(table, referenceable, process, asset, glossary, dataSet));
+    }
+
+
+    /**
+     * Create an entity TypeDef.
+     *
+     * @param name name of the type
+     * @param superType super type or null
+     * @param propertyNames names of the properties defined by the type
+     * @return TypeDef
+     */
+    private EntityDef getEntityDef(String    name,
+                                   EntityDef superType,
+                                   String... propertyNames)
+    {
+        EntityDef entityDef = new EntityDef();
+
+        entityDef.setGUID(name + "-guid");
+        entityDef.setName(name);
+        entityDef.setVersion(1);
+
+        if (superType != null)
+        {
+            entityDef.setSuperType(getLink(superType));
+        }
+
+        if (propertyNames.length > 0)
+        {
+            List<TypeDefAttribute> properties = new ArrayList<>();
+
+            for (String propertyName : propertyNames)
+            {
+                TypeDefAttribute property = new TypeDefAttribute();
+
+                property.setAttributeName(propertyName);
+                properties.add(property);
+            }
+
+            entityDef.setPropertiesDefinition(properties);
+        }
+
+        return entityDef;
+    }
+
+
+    /**
+     * Create a link to a TypeDef.
+     *
+     * @param typeDef TypeDef
+     * @return link
+     */
+    private TypeDefLink getLink(TypeDef typeDef)
+    {
+        TypeDefLink link = new TypeDefLink();
+
+        link.setGUID(typeDef.getGUID());
+        link.setName(typeDef.getName());
+
+        return link;
+    }
+
+
+    /**
+     * Return the names of a list of TypeDef links.
+     *
+     * @param links links
+     * @return names in order
+     */
+    private List<String> getNames(List<TypeDefLink> links)
+    {
+        List<String> names = new ArrayList<>();
+
+        for (TypeDefLink link : links)
+        {
+            names.add(link.getName());
+        }
+
+        return names;
+    }
+}
@@ -0,0 +1,163 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.repositoryservices.rest.server;
+
+import org.odpi.openmetadata.adminservices.configuration.registration.CommonServicesDescription;
+import org.odpi.openmetadata.commonservices.multitenant.OMAGServerPlatformInstanceMap;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.OMRSMetadataCollection;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.Relationship;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.repositoryconnector.OMRSRepositoryConnector;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.FunctionNotSupportedException;
+import org.odpi.openmetadata.repositoryservices.ffdc.exception.UserNotAuthorizedException;
+import org.odpi.openmetadata.repositoryservices.rest.properties.EntityListResponse;
+import org.odpi.openmetadata.repositoryservices.rest.properties.GUIDListRequest;
+import org.odpi.openmetadata.repositoryservices.rest.properties.RelationshipListResponse;
+import org.odpi.openmetadata.repositoryservices.rest.properties.RelationshipsForEntitiesRequest;
+import org.odpi.openmetadata.repositoryservices.rest.services.OMRSRepositoryServicesInstance;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+
+/**
+ * Test the REST services that retrieve instances for a list of entities in one call.
+ */
+public class TestOMRSRepositoryRESTServicesBatch
+{
+    private static final String SERVER_NAME = "TestBatchServer";
+    private static final String USER_ID     = "testUser";
+
+    private OMAGServerPlatformInstanceMap  platformInstanceMap = new OMAGServerPlatformInstanceMap();
+    private OMRSMetadataCollection         metadataCollection  = mock(OMRSMetadataCollection.class);
+    private OMRSRepositoryServicesInstance instance            = null;
+    private OMRSRepositoryRESTServices     restServices        = new OMRSRepositoryRESTServices(true);
+
+
+    @BeforeClass
+    void startServer() throws Exception
+    {
+        OMRSRepositoryConnector localRepositoryConnector = mock(OMRSRepositoryConnector.class);
+        when(localRepositoryConnector.getMetadataCollection()).thenReturn(metadataCollection);
+
+        platformInstanceMap.startUpServerInstance(USER_ID, SERVER_NAME, null, null);
+        instance = new OMRSRepositoryServicesInstance(SERVER_NAME,
+                                                      null,
+                                                      localRepositoryConnector,
+                                                      null,
+                                                      null,
+                                                      "https://localhost:9443",
+                                                      CommonServicesDescription.REPOSITORY_SERVICES.getServiceName(),
+                                                      null,
+                                                      100);
+    }
+
+
+    @AfterClass
+    void stopServer() throws Exception
+    {
+        instance.shutdown();
+        platformInstanceMap.shutdownServerInstance(USER_ID, SERVER_NAME, "stopServer");
+    }
+
+
+    @BeforeMethod
+    void resetMetadataCollection()
+    {
+        reset(metadataCollection);
+    }
+
+
+    private EntityDetail getEntity(String guid)
+    {
+        EntityDetail entity = new EntityDetail();
+        entity.setGUID(guid);
+        return entity;
+    }
+
+
+    @Test
+    void testGetEntityDetails() throws Exception
+    {
+        List<String>       guids    = Arrays.asList("1111", "2222");
+        List<EntityDetail> entities = Arrays.asList(getEntity("1111"), getEntity("2222"));
+
+        when(metadataCollection.getEntityDetails(USER_ID, guids)).thenReturn(entities);
+
+        GUIDListRequest requestBody = new GUIDListRequest();
+        requestBody.setGUIDs(guids);
+
+        EntityListResponse response = restServices.getEntityDetails(SERVER_NAME, USER_ID, requestBody);
+
+        assertEquals(response.getRelatedHTTPCode(), 200);
+        assertEquals(response.getEntities(), entities);
+    }
+
+
+    @Test
+    void testGetEntityDetailsReturnsException() throws Exception
+    {
+        List<String> guids = Collections.singletonList("1111");
+
+        when(metadataCollection.getEntityDetails(USER_ID, guids)).thenThrow(UserNotAuthorizedException.class);
+
+        GUIDListRequest requestBody = new GUIDListRequest();
+        requestBody.setGUIDs(guids);
+
+        EntityListResponse response = restServices.getEntityDetails(SERVER_NAME, USER_ID, requestBody);
+
+        assertEquals(response.getExceptionClassName(), UserNotAuthorizedException.class.getName());
+        assertNull(response.getEntities());
+    }
+
+
+    @Test
+    void testGetRelationshipsForEntities() throws Exception
+    {
+        List<String> guids = Arrays.asList("1111", "2222");
+
+        Relationship relationship = new Relationship();
+        relationship.setGUID("r1");
+
+        List<Relationship> relationships = Collections.singletonList(relationship);
+
+        when(metadataCollection.getRelationshipsForEntities(USER_ID, guids, "relationship-type-guid")).thenReturn(relationships);
+
+        RelationshipsForEntitiesRequest requestBody = new RelationshipsForEntitiesRequest();
+        requestBody.setGUIDs(guids);
+        requestBody.setRelationshipTypeGUID("relationship-type-guid");
+
+        RelationshipListResponse response = restServices.getRelationshipsForEntities(SERVER_NAME, USER_ID, requestBody);
+
+        assertEquals(response.getRelatedHTTPCode(), 200);
+        assertEquals(response.getRelationships(), relationships);
+    }
+
+
+    @Test
+    void testGetRelationshipsForEntitiesReturnsException() throws Exception
+    {
+        List<String> guids = Collections.singletonList("1111");
+
+        when(metadataCollection.getRelationshipsForEntities(USER_ID, guids, null)).thenThrow(FunctionNotSupportedException.class);
+
+        RelationshipsForEntitiesRequest requestBody = new RelationshipsForEntitiesRequest();
+        requestBody.setGUIDs(guids);
+
+        RelationshipListResponse response = restServices.getRelationshipsForEntities(SERVER_NAME, USER_ID, requestBody);
+
+        assertEquals(response.getExceptionClassName(), FunctionNotSupportedException.class.getName());
+        assertNull(response.getRelationships());
+    }
+}
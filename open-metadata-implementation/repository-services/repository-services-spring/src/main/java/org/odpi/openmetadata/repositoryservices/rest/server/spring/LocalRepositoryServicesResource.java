@@ -695,6 +695,30 @@ public class LocalRepositoryServicesResource
     }
 
 
+    /**
+     * Return the header, classifications and properties of a list of entities.  Entities that are not known,
+     * are only proxies, or the user is not permitted to see are not returned.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param requestBody list of unique identifiers for the entities.
+     * @return EntityListResponse:
+     * list of the retrieved entities or
+     * InvalidParameterException the userId is null or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/entities/by-guids")
+
+    public EntityListResponse getEntityDetails(@PathVariable String           serverName,
+                                               @PathVariable String           userId,
+                                               @RequestBody  GUIDListRequest  requestBody)
+    {
+        return restAPI.getEntityDetails(serverName, userId, requestBody);
+    }
+
+
     /**
      * Return a historical version of an entity includes the header, classifications and properties of the entity.
      *
@@ -756,6 +780,34 @@ public class LocalRepositoryServicesResource
     }
 
 
+    /**
+     * Return the current relationships for a list of entities.  Each relationship is returned once and
+     * entities that are not known are ignored.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param requestBody list of unique identifiers for the entities and the optional type of relationship.
+     * @return RelationshipListResponse:
+     * Relationships list.  Null means no relationships associated with the entities or
+     * InvalidParameterException a parameter is invalid or null or
+     * TypeErrorException the type guid passed on the request is not known by the metadata collection or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                  the metadata collection is stored or
+     * PropertyErrorException the relationships could not be retrieved or
+     * PagingErrorException the relationships could not be retrieved or
+     * FunctionNotSupportedException the repository does not support the retrieval of relationships or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/entities/by-guids/relationships")
+
+    public RelationshipListResponse getRelationshipsForEntities(@PathVariable String                          serverName,
+                                                                @PathVariable String                          userId,
+                                                                @RequestBody  RelationshipsForEntitiesRequest requestBody)
+    {
+        return restAPI.getRelationshipsForEntities(serverName, userId, requestBody);
+    }
+
+
     /**
      * Return the relationships for a specific entity.
      *
@@ -1511,6 +1563,38 @@ public class LocalRepositoryServicesResource
     }
 
 
+    /**
+     * Create a batch of new entities.  Each entity in the list is a template that supplies the type, initial
+     * properties, initial classifications and (optionally) the initial status of a new entity.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param requestBody list of templates for the new entities (in the entity element list)
+     * @return EntityListResponse:
+     * list of new entities in the same order as the templates or
+     * InvalidParameterException one of the parameters is invalid or null or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                    the metadata collection is stored or
+     * TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                              hosting the metadata collection or
+     * PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the entity's type or
+     * ClassificationErrorException one or more of the requested classifications are either not known or
+     *                                           not defined for the entity type or
+     * StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                       one of the requested statuses or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/entities/batch")
+
+    public EntityListResponse addEntities(@PathVariable String                serverName,
+                                          @PathVariable String                userId,
+                                          @RequestBody  InstanceGraphRequest  requestBody)
+    {
+        return restAPI.addEntities(serverName, userId, requestBody);
+    }
+
+
 
     /**
      * Save a new entity that is sourced from an external technology.  The external
@@ -1901,6 +1985,38 @@ public class LocalRepositoryServicesResource
     }
 
 
+    /**
+     * Create a batch of new relationships.  Each relationship in the list is a template that supplies the type,
+     * initial properties, the entities to connect (through the GUIDs of its entity proxies) and (optionally) the
+     * initial status of a new relationship.
+     *
+     * @param serverName unique identifier for requested server.
+     * @param userId unique identifier for requesting user.
+     * @param requestBody list of templates for the new relationships (in the relationship element list)
+     * @return RelationshipListResponse:
+     * list of new relationships in the same order as the templates or
+     * InvalidParameterException one of the parameters is invalid or null or
+     * RepositoryErrorException there is a problem communicating with the metadata repository where
+     *                                 the metadata collection is stored or
+     * TypeErrorException one of the requested types is not known, or not supported in the metadata repository
+     *                            hosting the metadata collection or
+     * PropertyErrorException one or more of the requested properties are not defined, or have different
+     *                                  characteristics in the TypeDef for the relationship's type or
+     * EntityNotKnownException one of the requested entities is not known in the metadata collection or
+     * StatusNotSupportedException the metadata repository hosting the metadata collection does not support
+     *                                     one of the requested statuses or
+     * UserNotAuthorizedException the userId is not permitted to perform this operation.
+     */
+    @PostMapping(path = "/instances/relationships/batch")
+
+    public RelationshipListResponse addRelationships(@PathVariable String                serverName,
+                                                     @PathVariable String                userId,
+                                                     @RequestBody  InstanceGraphRequest  requestBody)
+    {
+        return restAPI.addRelationships(serverName, userId, requestBody);
+    }
+
+
     /**
      * Save a new relationship that is sourced from an external technology.  The external
      * technology is identified by a GUID and a name.  These can be recorded in a
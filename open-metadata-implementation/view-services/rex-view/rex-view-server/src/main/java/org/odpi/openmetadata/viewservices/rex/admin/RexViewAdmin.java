@@ -14,11 +14,13 @@ import org.odpi.openmetadata.frameworks.auditlog.AuditLog;
 import org.odpi.openmetadata.frameworks.connectors.ffdc.InvalidParameterException;
 import org.odpi.openmetadata.viewservices.rex.api.ffdc.RexViewAuditCode;
 import org.odpi.openmetadata.viewservices.rex.api.ffdc.RexViewErrorCode;
+import org.odpi.openmetadata.viewservices.rex.handlers.RexViewHandler;
 import org.odpi.openmetadata.viewservices.rex.server.RexViewServicesInstance;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -31,6 +33,8 @@ public class RexViewAdmin extends ViewServiceAdmin {
 
 
     protected String   resourceEndpointsPropertyName       = "resourceEndpoints";      /* Common */
+    protected String   cacheTimeToLivePropertyName         = "cacheTimeToLive";        /* Seconds that repository server types are reused for */
+    protected String   cacheSizePropertyName               = "cacheSize";              /* Maximum number of repository server details cached */
 
     private AuditLog                auditLog          = null;
     private String                  serverUserName    = null;
@@ -100,7 +104,17 @@ public class RexViewAdmin extends ViewServiceAdmin {
                                                                                            viewServiceFullName,
                                                                                            auditLog);
 
+            int cacheTimeToLive = this.extractIntegerOption(viewServiceConfig.getViewServiceOptions(),
+                                                            cacheTimeToLivePropertyName,
+                                                            RexViewHandler.DEFAULT_CACHE_TIME_TO_LIVE,
+                                                            viewServiceFullName,
+                                                            auditLog);
 
+            int cacheSize = this.extractIntegerOption(viewServiceConfig.getViewServiceOptions(),
+                                                      cacheSizePropertyName,
+                                                      RexViewHandler.DEFAULT_CACHE_SIZE,
+                                                      viewServiceFullName,
+                                                      auditLog);
 
             /*
              * The name and rootURL of a repository server are not passed at this stage - they are not known at this stage
@@ -110,7 +124,9 @@ public class RexViewAdmin extends ViewServiceAdmin {
                                                         auditLog,
                                                         serverUserName,
                                                         maxPageSize,
-                                                        resourceEndpoints);
+                                                        resourceEndpoints,
+                                                        cacheTimeToLive,
+                                                        cacheSize);
 
             this.serverUserName    = serverUserName;
             this.serverName        = serverName;
@@ -209,5 +225,46 @@ public class RexViewAdmin extends ViewServiceAdmin {
             return endpointList;
         }
     }
-}
 
+
+    /**
+     * Extract a non-negative integer property from the view services options.
+     *
+     * @param viewServiceOptions options passed to the view service.
+     * @param propertyName name of the property
+     * @param defaultValue value to use if the property is not set
+     * @param viewServiceFullName name of calling service
+     * @param auditLog audit log for error messages
+     * @return property value
+     * @throws OMAGConfigurationErrorException the property is not a non-negative integer.
+     */
+    protected int extractIntegerOption(Map<String, Object> viewServiceOptions,
+                                       String              propertyName,
+                                       int                 defaultValue,
+                                       String              viewServiceFullName,
+                                       AuditLog            auditLog)                   throws OMAGConfigurationErrorException
+    {
+        final String methodName = "extractIntegerOption";
+
+        if ((viewServiceOptions == null) || (viewServiceOptions.get(propertyName) == null))
+        {
+            return defaultValue;
+        }
+
+        Object propertyValue = viewServiceOptions.get(propertyName);
+
+        if ((propertyValue instanceof Integer) && ((Integer) propertyValue >= 0))
+        {
+            return (Integer) propertyValue;
+        }
+
+        logBadConfiguration(viewServiceFullName,
+                            propertyName,
+                            propertyValue.toString(),
+                            auditLog,
+                            methodName);
+
+        // unreachable
+        return defaultValue;
+    }
+}
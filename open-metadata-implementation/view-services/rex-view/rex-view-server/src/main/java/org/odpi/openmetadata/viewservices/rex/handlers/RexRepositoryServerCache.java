@@ -0,0 +1,208 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.viewservices.rex.handlers;
+
+import org.odpi.openmetadata.repositoryservices.clients.MetadataCollectionServicesClient;
+import org.odpi.openmetadata.repositoryservices.utilities.OMRSLRUMap;
+import org.odpi.openmetadata.viewservices.rex.api.properties.TypeExplorer;
+
+import java.util.Map;
+
+
+/**
+ * RexRepositoryServerCache holds the details that the RexViewHandler retrieves about each repository server
+ * it is asked to explore, so that they are not retrieved again on every request.
+ * <p>
+ * The repository services clients are kept for each server, platform and enterprise option.  The TypeExplorer
+ * and metadata collection id are kept for each user as well, and are only returned for the configured time
+ * to live.  This means changes to the types supported by a repository server are picked up when the entry
+ * expires, or straight away when the types are explicitly reloaded.  The number of entries held in the cache is
+ * bounded and the least recently used entry is evicted when the cache is full.
+ * </p>
+ */
+class RexRepositoryServerCache
+{
+    private final long timeToLive;
+
+    private final Map<String, MetadataCollectionServicesClient> clients;
+    private final Map<String, CachedValue<TypeExplorer>>        typeExplorers;
+    private final Map<String, CachedValue<String>>              metadataCollectionIds;
+
+
+    /**
+     * Constructor.
+     *
+     * @param timeToLive number of milliseconds that a TypeExplorer or metadata collection id is used for (0 means they are not cached)
+     * @param maxEntries maximum number of entries to hold for each kind of detail
+     */
+    RexRepositoryServerCache(long timeToLive,
+                             int  maxEntries)
+    {
+        this.timeToLive            = timeToLive;
+        this.clients               = new OMRSLRUMap<>(maxEntries);
+        this.typeExplorers         = new OMRSLRUMap<>(maxEntries);
+        this.metadataCollectionIds = new OMRSLRUMap<>(maxEntries);
+    }
+
+
+    /**
+     * Return the repository services client for a repository server.
+     *
+     * @param serverKey key identifying the server, platform and enterprise option
+     * @return client or null if it has not been created yet
+     */
+    synchronized MetadataCollectionServicesClient getClient(String serverKey)
+    {
+        return clients.get(serverKey);
+    }
+
+
+    /**
+     * Save the repository services client for a repository server.
+     *
+     * @param serverKey key identifying the server, platform and enterprise option
+     * @param client client to reuse
+     */
+    synchronized void saveClient(String                           serverKey,
+                                 MetadataCollectionServicesClient client)
+    {
+        clients.put(serverKey, client);
+    }
+
+
+    /**
+     * Return the TypeExplorer for a repository server if it has not expired.
+     *
+     * @param serverKey key identifying the server, platform and enterprise option
+     * @param userId calling user
+     * @return TypeExplorer or null if it needs to be retrieved
+     */
+    synchronized TypeExplorer getTypeExplorer(String serverKey,
+                                              String userId)
+    {
+        return getValue(typeExplorers, getUserKey(serverKey, userId));
+    }
+
+
+    /**
+     * Save the TypeExplorer retrieved for a repository server.
+     *
+     * @param serverKey key identifying the server, platform and enterprise option
+     * @param userId calling user
+     * @param typeExplorer retrieved types
+     */
+    synchronized void saveTypeExplorer(String       serverKey,
+                                       String       userId,
+                                       TypeExplorer typeExplorer)
+    {
+        saveValue(typeExplorers, getUserKey(serverKey, userId), typeExplorer);
+    }
+
+
+    /**
+     * Return the metadata collection id for a repository server if it has not expired.
+     *
+     * @param serverKey key identifying the server, platform and enterprise option
+     * @param userId calling user
+     * @return metadata collection id or null if it needs to be retrieved
+     */
+    synchronized String getMetadataCollectionId(String serverKey,
+                                                String userId)
+    {
+        return getValue(metadataCollectionIds, getUserKey(serverKey, userId));
+    }
+
+
+    /**
+     * Save the metadata collection id retrieved for a repository server.
+     *
+     * @param serverKey key identifying the server, platform and enterprise option
+     * @param userId calling user
+     * @param metadataCollectionId retrieved metadata collection id
+     */
+    synchronized void saveMetadataCollectionId(String serverKey,
+                                               String userId,
+                                               String metadataCollectionId)
+    {
+        saveValue(metadataCollectionIds, getUserKey(serverKey, userId), metadataCollectionId);
+    }
+
+
+    /**
+     * Return an unexpired value from one of the maps.
+     *
+     * @param cache map to look in
+     * @param key key of the value
+     * @param <V> type of value
+     * @return value or null
+     */
+    private <V> V getValue(Map<String, CachedValue<V>> cache,
+                           String                      key)
+    {
+        CachedValue<V> cachedValue = cache.get(key);
+
+        if (cachedValue != null)
+        {
+            if (System.currentTimeMillis() - cachedValue.loadTime < timeToLive)
+            {
+                return cachedValue.value;
+            }
+
+            cache.remove(key);
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Save a value in one of the maps.
+     *
+     * @param cache map to save in
+     * @param key key of the value
+     * @param value value to save
+     * @param <V> type of value
+     */
+    private <V> void saveValue(Map<String, CachedValue<V>> cache,
+                               String                      key,
+                               V                           value)
+    {
+        if ((timeToLive > 0) && (value != null))
+        {
+            cache.put(key, new CachedValue<>(value, System.currentTimeMillis()));
+        }
+    }
+
+
+    /**
+     * Build the key for the values that are held for each user.
+     *
+     * @param serverKey key identifying the server, platform and enterprise option
+     * @param userId calling user
+     * @return key
+     */
+    private String getUserKey(String serverKey,
+                              String userId)
+    {
+        return serverKey + ":" + userId;
+    }
+
+
+    /**
+     * CachedValue remembers when a value was retrieved.
+     *
+     * @param <V> type of value
+     */
+    private static class CachedValue<V>
+    {
+        private final V    value;
+        private final long loadTime;
+
+        CachedValue(V    value,
+                    long loadTime)
+        {
+            this.value    = value;
+            this.loadTime = loadTime;
+        }
+    }
+}
@@ -73,6 +73,12 @@ public class RexViewHandler
      */
     private static final int TRUNCATED_STRING_LENGTH = 24;
 
+    /*
+     * Defaults for the cache of repository server details - see RexRepositoryServerCache.
+     */
+    public static final int DEFAULT_CACHE_TIME_TO_LIVE = 300;   // seconds
+    public static final int DEFAULT_CACHE_SIZE         = 100;
+
 
     /*
      * viewServiceOptions should have been validated in the Admin layer.
@@ -116,6 +122,8 @@ public class RexViewHandler
     private Map<String, ResourceEndpoint>  configuredPlatforms = null;          // map is keyed using platformRootURL
     private Map<String, ResourceEndpoint>  configuredServerInstances   = null;  // map is keyed using serverName+platformRootURL so each instance is unique
 
+    private RexRepositoryServerCache       repositoryServerCache = new RexRepositoryServerCache(DEFAULT_CACHE_TIME_TO_LIVE * 1000L,
+                                                                                                DEFAULT_CACHE_SIZE);
 
 
 
@@ -173,6 +181,22 @@ public class RexViewHandler
     }
 
 
+    /**
+     * Constructor for RexViewHandler with configured resourceEndpoints and cache settings
+     * @param resourceEndpoints - list of resource endpoint configuration objects for this view service
+     * @param cacheTimeToLive - number of seconds that the types and metadata collection id of a repository server are reused for
+     * @param cacheSize - maximum number of entries held for each kind of repository server detail
+     */
+    public RexViewHandler(List<ResourceEndpointConfig>  resourceEndpoints,
+                          int                           cacheTimeToLive,
+                          int                           cacheSize) {
+
+        this(resourceEndpoints);
+
+        repositoryServerCache = new RexRepositoryServerCache(cacheTimeToLive * 1000L, cacheSize);
+    }
+
+
 
     /**
      * getResourceEndpoints - returns a list of the configured resource endpoints. Does not include discovered resource endpoints.
@@ -274,16 +298,9 @@ public class RexViewHandler
              *  Switch between local and enterprise services clients depending
              *  on enterprise option...
              */
-            MetadataCollectionServicesClient repositoryServicesClient;
-
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
-            {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                         platformRootURL,
+                                                                                                         enterpriseOption);
 
             TypeExplorer tex = new TypeExplorer();
 
@@ -332,6 +349,15 @@ public class RexViewHandler
             // All typeDefs processed, resolve linkages and return the TEX object
             // The platformRootURL and repositoryName are passed in only for error logging
             tex.resolve(platformRootURL, repositoryServerName);
+
+            /*
+             * Save the types so that the other requests for this repository server do not need to retrieve them.
+             * Calling this method always retrieves the latest types, which means the types are refreshed whenever the
+             * user reloads them.
+             */
+            repositoryServerCache.saveTypeExplorer(getServerKey(repositoryServerName, platformRootURL, enterpriseOption),
+                                                   userId,
+                                                   tex);
             return tex;
 
         }
@@ -387,31 +413,28 @@ public class RexViewHandler
              *  Switch between local and enterprise services clients depending
              *  on enterprise option...
              */
-            MetadataCollectionServicesClient repositoryServicesClient;
-
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
-            {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                         platformRootURL,
+                                                                                                         enterpriseOption);
 
             /*
              * Find the metadataCollectionId of the repository - this is used later to determine whether
              * each returned entity is homed in the metadataCollection owned by this repository, or not.
              */
-            String metadataCollectionId = repositoryServicesClient.getMetadataCollectionId(userId);
+            String metadataCollectionId = this.getMetadataCollectionId(userId,
+                                                                       repositoryServicesClient,
+                                                                       repositoryServerName,
+                                                                       platformRootURL,
+                                                                       enterpriseOption);
 
 
             EntityDetail entityDetail = repositoryServicesClient.getEntityDetail(userId, entityGUID);
 
-            TypeExplorer typeExplorer = getTypeExplorer(userId,
-                                                        repositoryServerName,
-                                                        platformName,
-                                                        enterpriseOption,
-                                                        methodName);
+            TypeExplorer typeExplorer = getCachedTypeExplorer(userId,
+                                                              repositoryServerName,
+                                                              platformName,
+                                                              enterpriseOption,
+                                                              methodName);
 
             String label = this.chooseLabelForEntity(entityDetail, typeExplorer);
 
@@ -495,33 +518,30 @@ public class RexViewHandler
              *  Switch between local and enterprise services clients depending
              *  on enterprise option...
              */
-            MetadataCollectionServicesClient repositoryServicesClient;
-
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
-            {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                         platformRootURL,
+                                                                                                         enterpriseOption);
 
             /*
              * Find the metadataCollectionId of the repository - this is used later to determine whether
              * each returned entity is homed in the metadataCollection owned by this repository, or not.
              */
-            String metadataCollectionId = repositoryServicesClient.getMetadataCollectionId(userId);
+            String metadataCollectionId = this.getMetadataCollectionId(userId,
+                                                                       repositoryServicesClient,
+                                                                       repositoryServerName,
+                                                                       platformRootURL,
+                                                                       enterpriseOption);
 
 
             Relationship relationship = repositoryServicesClient.getRelationship(userId, relationshipGUID);
 
             // Create digests for both ends
 
-            TypeExplorer typeExplorer = getTypeExplorer(userId,
-                                                        repositoryServerName,
-                                                        platformName,
-                                                        enterpriseOption,
-                                                        methodName);
+            TypeExplorer typeExplorer = getCachedTypeExplorer(userId,
+                                                              repositoryServerName,
+                                                              platformName,
+                                                              enterpriseOption,
+                                                              methodName);
 
             EntityProxy entity1 = relationship.getEntityOneProxy();
             EntityProxy entity2 = relationship.getEntityTwoProxy();
@@ -626,29 +646,26 @@ public class RexViewHandler
              *  Switch between local and enterprise services clients depending
              *  on enterprise option...
              */
-            MetadataCollectionServicesClient repositoryServicesClient;
-
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
-            {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                         platformRootURL,
+                                                                                                         enterpriseOption);
 
             /*
              * Find the metadataCollectionId of the repository - this is used later to determine whether
              * each returned entity is homed in the metadataCollection owned by this repository, or not.
              */
-            String metadataCollectionId = repositoryServicesClient.getMetadataCollectionId(userId);
+            String metadataCollectionId = this.getMetadataCollectionId(userId,
+                                                                       repositoryServicesClient,
+                                                                       repositoryServerName,
+                                                                       platformRootURL,
+                                                                       enterpriseOption);
 
 
-            TypeExplorer typeExplorer = getTypeExplorer(userId,
-                                                        repositoryServerName,
-                                                        platformName,
-                                                        enterpriseOption,
-                                                        methodName);
+            TypeExplorer typeExplorer = getCachedTypeExplorer(userId,
+                                                              repositoryServerName,
+                                                              platformName,
+                                                              enterpriseOption,
+                                                              methodName);
 
 
             String entityTypeGUID = typeExplorer.getEntityTypeGUID(entityTypeName);
@@ -782,29 +799,26 @@ public class RexViewHandler
              *  Switch between local and enterprise services clients depending
              *  on enterprise option...
              */
-            MetadataCollectionServicesClient repositoryServicesClient;
-
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
-            {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                         platformRootURL,
+                                                                                                         enterpriseOption);
 
             /*
              * Find the metadataCollectionId of the repository - this is used later to determine whether
              * each returned entity is homed in the metadataCollection owned by this repository, or not.
              */
-            String metadataCollectionId = repositoryServicesClient.getMetadataCollectionId(userId);
+            String metadataCollectionId = this.getMetadataCollectionId(userId,
+                                                                       repositoryServicesClient,
+                                                                       repositoryServerName,
+                                                                       platformRootURL,
+                                                                       enterpriseOption);
 
 
-            TypeExplorer typeExplorer = getTypeExplorer(userId,
-                                                        repositoryServerName,
-                                                        platformName,
-                                                        enterpriseOption,
-                                                        methodName);
+            TypeExplorer typeExplorer = getCachedTypeExplorer(userId,
+                                                              repositoryServerName,
+                                                              platformName,
+                                                              enterpriseOption,
+                                                              methodName);
 
 
             String relationshipTypeGUID = typeExplorer.getRelationshipTypeGUID(relationshipTypeName);
@@ -977,26 +991,19 @@ public class RexViewHandler
              *  Switch between local and enterprise services clients depending
              *  on enterprise option...
              */
-            MetadataCollectionServicesClient repositoryServicesClient;
-
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
-            {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                         platformRootURL,
+                                                                                                         enterpriseOption);
 
             /*
              * Because we will want to extract labels based on type we'll need to know the types supported by the repository...
              */
 
-            TypeExplorer typeExplorer = getTypeExplorer(userId,
-                                                        repositoryServerName,
-                                                        platformName,
-                                                        enterpriseOption,
-                                                        methodName);
+            TypeExplorer typeExplorer = getCachedTypeExplorer(userId,
+                                                              repositoryServerName,
+                                                              platformName,
+                                                              enterpriseOption,
+                                                              methodName);
 
             InstanceGraph instGraph = null;
 
@@ -1232,23 +1239,20 @@ public class RexViewHandler
              *  Switch between local and enterprise services clients depending
              *  on enterprise option...
              */
-            MetadataCollectionServicesClient repositoryServicesClient;
-
-            if (!enterpriseOption)
-            {
-                repositoryServicesClient = this.getLocalRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
-            else
-            {
-                repositoryServicesClient = this.getEnterpriseRepositoryServicesClient(repositoryServerName, platformRootURL);
-            }
+            MetadataCollectionServicesClient repositoryServicesClient = this.getRepositoryServicesClient(repositoryServerName,
+                                                                                                         platformRootURL,
+                                                                                                         enterpriseOption);
 
 
             /*
              * Find the metadataCollectionId of the repository - this is used later to determine whether
              * each returned entity is homed in the metadataCollection owned by this repository, or not.
              */
-            String metadataCollectionId = repositoryServicesClient.getMetadataCollectionId(userId);
+            String metadataCollectionId = this.getMetadataCollectionId(userId,
+                                                                       repositoryServicesClient,
+                                                                       repositoryServerName,
+                                                                       platformRootURL,
+                                                                       enterpriseOption);
 
 
 
@@ -1256,11 +1260,11 @@ public class RexViewHandler
              * Because we will want to extract labels based on type we'll need to know the types supported by the repository...
              */
 
-            TypeExplorer typeExplorer = getTypeExplorer(userId,
-                                                        repositoryServerName,
-                                                        platformName,
-                                                        enterpriseOption,
-                                                        methodName);
+            TypeExplorer typeExplorer = getCachedTypeExplorer(userId,
+                                                              repositoryServerName,
+                                                              platformName,
+                                                              enterpriseOption,
+                                                              methodName);
 
             InstanceGraph instGraph = null;
 
@@ -1497,6 +1501,135 @@ public class RexViewHandler
     }
 
 
+    /**
+     * Return the TypeExplorer for the repository server, using the saved copy if it has not expired.
+     * @param userId  userId under which the request is performed
+     * @param repositoryServerName The name of the repository server to interrogate
+     * @param platformName The name of the platform running the repository server to interrogate
+     * @param enterpriseOption Whether the query is at cohort level or server specific
+     * @param methodName The name of the method being invoked
+     * @return the TypeExplorer object.
+     *
+     * Exceptions
+     * @throws RexViewServiceException  an error was detected and details are reported in the exception
+     */
+    private TypeExplorer getCachedTypeExplorer(String    userId,
+                                               String    repositoryServerName,
+                                               String    platformName,
+                                               boolean   enterpriseOption,
+                                               String    methodName)
+    throws
+    RexViewServiceException
+
+    {
+        String platformRootURL = resolvePlatformRootURL(platformName, methodName);
+
+        TypeExplorer typeExplorer = repositoryServerCache.getTypeExplorer(getServerKey(repositoryServerName,
+                                                                                       platformRootURL,
+                                                                                       enterpriseOption),
+                                                                          userId);
+        if (typeExplorer == null)
+        {
+            typeExplorer = getTypeExplorer(userId, repositoryServerName, platformName, enterpriseOption, methodName);
+        }
+
+        return typeExplorer;
+    }
+
+
+    /**
+     * Return the metadataCollectionId of the repository server, using the saved copy if it has not expired.
+     *
+     * @param userId  userId under which the request is performed
+     * @param repositoryServicesClient client for the repository server
+     * @param repositoryServerName The name of the repository server to interrogate
+     * @param platformRootURL the root URL of the platform running the repository server
+     * @param enterpriseOption Whether the query is at cohort level or server specific
+     * @return metadataCollectionId
+     * @throws InvalidParameterException - an invalid parameter was detected and reported
+     * @throws RepositoryErrorException - there is a problem communicating with the repository server
+     * @throws UserNotAuthorizedException - the user is not authorized to make this request
+     */
+    private String getMetadataCollectionId(String                           userId,
+                                           MetadataCollectionServicesClient repositoryServicesClient,
+                                           String                           repositoryServerName,
+                                           String                           platformRootURL,
+                                           boolean                          enterpriseOption)
+    throws
+    InvalidParameterException,
+    RepositoryErrorException,
+    UserNotAuthorizedException
+
+    {
+        String serverKey = getServerKey(repositoryServerName, platformRootURL, enterpriseOption);
+
+        String metadataCollectionId = repositoryServerCache.getMetadataCollectionId(serverKey, userId);
+        if (metadataCollectionId == null)
+        {
+            metadataCollectionId = repositoryServicesClient.getMetadataCollectionId(userId);
+            repositoryServerCache.saveMetadataCollectionId(serverKey, userId, metadataCollectionId);
+        }
+
+        return metadataCollectionId;
+    }
+
+
+    /**
+     * getRepositoryServicesClient
+     *
+     * Return the client for the repository server, switching between the local and enterprise services
+     * clients depending on the enterprise option.  The clients are created once for each server.
+     *
+     * @param serverName - name of the server to connect to
+     * @param serverRootURL - the root URL to connect to the server
+     * @param enterpriseOption - whether the query is at cohort level or server specific
+     * @throws InvalidParameterException - an invalid parameter was detected and reported
+     */
+    private MetadataCollectionServicesClient getRepositoryServicesClient(String  serverName,
+                                                                         String  serverRootURL,
+                                                                         boolean enterpriseOption)
+    throws
+    InvalidParameterException
+
+    {
+        String serverKey = getServerKey(serverName, serverRootURL, enterpriseOption);
+
+        MetadataCollectionServicesClient client = repositoryServerCache.getClient(serverKey);
+        if (client == null)
+        {
+            if (!enterpriseOption)
+            {
+                client = this.getLocalRepositoryServicesClient(serverName, serverRootURL);
+            }
+            else
+            {
+                client = this.getEnterpriseRepositoryServicesClient(serverName, serverRootURL);
+            }
+
+            repositoryServerCache.saveClient(serverKey, client);
+        }
+
+        return client;
+    }
+
+
+    /**
+     * Return the key used to save the details of a repository server.  It is unique for each server instance
+     * and enterprise option.
+     *
+     * @param serverName - name of the server
+     * @param serverRootURL - the root URL of the platform running the server
+     * @param enterpriseOption - whether the query is at cohort level or server specific
+     * @return key
+     */
+    private String getServerKey(String  serverName,
+                                String  serverRootURL,
+                                boolean enterpriseOption)
+    {
+        return serverName + "@" + serverRootURL + (enterpriseOption ? ":enterprise" : ":local");
+    }
+
+
     /**
      * getLocalRepositoryServicesClient
      *
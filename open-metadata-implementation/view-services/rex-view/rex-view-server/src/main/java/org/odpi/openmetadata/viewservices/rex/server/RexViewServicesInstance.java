@@ -34,12 +34,16 @@ public class RexViewServicesInstance extends OMVSServiceInstance
      * @param localServerUserId userId used for server initiated actions
      * @param maxPageSize maximum page size
      * @param resourceEndpoints list of resource endpoint configuration objects
+     * @param cacheTimeToLive number of seconds that the types of a repository server are reused for
+     * @param cacheSize maximum number of entries held for each kind of repository server detail
      */
     public RexViewServicesInstance(String                       serverName,
                                    AuditLog                     auditLog,
                                    String                       localServerUserId,
                                    int                          maxPageSize,
-                                   List<ResourceEndpointConfig> resourceEndpoints)
+                                   List<ResourceEndpointConfig> resourceEndpoints,
+                                   int                          cacheTimeToLive,
+                                   int                          cacheSize)
     {
 
 
@@ -53,7 +57,7 @@ public class RexViewServicesInstance extends OMVSServiceInstance
               null);  // .... and remoteServerURL.
 
 
-        this.rexViewHandler = new RexViewHandler(resourceEndpoints);
+        this.rexViewHandler = new RexViewHandler(resourceEndpoints, cacheTimeToLive, cacheSize);
     }
 
 
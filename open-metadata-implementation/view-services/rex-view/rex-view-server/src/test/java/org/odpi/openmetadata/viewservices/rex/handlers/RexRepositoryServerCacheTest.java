@@ -0,0 +1,120 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.viewservices.rex.handlers;
+
+import org.odpi.openmetadata.repositoryservices.clients.MetadataCollectionServicesClient;
+import org.odpi.openmetadata.viewservices.rex.api.properties.TypeExplorer;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+
+
+/**
+ * Verify that the repository server details held by RexRepositoryServerCache expire after the time to live.
+ */
+public class RexRepositoryServerCacheTest
+{
+    private static final String serverKey = "server1@https://localhost:9443:local";
+    private static final String userId    = "user1";
+
+
+    /**
+     * Saved types and metadata collection ids are returned until they expire and then removed.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testValuesExpire() throws Exception
+    {
+        RexRepositoryServerCache cache = new RexRepositoryServerCache(200, 10);
+
+        TypeExplorer typeExplorer = new TypeExplorer();
+
+        cache.saveTypeExplorer(serverKey, userId, typeExplorer);
+        cache.saveMetadataCollectionId(serverKey, userId, "collection1");
+
+        assertSame(cache.getTypeExplorer(serverKey, userId), typeExplorer);
+        assertEquals(cache.getMetadataCollectionId(serverKey, userId), "collection1");
+
+        Thread.sleep(300);
+
+        assertNull(cache.getTypeExplorer(serverKey, userId));
+        assertNull(cache.getMetadataCollectionId(serverKey, userId));
+
+        /*
+         * A new value starts a new time to live.
+         */
+        TypeExplorer reloadedTypeExplorer = new TypeExplorer();
+
+        cache.saveTypeExplorer(serverKey, userId, reloadedTypeExplorer);
+
+        assertSame(cache.getTypeExplorer(serverKey, userId), reloadedTypeExplorer);
+    }
+
+
+    /**
+     * Saving the types again, as an explicit reload does, replaces the saved copy.
+     */
+    @Test public void testReloadReplacesValue()
+    {
+        RexRepositoryServerCache cache = new RexRepositoryServerCache(60000, 10);
+
+        cache.saveTypeExplorer(serverKey, userId, new TypeExplorer());
+
+        TypeExplorer reloadedTypeExplorer = new TypeExplorer();
+
+        cache.saveTypeExplorer(serverKey, userId, reloadedTypeExplorer);
+
+        assertSame(cache.getTypeExplorer(serverKey, userId), reloadedTypeExplorer);
+    }
+
+
+    /**
+     * The types and metadata collection id are held for each user, and nothing is held with a time to live of zero.
+     */
+    @Test public void testValuesAreHeldForEachUser()
+    {
+        RexRepositoryServerCache cache = new RexRepositoryServerCache(60000, 10);
+
+        cache.saveMetadataCollectionId(serverKey, userId, "collection1");
+
+        assertNull(cache.getMetadataCollectionId(serverKey, "user2"));
+        assertNull(cache.getMetadataCollectionId("server2@https://localhost:9443:local", userId));
+
+        cache = new RexRepositoryServerCache(0, 10);
+
+        cache.saveTypeExplorer(serverKey, userId, new TypeExplorer());
+        cache.saveMetadataCollectionId(serverKey, userId, "collection1");
+
+        assertNull(cache.getTypeExplorer(serverKey, userId));
+        assertNull(cache.getMetadataCollectionId(serverKey, userId));
+    }
+
+
+    /**
+     * Clients do not expire but the least recently used client is evicted when the cache is full.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testClients() throws Exception
+    {
+        RexRepositoryServerCache cache = new RexRepositoryServerCache(100, 2);
+
+        MetadataCollectionServicesClient clientOne = mock(MetadataCollectionServicesClient.class);
+        MetadataCollectionServicesClient clientTwo = mock(MetadataCollectionServicesClient.class);
+
+        cache.saveClient("server1", clientOne);
+        cache.saveClient("server2", clientTwo);
+
+        Thread.sleep(200);
+
+        assertSame(cache.getClient("server1"), clientOne);
+
+        cache.saveClient("server3", mock(MetadataCollectionServicesClient.class));
+
+        assertSame(cache.getClient("server1"), clientOne);
+        assertNull(cache.getClient("server2"));
+    }
+}
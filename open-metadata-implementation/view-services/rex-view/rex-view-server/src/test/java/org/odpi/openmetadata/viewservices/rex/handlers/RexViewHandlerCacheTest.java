@@ -0,0 +1,157 @@
+/* SPDX-License-Identifier: Apache-2.0 */
+/* Copyright Contributors to the ODPi Egeria project. */
+package org.odpi.openmetadata.viewservices.rex.handlers;
+
+import org.odpi.openmetadata.adminservices.configuration.properties.ResourceEndpointConfig;
+import org.odpi.openmetadata.repositoryservices.clients.MetadataCollectionServicesClient;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.instances.EntityDetail;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.AttributeTypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EntityDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.EnumDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDef;
+import org.odpi.openmetadata.repositoryservices.connectors.stores.metadatacollectionstore.properties.typedefs.TypeDefGallery;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Field;
+import java.util.Collections;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+
+
+/**
+ * Verify that RexViewHandler reuses the types and metadata collection id of a repository server until they
+ * expire or the types are explicitly reloaded.
+ */
+public class RexViewHandlerCacheTest
+{
+    private static final String userId          = "user1";
+    private static final String serverName      = "server1";
+    private static final String platformName    = "platform1";
+    private static final String platformRootURL = "https://localhost:9443";
+    private static final String methodName      = "testMethod";
+    private static final String entityGUID      = "1111";
+
+
+    /**
+     * The types and metadata collection id are retrieved once and reused by later requests, and an explicit
+     * reload of the types retrieves them again.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testTypesAreReusedUntilReloaded() throws Exception
+    {
+        MetadataCollectionServicesClient client  = getClient();
+        RexViewHandler                   handler = getHandler(300, client);
+
+        assertNotNull(handler.getEntity(userId, serverName, platformName, false, entityGUID, methodName));
+        assertNotNull(handler.getEntity(userId, serverName, platformName, false, entityGUID, methodName));
+
+        verify(client, times(1)).getAllTypes(userId);
+        verify(client, times(1)).getMetadataCollectionId(userId);
+
+        /*
+         * Loading the types always retrieves them and the new copy is used by later requests.
+         */
+        handler.getTypeExplorer(userId, serverName, platformName, false, methodName);
+        handler.getEntity(userId, serverName, platformName, false, entityGUID, methodName);
+
+        verify(client, times(2)).getAllTypes(userId);
+        verify(client, times(1)).getMetadataCollectionId(userId);
+
+        /*
+         * Another user's security is checked by the repository server before it sees the types.
+         */
+        handler.getEntity("user2", serverName, platformName, false, entityGUID, methodName);
+
+        verify(client, times(1)).getAllTypes("user2");
+        verify(client, times(1)).getMetadataCollectionId("user2");
+    }
+
+
+    /**
+     * With a time to live of zero, the types and metadata collection id are retrieved for every request.
+     *
+     * @throws Exception problem with the test
+     */
+    @Test public void testNothingIsReusedWithoutTimeToLive() throws Exception
+    {
+        MetadataCollectionServicesClient client  = getClient();
+        RexViewHandler                   handler = getHandler(0, client);
+
+        handler.getEntity(userId, serverName, platformName, false, entityGUID, methodName);
+        handler.getEntity(userId, serverName, platformName, false, entityGUID, methodName);
+
+        verify(client, times(2)).getAllTypes(userId);
+        verify(client, times(2)).getMetadataCollectionId(userId);
+    }
+
+
+    /**
+     * Return a mock client for a repository server that supports a single entity type.
+     *
+     * @return client
+     * @throws Exception problem setting up the mock
+     */
+    private MetadataCollectionServicesClient getClient() throws Exception
+    {
+        EntityDef entityDef = new EntityDef();
+        entityDef.setName("Referenceable");
+
+        EnumDef enumDef = new EnumDef();
+        enumDef.setName("TestEnum");
+
+        TypeDefGallery typeDefGallery = new TypeDefGallery();
+        typeDefGallery.setTypeDefs(Collections.<TypeDef>singletonList(entityDef));
+        typeDefGallery.setAttributeTypeDefs(Collections.<AttributeTypeDef>singletonList(enumDef));
+
+        EntityDetail entityDetail = new EntityDetail();
+        entityDetail.setGUID(entityGUID);
+        entityDetail.setMetadataCollectionId("collection1");
+
+        MetadataCollectionServicesClient client = mock(MetadataCollectionServicesClient.class);
+        when(client.getAllTypes(userId)).thenReturn(typeDefGallery);
+        when(client.getAllTypes("user2")).thenReturn(typeDefGallery);
+        when(client.getMetadataCollectionId(userId)).thenReturn("collection1");
+        when(client.getMetadataCollectionId("user2")).thenReturn("collection1");
+        when(client.getEntityDetail(userId, entityGUID)).thenReturn(entityDetail);
+        when(client.getEntityDetail("user2", entityGUID)).thenReturn(entityDetail);
+
+        return client;
+    }
+
+
+    /**
+     * Create a handler for a single platform that uses the supplied client for the repository server.
+     *
+     * @param cacheTimeToLive number of seconds that the types and metadata collection id are reused for
+     * @param client client for the repository server
+     * @return handler
+     * @throws Exception problem setting up the handler
+     */
+    private RexViewHandler getHandler(int                              cacheTimeToLive,
+                                      MetadataCollectionServicesClient client) throws Exception
+    {
+        ResourceEndpointConfig platform = new ResourceEndpointConfig();
+        platform.setResourceCategory("Platform");
+        platform.setPlatformName(platformName);
+        platform.setPlatformRootURL(platformRootURL);
+
+        RexViewHandler handler = new RexViewHandler(Collections.singletonList(platform), cacheTimeToLive, 10);
+
+        Field cacheField = RexViewHandler.class.getDeclaredField("repositoryServerCache");
+        cacheField.setAccessible(true);
+        RexRepositoryServerCache cache = (RexRepositoryServerCache) cacheField.get(handler);
+        cacheField.setAccessible(false);
+
+        cache.saveClient(serverName + "@" + platformRootURL + ":local", client);
+
+        assertEquals(cache.getClient(serverName + "@" + platformRootURL + ":local"), client);
+
+        return handler;
+    }
+}